@@ -40,6 +40,63 @@ namespace knn_jni {
          */
         jlong storeByteVectorData(knn_jni::JNIUtilInterface *, JNIEnv *, jlong , jobjectArray, jlong);
 
+        /**
+         * Create an empty std::vector<float> in native memory, with room for initialCapacity floats, that is filled in place
+         * with appendVectorData.
+         *
+         * @param initialCapacity The initial capacity of the memory location.
+         * @return memory address of the std::vector<float>.
+         */
+        jlong createVectorData(jlong);
+
+        /**
+         * Grow the std::vector<float> at memory address by numElements floats, set to 0, and return the start of the new
+         * region so that the caller can write the floats in place. The region stays valid until the vector is grown or
+         * resized again. No memory is reallocated as long as the vector stays within the capacity it was created with.
+         *
+         * @param memoryAddress The address of the std::vector<float>.
+         * @param numElements Number of floats to add.
+         * @return pointer to the first added float.
+         */
+        float *appendVectorData(jlong, jlong);
+
+        /**
+         * Resize the std::vector<float> at memory address to numElements floats, for instance to drop the end of a region
+         * returned by appendVectorData that was not written.
+         *
+         * @param memoryAddress The address of the std::vector<float>.
+         * @param numElements New number of floats.
+         */
+        void resizeVectorData(jlong, jlong);
+
+        /**
+         * Create an empty std::vector<uint8_t> in native memory, with room for initialCapacity bytes, that is filled in
+         * place with appendByteVectorData.
+         *
+         * @param initialCapacity The initial capacity of the memory location.
+         * @return memory address of the std::vector<uint8_t>.
+         */
+        jlong createByteVectorData(jlong);
+
+        /**
+         * Grow the std::vector<uint8_t> at memory address by numElements bytes, set to 0, and return the start of the new
+         * region so that the caller can write the bytes in place. The region stays valid until the vector is grown or
+         * resized again.
+         *
+         * @param memoryAddress The address of the std::vector<uint8_t>.
+         * @param numElements Number of bytes to add.
+         * @return pointer to the first added byte.
+         */
+        uint8_t *appendByteVectorData(jlong, jlong);
+
+        /**
+         * Resize the std::vector<uint8_t> at memory address to numElements bytes.
+         *
+         * @param memoryAddress The address of the std::vector<uint8_t>.
+         * @param numElements New number of bytes.
+         */
+        void resizeByteVectorData(jlong, jlong);
+
         /**
          * Free up the memory allocated for the data stored in memory address. This function should be used with the memory
          * address returned by {@link JNICommons#storeVectorData(long, float[][], long, long)}
@@ -61,6 +61,56 @@ public:
         std::vector<int64_t> ids,
         std::string indexPath,
         std::unordered_map<std::string, jobject> parameters);
+
+    /**
+     * Initialize an index to which vectors are added in batches with insertToIndex. The index has to be written with
+     * writeIndex or freed once all vectors are added.
+     *
+     * @param jniUtil jni util
+     * @param env jni environment
+     * @param metric space type for distance calculation
+     * @param indexDescription index description to be used by faiss index factory
+     * @param dim dimension of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param parameters parameters to be applied to faiss index
+     * @return memory address of the index
+     */
+    virtual jlong initIndex(
+        knn_jni::JNIUtilInterface * jniUtil,
+        JNIEnv * env,
+        faiss::MetricType metric,
+        std::string indexDescription,
+        int dim,
+        int threadCount,
+        std::unordered_map<std::string, jobject> parameters);
+
+    /**
+     * Add a batch of vectors to an index created by initIndex. The vectors are cleared once added, so that the memory
+     * holding them can be filled with the next batch.
+     *
+     * @param dim dimension of vectors
+     * @param numIds number of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param vectorsAddress memory address which is holding vector data
+     * @param ids a list of document ids for corresponding vectors
+     * @param idMapAddress memory address of the index
+     */
+    virtual void insertToIndex(
+        int dim,
+        int numIds,
+        int threadCount,
+        int64_t vectorsAddress,
+        std::vector<int64_t> & ids,
+        jlong idMapAddress);
+
+    /**
+     * Write an index created by initIndex to disk. The index is freed, even if it cannot be written.
+     *
+     * @param indexPath path to write index
+     * @param idMapAddress memory address of the index
+     */
+    virtual void writeIndex(std::string indexPath, jlong idMapAddress);
+
     virtual ~IndexService() = default;
 protected:
     std::unique_ptr<FaissMethods> faissMethods;
@@ -103,6 +153,56 @@ public:
         std::string indexPath,
         std::unordered_map<std::string, jobject> parameters
     ) override;
+
+    /**
+     * Initialize a binary index to which vectors are added in batches with insertToIndex. The index has to be written with
+     * writeIndex or freed once all vectors are added.
+     *
+     * @param jniUtil jni util
+     * @param env jni environment
+     * @param metric space type for distance calculation
+     * @param indexDescription index description to be used by faiss index factory
+     * @param dim dimension of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param parameters parameters to be applied to faiss index
+     * @return memory address of the index
+     */
+    virtual jlong initIndex(
+        knn_jni::JNIUtilInterface * jniUtil,
+        JNIEnv * env,
+        faiss::MetricType metric,
+        std::string indexDescription,
+        int dim,
+        int threadCount,
+        std::unordered_map<std::string, jobject> parameters) override;
+
+    /**
+     * Add a batch of binary vectors to an index created by initIndex. The vectors are cleared once added, so that the memory
+     * holding them can be filled with the next batch.
+     *
+     * @param dim dimension of vectors
+     * @param numIds number of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param vectorsAddress memory address which is holding vector data
+     * @param ids a list of document ids for corresponding vectors
+     * @param idMapAddress memory address of the index
+     */
+    virtual void insertToIndex(
+        int dim,
+        int numIds,
+        int threadCount,
+        int64_t vectorsAddress,
+        std::vector<int64_t> & ids,
+        jlong idMapAddress) override;
+
+    /**
+     * Write a binary index created by initIndex to disk. The index is freed, even if it cannot be written.
+     *
+     * @param indexPath path to write index
+     * @param idMapAddress memory address of the index
+     */
+    virtual void writeIndex(std::string indexPath, jlong idMapAddress) override;
+
     virtual ~BinaryIndexService() = default;
 };
 
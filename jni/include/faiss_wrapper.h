@@ -23,6 +23,20 @@ namespace knn_jni {
         void CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ, jint dimJ,
                          jstring indexPathJ, jobject parametersJ, IndexService* indexService);
 
+        // Initialize an index to which vectors are added in batches. The configuration is defined by values in the Java
+        // map, parametersJ. Returns the memory address of the index.
+        jlong InitIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jint dimJ, jobject parametersJ,
+                        IndexService* indexService);
+
+        // Add a batch of ids and vectors to an index created by InitIndex. The vectors at vectorsAddressJ are cleared
+        // once added, so that the memory can be filled with the next batch.
+        void InsertToIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ,
+                           jint dimJ, jlong indexAddressJ, jint threadCountJ, IndexService* indexService);
+
+        // Serialize an index created by InitIndex to indexPathJ and free it.
+        void WriteIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ, jlong indexAddressJ,
+                        IndexService* indexService);
+
         // Create an index with ids and vectors. Instead of creating a new index, this function creates the index
         // based off of the template index passed in. The index is serialized to indexPathJ.
         void CreateIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
@@ -45,6 +59,38 @@ namespace knn_jni {
         // Return a pointer to the loaded index
         jlong LoadBinaryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ);
 
+        // Load an index written by CreateIndex or WriteIndex from indexPathJ so that more vectors can be inserted into it
+        // with InsertToIndex before it is written with WriteIndex. The ids of the index are doc ids of the segment the
+        // file belongs to, and are remapped to docMapJ[id]. Vectors whose id maps to a negative doc id are deleted docs and
+        // are removed from the index, along with their nodes in the HNSW graph.
+        //
+        // Return a pointer to the loaded index
+        jlong LoadIndexForMerge(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ, jintArray docMapJ);
+
+        // Binary variant of LoadIndexForMerge
+        //
+        // Return a pointer to the loaded index
+        jlong LoadBinaryIndexForMerge(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ,
+                                      jintArray docMapJ);
+
+        // Load an index from indexPathJ. The inverted lists of IVF indices are served from a read-only memory mapping
+        // of the file instead of being copied into memory.
+        //
+        // Return a pointer to the loaded index
+        jlong LoadIndexWithMmap(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ);
+
+        // Load a binary index from indexPathJ. The inverted lists of IVF indices are served from a read-only memory
+        // mapping of the file instead of being copied into memory.
+        //
+        // Return a pointer to the loaded index
+        jlong LoadBinaryIndexWithMmap(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ);
+
+        // Return the number of bytes of a loaded index that are served from a memory mapping
+        jlong GetMappedSizeInBytes(jlong indexPointerJ);
+
+        // Return the number of bytes of a loaded binary index that are served from a memory mapping
+        jlong GetBinaryMappedSizeInBytes(jlong indexPointerJ);
+
         // Check if a loaded index requires shared state
         bool IsSharedIndexStateRequired(jlong indexPointerJ);
 
@@ -61,30 +107,39 @@ namespace knn_jni {
          *  Execute a query against the index located in memory at indexPointerJ
          *  
          * Parameters:
-         * methodParamsJ: introduces a map to have additional method parameters
+         * efSearchJ, nprobesJ: ef_search and nprobes of the query, which supersede the ones of the index when positive
          * 
-         * Return an array of KNNQueryResults
+         * Return a KNNQueryResults object
         */
-        jobjectArray QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jintArray parentIdsJ);
+        jobject QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                jfloatArray queryVectorJ, jint kJ, jint efSearchJ, jint nprobesJ, jintArray parentIdsJ);
 
         /**
          *  Execute a query against the index located in memory at indexPointerJ along with Filters
          *  
          * Parameters:
-         * methodParamsJ: introduces a map to have additional method parameters
+         * efSearchJ, nprobesJ: ef_search and nprobes of the query, which supersede the ones of the index when positive
          * 
-         * Return an array of KNNQueryResults
+         * Return a KNNQueryResults object
         */
-        jobjectArray QueryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ,
+        jobject QueryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                                jfloatArray queryVectorJ, jint kJ, jint efSearchJ, jint nprobesJ, jlongArray filterIdsJ,
                                                                 jint filterIdsTypeJ, jintArray parentIdsJ);
 
+        // Execute a batch of queries against the index located in memory at indexPointerJ. The queryCountJ query vectors
+        // are laid out back to back in queryVectorsJ, and faiss searches them with up to threadCountJ OpenMP threads.
+        // efSearchJ and nprobesJ supersede the ones of the index when positive.
+        //
+        // Return a KNNQueryResults object holding kJ results per query, in the order of the queries. Queries with
+        // fewer than kJ results are padded with the id -1.
+        jobject QueryIndex_Batch(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                 jfloatArray queryVectorsJ, jint queryCountJ, jint kJ, jint efSearchJ, jint nprobesJ, jint threadCountJ);
+
         // Execute a query against the binary index located in memory at indexPointerJ along with Filters
         //
-        // Return an array of KNNQueryResults
-        jobjectArray QueryBinaryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                 jbyteArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
+        // Return a KNNQueryResults object
+        jobject QueryBinaryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                 jbyteArray queryVectorJ, jint kJ, jint efSearchJ, jint nprobesJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
 
         // Free the index located in memory at indexPointerJ
         void Free(jlong indexPointer, jboolean isBinaryIndexJ);
@@ -102,6 +157,14 @@ namespace knn_jni {
         jbyteArray TrainIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ, jint dimension,
                               jlong trainVectorsPointerJ);
 
+        // Create an empty IVF index defined by the values in the Java map, parametersJ, whose coarse quantizer holds
+        // the centroids located at centroidsPointerJ, and train the rest of the index with the vector of floats
+        // located at trainVectorsPointerJ.
+        //
+        // Return the serialized representation
+        jbyteArray TrainIndexWithCentroids(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ,
+                                           jint dimension, jlong trainVectorsPointerJ, jlong centroidsPointerJ);
+
         // Create an empty binary index defined by the values in the Java map, parametersJ. Train the index with
         // the vector of floats located at trainVectorsPointerJ.
         //
@@ -115,16 +178,17 @@ namespace knn_jni {
          * @param indexPointerJ - pointer to the index
          * @param queryVectorJ - the query vector
          * @param radiusJ - the radius for the range search
-         * @param methodParamsJ - the method parameters
+         * @param efSearchJ - ef_search of the query, or -1 to use the one of the index
+         * @param nprobesJ - nprobes of the query, or -1 to use the one of the index
          * @param maxResultsWindowJ - the maximum number of results to return
          * @param filterIdsJ - the filter ids
          * @param filterIdsTypeJ - the filter ids type
          * @param parentIdsJ - the parent ids
          *
-         * @return an array of RangeQueryResults
+         * @return a KNNQueryResults object
          */
-        jobjectArray RangeSearchWithFilter(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ, jfloatArray queryVectorJ,
-                                           jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
+        jobject RangeSearchWithFilter(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ, jfloatArray queryVectorJ,
+                                           jfloat radiusJ, jint efSearchJ, jint nprobesJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
 
         /*
          * Perform a range search against the index located in memory at indexPointerJ.
@@ -132,14 +196,15 @@ namespace knn_jni {
          * @param indexPointerJ - pointer to the index
          * @param queryVectorJ - the query vector
          * @param radiusJ - the radius for the range search
-         * @param methodParamsJ - the method parameters
+         * @param efSearchJ - ef_search of the query, or -1 to use the one of the index
+         * @param nprobesJ - nprobes of the query, or -1 to use the one of the index
          * @param maxResultsWindowJ - the maximum number of results to return
          * @param parentIdsJ - the parent ids
          *
-         * @return an array of RangeQueryResults
+         * @return a KNNQueryResults object
          */
-        jobjectArray RangeSearch(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ, jfloatArray queryVectorJ,
-                    jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jintArray parentIdsJ);
+        jobject RangeSearch(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ, jfloatArray queryVectorJ,
+                    jfloat radiusJ, jint efSearchJ, jint nprobesJ, jint maxResultWindowJ, jintArray parentIdsJ);
     }
 }
 
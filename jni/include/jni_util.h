@@ -107,7 +107,8 @@ namespace knn_jni {
 
         virtual jobject GetObjectArrayElement(JNIEnv *env, jobjectArray array, jsize index) = 0;
 
-        virtual jobject NewObject(JNIEnv *env, jclass clazz, jmethodID methodId, int id, float distance) = 0;
+        // Creates a KNNQueryResults object holding copies of the first size ids and distances
+        virtual jobject NewKNNQueryResults(JNIEnv *env, const jint *ids, const jfloat *distances, jsize size) = 0;
 
         virtual jobjectArray NewObjectArray(JNIEnv *env, jsize len, jclass clazz, jobject init) = 0;
 
@@ -163,7 +164,7 @@ namespace knn_jni {
         jint * GetIntArrayElements(JNIEnv *env, jintArray array, jboolean * isCopy);
         jlong * GetLongArrayElements(JNIEnv *env, jlongArray array, jboolean * isCopy);
         jobject GetObjectArrayElement(JNIEnv *env, jobjectArray array, jsize index);
-        jobject NewObject(JNIEnv *env, jclass clazz, jmethodID methodId, int id, float distance);
+        jobject NewKNNQueryResults(JNIEnv *env, const jint *ids, const jfloat *distances, jsize size);
         jobjectArray NewObjectArray(JNIEnv *env, jsize len, jclass clazz, jobject init);
         jbyteArray NewByteArray(JNIEnv *env, jsize len);
         void ReleaseByteArrayElements(JNIEnv *env, jbyteArray array, jbyte *elems, int mode);
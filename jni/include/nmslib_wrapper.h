@@ -33,11 +33,12 @@ namespace knn_jni {
         // Return a pointer to the loaded index
         jlong LoadIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ, jobject parametersJ);
 
-        // Execute a query against the index located in memory at indexPointerJ.
+        // Execute a query against the index located in memory at indexPointerJ. When efSearchJ is positive, it
+        // supersedes the ef_search the index was loaded with.
         //
-        // Return an array of KNNQueryResults
-        jobjectArray QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ);
+        // Return a KNNQueryResults object
+        jobject QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                jfloatArray queryVectorJ, jint kJ, jint efSearchJ);
 
         // Free the index located in memory at indexPointerJ
         void Free(jlong indexPointer);
@@ -37,10 +37,10 @@ JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_NmslibService_loadIndex
 /*
  * Class:     org_opensearch_knn_jni_NmslibService
  * Method:    queryIndex
- * Signature: (J[FI)[Lorg/opensearch/knn/index/query/KNNQueryResult;
+ * Signature: (J[FII)Lorg/opensearch/knn/index/query/KNNQueryResults;
  */
-JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_NmslibService_queryIndex
-  (JNIEnv *, jclass, jlong, jfloatArray, jint, jobject);
+JNIEXPORT jobject JNICALL Java_org_opensearch_knn_jni_NmslibService_queryIndex
+  (JNIEnv *, jclass, jlong, jfloatArray, jint, jint);
 
 /*
  * Class:     org_opensearch_knn_jni_NmslibService
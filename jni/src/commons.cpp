@@ -13,6 +13,7 @@
 #include <jni.h>
 
 #include <vector>
+#include <stdexcept>
 
 #include "jni_util.h"
 #include "commons.h"
@@ -47,6 +48,64 @@ jlong knn_jni::commons::storeByteVectorData(knn_jni::JNIUtilInterface *jniUtil,
     return (jlong) vect;
 }
 
+jlong knn_jni::commons::createVectorData(jlong initialCapacityJ) {
+    auto *vect = new std::vector<float>();
+    vect->reserve((long) initialCapacityJ);
+    return (jlong) vect;
+}
+
+float *knn_jni::commons::appendVectorData(jlong memoryAddressJ, jlong numElementsJ) {
+    if (memoryAddressJ == 0) {
+        throw std::runtime_error("Memory address cannot be 0");
+    }
+    if (numElementsJ < 0) {
+        throw std::runtime_error("Number of elements cannot be negative");
+    }
+    auto *vect = reinterpret_cast<std::vector<float>*>(memoryAddressJ);
+    size_t start = vect->size();
+    vect->resize(start + (size_t) numElementsJ);
+    return vect->data() + start;
+}
+
+void knn_jni::commons::resizeVectorData(jlong memoryAddressJ, jlong numElementsJ) {
+    if (memoryAddressJ == 0) {
+        throw std::runtime_error("Memory address cannot be 0");
+    }
+    if (numElementsJ < 0) {
+        throw std::runtime_error("Number of elements cannot be negative");
+    }
+    reinterpret_cast<std::vector<float>*>(memoryAddressJ)->resize((size_t) numElementsJ);
+}
+
+jlong knn_jni::commons::createByteVectorData(jlong initialCapacityJ) {
+    auto *vect = new std::vector<uint8_t>();
+    vect->reserve((long) initialCapacityJ);
+    return (jlong) vect;
+}
+
+uint8_t *knn_jni::commons::appendByteVectorData(jlong memoryAddressJ, jlong numElementsJ) {
+    if (memoryAddressJ == 0) {
+        throw std::runtime_error("Memory address cannot be 0");
+    }
+    if (numElementsJ < 0) {
+        throw std::runtime_error("Number of elements cannot be negative");
+    }
+    auto *vect = reinterpret_cast<std::vector<uint8_t>*>(memoryAddressJ);
+    size_t start = vect->size();
+    vect->resize(start + (size_t) numElementsJ);
+    return vect->data() + start;
+}
+
+void knn_jni::commons::resizeByteVectorData(jlong memoryAddressJ, jlong numElementsJ) {
+    if (memoryAddressJ == 0) {
+        throw std::runtime_error("Memory address cannot be 0");
+    }
+    if (numElementsJ < 0) {
+        throw std::runtime_error("Number of elements cannot be negative");
+    }
+    reinterpret_cast<std::vector<uint8_t>*>(memoryAddressJ)->resize((size_t) numElementsJ);
+}
+
 void knn_jni::commons::freeVectorData(jlong memoryAddressJ) {
     if (memoryAddressJ != 0) {
         auto *vect = reinterpret_cast<std::vector<float>*>(memoryAddressJ);
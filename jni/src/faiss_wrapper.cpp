@@ -26,6 +26,7 @@
 #include "commons.h"
 #include "faiss/IndexBinaryIVF.h"
 #include "faiss/IndexBinaryHNSW.h"
+#include "faiss/invlists/OnDiskInvertedLists.h"
 
 #include <algorithm>
 #include <jni.h>
@@ -81,6 +82,20 @@ void buildFilterIdsBitMap(const int* filterIds, int filterIdsLength, uint8_t* bi
 
 std::unique_ptr<faiss::IDGrouperBitmap> buildIDGrouperBitmap(knn_jni::JNIUtilInterface * jniUtil, JNIEnv *env, jintArray parentIdsJ, std::vector<uint64_t>* bitmap);
 
+// Copies the first resultSize ids and distances into a KNNQueryResults object. The ids and distances are converted
+// to the primitive arrays held by the Java object, so no per result object is created.
+template<typename DistanceType>
+jobject buildKNNQueryResults(knn_jni::JNIUtilInterface * jniUtil, JNIEnv *env, const faiss::idx_t* ids,
+                             const DistanceType* distances, int resultSize) {
+    std::vector<jint> resultIds(resultSize);
+    std::vector<jfloat> resultDistances(resultSize);
+    for (int i = 0; i < resultSize; ++i) {
+        resultIds[i] = static_cast<jint>(ids[i]);
+        resultDistances[i] = static_cast<jfloat>(distances[i]);
+    }
+    return jniUtil->NewKNNQueryResults(env, resultIds.data(), resultDistances.data(), resultSize);
+}
+
 // Check if a loaded index is an IVFPQ index with l2 space type
 bool isIndexIVFPQL2(faiss::Index * index);
 
@@ -88,6 +103,20 @@ bool isIndexIVFPQL2(faiss::Index * index);
 // IndexIDMap which has member that will point to underlying index that stores the data
 faiss::IndexIVFPQ * extractIVFPQIndex(faiss::Index * index);
 
+// Get the number of bytes of inverted lists that are served from a memory mapping of the index file
+jlong getMappedInvertedListsSizeInBytes(const faiss::InvertedLists * invlists);
+
+// Remove the vectors of an id map whose ids map to a negative doc id in docMap, i.e. whose docs were deleted
+template <typename IndexIDMapT, typename IndexHNSWT>
+void removeDeletedIds(IndexIDMapT * idMap, const std::vector<int64_t> & docMap);
+
+// Drop the nodes of an HNSW graph that are not kept and renumber the kept nodes in order. A link to a dropped node is
+// replaced by the links of the dropped node on the same level, so that the nodes it connected stay connected
+void removeHnswNodes(faiss::HNSW & hnsw, const std::vector<bool> & keep);
+
+// Replace every id of an id map with docMap[id]
+void remapIds(std::vector<faiss::idx_t> & idMap, const std::vector<int64_t> & docMap);
+
 void knn_jni::faiss_wrapper::CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ, jint dimJ,
                                          jstring indexPathJ, jobject parametersJ, IndexService* indexService) {
     if (idsJ == nullptr) {
@@ -159,6 +188,84 @@ void knn_jni::faiss_wrapper::CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JN
     indexService->createIndex(jniUtil, env, metric, indexDescriptionCpp, dim, numIds, threadCount, vectorsAddress, ids, indexPathCpp, subParametersCpp);
 }
 
+jlong knn_jni::faiss_wrapper::InitIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jint dimJ, jobject parametersJ,
+                                       IndexService* indexService) {
+    if(dimJ <= 0) {
+        throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
+    }
+
+    if (parametersJ == nullptr) {
+        throw std::runtime_error("Parameters cannot be null");
+    }
+
+    // parametersJ is a Java Map<String, Object>. ConvertJavaMapToCppMap converts it to a c++ map<string, jobject>
+    // so that it is easier to access.
+    auto parametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersJ);
+
+    // Metric type
+    jobject spaceTypeJ = knn_jni::GetJObjectFromMapOrThrow(parametersCpp, knn_jni::SPACE_TYPE);
+    std::string spaceTypeCpp(jniUtil->ConvertJavaObjectToCppString(env, spaceTypeJ));
+    faiss::MetricType metric = TranslateSpaceToMetric(spaceTypeCpp);
+    jniUtil->DeleteLocalRef(env, spaceTypeJ);
+
+    // Index description
+    jobject indexDescriptionJ = knn_jni::GetJObjectFromMapOrThrow(parametersCpp, knn_jni::INDEX_DESCRIPTION);
+    std::string indexDescriptionCpp(jniUtil->ConvertJavaObjectToCppString(env, indexDescriptionJ));
+    jniUtil->DeleteLocalRef(env, indexDescriptionJ);
+
+    // Thread count
+    int threadCount = 0;
+    if(parametersCpp.find(knn_jni::INDEX_THREAD_QUANTITY) != parametersCpp.end()) {
+        threadCount = jniUtil->ConvertJavaObjectToCppInteger(env, parametersCpp[knn_jni::INDEX_THREAD_QUANTITY]);
+    }
+
+    // Extra parameters
+    std::unordered_map<std::string, jobject> subParametersCpp;
+    if(parametersCpp.find(knn_jni::PARAMETERS) != parametersCpp.end()) {
+        subParametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersCpp[knn_jni::PARAMETERS]);
+    }
+
+    return indexService->initIndex(jniUtil, env, metric, indexDescriptionCpp, (int) dimJ, threadCount, subParametersCpp);
+}
+
+void knn_jni::faiss_wrapper::InsertToIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
+                                           jlong vectorsAddressJ, jint dimJ, jlong indexAddressJ, jint threadCountJ,
+                                           IndexService* indexService) {
+    if (idsJ == nullptr) {
+        throw std::runtime_error("IDs cannot be null");
+    }
+
+    if (vectorsAddressJ <= 0) {
+        throw std::runtime_error("VectorsAddress cannot be less than 0");
+    }
+
+    if(dimJ <= 0) {
+        throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
+    }
+
+    if (indexAddressJ == 0) {
+        throw std::runtime_error("Index address cannot be 0");
+    }
+
+    int numIds = jniUtil->GetJavaIntArrayLength(env, idsJ);
+    auto ids = jniUtil->ConvertJavaIntArrayToCppIntVector(env, idsJ);
+    indexService->insertToIndex((int) dimJ, numIds, (int) threadCountJ, (int64_t) vectorsAddressJ, ids, indexAddressJ);
+}
+
+void knn_jni::faiss_wrapper::WriteIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ,
+                                        jlong indexAddressJ, IndexService* indexService) {
+    if (indexAddressJ == 0) {
+        throw std::runtime_error("Index address cannot be 0");
+    }
+
+    if (indexPathJ == nullptr) {
+        throw std::runtime_error("Index path cannot be null");
+    }
+
+    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
+    indexService->writeIndex(indexPathCpp, indexAddressJ);
+}
+
 void knn_jni::faiss_wrapper::CreateIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
                                                      jlong vectorsAddressJ, jint dimJ, jstring indexPathJ,
                                                      jbyteArray templateIndexJ, jobject parametersJ) {
@@ -322,6 +429,97 @@ jlong knn_jni::faiss_wrapper::LoadBinaryIndex(knn_jni::JNIUtilInterface * jniUti
     return (jlong) indexReader;
 }
 
+jlong knn_jni::faiss_wrapper::LoadIndexForMerge(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ,
+                                                jintArray docMapJ) {
+    if (indexPathJ == nullptr) {
+        throw std::runtime_error("Index path cannot be null");
+    }
+
+    if (docMapJ == nullptr) {
+        throw std::runtime_error("Doc map cannot be null");
+    }
+
+    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
+    auto docMap = jniUtil->ConvertJavaIntArrayToCppIntVector(env, docMapJ);
+    // The index is read with all of its structures, as vectors are added to it before it is written again
+    std::unique_ptr<faiss::Index> index(faiss::read_index(indexPathCpp.c_str()));
+    auto idMap = dynamic_cast<faiss::IndexIDMap *>(index.get());
+    if (idMap == nullptr) {
+        throw std::runtime_error("Index is not an id map and cannot be merged");
+    }
+    removeDeletedIds<faiss::IndexIDMap, faiss::IndexHNSW>(idMap, docMap);
+    remapIds(idMap->id_map, docMap);
+    return (jlong) index.release();
+}
+
+jlong knn_jni::faiss_wrapper::LoadBinaryIndexForMerge(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env,
+                                                      jstring indexPathJ, jintArray docMapJ) {
+    if (indexPathJ == nullptr) {
+        throw std::runtime_error("Index path cannot be null");
+    }
+
+    if (docMapJ == nullptr) {
+        throw std::runtime_error("Doc map cannot be null");
+    }
+
+    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
+    auto docMap = jniUtil->ConvertJavaIntArrayToCppIntVector(env, docMapJ);
+    std::unique_ptr<faiss::IndexBinary> index(faiss::read_index_binary(indexPathCpp.c_str()));
+    auto idMap = dynamic_cast<faiss::IndexBinaryIDMap *>(index.get());
+    if (idMap == nullptr) {
+        throw std::runtime_error("Index is not an id map and cannot be merged");
+    }
+    removeDeletedIds<faiss::IndexBinaryIDMap, faiss::IndexBinaryHNSW>(idMap, docMap);
+    remapIds(idMap->id_map, docMap);
+    return (jlong) index.release();
+}
+
+jlong knn_jni::faiss_wrapper::LoadIndexWithMmap(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ) {
+    if (indexPathJ == nullptr) {
+        throw std::runtime_error("Index path cannot be null");
+    }
+
+    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
+    // IO_FLAG_MMAP makes faiss map the inverted lists of IVF indices read-only from the file instead of copying them
+    // into memory. All other structures of the index are read into memory as usual.
+    faiss::Index* indexReader = faiss::read_index(indexPathCpp.c_str(), faiss::IO_FLAG_MMAP | faiss::IO_FLAG_READ_ONLY | faiss::IO_FLAG_PQ_SKIP_SDC_TABLE | faiss::IO_FLAG_SKIP_PRECOMPUTE_TABLE);
+    return (jlong) indexReader;
+}
+
+jlong knn_jni::faiss_wrapper::LoadBinaryIndexWithMmap(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ) {
+    if (indexPathJ == nullptr) {
+        throw std::runtime_error("Index path cannot be null");
+    }
+
+    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
+    faiss::IndexBinary* indexReader = faiss::read_index_binary(indexPathCpp.c_str(), faiss::IO_FLAG_MMAP | faiss::IO_FLAG_READ_ONLY | faiss::IO_FLAG_PQ_SKIP_SDC_TABLE | faiss::IO_FLAG_SKIP_PRECOMPUTE_TABLE);
+    return (jlong) indexReader;
+}
+
+jlong knn_jni::faiss_wrapper::GetMappedSizeInBytes(jlong indexPointerJ) {
+    faiss::Index * index = reinterpret_cast<faiss::Index*>(indexPointerJ);
+    if (auto indexIDMap = dynamic_cast<faiss::IndexIDMap *>(index)) {
+        index = indexIDMap->index;
+    }
+
+    if (auto indexIvf = dynamic_cast<faiss::IndexIVF *>(index)) {
+        return getMappedInvertedListsSizeInBytes(indexIvf->invlists);
+    }
+    return 0;
+}
+
+jlong knn_jni::faiss_wrapper::GetBinaryMappedSizeInBytes(jlong indexPointerJ) {
+    faiss::IndexBinary * index = reinterpret_cast<faiss::IndexBinary*>(indexPointerJ);
+    if (auto indexIDMap = dynamic_cast<faiss::IndexBinaryIDMap *>(index)) {
+        index = indexIDMap->index;
+    }
+
+    if (auto indexIvf = dynamic_cast<faiss::IndexBinaryIVF *>(index)) {
+        return getMappedInvertedListsSizeInBytes(indexIvf->invlists);
+    }
+    return 0;
+}
+
 bool knn_jni::faiss_wrapper::IsSharedIndexStateRequired(jlong indexPointerJ) {
     auto * index = reinterpret_cast<faiss::Index*>(indexPointerJ);
     return isIndexIVFPQL2(index);
@@ -370,13 +568,13 @@ void knn_jni::faiss_wrapper::SetSharedIndexState(jlong indexPointerJ, jlong shar
     indexIVFPQ->set_precomputed_table(alignTable, usePrecomputedTable);
 }
 
-jobjectArray knn_jni::faiss_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jintArray parentIdsJ) {
-    return knn_jni::faiss_wrapper::QueryIndex_WithFilter(jniUtil, env, indexPointerJ, queryVectorJ, kJ, methodParamsJ, nullptr, 0, parentIdsJ);
+jobject knn_jni::faiss_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                jfloatArray queryVectorJ, jint kJ, jint efSearchJ, jint nprobesJ, jintArray parentIdsJ) {
+    return knn_jni::faiss_wrapper::QueryIndex_WithFilter(jniUtil, env, indexPointerJ, queryVectorJ, kJ, efSearchJ, nprobesJ, nullptr, 0, parentIdsJ);
 }
 
-jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+jobject knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                jfloatArray queryVectorJ, jint kJ, jint efSearchJ, jint nprobesJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
 
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
@@ -388,10 +586,6 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
         throw std::runtime_error("Invalid pointer to index");
     }
 
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
     // The ids vector will hold the top k ids from the search and the dis vector will hold the top k distances from
     // the query point
     std::vector<float> dis(kJ);
@@ -420,7 +614,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
         auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
         if(hnswReader) {
             // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
             hnswParams.sel = idSelector.get();
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
@@ -433,7 +627,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
             
             if(ivfReader || ivfFlatReader) {
                 int indexNprobe = ivfReader == nullptr ? ivfFlatReader->nprobe : ivfReader->nprobe;
-                ivfParams.nprobe = commons::getIntegerMethodParameter(env, jniUtil, methodParams, NPROBES, indexNprobe);
+                ivfParams.nprobe = nprobesJ > 0 ? nprobesJ : indexNprobe;
                 ivfParams.sel = idSelector.get();
                 searchParameters = &ivfParams;
             }
@@ -455,7 +649,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
         auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
         if(hnswReader != nullptr) {
             // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
                 hnswParams.grp = idGrouper.get();
@@ -465,7 +659,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
             auto ivfReader = dynamic_cast<const faiss::IndexIVF*>(indexReader->index);
             if (ivfReader) {
                 int indexNprobe = ivfReader->nprobe;
-                ivfParams.nprobe = commons::getIntegerMethodParameter(env, jniUtil, methodParams, NPROBES, indexNprobe);
+                ivfParams.nprobe = nprobesJ > 0 ? nprobesJ : indexNprobe;
                 searchParameters = &ivfParams;
             }
         }
@@ -486,21 +680,69 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
         resultSize = it - ids.begin();
     }
 
-    jclass resultClass = jniUtil->FindClass(env,"org/opensearch/knn/index/query/KNNQueryResult");
-    jmethodID allArgs = jniUtil->FindMethod(env, "org/opensearch/knn/index/query/KNNQueryResult", "<init>");
+    return buildKNNQueryResults(jniUtil, env, ids.data(), dis.data(), resultSize);
+}
+
+jobject knn_jni::faiss_wrapper::QueryIndex_Batch(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                 jfloatArray queryVectorsJ, jint queryCountJ, jint kJ, jint efSearchJ, jint nprobesJ,
+                                                 jint threadCountJ) {
+    if (queryVectorsJ == nullptr) {
+        throw std::runtime_error("Query Vectors cannot be null");
+    }
+    if (queryCountJ <= 0 || kJ <= 0) {
+        throw std::runtime_error("Query count and k must be positive");
+    }
+
+    auto *indexReader = reinterpret_cast<faiss::IndexIDMap *>(indexPointerJ);
+
+    if (indexReader == nullptr) {
+        throw std::runtime_error("Invalid pointer to index");
+    }
 
-    jobjectArray results = jniUtil->NewObjectArray(env, resultSize, resultClass, nullptr);
+    int queryVectorsLength = jniUtil->GetJavaFloatArrayLength(env, queryVectorsJ);
+    if (queryVectorsLength != (int64_t) queryCountJ * indexReader->d) {
+        throw std::runtime_error("Query vectors must hold query count times dimension floats");
+    }
+
+    // The search parameters are set once and shared by every query of the batch
+    faiss::SearchParameters *searchParameters = nullptr;
+    faiss::SearchParametersHNSW hnswParams;
+    faiss::SearchParametersIVF ivfParams;
+    auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
+    if (hnswReader != nullptr) {
+        // Query param efsearch supersedes ef_search provided during index setting.
+        hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
+        searchParameters = &hnswParams;
+    } else {
+        auto ivfReader = dynamic_cast<const faiss::IndexIVF*>(indexReader->index);
+        if (ivfReader) {
+            ivfParams.nprobe = nprobesJ > 0 ? nprobesJ : ivfReader->nprobe;
+            searchParameters = &ivfParams;
+        }
+    }
 
-    jobject result;
-    for(int i = 0; i < resultSize; ++i) {
-        result = jniUtil->NewObject(env, resultClass, allArgs, ids[i], dis[i]);
-        jniUtil->SetObjectArrayElement(env, results, i, result);
+    // The ids vector will hold the top k ids of every query and the dis vector their distances, query after query
+    std::vector<float> dis((size_t) queryCountJ * kJ);
+    std::vector<faiss::idx_t> ids((size_t) queryCountJ * kJ);
+    float* rawQueryVectors = jniUtil->GetFloatArrayElements(env, queryVectorsJ, nullptr);
+    // Faiss searches the queries of a batch in parallel, one OpenMP thread per query at most
+    omp_set_num_threads(std::max(1, std::min(threadCountJ, queryCountJ)));
+    try {
+        indexReader->search(queryCountJ, rawQueryVectors, kJ, dis.data(), ids.data(), searchParameters);
+    } catch (...) {
+        omp_set_num_threads(1);
+        jniUtil->ReleaseFloatArrayElements(env, queryVectorsJ, rawQueryVectors, JNI_ABORT);
+        throw;
     }
-    return results;
+    omp_set_num_threads(1);
+    jniUtil->ReleaseFloatArrayElements(env, queryVectorsJ, rawQueryVectors, JNI_ABORT);
+
+    // Results are returned padded, so that the results of query i start at i * k
+    return buildKNNQueryResults(jniUtil, env, ids.data(), dis.data(), queryCountJ * kJ);
 }
 
-jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                jbyteArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+jobject knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                jbyteArray queryVectorJ, jint kJ, jint efSearchJ, jint nprobesJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
 
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
@@ -512,10 +754,6 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         throw std::runtime_error("Invalid pointer to index");
     }
 
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
 
     // The ids vector will hold the top k ids from the search and the dis vector will hold the top k distances from
     // the query point
@@ -545,7 +783,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         auto hnswReader = dynamic_cast<const faiss::IndexBinaryHNSW*>(indexReader->index);
         if(hnswReader) {
             // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
             hnswParams.sel = idSelector.get();
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
@@ -575,9 +813,9 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         auto hnswReader = dynamic_cast<const faiss::IndexBinaryHNSW*>(indexReader->index);
         // TODO currently, search parameter is not supported in binary index
         // To avoid test failure, we skip setting ef search when methodPramsJ is null temporary
-        if(hnswReader!= nullptr && (methodParamsJ != nullptr || parentIdsJ != nullptr)) {
+        if(hnswReader!= nullptr && (efSearchJ > 0 || parentIdsJ != nullptr)) {
             // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
                 hnswParams.grp = idGrouper.get();
@@ -601,17 +839,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         resultSize = it - ids.begin();
     }
 
-    jclass resultClass = jniUtil->FindClass(env,"org/opensearch/knn/index/query/KNNQueryResult");
-    jmethodID allArgs = jniUtil->FindMethod(env, "org/opensearch/knn/index/query/KNNQueryResult", "<init>");
-
-    jobjectArray results = jniUtil->NewObjectArray(env, resultSize, resultClass, nullptr);
-
-    jobject result;
-    for(int i = 0; i < resultSize; ++i) {
-        result = jniUtil->NewObject(env, resultClass, allArgs, ids[i], dis[i]);
-        jniUtil->SetObjectArrayElement(env, results, i, result);
-    }
-    return results;
+    return buildKNNQueryResults(jniUtil, env, ids.data(), dis.data(), resultSize);
 }
 
 void knn_jni::faiss_wrapper::Free(jlong indexPointer, jboolean isBinaryIndexJ) {
@@ -643,6 +871,12 @@ void knn_jni::faiss_wrapper::InitLibrary() {
 
 jbyteArray knn_jni::faiss_wrapper::TrainIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ,
                                               jint dimensionJ, jlong trainVectorsPointerJ) {
+    return TrainIndexWithCentroids(jniUtil, env, parametersJ, dimensionJ, trainVectorsPointerJ, 0);
+}
+
+jbyteArray knn_jni::faiss_wrapper::TrainIndexWithCentroids(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env,
+                                                           jobject parametersJ, jint dimensionJ,
+                                                           jlong trainVectorsPointerJ, jlong centroidsPointerJ) {
     // First, we need to build the index
     if (parametersJ == nullptr) {
         throw std::runtime_error("Parameters cannot be null");
@@ -682,6 +916,21 @@ jbyteArray knn_jni::faiss_wrapper::TrainIndex(knn_jni::JNIUtilInterface * jniUti
         jniUtil->DeleteLocalRef(env, subParametersJ);
     }
 
+    // Fill the coarse quantizer with centroids trained beforehand. IVF training then skips the quantizer, as it
+    // already holds as many centroids as the index has lists, and only trains the encoding of the vectors.
+    if (centroidsPointerJ != 0) {
+        auto * indexIvf = dynamic_cast<faiss::IndexIVF*>(indexWriter.get());
+        if (indexIvf == nullptr || indexIvf->quantizer_trains_alone != 0) {
+            throw std::runtime_error("Centroids can only be set on IVF indices with a flat quantizer");
+        }
+        auto *centroidsPointerCpp = reinterpret_cast<std::vector<float>*>(centroidsPointerJ);
+        faiss::idx_t numCentroids = centroidsPointerCpp->size() / (int) dimensionJ;
+        if (numCentroids != (faiss::idx_t) indexIvf->nlist || indexIvf->quantizer->ntotal != 0) {
+            throw std::runtime_error("Number of centroids must be equal to the number of lists of the index");
+        }
+        indexIvf->quantizer->add(numCentroids, centroidsPointerCpp->data());
+    }
+
     // Train index if needed
     auto *trainingVectorsPointerCpp = reinterpret_cast<std::vector<float>*>(trainVectorsPointerJ);
     int numVectors = trainingVectorsPointerCpp->size()/(int) dimensionJ;
@@ -833,6 +1082,21 @@ std::unique_ptr<faiss::IDGrouperBitmap> buildIDGrouperBitmap(knn_jni::JNIUtilInt
     return idGrouper;
 }
 
+jlong getMappedInvertedListsSizeInBytes(const faiss::InvertedLists * invlists) {
+    // Only lists read with IO_FLAG_MMAP are OnDiskInvertedLists. Their codes and ids are served from the mapping, so
+    // they are held by the page cache rather than by the index.
+    auto onDiskInvlists = dynamic_cast<const faiss::OnDiskInvertedLists *>(invlists);
+    if (onDiskInvlists == nullptr) {
+        return 0;
+    }
+
+    jlong mappedSize = 0;
+    for (size_t i = 0; i < onDiskInvlists->nlist; i++) {
+        mappedSize += onDiskInvlists->list_size(i) * (onDiskInvlists->code_size + sizeof(faiss::idx_t));
+    }
+    return mappedSize;
+}
+
 bool isIndexIVFPQL2(faiss::Index * index) {
     faiss::Index * candidateIndex = index;
     // Unwrap the index if it is wrapped in IndexIDMap. Dynamic cast will "Safely converts pointers and references to
@@ -865,13 +1129,13 @@ faiss::IndexIVFPQ * extractIVFPQIndex(faiss::Index * index) {
     throw std::runtime_error("Unable to extract IVFPQ index. IVFPQ index not present.");
 }
 
-jobjectArray knn_jni::faiss_wrapper::RangeSearch(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ,
-                                                 jfloatArray queryVectorJ, jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jintArray parentIdsJ) {
-    return knn_jni::faiss_wrapper::RangeSearchWithFilter(jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, methodParamsJ, maxResultWindowJ, nullptr, 0, parentIdsJ);
+jobject knn_jni::faiss_wrapper::RangeSearch(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ,
+                                                 jfloatArray queryVectorJ, jfloat radiusJ, jint efSearchJ, jint nprobesJ, jint maxResultWindowJ, jintArray parentIdsJ) {
+    return knn_jni::faiss_wrapper::RangeSearchWithFilter(jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, efSearchJ, nprobesJ, maxResultWindowJ, nullptr, 0, parentIdsJ);
 }
 
-jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ,
-                                                           jfloatArray queryVectorJ, jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+jobject knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ,
+                                                           jfloatArray queryVectorJ, jfloat radiusJ, jint efSearchJ, jint nprobesJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
     }
@@ -884,10 +1148,6 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
 
     float *rawQueryVector = jniUtil->GetFloatArrayElements(env, queryVectorJ, nullptr);
 
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
 
     // The res will be freed by ~RangeSearchResult() in FAISS
     // The second parameter is always true, as lims is allocated by FAISS
@@ -911,7 +1171,7 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
         auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
         if(hnswReader) {
             // Query param ef_search supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
             hnswParams.sel = idSelector.get();
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
@@ -941,7 +1201,7 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
         auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
         if(hnswReader!= nullptr) {
             // Query param ef_search supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = efSearchJ > 0 ? efSearchJ : hnswReader->hnsw.efSearch;
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
                 hnswParams.grp = idGrouper.get();
@@ -967,16 +1227,136 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
         resultSize = maxResultWindowJ;
     }
 
-    jclass resultClass = jniUtil->FindClass(env,"org/opensearch/knn/index/query/KNNQueryResult");
-    jmethodID allArgs = jniUtil->FindMethod(env, "org/opensearch/knn/index/query/KNNQueryResult", "<init>");
+    return buildKNNQueryResults(jniUtil, env, res.labels, res.distances, resultSize);
+}
 
-    jobjectArray results = jniUtil->NewObjectArray(env, resultSize, resultClass, nullptr);
+template <typename IndexIDMapT, typename IndexHNSWT>
+void removeDeletedIds(IndexIDMapT * idMap, const std::vector<int64_t> & docMap) {
+    std::vector<bool> keep(idMap->id_map.size(), true);
+    std::vector<faiss::idx_t> removed;
+    for (size_t i = 0; i < idMap->id_map.size(); ++i) {
+        const faiss::idx_t id = idMap->id_map[i];
+        // Ids that are not in the doc map are kept and rejected by remapIds
+        if (id >= 0 && id < (faiss::idx_t) docMap.size() && docMap[id] < 0) {
+            keep[i] = false;
+            removed.push_back(i);
+        }
+    }
+    if (removed.empty()) {
+        return;
+    }
 
-    jobject result;
-    for(int i = 0; i < resultSize; ++i) {
-        result = jniUtil->NewObject(env, resultClass, allArgs, res.labels[i], res.distances[i]);
-        jniUtil->SetObjectArrayElement(env, results, i, result);
+    auto hnswIndex = dynamic_cast<IndexHNSWT *>(idMap->index);
+    if (hnswIndex == nullptr) {
+        throw std::runtime_error("Deleted docs can only be removed from HNSW indices");
     }
+    removeHnswNodes(hnswIndex->hnsw, keep);
+    // Flat storages remove vectors in place and keep the order of the remaining ones, like the graph
+    faiss::IDSelectorBatch selector(removed.size(), removed.data());
+    hnswIndex->storage->remove_ids(selector);
+    hnswIndex->ntotal = hnswIndex->storage->ntotal;
 
-    return results;
+    size_t numKept = 0;
+    for (size_t i = 0; i < idMap->id_map.size(); ++i) {
+        if (keep[i]) {
+            idMap->id_map[numKept++] = idMap->id_map[i];
+        }
+    }
+    idMap->id_map.resize(numKept);
+    idMap->ntotal = numKept;
+}
+
+void removeHnswNodes(faiss::HNSW & hnsw, const std::vector<bool> & keep) {
+    using storage_idx_t = faiss::HNSW::storage_idx_t;
+    const size_t numNodes = hnsw.levels.size();
+    std::vector<storage_idx_t> newIds(numNodes, -1);
+    storage_idx_t numKept = 0;
+    for (size_t i = 0; i < numNodes; ++i) {
+        if (keep[i]) {
+            newIds[i] = numKept++;
+        }
+    }
+
+    std::vector<int> levels;
+    std::vector<size_t> offsets(1, 0);
+    std::vector<storage_idx_t> neighbors;
+    storage_idx_t entryPoint = -1;
+    int maxLevel = -1;
+    std::vector<storage_idx_t> links;
+    std::vector<storage_idx_t> droppedLinks;
+    for (size_t i = 0; i < numNodes; ++i) {
+        if (!keep[i]) {
+            continue;
+        }
+        // levels holds the number of levels of a node, i.e. its top level + 1
+        const int nodeLevels = hnsw.levels[i];
+        levels.push_back(nodeLevels);
+        offsets.push_back(offsets.back() + hnsw.cum_nb_neighbors(nodeLevels));
+        if (nodeLevels - 1 > maxLevel) {
+            maxLevel = nodeLevels - 1;
+            entryPoint = newIds[i];
+        }
+
+        for (int level = 0; level < nodeLevels; ++level) {
+            const size_t numSlots = hnsw.nb_neighbors(level);
+            links.clear();
+            droppedLinks.clear();
+            auto addLink = [&](storage_idx_t neighbor) {
+                const storage_idx_t newId = newIds[neighbor];
+                if (links.size() < numSlots && std::find(links.begin(), links.end(), newId) == links.end()) {
+                    links.push_back(newId);
+                }
+            };
+
+            size_t begin, end;
+            hnsw.neighbor_range(i, level, &begin, &end);
+            for (size_t j = begin; j < end && hnsw.neighbors[j] >= 0; ++j) {
+                const storage_idx_t neighbor = hnsw.neighbors[j];
+                if (keep[neighbor]) {
+                    addLink(neighbor);
+                } else {
+                    droppedLinks.push_back(neighbor);
+                }
+            }
+            // Fill the slots freed by dropped neighbors with their own neighbors, closest first
+            for (storage_idx_t dropped : droppedLinks) {
+                if (hnsw.levels[dropped] <= level) {
+                    continue;
+                }
+                size_t droppedBegin, droppedEnd;
+                hnsw.neighbor_range(dropped, level, &droppedBegin, &droppedEnd);
+                for (size_t j = droppedBegin; j < droppedEnd && hnsw.neighbors[j] >= 0; ++j) {
+                    const storage_idx_t neighbor = hnsw.neighbors[j];
+                    if (neighbor != (storage_idx_t) i && keep[neighbor]) {
+                        addLink(neighbor);
+                    }
+                }
+            }
+            links.resize(numSlots, -1);
+            neighbors.insert(neighbors.end(), links.begin(), links.end());
+        }
+    }
+
+    // Keep the entry point when it is not dropped, as it is on the top level already
+    if (hnsw.entry_point >= 0 && keep[hnsw.entry_point]) {
+        entryPoint = newIds[hnsw.entry_point];
+    }
+    hnsw.levels = std::move(levels);
+    hnsw.offsets = std::move(offsets);
+    hnsw.neighbors = std::move(neighbors);
+    hnsw.entry_point = entryPoint;
+    hnsw.max_level = maxLevel;
+}
+
+void remapIds(std::vector<faiss::idx_t> & idMap, const std::vector<int64_t> & docMap) {
+    for (auto & id : idMap) {
+        if (id < 0 || id >= (faiss::idx_t) docMap.size()) {
+            throw std::runtime_error("Id " + std::to_string(id) + " of the index is not in the doc map");
+        }
+        const int64_t docId = docMap[id];
+        if (docId < 0) {
+            throw std::runtime_error("Doc " + std::to_string(id) + " of the index has no doc id in the merged segment");
+        }
+        id = docId;
+    }
 }
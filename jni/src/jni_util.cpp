@@ -61,9 +61,9 @@ void knn_jni::JNIUtil::Initialize(JNIEnv *env) {
     this->cachedMethods["java/lang/Integer:intValue"] = env->GetMethodID(tempLocalClassRef, "intValue", "()I");
     env->DeleteLocalRef(tempLocalClassRef);
 
-    tempLocalClassRef = env->FindClass("org/opensearch/knn/index/query/KNNQueryResult");
-    this->cachedClasses["org/opensearch/knn/index/query/KNNQueryResult"] = (jclass) env->NewGlobalRef(tempLocalClassRef);
-    this->cachedMethods["org/opensearch/knn/index/query/KNNQueryResult:<init>"] = env->GetMethodID(tempLocalClassRef, "<init>", "(IF)V");
+    tempLocalClassRef = env->FindClass("org/opensearch/knn/index/query/KNNQueryResults");
+    this->cachedClasses["org/opensearch/knn/index/query/KNNQueryResults"] = (jclass) env->NewGlobalRef(tempLocalClassRef);
+    this->cachedMethods["org/opensearch/knn/index/query/KNNQueryResults:<init>"] = env->GetMethodID(tempLocalClassRef, "<init>", "([I[F)V");
     env->DeleteLocalRef(tempLocalClassRef);
 }
 
@@ -459,14 +459,34 @@ jobject knn_jni::JNIUtil::GetObjectArrayElement(JNIEnv *env, jobjectArray array,
     return object;
 }
 
-jobject knn_jni::JNIUtil::NewObject(JNIEnv *env, jclass clazz, jmethodID methodId, int id, float distance) {
-    jobject object = env->NewObject(clazz, methodId, id, distance);
-    if (object == nullptr) {
+jobject knn_jni::JNIUtil::NewKNNQueryResults(JNIEnv *env, const jint *ids, const jfloat *distances, jsize size) {
+    jintArray idsJ = env->NewIntArray(size);
+    if (idsJ == nullptr) {
+        this->HasExceptionInStack(env, "Unable to allocate int array");
+        throw std::runtime_error("Unable to allocate int array");
+    }
+    env->SetIntArrayRegion(idsJ, 0, size, ids);
+    this->HasExceptionInStack(env, "Unable to set int array region");
+
+    jfloatArray distancesJ = env->NewFloatArray(size);
+    if (distancesJ == nullptr) {
+        this->HasExceptionInStack(env, "Unable to allocate float array");
+        throw std::runtime_error("Unable to allocate float array");
+    }
+    env->SetFloatArrayRegion(distancesJ, 0, size, distances);
+    this->HasExceptionInStack(env, "Unable to set float array region");
+
+    jclass resultsClass = this->FindClass(env, "org/opensearch/knn/index/query/KNNQueryResults");
+    jmethodID allArgs = this->FindMethod(env, "org/opensearch/knn/index/query/KNNQueryResults", "<init>");
+    jobject results = env->NewObject(resultsClass, allArgs, idsJ, distancesJ);
+    if (results == nullptr) {
         this->HasExceptionInStack(env, "Unable to create object");
         throw std::runtime_error("Unable to create object");
     }
 
-    return object;
+    env->DeleteLocalRef(idsJ);
+    env->DeleteLocalRef(distancesJ);
+    return results;
 }
 
 jobjectArray knn_jni::JNIUtil::NewObjectArray(JNIEnv *env, jsize len, jclass clazz, jobject init) {
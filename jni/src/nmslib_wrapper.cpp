@@ -223,8 +223,8 @@ jlong knn_jni::nmslib_wrapper::LoadIndex(knn_jni::JNIUtilInterface * jniUtil, JN
     return (jlong) indexWrapper;
 }
 
-jobjectArray knn_jni::nmslib_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                 jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ) {
+jobject knn_jni::nmslib_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                 jfloatArray queryVectorJ, jint kJ, jint efSearchJ) {
 
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
@@ -249,19 +249,13 @@ jobjectArray knn_jni::nmslib_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jni
     }
 
     jniUtil->ReleaseFloatArrayElements(env, queryVectorJ, rawQueryvector, JNI_ABORT);
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
-
-    int queryEfSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, -1);
     similarity::KNNQuery<float>* query; // TODO: Replace with smart pointers https://github.com/opensearch-project/k-NN/issues/1785
     std::unique_ptr<similarity::KNNQueue<float>> neighbors;
     try {
-        if (queryEfSearch == -1) {
+        if (efSearchJ <= 0) {
             query = new similarity::KNNQuery<float>(*(indexWrapper->space), queryObject.get(), kJ);
         } else {
-            query = new similarity::HNSWQuery<float>(*(indexWrapper->space), queryObject.get(), kJ, queryEfSearch);
+            query = new similarity::HNSWQuery<float>(*(indexWrapper->space), queryObject.get(), kJ, efSearchJ);
         }
 
         indexWrapper->index->Search(query);
@@ -275,22 +269,14 @@ jobjectArray knn_jni::nmslib_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jni
     delete query;
     
     int resultSize = neighbors->Size();
-    jclass resultClass = jniUtil->FindClass(env,"org/opensearch/knn/index/query/KNNQueryResult");
-    jmethodID allArgs = jniUtil->FindMethod(env, "org/opensearch/knn/index/query/KNNQueryResult", "<init>");
-
-    jobjectArray results = jniUtil->NewObjectArray(env, resultSize, resultClass, nullptr);
-
-    jobject result;
-    float distance;
-    long id;
+    std::vector<jint> ids(resultSize);
+    std::vector<jfloat> distances(resultSize);
     for(int i = 0; i < resultSize; ++i) {
-        distance = neighbors->TopDistance();
-        id = neighbors->Pop()->id();
-        result = jniUtil->NewObject(env, resultClass, allArgs, id, distance);
-        jniUtil->SetObjectArrayElement(env, results, i, result);
+        distances[i] = neighbors->TopDistance();
+        ids[i] = neighbors->Pop()->id();
     }
 
-    return results;
+    return jniUtil->NewKNNQueryResults(env, ids.data(), distances.data(), resultSize);
 }
 
 void knn_jni::nmslib_wrapper::Free(jlong indexPointerJ) {
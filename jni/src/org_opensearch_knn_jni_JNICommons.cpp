@@ -61,6 +61,76 @@ jlong memoryAddressJ, jobjectArray dataJ, jlong initialCapacityJ)
     return (long)memoryAddressJ;
 }
 
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_createVectorData(JNIEnv * env, jclass cls,
+                                                                               jlong initialCapacityJ)
+{
+    try {
+        return knn_jni::commons::createVectorData(initialCapacityJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return (jlong) 0;
+}
+
+JNIEXPORT jobject JNICALL Java_org_opensearch_knn_jni_JNICommons_appendVectorData(JNIEnv * env, jclass cls,
+                                                                                jlong memoryAddressJ, jlong numElementsJ)
+{
+    try {
+        float *data = knn_jni::commons::appendVectorData(memoryAddressJ, numElementsJ);
+        jobject buffer = env->NewDirectByteBuffer(data, numElementsJ * (jlong) sizeof(float));
+        jniUtil.HasExceptionInStack(env, "Unable to create direct byte buffer");
+        return buffer;
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return nullptr;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_JNICommons_resizeVectorData(JNIEnv * env, jclass cls,
+                                                                             jlong memoryAddressJ, jlong numElementsJ)
+{
+    try {
+        knn_jni::commons::resizeVectorData(memoryAddressJ, numElementsJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_createByteVectorData(JNIEnv * env, jclass cls,
+                                                                                   jlong initialCapacityJ)
+{
+    try {
+        return knn_jni::commons::createByteVectorData(initialCapacityJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return (jlong) 0;
+}
+
+JNIEXPORT jobject JNICALL Java_org_opensearch_knn_jni_JNICommons_appendByteVectorData(JNIEnv * env, jclass cls,
+                                                                                    jlong memoryAddressJ, jlong numElementsJ)
+{
+    try {
+        uint8_t *data = knn_jni::commons::appendByteVectorData(memoryAddressJ, numElementsJ);
+        jobject buffer = env->NewDirectByteBuffer(data, numElementsJ);
+        jniUtil.HasExceptionInStack(env, "Unable to create direct byte buffer");
+        return buffer;
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return nullptr;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_JNICommons_resizeByteVectorData(JNIEnv * env, jclass cls,
+                                                                                 jlong memoryAddressJ, jlong numElementsJ)
+{
+    try {
+        knn_jni::commons::resizeByteVectorData(memoryAddressJ, numElementsJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
 JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_JNICommons_freeVectorData(JNIEnv * env, jclass cls,
                                                                             jlong memoryAddressJ)
 {
@@ -59,12 +59,12 @@ JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_NmslibService_loadIndex(JNIE
     return NULL;
 }
 
-JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_NmslibService_queryIndex(JNIEnv * env, jclass cls,
+JNIEXPORT jobject JNICALL Java_org_opensearch_knn_jni_NmslibService_queryIndex(JNIEnv * env, jclass cls,
                                                                                     jlong indexPointerJ,
-                                                                                    jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ)
+                                                                                    jfloatArray queryVectorJ, jint kJ, jint efSearchJ)
 {
     try {
-        return knn_jni::nmslib_wrapper::QueryIndex(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, methodParamsJ);
+        return knn_jni::nmslib_wrapper::QueryIndex(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, efSearchJ);
     } catch (...) {
         jniUtil.CatchCppExceptionAndThrowJava(env);
     }
@@ -90,3 +90,48 @@ TEST(CommonTests, GetIntegerMethodParam) {
     int actualValue3 = knn_jni::commons::getIntegerMethodParameter(jniEnv, &mockJNIUtil, methodParams2, knn_jni::EF_SEARCH, 1);
     EXPECT_EQ(1, actualValue3);
 }
+
+TEST(CommonsTests, AppendVectorData) {
+    long dim = 3;
+    long totalNumberOfVector = 5;
+
+    jlong memoryAddress = knn_jni::commons::createVectorData((jlong)(totalNumberOfVector * dim));
+    ASSERT_NE(memoryAddress, 0);
+    auto *vect = reinterpret_cast<std::vector<float>*>(memoryAddress);
+    ASSERT_EQ(vect->size(), 0);
+    ASSERT_EQ(vect->capacity(), totalNumberOfVector * dim);
+
+    // Write vectors in place, in two regions, the second one larger than needed
+    float *region = knn_jni::commons::appendVectorData(memoryAddress, (jlong)(2 * dim));
+    for (int i = 0; i < 2 * dim; i++) {
+        region[i] = (float) i;
+    }
+    region = knn_jni::commons::appendVectorData(memoryAddress, (jlong)(3 * dim));
+    for (int i = 0; i < dim; i++) {
+        region[i] = (float) (2 * dim + i);
+    }
+    knn_jni::commons::resizeVectorData(memoryAddress, (jlong)(3 * dim));
+
+    // Data stays in place as long as the capacity is not exceeded
+    ASSERT_EQ(vect, reinterpret_cast<std::vector<float>*>(memoryAddress));
+    ASSERT_EQ(vect->size(), 3 * dim);
+    ASSERT_EQ(vect->capacity(), totalNumberOfVector * dim);
+    for (int i = 0; i < 3 * dim; i++) {
+        ASSERT_FLOAT_EQ(vect->at(i), (float) i);
+    }
+    EXPECT_THROW(knn_jni::commons::appendVectorData(0, dim), std::runtime_error);
+    EXPECT_THROW(knn_jni::commons::resizeVectorData(memoryAddress, -1), std::runtime_error);
+    knn_jni::commons::freeVectorData(memoryAddress);
+
+    memoryAddress = knn_jni::commons::createByteVectorData((jlong)(totalNumberOfVector * dim));
+    uint8_t *byteRegion = knn_jni::commons::appendByteVectorData(memoryAddress, (jlong) dim);
+    for (int i = 0; i < dim; i++) {
+        byteRegion[i] = (uint8_t) i;
+    }
+    auto *byteVect = reinterpret_cast<std::vector<uint8_t>*>(memoryAddress);
+    ASSERT_EQ(byteVect->size(), dim);
+    ASSERT_EQ(byteVect->at(dim - 1), (uint8_t)(dim - 1));
+    knn_jni::commons::resizeByteVectorData(memoryAddress, 0);
+    ASSERT_EQ(byteVect->size(), 0);
+    knn_jni::commons::freeByteVectorData(memoryAddress);
+}
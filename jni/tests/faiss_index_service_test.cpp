@@ -131,4 +131,65 @@ TEST(CreateBinaryIndexTest, BasicAssertions) {
         ids,
         indexPath,
         parametersMap);
-}
\ No newline at end of file
+}
+
+TEST(StreamingIndexTest, BasicAssertions) {
+    // Define the data
+    faiss::idx_t batchSize = 100;
+    int dim = 2;
+    std::vector<float> vectors;
+    vectors.reserve(dim * batchSize);
+
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string indexDescription = "HNSW32,Flat";
+    int threadCount = 1;
+    std::unordered_map<std::string, jobject> parametersMap;
+
+    // Set up jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // Setup faiss method mock
+    // This object is owned by the id map once the index is initialized
+    MockIndex* index = new MockIndex();
+    EXPECT_CALL(*index, add(batchSize, _))
+        .Times(2);
+    // This object is handled by unique_ptr inside indexService.writeIndex()
+    faiss::IndexIDMap* indexIdMap = new faiss::IndexIDMap(index);
+    std::unique_ptr<MockFaissMethods> mockFaissMethods(new MockFaissMethods());
+    EXPECT_CALL(*mockFaissMethods, indexFactory(dim, ::testing::StrEq(indexDescription.c_str()), metricType))
+        .WillOnce(Return(index));
+    EXPECT_CALL(*mockFaissMethods, indexIdMap(index))
+        .WillOnce(Return(indexIdMap));
+    EXPECT_CALL(*mockFaissMethods, writeIndex(indexIdMap, ::testing::StrEq(indexPath.c_str())))
+        .Times(1);
+
+    knn_jni::faiss_wrapper::IndexService indexService(std::move(mockFaissMethods));
+    jlong indexAddress = indexService.initIndex(
+        &mockJNIUtil,
+        jniEnv,
+        metricType,
+        indexDescription,
+        dim,
+        threadCount,
+        parametersMap);
+    ASSERT_EQ((jlong) indexIdMap, indexAddress);
+    ASSERT_TRUE(indexIdMap->own_fields);
+
+    // Add two batches through the same vector memory
+    for (int64_t batch = 0; batch < 2; ++batch) {
+        std::vector<int64_t> ids;
+        for (int64_t i = 0; i < batchSize; ++i) {
+            ids.push_back(batch * batchSize + i);
+            for (int j = 0; j < dim; ++j) {
+                vectors.push_back(test_util::RandomFloat(-500.0, 500.0));
+            }
+        }
+        indexService.insertToIndex(dim, batchSize, threadCount, (int64_t) &vectors, ids, indexAddress);
+        ASSERT_TRUE(vectors.empty());
+    }
+    ASSERT_EQ(2 * batchSize, indexIdMap->id_map.size());
+
+    indexService.writeIndex(indexPath, indexAddress);
+}
@@ -260,6 +260,98 @@ TEST(FaissLoadBinaryIndexTest, BasicAssertions) {
     std::remove(indexPath.c_str());
 }
 
+TEST(FaissLoadIndexForMergeTest, RemapsIds) {
+    faiss::idx_t numIds = 100;
+    int dim = 2;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    std::unique_ptr<faiss::Index> createdIndex(test_util::FaissCreateIndex(dim, "HNSW32,Flat", faiss::METRIC_L2));
+    auto createdIndexWithData = test_util::FaissAddData(createdIndex.get(), ids, vectors);
+    test_util::FaissWriteIndex(&createdIndexWithData, indexPath);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // The segment lands after 50 docs of another segment in the merged segment
+    std::vector<int64_t> docMap;
+    for (int64_t i = 0; i < numIds; ++i) {
+        docMap.push_back(i + 50);
+    }
+    std::unique_ptr<faiss::IndexIDMap> loadedIndex(reinterpret_cast<faiss::IndexIDMap *>(
+            knn_jni::faiss_wrapper::LoadIndexForMerge(&mockJNIUtil, jniEnv, (jstring) &indexPath,
+                                                      reinterpret_cast<jintArray>(&docMap))));
+
+    ASSERT_EQ(numIds, loadedIndex->ntotal);
+    for (int i = 0; i < numIds; ++i) {
+        ASSERT_EQ(ids[i] + 50, loadedIndex->id_map[i]);
+    }
+
+    // Ids outside of the doc map cannot be remapped
+    std::vector<int64_t> shortDocMap(docMap.begin(), docMap.begin() + numIds / 2);
+    ASSERT_THROW(knn_jni::faiss_wrapper::LoadIndexForMerge(&mockJNIUtil, jniEnv, (jstring) &indexPath,
+                                                           reinterpret_cast<jintArray>(&shortDocMap)),
+                 std::runtime_error);
+
+    // Clean up
+    std::remove(indexPath.c_str());
+}
+
+TEST(FaissLoadIndexForMergeTest, RemovesDeletedDocs) {
+    faiss::idx_t numIds = 200;
+    int dim = 2;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    std::unique_ptr<faiss::Index> createdIndex(test_util::FaissCreateIndex(dim, "HNSW16,Flat", faiss::METRIC_L2));
+    auto createdIndexWithData = test_util::FaissAddData(createdIndex.get(), ids, vectors);
+    test_util::FaissWriteIndex(&createdIndexWithData, indexPath);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // Every third doc is deleted, the others are compacted in the merged segment
+    std::vector<int64_t> docMap;
+    int64_t numLiveDocs = 0;
+    for (int64_t i = 0; i < numIds; ++i) {
+        docMap.push_back(i % 3 == 0 ? -1 : numLiveDocs++);
+    }
+    std::unique_ptr<faiss::IndexIDMap> loadedIndex(reinterpret_cast<faiss::IndexIDMap *>(
+            knn_jni::faiss_wrapper::LoadIndexForMerge(&mockJNIUtil, jniEnv, (jstring) &indexPath,
+                                                      reinterpret_cast<jintArray>(&docMap))));
+
+    auto hnswIndex = dynamic_cast<faiss::IndexHNSW *>(loadedIndex->index);
+    ASSERT_NE(nullptr, hnswIndex);
+    ASSERT_EQ(numLiveDocs, loadedIndex->ntotal);
+    ASSERT_EQ(numLiveDocs, hnswIndex->ntotal);
+    ASSERT_EQ(numLiveDocs, hnswIndex->hnsw.levels.size());
+    ASSERT_EQ(numLiveDocs + 1, hnswIndex->hnsw.offsets.size());
+    ASSERT_EQ(hnswIndex->hnsw.offsets.back(), hnswIndex->hnsw.neighbors.size());
+    for (auto neighbor : hnswIndex->hnsw.neighbors) {
+        ASSERT_LT(neighbor, numLiveDocs);
+    }
+
+    // The vector of every live doc is still found under its new doc id
+    int64_t docId = 0;
+    for (int64_t i = 0; i < numIds; ++i) {
+        if (docMap[i] < 0) {
+            continue;
+        }
+        ASSERT_EQ(docMap[i], loadedIndex->id_map[docId++]);
+        float distance;
+        faiss::idx_t label;
+        loadedIndex->search(1, vectors.data() + i * dim, 1, &distance, &label);
+        ASSERT_EQ(docMap[i], label);
+    }
+
+    // Clean up
+    std::remove(indexPath.c_str());
+}
+
 TEST(FaissLoadIndexTest, HNSWPQDisableSdcTable) {
     // Check that when we load an HNSWPQ index, the sdc table is not present.
     faiss::idx_t numIds = 256;
@@ -325,6 +417,51 @@ TEST(FaissLoadIndexTest, IVFPQDisablePrecomputeTable) {
     ASSERT_EQ(0, ivfpqIndex->precomputed_table->size());
 }
 
+TEST(FaissLoadIndexWithMmapTest, IVFInvertedListsMapped) {
+    faiss::idx_t numIds = 256;
+    int dim = 2;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string indexDescription = "IVF4,Flat";
+
+    std::unique_ptr<faiss::Index> faissIndex(test_util::FaissCreateIndex(dim, indexDescription, metricType));
+    test_util::FaissTrainIndex(faissIndex.get(), numIds, vectors.data());
+    auto faissIndexWithIDMap = test_util::FaissAddData(faissIndex.get(), ids, vectors);
+    test_util::FaissWriteIndex(&faissIndexWithIDMap, indexPath);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    std::unique_ptr<faiss::Index> inMemoryIndex(
+            reinterpret_cast<faiss::Index *>(knn_jni::faiss_wrapper::LoadIndex(
+                    &mockJNIUtil, jniEnv, (jstring)&indexPath)));
+    std::unique_ptr<faiss::Index> mappedIndex(
+            reinterpret_cast<faiss::Index *>(knn_jni::faiss_wrapper::LoadIndexWithMmap(
+                    &mockJNIUtil, jniEnv, (jstring)&indexPath)));
+
+    ASSERT_EQ(0, knn_jni::faiss_wrapper::GetMappedSizeInBytes((jlong) inMemoryIndex.get()));
+    // Every vector is stored in the inverted lists as a flat code together with its id
+    ASSERT_EQ(numIds * (dim * sizeof(float) + sizeof(faiss::idx_t)),
+              knn_jni::faiss_wrapper::GetMappedSizeInBytes((jlong) mappedIndex.get()));
+
+    // Both indices must return the same results
+    int k = 10;
+    std::vector<float> distancesInMemory(k);
+    std::vector<faiss::idx_t> labelsInMemory(k);
+    std::vector<float> distancesMapped(k);
+    std::vector<faiss::idx_t> labelsMapped(k);
+    inMemoryIndex->search(1, vectors.data(), k, distancesInMemory.data(), labelsInMemory.data());
+    mappedIndex->search(1, vectors.data(), k, distancesMapped.data(), labelsMapped.data());
+    ASSERT_EQ(labelsInMemory, labelsMapped);
+
+    // Clean up
+    std::remove(indexPath.c_str());
+}
+
 TEST(FaissQueryIndexTest, BasicAssertions) {
     // Define the index data
     faiss::idx_t numIds = 100;
@@ -338,8 +475,6 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
     // Define query data
     int k = 10;
     int efSearch = 20;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
 
     int numQueries = 100;
     std::vector<std::vector<float>> queries;
@@ -362,7 +497,6 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
     // Setup jni
     JNIEnv *jniEnv = nullptr;
     NiceMock<test_util::MockJNIUtil> mockJNIUtil;
-    auto methodParamsJ = reinterpret_cast<jobject>(&methodParams);
 
     for (auto query : queries) {
         std::unique_ptr<std::vector<std::pair<int, float> *>> results(
@@ -370,7 +504,7 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::QueryIndex(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), k, methodParamsJ, nullptr)));
+                                reinterpret_cast<jfloatArray>(&query), k, efSearch, -1, nullptr)));
 
         ASSERT_EQ(k, results->size());
 
@@ -381,6 +515,67 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
     }
 }
 
+TEST(FaissQueryIndexBatchTest, MatchesSingleQueries) {
+    // Define the index data
+    faiss::idx_t numIds = 200;
+    int dim = 16;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string method = "HNSW32,Flat";
+
+    // Define query data, with every query vector laid out back to back
+    int k = 10;
+    int efSearch = 20;
+
+    int numQueries = 20;
+    std::vector<float> batchQueries = test_util::RandomVectors(dim, numQueries, -500.0, 500.0);
+
+    // Create the index
+    std::unique_ptr<faiss::Index> createdIndex(
+            test_util::FaissCreateIndex(dim, method, metricType));
+    auto createdIndexWithData =
+            test_util::FaissAddData(createdIndex.get(), ids, vectors);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    std::unique_ptr<std::vector<std::pair<int, float> *>> batchResults(
+            reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                    knn_jni::faiss_wrapper::QueryIndex_Batch(
+                            &mockJNIUtil, jniEnv,
+                            reinterpret_cast<jlong>(&createdIndexWithData),
+                            reinterpret_cast<jfloatArray>(&batchQueries), numQueries, k, efSearch, -1, 4)));
+
+    ASSERT_EQ(numQueries * k, batchResults->size());
+
+    for (int i = 0; i < numQueries; i++) {
+        std::vector<float> query(batchQueries.begin() + i * dim, batchQueries.begin() + (i + 1) * dim);
+        std::unique_ptr<std::vector<std::pair<int, float> *>> results(
+                reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                        knn_jni::faiss_wrapper::QueryIndex(
+                                &mockJNIUtil, jniEnv,
+                                reinterpret_cast<jlong>(&createdIndexWithData),
+                                reinterpret_cast<jfloatArray>(&query), k, efSearch, -1, nullptr)));
+
+        ASSERT_EQ(k, results->size());
+        for (int j = 0; j < k; j++) {
+            ASSERT_EQ((*results)[j]->first, (*batchResults)[i * k + j]->first);
+            ASSERT_FLOAT_EQ((*results)[j]->second, (*batchResults)[i * k + j]->second);
+        }
+
+        for (auto it : *results.get()) {
+            delete it;
+        }
+    }
+
+    for (auto it : *batchResults.get()) {
+        delete it;
+    }
+}
+
 TEST(FaissQueryBinaryIndexTest, BasicAssertions) {
     // Define the data
     faiss::idx_t numIds = 200;
@@ -425,7 +620,7 @@ TEST(FaissQueryBinaryIndexTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jbyteArray>(&query), k, nullptr, nullptr, 0, nullptr)));
+                                reinterpret_cast<jbyteArray>(&query), k, -1, -1, nullptr, 0, nullptr)));
 
         ASSERT_EQ(k, results->size());
 
@@ -491,7 +686,7 @@ TEST(FaissQueryIndexWithFilterTest1435, BasicAssertions) {
                         knn_jni::faiss_wrapper::QueryIndex_WithFilter(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), k, nullptr,
+                                reinterpret_cast<jfloatArray>(&query), k, -1, -1,
                                 reinterpret_cast<jlongArray>(&bitmap), 0, nullptr)));
 
         ASSERT_TRUE(results->size() <= filterIds.size());
@@ -550,8 +745,6 @@ TEST(FaissQueryIndexWithParentFilterTest, BasicAssertions) {
             test_util::FaissAddData(createdIndex.get(), ids, vectors);
 
     int efSearch = 100;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
 
     // Setup jni
     JNIEnv *jniEnv = nullptr;
@@ -566,7 +759,7 @@ TEST(FaissQueryIndexWithParentFilterTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::QueryIndex(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jobject>(&methodParams),
+                                reinterpret_cast<jfloatArray>(&query), k, efSearch, -1,
                                 reinterpret_cast<jintArray>(&parentIds))));
 
         // Even with k 20, result should have only 10 which is total number of groups
@@ -649,6 +842,45 @@ TEST(FaissTrainIndexTest, BasicAssertions) {
     ASSERT_TRUE(trainedIndex->is_trained);
 }
 
+TEST(FaissTrainIndexWithCentroidsTest, BasicAssertions) {
+    // Define the index configuration
+    int dim = 2;
+    int nlist = 4;
+    std::string spaceType = knn_jni::L2;
+    std::string index_description = "IVF4,Flat";
+
+    std::unordered_map<std::string, jobject> parametersMap;
+    parametersMap[knn_jni::SPACE_TYPE] = (jobject) &spaceType;
+    parametersMap[knn_jni::INDEX_DESCRIPTION] = (jobject) &index_description;
+
+    // Define training data and centroids
+    int numTrainingVectors = 256;
+    std::vector<float> trainingVectors = test_util::RandomVectors(dim, numTrainingVectors, randomDataMin, randomDataMax);
+    std::vector<float> centroids = test_util::RandomVectors(dim, nlist, randomDataMin, randomDataMax);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // Perform training
+    std::unique_ptr<std::vector<uint8_t>> trainedIndexSerialization(
+            reinterpret_cast<std::vector<uint8_t> *>(
+                    knn_jni::faiss_wrapper::TrainIndexWithCentroids(
+                            &mockJNIUtil, jniEnv, (jobject) &parametersMap, dim,
+                            reinterpret_cast<jlong>(&trainingVectors), reinterpret_cast<jlong>(&centroids))));
+
+    std::unique_ptr<faiss::Index> trainedIndex(
+            test_util::FaissLoadFromSerializedIndex(trainedIndexSerialization.get()));
+
+    // Confirm that training succeeded and that the quantizer holds the given centroids
+    ASSERT_TRUE(trainedIndex->is_trained);
+    auto * trainedIndexIvf = dynamic_cast<faiss::IndexIVF*>(trainedIndex.get());
+    ASSERT_NE(nullptr, trainedIndexIvf);
+    std::vector<float> quantizerCentroids(dim * nlist);
+    trainedIndexIvf->quantizer->reconstruct_n(0, nlist, quantizerCentroids.data());
+    ASSERT_EQ(centroids, quantizerCentroids);
+}
+
 TEST(FaissCreateHnswSQfp16IndexTest, BasicAssertions) {
     // Define the data
     faiss::idx_t numIds = 200;
@@ -802,9 +1034,6 @@ TEST(FaissRangeSearchQueryIndexTest, BasicAssertions) {
     std::string method = "HNSW32,Flat";
 
     int efSearch = 20;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
-    auto methodParamsJ = reinterpret_cast<jobject>(&methodParams);
 
     // Define query data
     int numQueries = 100;
@@ -838,7 +1067,7 @@ TEST(FaissRangeSearchQueryIndexTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::RangeSearch(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, methodParamsJ, maxResultWindow, nullptr)));
+                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, efSearch, -1, maxResultWindow, nullptr)));
 
         // assert result size is not 0
         ASSERT_NE(0, results->size());
@@ -893,7 +1122,7 @@ TEST(FaissRangeSearchQueryIndexTest_WhenHitMaxWindowResult, BasicAssertions){
                         knn_jni::faiss_wrapper::RangeSearch(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, nullptr, maxResultWindow, nullptr)));
+                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, -1, -1, maxResultWindow, nullptr)));
 
         // assert result size is not 0
         ASSERT_NE(0, results->size());
@@ -959,7 +1188,7 @@ TEST(FaissRangeSearchQueryIndexTestWithFilterTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::RangeSearchWithFilter(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, nullptr, maxResultWindow,
+                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, -1, -1, maxResultWindow,
                                 reinterpret_cast<jlongArray>(&bitmap), 0, nullptr)));
 
         // assert result size is not 0
@@ -1034,7 +1263,7 @@ TEST(FaissRangeSearchQueryIndexTestWithParentFilterTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::RangeSearchWithFilter(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, nullptr, maxResultWindow, nullptr, 0,
+                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, -1, -1, maxResultWindow, nullptr, 0,
                                 reinterpret_cast<jintArray>(&parentIds))));
 
         // assert result size is not 0
@@ -188,10 +188,8 @@ namespace query_index_test {
 
         int efSearch = input.efSearch;
         int expectedEfSearch = 100; //default set in mock
-        std::unordered_map<std::string, jobject> methodParams;
         if (efSearch != -1) {
             expectedEfSearch = input.efSearch;
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
         }
 
         std::vector<int> *parentIdPtr = nullptr;
@@ -217,7 +215,7 @@ namespace query_index_test {
         knn_jni::faiss_wrapper::QueryIndex(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&id_map_),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), input.k, efSearch, -1,
             reinterpret_cast<jintArray>(parentIdPtr));
 
         // Then
@@ -284,17 +282,15 @@ namespace query_index_with_filter_test {
 
         int efSearch = input.efSearch;
         int expectedEfSearch = 100; //default set in mock
-        std::unordered_map<std::string, jobject> methodParams;
         if (efSearch != -1) {
             expectedEfSearch = input.efSearch;
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
         }
 
         // When
         knn_jni::faiss_wrapper::QueryIndex_WithFilter(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&id_map_),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), input.k, efSearch, -1,
             reinterpret_cast<jlongArray>(filterptr),
             input.filterIdType,
             reinterpret_cast<jintArray>(parentIdPtr));
@@ -346,12 +342,10 @@ namespace range_search_test {
         float radius = input.radius;
         int maxResultWindow = 100; // Set your max result window
 
-        std::unordered_map<std::string, jobject> methodParams;
         int efSearch = input.efSearch;
         int expectedEfSearch = 100; // default set in mock
         if (efSearch != -1) {
             expectedEfSearch = input.efSearch;
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
         }
 
         std::vector<int> *parentIdPtr = nullptr;
@@ -387,7 +381,7 @@ namespace range_search_test {
         knn_jni::faiss_wrapper::RangeSearchWithFilter(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&id_map_),
-            reinterpret_cast<jfloatArray>(&query), radius, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), radius, efSearch, -1,
             maxResultWindow,
             reinterpret_cast<jlongArray>(filterptr),
             input.filterIdType,
@@ -439,10 +433,8 @@ namespace query_index_with_filter_test_ivf {
 
         int nprobe = input.nprobe;
         int expectedNprobe = 100; //default set in mock
-        std::unordered_map<std::string, jobject> methodParams;
         if (nprobe != -1) {
             expectedNprobe = input.nprobe;
-            methodParams[knn_jni::NPROBES] = reinterpret_cast<jobject>(&nprobe);
         }
 
         std::vector<long> *filterptr = nullptr;
@@ -458,7 +450,7 @@ namespace query_index_with_filter_test_ivf {
         knn_jni::faiss_wrapper::QueryIndex_WithFilter(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&ivf_id_map_),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), input.k, -1, nprobe,
             reinterpret_cast<jlongArray>(filterptr),
             input.filterIdType,
             nullptr);
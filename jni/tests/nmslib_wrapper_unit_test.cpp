@@ -93,10 +93,6 @@ namespace nmslib_query_index_test {
         indexWrapper->index.reset(index_);
 
         int efSearch = input.efSearch;
-        std::unordered_map<std::string, jobject> methodParams;
-        if (efSearch != -1) {
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
-        }
         EXPECT_CALL(mockJNIUtil,
                         GetJavaFloatArrayLength(
                             jniEnv, reinterpret_cast<jfloatArray>(query)))
@@ -113,7 +109,7 @@ namespace nmslib_query_index_test {
         knn_jni::nmslib_wrapper::QueryIndex(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(indexWrapper.get()),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams));
+            reinterpret_cast<jfloatArray>(&query), input.k, efSearch);
 
         if (input.expectedHNSWQuery) {
             EXPECT_EQ(input.efSearch, index_->efCalled);
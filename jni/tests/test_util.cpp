@@ -199,13 +199,16 @@ test_util::MockJNIUtil::MockJNIUtil() {
         return reinterpret_cast<jbyteArray>(new std::vector<uint8_t>());
     });
 
-    // Create a new std::pair<int, float> with the id and distance and then
-    // re-interpret it as a jobject
-    ON_CALL(*this, NewObject)
-            .WillByDefault([this](JNIEnv *env, jclass clazz, jmethodID methodId,
-                                  int id, float distance) {
-                return reinterpret_cast<jobject>(
-                        new std::pair<int, float>(id, distance));
+    // Create a new std::vector<std::pair<int, float> *> with one pair per id and
+    // distance and then re-interpret it as a jobject
+    ON_CALL(*this, NewKNNQueryResults)
+            .WillByDefault([this](JNIEnv *env, const jint *ids,
+                                  const jfloat *distances, jsize size) {
+                auto results = new std::vector<std::pair<int, float> *>();
+                for (int i = 0; i < size; ++i) {
+                    results->push_back(new std::pair<int, float>(ids[i], distances[i]));
+                }
+                return reinterpret_cast<jobject>(results);
             });
 
     // Create a new std::vector<std::pair<int, float> and reinterpret it as a
@@ -84,9 +84,9 @@ namespace test_util {
         MOCK_METHOD(void, HasExceptionInStack,
                     (JNIEnv * env, const std::string& message));
         MOCK_METHOD(jbyteArray, NewByteArray, (JNIEnv * env, jsize len));
-        MOCK_METHOD(jobject, NewObject,
-                    (JNIEnv * env, jclass clazz, jmethodID methodId, int id,
-                            float distance));
+        MOCK_METHOD(jobject, NewKNNQueryResults,
+                    (JNIEnv * env, const jint* ids, const jfloat* distances,
+                            jsize size));
         MOCK_METHOD(jobjectArray, NewObjectArray,
                     (JNIEnv * env, jsize len, jclass clazz, jobject init));
         MOCK_METHOD(void, ReleaseByteArrayElements,
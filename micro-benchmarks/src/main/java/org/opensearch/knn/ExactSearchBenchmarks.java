@@ -0,0 +1,168 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.HitQueue;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BitSetIterator;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.FixedBitSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.index.query.KNNQueryResults;
+import org.opensearch.knn.index.query.TopKHeap;
+import org.opensearch.knn.index.query.filtered.FilteredIdsKNNIterator;
+import org.opensearch.knn.index.query.filtered.KNNIterator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Benchmarks of exact search over the filtered docs of a segment with 100k vectors. The per doc path mirrors what
+ * KNNWeight did before docs were scored in blocks and collected into a primitive heap.
+ * <pre>
+ * gradlew -p micro-benchmarks run --args ' ExactSearchBenchmarks -prof gc'
+ * </pre>
+ */
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ExactSearchBenchmarks {
+    private static final int DOC_COUNT = 100_000;
+
+    @Param({ "128", "768" })
+    private int dimension;
+    @Param({ "l2", "innerproduct" })
+    private String spaceType;
+    @Param({ "10", "100" })
+    private int k;
+
+    private SpaceType space;
+    private float[] queryVector;
+    private byte[][] vectors;
+    private FixedBitSet filter;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1212121212);
+        space = SpaceType.getSpace(spaceType);
+        queryVector = randomVector(random);
+        vectors = new byte[DOC_COUNT][];
+        for (int i = 0; i < DOC_COUNT; i++) {
+            vectors[i] = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.encode(randomVector(random));
+        }
+        filter = new FixedBitSet(DOC_COUNT);
+        filter.set(0, DOC_COUNT);
+    }
+
+    @Benchmark
+    public KNNQueryResults perDoc() throws IOException {
+        final BinaryDocValues values = new InMemoryBinaryDocValues(vectors);
+        final BitSetIterator iterator = new BitSetIterator(filter, filter.length());
+        final HitQueue queue = new HitQueue(k, true);
+        ScoreDoc topDoc = queue.top();
+        for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+            values.advance(doc);
+            final float[] vector = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(values.binaryValue());
+            final float score = space.getKnnVectorSimilarityFunction().compare(queryVector, vector);
+            if (score > topDoc.score) {
+                topDoc.score = score;
+                topDoc.doc = doc;
+                topDoc = queue.updateTop();
+            }
+        }
+        final int size = queue.size();
+        final int[] docIds = new int[size];
+        final float[] scores = new float[size];
+        for (int i = size - 1; i >= 0; i--) {
+            final ScoreDoc doc = queue.pop();
+            docIds[i] = doc.doc;
+            scores[i] = doc.score;
+        }
+        return new KNNQueryResults(docIds, scores);
+    }
+
+    @Benchmark
+    public KNNQueryResults blocks() throws IOException {
+        final KNNIterator iterator = new FilteredIdsKNNIterator(
+            filter,
+            queryVector,
+            new InMemoryBinaryDocValues(vectors),
+            space,
+            KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS
+        );
+        final TopKHeap heap = new TopKHeap(k);
+        int doc;
+        while ((doc = iterator.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
+            heap.insertWithOverflow(doc, iterator.score());
+        }
+        return heap.toResults();
+    }
+
+    private float[] randomVector(final Random random) {
+        final float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+
+    private static final class InMemoryBinaryDocValues extends BinaryDocValues {
+        private final byte[][] values;
+        private final BytesRef bytesRef = new BytesRef();
+        private int doc = -1;
+
+        private InMemoryBinaryDocValues(final byte[][] values) {
+            this.values = values;
+        }
+
+        @Override
+        public BytesRef binaryValue() {
+            bytesRef.bytes = values[doc];
+            bytesRef.offset = 0;
+            bytesRef.length = values[doc].length;
+            return bytesRef;
+        }
+
+        @Override
+        public boolean advanceExact(int target) {
+            doc = target;
+            return target < values.length;
+        }
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int nextDoc() {
+            return advance(doc + 1);
+        }
+
+        @Override
+        public int advance(int target) {
+            doc = target < values.length ? target : NO_MORE_DOCS;
+            return doc;
+        }
+
+        @Override
+        public long cost() {
+            return values.length;
+        }
+    }
+}
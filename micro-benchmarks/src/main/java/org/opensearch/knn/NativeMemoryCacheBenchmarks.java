@@ -0,0 +1,132 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.knn.index.memory.NativeMemoryAllocation;
+import org.opensearch.knn.index.memory.ShardedNativeMemoryCache;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for cache hits of native memory allocations under contention, as seen when many search threads look up
+ * the graphs of the segments they are searching. The single lock cache mirrors how NativeMemoryCacheManager configured
+ * its Guava cache before it was sharded. Each lookup is followed by the admission check size query, which used to be
+ * a scan over all entries.
+ *
+ * Vary the number of threads to see how each implementation scales:
+ * <pre>
+ * gradlew -p micro-benchmarks run --args ' NativeMemoryCacheBenchmarks -t 32'
+ * </pre>
+ */
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(3)
+@Threads(16)
+@State(Scope.Benchmark)
+public class NativeMemoryCacheBenchmarks {
+    private static final long MAX_WEIGHT = Long.MAX_VALUE;
+
+    @Param({ "16", "1024" })
+    private int entryCount;
+
+    private String[] keys;
+    private Cache<String, NativeMemoryAllocation> singleLockCache;
+    private ShardedNativeMemoryCache shardedCache;
+
+    @Setup(Level.Trial)
+    public void setup() throws ExecutionException {
+        keys = new String[entryCount];
+        singleLockCache = CacheBuilder.newBuilder()
+            .recordStats()
+            .concurrencyLevel(1)
+            .maximumWeight(MAX_WEIGHT)
+            .<String, NativeMemoryAllocation>weigher((k, v) -> v.getSizeInKB())
+            .expireAfterAccess(180, TimeUnit.MINUTES)
+            .build();
+        shardedCache = new ShardedNativeMemoryCache(
+            Runtime.getRuntime().availableProcessors(),
+            MAX_WEIGHT,
+            TimeUnit.MINUTES.toNanos(180),
+            notification -> {}
+        );
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = "/data/nodes/0/indices/index/0/index/_" + i + "_165_target_field.faissc";
+            final BenchmarkAllocation allocation = new BenchmarkAllocation(1024);
+            singleLockCache.get(keys[i], () -> allocation);
+            shardedCache.get(keys[i], () -> allocation);
+        }
+    }
+
+    @Benchmark
+    public long singleLockCacheHit() throws ExecutionException {
+        final String key = keys[ThreadLocalRandom.current().nextInt(entryCount)];
+        final NativeMemoryAllocation allocation = singleLockCache.get(key, () -> new BenchmarkAllocation(1024));
+        return allocation.getSizeInKB() + singleLockCache.asMap()
+            .values()
+            .stream()
+            .mapToLong(NativeMemoryAllocation::getSizeInKB)
+            .sum();
+    }
+
+    @Benchmark
+    public long shardedCacheHit() throws ExecutionException {
+        final String key = keys[ThreadLocalRandom.current().nextInt(entryCount)];
+        final NativeMemoryAllocation allocation = shardedCache.get(key, () -> new BenchmarkAllocation(1024));
+        return allocation.getSizeInKB() + shardedCache.getWeightInKilobytes();
+    }
+
+    private static final class BenchmarkAllocation implements NativeMemoryAllocation {
+        private final int sizeInKB;
+
+        private BenchmarkAllocation(int sizeInKB) {
+            this.sizeInKB = sizeInKB;
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public long getMemoryAddress() {
+            return 0;
+        }
+
+        @Override
+        public void readLock() {}
+
+        @Override
+        public void writeLock() {}
+
+        @Override
+        public void readUnlock() {}
+
+        @Override
+        public void writeUnlock() {}
+
+        @Override
+        public int getSizeInKB() {
+            return sizeInKB;
+        }
+    }
+}
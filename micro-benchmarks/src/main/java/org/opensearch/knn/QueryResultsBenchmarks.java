@@ -0,0 +1,111 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn;
+
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.DocIdSetBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.query.KNNQueryResults;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks for the per segment handling of native search results, from the results returned by JNI until every
+ * doc has been scored. The map based path mirrors what KNNWeight did before results were kept in primitive arrays.
+ *
+ * Run with the gc profiler to compare allocations per query:
+ * <pre>
+ * gradlew -p micro-benchmarks run --args ' QueryResultsBenchmarks -prof gc'
+ * </pre>
+ */
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(3)
+@State(Scope.Benchmark)
+public class QueryResultsBenchmarks {
+    private static final Random random = new Random(1212121212);
+
+    @Param({ "10", "100", "1000" })
+    private int k;
+
+    private int[] docIds;
+    private float[] distances;
+
+    @Setup
+    public void setup() {
+        docIds = random.ints(0, 1_000_000).distinct().limit(k).toArray();
+        distances = new float[k];
+        for (int i = 0; i < k; i++) {
+            distances[i] = random.nextFloat() * 100;
+        }
+    }
+
+    @Benchmark
+    public void mapBasedResults(final Blackhole bh) throws IOException {
+        // One object per result is created by the JNI layer
+        final LegacyQueryResult[] results = new LegacyQueryResult[k];
+        for (int i = 0; i < k; i++) {
+            results[i] = new LegacyQueryResult(docIds[i], distances[i]);
+        }
+        final Map<Integer, Float> annResults = Arrays.stream(results)
+            .collect(Collectors.toMap(LegacyQueryResult::getId, result -> KNNEngine.FAISS.score(result.getScore(), SpaceType.L2)));
+        final Map<Integer, Float> docIdsToScoreMap = new HashMap<>();
+        docIdsToScoreMap.putAll(annResults);
+
+        final int maxDoc = docIdsToScoreMap.keySet().stream().max(Integer::compare).get() + 1;
+        final DocIdSetBuilder docIdSetBuilder = new DocIdSetBuilder(maxDoc);
+        final DocIdSetBuilder.BulkAdder setAdder = docIdSetBuilder.grow(docIdsToScoreMap.size());
+        docIdsToScoreMap.keySet().forEach(setAdder::add);
+        final DocIdSetIterator iterator = docIdSetBuilder.build().iterator();
+        for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+            bh.consume(docIdsToScoreMap.get(doc));
+        }
+    }
+
+    @Benchmark
+    public void primitiveResults(final Blackhole bh) {
+        // The JNI layer hands over two arrays, which are copied here to keep the input identical across invocations
+        final KNNQueryResults results = new KNNQueryResults(Arrays.copyOf(docIds, k), Arrays.copyOf(distances, k));
+        results.translateScores(KNNEngine.FAISS, SpaceType.L2).sortByDocId();
+        final KNNQueryResults.DocIdIterator iterator = results.iterator();
+        for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+            bh.consume(iterator.score());
+        }
+    }
+
+    private static final class LegacyQueryResult {
+        private final int id;
+        private final float score;
+
+        private LegacyQueryResult(int id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        private int getId() {
+            return id;
+        }
+
+        private float getScore() {
+            return score;
+        }
+    }
+}
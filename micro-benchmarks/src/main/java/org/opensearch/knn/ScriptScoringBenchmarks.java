@@ -0,0 +1,140 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn;
+
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.knn.index.KNNVectorLeafValues;
+import org.opensearch.knn.index.KNNVectorScriptDocValues;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.plugin.script.KNNScoringUtil;
+import org.opensearch.knn.plugin.script.KNNVectorScoringMethod;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Benchmarks of a brute force knn_score script over a segment with 1M vectors in binary doc values. The per doc path
+ * mirrors what the script did before it bound to the vector values of the segment: a new script doc values lookup,
+ * a new array per doc and a boxed score.
+ * <pre>
+ * gradlew -p micro-benchmarks run --args ' ScriptScoringBenchmarks -prof gc'
+ * </pre>
+ */
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ScriptScoringBenchmarks {
+    private static final String FIELD_NAME = "target_field";
+    private static final int DOC_COUNT = 1_000_000;
+
+    @Param({ "128", "256" })
+    private int dimension;
+    @Param({ "l2", "cosinesimil" })
+    private String spaceType;
+
+    private ByteBuffersDirectory directory;
+    private DirectoryReader reader;
+    private LeafReader leafReader;
+    private float[] queryVector;
+    private BiFunction<float[], float[], Float> boxedScoringMethod;
+    private KNNVectorScoringMethod scoringMethod;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(1212121212);
+        queryVector = randomVector(random);
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < DOC_COUNT; i++) {
+                final Document document = new Document();
+                final byte[] vector = KNNVectorDocValuesEncoding.SERIALIZED.encode(randomVector(random));
+                document.add(new BinaryDocValuesField(FIELD_NAME, new BytesRef(vector)));
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        leafReader = reader.leaves().get(0).reader();
+
+        if ("l2".equals(spaceType)) {
+            boxedScoringMethod = (q, v) -> 1 / (1 + KNNScoringUtil.l2Squared(q, v));
+            scoringMethod = (q, v) -> 1 / (1 + KNNScoringUtil.l2Squared(q, v));
+        } else {
+            boxedScoringMethod = (q, v) -> 1 + KNNScoringUtil.cosinesimil(q, v);
+            float queryMagnitudeSquared = 0;
+            for (float value : queryVector) {
+                queryMagnitudeSquared += value * value;
+            }
+            final float normQueryVector = queryMagnitudeSquared;
+            scoringMethod = (q, v) -> 1 + KNNScoringUtil.cosinesimilOptimized(q, v, normQueryVector);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public double perDoc() throws IOException {
+        final KNNVectorScriptDocValues values = KNNVectorScriptDocValues.create(
+            DocValues.getBinary(leafReader, FIELD_NAME),
+            FIELD_NAME,
+            VectorDataType.FLOAT
+        );
+        double sum = 0;
+        for (int doc = 0; doc < DOC_COUNT; doc++) {
+            values.setNextDocId(doc);
+            if (values.isEmpty()) {
+                continue;
+            }
+            sum += boxedScoringMethod.apply(queryVector, values.getValue());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double leafValues() throws IOException {
+        final KNNVectorLeafValues values = KNNVectorLeafValues.create(leafReader, FIELD_NAME, VectorDataType.FLOAT);
+        double sum = 0;
+        for (int doc = 0; doc < DOC_COUNT; doc++) {
+            if (values.advanceExact(doc) == false) {
+                continue;
+            }
+            sum += scoringMethod.score(queryVector, values.vectorValue());
+        }
+        return sum;
+    }
+
+    private float[] randomVector(final Random random) {
+        final float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+}
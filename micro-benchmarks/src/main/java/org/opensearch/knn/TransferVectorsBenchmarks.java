@@ -11,6 +11,10 @@
 
 package org.opensearch.knn;
 
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.BytesRef;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -23,8 +27,16 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
+import org.opensearch.knn.index.codec.util.KNNCodecUtil;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 import org.opensearch.knn.jni.JNICommons;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -33,6 +45,16 @@ import java.util.concurrent.TimeUnit;
 /**
  * The class provides runs some benchmarks and provide the performance data around how much time it will take to
  * transfer vectors from java to jni layer for different configuration.
+ *
+ * The fromDocValues benchmarks compare the transfer of vectors stored as little endian floats in doc values, as done
+ * for a graph build: decoding each vector on heap and copying batches of them to native memory, the way the vectors
+ * were transferred before, against decoding them in place into native memory with {@link VectorTransferFloat}. Both
+ * report the peak heap used above the data set, in MB, next to the time. For 1M vectors of dimension 768, which
+ * needs a heap of about 8g:
+ * <pre>
+ * gradlew -p micro-benchmarks run -Djvm.heap.size=8g \
+ *     --args ' TransferVectorsBenchmarks.*fromDocValues -p dimension=768 -p vectorsPerTransfer=100000'
+ * </pre>
  */
 @Warmup(iterations = 1, timeUnit = TimeUnit.SECONDS, time = 300)
 @Measurement(iterations = 1, timeUnit = TimeUnit.SECONDS, time = 300)
@@ -44,16 +66,25 @@ public class TransferVectorsBenchmarks {
     private static final Random random = new Random(1212121212);
     private static final long TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED = 1000000;
 
-    @Param({ "128", "256", "384", "512", "960", "1024", "1536" })
+    @Param({ "128", "256", "384", "512", "768", "960", "1024", "1536" })
     private int dimension;
 
     @Param({ "100000", "500000", "1000000" })
     private int vectorsPerTransfer;
 
     private List<float[]> vectorList;
+    // Vectors as stored in doc values, only generated for the fromDocValues benchmarks to keep the heap in check
+    private byte[][] docValues;
 
     @Setup(Level.Trial)
-    public void setup() {
+    public void setup(final BenchmarkParams params) {
+        if (params.getBenchmark().contains("fromDocValues")) {
+            docValues = new byte[(int) TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED][];
+            for (int i = 0; i < TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED; i++) {
+                docValues[i] = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.encode(generateRandomVector(dimension));
+            }
+            return;
+        }
         vectorList = new ArrayList<>();
         for (int i = 0; i < TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED; i++) {
             vectorList.add(generateRandomVector(dimension));
@@ -87,6 +118,82 @@ public class TransferVectorsBenchmarks {
         JNICommons.freeVectorData(vectorsAddress);
     }
 
+    @Benchmark
+    public int[] transferVectors_fromDocValues_heapCopy(final HeapCounters heapCounters) {
+        final BinaryDocValues values = new InMemoryBinaryDocValues(docValues);
+        final List<Integer> docIds = new ArrayList<>();
+        long vectorsAddress = 0;
+        List<float[]> vectorToTransfer = new ArrayList<>();
+        for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+            vectorToTransfer.add(KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(values.binaryValue()));
+            docIds.add(doc);
+            if (vectorToTransfer.size() == vectorsPerTransfer) {
+                vectorsAddress = JNICommons.storeVectorData(
+                    vectorsAddress,
+                    vectorToTransfer.toArray(new float[][] {}),
+                    dimension * TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED
+                );
+                vectorToTransfer = new ArrayList<>();
+            }
+        }
+        if (!vectorToTransfer.isEmpty()) {
+            vectorsAddress = JNICommons.storeVectorData(
+                vectorsAddress,
+                vectorToTransfer.toArray(new float[][] {}),
+                dimension * TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED
+            );
+        }
+        final int[] docs = docIds.stream().mapToInt(Integer::intValue).toArray();
+        heapCounters.record();
+        JNICommons.freeVectorData(vectorsAddress);
+        return docs;
+    }
+
+    @Benchmark
+    public int[] transferVectors_fromDocValues_inPlace(final HeapCounters heapCounters) throws IOException {
+        final VectorTransferFloat vectorTransfer = new VectorTransferFloat(
+            (long) vectorsPerTransfer * dimension * Float.BYTES,
+            KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS
+        );
+        final KNNCodecUtil.Pair pair = KNNCodecUtil.getPair(new InMemoryBinaryDocValues(docValues), vectorTransfer);
+        heapCounters.record();
+        JNICommons.freeVectorData(pair.getVectorAddress());
+        return pair.docs;
+    }
+
+    /**
+     * Peak heap used by a benchmark above the heap used before it started, summed over the heap memory pools
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long peakHeapMB;
+        private long baselineBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            baselineBytes = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    baselineBytes += pool.getUsage().getUsed();
+                }
+            }
+            peakHeapMB = 0;
+        }
+
+        void record() {
+            long peakBytes = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peakBytes += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapMB = Math.max(0, peakBytes - baselineBytes) / (1024 * 1024);
+        }
+    }
+
     private float[] generateRandomVector(int dimensions) {
         float[] vector = new float[dimensions];
         for (int i = 0; i < dimensions; i++) {
@@ -94,4 +201,49 @@ public class TransferVectorsBenchmarks {
         }
         return vector;
     }
+
+    private static final class InMemoryBinaryDocValues extends BinaryDocValues {
+        private final byte[][] values;
+        private final BytesRef bytesRef = new BytesRef();
+        private int doc = -1;
+
+        private InMemoryBinaryDocValues(final byte[][] values) {
+            this.values = values;
+        }
+
+        @Override
+        public BytesRef binaryValue() {
+            bytesRef.bytes = values[doc];
+            bytesRef.offset = 0;
+            bytesRef.length = values[doc].length;
+            return bytesRef;
+        }
+
+        @Override
+        public boolean advanceExact(int target) {
+            doc = target;
+            return target < values.length;
+        }
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int nextDoc() {
+            return advance(doc + 1);
+        }
+
+        @Override
+        public int advance(int target) {
+            doc = target < values.length ? target : NO_MORE_DOCS;
+            return doc;
+        }
+
+        @Override
+        public long cost() {
+            return values.length;
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.knn.index.distance.VectorDistanceKernels;
+
+import java.util.Random;
+
+/**
+ * Benchmarks of the distance kernels used for exact search against plain scalar loops. Run with
+ * jdk.incubator.vector enabled to measure the vectorized Lucene kernels, e.g.
+ * gradlew -p micro-benchmarks run --args ' VectorDistanceBenchmarks'
+ */
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(3)
+@State(Scope.Benchmark)
+public class VectorDistanceBenchmarks {
+    private static final VectorDistanceKernels KERNELS = VectorDistanceKernels.getInstance();
+
+    @Param({ "l2", "innerproduct", "cosinesimil", "l1", "linf", "hamming" })
+    private String spaceType;
+    @Param({ "128", "768", "1536" })
+    private int dimension;
+
+    private float[] first;
+    private float[] second;
+    private byte[] firstBinary;
+    private byte[] secondBinary;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1212121212);
+        first = new float[dimension];
+        second = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            first[i] = random.nextFloat();
+            second[i] = random.nextFloat();
+        }
+        firstBinary = new byte[dimension / Byte.SIZE];
+        secondBinary = new byte[dimension / Byte.SIZE];
+        random.nextBytes(firstBinary);
+        random.nextBytes(secondBinary);
+    }
+
+    @Benchmark
+    public float kernels() {
+        switch (spaceType) {
+            case "l2":
+                return KERNELS.l2Squared(first, second);
+            case "innerproduct":
+                return KERNELS.innerProduct(first, second);
+            case "cosinesimil":
+                return KERNELS.cosine(first, second);
+            case "l1":
+                return KERNELS.l1(first, second);
+            case "linf":
+                return KERNELS.lInf(first, second);
+            case "hamming":
+                return KERNELS.hamming(firstBinary, secondBinary);
+            default:
+                throw new IllegalArgumentException("Unsupported space type: " + spaceType);
+        }
+    }
+
+    @Benchmark
+    public float scalar() {
+        switch (spaceType) {
+            case "l2": {
+                float distance = 0;
+                for (int i = 0; i < dimension; i++) {
+                    final float diff = first[i] - second[i];
+                    distance += diff * diff;
+                }
+                return distance;
+            }
+            case "innerproduct":
+                return dotProduct(first, second);
+            case "cosinesimil":
+                return (float) (dotProduct(first, second) / Math.sqrt(dotProduct(first, first) * dotProduct(second, second)));
+            case "l1": {
+                float distance = 0;
+                for (int i = 0; i < dimension; i++) {
+                    distance += Math.abs(first[i] - second[i]);
+                }
+                return distance;
+            }
+            case "linf": {
+                float distance = 0;
+                for (int i = 0; i < dimension; i++) {
+                    distance = Math.max(distance, Math.abs(first[i] - second[i]));
+                }
+                return distance;
+            }
+            case "hamming": {
+                int distance = 0;
+                for (int i = 0; i < firstBinary.length; i++) {
+                    distance += Integer.bitCount((firstBinary[i] ^ secondBinary[i]) & 0xFF);
+                }
+                return distance;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported space type: " + spaceType);
+        }
+    }
+
+    private static float dotProduct(float[] a, float[] b) {
+        float result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+}
@@ -33,6 +33,7 @@ public class KNNConstants {
     public static final String METHOD_IVF = "ivf";
     public static final String METHOD_PARAMETER_NLIST = "nlist";
     public static final String METHOD_PARAMETER_SPACE_TYPE = "space_type"; // used for mapping parameter
+    public static final String INDEX_LOAD_MODE = "load_mode"; // used as load parameter
     public static final String COMPOUND_EXTENSION = "c";
     public static final String MODEL = "model";
     public static final String MODELS = "models";
@@ -57,20 +58,35 @@ public class KNNConstants {
 
     public static final String KNN_THREAD_POOL_PREFIX = "knn";
     public static final String TRAIN_THREAD_POOL = "training";
+    public static final String GRAPH_LOAD_THREAD_POOL = "graph_load";
+    public static final String SEARCH_THREAD_POOL = "knn_search";
 
     public static final String TRAINING_JOB_COUNT_FIELD_NAME = "training_job_count";
+    public static final String TRAINING_JOB_FIELD_NAME = "training_job";
+    public static final String TRAINING_JOB_STATUS = "status";
+    public static final String TRAINING_JOB_QUEUE_POSITION = "queue_position";
+    public static final String TRAINING_JOB_PRIORITY = "priority";
+    public static final String TRAINING_JOB_ESTIMATED_COMPLETION_TIME = "estimated_completion_time";
     public static final String NODES_KEY = "nodes";
 
     public static final String TRAIN_INDEX_PARAMETER = "training_index";
     public static final String TRAIN_FIELD_PARAMETER = "training_field";
     public static final String MAX_VECTOR_COUNT_PARAMETER = "max_training_vector_count";
     public static final String SEARCH_SIZE_PARAMETER = "search_size";
+    public static final String TRAINING_SAMPLING_PARAMETER = "sampling";
+    public static final String TRAINING_SAMPLING_STRATEGY = "strategy";
+    public static final String TRAINING_SAMPLING_STRATIFY_FIELD = "stratify_field";
+    public static final String TRAINING_SAMPLING_SEED = "seed";
+    public static final String TRAINING_PRIORITY_PARAMETER = "priority";
 
     public static final String VECTOR_DATA_TYPE_FIELD = "data_type";
     public static final String MODEL_VECTOR_DATA_TYPE_KEY = VECTOR_DATA_TYPE_FIELD;
     public static final VectorDataType DEFAULT_VECTOR_DATA_TYPE_FIELD = VectorDataType.FLOAT;
 
     public static final String RADIAL_SEARCH_KEY = "radial_search";
+    public static final String TRAINING_DATA_SHARD_SAMPLING_KEY = "training_data_shard_sampling";
+    public static final String DISTRIBUTED_TRAINING_KEY = "distributed_training";
+    public static final String TRAINING_JOB_QUEUE_KEY = "training_job_queue";
 
     // Lucene specific constants
     public static final String LUCENE_NAME = "lucene";
@@ -146,4 +162,7 @@ public class KNNConstants {
     public static final Float DEFAULT_LUCENE_RADIAL_SEARCH_TRAVERSAL_SIMILARITY_RATIO = 0.95f;
     public static final String MIN_SCORE = "min_score";
     public static final String MAX_DISTANCE = "max_distance";
+    public static final String OVERSAMPLE_FACTOR = "oversample_factor";
+    public static final String EXACT_KNN_QUERY = "knn_exact";
+    public static final String BATCH_KNN_QUERY = "knn_batch";
 }
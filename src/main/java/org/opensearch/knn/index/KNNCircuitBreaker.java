@@ -6,6 +6,7 @@
 package org.opensearch.knn.index;
 
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryWarmSet;
 import org.opensearch.knn.plugin.stats.StatNames;
 import org.opensearch.knn.plugin.transport.KNNStatsAction;
 import org.opensearch.knn.plugin.transport.KNNStatsNodeResponse;
@@ -22,7 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Runs the circuit breaker logic and updates the settings
+ * Runs the circuit breaker logic and updates the settings. Also persists the warm set of the native memory cache.
  */
 public class KNNCircuitBreaker {
     private static Logger logger = LogManager.getLogger(KNNCircuitBreaker.class);
@@ -70,6 +71,16 @@ public class KNNCircuitBreaker {
                 }
             }
 
+            // Record the hot graphs so that they can be preloaded if the node restarts
+            NativeMemoryWarmSet warmSet = NativeMemoryWarmSet.getInstance();
+            if (warmSet != null && clusterService.localNode().isDataNode()) {
+                try {
+                    warmSet.writeManifest();
+                } catch (Exception e) {
+                    logger.warn("[KNN] Failed to write the warm set manifest", e);
+                }
+            }
+
             // Leader node untriggers CB if all nodes have not reached their max capacity
             if (KNNSettings.isCircuitBreakerTriggered() && clusterService.state().nodes().isLocalNodeElectedClusterManager()) {
                 KNNStatsRequest knnStatsRequest = new KNNStatsRequest();
@@ -23,6 +23,8 @@ import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
 import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
+import org.opensearch.knn.index.memory.NativeMemoryWarmSet;
+import org.opensearch.knn.common.exception.OutOfNativeMemoryException;
 import org.opensearch.knn.index.engine.KNNEngine;
 
 import java.io.IOException;
@@ -30,8 +32,10 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
@@ -90,21 +94,7 @@ public class KNNIndexShard {
         try (Engine.Searcher searcher = indexShard.acquireSearcher("knn-warmup")) {
             getAllEngineFileContexts(searcher.getIndexReader()).forEach((engineFileContext) -> {
                 try {
-                    nativeMemoryCacheManager.get(
-                        new NativeMemoryEntryContext.IndexEntryContext(
-                            engineFileContext.getIndexPath(),
-                            NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance(),
-                            getParametersAtLoading(
-                                engineFileContext.getSpaceType(),
-                                KNNEngine.getEngineNameFromPath(engineFileContext.getIndexPath()),
-                                getIndexName(),
-                                engineFileContext.getVectorDataType()
-                            ),
-                            getIndexName(),
-                            engineFileContext.getModelId()
-                        ),
-                        true
-                    );
+                    nativeMemoryCacheManager.get(getIndexEntryContext(engineFileContext), true);
                 } catch (ExecutionException ex) {
                     throw new RuntimeException(ex);
                 }
@@ -112,6 +102,54 @@ public class KNNIndexShard {
         }
     }
 
+    /**
+     * Load the engine files of this shard that are in the warm set of the node, hottest first. Unlike warmup, the
+     * preload never evicts other graphs: it stops at the first graph that does not fit into the cache.
+     *
+     * @param warmSet warm set of the node
+     * @param budgetInKB maximum total size of the graphs preloaded on the node, in kilobytes
+     * @return number of graphs loaded
+     * @throws IOException Thrown when getting the engine files of the shard
+     */
+    public int preloadWarmSet(NativeMemoryWarmSet warmSet, long budgetInKB) throws IOException {
+        try (Engine.Searcher searcher = indexShard.acquireSearcher("knn-warm-set-preload")) {
+            final Map<String, EngineFileContext> engineFileContexts = getAllEngineFileContexts(searcher.getIndexReader()).stream()
+                .collect(Collectors.toMap(EngineFileContext::getIndexPath, Function.identity(), (first, second) -> first));
+            final List<NativeMemoryWarmSet.WarmSetEntry> entries = warmSet.takeEntries(engineFileContexts.keySet(), budgetInKB);
+            int loaded = 0;
+            for (NativeMemoryWarmSet.WarmSetEntry entry : entries) {
+                try {
+                    nativeMemoryCacheManager.get(getIndexEntryContext(engineFileContexts.get(entry.getKey())), false);
+                    loaded++;
+                } catch (OutOfNativeMemoryException ex) {
+                    log.info("[KNN] Stopping warm set preload of index [{}]: {}", getIndexName(), ex.getMessage());
+                    break;
+                } catch (ExecutionException | RuntimeException ex) {
+                    log.warn("[KNN] Failed to preload [{}] of index [{}]", entry.getKey(), getIndexName(), ex);
+                }
+            }
+            if (loaded > 0) {
+                log.info("[KNN] Preloaded {} graphs of index [{}] from the warm set", loaded, getIndexName());
+            }
+            return loaded;
+        }
+    }
+
+    private NativeMemoryEntryContext.IndexEntryContext getIndexEntryContext(EngineFileContext engineFileContext) {
+        return new NativeMemoryEntryContext.IndexEntryContext(
+            engineFileContext.getIndexPath(),
+            NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance(),
+            getParametersAtLoading(
+                engineFileContext.getSpaceType(),
+                KNNEngine.getEngineNameFromPath(engineFileContext.getIndexPath()),
+                getIndexName(),
+                engineFileContext.getVectorDataType()
+            ),
+            getIndexName(),
+            engineFileContext.getModelId()
+        );
+    }
+
     /**
      * Removes all the k-NN segments for this shard from the cache.
      * Adding write lock onto the NativeMemoryAllocation of the index that needs to be evicted from cache.
@@ -21,6 +21,7 @@ import org.opensearch.core.common.unit.ByteSizeUnit;
 import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.IndexModule;
+import org.opensearch.knn.index.memory.IndexLoadMode;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManagerDto;
 import org.opensearch.knn.index.util.IndexHyperParametersUtil;
@@ -79,7 +80,22 @@ public class KNNSettings {
     public static final String MODEL_INDEX_NUMBER_OF_REPLICAS = "knn.model.index.number_of_replicas";
     public static final String MODEL_CACHE_SIZE_LIMIT = "knn.model.cache.size.limit";
     public static final String ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD = "index.knn.advanced.filtered_exact_search_threshold";
+    public static final String ADVANCED_FILTERED_QUERY_PLANNER_ENABLED = "index.knn.advanced.filtered_query_planner.enabled";
     public static final String KNN_FAISS_AVX2_DISABLED = "knn.faiss.avx2.disabled";
+    public static final String KNN_INDEX_LOAD_MODE = "index.knn.load_mode";
+    public static final String KNN_GRAPH_LOAD_FALLBACK_TIMEOUT = "knn.graph_load.exact_search_fallback_timeout";
+    public static final String KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE = "knn.warm_set.preload.limit_percentage";
+    public static final String KNN_MAX_CONCURRENT_SEGMENT_SEARCHES = "knn.search.max_concurrent_segment_searches";
+    public static final String KNN_STREAMING_GRAPH_BUILD_ENABLED = "knn.graph_build.streaming.enabled";
+    public static final String KNN_MERGE_GRAPH_REUSE_ENABLED = "knn.merge.graph_reuse.enabled";
+    public static final String KNN_GRAPH_BUILD_MAX_THREADS = "knn.graph_build.max_threads";
+    public static final String KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS = "knn.graph_build.min_segment_docs";
+    public static final String KNN_TRAINING_DISTRIBUTED_ENABLED = "knn.training.distributed.enabled";
+    public static final String KNN_TRAINING_DISTRIBUTED_ITERATIONS = "knn.training.distributed.iterations";
+    public static final String KNN_TRAINING_DISTRIBUTED_BATCH_SIZE = "knn.training.distributed.batch_size";
+    public static final String KNN_TRAINING_MAX_CONCURRENT_JOBS = "knn.training.max_concurrent_jobs";
+    public static final String KNN_TRAINING_QUEUE_MAX_SIZE = "knn.training.queue.max_size";
+    public static final String KNN_BATCH_QUERY_MAX_THREADS = "knn.search.batch_query.max_threads";
 
     /**
      * Default setting values
@@ -87,11 +103,13 @@ public class KNNSettings {
     public static final boolean KNN_DEFAULT_FAISS_AVX2_DISABLED_VALUE = false;
     public static final String INDEX_KNN_DEFAULT_SPACE_TYPE = "l2";
     public static final String INDEX_KNN_DEFAULT_SPACE_TYPE_FOR_BINARY = "hamming";
+    public static final String INDEX_KNN_DEFAULT_LOAD_MODE = IndexLoadMode.MEMORY.getValue();
     public static final Integer INDEX_KNN_DEFAULT_ALGO_PARAM_M = 16;
     public static final Integer INDEX_KNN_DEFAULT_ALGO_PARAM_EF_SEARCH = 100;
     public static final Integer INDEX_KNN_DEFAULT_ALGO_PARAM_EF_CONSTRUCTION = 100;
     public static final Integer KNN_DEFAULT_ALGO_PARAM_INDEX_THREAD_QTY = 1;
     public static final Integer KNN_DEFAULT_CIRCUIT_BREAKER_UNSET_PERCENTAGE = 75;
+    public static final Integer KNN_DEFAULT_WARM_SET_PRELOAD_LIMIT_PERCENTAGE = 50;
     public static final Integer KNN_DEFAULT_MODEL_CACHE_SIZE_LIMIT_PERCENTAGE = 10; // By default, set aside 10% of the JVM for the limit
     public static final Integer KNN_MAX_MODEL_CACHE_SIZE_LIMIT_PERCENTAGE = 25; // Model cache limit cannot exceed 25% of the JVM heap
     public static final String KNN_DEFAULT_MEMORY_CIRCUIT_BREAKER_LIMIT = "50%";
@@ -120,6 +138,18 @@ public class KNNSettings {
         Setting.Property.Deprecated
     );
 
+    /**
+     * Determines how the engine files of the index are loaded for search. With "mmap", the parts of a file that the
+     * engine can serve from a read-only memory mapping stay in the OS page cache and are not counted against the
+     * native memory circuit breaker.
+     */
+    public static final Setting<String> INDEX_KNN_LOAD_MODE_SETTING = Setting.simpleString(
+        KNN_INDEX_LOAD_MODE,
+        INDEX_KNN_DEFAULT_LOAD_MODE,
+        IndexLoadMode::getIndexLoadMode,
+        IndexScope
+    );
+
     /**
      * M - the number of bi-directional links created for every new element during construction.
      * Reasonable range for M is 2-100. Higher M work better on datasets with high intrinsic
@@ -182,6 +212,19 @@ public class KNNSettings {
         Setting.Property.Dynamic
     );
 
+    /**
+     * When enabled, filtered searches that are not decided by the filtered exact search threshold choose per segment
+     * between graph search with the filter, graph search followed by filtering, and exact search based on estimated
+     * costs. When disabled, exact search is used when the filtered docs need fewer than
+     * {@link org.opensearch.knn.common.KNNConstants#MAX_DISTANCE_COMPUTATIONS} distance computations.
+     */
+    public static final Setting<Boolean> ADVANCED_FILTERED_QUERY_PLANNER_ENABLED_SETTING = Setting.boolSetting(
+        ADVANCED_FILTERED_QUERY_PLANNER_ENABLED,
+        false,
+        IndexScope,
+        Setting.Property.Dynamic
+    );
+
     public static final Setting<ByteSizeValue> MODEL_CACHE_SIZE_LIMIT_SETTING = new Setting<>(
         MODEL_CACHE_SIZE_LIMIT,
         percentageAsString(KNN_DEFAULT_MODEL_CACHE_SIZE_LIMIT_PERCENTAGE),
@@ -253,6 +296,163 @@ public class KNNSettings {
         NodeScope
     );
 
+    /**
+     * How long a search waits for the graph of a segment to be loaded before it scores the segment with exact search
+     * instead. The load continues in the background so later searches can use the graph. A negative value disables
+     * the fallback and searches wait for the load to finish.
+     */
+    public static final Setting<TimeValue> KNN_GRAPH_LOAD_FALLBACK_TIMEOUT_SETTING = Setting.timeSetting(
+        KNN_GRAPH_LOAD_FALLBACK_TIMEOUT,
+        TimeValue.MINUS_ONE,
+        TimeValue.MINUS_ONE,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of threads that search the segments of a single k-NN query on a shard at the same time, including
+     * the search thread. With more than one, the segments are searched on the knn_search thread pool and the results
+     * are merged into the top k of the shard before they are collected. 1 searches the segments one after the other
+     * on the search thread.
+     */
+    public static final Setting<Integer> KNN_MAX_CONCURRENT_SEGMENT_SEARCHES_SETTING = Setting.intSetting(
+        KNN_MAX_CONCURRENT_SEGMENT_SEARCHES,
+        1,
+        1,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Build the faiss HNSW graphs that need no training by adding vectors to them in batches bounded by
+     * knn.vector_streaming_memory.limit, instead of copying all the vectors of the segment to native memory first.
+     * Graphs of flushed and merged segments are built from batches of their doc values, and graphs of fields of the
+     * native engines vectors format while their vectors are indexed.
+     */
+    public static final Setting<Boolean> KNN_STREAMING_GRAPH_BUILD_ENABLED_SETTING = Setting.boolSetting(
+        KNN_STREAMING_GRAPH_BUILD_ENABLED,
+        false,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Seed the faiss HNSW graph of a merged segment with the graph of its largest source segment, with the nodes of its
+     * deleted docs removed, and only insert the vectors of the other segments, instead of building the graph from scratch.
+     */
+    public static final Setting<Boolean> KNN_MERGE_GRAPH_REUSE_ENABLED_SETTING = Setting.boolSetting(
+        KNN_MERGE_GRAPH_REUSE_ENABLED,
+        false,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of threads that all native graph builds of the node use together. Builds wait for threads once the
+     * limit is reached. 0 uses the number of processors of the node.
+     */
+    public static final Setting<Integer> KNN_GRAPH_BUILD_MAX_THREADS_SETTING = Setting.intSetting(
+        KNN_GRAPH_BUILD_MAX_THREADS,
+        0,
+        0,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Minimum number of vectors of a field in a segment for its native graph to be built. Smaller segments are written
+     * without graph and searched exactly, until they are merged into a segment that reaches the minimum. 0 builds the
+     * graph of every segment.
+     */
+    public static final Setting<Integer> KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS_SETTING = Setting.intSetting(
+        KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS,
+        0,
+        0,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Train the coarse centroids of faiss IVF models with mini-batch k-means on the nodes that hold the shards of the
+     * training index, instead of on the training node only.
+     */
+    public static final Setting<Boolean> KNN_TRAINING_DISTRIBUTED_ENABLED_SETTING = Setting.boolSetting(
+        KNN_TRAINING_DISTRIBUTED_ENABLED,
+        false,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Number of mini-batch k-means iterations of distributed training.
+     */
+    public static final Setting<Integer> KNN_TRAINING_DISTRIBUTED_ITERATIONS_SETTING = Setting.intSetting(
+        KNN_TRAINING_DISTRIBUTED_ITERATIONS,
+        50,
+        1,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Number of training vectors sampled across shards for each mini-batch k-means iteration of distributed training.
+     */
+    public static final Setting<Integer> KNN_TRAINING_DISTRIBUTED_BATCH_SIZE_SETTING = Setting.intSetting(
+        KNN_TRAINING_DISTRIBUTED_BATCH_SIZE,
+        100_000,
+        1,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of training jobs a node runs at the same time, as long as their estimated memory fits in the
+     * native memory left to training. Sizes the training thread pool, so it can only be set at node startup.
+     */
+    public static final Setting<Integer> KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING = Setting.intSetting(
+        KNN_TRAINING_MAX_CONCURRENT_JOBS,
+        2,
+        1,
+        NodeScope
+    );
+
+    /**
+     * Maximum number of training jobs a node keeps waiting for memory or a training thread. Jobs routed to a node whose
+     * queue is full are rejected.
+     */
+    public static final Setting<Integer> KNN_TRAINING_QUEUE_MAX_SIZE_SETTING = Setting.intSetting(
+        KNN_TRAINING_QUEUE_MAX_SIZE,
+        16,
+        0,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of native threads that search the query vectors of a knn_batch query on a faiss graph in a single
+     * call. 1 searches the query vectors one after the other on the search thread.
+     */
+    public static final Setting<Integer> KNN_BATCH_QUERY_MAX_THREADS_SETTING = Setting.intSetting(
+        KNN_BATCH_QUERY_MAX_THREADS,
+        1,
+        1,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Share of the circuit breaker limit that a restarted node may fill with graphs from its warm set before searches
+     * ask for them. 0 disables the preload.
+     */
+    public static final Setting<Integer> KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE_SETTING = Setting.intSetting(
+        KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE,
+        KNN_DEFAULT_WARM_SET_PRELOAD_LIMIT_PERCENTAGE,
+        0,
+        100,
+        NodeScope,
+        Dynamic
+    );
+
     /**
      * Dynamic settings
      */
@@ -362,6 +562,10 @@ public class KNNSettings {
             return ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_SETTING;
         }
 
+        if (ADVANCED_FILTERED_QUERY_PLANNER_ENABLED.equals(key)) {
+            return ADVANCED_FILTERED_QUERY_PLANNER_ENABLED_SETTING;
+        }
+
         if (KNN_FAISS_AVX2_DISABLED.equals(key)) {
             return KNN_FAISS_AVX2_DISABLED_SETTING;
         }
@@ -370,6 +574,58 @@ public class KNNSettings {
             return KNN_VECTOR_STREAMING_MEMORY_LIMIT_PCT_SETTING;
         }
 
+        if (KNN_GRAPH_LOAD_FALLBACK_TIMEOUT.equals(key)) {
+            return KNN_GRAPH_LOAD_FALLBACK_TIMEOUT_SETTING;
+        }
+
+        if (KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE.equals(key)) {
+            return KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE_SETTING;
+        }
+
+        if (KNN_MAX_CONCURRENT_SEGMENT_SEARCHES.equals(key)) {
+            return KNN_MAX_CONCURRENT_SEGMENT_SEARCHES_SETTING;
+        }
+
+        if (KNN_STREAMING_GRAPH_BUILD_ENABLED.equals(key)) {
+            return KNN_STREAMING_GRAPH_BUILD_ENABLED_SETTING;
+        }
+
+        if (KNN_MERGE_GRAPH_REUSE_ENABLED.equals(key)) {
+            return KNN_MERGE_GRAPH_REUSE_ENABLED_SETTING;
+        }
+
+        if (KNN_GRAPH_BUILD_MAX_THREADS.equals(key)) {
+            return KNN_GRAPH_BUILD_MAX_THREADS_SETTING;
+        }
+
+        if (KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS.equals(key)) {
+            return KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS_SETTING;
+        }
+
+        if (KNN_TRAINING_DISTRIBUTED_ENABLED.equals(key)) {
+            return KNN_TRAINING_DISTRIBUTED_ENABLED_SETTING;
+        }
+
+        if (KNN_TRAINING_DISTRIBUTED_ITERATIONS.equals(key)) {
+            return KNN_TRAINING_DISTRIBUTED_ITERATIONS_SETTING;
+        }
+
+        if (KNN_TRAINING_DISTRIBUTED_BATCH_SIZE.equals(key)) {
+            return KNN_TRAINING_DISTRIBUTED_BATCH_SIZE_SETTING;
+        }
+
+        if (KNN_TRAINING_MAX_CONCURRENT_JOBS.equals(key)) {
+            return KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING;
+        }
+
+        if (KNN_TRAINING_QUEUE_MAX_SIZE.equals(key)) {
+            return KNN_TRAINING_QUEUE_MAX_SIZE_SETTING;
+        }
+
+        if (KNN_BATCH_QUERY_MAX_THREADS.equals(key)) {
+            return KNN_BATCH_QUERY_MAX_THREADS_SETTING;
+        }
+
         throw new IllegalArgumentException("Cannot find setting by key [" + key + "]");
     }
 
@@ -387,8 +643,23 @@ public class KNNSettings {
             MODEL_INDEX_NUMBER_OF_REPLICAS_SETTING,
             MODEL_CACHE_SIZE_LIMIT_SETTING,
             ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_SETTING,
+            ADVANCED_FILTERED_QUERY_PLANNER_ENABLED_SETTING,
             KNN_FAISS_AVX2_DISABLED_SETTING,
-            KNN_VECTOR_STREAMING_MEMORY_LIMIT_PCT_SETTING
+            KNN_VECTOR_STREAMING_MEMORY_LIMIT_PCT_SETTING,
+            INDEX_KNN_LOAD_MODE_SETTING,
+            KNN_GRAPH_LOAD_FALLBACK_TIMEOUT_SETTING,
+            KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE_SETTING,
+            KNN_MAX_CONCURRENT_SEGMENT_SEARCHES_SETTING,
+            KNN_STREAMING_GRAPH_BUILD_ENABLED_SETTING,
+            KNN_MERGE_GRAPH_REUSE_ENABLED_SETTING,
+            KNN_GRAPH_BUILD_MAX_THREADS_SETTING,
+            KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS_SETTING,
+            KNN_TRAINING_DISTRIBUTED_ENABLED_SETTING,
+            KNN_TRAINING_DISTRIBUTED_ITERATIONS_SETTING,
+            KNN_TRAINING_DISTRIBUTED_BATCH_SIZE_SETTING,
+            KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING,
+            KNN_TRAINING_QUEUE_MAX_SIZE_SETTING,
+            KNN_BATCH_QUERY_MAX_THREADS_SETTING
         );
         return Stream.concat(settings.stream(), dynamicCacheSettings.values().stream()).collect(Collectors.toList());
     }
@@ -425,6 +696,58 @@ public class KNNSettings {
         }
     }
 
+    public static int getWarmSetPreloadLimitPercentage() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_WARM_SET_PRELOAD_LIMIT_PERCENTAGE);
+    }
+
+    public static boolean isStreamingGraphBuildEnabled() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_STREAMING_GRAPH_BUILD_ENABLED);
+    }
+
+    public static boolean isMergeGraphReuseEnabled() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_MERGE_GRAPH_REUSE_ENABLED);
+    }
+
+    public static int getGraphBuildMaxThreads() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_GRAPH_BUILD_MAX_THREADS);
+    }
+
+    public static int getGraphBuildMinSegmentDocs() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_GRAPH_BUILD_MIN_SEGMENT_DOCS);
+    }
+
+    public static boolean isDistributedTrainingEnabled() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_TRAINING_DISTRIBUTED_ENABLED);
+    }
+
+    public static int getDistributedTrainingIterations() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_TRAINING_DISTRIBUTED_ITERATIONS);
+    }
+
+    public static int getDistributedTrainingBatchSize() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_TRAINING_DISTRIBUTED_BATCH_SIZE);
+    }
+
+    public static int getTrainingMaxConcurrentJobs() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_TRAINING_MAX_CONCURRENT_JOBS);
+    }
+
+    public static int getTrainingQueueMaxSize() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_TRAINING_QUEUE_MAX_SIZE);
+    }
+
+    public static int getBatchQueryMaxThreads() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_BATCH_QUERY_MAX_THREADS);
+    }
+
+    public static int getMaxConcurrentSegmentSearches() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_MAX_CONCURRENT_SEGMENT_SEARCHES);
+    }
+
+    public static TimeValue getGraphLoadFallbackTimeout() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_GRAPH_LOAD_FALLBACK_TIMEOUT);
+    }
+
     public static Integer getFilteredExactSearchThreshold(final String indexName) {
         return KNNSettings.state().clusterService.state()
             .getMetadata()
@@ -433,6 +756,14 @@ public class KNNSettings {
             .getAsInt(ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD, ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_DEFAULT_VALUE);
     }
 
+    public static boolean isFilteredQueryPlannerEnabled(final String indexName) {
+        return KNNSettings.state().clusterService.state()
+            .getMetadata()
+            .index(indexName)
+            .getSettings()
+            .getAsBoolean(ADVANCED_FILTERED_QUERY_PLANNER_ENABLED, false);
+    }
+
     public void initialize(Client client, ClusterService clusterService) {
         this.client = client;
         this.clusterService = clusterService;
@@ -510,6 +841,17 @@ public class KNNSettings {
             );
     }
 
+    /**
+     * Get the load mode of an index
+     *
+     * @param index Name of the index
+     * @return {@link IndexLoadMode} of the index
+     */
+    public static IndexLoadMode getIndexLoadMode(String index) {
+        final IndexMetadata indexMetadata = KNNSettings.state().clusterService.state().getMetadata().index(index);
+        return IndexLoadMode.getIndexLoadMode(indexMetadata.getSettings().get(KNN_INDEX_LOAD_MODE, INDEX_KNN_DEFAULT_LOAD_MODE));
+    }
+
     public void setClusterService(ClusterService clusterService) {
         this.clusterService = clusterService;
     }
@@ -12,6 +12,7 @@ import org.apache.lucene.search.DocIdSetIterator;
 import org.opensearch.index.fielddata.LeafFieldData;
 import org.opensearch.index.fielddata.ScriptDocValues;
 import org.opensearch.index.fielddata.SortedBinaryDocValues;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 
 import java.io.IOException;
 
@@ -60,7 +61,7 @@ public class KNNVectorDVLeafFieldData implements LeafFieldData {
             } else {
                 values = DocValues.getBinary(reader, fieldName);
             }
-            return KNNVectorScriptDocValues.create(values, fieldName, vectorDataType);
+            return KNNVectorScriptDocValues.create(values, fieldName, vectorDataType, KNNVectorDocValuesEncoding.fromFieldInfo(fieldInfo));
         } catch (IOException e) {
             throw new IllegalStateException("Cannot load values for knn vector field: " + fieldName, e);
         }
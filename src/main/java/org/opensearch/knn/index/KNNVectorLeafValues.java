@@ -0,0 +1,144 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.ByteVectorValues;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+
+import java.io.IOException;
+
+/**
+ * Vectors of a knn_vector field in a segment, read in doc order. Unlike {@link KNNVectorScriptDocValues}, the vector of
+ * a doc is returned in a buffer that is reused for the next doc, so callers scoring every doc of a segment do not
+ * allocate per doc. Callers must not hold on to a returned vector after advancing.
+ */
+public abstract class KNNVectorLeafValues {
+
+    private final DocIdSetIterator iterator;
+    private int lastDocID = -1;
+
+    private KNNVectorLeafValues(DocIdSetIterator iterator) {
+        this.iterator = iterator;
+    }
+
+    /**
+     * Positions the values on a doc. Docs must be passed in increasing order.
+     *
+     * @param docId doc of the segment
+     * @return true if the doc has a vector
+     * @throws IOException if the values cannot be read
+     */
+    public boolean advanceExact(int docId) throws IOException {
+        if (docId < lastDocID) {
+            throw new IllegalArgumentException("docs were sent out-of-order: lastDocID=" + lastDocID + " vs docID=" + docId);
+        }
+        lastDocID = docId;
+        int curDocID = iterator.docID();
+        if (docId > curDocID) {
+            curDocID = iterator.advance(docId);
+        }
+        return docId == curDocID;
+    }
+
+    /**
+     * @return vector of the current doc, which may be overwritten by the next doc
+     * @throws IOException if the vector cannot be read
+     */
+    public abstract float[] vectorValue() throws IOException;
+
+    /**
+     * Binds to the vectors of a field in a segment, preferring Lucene vector values over binary doc values.
+     *
+     * @param reader reader of the segment
+     * @param fieldName name of the knn_vector field
+     * @param vectorDataType data type of the field
+     * @return vectors of the field, or null if the segment has no vectors for it
+     * @throws IOException if the values cannot be opened
+     */
+    public static KNNVectorLeafValues create(LeafReader reader, String fieldName, VectorDataType vectorDataType) throws IOException {
+        final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(fieldName);
+        if (fieldInfo == null) {
+            return null;
+        }
+        if (fieldInfo.hasVectorValues()) {
+            if (fieldInfo.getVectorEncoding() == VectorEncoding.FLOAT32) {
+                final FloatVectorValues floatValues = reader.getFloatVectorValues(fieldName);
+                return new KNNVectorLeafValues(floatValues) {
+                    @Override
+                    public float[] vectorValue() throws IOException {
+                        return floatValues.vectorValue();
+                    }
+                };
+            }
+            final ByteVectorValues byteValues = reader.getByteVectorValues(fieldName);
+            return new WideningLeafValues(byteValues) {
+                private final BytesRef bytesRef = new BytesRef();
+
+                @Override
+                protected BytesRef bytesValue() throws IOException {
+                    final byte[] bytes = byteValues.vectorValue();
+                    bytesRef.bytes = bytes;
+                    bytesRef.offset = 0;
+                    bytesRef.length = bytes.length;
+                    return bytesRef;
+                }
+            };
+        }
+
+        final BinaryDocValues binaryValues = DocValues.getBinary(reader, fieldName);
+        if (vectorDataType == null || vectorDataType == VectorDataType.FLOAT) {
+            final KNNVectorDocValuesEncoding encoding = KNNVectorDocValuesEncoding.fromFieldInfo(fieldInfo);
+            return new KNNVectorLeafValues(binaryValues) {
+                private float[] buffer;
+
+                @Override
+                public float[] vectorValue() throws IOException {
+                    buffer = encoding.decode(binaryValues.binaryValue(), buffer);
+                    return buffer;
+                }
+            };
+        }
+        return new WideningLeafValues(binaryValues) {
+            @Override
+            protected BytesRef bytesValue() throws IOException {
+                return binaryValues.binaryValue();
+            }
+        };
+    }
+
+    /**
+     * Values of byte and binary fields, where every byte of a doc is widened to a float of the buffer
+     */
+    private abstract static class WideningLeafValues extends KNNVectorLeafValues {
+        private float[] buffer;
+
+        private WideningLeafValues(DocIdSetIterator iterator) {
+            super(iterator);
+        }
+
+        protected abstract BytesRef bytesValue() throws IOException;
+
+        @Override
+        public float[] vectorValue() throws IOException {
+            final BytesRef bytesRef = bytesValue();
+            if (buffer == null || buffer.length != bytesRef.length) {
+                buffer = new float[bytesRef.length];
+            }
+            for (int i = 0; i < bytesRef.length; i++) {
+                buffer[i] = bytesRef.bytes[bytesRef.offset + i];
+            }
+            return buffer;
+        }
+    }
+}
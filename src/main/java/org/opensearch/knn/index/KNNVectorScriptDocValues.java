@@ -16,6 +16,7 @@ import org.apache.lucene.index.FloatVectorValues;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.index.fielddata.ScriptDocValues;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public abstract class KNNVectorScriptDocValues extends ScriptDocValues<float[]> {
@@ -82,13 +83,32 @@ public abstract class KNNVectorScriptDocValues extends ScriptDocValues<float[]>
      * @throws IllegalArgumentException If the type of values is unsupported.
      */
     public static KNNVectorScriptDocValues create(DocIdSetIterator values, String fieldName, VectorDataType vectorDataType) {
+        return create(values, fieldName, vectorDataType, KNNVectorDocValuesEncoding.SERIALIZED);
+    }
+
+    /**
+     * Creates a KNNVectorScriptDocValues object based on the provided parameters.
+     *
+     * @param values          The DocIdSetIterator representing the vector values.
+     * @param fieldName       The name of the field.
+     * @param vectorDataType  The data type of the vector.
+     * @param encoding        The encoding of float vectors in binary doc values.
+     * @return A KNNVectorScriptDocValues object based on the type of the values.
+     * @throws IllegalArgumentException If the type of values is unsupported.
+     */
+    public static KNNVectorScriptDocValues create(
+        DocIdSetIterator values,
+        String fieldName,
+        VectorDataType vectorDataType,
+        KNNVectorDocValuesEncoding encoding
+    ) {
         Objects.requireNonNull(values, "values must not be null");
         if (values instanceof ByteVectorValues) {
             return new KNNByteVectorScriptDocValues((ByteVectorValues) values, fieldName, vectorDataType);
         } else if (values instanceof FloatVectorValues) {
             return new KNNFloatVectorScriptDocValues((FloatVectorValues) values, fieldName, vectorDataType);
         } else if (values instanceof BinaryDocValues) {
-            return new KNNNativeVectorScriptDocValues((BinaryDocValues) values, fieldName, vectorDataType);
+            return new KNNNativeVectorScriptDocValues((BinaryDocValues) values, fieldName, vectorDataType, encoding);
         } else {
             throw new IllegalArgumentException("Unsupported values type: " + values.getClass());
         }
@@ -129,14 +149,20 @@ public abstract class KNNVectorScriptDocValues extends ScriptDocValues<float[]>
 
     private static final class KNNNativeVectorScriptDocValues extends KNNVectorScriptDocValues {
         private final BinaryDocValues values;
+        private final KNNVectorDocValuesEncoding encoding;
 
-        KNNNativeVectorScriptDocValues(BinaryDocValues values, String field, VectorDataType type) {
+        KNNNativeVectorScriptDocValues(BinaryDocValues values, String field, VectorDataType type, KNNVectorDocValuesEncoding encoding) {
             super(values, field, type);
             this.values = values;
+            this.encoding = encoding;
         }
 
         @Override
         protected float[] doGetValue() throws IOException {
+            if (getVectorDataType() == VectorDataType.FLOAT) {
+                // Scripts may hold on to the value, so it is decoded into a new array
+                return encoding.decode(values.binaryValue());
+            }
             return getVectorDataType().getVectorFromBytesRef(values.binaryValue());
         }
     }
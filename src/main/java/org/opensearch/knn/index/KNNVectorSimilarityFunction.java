@@ -6,10 +6,11 @@
 package org.opensearch.knn.index;
 
 import org.apache.lucene.index.VectorSimilarityFunction;
-import org.opensearch.knn.plugin.script.KNNScoringUtil;
+import org.opensearch.knn.index.distance.VectorDistanceKernels;
 
 /**
- * Wrapper class of VectorSimilarityFunction to support more function than what Lucene provides
+ * Wrapper class of VectorSimilarityFunction to support more function than what Lucene provides. Hamming scores of
+ * binary vectors are computed with {@link VectorDistanceKernels}, all other scores by the wrapped Lucene function.
  */
 public enum KNNVectorSimilarityFunction {
     EUCLIDEAN(VectorSimilarityFunction.EUCLIDEAN),
@@ -24,7 +25,10 @@ public enum KNNVectorSimilarityFunction {
 
         @Override
         public float compare(byte[] v1, byte[] v2) {
-            return 1.0f / (1 + KNNScoringUtil.calculateHammingBit(v1, v2));
+            if (v1.length != v2.length) {
+                throw new IllegalArgumentException("vector dimensions differ: " + v1.length + "!=" + v2.length);
+            }
+            return 1.0f / (1 + KERNELS.hamming(v1, v2));
         }
 
         @Override
@@ -33,6 +37,8 @@ public enum KNNVectorSimilarityFunction {
         }
     };
 
+    private static final VectorDistanceKernels KERNELS = VectorDistanceKernels.getInstance();
+
     private final VectorSimilarityFunction vectorSimilarityFunction;
 
     KNNVectorSimilarityFunction(final VectorSimilarityFunction vectorSimilarityFunction) {
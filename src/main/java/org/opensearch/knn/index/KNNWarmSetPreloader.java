@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.knn.index.memory.NativeMemoryWarmSet;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.opensearch.knn.common.KNNConstants.GRAPH_LOAD_THREAD_POOL;
+
+/**
+ * Preloads the graphs of a k-NN index shard that are in the warm set of the node once the shard has started. The
+ * graphs are loaded in the background on the graph load thread pool, so that starting the shard is not delayed.
+ */
+@Log4j2
+@AllArgsConstructor
+public class KNNWarmSetPreloader implements IndexEventListener {
+    private final ThreadPool threadPool;
+
+    @Override
+    public void afterIndexShardStarted(IndexShard indexShard) {
+        final NativeMemoryWarmSet warmSet = NativeMemoryWarmSet.getInstance();
+        if (warmSet == null || !warmSet.hasPendingEntries()) {
+            return;
+        }
+        final long budgetInKB = KNNSettings.getCircuitBreakerLimit().getKb() * KNNSettings.getWarmSetPreloadLimitPercentage() / 100;
+        if (budgetInKB <= 0) {
+            return;
+        }
+
+        try {
+            threadPool.executor(GRAPH_LOAD_THREAD_POOL).execute(() -> {
+                try {
+                    new KNNIndexShard(indexShard).preloadWarmSet(warmSet, budgetInKB);
+                } catch (Exception e) {
+                    log.warn("[KNN] Failed to preload the warm set of shard {}", indexShard.shardId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("[KNN] Skipping warm set preload of shard {}: {}", indexShard.shardId(), e.getMessage());
+        }
+    }
+}
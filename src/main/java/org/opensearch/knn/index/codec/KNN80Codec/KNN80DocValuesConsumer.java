@@ -5,24 +5,23 @@
 
 package org.opensearch.knn.index.codec.KNN80Codec;
 
+import com.google.common.annotations.VisibleForTesting;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
-import org.apache.lucene.store.ChecksumIndexInput;
 import org.opensearch.common.StopWatch;
-import org.opensearch.common.xcontent.XContentHelper;
-import org.opensearch.core.common.bytes.BytesArray;
-import org.opensearch.core.xcontent.MediaTypeRegistry;
-import org.opensearch.core.xcontent.DeprecationHandler;
-import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.codec.transfer.VectorTransfer;
 import org.opensearch.knn.index.codec.transfer.VectorTransferByte;
 import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
+import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.jni.JNIService;
-import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.codec.util.KNNCodecUtil;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.index.codec.util.NativeIndexBuildScheduler;
+import org.opensearch.knn.index.codec.util.SerializationMode;
+import org.opensearch.knn.index.codec.util.TranscodingBinaryDocValues;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelCache;
@@ -33,34 +32,30 @@ import org.apache.lucene.codecs.DocValuesConsumer;
 import org.apache.lucene.codecs.DocValuesProducer;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.EmptyDocValuesProducer;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.MergeState;
+import org.apache.lucene.index.SegmentInfo;
 import org.apache.lucene.index.SegmentWriteState;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.util.Bits;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
 import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.plugin.stats.KNNGraphValue;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
-import static org.apache.lucene.codecs.CodecUtil.FOOTER_MAGIC;
 import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
-import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
 import static org.opensearch.knn.index.codec.util.KNNCodecUtil.buildEngineFileName;
 import static org.opensearch.knn.index.codec.util.KNNCodecUtil.calculateArraySize;
-import static org.opensearch.knn.index.engine.faiss.Faiss.FAISS_BINARY_INDEX_DESCRIPTION_PREFIX;
 
 /**
  * This class writes the KNN docvalues to the segments
@@ -72,21 +67,28 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
 
     private final DocValuesConsumer delegatee;
     private final SegmentWriteState state;
-
-    private static final Long CRC32_CHECKSUM_SANITY = 0xFFFFFFFF00000000L;
+    private final KNNVectorDocValuesEncoding floatVectorEncoding;
+    // Set while merging field by field, in which case the graphs are built once all fields are merged
+    private boolean isMerging;
 
     KNN80DocValuesConsumer(DocValuesConsumer delegatee, SegmentWriteState state) {
+        this(delegatee, state, KNNVectorDocValuesEncoding.SERIALIZED);
+    }
+
+    KNN80DocValuesConsumer(DocValuesConsumer delegatee, SegmentWriteState state, KNNVectorDocValuesEncoding floatVectorEncoding) {
         this.delegatee = delegatee;
         this.state = state;
+        this.floatVectorEncoding = floatVectorEncoding;
     }
 
     @Override
     public void addBinaryField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
-        delegatee.addBinaryField(field, valuesProducer);
-        if (isKNNBinaryFieldRequired(field)) {
+        final DocValuesProducer encodedValuesProducer = encodeFloatVectors(field, valuesProducer);
+        delegatee.addBinaryField(field, encodedValuesProducer);
+        if (!isMerging && isKNNBinaryFieldRequired(field)) {
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
-            addKNNBinaryField(field, valuesProducer, false, true);
+            addKNNBinaryField(field, encodedValuesProducer, false, true);
             stopWatch.stop();
             long time_in_millis = stopWatch.totalTime().millis();
             KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getValue() + time_in_millis);
@@ -94,6 +96,42 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
         }
     }
 
+    /**
+     * Vectors are serialized by the field mapper. When this consumer writes float vectors with another encoding, the
+     * values are transcoded and the encoding is recorded in the attributes of the field.
+     */
+    private DocValuesProducer encodeFloatVectors(FieldInfo field, DocValuesProducer valuesProducer) {
+        if (!isFloatVectorFieldToEncode(field)) {
+            return valuesProducer;
+        }
+        field.putAttribute(KNNVectorDocValuesEncoding.FIELD_ATTRIBUTE, floatVectorEncoding.name());
+        return new EmptyDocValuesProducer() {
+            @Override
+            public BinaryDocValues getBinary(FieldInfo fieldInfo) throws IOException {
+                return new TranscodingBinaryDocValues(
+                    valuesProducer.getBinary(fieldInfo),
+                    KNNVectorDocValuesEncoding.SERIALIZED,
+                    floatVectorEncoding
+                );
+            }
+        };
+    }
+
+    private boolean isFloatVectorFieldToEncode(FieldInfo field) {
+        return floatVectorEncoding != KNNVectorDocValuesEncoding.SERIALIZED
+            && field.getDocValuesType() == DocValuesType.BINARY
+            && field.attributes().containsKey(KNNVectorFieldMapper.KNN_FIELD)
+            && getVectorDataType(field) == VectorDataType.FLOAT;
+    }
+
+    private VectorDataType getVectorDataType(FieldInfo field) {
+        final String modelId = field.attributes().get(MODEL_ID);
+        if (modelId != null) {
+            return ModelCache.getInstance().get(modelId).getModelMetadata().getVectorDataType();
+        }
+        return VectorDataType.get(field.attributes().getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue()));
+    }
+
     private boolean isKNNBinaryFieldRequired(FieldInfo field) {
         final KNNEngine knnEngine = getKNNEngine(field);
         log.debug(String.format("Read engine [%s] for field [%s]", knnEngine.getName(), field.getName()));
@@ -127,10 +165,19 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
             engineFileName
         ).toString();
 
+        Map<String, String> fieldAttributes = field.attributes();
+        if (!fieldAttributes.containsKey(MODEL_ID) && KNNSettings.isStreamingGraphBuildEnabled()) {
+            final Map<String, Object> parameters = KNNCodecUtil.getIndexBuildParameters(field, knnEngine);
+            if (KNNCodecUtil.isIncrementalIndex(knnEngine, parameters)) {
+                addKNNBinaryFieldInBatches(field, values, knnEngine, parameters, engineFileName, indexPath, isMerge, isRefresh);
+                return;
+            }
+        }
+
         // Determine if we are creating an index from a model or from scratch
         NativeIndexCreator indexCreator;
         KNNCodecUtil.Pair pair;
-        Map<String, String> fieldAttributes = field.attributes();
+        VectorDataType vectorDataType;
 
         if (fieldAttributes.containsKey(MODEL_ID)) {
             String modelId = fieldAttributes.get(MODEL_ID);
@@ -138,15 +185,15 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
             if (model.getModelBlob() == null) {
                 throw new RuntimeException(String.format("There is no trained model with id \"%s\"", modelId));
             }
-            VectorDataType vectorDataType = model.getModelMetadata().getVectorDataType();
-            pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType));
+            vectorDataType = model.getModelMetadata().getVectorDataType();
+            pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType, field));
             indexCreator = () -> createKNNIndexFromTemplate(model, pair, knnEngine, indexPath);
         } else {
             // get vector data type from field attributes or provide default value
-            VectorDataType vectorDataType = VectorDataType.get(
+            vectorDataType = VectorDataType.get(
                 fieldAttributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue())
             );
-            pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType));
+            pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType, field));
             indexCreator = () -> createKNNIndexFromScratch(field, pair, knnEngine, indexPath);
         }
 
@@ -156,6 +203,18 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
             return;
         }
 
+        // Small segments are searched exactly until they are merged into a segment large enough for a graph
+        if (pair.docs.length < KNNSettings.getGraphBuildMinSegmentDocs()) {
+            logger.debug(
+                "Skipping engine index creation for field [{}] as segment [{}] has {} docs",
+                field.name,
+                state.segmentInfo.name,
+                pair.docs.length
+            );
+            freeVectors(pair.getVectorAddress(), VectorDataType.BINARY == vectorDataType);
+            return;
+        }
+
         long arraySize = calculateArraySize(pair.docs.length, pair.getDimension(), pair.serializationMode);
 
         if (isMerge) {
@@ -175,7 +234,121 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
         // Ensure engineFileName is added to the tracked files by Lucene's TrackingDirectoryWrapper
         state.directory.createOutput(engineFileName, state.context).close();
         indexCreator.createIndex();
-        writeFooter(indexPath, engineFileName);
+        KNNCodecUtil.writeEngineFileFooter(state.directory, state.context, indexPath, engineFileName);
+    }
+
+    /**
+     * Build the native index of a field by adding its vectors in batches read from the doc values, so that only the
+     * vectors of one batch are held in native memory instead of the vectors of the whole segment.
+     *
+     * @param field field to build the index for
+     * @param values doc values of the field
+     * @param knnEngine engine of the index
+     * @param parameters parameters to build the index
+     * @param engineFileName name of the engine file
+     * @param indexPath path of the engine file
+     * @param isMerge true if the segment is merged
+     * @param isRefresh true if the segment is flushed
+     * @throws IOException if the vectors cannot be read or the index cannot be written
+     */
+    private void addKNNBinaryFieldInBatches(
+        FieldInfo field,
+        BinaryDocValues values,
+        KNNEngine knnEngine,
+        Map<String, Object> parameters,
+        String engineFileName,
+        String indexPath,
+        boolean isMerge,
+        boolean isRefresh
+    ) throws IOException {
+        final long totalLiveDocs = KNNCodecUtil.getTotalLiveDocsCount(values);
+        if (totalLiveDocs == 0) {
+            logger.info("Skipping engine index creation as there are no vectors or docs in the segment");
+            return;
+        }
+        // Small segments are searched exactly until they are merged into a segment large enough for a graph
+        if (totalLiveDocs < KNNSettings.getGraphBuildMinSegmentDocs()) {
+            logger.debug(
+                "Skipping engine index creation for field [{}] as segment [{}] has {} docs",
+                field.name,
+                state.segmentInfo.name,
+                totalLiveDocs
+            );
+            return;
+        }
+
+        final VectorDataType vectorDataType = getVectorDataType(field);
+        final boolean isBinary = IndexUtil.isBinaryIndex(knnEngine, parameters);
+        final int dimension = Integer.parseInt(field.attributes().getOrDefault(KNNConstants.DIMENSION, "1"));
+        final int batchSize = KNNCodecUtil.getStreamingBatchSize(isBinary ? dimension / Byte.SIZE : (long) dimension * Float.BYTES);
+        final long arraySize = calculateArraySize(
+            (int) totalLiveDocs,
+            dimension,
+            isBinary ? SerializationMode.COLLECTIONS_OF_BYTES : SerializationMode.COLLECTION_OF_FLOATS
+        );
+        if (isMerge) {
+            KNNGraphValue.MERGE_CURRENT_OPERATIONS.increment();
+            KNNGraphValue.MERGE_CURRENT_DOCS.incrementBy(totalLiveDocs);
+            KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.incrementBy(arraySize);
+            recordMergeStats((int) totalLiveDocs, arraySize);
+        }
+        KNNCounter.GRAPH_INDEX_REQUESTS.increment();
+        if (isRefresh) {
+            recordRefreshStats();
+        }
+
+        // Ensure engineFileName is added to the tracked files by Lucene's TrackingDirectoryWrapper
+        state.directory.createOutput(engineFileName, state.context).close();
+        final int requestedThreads = (Integer) parameters.getOrDefault(KNNConstants.INDEX_THREAD_QTY, 1);
+        NativeIndexBuildScheduler.getInstance().build(requestedThreads, totalLiveDocs, threadCount -> {
+            parameters.put(KNNConstants.INDEX_THREAD_QTY, threadCount);
+            long indexAddress = 0;
+            try {
+                while (true) {
+                    final KNNCodecUtil.Pair pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType, field), batchSize);
+                    if (pair.docs.length == 0) {
+                        break;
+                    }
+                    try {
+                        if (indexAddress == 0) {
+                            indexAddress = AccessController.doPrivileged(
+                                (PrivilegedAction<Long>) () -> JNIService.initIndex(pair.getDimension(), parameters, knnEngine)
+                            );
+                        }
+                        final long address = indexAddress;
+                        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                            JNIService.insertToIndex(
+                                pair.docs,
+                                pair.getVectorAddress(),
+                                pair.getDimension(),
+                                address,
+                                threadCount,
+                                parameters,
+                                knnEngine
+                            );
+                            return null;
+                        });
+                    } finally {
+                        freeVectors(pair.getVectorAddress(), isBinary);
+                    }
+                }
+            } catch (Exception e) {
+                if (indexAddress != 0) {
+                    JNIService.free(indexAddress, knnEngine, isBinary);
+                }
+                throw e;
+            }
+            if (indexAddress == 0) {
+                throw new IllegalStateException("No vectors of field [" + field.name + "] to build the native index from");
+            }
+            // The index is freed by the native library, even when it cannot be written
+            final long address = indexAddress;
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                JNIService.writeIndex(address, indexPath, parameters, knnEngine);
+                return null;
+            });
+        });
+        KNNCodecUtil.writeEngineFileFooter(state.directory, state.context, indexPath, engineFileName);
     }
 
     private void recordMergeStats(int length, long arraySize) {
@@ -191,13 +364,14 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
         KNNGraphValue.REFRESH_TOTAL_OPERATIONS.increment();
     }
 
-    private void createKNNIndexFromTemplate(Model model, KNNCodecUtil.Pair pair, KNNEngine knnEngine, String indexPath) {
+    private void createKNNIndexFromTemplate(Model model, KNNCodecUtil.Pair pair, KNNEngine knnEngine, String indexPath)
+        throws IOException {
         Map<String, Object> parameters = new HashMap<>();
         parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
 
         IndexUtil.updateVectorDataTypeToParameters(parameters, model.getModelMetadata().getVectorDataType());
 
-        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+        scheduleBuild(parameters, pair.docs.length, () -> {
             JNIService.createIndexFromTemplate(
                 pair.docs,
                 pair.getVectorAddress(),
@@ -213,58 +387,28 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
 
     private void createKNNIndexFromScratch(FieldInfo fieldInfo, KNNCodecUtil.Pair pair, KNNEngine knnEngine, String indexPath)
         throws IOException {
-        Map<String, Object> parameters = new HashMap<>();
-        Map<String, String> fieldAttributes = fieldInfo.attributes();
-        String parametersString = fieldAttributes.get(KNNConstants.PARAMETERS);
-
-        // parametersString will be null when legacy mapper is used
-        if (parametersString == null) {
-            parameters.put(KNNConstants.SPACE_TYPE, fieldAttributes.getOrDefault(KNNConstants.SPACE_TYPE, SpaceType.DEFAULT.getValue()));
-
-            String efConstruction = fieldAttributes.get(KNNConstants.HNSW_ALGO_EF_CONSTRUCTION);
-            Map<String, Object> algoParams = new HashMap<>();
-            if (efConstruction != null) {
-                algoParams.put(KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION, Integer.parseInt(efConstruction));
-            }
-
-            String m = fieldAttributes.get(KNNConstants.HNSW_ALGO_M);
-            if (m != null) {
-                algoParams.put(KNNConstants.METHOD_PARAMETER_M, Integer.parseInt(m));
-            }
-            parameters.put(PARAMETERS, algoParams);
-        } else {
-            parameters.putAll(
-                XContentHelper.createParser(
-                    NamedXContentRegistry.EMPTY,
-                    DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
-                    new BytesArray(parametersString),
-                    MediaTypeRegistry.getDefaultMediaType()
-                ).map()
-            );
-        }
-
-        // Update index description of Faiss for binary data type
-        if (KNNEngine.FAISS == knnEngine
-            && VectorDataType.BINARY.getValue()
-                .equals(fieldAttributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue()))
-            && parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER) != null) {
-            parameters.put(
-                KNNConstants.INDEX_DESCRIPTION_PARAMETER,
-                FAISS_BINARY_INDEX_DESCRIPTION_PREFIX + parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER).toString()
-            );
-            IndexUtil.updateVectorDataTypeToParameters(parameters, VectorDataType.BINARY);
-        }
-
-        // Used to determine how many threads to use when indexing
-        parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
+        final Map<String, Object> parameters = KNNCodecUtil.getIndexBuildParameters(fieldInfo, knnEngine);
 
         // Pass the path for the nms library to save the file
-        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+        scheduleBuild(parameters, pair.docs.length, () -> {
             JNIService.createIndex(pair.docs, pair.getVectorAddress(), pair.getDimension(), indexPath, parameters, knnEngine);
             return null;
         });
     }
 
+    /**
+     * Run a native build once the node has threads for it. The number of threads granted to the build replaces the
+     * number of threads of the parameters.
+     */
+    private static void scheduleBuild(Map<String, Object> parameters, long numVectors, PrivilegedAction<Void> build)
+        throws IOException {
+        final int requestedThreads = (Integer) parameters.getOrDefault(KNNConstants.INDEX_THREAD_QTY, 1);
+        NativeIndexBuildScheduler.getInstance().build(requestedThreads, numVectors, threadCount -> {
+            parameters.put(KNNConstants.INDEX_THREAD_QTY, threadCount);
+            AccessController.doPrivileged(build);
+        });
+    }
+
     /**
      * Merges in the fields from the readers in mergeState
      *
@@ -273,7 +417,14 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
     @Override
     public void merge(MergeState mergeState) {
         try {
-            delegatee.merge(mergeState);
+            if (floatVectorEncoding == KNNVectorDocValuesEncoding.SERIALIZED) {
+                delegatee.merge(mergeState);
+            } else {
+                // Merge field by field through this consumer, so that float vectors of segments written with another
+                // encoding are rewritten with the encoding of this consumer
+                isMerging = true;
+                super.merge(mergeState);
+            }
             assert mergeState != null;
             assert mergeState.mergeFieldInfos != null;
             for (FieldInfo fieldInfo : mergeState.mergeFieldInfos) {
@@ -281,7 +432,10 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
                 if (type == DocValuesType.BINARY && fieldInfo.attributes().containsKey(KNNVectorFieldMapper.KNN_FIELD)) {
                     StopWatch stopWatch = new StopWatch();
                     stopWatch.start();
-                    addKNNBinaryField(fieldInfo, new KNN80DocValuesReader(mergeState), true, false);
+                    final KNNVectorDocValuesEncoding targetEncoding = isFloatVectorFieldToEncode(fieldInfo) ? floatVectorEncoding : null;
+                    if (!addKNNBinaryFieldFromSegmentGraph(fieldInfo, mergeState, targetEncoding)) {
+                        addKNNBinaryField(fieldInfo, new KNN80DocValuesReader(mergeState, targetEncoding), true, false);
+                    }
                     stopWatch.stop();
                     long time_in_millis = stopWatch.totalTime().millis();
                     KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.getValue() + time_in_millis);
@@ -293,6 +447,213 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
         }
     }
 
+    /**
+     * Build the native index of a merged field by loading the native index of its largest source segment, with doc ids
+     * remapped to the merged segment, and inserting the vectors of the other source segments only. The vectors of the
+     * deleted docs of the source segment are removed from the loaded index, along with their nodes in the graph.
+     *
+     * @param field field to build the index for
+     * @param mergeState state of the merge
+     * @param targetEncoding encoding to transcode the float vectors of the source segments to, or null
+     * @return true if the index was built, false if it has to be built from scratch
+     * @throws IOException if the vectors cannot be read or the index cannot be written
+     */
+    private boolean addKNNBinaryFieldFromSegmentGraph(
+        FieldInfo field,
+        MergeState mergeState,
+        KNNVectorDocValuesEncoding targetEncoding
+    ) throws IOException {
+        if (field.attributes().containsKey(MODEL_ID) || !KNNSettings.isMergeGraphReuseEnabled()) {
+            return false;
+        }
+        final KNNEngine knnEngine = getKNNEngine(field);
+        final Map<String, Object> parameters = KNNCodecUtil.getIndexBuildParameters(field, knnEngine);
+        if (!KNNCodecUtil.isIncrementalIndex(knnEngine, parameters)) {
+            return false;
+        }
+        final int source = selectGraphSource(field, mergeState, knnEngine, parameters);
+        if (source < 0) {
+            return false;
+        }
+
+        final SegmentInfo sourceSegment = ((KNN80DocValuesProducer) mergeState.docValuesProducers[source]).getSegmentInfo();
+        final String sourceIndexPath = Paths.get(
+            ((FSDirectory) FilterDirectory.unwrap(sourceSegment.dir)).getDirectory().toString(),
+            getEngineFileName(sourceSegment, field.name, knnEngine.getExtension())
+        ).toString();
+        final int[] docMap = new int[mergeState.maxDocs[source]];
+        for (int doc = 0; doc < docMap.length; doc++) {
+            docMap[doc] = mergeState.docMaps[source].get(doc);
+        }
+        final boolean isBinary = IndexUtil.isBinaryIndex(knnEngine, parameters);
+        final long indexAddress;
+        try {
+            indexAddress = AccessController.doPrivileged(
+                (PrivilegedAction<Long>) () -> JNIService.loadIndexForMerge(sourceIndexPath, docMap, parameters, knnEngine)
+            );
+        } catch (Exception e) {
+            logger.warn("Unable to load the native index of segment [" + sourceSegment.name + "], building it from scratch", e);
+            return false;
+        }
+
+        final KNNCodecUtil.Pair pair;
+        try {
+            final BinaryDocValues values = new KNN80DocValuesReader(mergeState, targetEncoding, source).getBinary(field);
+            pair = KNNCodecUtil.getPair(values, getVectorTransfer(getVectorDataType(field), field));
+        } catch (Exception e) {
+            JNIService.free(indexAddress, knnEngine, isBinary);
+            throw e;
+        }
+
+        final String engineFileName = buildEngineFileName(
+            state.segmentInfo.name,
+            knnEngine.getVersion(),
+            field.name,
+            knnEngine.getExtension()
+        );
+        final String indexPath = Paths.get(
+            ((FSDirectory) (FilterDirectory.unwrap(state.directory))).getDirectory().toString(),
+            engineFileName
+        ).toString();
+        final long arraySize = calculateArraySize(pair.docs.length, pair.getDimension(), pair.serializationMode);
+        KNNGraphValue.MERGE_CURRENT_OPERATIONS.increment();
+        KNNGraphValue.MERGE_CURRENT_DOCS.incrementBy(pair.docs.length);
+        KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.incrementBy(arraySize);
+        recordMergeStats(pair.docs.length, arraySize);
+        KNNCounter.GRAPH_INDEX_REQUESTS.increment();
+
+        try {
+            if (pair.docs.length > 0) {
+                scheduleBuild(parameters, pair.docs.length, () -> {
+                    JNIService.insertToIndex(
+                        pair.docs,
+                        pair.getVectorAddress(),
+                        pair.getDimension(),
+                        indexAddress,
+                        (Integer) parameters.get(KNNConstants.INDEX_THREAD_QTY),
+                        parameters,
+                        knnEngine
+                    );
+                    return null;
+                });
+            }
+        } catch (Exception e) {
+            JNIService.free(indexAddress, knnEngine, isBinary);
+            throw e;
+        } finally {
+            freeVectors(pair.getVectorAddress(), isBinary);
+        }
+
+        // Ensure engineFileName is added to the tracked files by Lucene's TrackingDirectoryWrapper
+        state.directory.createOutput(engineFileName, state.context).close();
+        // The index is freed by the native library, even when it cannot be written
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            JNIService.writeIndex(indexAddress, indexPath, parameters, knnEngine);
+            return null;
+        });
+        KNNCodecUtil.writeEngineFileFooter(state.directory, state.context, indexPath, engineFileName);
+        logger.debug(
+            "Built the native index of field [{}] from segment [{}] with {} more vectors",
+            field.name,
+            sourceSegment.name,
+            pair.docs.length
+        );
+        return true;
+    }
+
+    /**
+     * Select the segment whose native index seeds the native index of a merged field: the segment with the most live docs
+     * among those whose index was built with the same parameters. Segments with more deleted than live docs are left out,
+     * as the graph left once their nodes are removed is sparser than a rebuilt one.
+     *
+     * @param field merged field
+     * @param mergeState state of the merge
+     * @param knnEngine engine of the merged field
+     * @param parameters parameters to build the index of the merged field
+     * @return index of the segment in the merge state, or -1 if no segment can seed the index
+     * @throws IOException if the parameters of a segment cannot be parsed
+     */
+    @VisibleForTesting
+    static int selectGraphSource(FieldInfo field, MergeState mergeState, KNNEngine knnEngine, Map<String, Object> parameters)
+        throws IOException {
+        int source = -1;
+        int sourceLiveDocs = 0;
+        for (int i = 0; i < mergeState.docValuesProducers.length; i++) {
+            if (!(mergeState.docValuesProducers[i] instanceof KNN80DocValuesProducer)) {
+                continue;
+            }
+            final int liveDocs = countLiveDocs(mergeState.liveDocs[i], mergeState.maxDocs[i]);
+            if (liveDocs * 2L < mergeState.maxDocs[i] || (source >= 0 && liveDocs <= sourceLiveDocs)) {
+                continue;
+            }
+            final FieldInfo segmentField = mergeState.fieldInfos[i].fieldInfo(field.name);
+            if (segmentField == null
+                || segmentField.getDocValuesType() != DocValuesType.BINARY
+                || segmentField.attributes().containsKey(MODEL_ID)
+                || !knnEngine.getName()
+                    .equals(segmentField.attributes().getOrDefault(KNNConstants.KNN_ENGINE, KNNEngine.DEFAULT.getName()))
+                || !parameters.equals(KNNCodecUtil.getIndexBuildParameters(segmentField, knnEngine))) {
+                continue;
+            }
+            final SegmentInfo segmentInfo = ((KNN80DocValuesProducer) mergeState.docValuesProducers[i]).getSegmentInfo();
+            if (!(FilterDirectory.unwrap(segmentInfo.dir) instanceof FSDirectory)
+                || getEngineFileName(segmentInfo, field.name, knnEngine.getExtension()) == null) {
+                continue;
+            }
+            source = i;
+            sourceLiveDocs = liveDocs;
+        }
+        return source;
+    }
+
+    private static int countLiveDocs(Bits liveDocs, int maxDoc) {
+        if (liveDocs == null) {
+            return maxDoc;
+        }
+        int count = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (liveDocs.get(doc)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return name of the engine file of a field in a segment, or null if the segment has no engine file for the field
+     */
+    private static String getEngineFileName(SegmentInfo segmentInfo, String fieldName, String extension) {
+        // Engine files of compound segments are copied next to the compound file with an extra suffix
+        final String engineExtension = segmentInfo.getUseCompoundFile() ? extension + KNNConstants.COMPOUND_EXTENSION : extension;
+        final String engineSuffix = KNNCodecUtil.buildEngineFileSuffix(fieldName, engineExtension);
+        return segmentInfo.files()
+            .stream()
+            .filter(fileName -> fileName.endsWith(engineSuffix))
+            .min(Comparator.comparingInt(String::length))
+            .orElse(null);
+    }
+
+    private static void freeVectors(long vectorAddress, boolean isBinary) {
+        if (vectorAddress == 0) {
+            return;
+        }
+        if (isBinary) {
+            JNICommons.freeByteVectorData(vectorAddress);
+        } else {
+            JNICommons.freeVectorData(vectorAddress);
+        }
+    }
+
+    @Override
+    public void mergeBinaryField(FieldInfo mergeFieldInfo, MergeState mergeState) throws IOException {
+        if (isFloatVectorFieldToEncode(mergeFieldInfo)) {
+            mergeFieldInfo.putAttribute(KNNVectorDocValuesEncoding.FIELD_ATTRIBUTE, floatVectorEncoding.name());
+            delegatee.addBinaryField(mergeFieldInfo, new KNN80DocValuesReader(mergeState, floatVectorEncoding));
+        } else {
+            super.mergeBinaryField(mergeFieldInfo, mergeState);
+        }
+    }
+
     @Override
     public void addSortedSetField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
         delegatee.addSortedSetField(field, valuesProducer);
@@ -323,46 +684,13 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
         void createIndex() throws IOException;
     }
 
-    private void writeFooter(String indexPath, String engineFileName) throws IOException {
-        // Opens the engine file that was created and appends a footer to it. The footer consists of
-        // 1. A Footer magic number (int - 4 bytes)
-        // 2. A checksum algorithm id (int - 4 bytes)
-        // 3. A checksum (long - bytes)
-        // The checksum is computed on all the bytes written to the file up to that point.
-        // Logic where footer is written in Lucene can be found here:
-        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L390-L412
-        OutputStream os = Files.newOutputStream(Paths.get(indexPath), StandardOpenOption.APPEND);
-        ByteBuffer byteBuffer = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN);
-        byteBuffer.putInt(FOOTER_MAGIC);
-        byteBuffer.putInt(0);
-        os.write(byteBuffer.array());
-        os.flush();
-
-        ChecksumIndexInput checksumIndexInput = state.directory.openChecksumInput(engineFileName, state.context);
-        checksumIndexInput.seek(checksumIndexInput.length());
-        long value = checksumIndexInput.getChecksum();
-        checksumIndexInput.close();
-
-        if (isChecksumValid(value)) {
-            throw new IllegalStateException("Illegal CRC-32 checksum: " + value + " (resource=" + os + ")");
-        }
-
-        // Write the CRC checksum to the end of the OutputStream and close the stream
-        byteBuffer.putLong(0, value);
-        os.write(byteBuffer.array());
-        os.close();
-    }
-
-    private boolean isChecksumValid(long value) {
-        // Check pulled from
-        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L644-L647
-        return (value & CRC32_CHECKSUM_SANITY) != 0;
-    }
-
-    private VectorTransfer getVectorTransfer(VectorDataType vectorDataType) {
+    private VectorTransfer getVectorTransfer(VectorDataType vectorDataType, FieldInfo field) {
         if (VectorDataType.BINARY == vectorDataType) {
             return new VectorTransferByte(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
         }
-        return new VectorTransferFloat(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
+        return new VectorTransferFloat(
+            KNNSettings.getVectorStreamingMemoryLimit().getBytes(),
+            KNNVectorDocValuesEncoding.fromFieldInfo(field)
+        );
     }
 }
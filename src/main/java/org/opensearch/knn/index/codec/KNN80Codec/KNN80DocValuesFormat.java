@@ -11,6 +11,7 @@ import org.apache.lucene.codecs.DocValuesProducer;
 import org.apache.lucene.backward_codecs.lucene80.Lucene80DocValuesFormat;
 import org.apache.lucene.index.SegmentReadState;
 import org.apache.lucene.index.SegmentWriteState;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 
 import java.io.IOException;
 
@@ -19,6 +20,7 @@ import java.io.IOException;
  */
 public class KNN80DocValuesFormat extends DocValuesFormat {
     private final DocValuesFormat delegate;
+    private final KNNVectorDocValuesEncoding floatVectorEncoding;
 
     public KNN80DocValuesFormat() {
         this(new Lucene80DocValuesFormat());
@@ -30,17 +32,28 @@ public class KNN80DocValuesFormat extends DocValuesFormat {
      * @param delegate DocValuesFormat to handle non-overridden methods
      */
     public KNN80DocValuesFormat(DocValuesFormat delegate) {
+        this(delegate, KNNVectorDocValuesEncoding.SERIALIZED);
+    }
+
+    /**
+     * Constructor that takes delegate and the encoding of the float vectors written to k-NN fields
+     *
+     * @param delegate DocValuesFormat to handle non-overridden methods
+     * @param floatVectorEncoding encoding of float vectors in new segments
+     */
+    public KNN80DocValuesFormat(DocValuesFormat delegate, KNNVectorDocValuesEncoding floatVectorEncoding) {
         super(delegate.getName());
         this.delegate = delegate;
+        this.floatVectorEncoding = floatVectorEncoding;
     }
 
     @Override
     public DocValuesConsumer fieldsConsumer(SegmentWriteState state) throws IOException {
-        return new KNN80DocValuesConsumer(delegate.fieldsConsumer(state), state);
+        return new KNN80DocValuesConsumer(delegate.fieldsConsumer(state), state, floatVectorEncoding);
     }
 
     @Override
     public DocValuesProducer fieldsProducer(SegmentReadState state) throws IOException {
-        return delegate.fieldsProducer(state);
+        return new KNN80DocValuesProducer(delegate.fieldsProducer(state), state.segmentInfo);
     }
 }
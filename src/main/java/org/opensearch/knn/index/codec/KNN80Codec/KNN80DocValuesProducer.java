@@ -0,0 +1,78 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN80Codec;
+
+import lombok.Getter;
+import org.apache.lucene.codecs.DocValuesProducer;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+
+import java.io.IOException;
+
+/**
+ * Doc values producer that delegates to the producer of the wrapped format and keeps track of the segment it reads
+ * from, so that a merge can find the engine files of the segments being merged.
+ */
+class KNN80DocValuesProducer extends DocValuesProducer {
+
+    private final DocValuesProducer delegate;
+    @Getter
+    private final SegmentInfo segmentInfo;
+
+    /**
+     * @param delegate producer of the wrapped format
+     * @param segmentInfo segment the producer reads from
+     */
+    KNN80DocValuesProducer(DocValuesProducer delegate, SegmentInfo segmentInfo) {
+        this.delegate = delegate;
+        this.segmentInfo = segmentInfo;
+    }
+
+    @Override
+    public NumericDocValues getNumeric(FieldInfo field) throws IOException {
+        return delegate.getNumeric(field);
+    }
+
+    @Override
+    public BinaryDocValues getBinary(FieldInfo field) throws IOException {
+        return delegate.getBinary(field);
+    }
+
+    @Override
+    public SortedDocValues getSorted(FieldInfo field) throws IOException {
+        return delegate.getSorted(field);
+    }
+
+    @Override
+    public SortedNumericDocValues getSortedNumeric(FieldInfo field) throws IOException {
+        return delegate.getSortedNumeric(field);
+    }
+
+    @Override
+    public SortedSetDocValues getSortedSet(FieldInfo field) throws IOException {
+        return delegate.getSortedSet(field);
+    }
+
+    @Override
+    public void checkIntegrity() throws IOException {
+        delegate.checkIntegrity();
+    }
+
+    @Override
+    public DocValuesProducer getMergeInstance() {
+        return new KNN80DocValuesProducer(delegate.getMergeInstance(), segmentInfo);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
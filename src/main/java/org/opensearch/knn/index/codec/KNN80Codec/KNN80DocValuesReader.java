@@ -10,6 +10,8 @@ import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.Bits;
 import org.opensearch.common.StopWatch;
 import org.opensearch.knn.index.codec.util.BinaryDocValuesSub;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.index.codec.util.TranscodingBinaryDocValues;
 import org.apache.lucene.codecs.DocValuesProducer;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.DocIDMerger;
@@ -29,9 +31,32 @@ import java.util.List;
 class KNN80DocValuesReader extends EmptyDocValuesProducer {
 
     private final MergeState mergeState;
+    private final KNNVectorDocValuesEncoding targetEncoding;
+    private final int excludedSegment;
 
     KNN80DocValuesReader(MergeState mergeState) {
+        this(mergeState, null);
+    }
+
+    /**
+     * @param mergeState merge state holding the segments to read from
+     * @param targetEncoding encoding to transcode the float vectors of the segments to, or null to return the values as
+     *                       they are stored
+     */
+    KNN80DocValuesReader(MergeState mergeState, KNNVectorDocValuesEncoding targetEncoding) {
+        this(mergeState, targetEncoding, -1);
+    }
+
+    /**
+     * @param mergeState merge state holding the segments to read from
+     * @param targetEncoding encoding to transcode the float vectors of the segments to, or null to return the values as
+     *                       they are stored
+     * @param excludedSegment index of a segment of the merge state whose values are skipped, or -1 to read all segments
+     */
+    KNN80DocValuesReader(MergeState mergeState, KNNVectorDocValuesEncoding targetEncoding, int excludedSegment) {
         this.mergeState = mergeState;
+        this.targetEncoding = targetEncoding;
+        this.excludedSegment = excludedSegment;
     }
 
     @Override
@@ -42,7 +67,7 @@ class KNN80DocValuesReader extends EmptyDocValuesProducer {
             for (int i = 0; i < this.mergeState.docValuesProducers.length; i++) {
                 BinaryDocValues values = null;
                 DocValuesProducer docValuesProducer = mergeState.docValuesProducers[i];
-                if (docValuesProducer != null) {
+                if (docValuesProducer != null && i != excludedSegment) {
                     FieldInfo readerFieldInfo = mergeState.fieldInfos[i].fieldInfo(field.name);
                     if (readerFieldInfo != null && readerFieldInfo.getDocValuesType() == DocValuesType.BINARY) {
                         values = docValuesProducer.getBinary(readerFieldInfo);
@@ -52,6 +77,13 @@ class KNN80DocValuesReader extends EmptyDocValuesProducer {
                         // docValues will be consumed when liveDocs are not null, hence resetting the docsValues
                         // pointer.
                         values = this.mergeState.liveDocs[i] != null ? docValuesProducer.getBinary(readerFieldInfo) : values;
+                        if (targetEncoding != null) {
+                            values = new TranscodingBinaryDocValues(
+                                values,
+                                KNNVectorDocValuesEncoding.fromFieldInfo(readerFieldInfo),
+                                targetEncoding
+                            );
+                        }
 
                         subs.add(new BinaryDocValuesSub(mergeState.docMaps[i], values));
                     }
@@ -15,11 +15,11 @@ import lombok.Getter;
 import org.apache.lucene.codecs.KnnFieldVectorsWriter;
 import org.apache.lucene.index.DocsWithFieldSet;
 import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.VectorEncoding;
 import org.apache.lucene.util.InfoStream;
 import org.apache.lucene.util.RamUsageEstimator;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.Closeable;
 
 /**
  * NativeEngineVectorFieldsWriter is a class that will be used to accumulate all the vectors during ingestion before
@@ -28,36 +28,75 @@ import java.util.Map;
  *
  * @param <T> float[] or byte[]
  */
-class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> {
+class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> implements Closeable {
     private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(NativeEngineFieldVectorsWriter.class);
+    @Getter
     private final FieldInfo fieldInfo;
     /**
-     * We are using a map here instead of list, because for sampler interface for quantization we have to advance the iterator
-     * to a specific docId, there a list cannot be useful because a docId != index of the vector in the list. Similar
-     * thing is true when we have vector field in child document. There doc Ids will not be consistent. Hence, we need to
-     * use the map here.
+     * Vectors are buffered in native memory by ordinal, with the doc id of each ordinal kept in a parallel array. As doc
+     * ids are added in increasing order, the vector of a specific docId, for instance when the sampler for quantization
+     * advances to it or when the vector field is in a child document, is found by a binary search over the doc ids.
+     * Null when the vectors are added to the native index while they are indexed.
      */
     @Getter
-    private final Map<Integer, T> vectors;
+    private final OffHeapVectorsBuffer<T> vectors;
     private int lastDocID = -1;
     @Getter
     private final DocsWithFieldSet docsWithField;
     private final InfoStream infoStream;
+    // Set when the native index is built while vectors are added, in which case vectors are not buffered
+    @Getter
+    private final NativeIndexStreamingBuilder<T> streamingBuilder;
 
     static NativeEngineFieldVectorsWriter<?> create(final FieldInfo fieldInfo, final InfoStream infoStream) {
-        switch (fieldInfo.getVectorEncoding()) {
+        return create(fieldInfo, infoStream, null);
+    }
+
+    /**
+     * @param fieldInfo field to write
+     * @param infoStream {@link InfoStream}
+     * @param streamingBuilder builder of the native index of the field, or null to buffer the vectors until flush
+     * @return {@link NativeEngineFieldVectorsWriter}
+     */
+    @SuppressWarnings("unchecked")
+    static NativeEngineFieldVectorsWriter<?> create(
+        final FieldInfo fieldInfo,
+        final InfoStream infoStream,
+        final NativeIndexStreamingBuilder<?> streamingBuilder
+    ) {
+        final VectorEncoding vectorEncoding = fieldInfo.getVectorEncoding();
+        final OffHeapVectorsBuffer<?> vectors = streamingBuilder == null
+            ? OffHeapVectorsBuffer.create(vectorEncoding, fieldInfo.getVectorDimension())
+            : null;
+        switch (vectorEncoding) {
             case FLOAT32:
-                return new NativeEngineFieldVectorsWriter<float[]>(fieldInfo, infoStream);
+                return new NativeEngineFieldVectorsWriter<>(
+                    fieldInfo,
+                    infoStream,
+                    (NativeIndexStreamingBuilder<float[]>) streamingBuilder,
+                    (OffHeapVectorsBuffer<float[]>) vectors
+                );
             case BYTE:
-                return new NativeEngineFieldVectorsWriter<byte[]>(fieldInfo, infoStream);
+                return new NativeEngineFieldVectorsWriter<>(
+                    fieldInfo,
+                    infoStream,
+                    (NativeIndexStreamingBuilder<byte[]>) streamingBuilder,
+                    (OffHeapVectorsBuffer<byte[]>) vectors
+                );
         }
-        throw new IllegalStateException("Unsupported Vector encoding : " + fieldInfo.getVectorEncoding());
+        throw new IllegalStateException("Unsupported Vector encoding : " + vectorEncoding);
     }
 
-    private NativeEngineFieldVectorsWriter(final FieldInfo fieldInfo, final InfoStream infoStream) {
+    private NativeEngineFieldVectorsWriter(
+        final FieldInfo fieldInfo,
+        final InfoStream infoStream,
+        final NativeIndexStreamingBuilder<T> streamingBuilder,
+        final OffHeapVectorsBuffer<T> vectors
+    ) {
         this.fieldInfo = fieldInfo;
         this.infoStream = infoStream;
-        vectors = new HashMap<>();
+        this.streamingBuilder = streamingBuilder;
+        this.vectors = vectors;
         this.docsWithField = new DocsWithFieldSet();
     }
 
@@ -78,7 +117,11 @@ class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> {
             );
         }
         assert docID > lastDocID;
-        vectors.put(docID, vectorValue);
+        if (streamingBuilder != null) {
+            streamingBuilder.addVector(docID, vectorValue);
+        } else {
+            vectors.add(docID, vectorValue);
+        }
         docsWithField.add(docID);
         lastDocID = docID;
     }
@@ -99,9 +142,21 @@ class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> {
      */
     @Override
     public long ramBytesUsed() {
-        return SHALLOW_SIZE + docsWithField.ramBytesUsed() + (long) this.vectors.size() * (long) (RamUsageEstimator.NUM_BYTES_OBJECT_REF
-            + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER) + (long) this.vectors.size() * RamUsageEstimator.shallowSizeOfInstance(
-                Integer.class
-            ) + (long) vectors.size() * fieldInfo.getVectorDimension() * fieldInfo.getVectorEncoding().byteSize;
+        if (streamingBuilder != null) {
+            return SHALLOW_SIZE + docsWithField.ramBytesUsed() + streamingBuilder.ramBytesUsed();
+        }
+        return SHALLOW_SIZE + docsWithField.ramBytesUsed() + vectors.ramBytesUsed();
+    }
+
+    /**
+     * Free the native memory of the buffered vectors, or of the native index that was not written.
+     */
+    @Override
+    public void close() {
+        if (streamingBuilder != null) {
+            streamingBuilder.close();
+        } else {
+            vectors.close();
+        }
     }
 }
@@ -12,6 +12,7 @@
 package org.opensearch.knn.index.codec.KNN990Codec;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.apache.lucene.codecs.KnnFieldVectorsWriter;
 import org.apache.lucene.codecs.KnnVectorsWriter;
 import org.apache.lucene.codecs.hnsw.FlatVectorsWriter;
@@ -19,16 +20,36 @@ import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.MergeState;
 import org.apache.lucene.index.SegmentWriteState;
 import org.apache.lucene.index.Sorter;
+import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FilterDirectory;
 import org.apache.lucene.util.IOUtils;
 import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.common.StopWatch;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.util.KNNCodecUtil;
+import org.opensearch.knn.index.codec.util.NativeIndexBuildScheduler;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
+import org.opensearch.knn.jni.JNIService;
+import org.opensearch.knn.plugin.stats.KNNCounter;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A KNNVectorsWriter class for writing the vector data strcutures and flat vectors for Native Engines.
  */
+@Log4j2
 @RequiredArgsConstructor
 public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
     private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(NativeEngines990KnnVectorsWriter.class);
@@ -45,9 +66,11 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
      */
     @Override
     public KnnFieldVectorsWriter<?> addField(final FieldInfo fieldInfo) throws IOException {
-        final NativeEngineFieldVectorsWriter<?> newField = NativeEngineFieldVectorsWriter.create(fieldInfo, segmentWriteState.infoStream);
-        // TODO: we can build the graph here too iteratively. but right now I am skipping that as we need iterative
-        // graph build support on the JNI layer.
+        final NativeEngineFieldVectorsWriter<?> newField = NativeEngineFieldVectorsWriter.create(
+            fieldInfo,
+            segmentWriteState.infoStream,
+            createStreamingBuilder(fieldInfo)
+        );
         fields.add(newField);
         return flatVectorsWriter.addField(fieldInfo, newField);
     }
@@ -62,7 +85,151 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
     public void flush(int maxDoc, final Sorter.DocMap sortMap) throws IOException {
         // simply write data in the flat file
         flatVectorsWriter.flush(maxDoc, sortMap);
-        // TODO: add code for creating Vector datastructures during lucene flush operation
+        // Segments below the minimum are searched exactly, so no native index is written for their fields
+        final int minSegmentDocs = Math.max(1, KNNSettings.getGraphBuildMinSegmentDocs());
+        for (NativeEngineFieldVectorsWriter<?> field : fields) {
+            if (field.getDocsWithField().cardinality() < minSegmentDocs) {
+                continue;
+            }
+            if (field.getStreamingBuilder() != null) {
+                writeStreamedIndex(field);
+            } else {
+                writeBufferedIndex(field, sortMap);
+            }
+        }
+    }
+
+    /**
+     * Create a builder that builds the native index of the field while its vectors are added, when streaming graph
+     * builds are enabled and the index of the field can be built this way.
+     *
+     * @param fieldInfo field to build the index for
+     * @return {@link NativeIndexStreamingBuilder}, or null if the vectors of the field have to be buffered
+     */
+    private NativeIndexStreamingBuilder<?> createStreamingBuilder(final FieldInfo fieldInfo) throws IOException {
+        final Map<String, String> attributes = fieldInfo.attributes();
+        if (!attributes.containsKey(KNNVectorFieldMapper.KNN_FIELD) || attributes.containsKey(KNNConstants.MODEL_ID)) {
+            return null;
+        }
+        final KNNEngine knnEngine = KNNEngine.getEngine(attributes.getOrDefault(KNNConstants.KNN_ENGINE, KNNEngine.DEFAULT.getName()));
+        // Sorting the segment on flush changes its doc ids, which the streamed index cannot follow
+        if (knnEngine != KNNEngine.FAISS || segmentWriteState.segmentInfo.getIndexSort() != null) {
+            return null;
+        }
+        if (!KNNSettings.isStreamingGraphBuildEnabled()) {
+            return null;
+        }
+
+        final Map<String, Object> parameters = KNNCodecUtil.getIndexBuildParameters(fieldInfo, knnEngine);
+        if (!KNNCodecUtil.isIncrementalIndex(knnEngine, parameters)) {
+            return null;
+        }
+
+        final VectorDataType vectorDataType = VectorDataType.get(
+            attributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue())
+        );
+        final int dimension = fieldInfo.getVectorDimension();
+        if (vectorDataType == VectorDataType.FLOAT && fieldInfo.getVectorEncoding() == VectorEncoding.FLOAT32) {
+            final int batchSize = KNNCodecUtil.getStreamingBatchSize((long) dimension * Float.BYTES);
+            return new NativeIndexStreamingBuilder<>(knnEngine, parameters, dimension, batchSize, new float[batchSize][]);
+        }
+        if (vectorDataType == VectorDataType.BINARY && fieldInfo.getVectorEncoding() == VectorEncoding.BYTE) {
+            // The dimension of byte vectors is their number of bytes, binary vectors are indexed with 8 dimensions per byte
+            final int batchSize = KNNCodecUtil.getStreamingBatchSize(dimension);
+            return new NativeIndexStreamingBuilder<>(knnEngine, parameters, dimension * Byte.SIZE, batchSize, new byte[batchSize][]);
+        }
+        return null;
+    }
+
+    private void writeStreamedIndex(final NativeEngineFieldVectorsWriter<?> field) throws IOException {
+        writeNativeIndex(field.getFieldInfo(), KNNEngine.FAISS, indexPath -> field.getStreamingBuilder().write(indexPath));
+    }
+
+    /**
+     * Build the native index of a field whose vectors were buffered until flush, if the field has one.
+     *
+     * @param field field to build the index for
+     * @param sortMap map of the doc ids of the flushed segment when it is sorted, or null
+     */
+    private void writeBufferedIndex(final NativeEngineFieldVectorsWriter<?> field, final Sorter.DocMap sortMap) throws IOException {
+        final FieldInfo fieldInfo = field.getFieldInfo();
+        final Map<String, String> attributes = fieldInfo.attributes();
+        // Indices of trained models are not built by this writer
+        if (!attributes.containsKey(KNNVectorFieldMapper.KNN_FIELD) || attributes.containsKey(KNNConstants.MODEL_ID)) {
+            return;
+        }
+        final KNNEngine knnEngine = KNNEngine.getEngine(attributes.getOrDefault(KNNConstants.KNN_ENGINE, KNNEngine.DEFAULT.getName()));
+        if (!KNNEngine.getEnginesThatCreateCustomSegmentFiles().contains(knnEngine)) {
+            return;
+        }
+        final VectorDataType vectorDataType = VectorDataType.get(
+            attributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue())
+        );
+        final boolean isFloat = vectorDataType == VectorDataType.FLOAT && fieldInfo.getVectorEncoding() == VectorEncoding.FLOAT32;
+        final boolean isBinary = vectorDataType == VectorDataType.BINARY
+            && fieldInfo.getVectorEncoding() == VectorEncoding.BYTE
+            && knnEngine == KNNEngine.FAISS;
+        if (!isFloat && !isBinary) {
+            return;
+        }
+
+        final Map<String, Object> parameters = KNNCodecUtil.getIndexBuildParameters(fieldInfo, knnEngine);
+        // Binary vectors are indexed as byte vectors of 8 dimensions per byte
+        final int dimension = isBinary ? fieldInfo.getVectorDimension() * Byte.SIZE : fieldInfo.getVectorDimension();
+        final OffHeapVectorsBuffer<?> vectors = field.getVectors();
+        final int[] docIds = vectors.getDocIds();
+        if (sortMap != null) {
+            for (int i = 0; i < docIds.length; i++) {
+                docIds[i] = sortMap.oldToNew(docIds[i]);
+            }
+        }
+
+        writeNativeIndex(fieldInfo, knnEngine, indexPath -> {
+            final int requestedThreads = (Integer) parameters.getOrDefault(KNNConstants.INDEX_THREAD_QTY, 1);
+            NativeIndexBuildScheduler.getInstance().build(requestedThreads, docIds.length, threadCount -> {
+                parameters.put(KNNConstants.INDEX_THREAD_QTY, threadCount);
+                // The buffered vectors are already laid out as the native library expects them, and are freed by it
+                final long vectorsAddress = vectors.releaseVectorsAddress();
+                AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                    JNIService.createIndex(docIds, vectorsAddress, dimension, indexPath, parameters, knnEngine);
+                    return null;
+                });
+            });
+        });
+    }
+
+    /**
+     * Write the native index of a field to the engine file of the field in the flushed segment.
+     *
+     * @param fieldInfo field of the index
+     * @param knnEngine engine of the index
+     * @param indexWriter writes the index to the path of the engine file
+     */
+    private void writeNativeIndex(final FieldInfo fieldInfo, final KNNEngine knnEngine, final NativeIndexWriter indexWriter)
+        throws IOException {
+        final String engineFileName = KNNCodecUtil.buildEngineFileName(
+            segmentWriteState.segmentInfo.name,
+            knnEngine.getVersion(),
+            fieldInfo.name,
+            knnEngine.getExtension()
+        );
+        final String indexPath = Paths.get(
+            ((FSDirectory) (FilterDirectory.unwrap(segmentWriteState.directory))).getDirectory().toString(),
+            engineFileName
+        ).toString();
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        KNNCounter.GRAPH_INDEX_REQUESTS.increment();
+        KNNGraphValue.REFRESH_TOTAL_OPERATIONS.increment();
+        // Ensure engineFileName is added to the tracked files by Lucene's TrackingDirectoryWrapper
+        segmentWriteState.directory.createOutput(engineFileName, segmentWriteState.context).close();
+        indexWriter.write(indexPath);
+        KNNCodecUtil.writeEngineFileFooter(segmentWriteState.directory, segmentWriteState.context, indexPath, engineFileName);
+        stopWatch.stop();
+        long timeInMillis = stopWatch.totalTime().millis();
+        KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getValue() + timeInMillis);
+        log.debug("Wrote native index of field [{}] in {} ms", fieldInfo.name, timeInMillis);
     }
 
     @Override
@@ -99,7 +266,10 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
      */
     @Override
     public void close() throws IOException {
-        IOUtils.close(flatVectorsWriter);
+        final List<Closeable> closeables = new ArrayList<>();
+        closeables.add(flatVectorsWriter);
+        closeables.addAll(fields);
+        IOUtils.close(closeables);
     }
 
     /**
@@ -112,4 +282,8 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
             .sum();
     }
 
+    @FunctionalInterface
+    private interface NativeIndexWriter {
+        void write(String indexPath) throws IOException;
+    }
 }
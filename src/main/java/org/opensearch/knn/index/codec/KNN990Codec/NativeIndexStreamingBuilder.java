@@ -0,0 +1,163 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN990Codec;
+
+import lombok.Getter;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.jni.JNICommons;
+import org.opensearch.knn.jni.JNIService;
+
+import java.io.Closeable;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Builds the native index of a field while its vectors are indexed. Vectors are collected in batches, and every full
+ * batch is copied to native memory and added to the native index right away, so that most of the graph is built by
+ * the time the segment is flushed and only references to the vectors of the current batch are held on heap.
+ *
+ * Only indices that do not need training can be built this way, as the index is created before any vector is seen.
+ *
+ * @param <T> float[] or byte[]
+ */
+class NativeIndexStreamingBuilder<T> implements Closeable {
+    private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(NativeIndexStreamingBuilder.class);
+
+    private final KNNEngine knnEngine;
+    private final Map<String, Object> parameters;
+    private final int dimension;
+    private final boolean isBinary;
+    private final int threadCount;
+    private final int[] batchDocIds;
+    private final T[] batchVectors;
+    private int batchSize;
+    // Native memory holding the vectors of a batch while they are added, reused across batches
+    private long vectorsAddress;
+    private long indexAddress;
+    @Getter
+    private int numVectors;
+
+    /**
+     * @param knnEngine engine of the index
+     * @param parameters parameters to build the index
+     * @param dimension dimension of the vectors
+     * @param maxBatchSize number of vectors to collect before they are added to the index
+     * @param batchVectors array of length maxBatchSize for the vectors of a batch
+     */
+    NativeIndexStreamingBuilder(
+        final KNNEngine knnEngine,
+        final Map<String, Object> parameters,
+        final int dimension,
+        final int maxBatchSize,
+        final T[] batchVectors
+    ) {
+        if (maxBatchSize <= 0 || batchVectors.length != maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must be positive and match the batch array, got " + maxBatchSize);
+        }
+        this.knnEngine = knnEngine;
+        this.parameters = parameters;
+        this.dimension = dimension;
+        this.isBinary = IndexUtil.isBinaryIndex(knnEngine, parameters);
+        this.threadCount = (Integer) parameters.getOrDefault(KNNConstants.INDEX_THREAD_QTY, 0);
+        this.batchDocIds = new int[maxBatchSize];
+        this.batchVectors = batchVectors;
+    }
+
+    /**
+     * Add the vector of a doc to the index. The vector is added to the native index once the current batch is full.
+     *
+     * @param docId doc id of the vector
+     * @param vector vector, which must not be modified afterwards
+     */
+    void addVector(final int docId, final T vector) {
+        batchDocIds[batchSize] = docId;
+        batchVectors[batchSize] = vector;
+        batchSize++;
+        if (batchSize == batchDocIds.length) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * Add the vectors of the current batch to the native index and write the index to disk. The native memory of the
+     * index is freed.
+     *
+     * @param indexPath path of the file to write the index to
+     */
+    void write(final String indexPath) {
+        flushBatch();
+        if (indexAddress == 0) {
+            throw new IllegalStateException("Cannot write a native index without vectors");
+        }
+        final long address = indexAddress;
+        // The index is freed by the native library, even when it cannot be written
+        indexAddress = 0;
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            JNIService.writeIndex(address, indexPath, parameters, knnEngine);
+            return null;
+        });
+        freeVectors();
+    }
+
+    /**
+     * Free the native memory of an index that was not written.
+     */
+    @Override
+    public void close() {
+        if (indexAddress != 0) {
+            JNIService.free(indexAddress, knnEngine, isBinary);
+            indexAddress = 0;
+        }
+        freeVectors();
+    }
+
+    long ramBytesUsed() {
+        return SHALLOW_SIZE + RamUsageEstimator.sizeOf(batchDocIds) + RamUsageEstimator.shallowSizeOf(batchVectors);
+    }
+
+    private void flushBatch() {
+        if (batchSize == 0) {
+            return;
+        }
+        final int[] docIds = Arrays.copyOf(batchDocIds, batchSize);
+        final T[] vectors = batchSize == batchVectors.length ? batchVectors : Arrays.copyOf(batchVectors, batchSize);
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            if (indexAddress == 0) {
+                indexAddress = JNIService.initIndex(dimension, parameters, knnEngine);
+            }
+            // Binary vectors pack 8 dimensions per byte
+            if (isBinary) {
+                final long capacity = (long) batchDocIds.length * (dimension / Byte.SIZE);
+                vectorsAddress = JNICommons.storeByteVectorData(vectorsAddress, (byte[][]) vectors, capacity);
+            } else {
+                final long capacity = (long) batchDocIds.length * dimension;
+                vectorsAddress = JNICommons.storeVectorData(vectorsAddress, (float[][]) vectors, capacity);
+            }
+            JNIService.insertToIndex(docIds, vectorsAddress, dimension, indexAddress, threadCount, parameters, knnEngine);
+            return null;
+        });
+        numVectors += batchSize;
+        Arrays.fill(batchVectors, null);
+        batchSize = 0;
+    }
+
+    private void freeVectors() {
+        if (vectorsAddress == 0) {
+            return;
+        }
+        if (isBinary) {
+            JNICommons.freeByteVectorData(vectorsAddress);
+        } else {
+            JNICommons.freeVectorData(vectorsAddress);
+        }
+        vectorsAddress = 0;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN990Codec;
+
+import lombok.Getter;
+import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.knn.jni.JNICommons;
+
+import java.io.Closeable;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+
+/**
+ * Buffers the vectors of a field in native memory until the segment is flushed. Vectors are addressed by a dense
+ * ordinal, in the order they were added, and the doc id of each ordinal is kept in a parallel array.
+ *
+ * Vectors are staged on heap and copied to native memory one chunk at a time, so the heap only holds references to
+ * the vectors of the current chunk. Once {@link #getVectorsAddress()} is called, all vectors are in a single native
+ * buffer, in ordinal order, that can be handed to the native library as is, along with {@link #getDocIds()}, so that
+ * the native index of the field is built on flush without another copy of the vectors.
+ *
+ * @param <T> float[] or byte[]
+ */
+class OffHeapVectorsBuffer<T> implements Closeable {
+    private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(OffHeapVectorsBuffer.class);
+    // Maximum size of the vectors staged on heap before they are copied to native memory
+    private static final long MAX_CHUNK_SIZE_IN_BYTES = 1024 * 1024;
+    private static final int MAX_CHUNK_SIZE = 10_000;
+
+    private final VectorEncoding vectorEncoding;
+    private final int dimension;
+    private final long bytesPerVector;
+    private final T[] chunk;
+    private int chunkSize;
+    private int[] docIds = new int[0];
+    // Number of vectors in the buffer
+    @Getter
+    private int size;
+    private long vectorsAddress;
+
+    /**
+     * @param vectorEncoding encoding of the vectors
+     * @param dimension number of elements of each vector
+     * @return {@link OffHeapVectorsBuffer}
+     */
+    static OffHeapVectorsBuffer<?> create(final VectorEncoding vectorEncoding, final int dimension) {
+        final long bytesPerVector = Math.max(1, (long) dimension * vectorEncoding.byteSize);
+        final int maxChunkSize = (int) Math.max(1, Math.min(MAX_CHUNK_SIZE, MAX_CHUNK_SIZE_IN_BYTES / bytesPerVector));
+        return create(vectorEncoding, dimension, maxChunkSize);
+    }
+
+    /**
+     * @param vectorEncoding encoding of the vectors
+     * @param dimension number of elements of each vector
+     * @param maxChunkSize number of vectors staged on heap before they are copied to native memory
+     * @return {@link OffHeapVectorsBuffer}
+     */
+    static OffHeapVectorsBuffer<?> create(final VectorEncoding vectorEncoding, final int dimension, final int maxChunkSize) {
+        switch (vectorEncoding) {
+            case FLOAT32:
+                return new OffHeapVectorsBuffer<>(vectorEncoding, dimension, new float[maxChunkSize][]);
+            case BYTE:
+                return new OffHeapVectorsBuffer<>(vectorEncoding, dimension, new byte[maxChunkSize][]);
+        }
+        throw new IllegalStateException("Unsupported Vector encoding : " + vectorEncoding);
+    }
+
+    private OffHeapVectorsBuffer(final VectorEncoding vectorEncoding, final int dimension, final T[] chunk) {
+        this.vectorEncoding = vectorEncoding;
+        this.dimension = dimension;
+        this.bytesPerVector = (long) dimension * vectorEncoding.byteSize;
+        this.chunk = chunk;
+    }
+
+    /**
+     * Add the vector of a doc. Doc ids must be added in increasing order.
+     *
+     * @param docId doc id of the vector
+     * @param vector vector, which must not be modified until its chunk is copied to native memory
+     */
+    void add(final int docId, final T vector) {
+        docIds = ArrayUtil.grow(docIds, size + 1);
+        docIds[size++] = docId;
+        chunk[chunkSize++] = vector;
+        if (chunkSize == chunk.length) {
+            transferChunk();
+        }
+    }
+
+    /**
+     * @param ordinal ordinal of a vector
+     * @return doc id of the vector
+     */
+    int getDocId(final int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("Ordinal " + ordinal + " is out of bounds for " + size + " vectors");
+        }
+        return docIds[ordinal];
+    }
+
+    /**
+     * @param docId doc id
+     * @return ordinal of the vector of the doc, or a negative value if the doc has no vector
+     */
+    int getOrdinal(final int docId) {
+        return Arrays.binarySearch(docIds, 0, size, docId);
+    }
+
+    /**
+     * @return doc ids of the vectors, by ordinal
+     */
+    int[] getDocIds() {
+        return Arrays.copyOf(docIds, size);
+    }
+
+    /**
+     * Copy the staged vectors to native memory and get the address of the native buffer. The buffer is a
+     * std::vector of floats for float vectors, and of bytes for byte vectors. It stays owned by this buffer and is
+     * freed on {@link #close()}.
+     *
+     * @return address of the native buffer, or 0 if the buffer is empty
+     */
+    long getVectorsAddress() {
+        transferChunk();
+        return vectorsAddress;
+    }
+
+    /**
+     * Copy the staged vectors to native memory and hand the native buffer over to the caller, which must free it or
+     * pass it to a native call that frees it, like {@link org.opensearch.knn.jni.JNIService#createIndex}. The buffer
+     * keeps its doc ids but no longer holds any vector.
+     *
+     * @return address of the native buffer, or 0 if the buffer is empty
+     */
+    long releaseVectorsAddress() {
+        final long address = getVectorsAddress();
+        vectorsAddress = 0;
+        return address;
+    }
+
+    /**
+     * @return heap used by the staged vectors, plus the native memory of the vectors already copied, so that the
+     * buffer is flushed by the indexing buffer like heap
+     */
+    long ramBytesUsed() {
+        return SHALLOW_SIZE + RamUsageEstimator.sizeOf(docIds) + RamUsageEstimator.shallowSizeOf(chunk) + (long) chunkSize
+            * (RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + bytesPerVector) + (long) (size - chunkSize) * bytesPerVector;
+    }
+
+    @Override
+    public void close() {
+        if (vectorsAddress == 0) {
+            return;
+        }
+        final long address = vectorsAddress;
+        vectorsAddress = 0;
+        if (vectorEncoding == VectorEncoding.FLOAT32) {
+            JNICommons.freeVectorData(address);
+        } else {
+            JNICommons.freeByteVectorData(address);
+        }
+    }
+
+    private void transferChunk() {
+        if (chunkSize == 0) {
+            return;
+        }
+        final T[] vectors = chunkSize == chunk.length ? chunk : Arrays.copyOf(chunk, chunkSize);
+        // Capacity for the vectors added so far, which the native buffer grows from
+        final long capacity = (long) size * dimension;
+        vectorsAddress = AccessController.doPrivileged((PrivilegedAction<Long>) () -> {
+            if (vectorEncoding == VectorEncoding.FLOAT32) {
+                return JNICommons.storeVectorData(vectorsAddress, (float[][]) vectors, capacity);
+            }
+            return JNICommons.storeByteVectorData(vectorsAddress, (byte[][]) vectors, capacity);
+        });
+        Arrays.fill(chunk, null);
+        chunkSize = 0;
+    }
+}
@@ -26,6 +26,8 @@ import org.opensearch.knn.index.codec.KNN950Codec.KNN950Codec;
 import org.opensearch.knn.index.codec.KNN950Codec.KNN950PerFieldKnnVectorsFormat;
 import org.opensearch.knn.index.codec.KNN990Codec.KNN990Codec;
 import org.opensearch.knn.index.codec.KNN990Codec.KNN990PerFieldKnnVectorsFormat;
+import org.opensearch.knn.index.codec.KNN991Codec.KNN991Codec;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -110,9 +112,24 @@ public enum KNNCodecVersion {
             .knnVectorsFormat(new KNN990PerFieldKnnVectorsFormat(Optional.ofNullable(mapperService)))
             .build(),
         KNN990Codec::new
+    ),
+
+    V_9_9_1(
+        "KNN991Codec",
+        new Lucene99Codec(),
+        new KNN990PerFieldKnnVectorsFormat(Optional.empty()),
+        (delegate) -> new KNNFormatFacade(
+            new KNN80DocValuesFormat(delegate.docValuesFormat(), KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS),
+            new KNN80CompoundFormat(delegate.compoundFormat())
+        ),
+        (userCodec, mapperService) -> KNN991Codec.builder()
+            .delegate(userCodec)
+            .knnVectorsFormat(new KNN990PerFieldKnnVectorsFormat(Optional.ofNullable(mapperService)))
+            .build(),
+        KNN991Codec::new
     );
 
-    private static final KNNCodecVersion CURRENT = V_9_9_0;
+    private static final KNNCodecVersion CURRENT = V_9_9_1;
 
     private final String codecName;
     private final Codec defaultCodecDelegate;
@@ -5,54 +5,55 @@
 
 package org.opensearch.knn.index.codec.transfer;
 
-import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.opensearch.knn.index.codec.util.SerializationMode;
 import org.opensearch.knn.jni.JNICommons;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
 
 /**
- * Vector transfer for byte
+ * Vector transfer for byte. Vectors are copied straight into the native memory the index is built from, through
+ * direct buffers over regions of at most vectorsStreamingMemoryLimit bytes, so that no vector is copied on heap.
  */
 public class VectorTransferByte extends VectorTransfer {
-    private List<byte[]> vectorList;
+    // Region of native memory the next vectors are written to
+    private ByteBuffer window;
+    private long windowRemaining;
+    private long vectorsTransferred;
+    private long vectorsAllocated;
 
     public VectorTransferByte(final long vectorsStreamingMemoryLimit) {
         super(vectorsStreamingMemoryLimit);
-        vectorList = new ArrayList<>();
     }
 
     @Override
     public void init(final long totalLiveDocs) {
         this.totalLiveDocs = totalLiveDocs;
-        vectorList.clear();
+        window = null;
+        windowRemaining = 0;
     }
 
     @Override
     public void transfer(final BytesRef bytesRef) {
-        dimension = bytesRef.length * 8;
-        if (vectorsPerTransfer == Integer.MIN_VALUE) {
-            // if vectorsStreamingMemoryLimit is 100 bytes and we have 50 vectors with length of 5, then per
-            // transfer we have to send 100/5 => 20 vectors.
-            vectorsPerTransfer = vectorsStreamingMemoryLimit / bytesRef.length;
-            // If vectorsPerTransfer comes out to be 0, then we set number of vectors per transfer to 1, to ensure that
-            // we are sending minimum number of vectors.
-            if (vectorsPerTransfer == 0) {
-                vectorsPerTransfer = 1;
-            }
-        }
-
-        vectorList.add(ArrayUtil.copyOfSubArray(bytesRef.bytes, bytesRef.offset, bytesRef.offset + bytesRef.length));
-        if (vectorList.size() == vectorsPerTransfer) {
-            transfer();
+        if (vectorsTransferred > 0 && bytesRef.length * 8 != dimension) {
+            throw new IllegalStateException("Dimension of vectors is inconsistent");
         }
+        dimension = bytesRef.length * 8;
+        ensureWindow(bytesRef.length);
+        window.put(bytesRef.bytes, bytesRef.offset, bytesRef.length);
+        windowRemaining--;
+        vectorsTransferred++;
     }
 
     @Override
     public void close() {
-        transfer();
+        // Drop the end of the last region, which is larger than needed when there are less vectors than live docs
+        if (vectorAddress != 0 && vectorsAllocated > vectorsTransferred) {
+            JNICommons.resizeByteVectorData(vectorAddress, vectorsTransferred * (dimension / 8));
+            vectorsAllocated = vectorsTransferred;
+        }
+        window = null;
+        windowRemaining = 0;
     }
 
     @Override
@@ -60,9 +61,27 @@ public class VectorTransferByte extends VectorTransfer {
         return SerializationMode.COLLECTIONS_OF_BYTES;
     }
 
-    private void transfer() {
-        int lengthOfVector = dimension / 8;
-        vectorAddress = JNICommons.storeByteVectorData(vectorAddress, vectorList.toArray(new byte[][] {}), totalLiveDocs * lengthOfVector);
-        vectorList.clear();
+    // Make room in native memory for the next vector, growing the native vector by a region when the current one is full
+    private void ensureWindow(final int lengthOfVector) {
+        if (windowRemaining > 0) {
+            return;
+        }
+        if (vectorsPerTransfer == Integer.MIN_VALUE) {
+            // if vectorsStreamingMemoryLimit is 100 bytes and we have 50 vectors with length of 5, then per
+            // transfer we have to send 100/5 => 20 vectors. A direct buffer holds at most Integer.MAX_VALUE bytes.
+            vectorsPerTransfer = Math.min(vectorsStreamingMemoryLimit, Integer.MAX_VALUE) / Math.max(1, lengthOfVector);
+            // If vectorsPerTransfer comes out to be 0, then we set number of vectors per transfer to 1, to ensure that
+            // we are sending minimum number of vectors.
+            if (vectorsPerTransfer == 0) {
+                vectorsPerTransfer = 1;
+            }
+        }
+        if (vectorAddress == 0) {
+            vectorAddress = JNICommons.createByteVectorData(Math.max(totalLiveDocs, 1) * lengthOfVector);
+        }
+        final long vectors = Math.min(vectorsPerTransfer, Math.max(1, totalLiveDocs - vectorsAllocated));
+        window = JNICommons.appendByteVectorData(vectorAddress, vectors * lengthOfVector);
+        windowRemaining = vectors;
+        vectorsAllocated += vectors;
     }
 }
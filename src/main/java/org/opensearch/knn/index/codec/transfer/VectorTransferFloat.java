@@ -6,66 +6,116 @@
 package org.opensearch.knn.index.codec.transfer;
 
 import org.apache.lucene.util.BytesRef;
-import org.opensearch.knn.index.codec.util.KNNVectorSerializer;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
 import org.opensearch.knn.index.codec.util.SerializationMode;
 import org.opensearch.knn.jni.JNICommons;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 
 /**
- * Vector transfer for float
+ * Vector transfer for float. Vectors are decoded straight into the native memory the index is built from, through
+ * direct buffers over regions of at most vectorsStreamingMemoryLimit bytes, so that no vector is copied on heap.
  */
 public class VectorTransferFloat extends VectorTransfer {
-    private List<float[]> vectorList;
+    private final KNNVectorDocValuesEncoding encoding;
+    // Little endian floats are copied as is when the platform is little endian
+    private final boolean copyBytes;
+    // Region of native memory the next vectors are written to
+    private ByteBuffer byteWindow;
+    private FloatBuffer floatWindow;
+    private long windowRemaining;
+    private long vectorsTransferred;
+    private long vectorsAllocated;
+    private float[] scratch;
 
     public VectorTransferFloat(final long vectorsStreamingMemoryLimit) {
+        this(vectorsStreamingMemoryLimit, KNNVectorDocValuesEncoding.SERIALIZED);
+    }
+
+    public VectorTransferFloat(final long vectorsStreamingMemoryLimit, final KNNVectorDocValuesEncoding encoding) {
         super(vectorsStreamingMemoryLimit);
-        vectorList = new ArrayList<>();
+        this.encoding = encoding;
+        this.copyBytes = encoding == KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
     }
 
     @Override
     public void init(final long totalLiveDocs) {
         this.totalLiveDocs = totalLiveDocs;
-        vectorList.clear();
+        byteWindow = null;
+        floatWindow = null;
+        windowRemaining = 0;
     }
 
     @Override
     public void transfer(final BytesRef bytesRef) {
-        final KNNVectorSerializer vectorSerializer = KNNVectorSerializerFactory.getSerializerByBytesRef(bytesRef);
-        final float[] vector = vectorSerializer.byteToFloatArray(bytesRef);
-        dimension = vector.length;
-
-        if (vectorsPerTransfer == Integer.MIN_VALUE) {
-            // if vectorsStreamingMemoryLimit is 100 bytes and we have 50 vectors with 5 dimension, then per
-            // transfer we have to send 100/(5 * 4) => 5 vectors.
-            vectorsPerTransfer = vectorsStreamingMemoryLimit / ((long) dimension * Float.BYTES);
-            // If vectorsPerTransfer comes out to be 0, then we set number of vectors per transfer to 1, to ensure that
-            // we are sending minimum number of vectors.
-            if (vectorsPerTransfer == 0) {
-                vectorsPerTransfer = 1;
-            }
-        }
-
-        vectorList.add(vector);
-        if (vectorList.size() == vectorsPerTransfer) {
-            transfer();
+        if (copyBytes && bytesRef.length % Float.BYTES == 0) {
+            setDimension(bytesRef.length / Float.BYTES);
+            ensureWindow();
+            byteWindow.put(bytesRef.bytes, bytesRef.offset, bytesRef.length);
+        } else {
+            scratch = encoding.decode(bytesRef, scratch);
+            setDimension(scratch.length);
+            ensureWindow();
+            floatWindow.put(scratch);
         }
+        windowRemaining--;
+        vectorsTransferred++;
     }
 
     @Override
     public void close() {
-        transfer();
+        // Drop the end of the last region, which is larger than needed when there are less vectors than live docs
+        if (vectorAddress != 0 && vectorsAllocated > vectorsTransferred) {
+            JNICommons.resizeVectorData(vectorAddress, vectorsTransferred * dimension);
+            vectorsAllocated = vectorsTransferred;
+        }
+        byteWindow = null;
+        floatWindow = null;
+        windowRemaining = 0;
     }
 
     @Override
     public SerializationMode getSerializationMode(final BytesRef bytesRef) {
+        if (encoding == KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS) {
+            // Takes as much memory as a vector deserialized from a collection of floats
+            return SerializationMode.COLLECTION_OF_FLOATS;
+        }
         return KNNVectorSerializerFactory.getSerializerModeFromBytesRef(bytesRef);
     }
 
-    private void transfer() {
-        vectorAddress = JNICommons.storeVectorData(vectorAddress, vectorList.toArray(new float[][] {}), totalLiveDocs * dimension);
-        vectorList.clear();
+    private void setDimension(final int vectorDimension) {
+        if (vectorsTransferred > 0 && vectorDimension != dimension) {
+            throw new IllegalStateException("Dimension of vectors is inconsistent");
+        }
+        dimension = vectorDimension;
+    }
+
+    // Make room in native memory for the next vector, growing the native vector by a region when the current one is full
+    private void ensureWindow() {
+        if (windowRemaining > 0) {
+            return;
+        }
+        final long bytesPerVector = Math.max(1, (long) dimension * Float.BYTES);
+        if (vectorsPerTransfer == Integer.MIN_VALUE) {
+            // if vectorsStreamingMemoryLimit is 100 bytes and we have 50 vectors with 5 dimension, then per
+            // transfer we have to send 100/(5 * 4) => 5 vectors. A direct buffer holds at most Integer.MAX_VALUE bytes.
+            vectorsPerTransfer = Math.min(vectorsStreamingMemoryLimit, Integer.MAX_VALUE) / bytesPerVector;
+            // If vectorsPerTransfer comes out to be 0, then we set number of vectors per transfer to 1, to ensure that
+            // we are sending minimum number of vectors.
+            if (vectorsPerTransfer == 0) {
+                vectorsPerTransfer = 1;
+            }
+        }
+        if (vectorAddress == 0) {
+            vectorAddress = JNICommons.createVectorData(Math.max(totalLiveDocs, 1) * dimension);
+        }
+        final long vectors = Math.min(vectorsPerTransfer, Math.max(1, totalLiveDocs - vectorsAllocated));
+        byteWindow = JNICommons.appendVectorData(vectorAddress, vectors * dimension).order(ByteOrder.nativeOrder());
+        floatWindow = copyBytes ? null : byteWindow.asFloatBuffer();
+        windowRemaining = vectors;
+        vectorsAllocated += vectors;
     }
 }
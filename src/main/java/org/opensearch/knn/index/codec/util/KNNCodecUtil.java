@@ -9,14 +9,41 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.ChecksumIndexInput;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.codec.KNN80Codec.KNN80BinaryDocValues;
 import org.opensearch.knn.index.codec.transfer.VectorTransfer;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.util.IndexUtil;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.apache.lucene.codecs.CodecUtil.FOOTER_MAGIC;
+import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
+import static org.opensearch.knn.index.engine.faiss.Faiss.FAISS_BINARY_INDEX_DESCRIPTION_PREFIX;
 
 public class KNNCodecUtil {
     // Floats are 4 bytes in size
@@ -28,6 +55,12 @@ public class KNNCodecUtil {
     // Java rounds each array size up to multiples of 8 bytes
     public static final int JAVA_ROUNDING_NUMBER = 8;
 
+    private static final Long CRC32_CHECKSUM_SANITY = 0xFFFFFFFF00000000L;
+    // Faiss HNSW indices, which need no training and to which vectors can be added once the index exists
+    private static final Pattern INCREMENTAL_INDEX_DESCRIPTION = Pattern.compile("B?HNSW\\d+(,Flat|,SQfp16)?");
+    // Upper bound of the number of vectors added to a native index at once when it is built in batches
+    private static final int MAX_STREAMING_BATCH_SIZE = 10_000;
+
     @AllArgsConstructor
     public static final class Pair {
         public int[] docs;
@@ -49,24 +82,74 @@ public class KNNCodecUtil {
      * @throws IOException thrown when unable to get binary of vectors
      */
     public static KNNCodecUtil.Pair getPair(final BinaryDocValues values, final VectorTransfer vectorTransfer) throws IOException {
-        List<Integer> docIdList = new ArrayList<>();
+        final long totalLiveDocs = getTotalLiveDocsCount(values);
+        int[] docIds = new int[(int) Math.min(totalLiveDocs, ArrayUtil.MAX_ARRAY_LENGTH)];
+        int numDocs = 0;
         SerializationMode serializationMode = SerializationMode.COLLECTION_OF_FLOATS;
-        vectorTransfer.init(getTotalLiveDocsCount(values));
+        vectorTransfer.init(totalLiveDocs);
         for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
             BytesRef bytesref = values.binaryValue();
             serializationMode = vectorTransfer.getSerializationMode(bytesref);
             vectorTransfer.transfer(bytesref);
-            docIdList.add(doc);
+            docIds = ArrayUtil.grow(docIds, numDocs + 1);
+            docIds[numDocs++] = doc;
+        }
+        vectorTransfer.close();
+        return new KNNCodecUtil.Pair(
+            numDocs == docIds.length ? docIds : ArrayUtil.copyOfSubArray(docIds, 0, numDocs),
+            vectorTransfer.getVectorAddress(),
+            vectorTransfer.getDimension(),
+            serializationMode
+        );
+    }
+
+    /**
+     * Extract the doc ids and vectors of at most maxDocs of the next docs of binary doc values, so that the vectors of a
+     * field can be added to a native index in batches. The vectors are transferred to a new native memory address.
+     *
+     * @param values Binary doc values, positioned on the last doc of the previous batch
+     * @param vectorTransfer Utility to make transfer
+     * @param maxDocs maximum number of docs to extract
+     * @return KNNCodecUtil.Pair representing doc ids and corresponding vectors, without docs once values are exhausted
+     * @throws IOException thrown when unable to get binary of vectors
+     */
+    public static KNNCodecUtil.Pair getPair(final BinaryDocValues values, final VectorTransfer vectorTransfer, final int maxDocs)
+        throws IOException {
+        final int[] docIds = new int[maxDocs];
+        int numDocs = 0;
+        SerializationMode serializationMode = SerializationMode.COLLECTION_OF_FLOATS;
+        vectorTransfer.init(maxDocs);
+        while (numDocs < maxDocs && values.docID() != DocIdSetIterator.NO_MORE_DOCS) {
+            final int doc = values.nextDoc();
+            if (doc == DocIdSetIterator.NO_MORE_DOCS) {
+                break;
+            }
+            BytesRef bytesref = values.binaryValue();
+            serializationMode = vectorTransfer.getSerializationMode(bytesref);
+            vectorTransfer.transfer(bytesref);
+            docIds[numDocs++] = doc;
         }
         vectorTransfer.close();
         return new KNNCodecUtil.Pair(
-            docIdList.stream().mapToInt(Integer::intValue).toArray(),
+            numDocs == docIds.length ? docIds : ArrayUtil.copyOfSubArray(docIds, 0, numDocs),
             vectorTransfer.getVectorAddress(),
             vectorTransfer.getDimension(),
             serializationMode
         );
     }
 
+    /**
+     * Number of vectors added to a native index at once when it is built in batches, so that the vectors of a batch fit
+     * in knn.vector_streaming_memory.limit.
+     *
+     * @param bytesPerVector size of a vector in native memory
+     * @return number of vectors of a batch, at least 1
+     */
+    public static int getStreamingBatchSize(final long bytesPerVector) {
+        final long limit = KNNSettings.getVectorStreamingMemoryLimit().getBytes();
+        return (int) Math.max(1, Math.min(MAX_STREAMING_BATCH_SIZE, limit / Math.max(1, bytesPerVector)));
+    }
+
     public static long calculateArraySize(int numVectors, int vectorLength, SerializationMode serializationMode) {
         if (serializationMode == SerializationMode.ARRAY) {
             int vectorSize = vectorLength * FLOAT_BYTE_SIZE + JAVA_ARRAY_HEADER_SIZE;
@@ -115,6 +198,124 @@ public class KNNCodecUtil {
         return String.format("_%s%s", fieldName, extension);
     }
 
+    /**
+     * Build the parameters to create the native index of a field that is not based on a model.
+     *
+     * @param fieldInfo field to build the index for
+     * @param knnEngine engine of the field
+     * @return parameters to pass to the native library
+     * @throws IOException if the parameters of the field cannot be parsed
+     */
+    public static Map<String, Object> getIndexBuildParameters(final FieldInfo fieldInfo, final KNNEngine knnEngine) throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        Map<String, String> fieldAttributes = fieldInfo.attributes();
+        String parametersString = fieldAttributes.get(KNNConstants.PARAMETERS);
+
+        // parametersString will be null when legacy mapper is used
+        if (parametersString == null) {
+            parameters.put(KNNConstants.SPACE_TYPE, fieldAttributes.getOrDefault(KNNConstants.SPACE_TYPE, SpaceType.DEFAULT.getValue()));
+
+            String efConstruction = fieldAttributes.get(KNNConstants.HNSW_ALGO_EF_CONSTRUCTION);
+            Map<String, Object> algoParams = new HashMap<>();
+            if (efConstruction != null) {
+                algoParams.put(KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION, Integer.parseInt(efConstruction));
+            }
+
+            String m = fieldAttributes.get(KNNConstants.HNSW_ALGO_M);
+            if (m != null) {
+                algoParams.put(KNNConstants.METHOD_PARAMETER_M, Integer.parseInt(m));
+            }
+            parameters.put(PARAMETERS, algoParams);
+        } else {
+            parameters.putAll(
+                XContentHelper.createParser(
+                    NamedXContentRegistry.EMPTY,
+                    DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                    new BytesArray(parametersString),
+                    MediaTypeRegistry.getDefaultMediaType()
+                ).map()
+            );
+        }
+
+        // Update index description of Faiss for binary data type
+        if (KNNEngine.FAISS == knnEngine
+            && VectorDataType.BINARY.getValue()
+                .equals(fieldAttributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue()))
+            && parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER) != null) {
+            parameters.put(
+                KNNConstants.INDEX_DESCRIPTION_PARAMETER,
+                FAISS_BINARY_INDEX_DESCRIPTION_PREFIX + parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER).toString()
+            );
+            IndexUtil.updateVectorDataTypeToParameters(parameters, VectorDataType.BINARY);
+        }
+
+        // Used to determine how many threads to use when indexing
+        parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
+        return parameters;
+    }
+
+    /**
+     * Check whether vectors can be inserted into the native index built with the given parameters after it is created,
+     * by {@link org.opensearch.knn.jni.JNIService#insertToIndex}.
+     *
+     * @param knnEngine engine of the index
+     * @param parameters parameters to build the index, as returned by {@link #getIndexBuildParameters}
+     * @return true if the index can be built incrementally
+     */
+    public static boolean isIncrementalIndex(final KNNEngine knnEngine, final Map<String, Object> parameters) {
+        final Object indexDescription = parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER);
+        return knnEngine == KNNEngine.FAISS
+            && indexDescription != null
+            && INCREMENTAL_INDEX_DESCRIPTION.matcher(indexDescription.toString()).matches();
+    }
+
+    /**
+     * Append a Lucene codec footer to an engine file that was written by the native library. The footer consists of
+     * <ol>
+     *     <li>A Footer magic number (int - 4 bytes)</li>
+     *     <li>A checksum algorithm id (int - 4 bytes)</li>
+     *     <li>A checksum (long - bytes)</li>
+     * </ol>
+     * The checksum is computed on all the bytes written to the file up to that point. Logic where footer is written in
+     * Lucene can be found here:
+     * https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L390-L412
+     *
+     * @param directory directory of the segment
+     * @param context context to read the file with
+     * @param indexPath path of the engine file
+     * @param engineFileName name of the engine file in the directory
+     * @throws IOException if the file cannot be read or written
+     */
+    public static void writeEngineFileFooter(
+        final Directory directory,
+        final IOContext context,
+        final String indexPath,
+        final String engineFileName
+    ) throws IOException {
+        OutputStream os = Files.newOutputStream(Paths.get(indexPath), StandardOpenOption.APPEND);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN);
+        byteBuffer.putInt(FOOTER_MAGIC);
+        byteBuffer.putInt(0);
+        os.write(byteBuffer.array());
+        os.flush();
+
+        ChecksumIndexInput checksumIndexInput = directory.openChecksumInput(engineFileName, context);
+        checksumIndexInput.seek(checksumIndexInput.length());
+        long value = checksumIndexInput.getChecksum();
+        checksumIndexInput.close();
+
+        // Check pulled from
+        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L644-L647
+        if ((value & CRC32_CHECKSUM_SANITY) != 0) {
+            throw new IllegalStateException("Illegal CRC-32 checksum: " + value + " (resource=" + os + ")");
+        }
+
+        // Write the CRC checksum to the end of the OutputStream and close the stream
+        byteBuffer.putLong(0, value);
+        os.write(byteBuffer.array());
+        os.close();
+    }
+
     public static long getTotalLiveDocsCount(final BinaryDocValues binaryDocValues) {
         long totalLiveDocs;
         if (binaryDocValues instanceof KNN80BinaryDocValues) {
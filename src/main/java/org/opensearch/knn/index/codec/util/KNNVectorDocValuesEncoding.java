@@ -0,0 +1,118 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.util.BytesRef;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * Encoding of the float vectors stored in the binary doc values of a k-NN field. The encoding of a field is recorded in
+ * its {@link FieldInfo} attributes when the segment is written, so that readers do not have to sniff every value.
+ * Fields without the attribute were written before the encoding was introduced and hold serialized vectors.
+ */
+public enum KNNVectorDocValuesEncoding {
+    /**
+     * Vectors serialized with one of the {@link KNNVectorSerializer}s, detected per value from its header
+     */
+    SERIALIZED {
+        @Override
+        public float[] decode(BytesRef bytesRef, float[] reuse) {
+            if (reuse == null
+                || KNNVectorSerializerFactory.getSerializerModeFromBytesRef(bytesRef) != SerializationMode.COLLECTION_OF_FLOATS
+                || bytesRef.length != reuse.length * Float.BYTES) {
+                return KNNVectorSerializerFactory.getSerializerByBytesRef(bytesRef).byteToFloatArray(bytesRef);
+            }
+            ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length).asFloatBuffer().get(reuse);
+            return reuse;
+        }
+
+        @Override
+        public byte[] encode(float[] vector) {
+            return KNNVectorSerializerFactory.getDefaultSerializer().floatToByteArray(vector);
+        }
+    },
+    /**
+     * Raw fixed width little endian floats without any header
+     */
+    LITTLE_ENDIAN_FLOATS {
+        @Override
+        public float[] decode(BytesRef bytesRef, float[] reuse) {
+            if (bytesRef.length % Float.BYTES != 0) {
+                throw new IllegalArgumentException(
+                    String.format(Locale.ROOT, "Byte stream cannot be decoded to array of floats due to invalid length %d", bytesRef.length)
+                );
+            }
+            final int dimension = bytesRef.length / Float.BYTES;
+            final float[] vector = reuse != null && reuse.length == dimension ? reuse : new float[dimension];
+            // Bulk get on a buffer of native order is a plain memory copy on little endian platforms
+            ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+            return vector;
+        }
+
+        @Override
+        public byte[] encode(float[] vector) {
+            final byte[] bytes = new byte[vector.length * Float.BYTES];
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(vector);
+            return bytes;
+        }
+    };
+
+    /**
+     * Field attribute holding the name of the encoding
+     */
+    public static final String FIELD_ATTRIBUTE = "knn_vector_doc_values_encoding";
+
+    /**
+     * Decodes a vector into a new array
+     *
+     * @param bytesRef encoded vector
+     * @return decoded vector
+     */
+    public float[] decode(BytesRef bytesRef) {
+        return decode(bytesRef, null);
+    }
+
+    /**
+     * Decodes a vector, reusing the given array when it has the dimension of the vector
+     *
+     * @param bytesRef encoded vector
+     * @param reuse array to decode into, may be null
+     * @return decoded vector, which is either reuse or a new array
+     */
+    public abstract float[] decode(BytesRef bytesRef, float[] reuse);
+
+    /**
+     * Encodes a vector
+     *
+     * @param vector vector to encode
+     * @return encoded vector
+     */
+    public abstract byte[] encode(float[] vector);
+
+    /**
+     * Returns the encoding of the vectors of a field
+     *
+     * @param fieldInfo field of a segment
+     * @return encoding recorded in the attributes of the field, or {@link #SERIALIZED} if there is none
+     */
+    public static KNNVectorDocValuesEncoding fromFieldInfo(FieldInfo fieldInfo) {
+        final String encoding = fieldInfo.getAttribute(FIELD_ATTRIBUTE);
+        if (encoding == null) {
+            return SERIALIZED;
+        }
+        try {
+            return KNNVectorDocValuesEncoding.valueOf(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(
+                String.format(Locale.ROOT, "Unknown vector doc values encoding [%s] for field [%s]", encoding, fieldInfo.getName())
+            );
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.util.ThreadInterruptedException;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Arbitrates the native graph builds of a node. Builds run on the flush and merge threads that ask for them, and each
+ * build asks for the number of threads configured by {@link KNNSettings#KNN_ALGO_PARAM_INDEX_THREAD_QTY}. The scheduler
+ * caps the threads of all builds of the node to {@link KNNSettings#KNN_GRAPH_BUILD_MAX_THREADS}, minus one thread per
+ * native search in progress, and grants threads to builds in the order they asked for them. A build that cannot get a
+ * thread blocks its flush or merge thread until one is released, which slows down indexing instead of oversubscribing
+ * the cores of the node. Every build gets at least one thread once it is at the head of the queue.
+ *
+ * Searches are not blocked by builds: they are counted so that builds leave them room, and the budget is reevaluated
+ * when a build finishes or periodically while builds wait.
+ */
+@Log4j2
+public final class NativeIndexBuildScheduler {
+
+    private static final NativeIndexBuildScheduler INSTANCE = new NativeIndexBuildScheduler(NativeIndexBuildScheduler::getMaxThreads);
+    // Waiting builds check whether searches finished at this interval
+    private static final long WAIT_INTERVAL_MILLIS = 50;
+
+    private final IntSupplier maxThreads;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Deque<Object> queue = new ArrayDeque<>();
+    private final AtomicInteger activeSearches = new AtomicInteger();
+    private int usedThreads;
+
+    /**
+     * @param maxThreads supplier of the maximum number of threads of all builds of the node
+     */
+    @VisibleForTesting
+    NativeIndexBuildScheduler(final IntSupplier maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * @return singleton instance of the scheduler
+     */
+    public static NativeIndexBuildScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run a native graph build once threads are available for it
+     *
+     * @param requestedThreads number of threads the build would like to use
+     * @param numVectors number of vectors the build indexes, to compute its throughput
+     * @param build build to run with the number of threads it was granted
+     * @throws IOException if the build fails
+     */
+    public void build(final int requestedThreads, final long numVectors, final NativeIndexBuild build) throws IOException {
+        final long waitStart = System.nanoTime();
+        final int threads = acquire(Math.max(1, requestedThreads));
+        final long buildStart = System.nanoTime();
+        KNNGraphValue.BUILD_TOTAL_WAIT_TIME_IN_MILLIS.incrementBy(TimeUnit.NANOSECONDS.toMillis(buildStart - waitStart));
+        try {
+            build.build(threads);
+        } finally {
+            release(threads);
+        }
+        final long buildNanos = Math.max(1, System.nanoTime() - buildStart);
+        KNNGraphValue.BUILD_TOTAL_OPERATIONS.increment();
+        KNNGraphValue.BUILD_TOTAL_VECTORS.incrementBy(numVectors);
+        KNNGraphValue.BUILD_TOTAL_TIME_IN_MILLIS.incrementBy(TimeUnit.NANOSECONDS.toMillis(buildNanos));
+        KNNGraphValue.BUILD_LAST_VECTORS_PER_SECOND.set(numVectors * TimeUnit.SECONDS.toNanos(1) / buildNanos);
+    }
+
+    /**
+     * Count a native search in progress, until {@link #searchFinished()} is called
+     */
+    public void searchStarted() {
+        activeSearches.incrementAndGet();
+    }
+
+    /**
+     * Stop counting a native search counted by {@link #searchStarted()}
+     */
+    public void searchFinished() {
+        activeSearches.decrementAndGet();
+    }
+
+    /**
+     * @return number of threads builds can use together, given the searches in progress
+     */
+    @VisibleForTesting
+    int getThreadBudget() {
+        return Math.max(1, maxThreads.getAsInt() - activeSearches.get());
+    }
+
+    @VisibleForTesting
+    int acquire(final int requestedThreads) {
+        final Object ticket = new Object();
+        lock.lock();
+        try {
+            queue.addLast(ticket);
+            KNNGraphValue.BUILD_QUEUE_DEPTH.increment();
+            try {
+                // A build at the head of the queue always gets a thread when no other build runs, so that a budget
+                // taken by searches never stalls builds
+                while (queue.peekFirst() != ticket || (usedThreads > 0 && usedThreads >= getThreadBudget())) {
+                    released.await(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                queue.remove(ticket);
+                released.signalAll();
+                throw new ThreadInterruptedException(e);
+            } finally {
+                KNNGraphValue.BUILD_QUEUE_DEPTH.decrement();
+            }
+            queue.removeFirst();
+            final int threads = Math.max(1, Math.min(requestedThreads, getThreadBudget() - usedThreads));
+            usedThreads += threads;
+            KNNGraphValue.BUILD_CURRENT_OPERATIONS.increment();
+            KNNGraphValue.BUILD_CURRENT_THREADS.incrementBy(threads);
+            // The next build may fit in the remaining budget
+            released.signalAll();
+            log.debug("Granted {} of {} requested threads to a native graph build", threads, requestedThreads);
+            return threads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    void release(final int threads) {
+        lock.lock();
+        try {
+            usedThreads -= threads;
+            KNNGraphValue.BUILD_CURRENT_OPERATIONS.decrement();
+            KNNGraphValue.BUILD_CURRENT_THREADS.decrementBy(threads);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int getMaxThreads() {
+        final int maxThreads = KNNSettings.getGraphBuildMaxThreads();
+        return maxThreads > 0 ? maxThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Native graph build run by {@link #build}
+     */
+    @FunctionalInterface
+    public interface NativeIndexBuild {
+        /**
+         * @param threadCount number of threads the build may use
+         * @throws IOException if the build fails
+         */
+        void build(int threadCount) throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+
+/**
+ * {@link BinaryDocValues} that re-encodes the float vectors of another {@link BinaryDocValues} from one
+ * {@link KNNVectorDocValuesEncoding} to another. Used to migrate vectors to a new encoding when a segment is written.
+ */
+public class TranscodingBinaryDocValues extends BinaryDocValues {
+
+    private final BinaryDocValues in;
+    private final KNNVectorDocValuesEncoding sourceEncoding;
+    private final KNNVectorDocValuesEncoding targetEncoding;
+    private float[] vector;
+
+    public TranscodingBinaryDocValues(
+        BinaryDocValues in,
+        KNNVectorDocValuesEncoding sourceEncoding,
+        KNNVectorDocValuesEncoding targetEncoding
+    ) {
+        this.in = in;
+        this.sourceEncoding = sourceEncoding;
+        this.targetEncoding = targetEncoding;
+    }
+
+    @Override
+    public BytesRef binaryValue() throws IOException {
+        final BytesRef value = in.binaryValue();
+        if (sourceEncoding == targetEncoding) {
+            return value;
+        }
+        vector = sourceEncoding.decode(value, vector);
+        return new BytesRef(targetEncoding.encode(vector));
+    }
+
+    @Override
+    public boolean advanceExact(int target) throws IOException {
+        return in.advanceExact(target);
+    }
+
+    @Override
+    public int docID() {
+        return in.docID();
+    }
+
+    @Override
+    public int nextDoc() throws IOException {
+        return in.nextDoc();
+    }
+
+    @Override
+    public int advance(int target) throws IOException {
+        return in.advance(target);
+    }
+
+    @Override
+    public long cost() {
+        return in.cost();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.distance;
+
+import org.apache.lucene.util.VectorUtil;
+
+/**
+ * Default distance kernels. Kernels that Lucene provides are delegated to {@link VectorUtil}, which uses the Panama
+ * vector API when the jdk.incubator.vector module is enabled and falls back to scalar code otherwise. The remaining
+ * kernels are scalar loops with independent accumulators, which lets the CPU overlap the iterations instead of waiting
+ * on a single dependency chain.
+ */
+final class DefaultVectorDistanceKernels implements VectorDistanceKernels {
+
+    static final DefaultVectorDistanceKernels INSTANCE = new DefaultVectorDistanceKernels();
+
+    private static final int UNROLL = 4;
+
+    private DefaultVectorDistanceKernels() {}
+
+    @Override
+    public float l2Squared(float[] a, float[] b) {
+        return VectorUtil.squareDistance(a, b);
+    }
+
+    @Override
+    public float innerProduct(float[] a, float[] b) {
+        return VectorUtil.dotProduct(a, b);
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        return VectorUtil.cosine(a, b);
+    }
+
+    @Override
+    public float cosine(float[] query, float[] vector, float querySquaredMagnitude) {
+        final float normalizedProduct = querySquaredMagnitude * VectorUtil.dotProduct(vector, vector);
+        if (normalizedProduct == 0) {
+            return 0.0f;
+        }
+        return (float) (VectorUtil.dotProduct(query, vector) / Math.sqrt(normalizedProduct));
+    }
+
+    @Override
+    public float l1(float[] a, float[] b) {
+        float acc0 = 0, acc1 = 0, acc2 = 0, acc3 = 0;
+        final int bound = a.length - a.length % UNROLL;
+        int i = 0;
+        for (; i < bound; i += UNROLL) {
+            acc0 += Math.abs(a[i] - b[i]);
+            acc1 += Math.abs(a[i + 1] - b[i + 1]);
+            acc2 += Math.abs(a[i + 2] - b[i + 2]);
+            acc3 += Math.abs(a[i + 3] - b[i + 3]);
+        }
+        for (; i < a.length; i++) {
+            acc0 += Math.abs(a[i] - b[i]);
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    @Override
+    public float lInf(float[] a, float[] b) {
+        float max0 = 0, max1 = 0, max2 = 0, max3 = 0;
+        final int bound = a.length - a.length % UNROLL;
+        int i = 0;
+        for (; i < bound; i += UNROLL) {
+            max0 = Math.max(max0, Math.abs(a[i] - b[i]));
+            max1 = Math.max(max1, Math.abs(a[i + 1] - b[i + 1]));
+            max2 = Math.max(max2, Math.abs(a[i + 2] - b[i + 2]));
+            max3 = Math.max(max3, Math.abs(a[i + 3] - b[i + 3]));
+        }
+        for (; i < a.length; i++) {
+            max0 = Math.max(max0, Math.abs(a[i] - b[i]));
+        }
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+    }
+
+    @Override
+    public int hamming(byte[] a, byte[] b) {
+        // Compares the vectors a long at a time
+        return VectorUtil.xorBitCount(a, b);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.distance;
+
+/**
+ * Distance kernels used to score vectors in Java, for exact search and scoring scripts. Callers are expected to check
+ * that both vectors have the same dimension.
+ */
+public interface VectorDistanceKernels {
+
+    /**
+     * @return kernels used by the plugin, which are always {@link DefaultVectorDistanceKernels}
+     */
+    static VectorDistanceKernels getInstance() {
+        return DefaultVectorDistanceKernels.INSTANCE;
+    }
+
+    /**
+     * @param a first vector
+     * @param b second vector
+     * @return squared euclidean distance
+     */
+    float l2Squared(float[] a, float[] b);
+
+    /**
+     * @param a first vector
+     * @param b second vector
+     * @return dot product
+     */
+    float innerProduct(float[] a, float[] b);
+
+    /**
+     * @param a first vector
+     * @param b second vector
+     * @return cosine similarity
+     */
+    float cosine(float[] a, float[] b);
+
+    /**
+     * Cosine similarity for a query vector whose squared magnitude is already known
+     *
+     * @param query query vector
+     * @param vector document vector
+     * @param querySquaredMagnitude squared magnitude of the query vector
+     * @return cosine similarity, or 0 if either vector has no magnitude
+     */
+    float cosine(float[] query, float[] vector, float querySquaredMagnitude);
+
+    /**
+     * @param a first vector
+     * @param b second vector
+     * @return manhattan distance
+     */
+    float l1(float[] a, float[] b);
+
+    /**
+     * @param a first vector
+     * @param b second vector
+     * @return chebyshev distance
+     */
+    float lInf(float[] a, float[] b);
+
+    /**
+     * @param a first binary vector, packed as bytes
+     * @param b second binary vector, packed as bytes
+     * @return number of bits that differ
+     */
+    int hamming(byte[] a, byte[] b);
+}
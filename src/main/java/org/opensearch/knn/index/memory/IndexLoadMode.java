@@ -0,0 +1,55 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.memory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Determines how the engine files of an index are loaded into the native memory cache.
+ */
+@AllArgsConstructor
+@Getter
+public enum IndexLoadMode {
+    /**
+     * The whole engine file is read into native memory.
+     */
+    MEMORY("memory"),
+    /**
+     * Parts of the engine file that the engine can serve from a read-only memory mapping are left in the OS page cache
+     * instead of being copied into native memory. Currently, these are the inverted lists of faiss IVF indices. Other
+     * structures, and other engines, are loaded as in {@link #MEMORY} mode.
+     */
+    MMAP("mmap");
+
+    private final String value;
+
+    /**
+     * Get the load mode for a setting value
+     *
+     * @param value setting value
+     * @return {@link IndexLoadMode}
+     */
+    public static IndexLoadMode getIndexLoadMode(String value) {
+        return Arrays.stream(values())
+            .filter(indexLoadMode -> indexLoadMode.getValue().equalsIgnoreCase(value))
+            .findFirst()
+            .orElseThrow(
+                () -> new IllegalArgumentException(
+                    String.format(
+                        Locale.ROOT,
+                        "Invalid load mode \"%s\". Supported load modes: %s",
+                        value,
+                        Arrays.stream(values()).map(IndexLoadMode::getValue).collect(Collectors.joining(", "))
+                    )
+                )
+            );
+    }
+}
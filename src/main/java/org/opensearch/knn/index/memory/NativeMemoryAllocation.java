@@ -317,6 +317,15 @@ public interface NativeMemoryAllocation {
             return memoryAddress;
         }
 
+        /**
+         * Getter for the data type of the training vectors
+         *
+         * @return data type of the vectors in the allocation
+         */
+        public VectorDataType getVectorDataType() {
+            return vectorDataType;
+        }
+
         /**
          * A read lock will be obtained when a training job needs access to the TrainingDataAllocation.
          * In the future, we may want to switch to tryAcquire functionality.
@@ -11,31 +11,36 @@
 
 package org.opensearch.knn.index.memory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheStats;
 import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalNotification;
 import org.apache.commons.lang.Validate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.knn.common.exception.OutOfNativeMemoryException;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.plugin.stats.StatNames;
+import org.opensearch.threadpool.ThreadPool;
 
 import java.io.Closeable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjLongConsumer;
 
 /**
- * Manages native memory allocations made by JNI.
+ * Manages native memory allocations made by JNI. Allocations are held in a {@link ShardedNativeMemoryCache}, so that
+ * size queries and admission checks do not need to scan the cache.
  */
 public class NativeMemoryCacheManager implements Closeable {
 
@@ -43,8 +48,12 @@ public class NativeMemoryCacheManager implements Closeable {
 
     private static final Logger logger = LogManager.getLogger(NativeMemoryCacheManager.class);
     private static NativeMemoryCacheManager INSTANCE;
+    // Upper bound on the number of cache shards. Beyond this, more shards only add to the cost of eviction scans.
+    private static final int MAX_CONCURRENCY_LEVEL = 64;
 
-    private Cache<String, NativeMemoryAllocation> cache;
+    private volatile ShardedNativeMemoryCache cache;
+    // Executor used for asynchronous loads. Until one is set, loads run on the calling thread.
+    private volatile Executor loadExecutor = Runnable::run;
     private final ExecutorService executor;
     private AtomicBoolean cacheCapacityReached;
     private long maxWeight;
@@ -82,23 +91,31 @@ public class NativeMemoryCacheManager implements Closeable {
     }
 
     private void initialize(NativeMemoryCacheManagerDto nativeMemoryCacheDTO) {
-        CacheBuilder<String, NativeMemoryAllocation> cacheBuilder = CacheBuilder.newBuilder()
-            .recordStats()
-            .concurrencyLevel(1)
-            .removalListener(this::onRemoval);
-
+        long cacheMaxWeight = Long.MAX_VALUE;
         if (nativeMemoryCacheDTO.isWeightLimited()) {
             this.maxWeight = nativeMemoryCacheDTO.getMaxWeight();
-            cacheBuilder.maximumWeight(this.maxWeight).weigher((k, v) -> v.getSizeInKB());
+            cacheMaxWeight = this.maxWeight;
         }
 
+        long expireAfterAccessNanos = 0;
         if (nativeMemoryCacheDTO.isExpirationLimited()) {
-            cacheBuilder.expireAfterAccess(nativeMemoryCacheDTO.getExpiryTimeInMin(), TimeUnit.MINUTES);
+            expireAfterAccessNanos = TimeUnit.MINUTES.toNanos(nativeMemoryCacheDTO.getExpiryTimeInMin());
         }
 
         cacheCapacityReached = new AtomicBoolean(false);
 
-        cache = cacheBuilder.build();
+        cache = new ShardedNativeMemoryCache(getConcurrencyLevel(), cacheMaxWeight, expireAfterAccessNanos, this::onRemoval);
+    }
+
+    /**
+     * Every search thread can look up graphs in the cache, so the number of shards follows the size of the search
+     * thread pool.
+     *
+     * @return concurrency level of the cache
+     */
+    static int getConcurrencyLevel() {
+        int searchThreadPoolSize = ThreadPool.searchThreadPoolSize(OpenSearchExecutors.allocatedProcessors(Settings.EMPTY));
+        return Math.min(searchThreadPoolSize, MAX_CONCURRENCY_LEVEL);
     }
 
     /**
@@ -145,7 +162,7 @@ public class NativeMemoryCacheManager implements Closeable {
      * @return current size of the cache
      */
     public long getCacheSizeInKilobytes() {
-        return cache.asMap().values().stream().mapToLong(NativeMemoryAllocation::getSizeInKB).sum();
+        return cache.getWeightInKilobytes();
     }
 
     /**
@@ -163,12 +180,7 @@ public class NativeMemoryCacheManager implements Closeable {
      * @return current size of the cache
      */
     public long getIndicesSizeInKilobytes() {
-        return cache.asMap()
-            .values()
-            .stream()
-            .filter(nativeMemoryAllocation -> nativeMemoryAllocation instanceof NativeMemoryAllocation.IndexAllocation)
-            .mapToLong(NativeMemoryAllocation::getSizeInKB)
-            .sum();
+        return cache.getIndicesWeightInKilobytes();
     }
 
     /**
@@ -188,15 +200,7 @@ public class NativeMemoryCacheManager implements Closeable {
      */
     public Long getIndexSizeInKilobytes(final String indexName) {
         Validate.notNull(indexName, "Index name cannot be null");
-        return cache.asMap()
-            .values()
-            .stream()
-            .filter(nativeMemoryAllocation -> nativeMemoryAllocation instanceof NativeMemoryAllocation.IndexAllocation)
-            .filter(
-                indexAllocation -> indexName.equals(((NativeMemoryAllocation.IndexAllocation) indexAllocation).getOpenSearchIndexName())
-            )
-            .mapToLong(NativeMemoryAllocation::getSizeInKB)
-            .sum();
+        return cache.getIndexWeightInKilobytes(indexName);
     }
 
     /**
@@ -217,15 +221,7 @@ public class NativeMemoryCacheManager implements Closeable {
      */
     public long getTrainingSizeInKilobytes() {
         // Currently, all allocations that are not index allocations will be for training.
-        return cache.asMap()
-            .values()
-            .stream()
-            .filter(
-                nativeMemoryAllocation -> nativeMemoryAllocation instanceof NativeMemoryAllocation.TrainingDataAllocation
-                    || nativeMemoryAllocation instanceof NativeMemoryAllocation.AnonymousAllocation
-            )
-            .mapToLong(NativeMemoryAllocation::getSizeInKB)
-            .sum();
+        return cache.getTrainingWeightInKilobytes();
     }
 
     /**
@@ -254,16 +250,7 @@ public class NativeMemoryCacheManager implements Closeable {
      */
     public int getIndexGraphCount(String indexName) {
         Validate.notNull(indexName, "Index name cannot be null");
-        return Long.valueOf(
-            cache.asMap()
-                .values()
-                .stream()
-                .filter(nativeMemoryAllocation -> nativeMemoryAllocation instanceof NativeMemoryAllocation.IndexAllocation)
-                .filter(
-                    indexAllocation -> indexName.equals(((NativeMemoryAllocation.IndexAllocation) indexAllocation).getOpenSearchIndexName())
-                )
-                .count()
-        ).intValue();
+        return cache.getIndexGraphCount(indexName);
     }
 
     /**
@@ -286,7 +273,7 @@ public class NativeMemoryCacheManager implements Closeable {
     public NativeMemoryAllocation get(NativeMemoryEntryContext<?> nativeMemoryEntryContext, boolean isAbleToTriggerEviction)
         throws ExecutionException {
         if (!isAbleToTriggerEviction
-            && !cache.asMap().containsKey(nativeMemoryEntryContext.getKey())
+            && !cache.containsKey(nativeMemoryEntryContext.getKey())
             && maxWeight - getCacheSizeInKilobytes() - nativeMemoryEntryContext.calculateSizeInKB() <= 0) {
             throw new OutOfNativeMemoryException(
                 "Entry cannot be loaded into cache because it would not fit. "
@@ -304,6 +291,46 @@ public class NativeMemoryCacheManager implements Closeable {
         return cache.get(nativeMemoryEntryContext.getKey(), nativeMemoryEntryContext::load);
     }
 
+    /**
+     * Retrieves NativeMemoryAllocation associated with the nativeMemoryEntryContext without blocking on a load. On a
+     * miss, the allocation is loaded on the load executor. Concurrent requests for the same entry share one load. The
+     * load can trigger eviction of other entries.
+     *
+     * @param nativeMemoryEntryContext Context from which to get NativeMemoryAllocation
+     * @return future that completes with the NativeMemoryAllocation associated with nativeMemoryEntryContext
+     */
+    public CompletableFuture<NativeMemoryAllocation> getAsync(NativeMemoryEntryContext<?> nativeMemoryEntryContext) {
+        return cache.getAsync(nativeMemoryEntryContext.getKey(), nativeMemoryEntryContext::load, loadExecutor);
+    }
+
+    /**
+     * Checks if the allocation of an entry is loaded, without loading it or counting a cache hit.
+     *
+     * @param key key of the entry
+     * @return true if the allocation of the entry is in the cache
+     */
+    public boolean isLoaded(String key) {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Calls the consumer with each loaded allocation and the number of cache hits it has had since it was loaded.
+     *
+     * @param consumer consumer of the allocations and their hit counts
+     */
+    public void forEachLoadedAllocation(ObjLongConsumer<NativeMemoryAllocation> consumer) {
+        cache.forEachLoaded(consumer);
+    }
+
+    /**
+     * Sets the executor that asynchronous loads run on.
+     *
+     * @param loadExecutor executor for loads
+     */
+    public void setLoadExecutor(Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+    }
+
     /**
      * Returns the NativeMemoryAllocation associated with given index
      * @param indexName name of OpenSearch index
@@ -311,9 +338,7 @@ public class NativeMemoryCacheManager implements Closeable {
      */
     public Optional<NativeMemoryAllocation> getIndexMemoryAllocation(String indexName) {
         Validate.notNull(indexName, "Index name cannot be null");
-        return cache.asMap()
-            .values()
-            .stream()
+        return cache.allocations()
             .filter(nativeMemoryAllocation -> nativeMemoryAllocation instanceof NativeMemoryAllocation.IndexAllocation)
             .filter(
                 indexAllocation -> indexName.equals(((NativeMemoryAllocation.IndexAllocation) indexAllocation).getOpenSearchIndexName())
@@ -362,19 +387,14 @@ public class NativeMemoryCacheManager implements Closeable {
      */
     public Map<String, Map<String, Object>> getIndicesCacheStats() {
         Map<String, Map<String, Object>> statValues = new HashMap<>();
-        NativeMemoryAllocation.IndexAllocation indexAllocation;
-
-        for (Map.Entry<String, NativeMemoryAllocation> entry : cache.asMap().entrySet()) {
-
-            if (entry.getValue() instanceof NativeMemoryAllocation.IndexAllocation) {
-                indexAllocation = (NativeMemoryAllocation.IndexAllocation) entry.getValue();
-                String indexName = indexAllocation.getOpenSearchIndexName();
 
-                Map<String, Object> indexMap = statValues.computeIfAbsent(indexName, name -> new HashMap<>());
-                indexMap.computeIfAbsent(GRAPH_COUNT, key -> getIndexGraphCount(indexName));
-                indexMap.computeIfAbsent(StatNames.GRAPH_MEMORY_USAGE.getName(), key -> getIndexSizeInKilobytes(indexName));
-                indexMap.computeIfAbsent(StatNames.GRAPH_MEMORY_USAGE_PERCENTAGE.getName(), key -> getIndexSizeAsPercentage(indexName));
-            }
+        for (Map.Entry<String, Long> entry : cache.getIndexWeightsInKilobytes().entrySet()) {
+            String indexName = entry.getKey();
+            Map<String, Object> indexMap = new HashMap<>();
+            indexMap.put(GRAPH_COUNT, getIndexGraphCount(indexName));
+            indexMap.put(StatNames.GRAPH_MEMORY_USAGE.getName(), entry.getValue());
+            indexMap.put(StatNames.GRAPH_MEMORY_USAGE_PERCENTAGE.getName(), getSizeAsPercentage(entry.getValue()));
+            statValues.put(indexName, indexMap);
         }
 
         return statValues;
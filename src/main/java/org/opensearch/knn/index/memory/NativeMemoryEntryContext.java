@@ -15,6 +15,7 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.Nullable;
 import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.training.TrainingDataSampling;
 
 import java.io.IOException;
 import java.util.Map;
@@ -171,6 +172,7 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
         private final int maxVectorCount;
         private final int searchSize;
         private final VectorDataType vectorDataType;
+        private final TrainingDataSampling sampling;
 
         /**
          * Constructor
@@ -192,6 +194,43 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             int maxVectorCount,
             int searchSize,
             VectorDataType vectorDataType
+        ) {
+            this(
+                size,
+                trainIndexName,
+                trainFieldName,
+                trainingLoadStrategy,
+                clusterService,
+                maxVectorCount,
+                searchSize,
+                vectorDataType,
+                TrainingDataSampling.DEFAULT
+            );
+        }
+
+        /**
+         * Constructor
+         *
+         * @param size amount of memory training data will occupy in kilobytes
+         * @param trainIndexName name of index used to pull training data from
+         * @param trainFieldName name of field used to pull training data from
+         * @param trainingLoadStrategy strategy to load training data into memory
+         * @param clusterService service used to extract information about indices
+         * @param maxVectorCount maximum number of vectors there can be
+         * @param searchSize size each search request should return during loading
+         * @param vectorDataType data type of the training vectors
+         * @param sampling how training vectors are sampled from the training index
+         */
+        public TrainingDataEntryContext(
+            int size,
+            String trainIndexName,
+            String trainFieldName,
+            NativeMemoryLoadStrategy.TrainingLoadStrategy trainingLoadStrategy,
+            ClusterService clusterService,
+            int maxVectorCount,
+            int searchSize,
+            VectorDataType vectorDataType,
+            TrainingDataSampling sampling
         ) {
             super(generateKey(trainIndexName, trainFieldName));
             this.size = size;
@@ -202,6 +241,7 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             this.maxVectorCount = maxVectorCount;
             this.searchSize = searchSize;
             this.vectorDataType = vectorDataType;
+            this.sampling = sampling;
         }
 
         @Override
@@ -268,6 +308,15 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             return vectorDataType;
         }
 
+        /**
+         * Getter for the sampling of the training vectors.
+         *
+         * @return sampling
+         */
+        public TrainingDataSampling getSampling() {
+            return sampling;
+        }
+
         private static String generateKey(String trainIndexName, String trainFieldName) {
             return KEY_PREFIX + trainIndexName + DELIMETER + trainFieldName;
         }
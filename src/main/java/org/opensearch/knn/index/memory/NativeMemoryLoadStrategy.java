@@ -107,11 +107,16 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
                 JNIService.setSharedIndexState(indexAddress, sharedIndexState.getSharedIndexStateAddress(), knnEngine);
             }
 
+            // Bytes served from a memory mapping are held by the page cache, so only the rest of the file is resident
+            // in native memory and counted against the cache
+            long mappedSizeInBytes = JNIService.getMappedSizeInBytes(indexAddress, indexEntryContext.getParameters(), knnEngine);
+            int sizeInKB = Math.max(0, indexEntryContext.calculateSizeInKB() - (int) (mappedSizeInBytes / 1024));
+
             final WatcherHandle<FileWatcher> watcherHandle = resourceWatcherService.add(fileWatcher);
             return new NativeMemoryAllocation.IndexAllocation(
                 executor,
                 indexAddress,
-                indexEntryContext.calculateSizeInKB(),
+                sizeInKB,
                 knnEngine,
                 indexPath.toString(),
                 indexEntryContext.getOpenSearchIndexName(),
@@ -186,6 +191,7 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
                 nativeMemoryEntryContext.getTrainFieldName(),
                 nativeMemoryEntryContext.getMaxVectorCount(),
                 nativeMemoryEntryContext.getSearchSize(),
+                nativeMemoryEntryContext.getSampling(),
                 vectorDataConsumer,
                 ActionListener.wrap(response -> trainingDataAllocation.writeUnlock(), ex -> {
                     // Close unsafe will assume that the caller passes control of the writelock to it. It
@@ -0,0 +1,195 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.memory;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the graphs that were hot in the native memory cache, so that a restarted node can load them again
+ * before searches ask for them.
+ *
+ * The warm set is persisted as a manifest in the node's data path. Each line holds the number of cache hits of a graph,
+ * its size in kilobytes and its cache key, which is the path of its engine file:
+ * <pre>
+ * # knn warm set v1
+ * 5120	2048	/data/nodes/0/indices/[index-uuid]/0/index/_0_165_target_field.faissc
+ * </pre>
+ * The manifest read at startup is kept as a set of pending entries. When a shard starts, it takes the pending entries of
+ * its engine files in order of hits, up to a node wide budget, and loads them.
+ */
+@Log4j2
+public final class NativeMemoryWarmSet {
+
+    static final String MANIFEST_HEADER = "# knn warm set v1";
+    static final String MANIFEST_FILE_NAME = "knn_warm_set";
+    // Keeps the manifest compact for nodes with many small segments
+    static final int MAX_MANIFEST_ENTRIES = 10_000;
+    // Pending entries are written back to the manifest for this long after startup, so that a manifest written while
+    // shards are still recovering does not forget graphs that have not been preloaded yet
+    static final long PENDING_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private static NativeMemoryWarmSet INSTANCE;
+
+    private final Path manifestPath;
+    private final NativeMemoryCacheManager nativeMemoryCacheManager;
+    private final long startNanos;
+    // Guarded by this
+    private final Map<String, WarmSetEntry> pendingEntries;
+    private long preloadedSizeInKB;
+
+    @VisibleForTesting
+    NativeMemoryWarmSet(Path manifestPath, NativeMemoryCacheManager nativeMemoryCacheManager) {
+        this.manifestPath = manifestPath;
+        this.nativeMemoryCacheManager = nativeMemoryCacheManager;
+        this.startNanos = System.nanoTime();
+        this.pendingEntries = readManifest(manifestPath);
+    }
+
+    /**
+     * Initializes the warm set of the node from the manifest in the given directory, if there is one.
+     *
+     * @param directory directory holding the manifest
+     */
+    public static synchronized void initialize(Path directory) {
+        INSTANCE = new NativeMemoryWarmSet(directory.resolve(MANIFEST_FILE_NAME), NativeMemoryCacheManager.getInstance());
+    }
+
+    /**
+     * @return warm set of the node, or null if it has not been initialized
+     */
+    public static synchronized NativeMemoryWarmSet getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true if there are entries from the manifest that have not been taken for preloading yet
+     */
+    public synchronized boolean hasPendingEntries() {
+        return !pendingEntries.isEmpty();
+    }
+
+    /**
+     * Takes the pending entries for the given cache keys, hottest first. Entries are only returned while the total size
+     * of all entries returned so far stays within the budget. Every matching entry is removed from the pending entries,
+     * so that a graph is preloaded at most once.
+     *
+     * @param keys cache keys of the engine files of a shard
+     * @param budgetInKB maximum total size of the entries returned by all calls, in kilobytes
+     * @return entries to preload, in priority order
+     */
+    public synchronized List<WarmSetEntry> takeEntries(Collection<String> keys, long budgetInKB) {
+        final List<WarmSetEntry> matches = new ArrayList<>();
+        for (String key : keys) {
+            final WarmSetEntry entry = pendingEntries.remove(key);
+            if (entry != null) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparingLong(WarmSetEntry::getHitCount).reversed());
+
+        final List<WarmSetEntry> entries = new ArrayList<>();
+        for (WarmSetEntry entry : matches) {
+            if (preloadedSizeInKB + entry.getSizeInKB() <= budgetInKB) {
+                preloadedSizeInKB += entry.getSizeInKB();
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the graphs currently in the cache, and the pending entries that are still retained, to the manifest. The
+     * manifest is replaced atomically so that a crash while writing leaves the previous one in place.
+     *
+     * @throws IOException if the manifest could not be written
+     */
+    public synchronized void writeManifest() throws IOException {
+        final Map<String, WarmSetEntry> entries = new HashMap<>();
+        if (System.nanoTime() - startNanos < PENDING_RETENTION_NANOS) {
+            entries.putAll(pendingEntries);
+        }
+        nativeMemoryCacheManager.forEachLoadedAllocation((allocation, hitCount) -> {
+            if (allocation instanceof NativeMemoryAllocation.IndexAllocation) {
+                final String key = ((NativeMemoryAllocation.IndexAllocation) allocation).getIndexPath();
+                entries.put(key, new WarmSetEntry(key, allocation.getSizeInKB(), hitCount));
+            }
+        });
+
+        final List<WarmSetEntry> sortedEntries = new ArrayList<>(entries.values());
+        sortedEntries.sort(Comparator.comparingLong(WarmSetEntry::getHitCount).reversed());
+
+        final Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(MANIFEST_HEADER);
+            writer.newLine();
+            for (WarmSetEntry entry : sortedEntries.subList(0, Math.min(sortedEntries.size(), MAX_MANIFEST_ENTRIES))) {
+                writer.write(entry.getHitCount() + "\t" + entry.getSizeInKB() + "\t" + entry.getKey());
+                writer.newLine();
+            }
+        }
+        Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, WarmSetEntry> readManifest(Path manifestPath) {
+        final Map<String, WarmSetEntry> entries = new HashMap<>();
+        if (!Files.exists(manifestPath)) {
+            return entries;
+        }
+
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(manifestPath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("[KNN] Unable to read warm set manifest {}", manifestPath, e);
+            return entries;
+        }
+        if (lines.isEmpty() || !MANIFEST_HEADER.equals(lines.get(0))) {
+            log.warn("[KNN] Ignoring warm set manifest {} with unknown format", manifestPath);
+            return entries;
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            final String[] fields = line.split("\t", 3);
+            try {
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("Expected 3 fields");
+                }
+                entries.put(fields[2], new WarmSetEntry(fields[2], Long.parseLong(fields[1]), Long.parseLong(fields[0])));
+            } catch (IllegalArgumentException e) {
+                log.warn("[KNN] Skipping malformed line [{}] of warm set manifest {}", line, manifestPath);
+            }
+        }
+        log.info("[KNN] Read {} entries from warm set manifest {}", entries.size(), manifestPath);
+        return entries;
+    }
+
+    /**
+     * Graph of the warm set
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class WarmSetEntry {
+        private final String key;
+        private final long sizeInKB;
+        private final long hitCount;
+    }
+}
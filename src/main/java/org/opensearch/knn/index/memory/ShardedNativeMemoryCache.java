@@ -0,0 +1,536 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.memory;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.commons.lang.Validate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Weighted cache of native memory allocations, split into independent shards so that lookups from concurrent search
+ * threads do not serialize on a single lock.
+ *
+ * Cache hits are lock free: a hit is a {@link ConcurrentHashMap} lookup, a volatile read of the loaded allocation and
+ * an update of the access time. Weight is tracked with running counters per shard, per allocation type and per
+ * OpenSearch index, which are updated only when an entry is loaded or removed. This makes size queries and admission
+ * checks O(1) instead of a scan over all entries.
+ *
+ * Unlike a Guava cache with a concurrency level greater than one, the maximum weight is enforced globally rather than
+ * being split across shards, so a single large graph can still use the whole budget. Eviction picks the least recently
+ * accessed entry across all shards. Finding it is a scan over the cached entries, which is acceptable because
+ * evictions are rare and dominated by the cost of freeing native memory.
+ *
+ * Concurrent requests for the same key are coalesced: only one thread loads the entry and the others wait for its
+ * result. Loads can also be started on an executor with {@link #getAsync}, so that callers can bound how long they
+ * wait for them.
+ */
+public final class ShardedNativeMemoryCache {
+
+    // Access times are only refreshed when they are older than this, so that hot entries are not written to by every
+    // search thread on every hit
+    private static final long ACCESS_TIME_GRANULARITY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final long maxWeight;
+    private final long expireAfterAccessNanos;
+    private final Ticker ticker;
+    private final RemovalListener<String, NativeMemoryAllocation> removalListener;
+
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final AtomicLong indicesWeight = new AtomicLong();
+    private final AtomicLong trainingWeight = new AtomicLong();
+    private final ConcurrentHashMap<String, IndexUsage> indexUsages = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadExceptionCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param concurrencyLevel expected number of threads accessing the cache concurrently; rounded up to a power of two
+     *                         to get the number of shards
+     * @param maxWeight maximum total weight of the cache in kilobytes; {@link Long#MAX_VALUE} for no limit
+     * @param expireAfterAccessNanos time after the last access at which an entry expires; 0 to never expire
+     * @param removalListener listener notified once an entry has been removed from the cache
+     */
+    public ShardedNativeMemoryCache(
+        int concurrencyLevel,
+        long maxWeight,
+        long expireAfterAccessNanos,
+        RemovalListener<String, NativeMemoryAllocation> removalListener
+    ) {
+        this(concurrencyLevel, maxWeight, expireAfterAccessNanos, removalListener, Ticker.systemTicker());
+    }
+
+    ShardedNativeMemoryCache(
+        int concurrencyLevel,
+        long maxWeight,
+        long expireAfterAccessNanos,
+        RemovalListener<String, NativeMemoryAllocation> removalListener,
+        Ticker ticker
+    ) {
+        Validate.isTrue(concurrencyLevel > 0, "Concurrency level must be positive");
+        Validate.isTrue(maxWeight >= 0, "Max weight cannot be negative");
+        Validate.isTrue(expireAfterAccessNanos >= 0, "Expiry time cannot be negative");
+        int shardCount = Integer.highestOneBit(concurrencyLevel - 1) << 1;
+        if (shardCount == 0) {
+            shardCount = 1;
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.shardMask = shardCount - 1;
+        this.maxWeight = maxWeight;
+        this.expireAfterAccessNanos = expireAfterAccessNanos;
+        this.removalListener = Objects.requireNonNull(removalListener);
+        this.ticker = Objects.requireNonNull(ticker);
+    }
+
+    /**
+     * Returns the allocation for the key, loading it with the loader if it is not present. If another thread is already
+     * loading the key, waits for that load instead of starting a second one.
+     *
+     * @param key key of the entry
+     * @param loader loads the allocation on a miss
+     * @return cached allocation
+     * @throws ExecutionException if the loader threw a checked exception
+     */
+    public NativeMemoryAllocation get(String key, Callable<? extends NativeMemoryAllocation> loader) throws ExecutionException {
+        final Shard shard = shardFor(key);
+        final NativeMemoryAllocation allocation = getIfPresent(shard, key);
+        if (allocation != null) {
+            return allocation;
+        }
+
+        missCount.increment();
+        final Entry created = new Entry(key);
+        final Entry existing = shard.map.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+        return load(shard, created, loader);
+    }
+
+    /**
+     * Returns a future for the allocation of the key. On a miss, the allocation is loaded on the executor, or on the
+     * calling thread if the executor rejects the load. Concurrent misses for the same key share one future.
+     *
+     * @param key key of the entry
+     * @param loader loads the allocation on a miss
+     * @param executor executor to run the load on
+     * @return future that completes with the cached allocation, or exceptionally if the load fails
+     */
+    public CompletableFuture<NativeMemoryAllocation> getAsync(
+        String key,
+        Callable<? extends NativeMemoryAllocation> loader,
+        Executor executor
+    ) {
+        final Shard shard = shardFor(key);
+        final NativeMemoryAllocation allocation = getIfPresent(shard, key);
+        if (allocation != null) {
+            return CompletableFuture.completedFuture(allocation);
+        }
+
+        missCount.increment();
+        final Entry created = new Entry(key);
+        final Entry existing = shard.map.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.future;
+        }
+
+        final Runnable loadTask = () -> {
+            try {
+                load(shard, created, loader);
+            } catch (Exception e) {
+                // The failure reaches callers through the future of the entry
+            }
+        };
+        try {
+            executor.execute(loadTask);
+        } catch (RejectedExecutionException e) {
+            loadTask.run();
+        }
+        return created.future;
+    }
+
+    /**
+     * @param key key of the entry
+     * @return true if a loaded entry for the key is in the cache
+     */
+    public boolean containsKey(String key) {
+        final Entry entry = shardFor(key).map.get(key);
+        return entry != null && entry.allocation != null;
+    }
+
+    /**
+     * Removes the entry for the key, if present.
+     *
+     * @param key key of the entry
+     */
+    public void invalidate(String key) {
+        final Shard shard = shardFor(key);
+        final Entry entry = shard.map.get(key);
+        if (entry != null) {
+            remove(shard, entry, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Removes all entries, including ones that are being loaded.
+     */
+    public void invalidateAll() {
+        for (Shard shard : shards) {
+            for (Entry entry : shard.map.values()) {
+                remove(shard, entry, RemovalCause.EXPLICIT);
+            }
+        }
+    }
+
+    /**
+     * Removes all expired entries.
+     */
+    public void cleanUp() {
+        if (expireAfterAccessNanos == 0) {
+            return;
+        }
+        final long now = ticker.read();
+        for (Shard shard : shards) {
+            for (Entry entry : shard.map.values()) {
+                if (entry.allocation != null && isExpired(entry, now)) {
+                    remove(shard, entry, RemovalCause.EXPIRED);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return total weight of all loaded entries in kilobytes
+     */
+    public long getWeightInKilobytes() {
+        return totalWeight.get();
+    }
+
+    /**
+     * @return total weight of all loaded index allocations in kilobytes
+     */
+    public long getIndicesWeightInKilobytes() {
+        return indicesWeight.get();
+    }
+
+    /**
+     * @return total weight of all loaded training and anonymous allocations in kilobytes
+     */
+    public long getTrainingWeightInKilobytes() {
+        return trainingWeight.get();
+    }
+
+    /**
+     * @param indexName name of OpenSearch index
+     * @return total weight of the loaded allocations of the index in kilobytes
+     */
+    public long getIndexWeightInKilobytes(String indexName) {
+        final IndexUsage indexUsage = indexUsages.get(indexName);
+        return indexUsage == null ? 0 : indexUsage.sizeInKB;
+    }
+
+    /**
+     * @param indexName name of OpenSearch index
+     * @return number of loaded allocations of the index
+     */
+    public int getIndexGraphCount(String indexName) {
+        final IndexUsage indexUsage = indexUsages.get(indexName);
+        return indexUsage == null ? 0 : indexUsage.graphCount;
+    }
+
+    /**
+     * @return snapshot of the weight in kilobytes of each OpenSearch index that has loaded allocations
+     */
+    public Map<String, Long> getIndexWeightsInKilobytes() {
+        final Map<String, Long> weights = new HashMap<>();
+        indexUsages.forEach((indexName, indexUsage) -> weights.put(indexName, indexUsage.sizeInKB));
+        return Collections.unmodifiableMap(weights);
+    }
+
+    /**
+     * @return number of shards of the cache
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return all loaded allocations
+     */
+    public Stream<NativeMemoryAllocation> allocations() {
+        return Arrays.stream(shards)
+            .flatMap(shard -> shard.map.values().stream())
+            .map(entry -> entry.allocation)
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Calls the consumer with each loaded allocation and the number of hits the allocation has had since it was
+     * loaded.
+     *
+     * @param consumer consumer of the allocations and their hit counts
+     */
+    public void forEachLoaded(ObjLongConsumer<NativeMemoryAllocation> consumer) {
+        for (Shard shard : shards) {
+            for (Entry entry : shard.map.values()) {
+                final NativeMemoryAllocation allocation = entry.allocation;
+                if (allocation != null) {
+                    consumer.accept(allocation, entry.hitCount.sum());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return statistics of the cache
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+            hitCount.sum(),
+            missCount.sum(),
+            loadSuccessCount.sum(),
+            loadExceptionCount.sum(),
+            totalLoadTime.sum(),
+            evictionCount.sum()
+        );
+    }
+
+    private NativeMemoryAllocation getIfPresent(Shard shard, String key) {
+        final Entry entry = shard.map.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        // Entries that are still loading have no allocation yet
+        final NativeMemoryAllocation allocation = entry.allocation;
+        if (allocation == null) {
+            return null;
+        }
+
+        final long now = ticker.read();
+        if (isExpired(entry, now)) {
+            remove(shard, entry, RemovalCause.EXPIRED);
+            return null;
+        }
+        if (now - entry.accessTime > ACCESS_TIME_GRANULARITY_NANOS) {
+            entry.accessTime = now;
+        }
+        entry.hitCount.increment();
+        hitCount.increment();
+        return allocation;
+    }
+
+    private NativeMemoryAllocation load(Shard shard, Entry entry, Callable<? extends NativeMemoryAllocation> loader)
+        throws ExecutionException {
+        final long start = ticker.read();
+        final NativeMemoryAllocation allocation;
+        try {
+            allocation = loader.call();
+            if (allocation == null) {
+                throw new CacheLoader.InvalidCacheLoadException("Loader returned null for key " + entry.key);
+            }
+        } catch (Throwable t) {
+            loadExceptionCount.increment();
+            totalLoadTime.add(ticker.read() - start);
+            shard.map.remove(entry.key, entry);
+            entry.future.completeExceptionally(t);
+            throw wrap(t);
+        }
+        final long now = ticker.read();
+        loadSuccessCount.increment();
+        totalLoadTime.add(now - start);
+
+        final boolean removedWhileLoading;
+        synchronized (entry) {
+            removedWhileLoading = entry.removed;
+            if (!removedWhileLoading) {
+                entry.weight = allocation.getSizeInKB();
+                entry.accessTime = now;
+                entry.allocation = allocation;
+                account(shard, allocation, entry.weight, 1);
+            }
+        }
+        entry.future.complete(allocation);
+
+        if (removedWhileLoading) {
+            // The entry was invalidated while it was being loaded, so the allocation is not tracked by the cache and
+            // has to be released here
+            notifyRemoval(entry.key, allocation, RemovalCause.REPLACED);
+            return allocation;
+        }
+
+        // Mirror Guava, which cleans up as part of writes
+        cleanUp();
+        evictIfNeeded();
+        return allocation;
+    }
+
+    private NativeMemoryAllocation await(Entry entry) throws ExecutionException {
+        try {
+            return entry.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        } catch (ExecutionException e) {
+            throw wrap(e.getCause());
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (totalWeight.get() <= maxWeight) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            while (totalWeight.get() > maxWeight) {
+                Shard victimShard = null;
+                Entry victim = null;
+                for (Shard shard : shards) {
+                    if (shard.weight.get() == 0) {
+                        continue;
+                    }
+                    for (Entry entry : shard.map.values()) {
+                        if (entry.allocation != null && (victim == null || entry.accessTime < victim.accessTime)) {
+                            victimShard = shard;
+                            victim = entry;
+                        }
+                    }
+                }
+                if (victim == null) {
+                    return;
+                }
+                if (remove(victimShard, victim, RemovalCause.SIZE)) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean remove(Shard shard, Entry entry, RemovalCause cause) {
+        if (!shard.map.remove(entry.key, entry)) {
+            // Another thread already removed the entry
+            return false;
+        }
+        final NativeMemoryAllocation allocation;
+        synchronized (entry) {
+            entry.removed = true;
+            allocation = entry.allocation;
+            if (allocation != null) {
+                account(shard, allocation, entry.weight, -1);
+            }
+        }
+        if (allocation != null) {
+            notifyRemoval(entry.key, allocation, cause);
+        }
+        return true;
+    }
+
+    private void account(Shard shard, NativeMemoryAllocation allocation, int weight, int sign) {
+        final long delta = (long) sign * weight;
+        shard.weight.addAndGet(delta);
+        totalWeight.addAndGet(delta);
+        if (allocation instanceof NativeMemoryAllocation.IndexAllocation) {
+            indicesWeight.addAndGet(delta);
+            indexUsages.compute(((NativeMemoryAllocation.IndexAllocation) allocation).getOpenSearchIndexName(), (indexName, usage) -> {
+                final long sizeInKB = (usage == null ? 0 : usage.sizeInKB) + delta;
+                final int graphCount = (usage == null ? 0 : usage.graphCount) + sign;
+                return graphCount == 0 ? null : new IndexUsage(sizeInKB, graphCount);
+            });
+        } else if (allocation instanceof NativeMemoryAllocation.TrainingDataAllocation
+            || allocation instanceof NativeMemoryAllocation.AnonymousAllocation) {
+                trainingWeight.addAndGet(delta);
+            }
+    }
+
+    private void notifyRemoval(String key, NativeMemoryAllocation allocation, RemovalCause cause) {
+        removalListener.onRemoval(RemovalNotification.create(key, allocation, cause));
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return expireAfterAccessNanos != 0 && now - entry.accessTime >= expireAfterAccessNanos;
+    }
+
+    private Shard shardFor(String key) {
+        final int hash = key.hashCode();
+        // Spread the high bits so that keys that only differ in their suffix still land on different shards
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private static ExecutionException wrap(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw new UncheckedExecutionException(t);
+        }
+        return new ExecutionException(t);
+    }
+
+    private static final class Shard {
+        private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>();
+        private final AtomicLong weight = new AtomicLong();
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final CompletableFuture<NativeMemoryAllocation> future = new CompletableFuture<>();
+        // Set once the load completes; null while loading
+        private volatile NativeMemoryAllocation allocation;
+        private volatile long accessTime;
+        private final LongAdder hitCount = new LongAdder();
+        // Guarded by the entry monitor
+        private int weight;
+        private boolean removed;
+
+        private Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class IndexUsage {
+        private final long sizeInKB;
+        private final int graphCount;
+
+        private IndexUsage(long sizeInKB, int graphCount) {
+            this.sizeInKB = sizeInKB;
+            this.graphCount = graphCount;
+        }
+    }
+}
@@ -48,6 +48,7 @@ public abstract class BaseQueryFactory {
         private Float radius;
         private QueryBuilder filter;
         private QueryShardContext context;
+        private Float oversampleFactor;
 
         public Optional<QueryBuilder> getFilter() {
             return Optional.ofNullable(filter);
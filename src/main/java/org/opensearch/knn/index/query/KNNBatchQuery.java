@@ -0,0 +1,89 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch of top k queries of native engine k-NN queries, matching the union of the top k docs of every query with the
+ * best score a doc gets from any of them, like a dis_max query. When the query is rewritten, every segment is searched
+ * once for all queries with {@link KNNWeight#searchLeafBatch(List, LeafReaderContext)}, which sends the query vectors
+ * sharing a faiss graph to the native layer in a single call. The segments are searched concurrently through
+ * {@link KNNConcurrentSegmentSearch}.
+ */
+@Getter
+@AllArgsConstructor
+public class KNNBatchQuery extends Query {
+
+    private final List<KNNQuery> queries;
+
+    @Override
+    public Query rewrite(IndexSearcher searcher) throws IOException {
+        final List<KNNWeight> weights = new ArrayList<>(queries.size());
+        for (KNNQuery query : queries) {
+            weights.add((KNNWeight) query.createWeight(searcher, ScoreMode.COMPLETE, 1f));
+        }
+        final List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        final KNNQueryResults[][] leafResults = new KNNQueryResults[queries.size()][leaves.size()];
+        KNNConcurrentSegmentSearch.searchLeaves(searcher, leaf -> {
+            final KNNQueryResults[] results = KNNWeight.searchLeafBatch(weights, leaf);
+            for (int i = 0; i < results.length; i++) {
+                leafResults[i][leaf.ord] = results[i];
+            }
+        });
+
+        // Union of the top k live docs of the shard of every query, with the best score of the doc. Deleted docs are
+        // skipped before the cut, so they never take the place of live ones.
+        final Map<Integer, Float> scores = new HashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            final KNNQueryResults results = KNNConcurrentSegmentSearch.merge(leaves, leafResults[i], queries.get(i).getK());
+            for (int j = 0; j < results.size(); j++) {
+                scores.merge(results.getDocId(j), results.getScore(j), Math::max);
+            }
+        }
+        final int[] docIds = new int[scores.size()];
+        final float[] docScores = new float[scores.size()];
+        int size = 0;
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            docIds[size] = entry.getKey();
+            docScores[size++] = entry.getValue();
+        }
+        final KNNQueryResults results = new KNNQueryResults(docIds, docScores).sortByDocId();
+        return new KNNResultsQuery(this, searcher.getIndexReader().getContext().id(), results);
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        visitor.visitLeaf(this);
+    }
+
+    @Override
+    public String toString(String field) {
+        return "KNNBatchQuery[" + queries.size() + " queries]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return sameClassAs(other) && queries.equals(((KNNBatchQuery) other).queries);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * classHash() + queries.hashCode();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import lombok.Getter;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.Query;
+import org.opensearch.core.ParseField;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.AbstractQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryRewriteContext;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.knn.index.query.parser.KNNBatchQueryBuilderParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static org.opensearch.knn.common.KNNConstants.BATCH_KNN_QUERY;
+
+/**
+ * Builder of batches of k-NN queries on the same knn_vector field, each with its own vector, k and filter. The batch
+ * matches the docs of every query with the best score a doc gets from any of them. When every query is a top k query
+ * of a native engine, the batch becomes a {@link KNNBatchQuery}, which searches the graph of a segment for many query
+ * vectors with a single native call. Otherwise it becomes a dis_max query of the k-NN queries.
+ */
+@Getter
+public class KNNBatchQueryBuilder extends AbstractQueryBuilder<KNNBatchQueryBuilder> {
+
+    public static final String NAME = BATCH_KNN_QUERY;
+    public static final ParseField QUERIES_FIELD = new ParseField("queries");
+    public static final int MAX_QUERIES = 100;
+
+    private final String fieldName;
+    private final List<KNNQueryBuilder> queries;
+
+    public KNNBatchQueryBuilder(final String fieldName, final List<KNNQueryBuilder> queries) {
+        this.fieldName = fieldName;
+        this.queries = queries;
+    }
+
+    public KNNBatchQueryBuilder(StreamInput in) throws IOException {
+        super(in);
+        final Builder builder = KNNBatchQueryBuilderParser.streamInput(in);
+        this.fieldName = builder.fieldName;
+        this.queries = builder.queries;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link KNNBatchQueryBuilder}, used when parsing the query
+     */
+    public static class Builder {
+        private String fieldName;
+        private List<KNNQueryBuilder> queries;
+        private String queryName;
+        private float boost = DEFAULT_BOOST;
+
+        public Builder() {}
+
+        public Builder fieldName(String fieldName) {
+            this.fieldName = fieldName;
+            return this;
+        }
+
+        public Builder queries(List<KNNQueryBuilder> queries) {
+            this.queries = queries;
+            return this;
+        }
+
+        public Builder queryName(String queryName) {
+            this.queryName = queryName;
+            return this;
+        }
+
+        public Builder boost(float boost) {
+            this.boost = boost;
+            return this;
+        }
+
+        public KNNBatchQueryBuilder build() {
+            validate();
+            return new KNNBatchQueryBuilder(fieldName, queries).boost(boost).queryName(queryName);
+        }
+
+        private void validate() {
+            if (fieldName == null || fieldName.isEmpty()) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "[%s] requires fieldName", NAME));
+            }
+            if (queries == null || queries.isEmpty() || queries.size() > MAX_QUERIES) {
+                throw new IllegalArgumentException(
+                    String.format(Locale.ROOT, "[%s] requires between 1 and %d queries", NAME, MAX_QUERIES)
+                );
+            }
+            for (KNNQueryBuilder query : queries) {
+                if (!fieldName.equals(query.fieldName())) {
+                    throw new IllegalArgumentException(
+                        String.format(Locale.ROOT, "[%s] queries must all be on field [%s], found [%s]", NAME, fieldName, query.fieldName())
+                    );
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void doWriteTo(StreamOutput out) throws IOException {
+        KNNBatchQueryBuilderParser.streamOutput(out, this);
+    }
+
+    @Override
+    protected void doXContent(XContentBuilder builder, Params params) throws IOException {
+        KNNBatchQueryBuilderParser.toXContent(builder, params, this);
+    }
+
+    @Override
+    protected Query doToQuery(QueryShardContext context) throws IOException {
+        final List<Query> subQueries = new ArrayList<>(queries.size());
+        boolean batchable = true;
+        for (KNNQueryBuilder queryBuilder : queries) {
+            final Query query = queryBuilder.toQuery(context);
+            // Lucene engine, radial and boosted queries are searched on their own
+            batchable &= query instanceof KNNQuery && ((KNNQuery) query).getK() > 0;
+            subQueries.add(query);
+        }
+        if (batchable) {
+            final List<KNNQuery> knnQueries = new ArrayList<>(subQueries.size());
+            for (Query query : subQueries) {
+                knnQueries.add((KNNQuery) query);
+            }
+            return new KNNBatchQuery(knnQueries);
+        }
+        return new DisjunctionMaxQuery(subQueries, 0f);
+    }
+
+    @Override
+    protected QueryBuilder doRewrite(QueryRewriteContext queryRewriteContext) throws IOException {
+        // k-NN queries rewrite their filter in place
+        for (KNNQueryBuilder query : queries) {
+            query.rewrite(queryRewriteContext);
+        }
+        return super.doRewrite(queryRewriteContext);
+    }
+
+    @Override
+    protected boolean doEquals(KNNBatchQueryBuilder other) {
+        return Objects.equals(fieldName, other.fieldName) && Objects.equals(queries, other.queries);
+    }
+
+    @Override
+    protected int doHashCode() {
+        return Objects.hash(fieldName, queries);
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+}
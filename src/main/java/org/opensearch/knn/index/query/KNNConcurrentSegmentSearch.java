@@ -0,0 +1,270 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.Bits;
+import org.opensearch.knn.index.KNNSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches the segments of a native engine k-NN query concurrently when the query is rewritten, and merges the results
+ * of all segments into the top k of the shard. The collector then only sees the merged results, through a
+ * {@link KNNResultsQuery}.
+ *
+ * The segments are split into at most {@link KNNSettings#KNN_MAX_CONCURRENT_SEGMENT_SEARCHES} groups. When the searcher
+ * has slices for concurrent segment search, every slice stays in a single group, otherwise every segment is placed on
+ * its own. Groups are balanced by number of docs. The groups are searched on the knn_search thread pool and on the
+ * thread that rewrites the query, which takes the groups that no pool thread has picked up yet, so a busy pool never
+ * makes the query wait for a queued task.
+ */
+@Log4j2
+public final class KNNConcurrentSegmentSearch {
+
+    private static ExecutorService executor;
+
+    private KNNConcurrentSegmentSearch() {}
+
+    /**
+     * @param executor executor of the knn_search thread pool
+     */
+    public static void initialize(final ExecutorService executor) {
+        KNNConcurrentSegmentSearch.executor = executor;
+    }
+
+    /**
+     * Check whether the segments of the query can be searched concurrently
+     *
+     * @param query query to search
+     * @param searcher searcher the query runs on
+     * @return true if the segments should be searched concurrently
+     */
+    static boolean isEnabled(final KNNQuery query, final IndexSearcher searcher) {
+        return executor != null
+            && query.getK() > 0
+            && query.getRadius() == null
+            && searcher.getIndexReader().leaves().size() > 1
+            && KNNSettings.getMaxConcurrentSegmentSearches() > 1;
+    }
+
+    /**
+     * Search the segments of the query concurrently and merge the results into the top k of the shard
+     *
+     * @param query query to search
+     * @param searcher searcher the query runs on
+     * @return {@link KNNResultsQuery} matching the top k docs of the shard
+     * @throws IOException if a segment cannot be searched
+     */
+    static Query rewrite(final KNNQuery query, final IndexSearcher searcher) throws IOException {
+        final KNNWeight weight = (KNNWeight) query.createWeight(searcher, ScoreMode.COMPLETE, 1f);
+        final KNNQueryResults results = searchTopK(searcher, query.getK(), weight::searchLeaf);
+        return new KNNResultsQuery(query, searcher.getIndexReader().getContext().id(), results);
+    }
+
+    /**
+     * Search every segment for its top k docs and merge the results into the top k of the shard. The segments are
+     * searched concurrently when the searcher has more than one segment and concurrent segment searches are enabled,
+     * otherwise one after the other on the calling thread.
+     *
+     * @param searcher searcher the query runs on
+     * @param k number of results to keep
+     * @param leafTopK search of a single segment, returning its results with doc ids relative to the segment or null
+     * @return top k results with doc ids of the searcher, sorted by doc id
+     * @throws IOException if a segment cannot be searched
+     */
+    static KNNQueryResults searchTopK(final IndexSearcher searcher, final int k, final LeafTopK leafTopK) throws IOException {
+        final List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        final KNNQueryResults[] leafResults = new KNNQueryResults[leaves.size()];
+        searchLeaves(searcher, leaf -> leafResults[leaf.ord] = leafTopK.search(leaf));
+        return merge(leaves, leafResults, k);
+    }
+
+    /**
+     * Search every segment of the searcher, concurrently when the searcher has more than one segment and concurrent
+     * segment searches are enabled, otherwise one after the other on the calling thread.
+     *
+     * @param searcher searcher the query runs on
+     * @param leafSearch search of a single segment
+     * @throws IOException if a segment cannot be searched
+     */
+    static void searchLeaves(final IndexSearcher searcher, final LeafSearch leafSearch) throws IOException {
+        final List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        if (executor == null || leaves.size() < 2 || KNNSettings.getMaxConcurrentSegmentSearches() < 2) {
+            for (LeafReaderContext leaf : leaves) {
+                leafSearch.search(leaf);
+            }
+        } else {
+            search(groupLeaves(getUnits(searcher), KNNSettings.getMaxConcurrentSegmentSearches()), leafSearch);
+        }
+    }
+
+    @VisibleForTesting
+    static List<List<LeafReaderContext>> getUnits(final IndexSearcher searcher) {
+        final IndexSearcher.LeafSlice[] slices = searcher.getSlices();
+        final List<List<LeafReaderContext>> units = new ArrayList<>();
+        if (slices != null && slices.length > 1) {
+            for (IndexSearcher.LeafSlice slice : slices) {
+                units.add(Arrays.asList(slice.leaves));
+            }
+            return units;
+        }
+        for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+            units.add(List.of(leaf));
+        }
+        return units;
+    }
+
+    /**
+     * Split units of segments into groups with about the same number of docs. Units are never split.
+     *
+     * @param units units of segments
+     * @param maxGroups maximum number of groups
+     * @return groups of segments, none of them empty
+     */
+    @VisibleForTesting
+    static List<List<LeafReaderContext>> groupLeaves(final List<List<LeafReaderContext>> units, final int maxGroups) {
+        final int groupCount = Math.max(1, Math.min(maxGroups, units.size()));
+        final List<List<LeafReaderContext>> sortedUnits = new ArrayList<>(units);
+        sortedUnits.sort(Comparator.comparingLong(KNNConcurrentSegmentSearch::maxDoc).reversed());
+
+        final List<List<LeafReaderContext>> groups = new ArrayList<>(groupCount);
+        final long[] groupDocs = new long[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (List<LeafReaderContext> unit : sortedUnits) {
+            int smallest = 0;
+            for (int i = 1; i < groupCount; i++) {
+                if (groupDocs[i] < groupDocs[smallest]) {
+                    smallest = i;
+                }
+            }
+            groups.get(smallest).addAll(unit);
+            groupDocs[smallest] += maxDoc(unit);
+        }
+        groups.removeIf(List::isEmpty);
+        return groups;
+    }
+
+    /**
+     * Keep the top k results of all segments. Engines return deleted docs too, so they are skipped before the cut, as
+     * the collector would skip them on the per-segment path.
+     *
+     * @param leaves segments of the searcher
+     * @param leafResults results of each segment by ordinal, with doc ids relative to the segment; null for segments
+     *                    without results
+     * @param k number of results to keep
+     * @return top k results with doc ids of the searcher, sorted by doc id
+     */
+    @VisibleForTesting
+    static KNNQueryResults merge(final List<LeafReaderContext> leaves, final KNNQueryResults[] leafResults, final int k) {
+        final TopKHeap topK = new TopKHeap(k);
+        for (LeafReaderContext leaf : leaves) {
+            final KNNQueryResults results = leafResults[leaf.ord];
+            if (results == null) {
+                continue;
+            }
+            final Bits liveDocs = leaf.reader().getLiveDocs();
+            for (int i = 0; i < results.size(); i++) {
+                if (liveDocs != null && liveDocs.get(results.getDocId(i)) == false) {
+                    continue;
+                }
+                topK.insertWithOverflow(leaf.docBase + results.getDocId(i), results.getScore(i));
+            }
+        }
+        return topK.toResults().sortByDocId();
+    }
+
+    private static void search(final List<List<LeafReaderContext>> groups, final LeafSearch leafSearch) throws IOException {
+        final AtomicInteger nextGroup = new AtomicInteger();
+        final List<CompletableFuture<Void>> done = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            done.add(new CompletableFuture<>());
+        }
+        final Runnable worker = () -> {
+            int group;
+            while ((group = nextGroup.getAndIncrement()) < groups.size()) {
+                try {
+                    for (LeafReaderContext leaf : groups.get(group)) {
+                        leafSearch.search(leaf);
+                    }
+                    done.get(group).complete(null);
+                } catch (Throwable e) {
+                    done.get(group).completeExceptionally(e);
+                }
+            }
+        };
+
+        for (int i = 1; i < groups.size(); i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // The search thread picks up the groups that no pool thread takes
+                log.debug("k-NN search thread pool is full, searching the remaining segments on the search thread");
+                break;
+            }
+        }
+        // Once the search thread runs out of groups, every group is claimed and the remaining ones are being searched
+        worker.run();
+
+        for (CompletableFuture<Void> future : done) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private static long maxDoc(final List<LeafReaderContext> unit) {
+        long maxDoc = 0;
+        for (LeafReaderContext leaf : unit) {
+            maxDoc += leaf.reader().maxDoc();
+        }
+        return maxDoc;
+    }
+
+    /**
+     * Search of a single segment
+     */
+    @FunctionalInterface
+    interface LeafSearch {
+        void search(LeafReaderContext leaf) throws IOException;
+    }
+
+    /**
+     * Search of the top k docs of a single segment
+     */
+    @FunctionalInterface
+    interface LeafTopK {
+        KNNQueryResults search(LeafReaderContext leaf) throws IOException;
+    }
+}
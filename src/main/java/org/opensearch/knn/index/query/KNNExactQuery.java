@@ -0,0 +1,143 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.Bits;
+import org.opensearch.knn.index.KNNVectorLeafValues;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.plugin.script.KNNVectorScoreBound;
+import org.opensearch.knn.plugin.script.KNNVectorScoringMethod;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Exact k-NN query scoring the vectors of the docs matching a filter with the functions of a knn_score space. Unlike a
+ * knn_score script, the query drives scoring itself: every segment keeps its top k docs in a {@link TopKHeap} and, for
+ * spaces with a {@link KNNVectorScoreBound}, skips the blocks of docs whose {@link KNNVectorNormBlocks} bound them
+ * below the lowest score of the heap. Segments are searched concurrently through {@link KNNConcurrentSegmentSearch}
+ * when the query is rewritten, into a {@link KNNResultsQuery} of the top k docs of the shard.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class KNNExactQuery extends Query {
+
+    private final String field;
+    private final float[] queryVector;
+    private final int k;
+    // Name of the space, which identifies the scoring method for equality
+    private final String spaceType;
+    private final VectorDataType vectorDataType;
+    private final KNNVectorScoringMethod scoringMethod;
+    // Null to score every doc
+    private final KNNVectorScoreBound scoreBound;
+    // Null to score every doc with a vector
+    private final Query filterQuery;
+
+    @Override
+    public Query rewrite(IndexSearcher searcher) throws IOException {
+        final Weight filterWeight = filterQuery == null
+            ? null
+            : searcher.createWeight(searcher.rewrite(filterQuery), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        final KNNQueryResults results = KNNConcurrentSegmentSearch.searchTopK(searcher, k, leaf -> searchLeaf(leaf, filterWeight));
+        return new KNNResultsQuery(this, searcher.getIndexReader().getContext().id(), results);
+    }
+
+    /**
+     * Search the top k docs of a segment
+     *
+     * @param context segment to search
+     * @param filterWeight weight of the filter, null to score every doc with a vector
+     * @return top k docs of the segment with their scores
+     * @throws IOException if the segment cannot be read
+     */
+    @VisibleForTesting
+    KNNQueryResults searchLeaf(final LeafReaderContext context, final Weight filterWeight) throws IOException {
+        final LeafReader reader = context.reader();
+        final KNNVectorLeafValues values = KNNVectorLeafValues.create(reader, field, vectorDataType);
+        if (values == null) {
+            return KNNQueryResults.empty();
+        }
+        final DocIdSetIterator docs;
+        if (filterWeight == null) {
+            docs = DocIdSetIterator.all(reader.maxDoc());
+        } else {
+            final Scorer filterScorer = filterWeight.scorer(context);
+            if (filterScorer == null) {
+                return KNNQueryResults.empty();
+            }
+            docs = filterScorer.iterator();
+        }
+        final KNNVectorNormBlocks normBlocks = scoreBound == null ? null : KNNVectorNormBlocks.get(reader, field, vectorDataType);
+        final Bits liveDocs = reader.getLiveDocs();
+        final TopKHeap topK = new TopKHeap(k);
+
+        // First doc after the last block whose bound was checked
+        int blockEnd = 0;
+        int doc = docs.nextDoc();
+        while (doc != DocIdSetIterator.NO_MORE_DOCS) {
+            if (normBlocks != null && doc >= blockEnd) {
+                final int block = normBlocks.block(doc);
+                blockEnd = normBlocks.blockEnd(block);
+                final float maxScore = scoreBound.maxScore(normBlocks.minNorm(block), normBlocks.maxNorm(block));
+                // The heap only takes docs scoring above its lowest score
+                if (maxScore <= topK.minCompetitiveScore()) {
+                    doc = blockEnd >= reader.maxDoc() ? DocIdSetIterator.NO_MORE_DOCS : docs.advance(blockEnd);
+                    continue;
+                }
+            }
+            if ((liveDocs == null || liveDocs.get(doc)) && values.advanceExact(doc)) {
+                topK.insertWithOverflow(doc, scoringMethod.score(queryVector, values.vectorValue()));
+            }
+            doc = docs.nextDoc();
+        }
+        return topK.toResults();
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        visitor.visitLeaf(this);
+    }
+
+    @Override
+    public String toString(String field) {
+        return "KNNExactQuery[" + this.field + "][" + spaceType + "][k=" + k + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!sameClassAs(other)) {
+            return false;
+        }
+        final KNNExactQuery that = (KNNExactQuery) other;
+        return k == that.k
+            && Objects.equals(field, that.field)
+            && Arrays.equals(queryVector, that.queryVector)
+            && Objects.equals(spaceType, that.spaceType)
+            && vectorDataType == that.vectorDataType
+            && Objects.equals(filterQuery, that.filterQuery);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, Arrays.hashCode(queryVector), k, spaceType, vectorDataType, filterQuery);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import lombok.Getter;
+import org.apache.lucene.search.Query;
+import org.opensearch.core.ParseField;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.index.query.AbstractQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryRewriteContext;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
+import org.opensearch.knn.index.query.parser.KNNExactQueryBuilderParser;
+import org.opensearch.knn.plugin.script.KNNScoringSpace;
+import org.opensearch.knn.plugin.script.KNNScoringSpaceFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static org.opensearch.knn.common.KNNConstants.EXACT_KNN_QUERY;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_SPACE_TYPE;
+
+/**
+ * Builder of exact k-NN queries, which score the vectors of a knn_vector field with the same spaces as knn_score scripts
+ * and return the top k docs of the shard, see {@link KNNExactQuery}.
+ */
+@Getter
+public class KNNExactQueryBuilder extends AbstractQueryBuilder<KNNExactQueryBuilder> {
+
+    public static final String NAME = EXACT_KNN_QUERY;
+    public static final ParseField VECTOR_FIELD = KNNQueryBuilder.VECTOR_FIELD;
+    public static final ParseField K_FIELD = KNNQueryBuilder.K_FIELD;
+    public static final ParseField SPACE_TYPE_FIELD = new ParseField(METHOD_PARAMETER_SPACE_TYPE);
+    public static final ParseField FILTER_FIELD = KNNQueryBuilder.FILTER_FIELD;
+
+    private final String fieldName;
+    private final float[] vector;
+    private final int k;
+    private final String spaceType;
+    private QueryBuilder filter;
+
+    public KNNExactQueryBuilder(
+        final String fieldName,
+        final float[] vector,
+        final int k,
+        final String spaceType,
+        final QueryBuilder filter
+    ) {
+        this.fieldName = fieldName;
+        this.vector = vector;
+        this.k = k;
+        this.spaceType = spaceType;
+        this.filter = filter;
+    }
+
+    public KNNExactQueryBuilder(StreamInput in) throws IOException {
+        super(in);
+        final Builder builder = KNNExactQueryBuilderParser.streamInput(in);
+        this.fieldName = builder.fieldName;
+        this.vector = builder.vector;
+        this.k = builder.k;
+        this.spaceType = builder.spaceType;
+        this.filter = builder.filter;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link KNNExactQueryBuilder}, used when parsing the query
+     */
+    public static class Builder {
+        private String fieldName;
+        private float[] vector;
+        private Integer k;
+        private String spaceType;
+        private QueryBuilder filter;
+        private String queryName;
+        private float boost = DEFAULT_BOOST;
+
+        public Builder() {}
+
+        public Builder fieldName(String fieldName) {
+            this.fieldName = fieldName;
+            return this;
+        }
+
+        public Builder vector(float[] vector) {
+            this.vector = vector;
+            return this;
+        }
+
+        public Builder k(Integer k) {
+            this.k = k;
+            return this;
+        }
+
+        public Builder spaceType(String spaceType) {
+            this.spaceType = spaceType;
+            return this;
+        }
+
+        public Builder filter(QueryBuilder filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        public Builder queryName(String queryName) {
+            this.queryName = queryName;
+            return this;
+        }
+
+        public Builder boost(float boost) {
+            this.boost = boost;
+            return this;
+        }
+
+        public KNNExactQueryBuilder build() {
+            validate();
+            return new KNNExactQueryBuilder(fieldName, vector, k, spaceType, filter).boost(boost).queryName(queryName);
+        }
+
+        private void validate() {
+            if (fieldName == null || fieldName.isEmpty()) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "[%s] requires fieldName", NAME));
+            }
+            if (vector == null || vector.length == 0) {
+                throw new IllegalArgumentException(
+                    String.format(Locale.ROOT, "[%s] field 'vector' requires to be non-null and non-empty", NAME)
+                );
+            }
+            if (k == null || k <= 0 || k > KNNQueryBuilder.K_MAX) {
+                throw new IllegalArgumentException(
+                    String.format(Locale.ROOT, "[%s] requires k to be in the range (0, %d]", NAME, KNNQueryBuilder.K_MAX)
+                );
+            }
+            if (spaceType == null || spaceType.isEmpty()) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "[%s] requires [%s]", NAME, METHOD_PARAMETER_SPACE_TYPE));
+            }
+        }
+    }
+
+    @Override
+    protected void doWriteTo(StreamOutput out) throws IOException {
+        KNNExactQueryBuilderParser.streamOutput(out, this);
+    }
+
+    @Override
+    protected void doXContent(XContentBuilder builder, Params params) throws IOException {
+        KNNExactQueryBuilderParser.toXContent(builder, params, this);
+    }
+
+    @Override
+    protected Query doToQuery(QueryShardContext context) throws IOException {
+        final MappedFieldType mappedFieldType = context.fieldMapper(this.fieldName);
+        if (!(mappedFieldType instanceof KNNVectorFieldMapper.KNNVectorFieldType)) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT, "Field '%s' is not knn_vector type.", this.fieldName));
+        }
+        final KNNScoringSpace scoringSpace = KNNScoringSpaceFactory.create(spaceType, toList(vector), mappedFieldType);
+        if (!(scoringSpace instanceof KNNScoringSpace.KNNFieldSpace)) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "[%s] does not support space type [%s] on knn_vector fields", NAME, spaceType)
+            );
+        }
+        final KNNScoringSpace.KNNFieldSpace fieldSpace = (KNNScoringSpace.KNNFieldSpace) scoringSpace;
+        return KNNExactQuery.builder()
+            .field(fieldName)
+            .queryVector(fieldSpace.getProcessedQuery())
+            .k(k)
+            .spaceType(spaceType)
+            .vectorDataType(fieldSpace.getVectorDataType())
+            .scoringMethod(fieldSpace.getVectorScoringMethod())
+            .scoreBound(fieldSpace.getScoreBound())
+            .filterQuery(filter == null ? null : filter.toQuery(context))
+            .build();
+    }
+
+    @Override
+    protected QueryBuilder doRewrite(QueryRewriteContext queryRewriteContext) throws IOException {
+        if (Objects.nonNull(filter)) {
+            filter = filter.rewrite(queryRewriteContext);
+        }
+        return super.doRewrite(queryRewriteContext);
+    }
+
+    @Override
+    protected boolean doEquals(KNNExactQueryBuilder other) {
+        return Objects.equals(fieldName, other.fieldName)
+            && Arrays.equals(vector, other.vector)
+            && k == other.k
+            && Objects.equals(spaceType, other.spaceType)
+            && Objects.equals(filter, other.filter);
+    }
+
+    @Override
+    protected int doHashCode() {
+        return Objects.hash(fieldName, Arrays.hashCode(vector), k, spaceType, filter);
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+
+    private static List<Float> toList(final float[] vector) {
+        final List<Float> list = new ArrayList<>(vector.length);
+        for (float value : vector) {
+            list.add(value);
+        }
+        return list;
+    }
+}
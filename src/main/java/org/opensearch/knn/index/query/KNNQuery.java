@@ -21,6 +21,7 @@ import org.apache.lucene.search.Weight;
 import org.apache.lucene.search.join.BitSetProducer;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.query.planner.KNNQueryPlanProfile;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -51,6 +52,11 @@ public class KNNQuery extends Query {
     private BitSetProducer parentsFilter;
     private Float radius;
     private Context context;
+    // Factor k is multiplied by to get the candidates of the graph search that are rescored exactly, null to not rescore
+    private Float oversampleFactor;
+    // Plans of the filtered segment searches, reported through the description of the query in the profile API
+    @Builder.Default
+    private final KNNQueryPlanProfile planProfile = new KNNQueryPlanProfile();
 
     public KNNQuery(
         final String field,
@@ -103,6 +109,7 @@ public class KNNQuery extends Query {
         this.filterQuery = filterQuery;
         this.parentsFilter = parentsFilter;
         this.vectorDataType = vectorDataType;
+        this.planProfile = new KNNQueryPlanProfile();
     }
 
     /**
@@ -170,6 +177,23 @@ public class KNNQuery extends Query {
         return new KNNWeight(this, boost);
     }
 
+    /**
+     * Searches the segments concurrently and rewrites to the top k docs of the shard when concurrent segment searches
+     * are enabled, see {@link KNNConcurrentSegmentSearch}. Otherwise every segment is searched for k docs when its
+     * scorer is created.
+     *
+     * @param searcher searcher the query runs on
+     * @return rewritten query
+     * @throws IOException if a segment cannot be searched
+     */
+    @Override
+    public Query rewrite(IndexSearcher searcher) throws IOException {
+        if (KNNConcurrentSegmentSearch.isEnabled(this, searcher)) {
+            return KNNConcurrentSegmentSearch.rewrite(this, searcher);
+        }
+        return super.rewrite(searcher);
+    }
+
     private Weight getFilterWeight(IndexSearcher searcher) throws IOException {
         if (this.getFilterQuery() != null) {
             // Run the filter query
@@ -189,7 +213,10 @@ public class KNNQuery extends Query {
 
     @Override
     public String toString(String field) {
-        return field;
+        if (planProfile.isEmpty()) {
+            return field;
+        }
+        return field + " " + planProfile;
     }
 
     @Override
@@ -203,7 +230,8 @@ public class KNNQuery extends Query {
             context,
             parentsFilter,
             radius,
-            methodParameters
+            methodParameters,
+            oversampleFactor
         );
     }
 
@@ -223,7 +251,8 @@ public class KNNQuery extends Query {
             && Objects.equals(context, other.context)
             && Objects.equals(indexName, other.indexName)
             && Objects.equals(parentsFilter, other.parentsFilter)
-            && Objects.equals(filterQuery, other.filterQuery);
+            && Objects.equals(filterQuery, other.filterQuery)
+            && Objects.equals(oversampleFactor, other.oversampleFactor);
     }
 
     /**
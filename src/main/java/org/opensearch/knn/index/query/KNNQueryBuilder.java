@@ -49,6 +49,7 @@ import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_SEARCH;
 import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NPROBES;
 import static org.opensearch.knn.common.KNNConstants.MIN_SCORE;
+import static org.opensearch.knn.common.KNNConstants.OVERSAMPLE_FACTOR;
 import static org.opensearch.knn.common.KNNValidationUtil.validateByteVectorValue;
 import static org.opensearch.knn.index.query.parser.MethodParametersParser.validateMethodParameters;
 import static org.opensearch.knn.index.engine.KNNEngine.ENGINES_SUPPORTING_RADIAL_SEARCH;
@@ -72,8 +73,10 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
     public static final ParseField EF_SEARCH_FIELD = new ParseField(METHOD_PARAMETER_EF_SEARCH);
     public static final ParseField NPROBE_FIELD = new ParseField(METHOD_PARAMETER_NPROBES);
     public static final ParseField METHOD_PARAMS_FIELD = new ParseField(METHOD_PARAMETER);
+    public static final ParseField OVERSAMPLE_FACTOR_FIELD = new ParseField(OVERSAMPLE_FACTOR);
 
     public static final int K_MAX = 10000;
+    public static final float OVERSAMPLE_FACTOR_MAX = 100f;
     /**
      * The name for the knn query
      */
@@ -95,6 +98,12 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
     private QueryBuilder filter;
     @Getter
     private boolean ignoreUnmapped;
+    /**
+     * Factor the number of candidates searched in the graph of each segment is multiplied by before the candidates are
+     * rescored against their full precision vectors, null to return the graph scores
+     */
+    @Getter
+    private Float oversampleFactor;
 
     /**
      * Constructs a new query with the given field name and vector
@@ -133,6 +142,7 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
         private Float minScore;
         private QueryBuilder filter;
         private boolean ignoreUnmapped;
+        private Float oversampleFactor;
         private String queryName;
         private float boost = DEFAULT_BOOST;
 
@@ -178,6 +188,11 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
             return this;
         }
 
+        public Builder oversampleFactor(Float oversampleFactor) {
+            this.oversampleFactor = oversampleFactor;
+            return this;
+        }
+
         public Builder queryName(String queryName) {
             this.queryName = queryName;
             return this;
@@ -191,8 +206,17 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
         public KNNQueryBuilder build() {
             validate();
             int k = this.k == null ? 0 : this.k;
-            return new KNNQueryBuilder(fieldName, vector, k, maxDistance, minScore, methodParameters, filter, ignoreUnmapped).boost(boost)
-                .queryName(queryName);
+            return new KNNQueryBuilder(
+                fieldName,
+                vector,
+                k,
+                maxDistance,
+                minScore,
+                methodParameters,
+                filter,
+                ignoreUnmapped,
+                oversampleFactor
+            ).boost(boost).queryName(queryName);
         }
 
         private void validate() {
@@ -231,6 +255,25 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
                 }
             }
 
+            if (oversampleFactor != null) {
+                if (k == null) {
+                    throw new IllegalArgumentException(
+                        String.format(Locale.ROOT, "[%s] requires k to be set to use [%s]", NAME, OVERSAMPLE_FACTOR)
+                    );
+                }
+                if (oversampleFactor < 1 || oversampleFactor > OVERSAMPLE_FACTOR_MAX) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            Locale.ROOT,
+                            "[%s] requires [%s] to be in the range [1, %s]",
+                            NAME,
+                            OVERSAMPLE_FACTOR,
+                            OVERSAMPLE_FACTOR_MAX
+                        )
+                    );
+                }
+            }
+
             if (methodParameters != null) {
                 ValidationException validationException = validateMethodParameters(methodParameters);
                 if (validationException != null) {
@@ -304,6 +347,7 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
         maxDistance = builder.maxDistance;
         minScore = builder.minScore;
         methodParameters = builder.methodParameters;
+        oversampleFactor = builder.oversampleFactor;
     }
 
     @Override
@@ -451,6 +495,17 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
             spaceType.validateVector(vector);
         }
 
+        if (oversampleFactor != null && (knnEngine != KNNEngine.FAISS || vectorDataType != VectorDataType.FLOAT)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    Locale.ROOT,
+                    "[%s] is only supported for float vectors of engine [%s]",
+                    OVERSAMPLE_FACTOR,
+                    KNNEngine.FAISS.getName()
+                )
+            );
+        }
+
         if (KNNEngine.getEnginesThatCreateCustomSegmentFiles().contains(knnEngine)
             && filter != null
             && !KNNEngine.getEnginesThatSupportsFilters().contains(knnEngine)) {
@@ -470,6 +525,7 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
                 .k(this.k)
                 .methodParameters(this.methodParameters)
                 .filter(this.filter)
+                .oversampleFactor(this.oversampleFactor)
                 .context(context)
                 .build();
             return KNNQueryFactory.create(createQueryRequest);
@@ -547,12 +603,23 @@ public class KNNQueryBuilder extends AbstractQueryBuilder<KNNQueryBuilder> {
             && Objects.equals(maxDistance, other.maxDistance)
             && Objects.equals(methodParameters, other.methodParameters)
             && Objects.equals(filter, other.filter)
-            && Objects.equals(ignoreUnmapped, other.ignoreUnmapped);
+            && Objects.equals(ignoreUnmapped, other.ignoreUnmapped)
+            && Objects.equals(oversampleFactor, other.oversampleFactor);
     }
 
     @Override
     protected int doHashCode() {
-        return Objects.hash(fieldName, Arrays.hashCode(vector), k, methodParameters, filter, ignoreUnmapped, maxDistance, minScore);
+        return Objects.hash(
+            fieldName,
+            Arrays.hashCode(vector),
+            k,
+            methodParameters,
+            filter,
+            ignoreUnmapped,
+            maxDistance,
+            minScore,
+            oversampleFactor
+        );
     }
 
     @Override
@@ -120,6 +120,7 @@ public class KNNQueryFactory extends BaseQueryFactory {
                         .methodParameters(methodParameters)
                         .filterQuery(validatedFilterQuery)
                         .vectorDataType(vectorDataType)
+                        .oversampleFactor(createQueryRequest.getOversampleFactor())
                         .build();
             }
         }
@@ -0,0 +1,187 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.IntroSorter;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.engine.KNNEngine;
+
+/**
+ * Primitive container for the results of a k-NN search on a single segment. Doc ids and scores are held in parallel
+ * arrays so that the results can be built by the native layer with a fixed number of allocations, regardless of k,
+ * and later consumed by {@link KNNScorer} without boxing.
+ *
+ * Instances are created either by the JNI layer (with raw engine distances) or by exact search (with final scores).
+ * Before being handed to a scorer, results must be sorted with {@link #sortByDocId()}.
+ */
+public final class KNNQueryResults {
+
+    private static final int[] EMPTY_DOC_IDS = new int[0];
+    private static final float[] EMPTY_SCORES = new float[0];
+
+    private final int[] docIds;
+    private final float[] scores;
+    private final int size;
+
+    /**
+     * Constructor used by the JNI layer. Both arrays are owned by the new instance.
+     *
+     * @param docIds doc ids of the results
+     * @param scores scores of the results; scores[i] belongs to docIds[i]
+     */
+    public KNNQueryResults(final int[] docIds, final float[] scores) {
+        this(docIds, scores, docIds.length);
+    }
+
+    /**
+     * @param docIds doc ids of the results
+     * @param scores scores of the results; scores[i] belongs to docIds[i]
+     * @param size number of valid entries in the arrays
+     */
+    public KNNQueryResults(final int[] docIds, final float[] scores, final int size) {
+        if (docIds.length < size || scores.length < size) {
+            throw new IllegalArgumentException("Result arrays are smaller than the result size " + size);
+        }
+        this.docIds = docIds;
+        this.scores = scores;
+        this.size = size;
+    }
+
+    /**
+     * @return results without any entries
+     */
+    public static KNNQueryResults empty() {
+        return new KNNQueryResults(EMPTY_DOC_IDS, EMPTY_SCORES, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getDocId(final int index) {
+        return docIds[index];
+    }
+
+    public float getScore(final int index) {
+        return scores[index];
+    }
+
+    /**
+     * Convert raw engine distances into Lucene scores in place.
+     *
+     * @param knnEngine engine that produced the distances
+     * @param spaceType space type used for the search
+     * @return this instance
+     */
+    public KNNQueryResults translateScores(final KNNEngine knnEngine, final SpaceType spaceType) {
+        for (int i = 0; i < size; i++) {
+            scores[i] = knnEngine.score(scores[i], spaceType);
+        }
+        return this;
+    }
+
+    /**
+     * Sort the results by doc id in place, keeping scores aligned with their doc ids.
+     *
+     * @return this instance
+     */
+    public KNNQueryResults sortByDocId() {
+        if (size < 2) {
+            return this;
+        }
+        new IntroSorter() {
+            private int pivot;
+
+            @Override
+            protected void swap(int i, int j) {
+                final int tmpDocId = docIds[i];
+                docIds[i] = docIds[j];
+                docIds[j] = tmpDocId;
+                final float tmpScore = scores[i];
+                scores[i] = scores[j];
+                scores[j] = tmpScore;
+            }
+
+            @Override
+            protected void setPivot(int i) {
+                pivot = docIds[i];
+            }
+
+            @Override
+            protected int comparePivot(int j) {
+                return Integer.compare(pivot, docIds[j]);
+            }
+
+            @Override
+            protected int compare(int i, int j) {
+                return Integer.compare(docIds[i], docIds[j]);
+            }
+        }.sort(0, size);
+        return this;
+    }
+
+    /**
+     * Returns an iterator over the doc ids of the results. Results must already be sorted by doc id.
+     *
+     * @return {@link DocIdIterator}
+     */
+    public DocIdIterator iterator() {
+        return new DocIdIterator();
+    }
+
+    /**
+     * {@link DocIdSetIterator} that walks the sorted result arrays with a cursor. The position of the cursor can be
+     * used to look up the score of the current doc without any hashing.
+     */
+    public final class DocIdIterator extends DocIdSetIterator {
+        private int index = -1;
+        private int doc = -1;
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int nextDoc() {
+            if (++index >= size) {
+                index = size;
+                return doc = NO_MORE_DOCS;
+            }
+            return doc = docIds[index];
+        }
+
+        @Override
+        public int advance(int target) {
+            // Result sets are at most a few thousand entries, so a linear scan from the cursor is cheaper than a
+            // binary search for the common case of small forward jumps
+            while (++index < size) {
+                if (docIds[index] >= target) {
+                    return doc = docIds[index];
+                }
+            }
+            index = size;
+            return doc = NO_MORE_DOCS;
+        }
+
+        @Override
+        public long cost() {
+            return size;
+        }
+
+        /**
+         * @return score of the doc the iterator is positioned on
+         */
+        public float score() {
+            return scores[index];
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Query matching the top k results of a k-NN query that was already searched on every segment of a searcher, such as a
+ * {@link KNNQuery} or a {@link KNNExactQuery}. The query can only be used with the searcher it was created for.
+ */
+final class KNNResultsQuery extends Query {
+
+    private final Query knnQuery;
+    // Identity of the top level reader the results were searched on
+    private final Object contextIdentity;
+    // Doc ids of the searcher, sorted
+    private final int[] docIds;
+    private final float[] scores;
+
+    /**
+     * @param knnQuery query the results were searched for
+     * @param contextIdentity identity of the top level reader context the results belong to
+     * @param results results with doc ids of the searcher, sorted by doc id
+     */
+    KNNResultsQuery(final Query knnQuery, final Object contextIdentity, final KNNQueryResults results) {
+        this.knnQuery = knnQuery;
+        this.contextIdentity = contextIdentity;
+        this.docIds = new int[results.size()];
+        this.scores = new float[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            docIds[i] = results.getDocId(i);
+            scores[i] = results.getScore(i);
+        }
+    }
+
+    @Override
+    public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+        if (searcher.getIndexReader().getContext().id() != contextIdentity) {
+            throw new IllegalStateException("k-NN results were searched on a different reader than " + searcher.getIndexReader());
+        }
+        return new Weight(this) {
+            @Override
+            public Scorer scorer(LeafReaderContext context) throws IOException {
+                final KNNQueryResults results = getLeafResults(context);
+                if (results.isEmpty()) {
+                    return null;
+                }
+                return new KNNScorer(this, results, boost);
+            }
+
+            @Override
+            public Explanation explain(LeafReaderContext context, int doc) throws IOException {
+                final int index = Arrays.binarySearch(docIds, context.docBase + doc);
+                if (index < 0) {
+                    return Explanation.noMatch("Not in the top k results of " + knnQuery);
+                }
+                return Explanation.match(scores[index] * boost, "Within the top k results of " + knnQuery);
+            }
+
+            @Override
+            public boolean isCacheable(LeafReaderContext context) {
+                return true;
+            }
+        };
+    }
+
+    private KNNQueryResults getLeafResults(final LeafReaderContext context) {
+        final int start = lowerBound(context.docBase);
+        final int end = lowerBound(context.docBase + context.reader().maxDoc());
+        final int[] leafDocIds = new int[end - start];
+        final float[] leafScores = Arrays.copyOfRange(scores, start, end);
+        for (int i = start; i < end; i++) {
+            leafDocIds[i - start] = docIds[i] - context.docBase;
+        }
+        return new KNNQueryResults(leafDocIds, leafScores);
+    }
+
+    // Index of the first doc id that is not lower than the given doc id
+    private int lowerBound(final int docId) {
+        final int index = Arrays.binarySearch(docIds, docId);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        visitor.visitLeaf(this);
+    }
+
+    @Override
+    public String toString(String field) {
+        return knnQuery.toString(field);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!sameClassAs(other)) {
+            return false;
+        }
+        final KNNResultsQuery that = (KNNResultsQuery) other;
+        return contextIdentity == that.contextIdentity
+            && Arrays.equals(docIds, that.docIds)
+            && Arrays.equals(scores, that.scores)
+            && Objects.equals(knnQuery, that.knnQuery);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), contextIdentity, Arrays.hashCode(docIds), Arrays.hashCode(scores), knnQuery);
+    }
+}
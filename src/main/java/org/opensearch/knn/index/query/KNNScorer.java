@@ -10,7 +10,6 @@ import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
 
 import java.io.IOException;
-import java.util.Map;
 
 /**
  * <p>
@@ -23,14 +22,17 @@ import java.util.Map;
  */
 public class KNNScorer extends Scorer {
 
-    private final DocIdSetIterator docIdsIter;
-    private final Map<Integer, Float> scores;
+    private final KNNQueryResults.DocIdIterator docIdsIter;
     private final float boost;
 
-    public KNNScorer(Weight weight, DocIdSetIterator docIdsIter, Map<Integer, Float> scores, float boost) {
+    /**
+     * @param weight {@link Weight}
+     * @param results results of the search, sorted by doc id
+     * @param boost boost applied to every score
+     */
+    public KNNScorer(Weight weight, KNNQueryResults results, float boost) {
         super(weight);
-        this.docIdsIter = docIdsIter;
-        this.scores = scores;
+        this.docIdsIter = results.iterator();
         this.boost = boost;
     }
 
@@ -47,9 +49,7 @@ public class KNNScorer extends Scorer {
     @Override
     public float score() {
         assert docID() != DocIdSetIterator.NO_MORE_DOCS;
-        Float score = scores.get(docID());
-        if (score == null) throw new RuntimeException("Null score for the docID: " + docID());
-        return score * boost;
+        return docIdsIter.score() * boost;
     }
 
     @Override
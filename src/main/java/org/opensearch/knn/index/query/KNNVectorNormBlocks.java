@@ -0,0 +1,127 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.opensearch.knn.index.KNNVectorLeafValues;
+import org.opensearch.knn.index.VectorDataType;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lowest and highest L2 norm of the vectors of a field in each block of {@link #BLOCK_SIZE} docs of a segment. Exact
+ * k-NN queries use them to bound the scores of a block and skip it when none of its docs can make it into the top k.
+ *
+ * The norms are computed on the first exact query of a segment and cached until the core of the segment is closed.
+ * Vectors of a segment never change, so the norms stay valid when docs are deleted.
+ */
+public final class KNNVectorNormBlocks {
+
+    static final int BLOCK_SHIFT = 8;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private static final Map<IndexReader.CacheKey, Map<String, KNNVectorNormBlocks>> CACHE = new ConcurrentHashMap<>();
+
+    private final float[] minNorms;
+    private final float[] maxNorms;
+
+    private KNNVectorNormBlocks(final float[] minNorms, final float[] maxNorms) {
+        this.minNorms = minNorms;
+        this.maxNorms = maxNorms;
+    }
+
+    /**
+     * Get the norm blocks of a field in a segment, computing them if they are not cached yet
+     *
+     * @param reader reader of the segment
+     * @param fieldName name of the knn_vector field
+     * @param vectorDataType data type of the field
+     * @return norm blocks of the field
+     * @throws IOException if the vectors of the field cannot be read
+     */
+    public static KNNVectorNormBlocks get(final LeafReader reader, final String fieldName, final VectorDataType vectorDataType)
+        throws IOException {
+        final IndexReader.CacheHelper cacheHelper = reader.getCoreCacheHelper();
+        if (cacheHelper == null) {
+            return compute(reader, fieldName, vectorDataType);
+        }
+        final Map<String, KNNVectorNormBlocks> fieldBlocks = CACHE.computeIfAbsent(cacheHelper.getKey(), key -> {
+            cacheHelper.addClosedListener(CACHE::remove);
+            return new ConcurrentHashMap<>();
+        });
+        final KNNVectorNormBlocks cached = fieldBlocks.get(fieldName);
+        if (cached != null) {
+            return cached;
+        }
+        // Queries racing on a new segment may both compute the norms, only one of them is kept
+        final KNNVectorNormBlocks computed = compute(reader, fieldName, vectorDataType);
+        final KNNVectorNormBlocks previous = fieldBlocks.putIfAbsent(fieldName, computed);
+        return previous == null ? computed : previous;
+    }
+
+    @VisibleForTesting
+    static KNNVectorNormBlocks compute(final LeafReader reader, final String fieldName, final VectorDataType vectorDataType)
+        throws IOException {
+        final int maxDoc = reader.maxDoc();
+        final int blockCount = (maxDoc + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        final float[] minNorms = new float[blockCount];
+        final float[] maxNorms = new float[blockCount];
+        // Blocks without vectors get an empty range, whose bound is never competitive
+        Arrays.fill(minNorms, Float.POSITIVE_INFINITY);
+        Arrays.fill(maxNorms, Float.NEGATIVE_INFINITY);
+
+        final KNNVectorLeafValues values = KNNVectorLeafValues.create(reader, fieldName, vectorDataType);
+        if (values != null) {
+            for (int doc = 0; doc < maxDoc; doc++) {
+                if (values.advanceExact(doc) == false) {
+                    continue;
+                }
+                final float norm = norm(values.vectorValue());
+                final int block = doc >>> BLOCK_SHIFT;
+                minNorms[block] = Math.min(minNorms[block], norm);
+                maxNorms[block] = Math.max(maxNorms[block], norm);
+            }
+        }
+        return new KNNVectorNormBlocks(minNorms, maxNorms);
+    }
+
+    /**
+     * @param docId doc of the segment
+     * @return block holding the doc
+     */
+    public int block(final int docId) {
+        return docId >>> BLOCK_SHIFT;
+    }
+
+    /**
+     * @param block block of the segment
+     * @return first doc after the block
+     */
+    public int blockEnd(final int block) {
+        return (block + 1) << BLOCK_SHIFT;
+    }
+
+    public float minNorm(final int block) {
+        return minNorms[block];
+    }
+
+    public float maxNorm(final int block) {
+        return maxNorms[block];
+    }
+
+    private static float norm(final float[] vector) {
+        double squaredNorm = 0;
+        for (float value : vector) {
+            squaredNorm += (double) value * value;
+        }
+        return (float) Math.sqrt(squaredNorm);
+    }
+}
@@ -6,18 +6,18 @@
 package org.opensearch.knn.index.query;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.StringUtils;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SegmentReader;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.FilteredDocIdSetIterator;
-import org.apache.lucene.search.HitQueue;
-import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.FSDirectory;
@@ -25,14 +25,16 @@ import org.apache.lucene.store.FilterDirectory;
 import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.Bits;
-import org.apache.lucene.util.DocIdSetBuilder;
 import org.apache.lucene.util.FixedBitSet;
 import org.opensearch.common.io.PathUtils;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.lucene.Lucene;
 import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.index.codec.util.NativeIndexBuildScheduler;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
@@ -42,6 +44,9 @@ import org.opensearch.knn.index.query.filtered.FilteredIdsKNNIterator;
 import org.opensearch.knn.index.query.filtered.KNNIterator;
 import org.opensearch.knn.index.query.filtered.NestedFilteredIdsKNNByteIterator;
 import org.opensearch.knn.index.query.filtered.NestedFilteredIdsKNNIterator;
+import org.opensearch.knn.index.query.planner.KNNQueryPlan;
+import org.opensearch.knn.index.query.planner.KNNQueryPlanner;
+import org.opensearch.knn.index.query.planner.KNNQueryPlanningContext;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
@@ -51,14 +56,15 @@ import org.opensearch.knn.plugin.stats.KNNCounter;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static org.opensearch.knn.common.KNNConstants.KNN_ENGINE;
@@ -66,6 +72,7 @@ import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
 import static org.opensearch.knn.common.KNNConstants.SPACE_TYPE;
 import static org.opensearch.knn.common.KNNConstants.VECTOR_DATA_TYPE_FIELD;
 import static org.opensearch.knn.index.util.IndexUtil.getParametersAtLoading;
+import static org.opensearch.knn.plugin.stats.KNNCounter.GRAPH_LOAD_TIMEOUTS;
 import static org.opensearch.knn.plugin.stats.KNNCounter.GRAPH_QUERY_ERRORS;
 
 /**
@@ -80,6 +87,8 @@ public class KNNWeight extends Weight {
 
     private final NativeMemoryCacheManager nativeMemoryCacheManager;
     private final Weight filterWeight;
+    // Method parameters of the query, compiled once for the searches of all segments
+    private final NativeSearchParameters searchParameters;
 
     public KNNWeight(KNNQuery query, float boost) {
         super(query);
@@ -87,6 +96,7 @@ public class KNNWeight extends Weight {
         this.boost = boost;
         this.nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
         this.filterWeight = null;
+        this.searchParameters = NativeSearchParameters.of(query.getMethodParameters());
     }
 
     public KNNWeight(KNNQuery query, float boost, Weight filterWeight) {
@@ -95,6 +105,7 @@ public class KNNWeight extends Weight {
         this.boost = boost;
         this.nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
         this.filterWeight = filterWeight;
+        this.searchParameters = NativeSearchParameters.of(query.getMethodParameters());
     }
 
     public static void initialize(ModelDao modelDao) {
@@ -108,26 +119,45 @@ public class KNNWeight extends Weight {
 
     @Override
     public Scorer scorer(LeafReaderContext context) throws IOException {
+        final KNNQueryResults results = searchLeaf(context);
+        if (results == null) {
+            return null;
+        }
+        if (results.isEmpty()) {
+            return KNNScorer.emptyScorer(this);
+        }
+        return new KNNScorer(this, results.sortByDocId(), boost);
+    }
 
+    /**
+     * Search a single segment.
+     *
+     * @param context segment to search
+     * @return results of the segment with doc ids relative to the segment, or null if the segment has no vector to
+     * search for the field
+     * @throws IOException if the segment cannot be read
+     */
+    KNNQueryResults searchLeaf(LeafReaderContext context) throws IOException {
         final BitSet filterBitSet = getFilteredDocsBitSet(context);
         int cardinality = filterBitSet.cardinality();
         // We don't need to go to JNI layer if no documents are found which satisfy the filters
         // We should give this condition a deeper look that where it should be placed. For now I feel this is a good
         // place,
         if (filterWeight != null && cardinality == 0) {
-            return KNNScorer.emptyScorer(this);
+            return KNNQueryResults.empty();
+        }
+        final KNNQueryResults results;
+        final KNNQueryPlan plan = filterWeight == null ? null : planFilteredSearch(context, cardinality);
+        if (plan != null) {
+            knnQuery.getPlanProfile().record(context.ord, plan);
         }
-        final Map<Integer, Float> docIdsToScoreMap = new HashMap<>();
 
-        /*
-         * The idea for this optimization is to get K results, we need to atleast look at K vectors in the HNSW graph
-         * . Hence, if filtered results are less than K and filter query is present we should shift to exact search.
-         * This improves the recall.
-         */
-        if (filterWeight != null && canDoExactSearch(cardinality)) {
-            docIdsToScoreMap.putAll(doExactSearch(context, filterBitSet, cardinality));
+        if (plan != null && plan.getStrategy() == KNNQueryPlan.Strategy.EXACT) {
+            results = doExactSearch(context, filterBitSet, cardinality);
         } else {
-            Map<Integer, Float> annResults = doANNSearch(context, filterBitSet, cardinality);
+            final boolean postFilter = plan != null && plan.getStrategy() == KNNQueryPlan.Strategy.ANN_POST_FILTER;
+            final int k = getCandidateCount(plan != null ? plan.getK() : knnQuery.getK());
+            KNNQueryResults annResults = doANNSearch(context, filterBitSet, cardinality, k, postFilter);
             if (annResults == null) {
                 return null;
             }
@@ -141,12 +171,9 @@ public class KNNWeight extends Weight {
                 );
                 annResults = doExactSearch(context, filterBitSet, cardinality);
             }
-            docIdsToScoreMap.putAll(annResults);
+            results = annResults;
         }
-        if (docIdsToScoreMap.isEmpty()) {
-            return KNNScorer.emptyScorer(this);
-        }
-        return convertSearchResponseToScorer(docIdsToScoreMap);
+        return results;
     }
 
     private BitSet getFilteredDocsBitSet(final LeafReaderContext ctx) throws IOException {
@@ -201,90 +228,79 @@ public class KNNWeight extends Weight {
         return intArray;
     }
 
-    private Map<Integer, Float> doANNSearch(final LeafReaderContext context, final BitSet filterIdsBitSet, final int cardinality)
-        throws IOException {
+    /**
+     * Search the graph of a segment.
+     *
+     * @param context segment to search
+     * @param filterIdsBitSet docs that match the filter
+     * @param cardinality number of docs that match the filter
+     * @param k number of results to request from the graph
+     * @param postFilter if true, the graph is searched without the filter and the results that do not match the filter
+     *                   are dropped afterwards, keeping the best {@link KNNQuery#getK()} results
+     * @return results of the search, rescored against the full precision vectors when the query has an oversample
+     * factor, or null if there are none
+     */
+    private KNNQueryResults doANNSearch(
+        final LeafReaderContext context,
+        final BitSet filterIdsBitSet,
+        final int cardinality,
+        final int k,
+        final boolean postFilter
+    ) throws IOException {
         final SegmentReader reader = Lucene.segmentReader(context.reader());
-        String directory = ((FSDirectory) FilterDirectory.unwrap(reader.directory())).getDirectory().toString();
-
-        FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(knnQuery.getField());
-
-        if (fieldInfo == null) {
-            log.debug("[KNN] Field info not found for {}:{}", knnQuery.getField(), reader.getSegmentName());
+        final FieldContext field = getFieldContext(reader);
+        if (field == null) {
             return null;
         }
-
-        KNNEngine knnEngine;
-        SpaceType spaceType;
-        VectorDataType vectorDataType;
-
-        // Check if a modelId exists. If so, the space type and engine will need to be picked up from the model's
-        // metadata.
-        String modelId = fieldInfo.getAttribute(MODEL_ID);
-        if (modelId != null) {
-            ModelMetadata modelMetadata = modelDao.getMetadata(modelId);
-            if (!ModelUtil.isModelCreated(modelMetadata)) {
-                throw new RuntimeException("Model \"" + modelId + "\" is not created.");
-            }
-
-            knnEngine = modelMetadata.getKnnEngine();
-            spaceType = modelMetadata.getSpaceType();
-            vectorDataType = modelMetadata.getVectorDataType();
-        } else {
-            String engineName = fieldInfo.attributes().getOrDefault(KNN_ENGINE, KNNEngine.NMSLIB.getName());
-            knnEngine = KNNEngine.getEngine(engineName);
-            String spaceTypeName = fieldInfo.attributes().getOrDefault(SPACE_TYPE, SpaceType.L2.getValue());
-            spaceType = SpaceType.getSpace(spaceTypeName);
-            vectorDataType = VectorDataType.get(
-                fieldInfo.attributes().getOrDefault(VECTOR_DATA_TYPE_FIELD, VectorDataType.FLOAT.getValue())
-            );
-        }
+        final FieldInfo fieldInfo = field.fieldInfo;
+        final KNNEngine knnEngine = field.knnEngine;
+        final SpaceType spaceType = field.spaceType;
 
         List<String> engineFiles = getEngineFiles(reader, knnEngine.getExtension());
         if (engineFiles.isEmpty()) {
-            log.debug("[KNN] No engine index found for field {} for segment {}", knnQuery.getField(), reader.getSegmentName());
-            return null;
+            // Segments below the graph build minimum are written without graph and are scored exactly
+            log.debug(
+                "[KNN] No engine index found for field {} for segment {}, doing exact search",
+                knnQuery.getField(),
+                reader.getSegmentName()
+            );
+            return doExactSearchWithoutGraph(context, fieldInfo, knnEngine, spaceType, filterIdsBitSet, cardinality);
         }
 
-        Path indexPath = PathUtils.get(directory, engineFiles.get(0));
-        final KNNQueryResult[] results;
+        final KNNQueryResults results;
         KNNCounter.GRAPH_QUERY_REQUESTS.increment();
 
         // We need to first get index allocation
-        NativeMemoryAllocation indexAllocation;
-        try {
-            indexAllocation = nativeMemoryCacheManager.get(
-                new NativeMemoryEntryContext.IndexEntryContext(
-                    indexPath.toString(),
-                    NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance(),
-                    getParametersAtLoading(spaceType, knnEngine, knnQuery.getIndexName(), vectorDataType),
-                    knnQuery.getIndexName(),
-                    modelId
-                ),
-                true
-            );
-        } catch (ExecutionException e) {
-            GRAPH_QUERY_ERRORS.increment();
-            throw new RuntimeException(e);
+        final NativeMemoryAllocation indexAllocation = getIndexAllocation(reader, field, engineFiles.get(0));
+        if (indexAllocation == null) {
+            // The graph is still loading. Score the segment exactly so the search does not stall on a cold segment.
+            log.debug("[KNN] Graph load timed out for {}, falling back to exact search", engineFiles.get(0));
+            return doExactSearchWithoutGraph(context, fieldInfo, knnEngine, spaceType, filterIdsBitSet, cardinality);
         }
 
         // From cardinality select different filterIds type
-        FilterIdsSelector filterIdsSelector = FilterIdsSelector.getFilterIdSelector(filterIdsBitSet, cardinality);
+        FilterIdsSelector filterIdsSelector = postFilter
+            ? FilterIdsSelector.getFilterIdSelector(new FixedBitSet(0), 0)
+            : FilterIdsSelector.getFilterIdSelector(filterIdsBitSet, cardinality);
         long[] filterIds = filterIdsSelector.getFilterIds();
         FilterIdsSelector.FilterIdsSelectorType filterType = filterIdsSelector.getFilterType();
         // Now that we have the allocation, we need to readLock it
         indexAllocation.readLock();
+        // Native graph builds of the node leave a thread to the search
+        NativeIndexBuildScheduler.getInstance().searchStarted();
         try {
             if (indexAllocation.isClosed()) {
                 throw new RuntimeException("Index has already been closed");
             }
             int[] parentIds = getParentIdsArray(context);
-            if (knnQuery.getK() > 0) {
+            final long startTime = System.nanoTime();
+            if (k > 0) {
                 if (knnQuery.getVectorDataType() == VectorDataType.BINARY) {
                     results = JNIService.queryBinaryIndex(
                         indexAllocation.getMemoryAddress(),
                         knnQuery.getByteQueryVector(),
-                        knnQuery.getK(),
-                        knnQuery.getMethodParameters(),
+                        k,
+                        searchParameters,
                         knnEngine,
                         filterIds,
                         filterType.getValue(),
@@ -294,8 +310,8 @@ public class KNNWeight extends Weight {
                     results = JNIService.queryIndex(
                         indexAllocation.getMemoryAddress(),
                         knnQuery.getQueryVector(),
-                        knnQuery.getK(),
-                        knnQuery.getMethodParameters(),
+                        k,
+                        searchParameters,
                         knnEngine,
                         filterIds,
                         filterType.getValue(),
@@ -307,7 +323,7 @@ public class KNNWeight extends Weight {
                     indexAllocation.getMemoryAddress(),
                     knnQuery.getQueryVector(),
                     knnQuery.getRadius(),
-                    knnQuery.getMethodParameters(),
+                    searchParameters,
                     knnEngine,
                     knnQuery.getContext().getMaxResultWindow(),
                     filterIds,
@@ -315,10 +331,14 @@ public class KNNWeight extends Weight {
                     parentIds
                 );
             }
+            if (k > 0 && (filterWeight == null || postFilter)) {
+                KNNQueryPlanner.getInstance().recordAnnSearch(knnEngine, reader.maxDoc(), k, System.nanoTime() - startTime);
+            }
         } catch (Exception e) {
             GRAPH_QUERY_ERRORS.increment();
             throw new RuntimeException(e);
         } finally {
+            NativeIndexBuildScheduler.getInstance().searchFinished();
             indexAllocation.readUnlock();
         }
 
@@ -328,13 +348,344 @@ public class KNNWeight extends Weight {
          * Since by default results are retrieved in the descending order of scores, to get the nearest
          * neighbors we are inverting the scores.
          */
-        if (results.length == 0) {
+        if (results.isEmpty()) {
             log.debug("[KNN] Query yielded 0 results");
             return null;
         }
 
-        return Arrays.stream(results)
-            .collect(Collectors.toMap(KNNQueryResult::getId, result -> knnEngine.score(result.getScore(), spaceType)));
+        results.translateScores(knnEngine, spaceType);
+        if (isRescoring()) {
+            return rescore(context, results, postFilter ? filterIdsBitSet : null);
+        }
+        return postFilter ? postFilter(results, filterIdsBitSet) : results;
+    }
+
+    /**
+     * Search a single segment for several k-NN queries. The queries that can share a graph search, see
+     * {@link #canSearchInBatchWith(KNNWeight)}, search the faiss graph of the segment with a single native call
+     * holding all of their query vectors. The other queries, and all queries when the segment has no faiss graph
+     * for the field, are searched one by one with {@link #searchLeaf(LeafReaderContext)}.
+     *
+     * @param weights weights of the queries
+     * @param context segment to search
+     * @return results of every query in the order of the weights, with doc ids relative to the segment; null for the
+     * queries without results
+     * @throws IOException if the segment cannot be read
+     */
+    static KNNQueryResults[] searchLeafBatch(final List<KNNWeight> weights, final LeafReaderContext context) throws IOException {
+        final KNNQueryResults[] results = new KNNQueryResults[weights.size()];
+        final List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < weights.size(); i++) {
+            if (weights.get(i).canSearchInBatchWith(batch.isEmpty() ? weights.get(i) : weights.get(batch.get(0)))) {
+                batch.add(i);
+            }
+        }
+        final boolean[] searched = new boolean[weights.size()];
+        if (batch.size() > 1 && searchGraphBatch(weights, batch, context, results)) {
+            for (int position : batch) {
+                searched[position] = true;
+            }
+        }
+        for (int i = 0; i < weights.size(); i++) {
+            if (!searched[i]) {
+                results[i] = weights.get(i).searchLeaf(context);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Check whether the graph search of this query can share a native call with the one of another query. Both need
+     * to be top k queries without filter, nested docs or rescoring, on float vectors of the same field and dimension,
+     * with the same method parameters.
+     *
+     * @param other query to share the call with
+     * @return true if both queries can be searched in a single native call
+     */
+    private boolean canSearchInBatchWith(final KNNWeight other) {
+        final KNNQuery otherQuery = other.knnQuery;
+        return filterWeight == null
+            && other.filterWeight == null
+            && knnQuery.getK() > 0
+            && knnQuery.getRadius() == null
+            && knnQuery.getParentsFilter() == null
+            && !isRescoring()
+            && knnQuery.getVectorDataType() == VectorDataType.FLOAT
+            && knnQuery.getQueryVector() != null
+            && otherQuery.getQueryVector() != null
+            && knnQuery.getQueryVector().length == otherQuery.getQueryVector().length
+            && Objects.equals(knnQuery.getField(), otherQuery.getField())
+            && Objects.equals(knnQuery.getIndexName(), otherQuery.getIndexName())
+            && searchParameters.equals(other.searchParameters);
+    }
+
+    /**
+     * Search the faiss graph of a segment for a batch of queries with a single native call, requesting the largest k of
+     * the batch for every query and keeping the first k results of each one.
+     *
+     * @param weights weights of all queries
+     * @param batch positions of the weights to search in the batch
+     * @param context segment to search
+     * @param results results of every query, filled for the queries of the batch
+     * @return false if the segment has no faiss graph for the field, and the batch was not searched
+     * @throws IOException if the segment cannot be read
+     */
+    private static boolean searchGraphBatch(
+        final List<KNNWeight> weights,
+        final List<Integer> batch,
+        final LeafReaderContext context,
+        final KNNQueryResults[] results
+    ) throws IOException {
+        final KNNWeight first = weights.get(batch.get(0));
+        final SegmentReader reader = Lucene.segmentReader(context.reader());
+        final FieldContext field = first.getFieldContext(reader);
+        if (field == null || field.knnEngine != KNNEngine.FAISS) {
+            return false;
+        }
+        final List<String> engineFiles = first.getEngineFiles(reader, field.knnEngine.getExtension());
+        if (engineFiles.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            KNNCounter.GRAPH_QUERY_REQUESTS.increment();
+        }
+        final NativeMemoryAllocation indexAllocation = first.getIndexAllocation(reader, field, engineFiles.get(0));
+        if (indexAllocation == null) {
+            // The graph is still loading, and every query of the batch scores the segment exactly
+            log.debug("[KNN] Graph load timed out for {}, falling back to exact search", engineFiles.get(0));
+            for (int position : batch) {
+                results[position] = weights.get(position)
+                    .doExactSearchWithoutGraph(context, field.fieldInfo, field.knnEngine, field.spaceType, new FixedBitSet(0), 0);
+            }
+            return true;
+        }
+
+        final int dimension = first.knnQuery.getQueryVector().length;
+        final float[] queryVectors = new float[batch.size() * dimension];
+        int maxK = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            final KNNQuery query = weights.get(batch.get(i)).knnQuery;
+            System.arraycopy(query.getQueryVector(), 0, queryVectors, i * dimension, dimension);
+            maxK = Math.max(maxK, query.getK());
+        }
+
+        final KNNQueryResults batchResults;
+        indexAllocation.readLock();
+        NativeIndexBuildScheduler.getInstance().searchStarted();
+        try {
+            if (indexAllocation.isClosed()) {
+                throw new RuntimeException("Index has already been closed");
+            }
+            batchResults = JNIService.queryIndexBatch(
+                indexAllocation.getMemoryAddress(),
+                queryVectors,
+                batch.size(),
+                maxK,
+                first.searchParameters,
+                field.knnEngine,
+                KNNSettings.getBatchQueryMaxThreads()
+            );
+        } catch (Exception e) {
+            GRAPH_QUERY_ERRORS.increment();
+            throw new RuntimeException(e);
+        } finally {
+            NativeIndexBuildScheduler.getInstance().searchFinished();
+            indexAllocation.readUnlock();
+        }
+
+        // The results of the i-th query of the batch start at i * maxK, padded with the doc id -1
+        for (int i = 0; i < batch.size(); i++) {
+            final int k = weights.get(batch.get(i)).knnQuery.getK();
+            int size = 0;
+            while (size < k && batchResults.getDocId(i * maxK + size) != -1) {
+                size++;
+            }
+            if (size == 0) {
+                log.debug("[KNN] Query yielded 0 results");
+                continue;
+            }
+            final int[] docIds = new int[size];
+            final float[] scores = new float[size];
+            for (int j = 0; j < size; j++) {
+                docIds[j] = batchResults.getDocId(i * maxK + j);
+                scores[j] = batchResults.getScore(i * maxK + j);
+            }
+            results[batch.get(i)] = new KNNQueryResults(docIds, scores).translateScores(field.knnEngine, field.spaceType);
+        }
+        return true;
+    }
+
+    /**
+     * Engine, space type and data type of the field of the query in a segment. Fields of models take them from the
+     * metadata of the model.
+     */
+    @AllArgsConstructor
+    private static final class FieldContext {
+        private final FieldInfo fieldInfo;
+        private final KNNEngine knnEngine;
+        private final SpaceType spaceType;
+        private final VectorDataType vectorDataType;
+        private final String modelId;
+    }
+
+    /**
+     * @param reader segment to search
+     * @return {@link FieldContext} of the field of the query, or null if the segment has no such field
+     */
+    private FieldContext getFieldContext(final SegmentReader reader) {
+        final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(knnQuery.getField());
+        if (fieldInfo == null) {
+            log.debug("[KNN] Field info not found for {}:{}", knnQuery.getField(), reader.getSegmentName());
+            return null;
+        }
+
+        // Check if a modelId exists. If so, the space type and engine will need to be picked up from the model's
+        // metadata.
+        final String modelId = fieldInfo.getAttribute(MODEL_ID);
+        if (modelId != null) {
+            ModelMetadata modelMetadata = modelDao.getMetadata(modelId);
+            if (!ModelUtil.isModelCreated(modelMetadata)) {
+                throw new RuntimeException("Model \"" + modelId + "\" is not created.");
+            }
+            return new FieldContext(
+                fieldInfo,
+                modelMetadata.getKnnEngine(),
+                modelMetadata.getSpaceType(),
+                modelMetadata.getVectorDataType(),
+                modelId
+            );
+        }
+        final String engineName = fieldInfo.attributes().getOrDefault(KNN_ENGINE, KNNEngine.NMSLIB.getName());
+        final String spaceTypeName = fieldInfo.attributes().getOrDefault(SPACE_TYPE, SpaceType.L2.getValue());
+        return new FieldContext(
+            fieldInfo,
+            KNNEngine.getEngine(engineName),
+            SpaceType.getSpace(spaceTypeName),
+            VectorDataType.get(fieldInfo.attributes().getOrDefault(VECTOR_DATA_TYPE_FIELD, VectorDataType.FLOAT.getValue())),
+            null
+        );
+    }
+
+    /**
+     * Gets the allocation of the graph of a segment, see {@link #getIndexAllocation(NativeMemoryEntryContext.IndexEntryContext)}
+     *
+     * @param reader segment to search
+     * @param field field of the query in the segment
+     * @param engineFile name of the graph file of the field
+     * @return allocation of the graph, or null if the load did not finish within the fallback timeout
+     */
+    private NativeMemoryAllocation getIndexAllocation(final SegmentReader reader, final FieldContext field, final String engineFile) {
+        final String directory = ((FSDirectory) FilterDirectory.unwrap(reader.directory())).getDirectory().toString();
+        final Path indexPath = PathUtils.get(directory, engineFile);
+        try {
+            return getIndexAllocation(
+                new NativeMemoryEntryContext.IndexEntryContext(
+                    indexPath.toString(),
+                    NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance(),
+                    getParametersAtLoading(field.spaceType, field.knnEngine, knnQuery.getIndexName(), field.vectorDataType),
+                    knnQuery.getIndexName(),
+                    field.modelId
+                )
+            );
+        } catch (ExecutionException e) {
+            GRAPH_QUERY_ERRORS.increment();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true if the candidates of the graph search are rescored against the vectors of the doc values
+     */
+    private boolean isRescoring() {
+        return knnQuery.getOversampleFactor() != null && knnQuery.getRadius() == null && knnQuery.getK() > 0;
+    }
+
+    /**
+     * Get the number of results to request from the graph for k results, which is k multiplied by the oversample factor
+     * of the query when the results are rescored
+     *
+     * @param k number of results to return
+     * @return number of results to request from the graph
+     */
+    private int getCandidateCount(final int k) {
+        if (!isRescoring() || k <= 0) {
+            return k;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil((double) k * knnQuery.getOversampleFactor()));
+    }
+
+    /**
+     * Score the candidates of a graph search exactly against the full precision vectors of the doc values, and keep
+     * the best {@link KNNQuery#getK()} of them. Graphs of encoded vectors, like faiss sq and pq, only return approximate
+     * distances, so the true nearest neighbors are found among more candidates than k.
+     *
+     * @param context segment to search
+     * @param candidates results of the graph search
+     * @param filterIdsBitSet docs that match the filter when the graph was searched without it, or null
+     * @return rescored results
+     */
+    private KNNQueryResults rescore(final LeafReaderContext context, final KNNQueryResults candidates, final BitSet filterIdsBitSet) {
+        final FixedBitSet candidatesBitSet = new FixedBitSet(context.reader().maxDoc());
+        int candidatesCount = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final int docId = candidates.getDocId(i);
+            if (filterIdsBitSet != null && (docId >= filterIdsBitSet.length() || !filterIdsBitSet.get(docId))) {
+                continue;
+            }
+            if (!candidatesBitSet.getAndSet(docId)) {
+                candidatesCount++;
+            }
+        }
+        if (candidatesCount == 0) {
+            return KNNQueryResults.empty();
+        }
+        return doExactSearch(context, candidatesBitSet, candidatesCount);
+    }
+
+    /**
+     * Drop the results that do not match the filter and keep the best {@link KNNQuery#getK()} of the others
+     *
+     * @param results results of a graph search with final scores
+     * @param filterIdsBitSet docs that match the filter
+     * @return filtered results
+     */
+    private KNNQueryResults postFilter(final KNNQueryResults results, final BitSet filterIdsBitSet) {
+        final TopKHeap heap = new TopKHeap(Math.min(knnQuery.getK(), results.size()));
+        for (int i = 0; i < results.size(); i++) {
+            final int docId = results.getDocId(i);
+            if (docId < filterIdsBitSet.length() && filterIdsBitSet.get(docId)) {
+                heap.insertWithOverflow(docId, results.getScore(i));
+            }
+        }
+        return heap.toResults();
+    }
+
+    /**
+     * Gets the allocation of a graph from the cache, loading it if needed. When a graph load fallback timeout is
+     * configured and the query is a top k query, the wait for a load is bounded by the timeout. A load that times
+     * out keeps running on the graph load thread pool.
+     *
+     * @param indexEntryContext context of the graph to get
+     * @return allocation of the graph, or null if the load did not finish within the timeout
+     * @throws ExecutionException if the load failed
+     */
+    private NativeMemoryAllocation getIndexAllocation(final NativeMemoryEntryContext.IndexEntryContext indexEntryContext)
+        throws ExecutionException {
+        final TimeValue timeout = KNNSettings.getGraphLoadFallbackTimeout();
+        if (timeout == null || timeout.nanos() < 0 || knnQuery.getK() <= 0) {
+            return nativeMemoryCacheManager.get(indexEntryContext, true);
+        }
+
+        final CompletableFuture<NativeMemoryAllocation> future = nativeMemoryCacheManager.getAsync(indexEntryContext);
+        try {
+            return future.get(timeout.nanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            GRAPH_LOAD_TIMEOUTS.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        }
     }
 
     @VisibleForTesting
@@ -356,41 +707,85 @@ public class KNNWeight extends Weight {
         return engineFiles;
     }
 
-    private Map<Integer, Float> doExactSearch(final LeafReaderContext leafReaderContext, final BitSet filterIdsBitSet, int cardinality) {
+    private KNNQueryResults doExactSearch(final LeafReaderContext leafReaderContext, final BitSet filterIdsBitSet, int cardinality) {
         try {
-            // Creating min heap and init with MAX DocID and Score as -INF.
-            final HitQueue queue = new HitQueue(Math.min(this.knnQuery.getK(), cardinality), true);
-            ScoreDoc topDoc = queue.top();
-            final Map<Integer, Float> docToScore = new HashMap<>();
-            KNNIterator iterator = getFilteredKNNIterator(leafReaderContext, filterIdsBitSet);
+            final long startTime = System.nanoTime();
+            final TopKHeap heap = new TopKHeap(Math.min(this.knnQuery.getK(), cardinality));
+            final KNNIterator iterator = getFilteredKNNIterator(leafReaderContext, filterIdsBitSet);
             int docId;
             while ((docId = iterator.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
-                if (iterator.score() > topDoc.score) {
-                    topDoc.score = iterator.score();
-                    topDoc.doc = docId;
-                    // As the HitQueue is min heap, updating top will bring the doc with -INF score or worst score we
-                    // have seen till now on top.
-                    topDoc = queue.updateTop();
-                }
+                heap.insertWithOverflow(docId, iterator.score());
             }
+            final long bytesScanned = (long) cardinality * getQueryVectorSizeInBytes();
+            KNNQueryPlanner.getInstance().recordExactSearch(bytesScanned, System.nanoTime() - startTime);
+            // Docs with negative scores are dropped by the heap
+            return heap.toResults();
+        } catch (Exception e) {
+            log.error("Error while getting the doc values to do the k-NN Search for query : {}", this.knnQuery, e);
+        }
+        return KNNQueryResults.empty();
+    }
 
-            // If scores are negative we will remove them.
-            // This is done, because there can be negative values in the Heap as we init the heap with Score as -INF.
-            // If filterIds < k, the some values in heap can have a negative score.
-            while (queue.size() > 0 && queue.top().score < 0) {
-                queue.pop();
-            }
+    /**
+     * Search a segment whose graph cannot be used by scoring the vectors of its doc values. Top k queries keep the
+     * best k docs, and radial queries keep the docs that score at least as well as the radius.
+     *
+     * @param context segment to search
+     * @param fieldInfo field of the query in the segment
+     * @param knnEngine engine of the field, to translate the radius to a score
+     * @param spaceType space type of the field
+     * @param filterIdsBitSet docs that match the filter
+     * @param cardinality number of docs that match the filter
+     * @return results of the search, or null if the segment has no doc to score
+     */
+    private KNNQueryResults doExactSearchWithoutGraph(
+        final LeafReaderContext context,
+        final FieldInfo fieldInfo,
+        final KNNEngine knnEngine,
+        final SpaceType spaceType,
+        final BitSet filterIdsBitSet,
+        final int cardinality
+    ) throws IOException {
+        final BitSet docsBitSet;
+        final int docsCount;
+        if (filterWeight != null) {
+            docsBitSet = filterIdsBitSet;
+            docsCount = cardinality;
+        } else {
+            final LeafReader reader = context.reader();
+            docsBitSet = createBitSet(DocValues.getBinary(reader, fieldInfo.getName()), reader.getLiveDocs(), reader.maxDoc());
+            docsCount = docsBitSet.cardinality();
+        }
+        if (docsCount == 0) {
+            return null;
+        }
+        if (knnQuery.getRadius() != null) {
+            return doRadialExactSearch(context, docsBitSet, docsCount, knnEngine.score(knnQuery.getRadius(), spaceType));
+        }
+        return doExactSearch(context, docsBitSet, docsCount);
+    }
 
-            while (queue.size() > 0) {
-                final ScoreDoc doc = queue.pop();
-                docToScore.put(doc.doc, doc.score);
+    private KNNQueryResults doRadialExactSearch(
+        final LeafReaderContext leafReaderContext,
+        final BitSet filterIdsBitSet,
+        final int cardinality,
+        final float minScore
+    ) {
+        try {
+            final TopKHeap heap = new TopKHeap(Math.min(knnQuery.getContext().getMaxResultWindow(), cardinality));
+            final KNNIterator iterator = getFilteredKNNIterator(leafReaderContext, filterIdsBitSet);
+            int docId;
+            while ((docId = iterator.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
+                final float score = iterator.score();
+                if (score >= minScore) {
+                    heap.insertWithOverflow(docId, score);
+                }
             }
-
-            return docToScore;
+            return heap.toResults();
         } catch (Exception e) {
-            log.error("Error while getting the doc values to do the k-NN Search for query : {}", this.knnQuery, e);
+            log.error("Error while getting the doc values to do the radial k-NN Search for query : {}", this.knnQuery, e);
         }
-        return Collections.emptyMap();
+        return KNNQueryResults.empty();
     }
 
     private KNNIterator getFilteredKNNIterator(final LeafReaderContext leafReaderContext, final BitSet filterIdsBitSet) throws IOException {
@@ -409,29 +804,20 @@ public class KNNWeight extends Weight {
                     knnQuery.getParentsFilter().getBitSet(leafReaderContext)
                 );
         } else {
+            final KNNVectorDocValuesEncoding encoding = KNNVectorDocValuesEncoding.fromFieldInfo(fieldInfo);
             return knnQuery.getParentsFilter() == null
-                ? new FilteredIdsKNNIterator(filterIdsBitSet, knnQuery.getQueryVector(), values, spaceType)
+                ? new FilteredIdsKNNIterator(filterIdsBitSet, knnQuery.getQueryVector(), values, spaceType, encoding)
                 : new NestedFilteredIdsKNNIterator(
                     filterIdsBitSet,
                     knnQuery.getQueryVector(),
                     values,
                     spaceType,
-                    knnQuery.getParentsFilter().getBitSet(leafReaderContext)
+                    knnQuery.getParentsFilter().getBitSet(leafReaderContext),
+                    encoding
                 );
         }
     }
 
-    private Scorer convertSearchResponseToScorer(final Map<Integer, Float> docsToScore) throws IOException {
-        final int maxDoc = Collections.max(docsToScore.keySet()) + 1;
-        final DocIdSetBuilder docIdSetBuilder = new DocIdSetBuilder(maxDoc);
-        // The docIdSetIterator will contain the docids of the returned results. So, before adding results to
-        // the builder, we can grow to docsToScore.size()
-        final DocIdSetBuilder.BulkAdder setAdder = docIdSetBuilder.grow(docsToScore.size());
-        docsToScore.keySet().forEach(setAdder::add);
-        final DocIdSetIterator docIdSetIter = docIdSetBuilder.build().iterator();
-        return new KNNScorer(this, docIdSetIter, docsToScore, boost);
-    }
-
     @Override
     public boolean isCacheable(LeafReaderContext context) {
         return true;
@@ -458,33 +844,108 @@ public class KNNWeight extends Weight {
         );
     }
 
-    private boolean canDoExactSearch(final int filterIdsCount) {
+    /**
+     * Choose how a segment is searched when the query has a filter. Fixed rules take precedence, and the remaining
+     * cases are decided by {@link KNNQueryPlanner} when it is enabled for the index.
+     *
+     * @param context segment to search
+     * @param filterIdsCount number of docs that match the filter
+     * @return {@link KNNQueryPlan}
+     */
+    private KNNQueryPlan planFilteredSearch(final LeafReaderContext context, final int filterIdsCount) throws IOException {
         log.debug(
             "Info for doing exact search filterIdsLength : {}, Threshold value: {}",
             filterIdsCount,
             KNNSettings.getFilteredExactSearchThreshold(knnQuery.getIndexName())
         );
+        final int k = knnQuery.getK();
         if (knnQuery.getRadius() != null) {
-            return false;
+            return KNNQueryPlan.of(KNNQueryPlan.Strategy.ANN, k, "radial_search");
         }
         int filterThresholdValue = KNNSettings.getFilteredExactSearchThreshold(knnQuery.getIndexName());
-        // Refer this GitHub around more details https://github.com/opensearch-project/k-NN/issues/1049 on the logic
-        if (filterIdsCount <= knnQuery.getK()) {
-            return true;
+        /*
+         * The idea for this optimization is to get K results, we need to atleast look at K vectors in the HNSW graph
+         * . Hence, if filtered results are less than K and filter query is present we should shift to exact search.
+         * This improves the recall.
+         * Refer this GitHub around more details https://github.com/opensearch-project/k-NN/issues/1049 on the logic
+         */
+        if (filterIdsCount <= k) {
+            return KNNQueryPlan.of(KNNQueryPlan.Strategy.EXACT, k, "filter_count_at_most_k");
         }
         // See user has defined Exact Search filtered threshold. if yes, then use that setting.
         if (isExactSearchThresholdSettingSet(filterThresholdValue)) {
-            return filterThresholdValue >= filterIdsCount;
+            return KNNQueryPlan.of(
+                filterThresholdValue >= filterIdsCount ? KNNQueryPlan.Strategy.EXACT : KNNQueryPlan.Strategy.ANN,
+                k,
+                "filtered_exact_search_threshold"
+            );
+        }
+
+        if (KNNSettings.isFilteredQueryPlannerEnabled(knnQuery.getIndexName())) {
+            final KNNQueryPlanningContext planningContext = getPlanningContext(context, filterIdsCount);
+            if (planningContext != null) {
+                return KNNQueryPlanner.getInstance().plan(planningContext);
+            }
         }
 
         // if no setting is set, then use the default max distance computation value to see if we can do exact search.
-        /**
-         * TODO we can have a different MAX_DISTANCE_COMPUTATIONS for binary index as computation cost for binary index
-         * is cheaper than computation cost for non binary vector
-         */
-        return KNNConstants.MAX_DISTANCE_COMPUTATIONS >= filterIdsCount * (knnQuery.getVectorDataType() == VectorDataType.FLOAT
-            ? knnQuery.getQueryVector().length
-            : knnQuery.getByteQueryVector().length);
+        // Binary vectors are scored with a popcount per 64 bits instead of a multiply-add per dimension, so their
+        // budget is counted in bytes of float vectors, like the exact search costs of the planner.
+        final boolean canDoExactSearch;
+        if (knnQuery.getVectorDataType() == VectorDataType.BINARY) {
+            final long maxExactSearchBytes = (long) KNNConstants.MAX_DISTANCE_COMPUTATIONS * Float.BYTES;
+            canDoExactSearch = maxExactSearchBytes >= filterIdsCount * getQueryVectorSizeInBytes();
+        } else {
+            canDoExactSearch = KNNConstants.MAX_DISTANCE_COMPUTATIONS >= (long) filterIdsCount * getQueryDimension();
+        }
+        return KNNQueryPlan.of(
+            canDoExactSearch ? KNNQueryPlan.Strategy.EXACT : KNNQueryPlan.Strategy.ANN,
+            k,
+            "max_distance_computations"
+        );
+    }
+
+    /**
+     * Collect the properties of a segment that the planner estimates costs from.
+     *
+     * @param context segment to search
+     * @param filterIdsCount number of docs that match the filter
+     * @return {@link KNNQueryPlanningContext}, or null if the segment has no graph for the field
+     */
+    private KNNQueryPlanningContext getPlanningContext(final LeafReaderContext context, final int filterIdsCount) throws IOException {
+        final SegmentReader reader = Lucene.segmentReader(context.reader());
+        final FieldContext field = getFieldContext(reader);
+        if (field == null) {
+            return null;
+        }
+        final List<String> engineFiles = getEngineFiles(reader, field.knnEngine.getExtension());
+        if (engineFiles.isEmpty()) {
+            return null;
+        }
+        final String directory = ((FSDirectory) FilterDirectory.unwrap(reader.directory())).getDirectory().toString();
+        final String indexPath = PathUtils.get(directory, engineFiles.get(0)).toString();
+        return KNNQueryPlanningContext.builder()
+            .k(knnQuery.getK())
+            .filterCount(filterIdsCount)
+            .maxDoc(reader.maxDoc())
+            .dimension(getQueryDimension())
+            .vectorDataType(knnQuery.getVectorDataType())
+            .knnEngine(field.knnEngine)
+            .graphLoaded(nativeMemoryCacheManager.isLoaded(indexPath))
+            .graphSizeInBytes(reader.directory().fileLength(engineFiles.get(0)))
+            .nested(knnQuery.getParentsFilter() != null)
+            .build();
+    }
+
+    private int getQueryDimension() {
+        if (knnQuery.getVectorDataType() == VectorDataType.BINARY) {
+            return knnQuery.getByteQueryVector().length * Byte.SIZE;
+        }
+        return knnQuery.getQueryVector() != null ? knnQuery.getQueryVector().length : knnQuery.getByteQueryVector().length;
+    }
+
+    private long getQueryVectorSizeInBytes() {
+        return KNNQueryPlanningContext.getVectorSizeInBytes(knnQuery.getVectorDataType(), getQueryDimension());
     }
 
     /**
@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_SEARCH;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NPROBES;
+
+/**
+ * Method parameters of a k-NN query compiled into primitives, which are passed to the native layer as ints instead of
+ * a map that the native layer would convert on every segment search. Parameters that the query does not set are
+ * {@link #NOT_SET}, and the native layer then uses the value of the graph.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public final class NativeSearchParameters {
+
+    public static final int NOT_SET = -1;
+    public static final NativeSearchParameters EMPTY = new NativeSearchParameters(NOT_SET, NOT_SET);
+
+    private final int efSearch;
+    private final int nprobes;
+
+    /**
+     * @param methodParameters method parameters of a k-NN query, or null
+     * @return {@link NativeSearchParameters} of the method parameters
+     */
+    public static NativeSearchParameters of(final Map<String, ?> methodParameters) {
+        if (methodParameters == null || methodParameters.isEmpty()) {
+            return EMPTY;
+        }
+        return new NativeSearchParameters(
+            getInt(methodParameters, METHOD_PARAMETER_EF_SEARCH),
+            getInt(methodParameters, METHOD_PARAMETER_NPROBES)
+        );
+    }
+
+    private static int getInt(final Map<String, ?> methodParameters, final String name) {
+        final Object value = methodParameters.get(name);
+        return value instanceof Number ? ((Number) value).intValue() : NOT_SET;
+    }
+}
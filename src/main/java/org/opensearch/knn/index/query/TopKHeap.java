@@ -0,0 +1,138 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+/**
+ * Bounded min heap of doc ids and scores held in parallel primitive arrays, used to keep the top k docs of an exact
+ * search without allocating an object per doc. Docs are ordered by score, and docs with equal scores by doc id, the
+ * same way as {@link org.apache.lucene.search.HitQueue}: the doc on top of the heap is the one with the lowest score
+ * and, among those, the highest doc id.
+ */
+public final class TopKHeap {
+
+    private final int[] docIds;
+    private final float[] scores;
+    private int size;
+
+    /**
+     * @param k maximum number of docs kept by the heap
+     */
+    public TopKHeap(final int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative, got " + k);
+        }
+        this.docIds = new int[k];
+        this.scores = new float[k];
+    }
+
+    /**
+     * Add a doc to the heap. Once the heap is full, the doc replaces the worst doc only if its score is higher.
+     *
+     * @param docId doc id
+     * @param score score of the doc
+     * @return true if the doc was added
+     */
+    public boolean insertWithOverflow(final int docId, final float score) {
+        if (size < docIds.length) {
+            docIds[size] = docId;
+            scores[size] = score;
+            upHeap(size++);
+            return true;
+        }
+        if (size == 0 || score <= scores[0]) {
+            return false;
+        }
+        docIds[0] = docId;
+        scores[0] = score;
+        downHeap(0);
+        return true;
+    }
+
+    /**
+     * @return lowest score in the heap, or negative infinity while the heap is not full
+     */
+    public float minCompetitiveScore() {
+        return size < docIds.length ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drain the heap into results sorted by descending score. Docs with negative scores are dropped. The heap is empty
+     * afterwards.
+     *
+     * @return {@link KNNQueryResults} with the docs of the heap
+     */
+    public KNNQueryResults toResults() {
+        while (size > 0 && scores[0] < 0) {
+            pop();
+        }
+        final int resultSize = size;
+        final int[] resultDocIds = new int[resultSize];
+        final float[] resultScores = new float[resultSize];
+        for (int i = resultSize - 1; i >= 0; i--) {
+            resultDocIds[i] = docIds[0];
+            resultScores[i] = scores[0];
+            pop();
+        }
+        return new KNNQueryResults(resultDocIds, resultScores);
+    }
+
+    private void pop() {
+        size--;
+        docIds[0] = docIds[size];
+        scores[0] = scores[size];
+        downHeap(0);
+    }
+
+    private void upHeap(int index) {
+        final int docId = docIds[index];
+        final float score = scores[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (!lessThan(docId, score, docIds[parent], scores[parent])) {
+                break;
+            }
+            docIds[index] = docIds[parent];
+            scores[index] = scores[parent];
+            index = parent;
+        }
+        docIds[index] = docId;
+        scores[index] = score;
+    }
+
+    private void downHeap(int index) {
+        final int docId = docIds[index];
+        final float score = scores[index];
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            final int right = child + 1;
+            if (right < size && lessThan(docIds[right], scores[right], docIds[child], scores[child])) {
+                child = right;
+            }
+            if (!lessThan(docIds[child], scores[child], docId, score)) {
+                break;
+            }
+            docIds[index] = docIds[child];
+            scores[index] = scores[child];
+            index = child;
+        }
+        docIds[index] = docId;
+        scores[index] = score;
+    }
+
+    private static boolean lessThan(final int docIdA, final float scoreA, final int docIdB, final float scoreB) {
+        if (scoreA == scoreB) {
+            return docIdA > docIdB;
+        }
+        return scoreA < scoreB;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.filtered;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.BitSetIterator;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.index.SpaceType;
+
+import java.io.IOException;
+
+/**
+ * Base class of the iterators that score the filtered docs of a segment. Instead of reading and scoring one doc per
+ * call, the filtered doc ids are pulled from the bit set in blocks of {@link #BLOCK_SIZE}. The vectors of a block are
+ * decoded into buffers that are reused for all blocks, and then the whole block is scored in a single loop, so that
+ * the similarity function is resolved once per block and the scoring loop stays free of doc values calls.
+ */
+public abstract class BlockKNNIterator implements KNNIterator {
+    static final int BLOCK_SIZE = 256;
+
+    protected final BitSet filterIdsBitSet;
+    protected final BitSetIterator bitSetIterator;
+    protected final BinaryDocValues binaryDocValues;
+    protected final SpaceType spaceType;
+    protected float currentScore = Float.NEGATIVE_INFINITY;
+    // Next filtered doc id that has not been read into a block yet
+    protected int docId;
+
+    private final int[] blockDocIds = new int[BLOCK_SIZE];
+    private final float[] blockScores = new float[BLOCK_SIZE];
+    private int blockSize;
+    private int blockIndex;
+
+    protected BlockKNNIterator(final BitSet filterIdsBitSet, final BinaryDocValues binaryDocValues, final SpaceType spaceType) {
+        this.filterIdsBitSet = filterIdsBitSet;
+        this.bitSetIterator = new BitSetIterator(filterIdsBitSet, filterIdsBitSet.length());
+        this.binaryDocValues = binaryDocValues;
+        this.spaceType = spaceType;
+        this.docId = bitSetIterator.nextDoc();
+    }
+
+    /**
+     * Advance to the next doc and update score value with score of the next doc.
+     * DocIdSetIterator.NO_MORE_DOCS is returned when there is no more docs
+     *
+     * @return next doc id
+     */
+    @Override
+    public int nextDoc() throws IOException {
+        final int doc = peekDoc();
+        if (doc != DocIdSetIterator.NO_MORE_DOCS) {
+            currentScore = blockScores[blockIndex++];
+        }
+        return doc;
+    }
+
+    @Override
+    public float score() {
+        return currentScore;
+    }
+
+    /**
+     * @return doc id that the next call to {@link #nextDoc()} returns, scoring the next block if needed
+     */
+    protected int peekDoc() throws IOException {
+        if (blockIndex == blockSize && fillBlock() == 0) {
+            return DocIdSetIterator.NO_MORE_DOCS;
+        }
+        return blockDocIds[blockIndex];
+    }
+
+    /**
+     * @return score of the doc returned by {@link #peekDoc()}
+     */
+    protected float peekScore() {
+        return blockScores[blockIndex];
+    }
+
+    private int fillBlock() throws IOException {
+        blockIndex = 0;
+        blockSize = 0;
+        while (docId != DocIdSetIterator.NO_MORE_DOCS && blockSize < BLOCK_SIZE) {
+            blockDocIds[blockSize] = binaryDocValues.advance(docId);
+            // The bytes of a doc value are only valid until the doc values are advanced, so they are copied right away
+            loadVector(blockSize, binaryDocValues.binaryValue());
+            blockSize++;
+            docId = bitSetIterator.nextDoc();
+        }
+        if (blockSize > 0) {
+            scoreBlock(blockSize, blockScores);
+        }
+        return blockSize;
+    }
+
+    /**
+     * Copy the vector of a doc into the block buffer
+     *
+     * @param index position of the doc in the block
+     * @param value doc value of the doc
+     */
+    protected abstract void loadVector(int index, BytesRef value);
+
+    /**
+     * Calculate the similarity scores of the vectors loaded in the block. Higher similarity scores correspond to closer
+     * vectors.
+     *
+     * @param size number of vectors in the block
+     * @param scores array to write the scores to; scores[i] is the score of the vector at position i
+     */
+    protected abstract void scoreBlock(int size, float[] scores);
+}
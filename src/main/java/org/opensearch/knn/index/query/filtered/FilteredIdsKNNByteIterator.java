@@ -6,30 +6,21 @@
 package org.opensearch.knn.index.query.filtered;
 
 import org.apache.lucene.index.BinaryDocValues;
-import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.BitSet;
-import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.index.KNNVectorSimilarityFunction;
 import org.opensearch.knn.index.SpaceType;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-
 /**
  * Inspired by DiversifyingChildrenFloatKnnVectorQuery in lucene
  * https://github.com/apache/lucene/blob/7b8aece125aabff2823626d5b939abf4747f63a7/lucene/join/src/java/org/apache/lucene/search/join/DiversifyingChildrenFloatKnnVectorQuery.java#L162
  *
  * The class is used in KNNWeight to score filtered KNN field by iterating filterIdsArray.
  */
-public class FilteredIdsKNNByteIterator implements KNNIterator {
-    // Array of doc ids to iterate
-    protected final BitSet filterIdsBitSet;
-    protected final BitSetIterator bitSetIterator;
+public class FilteredIdsKNNByteIterator extends BlockKNNIterator {
     protected final byte[] queryVector;
-    protected final BinaryDocValues binaryDocValues;
-    protected final SpaceType spaceType;
-    protected float currentScore = Float.NEGATIVE_INFINITY;
-    protected int docId;
+    // Vectors of the current block. Rows are allocated on first use and reused for the following blocks
+    private final byte[][] blockVectors = new byte[BLOCK_SIZE][];
 
     public FilteredIdsKNNByteIterator(
         final BitSet filterIdsBitSet,
@@ -37,43 +28,25 @@ public class FilteredIdsKNNByteIterator implements KNNIterator {
         final BinaryDocValues binaryDocValues,
         final SpaceType spaceType
     ) {
-        this.filterIdsBitSet = filterIdsBitSet;
-        this.bitSetIterator = new BitSetIterator(filterIdsBitSet, filterIdsBitSet.length());
+        super(filterIdsBitSet, binaryDocValues, spaceType);
         this.queryVector = queryVector;
-        this.binaryDocValues = binaryDocValues;
-        this.spaceType = spaceType;
-        this.docId = bitSetIterator.nextDoc();
     }
 
-    /**
-     * Advance to the next doc and update score value with score of the next doc.
-     * DocIdSetIterator.NO_MORE_DOCS is returned when there is no more docs
-     *
-     * @return next doc id
-     */
     @Override
-    public int nextDoc() throws IOException {
-
-        if (docId == DocIdSetIterator.NO_MORE_DOCS) {
-            return DocIdSetIterator.NO_MORE_DOCS;
+    protected void loadVector(final int index, final BytesRef value) {
+        byte[] vector = blockVectors[index];
+        if (vector == null || vector.length != value.length) {
+            vector = new byte[value.length];
+            blockVectors[index] = vector;
         }
-        int doc = binaryDocValues.advance(docId);
-        currentScore = computeScore();
-        docId = bitSetIterator.nextDoc();
-        return doc;
+        System.arraycopy(value.bytes, value.offset, vector, 0, value.length);
     }
 
     @Override
-    public float score() {
-        return currentScore;
-    }
-
-    protected float computeScore() throws IOException {
-        final BytesRef value = binaryDocValues.binaryValue();
-        final ByteArrayInputStream byteStream = new ByteArrayInputStream(value.bytes, value.offset, value.length);
-        final byte[] vector = byteStream.readAllBytes();
-        // Calculates a similarity score between the two vectors with a specified function. Higher similarity
-        // scores correspond to closer vectors.
-        return spaceType.getKnnVectorSimilarityFunction().compare(queryVector, vector);
+    protected void scoreBlock(final int size, final float[] scores) {
+        final KNNVectorSimilarityFunction similarityFunction = spaceType.getKnnVectorSimilarityFunction();
+        for (int i = 0; i < size; i++) {
+            scores[i] = similarityFunction.compare(queryVector, blockVectors[i]);
+        }
     }
 }
@@ -6,15 +6,11 @@
 package org.opensearch.knn.index.query.filtered;
 
 import org.apache.lucene.index.BinaryDocValues;
-import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.BitSet;
-import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.index.KNNVectorSimilarityFunction;
 import org.opensearch.knn.index.SpaceType;
-import org.opensearch.knn.index.codec.util.KNNVectorSerializer;
-import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
-
-import java.io.IOException;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 
 /**
  * Inspired by DiversifyingChildrenFloatKnnVectorQuery in lucene
@@ -22,15 +18,11 @@ import java.io.IOException;
  *
  * The class is used in KNNWeight to score filtered KNN field by iterating filterIdsArray.
  */
-public class FilteredIdsKNNIterator implements KNNIterator {
-    // Array of doc ids to iterate
-    protected final BitSet filterIdsBitSet;
-    protected final BitSetIterator bitSetIterator;
+public class FilteredIdsKNNIterator extends BlockKNNIterator {
     protected final float[] queryVector;
-    protected final BinaryDocValues binaryDocValues;
-    protected final SpaceType spaceType;
-    protected float currentScore = Float.NEGATIVE_INFINITY;
-    protected int docId;
+    protected final KNNVectorDocValuesEncoding encoding;
+    // Vectors of the current block. Rows are allocated on first use and reused for the following blocks
+    private final float[][] blockVectors = new float[BLOCK_SIZE][];
 
     public FilteredIdsKNNIterator(
         final BitSet filterIdsBitSet,
@@ -38,43 +30,31 @@ public class FilteredIdsKNNIterator implements KNNIterator {
         final BinaryDocValues binaryDocValues,
         final SpaceType spaceType
     ) {
-        this.filterIdsBitSet = filterIdsBitSet;
-        this.bitSetIterator = new BitSetIterator(filterIdsBitSet, filterIdsBitSet.length());
-        this.queryVector = queryVector;
-        this.binaryDocValues = binaryDocValues;
-        this.spaceType = spaceType;
-        this.docId = bitSetIterator.nextDoc();
+        this(filterIdsBitSet, queryVector, binaryDocValues, spaceType, KNNVectorDocValuesEncoding.SERIALIZED);
     }
 
-    /**
-     * Advance to the next doc and update score value with score of the next doc.
-     * DocIdSetIterator.NO_MORE_DOCS is returned when there is no more docs
-     *
-     * @return next doc id
-     */
-    @Override
-    public int nextDoc() throws IOException {
-
-        if (docId == DocIdSetIterator.NO_MORE_DOCS) {
-            return DocIdSetIterator.NO_MORE_DOCS;
-        }
-        int doc = binaryDocValues.advance(docId);
-        currentScore = computeScore();
-        docId = bitSetIterator.nextDoc();
-        return doc;
+    public FilteredIdsKNNIterator(
+        final BitSet filterIdsBitSet,
+        final float[] queryVector,
+        final BinaryDocValues binaryDocValues,
+        final SpaceType spaceType,
+        final KNNVectorDocValuesEncoding encoding
+    ) {
+        super(filterIdsBitSet, binaryDocValues, spaceType);
+        this.queryVector = queryVector;
+        this.encoding = encoding;
     }
 
     @Override
-    public float score() {
-        return currentScore;
+    protected void loadVector(final int index, final BytesRef value) {
+        blockVectors[index] = encoding.decode(value, blockVectors[index]);
     }
 
-    protected float computeScore() throws IOException {
-        final BytesRef value = binaryDocValues.binaryValue();
-        final KNNVectorSerializer vectorSerializer = KNNVectorSerializerFactory.getSerializerByBytesRef(value);
-        final float[] vector = vectorSerializer.byteToFloatArray(value);
-        // Calculates a similarity score between the two vectors with a specified function. Higher similarity
-        // scores correspond to closer vectors.
-        return spaceType.getKnnVectorSimilarityFunction().compare(queryVector, vector);
+    @Override
+    protected void scoreBlock(final int size, final float[] scores) {
+        final KNNVectorSimilarityFunction similarityFunction = spaceType.getKnnVectorSimilarityFunction();
+        for (int i = 0; i < size; i++) {
+            scores[i] = similarityFunction.compare(queryVector, blockVectors[i]);
+        }
     }
 }
@@ -38,24 +38,27 @@ public class NestedFilteredIdsKNNByteIterator extends FilteredIdsKNNByteIterator
      */
     @Override
     public int nextDoc() throws IOException {
-        if (docId == DocIdSetIterator.NO_MORE_DOCS) {
+        int doc = peekDoc();
+        if (doc == DocIdSetIterator.NO_MORE_DOCS) {
             return DocIdSetIterator.NO_MORE_DOCS;
         }
 
-        currentScore = Float.NEGATIVE_INFINITY;
-        int currentParent = parentBitSet.nextSetBit(docId);
+        final int currentParent = parentBitSet.nextSetBit(doc);
+        float bestScore = Float.NEGATIVE_INFINITY;
         int bestChild = -1;
 
-        while (docId != DocIdSetIterator.NO_MORE_DOCS && docId < currentParent) {
-            binaryDocValues.advance(docId);
-            float score = computeScore();
-            if (score > currentScore) {
-                bestChild = docId;
-                currentScore = score;
+        // Children of a parent can span several blocks, so the best child is tracked across blocks
+        while (doc != DocIdSetIterator.NO_MORE_DOCS && doc < currentParent) {
+            final float score = peekScore();
+            if (score > bestScore) {
+                bestChild = doc;
+                bestScore = score;
             }
-            docId = bitSetIterator.nextDoc();
+            super.nextDoc();
+            doc = peekDoc();
         }
 
+        currentScore = bestScore;
         return bestChild;
     }
 }
@@ -9,6 +9,7 @@ import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.BitSet;
 import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 
 import java.io.IOException;
 
@@ -26,7 +27,18 @@ public class NestedFilteredIdsKNNIterator extends FilteredIdsKNNIterator {
         final SpaceType spaceType,
         final BitSet parentBitSet
     ) {
-        super(filterIdsArray, queryVector, values, spaceType);
+        this(filterIdsArray, queryVector, values, spaceType, parentBitSet, KNNVectorDocValuesEncoding.SERIALIZED);
+    }
+
+    public NestedFilteredIdsKNNIterator(
+        final BitSet filterIdsArray,
+        final float[] queryVector,
+        final BinaryDocValues values,
+        final SpaceType spaceType,
+        final BitSet parentBitSet,
+        final KNNVectorDocValuesEncoding encoding
+    ) {
+        super(filterIdsArray, queryVector, values, spaceType, encoding);
         this.parentBitSet = parentBitSet;
     }
 
@@ -38,24 +50,27 @@ public class NestedFilteredIdsKNNIterator extends FilteredIdsKNNIterator {
      */
     @Override
     public int nextDoc() throws IOException {
-        if (docId == DocIdSetIterator.NO_MORE_DOCS) {
+        int doc = peekDoc();
+        if (doc == DocIdSetIterator.NO_MORE_DOCS) {
             return DocIdSetIterator.NO_MORE_DOCS;
         }
 
-        currentScore = Float.NEGATIVE_INFINITY;
-        int currentParent = parentBitSet.nextSetBit(docId);
+        final int currentParent = parentBitSet.nextSetBit(doc);
+        float bestScore = Float.NEGATIVE_INFINITY;
         int bestChild = -1;
 
-        while (docId != DocIdSetIterator.NO_MORE_DOCS && docId < currentParent) {
-            binaryDocValues.advance(docId);
-            float score = computeScore();
-            if (score > currentScore) {
-                bestChild = docId;
-                currentScore = score;
+        // Children of a parent can span several blocks, so the best child is tracked across blocks
+        while (doc != DocIdSetIterator.NO_MORE_DOCS && doc < currentParent) {
+            final float score = peekScore();
+            if (score > bestScore) {
+                bestChild = doc;
+                bestScore = score;
             }
-            docId = bitSetIterator.nextDoc();
+            super.nextDoc();
+            doc = peekDoc();
         }
 
+        currentScore = bestScore;
         return bestChild;
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.parser;
+
+import org.opensearch.core.common.ParsingException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ObjectParser;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.knn.index.query.KNNBatchQueryBuilder;
+import org.opensearch.knn.index.query.KNNQueryBuilder;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.opensearch.index.query.AbstractQueryBuilder.BOOST_FIELD;
+import static org.opensearch.index.query.AbstractQueryBuilder.NAME_FIELD;
+import static org.opensearch.knn.common.KNNConstants.BATCH_KNN_QUERY;
+import static org.opensearch.knn.index.query.KNNBatchQueryBuilder.NAME;
+import static org.opensearch.knn.index.query.KNNBatchQueryBuilder.QUERIES_FIELD;
+import static org.opensearch.knn.index.util.IndexUtil.isClusterOnOrAfterMinRequiredVersion;
+
+/**
+ * Helper class responsible for parsing and reverse parsing KNNBatchQueryBuilder's. Every query of the batch has the
+ * structure of a k-NN query after its field name:
+ *  "knn_batch": {
+ *      "my_vector": {
+ *          "queries": [
+ *              { "vector": [2, 3, 5, 6], "k": 2 },
+ *              { "vector": [1, 4, 2, 7], "k": 5, "filter": { ... } }
+ *          ]
+ *      }
+ *  }
+ */
+public final class KNNBatchQueryBuilderParser {
+
+    // The context of the parser is the field name, which the queries of the batch are built with
+    private static final ObjectParser<KNNBatchQueryBuilder.Builder, String> INTERNAL_PARSER = createInternalObjectParser();
+
+    private KNNBatchQueryBuilderParser() {}
+
+    private static ObjectParser<KNNBatchQueryBuilder.Builder, String> createInternalObjectParser() {
+        ObjectParser<KNNBatchQueryBuilder.Builder, String> internalParser = new ObjectParser<>(NAME, KNNBatchQueryBuilder.Builder::new);
+        internalParser.declareFloat(KNNBatchQueryBuilder.Builder::boost, BOOST_FIELD);
+        internalParser.declareString(KNNBatchQueryBuilder.Builder::queryName, NAME_FIELD);
+        internalParser.declareObjectArray(
+            KNNBatchQueryBuilder.Builder::queries,
+            (p, fieldName) -> KNNQueryBuilderParser.parseInnerQuery(p).fieldName(fieldName).build(),
+            QUERIES_FIELD
+        );
+        return internalParser;
+    }
+
+    /**
+     * Stream input for KNNBatchQueryBuilder
+     *
+     * @param in stream in
+     * @return KNNBatchQueryBuilder.Builder class
+     * @throws IOException on stream failure
+     */
+    public static KNNBatchQueryBuilder.Builder streamInput(StreamInput in) throws IOException {
+        return KNNBatchQueryBuilder.builder().fieldName(in.readString()).queries(in.readList(KNNQueryBuilder::new));
+    }
+
+    /**
+     * Stream output for KNNBatchQueryBuilder
+     *
+     * @param out stream out
+     * @param builder KNNBatchQueryBuilder to stream
+     * @throws IOException on stream failure
+     */
+    public static void streamOutput(StreamOutput out, KNNBatchQueryBuilder builder) throws IOException {
+        out.writeString(builder.getFieldName());
+        out.writeList(builder.getQueries());
+    }
+
+    /**
+     * Convert XContent to KNNBatchQueryBuilder
+     *
+     * @param parser input parser
+     * @return KNNBatchQueryBuilder
+     * @throws IOException on parsing failure
+     */
+    public static KNNBatchQueryBuilder fromXContent(XContentParser parser) throws IOException {
+        if (isClusterOnOrAfterMinRequiredVersion(BATCH_KNN_QUERY) == false) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "[%s] is not supported until every node of the cluster is upgraded", NAME)
+            );
+        }
+        String fieldName = null;
+        String currentFieldName = null;
+        XContentParser.Token token;
+        KNNBatchQueryBuilder.Builder builder = null;
+        while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
+            if (token == XContentParser.Token.FIELD_NAME) {
+                currentFieldName = parser.currentName();
+            } else if (token == XContentParser.Token.START_OBJECT) {
+                if (fieldName != null) {
+                    throw new ParsingException(
+                        parser.getTokenLocation(),
+                        "[" + NAME + "] query doesn't support multiple fields, found [" + fieldName + "] and [" + currentFieldName + "]"
+                    );
+                }
+                fieldName = currentFieldName;
+                builder = INTERNAL_PARSER.apply(parser, fieldName);
+            } else {
+                throw new ParsingException(
+                    parser.getTokenLocation(),
+                    "[" + NAME + "] query expects an object for field [" + parser.currentName() + "]"
+                );
+            }
+        }
+        if (builder == null) {
+            throw new ParsingException(parser.getTokenLocation(), "[" + NAME + "] query requires a field");
+        }
+        return builder.fieldName(fieldName).build();
+    }
+
+    /**
+     * Convert KNNBatchQueryBuilder to XContent
+     *
+     * @param builder xcontent builder to add KNNBatchQueryBuilder
+     * @param params ToXContent params
+     * @param queryBuilder KNNBatchQueryBuilder to convert
+     * @throws IOException on conversion failure
+     */
+    public static void toXContent(XContentBuilder builder, ToXContent.Params params, KNNBatchQueryBuilder queryBuilder)
+        throws IOException {
+        builder.startObject(NAME);
+        builder.startObject(queryBuilder.getFieldName());
+
+        builder.startArray(QUERIES_FIELD.getPreferredName());
+        for (KNNQueryBuilder query : queryBuilder.getQueries()) {
+            builder.startObject();
+            KNNQueryBuilderParser.innerToXContent(builder, query);
+            builder.endObject();
+        }
+        builder.endArray();
+        builder.field(BOOST_FIELD.getPreferredName(), queryBuilder.boost());
+        if (queryBuilder.queryName() != null) {
+            builder.field(NAME_FIELD.getPreferredName(), queryBuilder.queryName());
+        }
+
+        builder.endObject();
+        builder.endObject();
+    }
+}
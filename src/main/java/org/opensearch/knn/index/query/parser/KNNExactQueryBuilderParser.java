@@ -0,0 +1,175 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.parser;
+
+import org.opensearch.core.common.ParsingException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ObjectParser;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.knn.index.query.KNNExactQueryBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.index.query.AbstractQueryBuilder.BOOST_FIELD;
+import static org.opensearch.index.query.AbstractQueryBuilder.NAME_FIELD;
+import static org.opensearch.index.query.AbstractQueryBuilder.parseInnerQueryBuilder;
+import static org.opensearch.knn.common.KNNConstants.EXACT_KNN_QUERY;
+import static org.opensearch.knn.index.query.KNNExactQueryBuilder.FILTER_FIELD;
+import static org.opensearch.knn.index.query.KNNExactQueryBuilder.K_FIELD;
+import static org.opensearch.knn.index.query.KNNExactQueryBuilder.NAME;
+import static org.opensearch.knn.index.query.KNNExactQueryBuilder.SPACE_TYPE_FIELD;
+import static org.opensearch.knn.index.query.KNNExactQueryBuilder.VECTOR_FIELD;
+import static org.opensearch.knn.index.util.IndexUtil.isClusterOnOrAfterMinRequiredVersion;
+
+/**
+ * Helper class responsible for parsing and reverse parsing KNNExactQueryBuilder's. The query has the same structure as
+ * a k-NN query:
+ *  "knn_exact": {
+ *      "my_vector": {
+ *          "vector": [2, 3, 5, 6],
+ *          "k": 2,
+ *          "space_type": "innerproduct",
+ *          "filter": { ... }
+ *      }
+ *  }
+ */
+public final class KNNExactQueryBuilderParser {
+
+    private static final ObjectParser<KNNExactQueryBuilder.Builder, Void> INTERNAL_PARSER = createInternalObjectParser();
+
+    private KNNExactQueryBuilderParser() {}
+
+    private static ObjectParser<KNNExactQueryBuilder.Builder, Void> createInternalObjectParser() {
+        ObjectParser<KNNExactQueryBuilder.Builder, Void> internalParser = new ObjectParser<>(NAME, KNNExactQueryBuilder.Builder::new);
+        internalParser.declareFloat(KNNExactQueryBuilder.Builder::boost, BOOST_FIELD);
+        internalParser.declareString(KNNExactQueryBuilder.Builder::queryName, NAME_FIELD);
+        internalParser.declareFloatArray((b, v) -> b.vector(floatListToFloatArray(v)), VECTOR_FIELD);
+        internalParser.declareInt(KNNExactQueryBuilder.Builder::k, K_FIELD);
+        internalParser.declareString(KNNExactQueryBuilder.Builder::spaceType, SPACE_TYPE_FIELD);
+        internalParser.declareObject(KNNExactQueryBuilder.Builder::filter, (p, v) -> parseInnerQueryBuilder(p), FILTER_FIELD);
+        return internalParser;
+    }
+
+    /**
+     * Stream input for KNNExactQueryBuilder
+     *
+     * @param in stream in
+     * @return KNNExactQueryBuilder.Builder class
+     * @throws IOException on stream failure
+     */
+    public static KNNExactQueryBuilder.Builder streamInput(StreamInput in) throws IOException {
+        return KNNExactQueryBuilder.builder()
+            .fieldName(in.readString())
+            .vector(in.readFloatArray())
+            .k(in.readInt())
+            .spaceType(in.readString())
+            .filter(in.readOptionalNamedWriteable(QueryBuilder.class));
+    }
+
+    /**
+     * Stream output for KNNExactQueryBuilder
+     *
+     * @param out stream out
+     * @param builder KNNExactQueryBuilder to stream
+     * @throws IOException on stream failure
+     */
+    public static void streamOutput(StreamOutput out, KNNExactQueryBuilder builder) throws IOException {
+        out.writeString(builder.getFieldName());
+        out.writeFloatArray(builder.getVector());
+        out.writeInt(builder.getK());
+        out.writeString(builder.getSpaceType());
+        out.writeOptionalNamedWriteable(builder.getFilter());
+    }
+
+    /**
+     * Convert XContent to KNNExactQueryBuilder
+     *
+     * @param parser input parser
+     * @return KNNExactQueryBuilder
+     * @throws IOException on parsing failure
+     */
+    public static KNNExactQueryBuilder fromXContent(XContentParser parser) throws IOException {
+        if (isClusterOnOrAfterMinRequiredVersion(EXACT_KNN_QUERY) == false) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "[%s] is not supported until every node of the cluster is upgraded", NAME)
+            );
+        }
+        String fieldName = null;
+        String currentFieldName = null;
+        XContentParser.Token token;
+        KNNExactQueryBuilder.Builder builder = null;
+        while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
+            if (token == XContentParser.Token.FIELD_NAME) {
+                currentFieldName = parser.currentName();
+            } else if (token == XContentParser.Token.START_OBJECT) {
+                if (fieldName != null) {
+                    throw new ParsingException(
+                        parser.getTokenLocation(),
+                        "[" + NAME + "] query doesn't support multiple fields, found [" + fieldName + "] and [" + currentFieldName + "]"
+                    );
+                }
+                fieldName = currentFieldName;
+                builder = INTERNAL_PARSER.apply(parser, null);
+            } else {
+                throw new ParsingException(
+                    parser.getTokenLocation(),
+                    "[" + NAME + "] query expects an object for field [" + parser.currentName() + "]"
+                );
+            }
+        }
+        if (builder == null) {
+            throw new ParsingException(parser.getTokenLocation(), "[" + NAME + "] query requires a field");
+        }
+        return builder.fieldName(fieldName).build();
+    }
+
+    /**
+     * Convert KNNExactQueryBuilder to XContent
+     *
+     * @param builder xcontent builder to add KNNExactQueryBuilder
+     * @param params ToXContent params
+     * @param queryBuilder KNNExactQueryBuilder to convert
+     * @throws IOException on conversion failure
+     */
+    public static void toXContent(XContentBuilder builder, ToXContent.Params params, KNNExactQueryBuilder queryBuilder)
+        throws IOException {
+        builder.startObject(NAME);
+        builder.startObject(queryBuilder.getFieldName());
+
+        builder.field(VECTOR_FIELD.getPreferredName(), queryBuilder.getVector());
+        builder.field(K_FIELD.getPreferredName(), queryBuilder.getK());
+        builder.field(SPACE_TYPE_FIELD.getPreferredName(), queryBuilder.getSpaceType());
+        if (queryBuilder.getFilter() != null) {
+            builder.field(FILTER_FIELD.getPreferredName(), queryBuilder.getFilter());
+        }
+        builder.field(BOOST_FIELD.getPreferredName(), queryBuilder.boost());
+        if (queryBuilder.queryName() != null) {
+            builder.field(NAME_FIELD.getPreferredName(), queryBuilder.queryName());
+        }
+
+        builder.endObject();
+        builder.endObject();
+    }
+
+    private static float[] floatListToFloatArray(List<Float> floats) {
+        if (floats == null || floats.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "[%s] field 'vector' requires to be non-null and non-empty", NAME)
+            );
+        }
+        float[] vec = new float[floats.size()];
+        for (int i = 0; i < floats.size(); i++) {
+            vec[i] = floats.get(i);
+        }
+        return vec;
+    }
+}
@@ -29,6 +29,7 @@ import static org.opensearch.index.query.AbstractQueryBuilder.BOOST_FIELD;
 import static org.opensearch.index.query.AbstractQueryBuilder.NAME_FIELD;
 import static org.opensearch.index.query.AbstractQueryBuilder.parseInnerQueryBuilder;
 import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER;
+import static org.opensearch.knn.common.KNNConstants.OVERSAMPLE_FACTOR;
 import static org.opensearch.knn.index.util.IndexUtil.isClusterOnOrAfterMinRequiredVersion;
 import static org.opensearch.knn.index.query.KNNQueryBuilder.FILTER_FIELD;
 import static org.opensearch.knn.index.query.KNNQueryBuilder.IGNORE_UNMAPPED_FIELD;
@@ -37,6 +38,7 @@ import static org.opensearch.knn.index.query.KNNQueryBuilder.MAX_DISTANCE_FIELD;
 import static org.opensearch.knn.index.query.KNNQueryBuilder.METHOD_PARAMS_FIELD;
 import static org.opensearch.knn.index.query.KNNQueryBuilder.MIN_SCORE_FIELD;
 import static org.opensearch.knn.index.query.KNNQueryBuilder.NAME;
+import static org.opensearch.knn.index.query.KNNQueryBuilder.OVERSAMPLE_FACTOR_FIELD;
 import static org.opensearch.knn.index.query.KNNQueryBuilder.VECTOR_FIELD;
 
 /**
@@ -78,6 +80,7 @@ public final class KNNQueryBuilderParser {
             METHOD_PARAMS_FIELD
         );
         internalParser.declareObject(KNNQueryBuilder.Builder::filter, (p, v) -> parseInnerQueryBuilder(p), FILTER_FIELD);
+        internalParser.declareFloat(KNNQueryBuilder.Builder::oversampleFactor, OVERSAMPLE_FACTOR_FIELD);
 
         return internalParser;
     }
@@ -109,6 +112,9 @@ public final class KNNQueryBuilderParser {
         if (minClusterVersionCheck.apply(METHOD_PARAMETER)) {
             builder.methodParameters(MethodParametersParser.streamInput(in, IndexUtil::isClusterOnOrAfterMinRequiredVersion));
         }
+        if (minClusterVersionCheck.apply(OVERSAMPLE_FACTOR)) {
+            builder.oversampleFactor(in.readOptionalFloat());
+        }
 
         return builder;
     }
@@ -139,6 +145,9 @@ public final class KNNQueryBuilderParser {
         if (minClusterVersionCheck.apply(METHOD_PARAMETER)) {
             MethodParametersParser.streamOutput(out, builder.getMethodParameters(), IndexUtil::isClusterOnOrAfterMinRequiredVersion);
         }
+        if (minClusterVersionCheck.apply(OVERSAMPLE_FACTOR)) {
+            out.writeOptionalFloat(builder.getOversampleFactor());
+        }
     }
 
     /**
@@ -186,7 +195,30 @@ public final class KNNQueryBuilderParser {
     public static void toXContent(XContentBuilder builder, ToXContent.Params params, KNNQueryBuilder knnQueryBuilder) throws IOException {
         builder.startObject(NAME);
         builder.startObject(knnQueryBuilder.fieldName());
+        innerToXContent(builder, knnQueryBuilder);
+        builder.endObject();
+        builder.endObject();
+    }
+
+    /**
+     * Parse the object that follows the field name of a k-NN query, such as a query of a knn_batch query
+     *
+     * @param parser input parser, on the start of the object
+     * @return KNNQueryBuilder.Builder without field name
+     * @throws IOException on parsing failure
+     */
+    public static KNNQueryBuilder.Builder parseInnerQuery(XContentParser parser) throws IOException {
+        return INTERNAL_PARSER.apply(parser, null);
+    }
 
+    /**
+     * Add the fields of the object that follows the field name of a k-NN query to XContent
+     *
+     * @param builder xcontent builder, within the object
+     * @param knnQueryBuilder KNNQueryBuilder to convert
+     * @throws IOException on conversion failure
+     */
+    public static void innerToXContent(XContentBuilder builder, KNNQueryBuilder knnQueryBuilder) throws IOException {
         builder.field(VECTOR_FIELD.getPreferredName(), knnQueryBuilder.vector());
         builder.field(K_FIELD.getPreferredName(), knnQueryBuilder.getK());
         if (knnQueryBuilder.getFilter() != null) {
@@ -204,14 +236,14 @@ public final class KNNQueryBuilderParser {
         if (knnQueryBuilder.getMethodParameters() != null) {
             MethodParametersParser.doXContent(builder, knnQueryBuilder.getMethodParameters());
         }
+        if (knnQueryBuilder.getOversampleFactor() != null) {
+            builder.field(OVERSAMPLE_FACTOR_FIELD.getPreferredName(), knnQueryBuilder.getOversampleFactor());
+        }
 
         builder.field(BOOST_FIELD.getPreferredName(), knnQueryBuilder.boost());
         if (knnQueryBuilder.queryName() != null) {
             builder.field(NAME_FIELD.getPreferredName(), knnQueryBuilder.queryName());
         }
-
-        builder.endObject();
-        builder.endObject();
     }
 
     private static float[] floatListToFloatArray(List<Float> floats) {
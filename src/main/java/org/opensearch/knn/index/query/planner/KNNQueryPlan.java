@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.planner;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * Plan of a filtered k-NN search on a single segment: the strategy used to search the segment and the cost estimates
+ * it was chosen from. Costs are estimated in nanoseconds and are NaN when the plan was not chosen by cost.
+ */
+@Value
+public class KNNQueryPlan {
+
+    /**
+     * Ways to search a segment with a filter
+     */
+    @AllArgsConstructor
+    @Getter
+    public enum Strategy {
+        // Search the graph and skip the docs that do not match the filter while traversing it
+        ANN("ann"),
+        // Search the graph without the filter for more than k results and drop the docs that do not match the filter
+        ANN_POST_FILTER("ann_post_filter"),
+        // Score every doc that matches the filter
+        EXACT("exact");
+
+        private final String value;
+    }
+
+    Strategy strategy;
+    // Number of results to request from the graph
+    int k;
+    String reason;
+    double annCost;
+    double postFilterCost;
+    double exactCost;
+
+    /**
+     * Create a plan that was chosen by a fixed rule rather than by cost
+     *
+     * @param strategy strategy to use
+     * @param k number of results to request from the graph
+     * @param reason rule that chose the strategy
+     * @return {@link KNNQueryPlan}
+     */
+    public static KNNQueryPlan of(final Strategy strategy, final int k, final String reason) {
+        return new KNNQueryPlan(strategy, k, reason, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(strategy.getValue()).append(" [reason=").append(reason).append(", k=").append(k);
+        appendCost(builder, "ann_cost", annCost);
+        appendCost(builder, "ann_post_filter_cost", postFilterCost);
+        appendCost(builder, "exact_cost", exactCost);
+        return builder.append(']').toString();
+    }
+
+    private static void appendCost(final StringBuilder builder, final String name, final double cost) {
+        if (Double.isNaN(cost)) {
+            return;
+        }
+        builder.append(", ").append(name).append('=');
+        builder.append(Double.isInfinite(cost) ? "inf" : String.format(Locale.ROOT, "%.3fms", cost / 1_000_000));
+    }
+}
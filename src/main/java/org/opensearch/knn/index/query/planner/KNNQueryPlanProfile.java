@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.planner;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Plans chosen for the segments that a k-NN query searched. The plans are part of the description of the query, which
+ * is how they show up in the results of the profile API. Segments can be searched concurrently, so plans can be
+ * recorded from several threads.
+ */
+public class KNNQueryPlanProfile {
+
+    // Plans by ordinal of the segment among the leaves of the searcher
+    private final Map<Integer, KNNQueryPlan> segmentPlans = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param leafOrd ordinal of the segment among the leaves of the searcher
+     * @param plan plan used to search the segment
+     */
+    public void record(final int leafOrd, final KNNQueryPlan plan) {
+        segmentPlans.put(leafOrd, plan);
+    }
+
+    /**
+     * @param leafOrd ordinal of the segment among the leaves of the searcher
+     * @return plan used to search the segment, or null if none was recorded
+     */
+    public KNNQueryPlan get(final int leafOrd) {
+        return segmentPlans.get(leafOrd);
+    }
+
+    public boolean isEmpty() {
+        return segmentPlans.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return segmentPlans.entrySet()
+            .stream()
+            .map(entry -> "leaf " + entry.getKey() + ": " + entry.getValue())
+            .collect(Collectors.joining(", ", "plans={", "}"));
+    }
+}
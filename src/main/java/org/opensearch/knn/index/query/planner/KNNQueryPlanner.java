@@ -0,0 +1,164 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.planner;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.opensearch.knn.index.engine.KNNEngine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses how a filtered k-NN search is run on a segment by comparing the estimated cost of each
+ * {@link KNNQueryPlan.Strategy}. The estimates are in nanoseconds:
+ * <ul>
+ *     <li>exact: filtered docs * bytes per vector * observed exact search time per byte</li>
+ *     <li>ann: graph load time if the graph is not in the cache + graph search time, which grows with the share of
+ *     docs the traversal has to skip, + time to hand the filtered ids to the engine</li>
+ *     <li>ann_post_filter: graph load time if the graph is not in the cache + time of a graph search for k divided by
+ *     the filter selectivity, oversampled</li>
+ * </ul>
+ * The graph search time is modelled as proportional to the log of the segment size and is learnt per engine from the
+ * searches that run on the node, as is the exact search time per byte. The learnt values are moving averages that are
+ * updated without coordination, so concurrent updates can lose samples, which only slows down the learning.
+ */
+public final class KNNQueryPlanner {
+
+    private static final KNNQueryPlanner INSTANCE = new KNNQueryPlanner();
+
+    static final String COST_REASON = "cost";
+    // Starting points until latencies have been observed on the node
+    static final double DEFAULT_EXACT_NANOS_PER_BYTE = 0.25;
+    static final double DEFAULT_ANN_NANOS_PER_LOG_DOC = 50_000;
+    // Time to build and pass one filtered id to the engine
+    static final double FILTER_ID_NANOS = 2;
+    // Time to read one byte of a graph file into memory
+    static final double GRAPH_LOAD_NANOS_PER_BYTE = 1;
+    static final double POST_FILTER_OVERSAMPLE_FACTOR = 1.5;
+    static final int MAX_POST_FILTER_K = 10_000;
+    // Size of the candidate list that graph searches use at least, so asking for fewer results does not make them cheaper
+    static final int MIN_SEARCH_LIST_SIZE = 100;
+    private static final double SMOOTHING_FACTOR = 0.1;
+
+    private final Map<KNNEngine, Double> annNanosPerLogDoc = new ConcurrentHashMap<>();
+    private volatile double exactNanosPerByte = DEFAULT_EXACT_NANOS_PER_BYTE;
+
+    @VisibleForTesting
+    KNNQueryPlanner() {}
+
+    /**
+     * @return singleton instance of the planner
+     */
+    public static KNNQueryPlanner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Choose the strategy with the lowest estimated cost
+     *
+     * @param context properties of the search
+     * @return {@link KNNQueryPlan}
+     */
+    public KNNQueryPlan plan(final KNNQueryPlanningContext context) {
+        final double exactCost = estimateExactCost(context);
+        final double annCost = estimateAnnCost(context);
+        final int postFilterK = getPostFilterK(context);
+        final double postFilterCost = estimatePostFilterCost(context, postFilterK);
+
+        KNNQueryPlan.Strategy strategy = KNNQueryPlan.Strategy.EXACT;
+        double cost = exactCost;
+        if (annCost < cost) {
+            strategy = KNNQueryPlan.Strategy.ANN;
+            cost = annCost;
+        }
+        if (postFilterCost < cost) {
+            strategy = KNNQueryPlan.Strategy.ANN_POST_FILTER;
+        }
+        final int k = strategy == KNNQueryPlan.Strategy.ANN_POST_FILTER ? postFilterK : context.getK();
+        return new KNNQueryPlan(strategy, k, COST_REASON, annCost, postFilterCost, exactCost);
+    }
+
+    /**
+     * Record the latency of an exact search
+     *
+     * @param bytesScanned bytes of vector data that were scored
+     * @param nanos time the search took
+     */
+    public void recordExactSearch(final long bytesScanned, final long nanos) {
+        if (bytesScanned <= 0 || nanos <= 0) {
+            return;
+        }
+        exactNanosPerByte = smooth(exactNanosPerByte, (double) nanos / bytesScanned);
+    }
+
+    /**
+     * Record the latency of a graph search that ran without a filter
+     *
+     * @param knnEngine engine of the graph
+     * @param maxDoc number of docs in the segment
+     * @param k number of results requested
+     * @param nanos time the search took, without loading the graph
+     */
+    public void recordAnnSearch(final KNNEngine knnEngine, final int maxDoc, final int k, final long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        final double sample = nanos / (log2(maxDoc) * searchListFactor(k));
+        annNanosPerLogDoc.merge(knnEngine, sample, KNNQueryPlanner::smooth);
+    }
+
+    @VisibleForTesting
+    double estimateExactCost(final KNNQueryPlanningContext context) {
+        return (double) context.getFilterCount() * context.getVectorSizeInBytes() * exactNanosPerByte;
+    }
+
+    @VisibleForTesting
+    double estimateAnnCost(final KNNQueryPlanningContext context) {
+        final double selectivity = (double) context.getFilterCount() / Math.max(1, context.getMaxDoc());
+        final double skipFactor = selectivity > 0 ? Math.max(1, 1 / selectivity) : Double.POSITIVE_INFINITY;
+        return graphLoadCost(context) + searchCost(context, context.getK()) * skipFactor + context.getFilterCount()
+            * FILTER_ID_NANOS;
+    }
+
+    @VisibleForTesting
+    double estimatePostFilterCost(final KNNQueryPlanningContext context, final int postFilterK) {
+        // Children are deduplicated per parent by the engine, so dropping children after the search can lose parents
+        if (context.isNested() || postFilterK > MAX_POST_FILTER_K) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return graphLoadCost(context) + searchCost(context, postFilterK);
+    }
+
+    @VisibleForTesting
+    int getPostFilterK(final KNNQueryPlanningContext context) {
+        if (context.getFilterCount() <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        final double selectivity = (double) context.getFilterCount() / Math.max(1, context.getMaxDoc());
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil(context.getK() / selectivity * POST_FILTER_OVERSAMPLE_FACTOR));
+    }
+
+    private double graphLoadCost(final KNNQueryPlanningContext context) {
+        return context.isGraphLoaded() ? 0 : context.getGraphSizeInBytes() * GRAPH_LOAD_NANOS_PER_BYTE;
+    }
+
+    private double searchCost(final KNNQueryPlanningContext context, final int k) {
+        final double nanosPerLogDoc = annNanosPerLogDoc.getOrDefault(context.getKnnEngine(), DEFAULT_ANN_NANOS_PER_LOG_DOC);
+        return nanosPerLogDoc * log2(context.getMaxDoc()) * searchListFactor(k);
+    }
+
+    private static double searchListFactor(final int k) {
+        return Math.max(1.0, (double) k / MIN_SEARCH_LIST_SIZE);
+    }
+
+    private static double log2(final int maxDoc) {
+        return Math.log(maxDoc + 2.0) / Math.log(2);
+    }
+
+    private static double smooth(final double current, final double sample) {
+        return current + SMOOTHING_FACTOR * (sample - current);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.planner;
+
+import lombok.Builder;
+import lombok.Value;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+
+/**
+ * Properties of a filtered k-NN search on a single segment that {@link KNNQueryPlanner} estimates costs from
+ */
+@Value
+@Builder
+public class KNNQueryPlanningContext {
+    int k;
+    int filterCount;
+    int maxDoc;
+    int dimension;
+    VectorDataType vectorDataType;
+    KNNEngine knnEngine;
+    boolean graphLoaded;
+    long graphSizeInBytes;
+    boolean nested;
+
+    /**
+     * @return number of bytes of vector data that exact search reads per doc
+     */
+    public long getVectorSizeInBytes() {
+        return getVectorSizeInBytes(vectorDataType, dimension);
+    }
+
+    /**
+     * @param vectorDataType data type of the vectors
+     * @param dimension dimension of the vectors
+     * @return number of bytes of vector data per doc
+     */
+    public static long getVectorSizeInBytes(final VectorDataType vectorDataType, final int dimension) {
+        switch (vectorDataType) {
+            case BINARY:
+                return dimension / Byte.SIZE;
+            case BYTE:
+                return dimension;
+            default:
+                return (long) dimension * Float.BYTES;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.opensearch.knn.index.engine.MethodComponentContext;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
+import org.opensearch.knn.index.memory.IndexLoadMode;
 import org.opensearch.knn.index.query.request.MethodParameter;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.indices.ModelDao;
@@ -34,6 +35,7 @@ import java.util.Map;
 
 import static org.opensearch.knn.common.KNNConstants.BYTES_PER_KILOBYTES;
 import static org.opensearch.knn.common.KNNConstants.HNSW_ALGO_EF_SEARCH;
+import static org.opensearch.knn.common.KNNConstants.INDEX_LOAD_MODE;
 import static org.opensearch.knn.common.KNNConstants.SPACE_TYPE;
 import static org.opensearch.knn.common.KNNConstants.VECTOR_DATA_TYPE_FIELD;
 
@@ -48,6 +50,12 @@ public class IndexUtil {
     private static final Version MINIMAL_SUPPORTED_VERSION_FOR_RADIAL_SEARCH = Version.V_2_14_0;
     private static final Version MINIMAL_SUPPORTED_VERSION_FOR_METHOD_PARAMETERS = Version.V_2_16_0;
     private static final Version MINIMAL_SUPPORTED_VERSION_FOR_MODEL_VECTOR_DATA_TYPE = Version.V_2_16_0;
+    private static final Version MINIMAL_SUPPORTED_VERSION_FOR_TRAINING_DATA_SHARD_SAMPLING = Version.V_3_0_0;
+    private static final Version MINIMAL_SUPPORTED_VERSION_FOR_DISTRIBUTED_TRAINING = Version.V_3_0_0;
+    private static final Version MINIMAL_SUPPORTED_VERSION_FOR_TRAINING_JOB_QUEUE = Version.V_3_0_0;
+    private static final Version MINIMAL_SUPPORTED_VERSION_FOR_OVERSAMPLE_FACTOR = Version.V_3_0_0;
+    private static final Version MINIMAL_SUPPORTED_VERSION_FOR_EXACT_KNN_QUERY = Version.V_3_0_0;
+    private static final Version MINIMAL_SUPPORTED_VERSION_FOR_BATCH_KNN_QUERY = Version.V_3_0_0;
     // public so neural search can access it
     public static final Map<String, Version> minimalRequiredVersionMap = initializeMinimalRequiredVersionMap();
 
@@ -252,6 +260,25 @@ public class IndexUtil {
         return null;
     }
 
+    /**
+     * Validate that a field of an index is a keyword field
+     *
+     * @param indexMetadata metadata of the index
+     * @param field path of the field
+     * @return ValidationException if the field is not a keyword field, null otherwise
+     */
+    public static ValidationException validateKeywordField(IndexMetadata indexMetadata, String field) {
+        final MappingMetadata mappingMetadata = indexMetadata.mapping();
+        final Object properties = mappingMetadata == null ? null : mappingMetadata.getSourceAsMap().get("properties");
+        final Object fieldMapping = properties instanceof Map ? getFieldMapping((Map<String, Object>) properties, field) : null;
+        if (fieldMapping instanceof Map && "keyword".equals(((Map<String, Object>) fieldMapping).get("type"))) {
+            return null;
+        }
+        final ValidationException exception = new ValidationException();
+        exception.addValidationError(String.format(Locale.ROOT, "Field \"%s\" is not a keyword field.", field));
+        return exception;
+    }
+
     /**
      * Gets the load time parameters for a given engine.
      *
@@ -274,6 +301,12 @@ public class IndexUtil {
         if (KNNEngine.NMSLIB.equals(knnEngine)) {
             loadParameters.put(HNSW_ALGO_EF_SEARCH, KNNSettings.getEfSearchParam(indexName));
         }
+
+        // Only faiss can serve parts of an index from a memory mapping, so the load mode is only passed on for faiss
+        // and only when it differs from the default
+        if (KNNEngine.FAISS.equals(knnEngine) && IndexLoadMode.MMAP == KNNSettings.getIndexLoadMode(indexName)) {
+            loadParameters.put(INDEX_LOAD_MODE, IndexLoadMode.MMAP.getValue());
+        }
         loadParameters.put(VECTOR_DATA_TYPE_FIELD, vectorDataType.getValue());
 
         return Collections.unmodifiableMap(loadParameters);
@@ -402,6 +435,12 @@ public class IndexUtil {
                 put(KNNConstants.RADIAL_SEARCH_KEY, MINIMAL_SUPPORTED_VERSION_FOR_RADIAL_SEARCH);
                 put(KNNConstants.METHOD_PARAMETER, MINIMAL_SUPPORTED_VERSION_FOR_METHOD_PARAMETERS);
                 put(KNNConstants.MODEL_VECTOR_DATA_TYPE_KEY, MINIMAL_SUPPORTED_VERSION_FOR_MODEL_VECTOR_DATA_TYPE);
+                put(KNNConstants.TRAINING_DATA_SHARD_SAMPLING_KEY, MINIMAL_SUPPORTED_VERSION_FOR_TRAINING_DATA_SHARD_SAMPLING);
+                put(KNNConstants.DISTRIBUTED_TRAINING_KEY, MINIMAL_SUPPORTED_VERSION_FOR_DISTRIBUTED_TRAINING);
+                put(KNNConstants.TRAINING_JOB_QUEUE_KEY, MINIMAL_SUPPORTED_VERSION_FOR_TRAINING_JOB_QUEUE);
+                put(KNNConstants.OVERSAMPLE_FACTOR, MINIMAL_SUPPORTED_VERSION_FOR_OVERSAMPLE_FACTOR);
+                put(KNNConstants.EXACT_KNN_QUERY, MINIMAL_SUPPORTED_VERSION_FOR_EXACT_KNN_QUERY);
+                put(KNNConstants.BATCH_KNN_QUERY, MINIMAL_SUPPORTED_VERSION_FOR_BATCH_KNN_QUERY);
             }
         };
 
@@ -15,6 +15,7 @@ import org.opensearch.common.Nullable;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.knn.common.KNNConstants;
@@ -184,6 +185,19 @@ public class Model implements Writeable, ToXContentObject {
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return toXContent(builder, params, null);
+    }
+
+    /**
+     * Build the model object with additional fields
+     *
+     * @param builder XContentBuilder
+     * @param params Params
+     * @param additionalFields fields to add to the model object, or null
+     * @return XContentBuilder
+     * @throws IOException thrown by builder for invalid field
+     */
+    public XContentBuilder toXContent(XContentBuilder builder, Params params, ToXContentFragment additionalFields) throws IOException {
         XContentBuilder xContentBuilder = builder.startObject();
         builder.field(MODEL_ID, modelID);
         String base64Model = "";
@@ -192,6 +206,9 @@ public class Model implements Writeable, ToXContentObject {
         }
         builder.field(MODEL_BLOB_PARAMETER, base64Model);
         getModelMetadata().toXContent(builder, params);
+        if (additionalFields != null) {
+            additionalFields.toXContent(builder, params);
+        }
         return xContentBuilder.endObject();
     }
 }
@@ -12,7 +12,7 @@
 package org.opensearch.knn.jni;
 
 import org.opensearch.knn.common.KNNConstants;
-import org.opensearch.knn.index.query.KNNQueryResult;
+import org.opensearch.knn.index.query.KNNQueryResults;
 import org.opensearch.knn.index.engine.KNNEngine;
 
 import java.security.AccessController;
@@ -27,7 +27,7 @@ import static org.opensearch.knn.jni.PlatformUtils.isAVX2SupportedBySystem;
  *
  * In order to compile C++ header file, run:
  * javac -h jni/include src/main/java/org/opensearch/knn/jni/FaissService.java
- *      src/main/java/org/opensearch/knn/index/query/KNNQueryResult.java
+ *      src/main/java/org/opensearch/knn/index/query/KNNQueryResults.java
  *      src/main/java/org/opensearch/knn/common/KNNConstants.java
  */
 class FaissService {
@@ -77,6 +77,67 @@ class FaissService {
      */
     public static native void createBinaryIndex(int[] ids, long vectorsAddress, int dim, String indexPath, Map<String, Object> parameters);
 
+    /**
+     * Initialize an index to which vectors are added in batches with {@link #insertToIndex}. The index must be written
+     * with {@link #writeIndex} or freed with {@link #free} once all vectors are added.
+     *
+     * @param dim dimension of the vectors to be indexed
+     * @param parameters parameters to build index
+     * @return pointer to the index in native memory
+     */
+    public static native long initIndex(int dim, Map<String, Object> parameters);
+
+    /**
+     * Initialize a binary index to which vectors are added in batches with {@link #insertToBinaryIndex}. The index must
+     * be written with {@link #writeBinaryIndex} or freed with {@link #free} once all vectors are added.
+     *
+     * @param dim dimension of the vectors to be indexed
+     * @param parameters parameters to build index
+     * @return pointer to the index in native memory
+     */
+    public static native long initBinaryIndex(int dim, Map<String, Object> parameters);
+
+    /**
+     * Add a batch of vectors to an index created by {@link #initIndex}. The vectors are cleared from the native memory
+     * once they are added, but the memory is not freed, so that it can hold the next batch.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vectors to be indexed
+     * @param indexAddress pointer to the index in native memory
+     * @param threadCount number of threads to use to add the vectors, 0 to keep the current number
+     */
+    public static native void insertToIndex(int[] ids, long vectorsAddress, int dim, long indexAddress, int threadCount);
+
+    /**
+     * Add a batch of binary vectors to an index created by {@link #initBinaryIndex}. The vectors are cleared from the
+     * native memory once they are added, but the memory is not freed, so that it can hold the next batch.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vectors to be indexed
+     * @param indexAddress pointer to the index in native memory
+     * @param threadCount number of threads to use to add the vectors, 0 to keep the current number
+     */
+    public static native void insertToBinaryIndex(int[] ids, long vectorsAddress, int dim, long indexAddress, int threadCount);
+
+    /**
+     * Write an index created by {@link #initIndex} to disk. The index is freed, even if it cannot be written.
+     *
+     * @param indexAddress pointer to the index in native memory
+     * @param indexPath path to save index file to
+     */
+    public static native void writeIndex(long indexAddress, String indexPath);
+
+    /**
+     * Write a binary index created by {@link #initBinaryIndex} to disk. The index is freed, even if it cannot be
+     * written.
+     *
+     * @param indexAddress pointer to the index in native memory
+     * @param indexPath path to save index file to
+     */
+    public static native void writeBinaryIndex(long indexAddress, String indexPath);
+
     /**
      * Create an index for the native library with a provided template index
      *
@@ -131,6 +192,58 @@ class FaissService {
      */
     public static native long loadBinaryIndex(String indexPath);
 
+    /**
+     * Load an index so that more vectors can be inserted into it with {@link #insertToIndex} before it is written with
+     * {@link #writeIndex}. The ids of the index are remapped to docMap[id].
+     *
+     * @param indexPath path to index file
+     * @param docMap new doc id of each doc id of the index; every doc id of the index must map to a non-negative one
+     * @return pointer to location in memory the index resides in
+     */
+    public static native long loadIndexForMerge(String indexPath, int[] docMap);
+
+    /**
+     * Load a binary index so that more vectors can be inserted into it with {@link #insertToBinaryIndex} before it is
+     * written with {@link #writeBinaryIndex}. The ids of the index are remapped to docMap[id].
+     *
+     * @param indexPath path to index file
+     * @param docMap new doc id of each doc id of the index; every doc id of the index must map to a non-negative one
+     * @return pointer to location in memory the index resides in
+     */
+    public static native long loadBinaryIndexForMerge(String indexPath, int[] docMap);
+
+    /**
+     * Load an index, serving the inverted lists of IVF indices from a read-only memory mapping of the index file
+     *
+     * @param indexPath path to index file
+     * @return pointer to location in memory the index resides in
+     */
+    public static native long loadIndexWithMmap(String indexPath);
+
+    /**
+     * Load a binary index, serving the inverted lists of IVF indices from a read-only memory mapping of the index file
+     *
+     * @param indexPath path to index file
+     * @return pointer to location in memory the index resides in
+     */
+    public static native long loadBinaryIndexWithMmap(String indexPath);
+
+    /**
+     * Get the number of bytes of a loaded index that are served from a memory mapping of the index file
+     *
+     * @param indexAddr address of the index
+     * @return number of mapped bytes
+     */
+    public static native long getMappedSizeInBytes(long indexAddr);
+
+    /**
+     * Get the number of bytes of a loaded binary index that are served from a memory mapping of the index file
+     *
+     * @param indexAddr address of the binary index
+     * @return number of mapped bytes
+     */
+    public static native long getBinaryMappedSizeInBytes(long indexAddr);
+
     /**
      * Determine if index contains shared state.
      *
@@ -167,34 +280,62 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @param methodParameters method parameter
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @param nprobes nprobes of the query, or {@code -1} to use the one of the graph
      * @param parentIds list of parent doc ids when the knn field is a nested field
-     * @return KNNQueryResult array of k neighbors
+     * @return KNNQueryResults of k neighbors
      */
-    public static native KNNQueryResult[] queryIndex(
+    public static native KNNQueryResults queryIndex(
         long indexPointer,
         float[] queryVector,
         int k,
-        Map<String, ?> methodParameters,
+        int efSearch,
+        int nprobes,
         int[] parentIds
     );
 
+    /**
+     * Query an index with a batch of query vectors in a single call. Faiss searches the queries in parallel with up to
+     * threadCount OpenMP threads.
+     *
+     * @param indexPointer pointer to index in memory
+     * @param queryVectors query vectors laid out back to back, queryCount times the dimension of the index
+     * @param queryCount number of query vectors
+     * @param k neighbors to be returned for every query
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @param nprobes nprobes of the query, or {@code -1} to use the one of the graph
+     * @param threadCount maximum number of threads searching the queries
+     * @return KNNQueryResults holding k results per query, query after query. Queries with less than k results are
+     * padded with the doc id -1
+     */
+    public static native KNNQueryResults queryIndexBatch(
+        long indexPointer,
+        float[] queryVectors,
+        int queryCount,
+        int k,
+        int efSearch,
+        int nprobes,
+        int threadCount
+    );
+
     /**
      * Query an index with filter
      *
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @param methodParameters method parameter
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @param nprobes nprobes of the query, or {@code -1} to use the one of the graph
      * @param filterIds list of doc ids to include in the query result
      * @param parentIds list of parent doc ids when the knn field is a nested field
-     * @return KNNQueryResult array of k neighbors
+     * @return KNNQueryResults of k neighbors
      */
-    public static native KNNQueryResult[] queryIndexWithFilter(
+    public static native KNNQueryResults queryIndexWithFilter(
         long indexPointer,
         float[] queryVector,
         int k,
-        Map<String, ?> methodParameters,
+        int efSearch,
+        int nprobes,
         long[] filterIds,
         int filterIdsType,
         int[] parentIds
@@ -206,16 +347,18 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @param methodParameters method parameter
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @param nprobes nprobes of the query, or {@code -1} to use the one of the graph
      * @param filterIds list of doc ids to include in the query result
      * @param parentIds list of parent doc ids when the knn field is a nested field
-     * @return KNNQueryResult array of k neighbors
+     * @return KNNQueryResults of k neighbors
      */
-    public static native KNNQueryResult[] queryBinaryIndexWithFilter(
+    public static native KNNQueryResults queryBinaryIndexWithFilter(
         long indexPointer,
         byte[] queryVector,
         int k,
-        Map<String, ?> methodParameters,
+        int efSearch,
+        int nprobes,
         long[] filterIds,
         int filterIdsType,
         int[] parentIds
@@ -229,9 +372,9 @@ class FaissService {
      * @param k neighbors to be returned
      * @param filterIds list of doc ids to include in the query result
      * @param parentIds list of parent doc ids when the knn field is a nested field
-     * @return KNNQueryResult array of k neighbors
+     * @return KNNQueryResults of k neighbors
      */
-    public static native KNNQueryResult[] queryBinaryIndexWithFilter(
+    public static native KNNQueryResults queryBinaryIndexWithFilter(
         long indexPointer,
         byte[] queryVector,
         int k,
@@ -268,6 +411,22 @@ class FaissService {
      */
     public static native byte[] trainIndex(Map<String, Object> indexParameters, int dimension, long trainVectorsPointer);
 
+    /**
+     * Train an empty IVF index whose coarse quantizer holds centroids trained beforehand
+     *
+     * @param indexParameters parameters used to build index
+     * @param dimension dimension for the index
+     * @param trainVectorsPointer pointer to where training vectors are stored in native memory
+     * @param centroidsPointer pointer to where the centroids of the coarse quantizer are stored in native memory
+     * @return bytes array of trained template index
+     */
+    public static native byte[] trainIndexWithCentroids(
+        Map<String, Object> indexParameters,
+        int dimension,
+        long trainVectorsPointer,
+        long centroidsPointer
+    );
+
     /**
      * Train an empty binary index
      *
@@ -297,18 +456,20 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param radius search within radius threshold
-     * @param methodParameters parameters to be used for the query
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @param nprobes nprobes of the query, or {@code -1} to use the one of the graph
      * @param indexMaxResultWindow maximum number of results to return
      * @param filteredIds list of doc ids to include in the query result
      * @param filterIdsType type of filter ids
      * @param parentIds list of parent doc ids when the knn field is a nested field
-     * @return KNNQueryResult array of neighbors within radius
+     * @return KNNQueryResults of neighbors within radius
      */
-    public static native KNNQueryResult[] rangeSearchIndexWithFilter(
+    public static native KNNQueryResults rangeSearchIndexWithFilter(
         long indexPointer,
         float[] queryVector,
         float radius,
-        Map<String, ?> methodParameters,
+        int efSearch,
+        int nprobes,
         int indexMaxResultWindow,
         long[] filteredIds,
         int filterIdsType,
@@ -321,16 +482,18 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param radius search within radius threshold
-     * @param methodParameters parameters to be used for the query
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @param nprobes nprobes of the query, or {@code -1} to use the one of the graph
      * @param indexMaxResultWindow maximum number of results to return
      * @param parentIds list of parent doc ids when the knn field is a nested field
-     * @return KNNQueryResult array of neighbors within radius
+     * @return KNNQueryResults of neighbors within radius
      */
-    public static native KNNQueryResult[] rangeSearchIndex(
+    public static native KNNQueryResults rangeSearchIndex(
         long indexPointer,
         float[] queryVector,
         float radius,
-        Map<String, ?> methodParameters,
+        int efSearch,
+        int nprobes,
         int indexMaxResultWindow,
         int[] parentIds
     );
@@ -13,6 +13,7 @@ package org.opensearch.knn.jni;
 
 import org.opensearch.knn.common.KNNConstants;
 
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
@@ -66,6 +67,76 @@ public class JNICommons {
      */
     public static native long storeByteVectorData(long memoryAddress, byte[][] data, long initialCapacity);
 
+    /**
+     * Create an empty float vector in native memory with room for initialCapacity floats. The vector is filled in place
+     * through the buffers returned by {@link JNICommons#appendVectorData(long, long)}, and can be used wherever the
+     * memory address returned by {@link JNICommons#storeVectorData(long, float[][], long)} is expected.
+     *
+     * @param initialCapacity number of floats to reserve memory for
+     * @return memory address of the vector
+     */
+    public static native long createVectorData(long initialCapacity);
+
+    /**
+     * Grow the float vector at the memory address by numElements floats and return a direct buffer over them, so that
+     * they can be written in place. The buffer must be written before the vector is grown or resized again, after
+     * which it must not be used anymore. No memory is reallocated as long as the vector stays within its initial
+     * capacity.
+     *
+     * <p>
+     *   The function is not threadsafe. If multiple threads are trying to insert on same memory location, then it can
+     *   lead to data corruption.
+     * </p>
+     *
+     * @param memoryAddress address returned by {@link JNICommons#createVectorData(long)}
+     * @param numElements number of floats to add, at most {@link Integer#MAX_VALUE} bytes
+     * @return direct buffer over the added floats, in native byte order
+     */
+    public static native ByteBuffer appendVectorData(long memoryAddress, long numElements);
+
+    /**
+     * Resize the float vector at the memory address, for instance to drop floats added by
+     * {@link JNICommons#appendVectorData(long, long)} that were not written.
+     *
+     * @param memoryAddress address returned by {@link JNICommons#createVectorData(long)}
+     * @param numElements new number of floats
+     */
+    public static native void resizeVectorData(long memoryAddress, long numElements);
+
+    /**
+     * Create an empty byte vector in native memory with room for initialCapacity bytes. The vector is filled in place
+     * through the buffers returned by {@link JNICommons#appendByteVectorData(long, long)}, and can be used wherever
+     * the memory address returned by {@link JNICommons#storeByteVectorData(long, byte[][], long)} is expected.
+     *
+     * @param initialCapacity number of bytes to reserve memory for
+     * @return memory address of the vector
+     */
+    public static native long createByteVectorData(long initialCapacity);
+
+    /**
+     * Grow the byte vector at the memory address by numElements bytes and return a direct buffer over them, so that
+     * they can be written in place. The buffer must be written before the vector is grown or resized again, after
+     * which it must not be used anymore.
+     *
+     * <p>
+     *   The function is not threadsafe. If multiple threads are trying to insert on same memory location, then it can
+     *   lead to data corruption.
+     * </p>
+     *
+     * @param memoryAddress address returned by {@link JNICommons#createByteVectorData(long)}
+     * @param numElements number of bytes to add, at most {@link Integer#MAX_VALUE}
+     * @return direct buffer over the added bytes
+     */
+    public static native ByteBuffer appendByteVectorData(long memoryAddress, long numElements);
+
+    /**
+     * Resize the byte vector at the memory address.
+     *
+     * @param memoryAddress address returned by {@link JNICommons#createByteVectorData(long)}
+     * @param numElements new number of bytes
+     */
+    public static native void resizeByteVectorData(long memoryAddress, long numElements);
+
     /**
      * Free up the memory allocated for the data stored in memory address. This function should be used with the memory
      * address returned by {@link JNICommons#storeVectorData(long, float[][], long)}
@@ -13,8 +13,11 @@ package org.opensearch.knn.jni;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.opensearch.common.Nullable;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.memory.IndexLoadMode;
 import org.opensearch.knn.index.util.IndexUtil;
-import org.opensearch.knn.index.query.KNNQueryResult;
+import org.opensearch.knn.index.query.KNNQueryResults;
+import org.opensearch.knn.index.query.NativeSearchParameters;
 import org.opensearch.knn.index.engine.KNNEngine;
 
 import java.util.Map;
@@ -62,6 +65,82 @@ public class JNIService {
         throw new IllegalArgumentException(String.format("CreateIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Initialize an index to which vectors are added in batches with
+     * {@link #insertToIndex(int[], long, int, long, int, Map, KNNEngine)}. The index must be written with
+     * {@link #writeIndex(long, String, Map, KNNEngine)} or freed once all vectors are added.
+     *
+     * @param dim        dimension of vectors to be indexed
+     * @param parameters parameters to build index
+     * @param knnEngine  engine to build index for
+     * @return pointer to the index in native memory
+     */
+    public static long initIndex(int dim, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                return FaissService.initBinaryIndex(dim, parameters);
+            }
+            return FaissService.initIndex(dim, parameters);
+        }
+
+        throw new IllegalArgumentException(String.format("InitIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
+    /**
+     * Add a batch of vectors to an index created by {@link #initIndex(int, Map, KNNEngine)}. The vectors are cleared
+     * from the native memory once added, without freeing it, so that the memory can hold the next batch.
+     *
+     * @param ids            array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim            dimension of vectors to be indexed
+     * @param indexAddress   pointer to the index in native memory
+     * @param threadCount    number of threads to use to add the vectors, 0 to keep the current number
+     * @param parameters     parameters the index was initialized with
+     * @param knnEngine      engine to build index for
+     */
+    public static void insertToIndex(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        long indexAddress,
+        int threadCount,
+        Map<String, Object> parameters,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.insertToBinaryIndex(ids, vectorsAddress, dim, indexAddress, threadCount);
+            } else {
+                FaissService.insertToIndex(ids, vectorsAddress, dim, indexAddress, threadCount);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(String.format("InsertToIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
+    /**
+     * Write an index created by {@link #initIndex(int, Map, KNNEngine)} to disk. The index is freed, even if it cannot
+     * be written.
+     *
+     * @param indexAddress pointer to the index in native memory
+     * @param indexPath    path to save index file to
+     * @param parameters   parameters the index was initialized with
+     * @param knnEngine    engine to build index for
+     */
+    public static void writeIndex(long indexAddress, String indexPath, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.writeBinaryIndex(indexAddress, indexPath);
+            } else {
+                FaissService.writeIndex(indexAddress, indexPath);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(String.format("WriteIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
     /**
      * Create an index for the native library with a provided template index
      *
@@ -111,16 +190,62 @@ public class JNIService {
         }
 
         if (KNNEngine.FAISS == knnEngine) {
+            boolean isMmap = IndexLoadMode.MMAP.getValue().equals(parameters.get(KNNConstants.INDEX_LOAD_MODE));
             if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
-                return FaissService.loadBinaryIndex(indexPath);
+                return isMmap ? FaissService.loadBinaryIndexWithMmap(indexPath) : FaissService.loadBinaryIndex(indexPath);
             } else {
-                return FaissService.loadIndex(indexPath);
+                return isMmap ? FaissService.loadIndexWithMmap(indexPath) : FaissService.loadIndex(indexPath);
             }
         }
 
         throw new IllegalArgumentException(String.format("LoadIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Load an index written by {@link #createIndex} or {@link #writeIndex} so that more vectors can be inserted into it
+     * with {@link #insertToIndex} before it is written with {@link #writeIndex}. Used to seed the index of a merged
+     * segment with the index of one of the merged segments.
+     *
+     * @param indexPath  path of the index file
+     * @param docMap     doc id in the merged segment of each doc id of the index; every doc id of the index must map to
+     *                   a non-negative one
+     * @param parameters parameters the index was built with
+     * @param knnEngine  engine of the index
+     * @return address of the index in native memory
+     */
+    public static long loadIndexForMerge(String indexPath, int[] docMap, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                return FaissService.loadBinaryIndexForMerge(indexPath, docMap);
+            }
+            return FaissService.loadIndexForMerge(indexPath, docMap);
+        }
+
+        throw new IllegalArgumentException(
+            String.format("LoadIndexForMerge not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
+    /**
+     * Get the number of bytes of a loaded index that are served from a memory mapping of the index file rather than
+     * held in native memory. Only faiss indices loaded in {@link IndexLoadMode#MMAP} mode can have mapped bytes.
+     *
+     * @param indexAddr address of the loaded index
+     * @param parameters parameters the index was loaded with
+     * @param knnEngine engine of the index
+     * @return number of mapped bytes
+     */
+    public static long getMappedSizeInBytes(long indexAddr, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS != knnEngine || !IndexLoadMode.MMAP.getValue().equals(parameters.get(KNNConstants.INDEX_LOAD_MODE))) {
+            return 0;
+        }
+
+        if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+            return FaissService.getBinaryMappedSizeInBytes(indexAddr);
+        }
+        return FaissService.getMappedSizeInBytes(indexAddr);
+    }
+
     /**
      * Determine if index contains shared state. Currently, we cannot do this in the plugin because we do not store the
      * model definition anywhere. Only faiss supports indices that have shared state. So for all other engines it will
@@ -178,24 +303,24 @@ public class JNIService {
      * @param indexPointer      pointer to index in memory
      * @param queryVector       vector to be used for query
      * @param k                 neighbors to be returned
-     * @param methodParameters  method parameter
+     * @param searchParameters  method parameters of the query, or null
      * @param knnEngine         engine to query index
      * @param filteredIds       array of ints on which should be used for search.
      * @param filterIdsType     how to filter ids: Batch or BitMap
-     * @return KNNQueryResult array of k neighbors
+     * @return KNNQueryResults of k neighbors
      */
-    public static KNNQueryResult[] queryIndex(
+    public static KNNQueryResults queryIndex(
         long indexPointer,
         float[] queryVector,
         int k,
-        @Nullable Map<String, ?> methodParameters,
+        @Nullable NativeSearchParameters searchParameters,
         KNNEngine knnEngine,
         long[] filteredIds,
         int filterIdsType,
         int[] parentIds
     ) {
         if (KNNEngine.NMSLIB == knnEngine) {
-            return NmslibService.queryIndex(indexPointer, queryVector, k, methodParameters);
+            return NmslibService.queryIndex(indexPointer, queryVector, k, efSearch(searchParameters));
         }
 
         if (KNNEngine.FAISS == knnEngine) {
@@ -208,34 +333,77 @@ public class JNIService {
                     indexPointer,
                     queryVector,
                     k,
-                    methodParameters,
+                    efSearch(searchParameters),
+                    nprobes(searchParameters),
                     filteredIds,
                     filterIdsType,
                     parentIds
                 );
             }
-            return FaissService.queryIndex(indexPointer, queryVector, k, methodParameters, parentIds);
+            return FaissService.queryIndex(
+                indexPointer,
+                queryVector,
+                k,
+                efSearch(searchParameters),
+                nprobes(searchParameters),
+                parentIds
+            );
         }
         throw new IllegalArgumentException(String.format("QueryIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Query an index with a batch of query vectors in a single call
+     *
+     * @param indexPointer      pointer to index in memory
+     * @param queryVectors      query vectors laid out back to back
+     * @param queryCount        number of query vectors
+     * @param k                 neighbors to be returned for every query
+     * @param searchParameters  method parameters of the query, or null
+     * @param knnEngine         engine to query index
+     * @param threadCount       maximum number of threads searching the queries
+     * @return KNNQueryResults holding k results per query, padded with the doc id -1
+     */
+    public static KNNQueryResults queryIndexBatch(
+        long indexPointer,
+        float[] queryVectors,
+        int queryCount,
+        int k,
+        @Nullable NativeSearchParameters searchParameters,
+        KNNEngine knnEngine,
+        int threadCount
+    ) {
+        if (KNNEngine.FAISS == knnEngine) {
+            return FaissService.queryIndexBatch(
+                indexPointer,
+                queryVectors,
+                queryCount,
+                k,
+                efSearch(searchParameters),
+                nprobes(searchParameters),
+                threadCount
+            );
+        }
+        throw new IllegalArgumentException(String.format("QueryIndexBatch not supported for provided engine : %s", knnEngine.getName()));
+    }
+
     /**
      * Query a binary index
      *
      * @param indexPointer      pointer to index in memory
      * @param queryVector       vector to be used for query
      * @param k                 neighbors to be returned
-     * @param methodParameters  method parameter
+     * @param searchParameters  method parameters of the query, or null
      * @param knnEngine         engine to query index
      * @param filteredIds       array of ints on which should be used for search.
      * @param filterIdsType     how to filter ids: Batch or BitMap
-     * @return KNNQueryResult array of k neighbors
+     * @return KNNQueryResults of k neighbors
      */
-    public static KNNQueryResult[] queryBinaryIndex(
+    public static KNNQueryResults queryBinaryIndex(
         long indexPointer,
         byte[] queryVector,
         int k,
-        @Nullable Map<String, ?> methodParameters,
+        @Nullable NativeSearchParameters searchParameters,
         KNNEngine knnEngine,
         long[] filteredIds,
         int filterIdsType,
@@ -246,7 +414,8 @@ public class JNIService {
                 indexPointer,
                 queryVector,
                 k,
-                methodParameters,
+                efSearch(searchParameters),
+                nprobes(searchParameters),
                 ArrayUtils.isEmpty(filteredIds) ? null : filteredIds,
                 filterIdsType,
                 parentIds
@@ -322,6 +491,32 @@ public class JNIService {
         throw new IllegalArgumentException(String.format("TrainIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Train an empty IVF index whose coarse quantizer holds centroids trained beforehand
+     *
+     * @param indexParameters     parameters used to build index
+     * @param dimension           dimension for the index
+     * @param trainVectorsPointer pointer to where training vectors are stored in native memory
+     * @param centroidsPointer    pointer to where the centroids of the coarse quantizer are stored in native memory
+     * @param knnEngine           engine to perform the training
+     * @return bytes array of trained template index
+     */
+    public static byte[] trainIndexWithCentroids(
+        Map<String, Object> indexParameters,
+        int dimension,
+        long trainVectorsPointer,
+        long centroidsPointer,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine && !IndexUtil.isBinaryIndex(knnEngine, indexParameters)) {
+            return FaissService.trainIndexWithCentroids(indexParameters, dimension, trainVectorsPointer, centroidsPointer);
+        }
+
+        throw new IllegalArgumentException(
+            String.format("TrainIndexWithCentroids not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
     /**
      * <p>
      *  The function is deprecated. Use {@link JNICommons#storeVectorData(long, float[][], long)}
@@ -343,19 +538,19 @@ public class JNIService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param radius search within radius threshold
-     * @param methodParameters parameters to be used when loading index
+     * @param searchParameters method parameters of the query, or null
      * @param knnEngine engine to query index
      * @param indexMaxResultWindow maximum number of results to return
      * @param filteredIds list of doc ids to include in the query result
      * @param filterIdsType how to filter ids: Batch or BitMap
      * @param parentIds parent ids of the vectors
-     * @return KNNQueryResult array of neighbors within radius
+     * @return KNNQueryResults of neighbors within radius
      */
-    public static KNNQueryResult[] radiusQueryIndex(
+    public static KNNQueryResults radiusQueryIndex(
         long indexPointer,
         float[] queryVector,
         float radius,
-        @Nullable Map<String, ?> methodParameters,
+        @Nullable NativeSearchParameters searchParameters,
         KNNEngine knnEngine,
         int indexMaxResultWindow,
         long[] filteredIds,
@@ -368,15 +563,32 @@ public class JNIService {
                     indexPointer,
                     queryVector,
                     radius,
-                    methodParameters,
+                    efSearch(searchParameters),
+                    nprobes(searchParameters),
                     indexMaxResultWindow,
                     filteredIds,
                     filterIdsType,
                     parentIds
                 );
             }
-            return FaissService.rangeSearchIndex(indexPointer, queryVector, radius, methodParameters, indexMaxResultWindow, parentIds);
+            return FaissService.rangeSearchIndex(
+                indexPointer,
+                queryVector,
+                radius,
+                efSearch(searchParameters),
+                nprobes(searchParameters),
+                indexMaxResultWindow,
+                parentIds
+            );
         }
         throw new IllegalArgumentException("RadiusQueryIndex not supported for provided engine");
     }
+
+    private static int efSearch(@Nullable NativeSearchParameters searchParameters) {
+        return searchParameters == null ? NativeSearchParameters.NOT_SET : searchParameters.getEfSearch();
+    }
+
+    private static int nprobes(@Nullable NativeSearchParameters searchParameters) {
+        return searchParameters == null ? NativeSearchParameters.NOT_SET : searchParameters.getNprobes();
+    }
 }
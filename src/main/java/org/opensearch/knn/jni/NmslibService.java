@@ -12,7 +12,7 @@
 package org.opensearch.knn.jni;
 
 import org.opensearch.knn.common.KNNConstants;
-import org.opensearch.knn.index.query.KNNQueryResult;
+import org.opensearch.knn.index.query.KNNQueryResults;
 import org.opensearch.knn.index.engine.KNNEngine;
 
 import java.security.AccessController;
@@ -24,7 +24,7 @@ import java.util.Map;
  *
  * In order to compile C++ header file, run:
  * javac -h jni/include src/main/java/org/opensearch/knn/jni/NmslibService.java
- *      src/main/java/org/opensearch/knn/index/KNNQueryResult.java
+ *      src/main/java/org/opensearch/knn/index/query/KNNQueryResults.java
  *      src/main/java/org/opensearch/knn/common/KNNConstants.java
  */
 class NmslibService {
@@ -67,9 +67,10 @@ class NmslibService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @return KNNQueryResult array of k neighbors
+     * @param efSearch ef_search of the query, or {@code -1} to use the one of the graph
+     * @return KNNQueryResults of k neighbors
      */
-    public static native KNNQueryResult[] queryIndex(long indexPointer, float[] queryVector, int k, Map<String, ?> methodParameters);
+    public static native KNNQueryResults queryIndex(long indexPointer, float[] queryVector, int k, int efSearch);
 
     /**
      * Free native memory pointer
@@ -7,22 +7,31 @@ package org.opensearch.knn.plugin;
 
 import org.opensearch.cluster.NamedDiff;
 import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.core.ParseField;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.index.codec.CodecServiceFactory;
 import org.opensearch.index.engine.EngineFactory;
 import org.opensearch.indices.SystemIndexDescriptor;
 import org.opensearch.knn.index.KNNCircuitBreaker;
+import org.opensearch.knn.index.KNNWarmSetPreloader;
 import org.opensearch.knn.index.util.KNNClusterUtil;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapperUtil;
+import org.opensearch.knn.index.query.KNNBatchQueryBuilder;
+import org.opensearch.knn.index.query.KNNConcurrentSegmentSearch;
+import org.opensearch.knn.index.query.KNNExactQueryBuilder;
 import org.opensearch.knn.index.query.KNNQueryBuilder;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
 
+import org.opensearch.knn.index.query.parser.KNNBatchQueryBuilderParser;
+import org.opensearch.knn.index.query.parser.KNNExactQueryBuilderParser;
 import org.opensearch.knn.index.query.parser.KNNQueryBuilderParser;
 import org.opensearch.knn.index.query.KNNWeight;
 import org.opensearch.knn.index.codec.KNNCodecService;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
+import org.opensearch.knn.index.memory.NativeMemoryWarmSet;
 import org.opensearch.knn.indices.ModelGraveyard;
 import org.opensearch.knn.indices.ModelCache;
 import org.opensearch.knn.indices.ModelDao;
@@ -75,10 +84,15 @@ import org.opensearch.knn.plugin.transport.TrainingJobRouterTransportAction;
 import org.opensearch.knn.plugin.transport.TrainingModelAction;
 import org.opensearch.knn.plugin.transport.TrainingModelRequest;
 import org.opensearch.knn.plugin.transport.TrainingModelTransportAction;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleAction;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleTransportAction;
+import org.opensearch.knn.plugin.transport.TrainingKMeansStepAction;
+import org.opensearch.knn.plugin.transport.TrainingKMeansStepTransportAction;
 import org.opensearch.knn.plugin.transport.UpdateModelMetadataAction;
 import org.opensearch.knn.plugin.transport.UpdateModelMetadataTransportAction;
 import org.opensearch.knn.plugin.transport.UpdateModelGraveyardAction;
 import org.opensearch.knn.plugin.transport.UpdateModelGraveyardTransportAction;
+import org.opensearch.knn.training.DistributedKMeansTrainer;
 import org.opensearch.knn.training.TrainingJobClusterStateListener;
 import org.opensearch.knn.training.TrainingJobRunner;
 import org.opensearch.knn.training.VectorReader;
@@ -110,10 +124,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import static java.util.Collections.singletonList;
 import static org.opensearch.knn.common.KNNConstants.KNN_THREAD_POOL_PREFIX;
 import static org.opensearch.knn.common.KNNConstants.MODEL_INDEX_NAME;
 import static org.opensearch.knn.common.KNNConstants.TRAIN_THREAD_POOL;
+import static org.opensearch.knn.common.KNNConstants.GRAPH_LOAD_THREAD_POOL;
+import static org.opensearch.knn.common.KNNConstants.SEARCH_THREAD_POOL;
 
 /**
  * Entry point for the KNN plugin where we define mapper for knn_vector type
@@ -157,9 +172,12 @@ public class KNNPlugin extends Plugin
 
     public static final String LEGACY_KNN_BASE_URI = "/_opendistro/_knn";
     public static final String KNN_BASE_URI = "/_plugins/_knn";
+    private static final int GRAPH_LOAD_THREAD_POOL_QUEUE_SIZE = 1000;
+    private static final int SEARCH_THREAD_POOL_QUEUE_SIZE = 1000;
 
     private KNNStats knnStats;
     private ClusterService clusterService;
+    private ThreadPool threadPool;
 
     @Override
     public Map<String, Mapper.TypeParser> getMappers() {
@@ -171,7 +189,11 @@ public class KNNPlugin extends Plugin
 
     @Override
     public List<QuerySpec<?>> getQueries() {
-        return singletonList(new QuerySpec<>(KNNQueryBuilder.NAME, KNNQueryBuilder::new, KNNQueryBuilderParser::fromXContent));
+        return List.of(
+            new QuerySpec<>(KNNQueryBuilder.NAME, KNNQueryBuilder::new, KNNQueryBuilderParser::fromXContent),
+            new QuerySpec<>(KNNExactQueryBuilder.NAME, KNNExactQueryBuilder::new, KNNExactQueryBuilderParser::fromXContent),
+            new QuerySpec<>(KNNBatchQueryBuilder.NAME, KNNBatchQueryBuilder::new, KNNBatchQueryBuilderParser::fromXContent)
+        );
     }
 
     @Override
@@ -189,11 +211,13 @@ public class KNNPlugin extends Plugin
         Supplier<RepositoriesService> repositoriesServiceSupplier
     ) {
         this.clusterService = clusterService;
+        this.threadPool = threadPool;
 
         // Initialize Native Memory loading strategies
         NativeMemoryLoadStrategy.IndexLoadStrategy.initialize(resourceWatcherService);
         VectorReader vectorReader = new VectorReader(client);
         NativeMemoryLoadStrategy.TrainingLoadStrategy.initialize(vectorReader);
+        DistributedKMeansTrainer.initialize(client);
 
         KNNSettings.state().initialize(client, clusterService);
         KNNClusterUtil.instance().initialize(clusterService);
@@ -202,6 +226,11 @@ public class KNNPlugin extends Plugin
         TrainingJobRunner.initialize(threadPool, ModelDao.OpenSearchKNNModelDao.getInstance());
         TrainingJobClusterStateListener.initialize(threadPool, ModelDao.OpenSearchKNNModelDao.getInstance(), clusterService);
         KNNCircuitBreaker.getInstance().initialize(threadPool, clusterService, client);
+        NativeMemoryCacheManager.getInstance().setLoadExecutor(threadPool.executor(GRAPH_LOAD_THREAD_POOL));
+        KNNConcurrentSegmentSearch.initialize(threadPool.executor(SEARCH_THREAD_POOL));
+        if (nodeEnvironment.hasNodeFile()) {
+            NativeMemoryWarmSet.initialize(nodeEnvironment.nodeDataPaths()[0]);
+        }
         KNNQueryBuilder.initialize(ModelDao.OpenSearchKNNModelDao.getInstance());
         KNNVectorFieldMapperUtil.initialize(ModelDao.OpenSearchKNNModelDao.getInstance());
         KNNWeight.initialize(ModelDao.OpenSearchKNNModelDao.getInstance());
@@ -269,7 +298,9 @@ public class KNNPlugin extends Plugin
             new ActionHandler<>(RemoveModelFromCacheAction.INSTANCE, RemoveModelFromCacheTransportAction.class),
             new ActionHandler<>(SearchModelAction.INSTANCE, SearchModelTransportAction.class),
             new ActionHandler<>(UpdateModelGraveyardAction.INSTANCE, UpdateModelGraveyardTransportAction.class),
-            new ActionHandler<>(ClearCacheAction.INSTANCE, ClearCacheTransportAction.class)
+            new ActionHandler<>(ClearCacheAction.INSTANCE, ClearCacheTransportAction.class),
+            new ActionHandler<>(TrainingDataSampleAction.INSTANCE, TrainingDataSampleTransportAction.class),
+            new ActionHandler<>(TrainingKMeansStepAction.INSTANCE, TrainingKMeansStepTransportAction.class)
         );
     }
 
@@ -289,6 +320,9 @@ public class KNNPlugin extends Plugin
     @Override
     public void onIndexModule(IndexModule indexModule) {
         KNNSettings.state().onIndexModule(indexModule);
+        if (threadPool != null && KNNSettings.IS_KNN_INDEX_SETTING.get(indexModule.getSettings())) {
+            indexModule.addIndexEventListener(new KNNWarmSetPreloader(threadPool));
+        }
     }
 
     /**
@@ -325,7 +359,43 @@ public class KNNPlugin extends Plugin
 
     @Override
     public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
-        return ImmutableList.of(new FixedExecutorBuilder(settings, TRAIN_THREAD_POOL, 1, 1, KNN_THREAD_POOL_PREFIX, false));
+        return ImmutableList.of(
+            new FixedExecutorBuilder(
+                settings,
+                TRAIN_THREAD_POOL,
+                KNNSettings.KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING.get(settings),
+                KNNSettings.KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING.get(settings),
+                KNN_THREAD_POOL_PREFIX,
+                false
+            ),
+            new FixedExecutorBuilder(
+                settings,
+                GRAPH_LOAD_THREAD_POOL,
+                graphLoadThreadPoolSize(OpenSearchExecutors.allocatedProcessors(settings)),
+                GRAPH_LOAD_THREAD_POOL_QUEUE_SIZE,
+                KNN_THREAD_POOL_PREFIX + "." + GRAPH_LOAD_THREAD_POOL,
+                false
+            ),
+            new FixedExecutorBuilder(
+                settings,
+                SEARCH_THREAD_POOL,
+                OpenSearchExecutors.allocatedProcessors(settings),
+                SEARCH_THREAD_POOL_QUEUE_SIZE,
+                KNN_THREAD_POOL_PREFIX + "." + SEARCH_THREAD_POOL,
+                false
+            )
+        );
+    }
+
+    /**
+     * Graph loads are bound by disk reads, so a few threads are enough to load the graphs of many segments in
+     * parallel without taking cores away from search.
+     *
+     * @param allocatedProcessors number of processors allocated to the node
+     * @return default size of the graph load thread pool
+     */
+    static int graphLoadThreadPoolSize(int allocatedProcessors) {
+        return Math.max(1, Math.min(4, allocatedProcessors / 2));
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.opensearch.knn.indices.ModelUtil;
 import org.opensearch.knn.plugin.KNNPlugin;
 import org.opensearch.knn.plugin.transport.TrainingJobRouterAction;
 import org.opensearch.knn.plugin.transport.TrainingModelRequest;
+import org.opensearch.knn.training.TrainingDataSampling;
 import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.action.RestToXContentListener;
@@ -39,6 +40,8 @@ import static org.opensearch.knn.common.KNNConstants.MODEL_DESCRIPTION;
 import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
 import static org.opensearch.knn.common.KNNConstants.PREFERENCE_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.SEARCH_SIZE_PARAMETER;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_PRIORITY_PARAMETER;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_SAMPLING_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.TRAIN_FIELD_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.TRAIN_INDEX_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.VECTOR_DATA_TYPE_FIELD;
@@ -86,6 +89,8 @@ public class RestTrainModelHandler extends BaseRestHandler {
         String trainingField = (String) DEFAULT_NOT_SET_OBJECT_VALUE;
         String description = (String) DEFAULT_NOT_SET_OBJECT_VALUE;
         VectorDataType vectorDataType = (VectorDataType) DEFAULT_NOT_SET_OBJECT_VALUE;
+        TrainingDataSampling sampling = (TrainingDataSampling) DEFAULT_NOT_SET_OBJECT_VALUE;
+        Integer priority = (Integer) DEFAULT_NOT_SET_OBJECT_VALUE;
 
         int dimension = DEFAULT_NOT_SET_INT_VALUE;
         int maximumVectorCount = DEFAULT_NOT_SET_INT_VALUE;
@@ -115,6 +120,10 @@ public class RestTrainModelHandler extends BaseRestHandler {
                 ModelUtil.blockCommasInModelDescription(description);
             } else if (VECTOR_DATA_TYPE_FIELD.equals(fieldName) && ensureNotSet(fieldName, vectorDataType)) {
                 vectorDataType = VectorDataType.get(parser.text());
+            } else if (TRAINING_SAMPLING_PARAMETER.equals(fieldName) && ensureNotSet(fieldName, sampling)) {
+                sampling = TrainingDataSampling.parse(parser.map());
+            } else if (TRAINING_PRIORITY_PARAMETER.equals(fieldName) && ensureNotSet(fieldName, priority)) {
+                priority = (Integer) NumberFieldMapper.NumberType.INTEGER.parse(parser.objectBytes(), false);
             } else {
                 throw new IllegalArgumentException("Unable to parse token. \"" + fieldName + "\" is not a valid " + "parameter.");
             }
@@ -154,6 +163,14 @@ public class RestTrainModelHandler extends BaseRestHandler {
             trainingModelRequest.setSearchSize(searchSize);
         }
 
+        if (sampling != DEFAULT_NOT_SET_OBJECT_VALUE) {
+            trainingModelRequest.setSampling(sampling);
+        }
+
+        if (priority != DEFAULT_NOT_SET_OBJECT_VALUE) {
+            trainingModelRequest.setPriority(priority);
+        }
+
         return trainingModelRequest;
     }
 
@@ -6,9 +6,11 @@
 package org.opensearch.knn.plugin.script;
 
 import org.apache.lucene.search.IndexSearcher;
-import org.opensearch.knn.index.KNNVectorScriptDocValues;
+import org.opensearch.ExceptionsHelper;
 import org.apache.lucene.index.LeafReaderContext;
 import org.opensearch.index.fielddata.ScriptDocValues;
+import org.opensearch.knn.index.KNNVectorLeafValues;
+import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.script.ScoreScript;
 import org.opensearch.search.lookup.SearchLookup;
 
@@ -112,20 +114,35 @@ public abstract class KNNScoreScript<T> extends ScoreScript {
 
     /**
      * KNNVectors with float[] type. The query value passed in is expected to be float[]. The fieldType of the docs
-     * being searched over are expected to be KNNVector type.
+     * being searched over are expected to be KNNVector type. The script binds to the vector values or binary doc values
+     * of the field once per segment and decodes every doc vector into the same buffer, instead of going through the
+     * doc lookup and a new array per doc.
      */
     public static class KNNVectorType extends KNNScoreScript<float[]> {
+        private final KNNVectorScoringMethod vectorScoringMethod;
+        // Vectors of the field in the segment, null if the segment has none
+        private final KNNVectorLeafValues vectorValues;
+        private int docId;
 
         public KNNVectorType(
             Map<String, Object> params,
             float[] queryValue,
             String field,
-            BiFunction<float[], float[], Float> scoringMethod,
+            KNNVectorScoringMethod scoringMethod,
+            VectorDataType vectorDataType,
             SearchLookup lookup,
             LeafReaderContext leafContext,
             IndexSearcher searcher
         ) throws IOException {
-            super(params, queryValue, field, scoringMethod, lookup, leafContext, searcher);
+            super(params, queryValue, field, scoringMethod::score, lookup, leafContext, searcher);
+            this.vectorScoringMethod = scoringMethod;
+            this.vectorValues = KNNVectorLeafValues.create(leafContext.reader(), field, vectorDataType);
+        }
+
+        @Override
+        public void setDocument(int docId) {
+            super.setDocument(docId);
+            this.docId = docId;
         }
 
         /**
@@ -137,11 +154,14 @@ public abstract class KNNScoreScript<T> extends ScoreScript {
          */
         @Override
         public double execute(ScoreScript.ExplanationHolder explanationHolder) {
-            KNNVectorScriptDocValues scriptDocValues = (KNNVectorScriptDocValues) getDoc().get(this.field);
-            if (scriptDocValues.isEmpty()) {
-                return 0.0;
+            try {
+                if (vectorValues == null || !vectorValues.advanceExact(docId)) {
+                    return 0.0;
+                }
+                return this.vectorScoringMethod.score(this.queryValue, vectorValues.vectorValue());
+            } catch (IOException e) {
+                throw ExceptionsHelper.convertToOpenSearchException(e);
             }
-            return this.scoringMethod.apply(this.queryValue, scriptDocValues.getValue());
         }
     }
 }
@@ -52,9 +52,20 @@ public interface KNNScoringSpace {
      */
     abstract class KNNFieldSpace implements KNNScoringSpace {
         public static final Set<VectorDataType> DATA_TYPES_DEFAULT = Set.of(VectorDataType.FLOAT, VectorDataType.BYTE);
+        // Relative slack added to score bounds
+        protected static final float SCORE_BOUND_SLACK = 1e-3f;
 
+        @Getter
         private float[] processedQuery;
         @Getter
+        private VectorDataType vectorDataType;
+        @Getter
+        private KNNVectorScoringMethod vectorScoringMethod;
+        // Null when the scores of the space cannot be bounded by the norms of the doc vectors
+        @Getter
+        private KNNVectorScoreBound scoreBound;
+        // Boxing view of the scoring method, kept for callers that score outside of the script
+        @Getter
         private BiFunction<float[], float[], Float> scoringMethod;
 
         public KNNFieldSpace(final Object query, final MappedFieldType fieldType, final String spaceName) {
@@ -73,7 +84,12 @@ public interface KNNScoringSpace {
                 supportingVectorDataTypes
             );
             this.processedQuery = getProcessedQuery(query, knnVectorFieldType);
-            this.scoringMethod = getScoringMethod(this.processedQuery);
+            this.vectorDataType = knnVectorFieldType.getVectorDataType() == null
+                ? VectorDataType.FLOAT
+                : knnVectorFieldType.getVectorDataType();
+            this.vectorScoringMethod = getScoringMethod(this.processedQuery);
+            this.scoringMethod = this.vectorScoringMethod::score;
+            this.scoreBound = getScoreBound(this.processedQuery);
         }
 
         public ScoreScript getScoreScript(
@@ -83,7 +99,16 @@ public interface KNNScoringSpace {
             LeafReaderContext ctx,
             IndexSearcher searcher
         ) throws IOException {
-            return new KNNScoreScript.KNNVectorType(params, this.processedQuery, field, this.scoringMethod, lookup, ctx, searcher);
+            return new KNNScoreScript.KNNVectorType(
+                params,
+                this.processedQuery,
+                field,
+                this.vectorScoringMethod,
+                this.vectorDataType,
+                lookup,
+                ctx,
+                searcher
+            );
         }
 
         private KNNVectorFieldMapper.KNNVectorFieldType toKNNVectorFieldType(
@@ -124,8 +149,26 @@ public interface KNNScoringSpace {
             );
         }
 
-        protected abstract BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery);
+        /**
+         * Get the method that scores doc vectors against the processed query. Anything that only depends on the query,
+         * like its norm, is computed once here instead of for every doc.
+         *
+         * @param processedQuery query vector
+         * @return scoring method
+         */
+        protected abstract KNNVectorScoringMethod getScoringMethod(final float[] processedQuery);
 
+        /**
+         * Get the upper bound of the scores of doc vectors by their norms, used to skip docs that cannot make it into
+         * the top k. Bounds are loosened by {@link #SCORE_BOUND_SLACK} so that rounding in the scoring method never
+         * makes a doc score above its bound.
+         *
+         * @param processedQuery query vector
+         * @return score bound, or null if the space has none
+         */
+        protected KNNVectorScoreBound getScoreBound(final float[] processedQuery) {
+            return null;
+        }
     }
 
     class L2 extends KNNFieldSpace {
@@ -134,9 +177,19 @@ public interface KNNScoringSpace {
         }
 
         @Override
-        public BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery) {
+        public KNNVectorScoringMethod getScoringMethod(final float[] processedQuery) {
             return (float[] q, float[] v) -> 1 / (1 + KNNScoringUtil.l2Squared(q, v));
         }
+
+        @Override
+        protected KNNVectorScoreBound getScoreBound(final float[] processedQuery) {
+            // The distance to a vector is at least the difference of the norms of the query and the vector
+            final float queryNorm = (float) Math.sqrt(getVectorMagnitudeSquared(processedQuery));
+            return (minNorm, maxNorm) -> {
+                final float minDistance = Math.max(0, Math.max(minNorm - queryNorm, queryNorm - maxNorm)) * (1 - SCORE_BOUND_SLACK);
+                return 1 / (1 + minDistance * minDistance);
+            };
+        }
     }
 
     class CosineSimilarity extends KNNFieldSpace {
@@ -145,7 +198,7 @@ public interface KNNScoringSpace {
         }
 
         @Override
-        protected BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery) {
+        protected KNNVectorScoringMethod getScoringMethod(final float[] processedQuery) {
             SpaceType.COSINESIMIL.validateVector(processedQuery);
             float qVectorSquaredMagnitude = getVectorMagnitudeSquared(processedQuery);
             return (float[] q, float[] v) -> 1 + KNNScoringUtil.cosinesimilOptimized(q, v, qVectorSquaredMagnitude);
@@ -158,7 +211,7 @@ public interface KNNScoringSpace {
         }
 
         @Override
-        protected BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery) {
+        protected KNNVectorScoringMethod getScoringMethod(final float[] processedQuery) {
             return (float[] q, float[] v) -> 1 / (1 + KNNScoringUtil.l1Norm(q, v));
         }
     }
@@ -169,7 +222,7 @@ public interface KNNScoringSpace {
         }
 
         @Override
-        protected BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery) {
+        protected KNNVectorScoringMethod getScoringMethod(final float[] processedQuery) {
             return (float[] q, float[] v) -> 1 / (1 + KNNScoringUtil.lInfNorm(q, v));
         }
     }
@@ -180,9 +233,20 @@ public interface KNNScoringSpace {
         }
 
         @Override
-        protected BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery) {
+        protected KNNVectorScoringMethod getScoringMethod(final float[] processedQuery) {
             return (float[] q, float[] v) -> KNNWeight.normalizeScore(-KNNScoringUtil.innerProduct(q, v));
         }
+
+        @Override
+        protected KNNVectorScoreBound getScoreBound(final float[] processedQuery) {
+            // The inner product with a vector is at most the product of the norms of the query and the vector, and the
+            // score grows with the inner product
+            final float queryNorm = (float) Math.sqrt(getVectorMagnitudeSquared(processedQuery));
+            return (minNorm, maxNorm) -> {
+                final float maxInnerProduct = queryNorm * maxNorm;
+                return KNNWeight.normalizeScore(-(maxInnerProduct + Math.abs(maxInnerProduct) * SCORE_BOUND_SLACK));
+            };
+        }
     }
 
     class Hamming extends KNNFieldSpace {
@@ -193,9 +257,10 @@ public interface KNNScoringSpace {
         }
 
         @Override
-        protected BiFunction<float[], float[], Float> getScoringMethod(final float[] processedQuery) {
-            // TODO we want to avoid converting back and forth between byte and float
-            return (float[] q, float[] v) -> 1 / (1 + KNNScoringUtil.calculateHammingBit(toByte(q), toByte(v)));
+        protected KNNVectorScoringMethod getScoringMethod(final float[] processedQuery) {
+            // The query is converted to bytes once, and doc vectors are compared without being converted
+            final byte[] queryBytes = toByte(processedQuery);
+            return (float[] q, float[] v) -> 1 / (1 + hammingDistance(queryBytes, v));
         }
 
         private byte[] toByte(final float[] vector) {
@@ -205,6 +270,28 @@ public interface KNNScoringSpace {
             }
             return bytes;
         }
+
+        /**
+         * Hamming distance of the query bytes to a doc vector holding a byte per float, without converting the doc
+         * vector to bytes
+         */
+        private static float hammingDistance(final byte[] queryBytes, final float[] vector) {
+            if (queryBytes.length != vector.length) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        Locale.ROOT,
+                        "query vector dimension mismatch. Expected: %d, Given: %d",
+                        vector.length,
+                        queryBytes.length
+                    )
+                );
+            }
+            int distance = 0;
+            for (int i = 0; i < queryBytes.length; i++) {
+                distance += Integer.bitCount((queryBytes[i] ^ (byte) vector[i]) & 0xFF);
+            }
+            return distance;
+        }
     }
 
     class HammingBit implements KNNScoringSpace {
@@ -11,15 +11,16 @@ import java.util.Locale;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.lucene.util.VectorUtil;
 import org.opensearch.knn.index.KNNVectorScriptDocValues;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.distance.VectorDistanceKernels;
 
 import static org.opensearch.knn.common.KNNValidationUtil.validateByteVectorValue;
 
 public class KNNScoringUtil {
     private static Logger logger = LogManager.getLogger(KNNScoringUtil.class);
+    private static final VectorDistanceKernels KERNELS = VectorDistanceKernels.getInstance();
 
     /**
      * checks both query vector and input vector has equal dimension
@@ -96,7 +97,7 @@ public class KNNScoringUtil {
      * @return L2 score
      */
     public static float l2Squared(float[] queryVector, float[] inputVector) {
-        return VectorUtil.squareDistance(queryVector, inputVector);
+        return KERNELS.l2Squared(queryVector, inputVector);
     }
 
     private static float[] toFloat(final List<Number> inputVector, final VectorDataType vectorDataType) {
@@ -137,7 +138,7 @@ public class KNNScoringUtil {
     public static float cosinesimil(float[] queryVector, float[] inputVector) {
         requireEqualDimension(queryVector, inputVector);
         try {
-            return VectorUtil.cosine(queryVector, inputVector);
+            return KERNELS.cosine(queryVector, inputVector);
         } catch (IllegalArgumentException | AssertionError e) {
             logger.debug("Invalid vectors for cosine. Returning minimum score to put this result to end");
             return 0.0f;
@@ -155,18 +156,7 @@ public class KNNScoringUtil {
      */
     public static float cosinesimilOptimized(float[] queryVector, float[] inputVector, float normQueryVector) {
         requireEqualDimension(queryVector, inputVector);
-        float dotProduct = 0.0f;
-        float normInputVector = 0.0f;
-        for (int i = 0; i < queryVector.length; i++) {
-            dotProduct += queryVector[i] * inputVector[i];
-            normInputVector += inputVector[i] * inputVector[i];
-        }
-        float normalizedProduct = normQueryVector * normInputVector;
-        if (normalizedProduct == 0) {
-            logger.debug("Invalid vectors for cosine. Returning minimum score to put this result to end");
-            return 0.0f;
-        }
-        return (float) (dotProduct / (Math.sqrt(normalizedProduct)));
+        return KERNELS.cosine(queryVector, inputVector, normQueryVector);
     }
 
     /**
@@ -201,7 +191,7 @@ public class KNNScoringUtil {
      */
     public static float calculateHammingBit(byte[] queryVector, byte[] inputVector) {
         requireEqualDimension(queryVector, inputVector);
-        return VectorUtil.xorBitCount(queryVector, inputVector);
+        return KERNELS.hamming(queryVector, inputVector);
     }
 
     /**
@@ -214,12 +204,7 @@ public class KNNScoringUtil {
      */
     public static float l1Norm(float[] queryVector, float[] inputVector) {
         requireEqualDimension(queryVector, inputVector);
-        float distance = 0;
-        for (int i = 0; i < inputVector.length; i++) {
-            float diff = queryVector[i] - inputVector[i];
-            distance += Math.abs(diff);
-        }
-        return distance;
+        return KERNELS.l1(queryVector, inputVector);
     }
 
     /**
@@ -232,12 +217,7 @@ public class KNNScoringUtil {
      */
     public static float lInfNorm(float[] queryVector, float[] inputVector) {
         requireEqualDimension(queryVector, inputVector);
-        float distance = 0;
-        for (int i = 0; i < inputVector.length; i++) {
-            float diff = queryVector[i] - inputVector[i];
-            distance = Math.max(Math.abs(diff), distance);
-        }
-        return distance;
+        return KERNELS.lInf(queryVector, inputVector);
     }
 
     /**
@@ -250,7 +230,7 @@ public class KNNScoringUtil {
      */
     public static float innerProduct(float[] queryVector, float[] inputVector) {
         requireEqualDimension(queryVector, inputVector);
-        return VectorUtil.dotProduct(queryVector, inputVector);
+        return KERNELS.innerProduct(queryVector, inputVector);
     }
 
     /**
@@ -0,0 +1,21 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.script;
+
+/**
+ * Upper bound of the scores of a {@link KNNVectorScoringMethod} over doc vectors whose norms are within a range. Used
+ * to skip blocks of docs that cannot score higher than the docs already collected.
+ */
+@FunctionalInterface
+public interface KNNVectorScoreBound {
+
+    /**
+     * @param minNorm lowest L2 norm of the doc vectors
+     * @param maxNorm highest L2 norm of the doc vectors
+     * @return score that no doc vector with a norm in the range can exceed
+     */
+    float maxScore(float minNorm, float maxNorm);
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.script;
+
+/**
+ * Scores a doc vector against the query vector of a knn_score script. Scores are returned as primitive floats so that
+ * scoring every matched doc does not box its score.
+ */
+@FunctionalInterface
+public interface KNNVectorScoringMethod {
+
+    /**
+     * @param queryVector query vector of the script
+     * @param vector vector of the doc, which may be a buffer reused for the next doc
+     * @return score of the doc
+     */
+    float score(float[] queryVector, float[] vector);
+}
@@ -12,6 +12,7 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public enum KNNCounter {
     GRAPH_QUERY_ERRORS("graph_query_errors"),
+    GRAPH_LOAD_TIMEOUTS("graph_load_timeouts"),
     GRAPH_QUERY_REQUESTS("graph_query_requests"),
     GRAPH_INDEX_ERRORS("graph_index_errors"),
     GRAPH_INDEX_REQUESTS("graph_index_requests"),
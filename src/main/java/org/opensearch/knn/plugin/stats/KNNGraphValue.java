@@ -20,7 +20,15 @@ public enum KNNGraphValue {
     MERGE_TOTAL_OPERATIONS("total"),
     MERGE_TOTAL_TIME_IN_MILLIS("total_time_in_millis"),
     MERGE_TOTAL_DOCS("total_docs"),
-    MERGE_TOTAL_SIZE_IN_BYTES("total_size_in_bytes");
+    MERGE_TOTAL_SIZE_IN_BYTES("total_size_in_bytes"),
+    BUILD_QUEUE_DEPTH("queue_depth"),
+    BUILD_CURRENT_OPERATIONS("current"),
+    BUILD_CURRENT_THREADS("current_threads"),
+    BUILD_TOTAL_OPERATIONS("total"),
+    BUILD_TOTAL_WAIT_TIME_IN_MILLIS("total_wait_time_in_millis"),
+    BUILD_TOTAL_TIME_IN_MILLIS("total_time_in_millis"),
+    BUILD_TOTAL_VECTORS("total_vectors"),
+    BUILD_LAST_VECTORS_PER_SECOND("last_vectors_per_second");
 
     private String name;
     private AtomicLong value;
@@ -31,6 +31,9 @@ import java.util.function.Supplier;
  */
 public class KNNStats {
 
+    // Throughput of all native graph builds of the node
+    private static final String BUILD_VECTORS_PER_SECOND = "vectors_per_second";
+
     private final Map<String, KNNStat<?>> knnStats;
 
     /**
@@ -145,6 +148,7 @@ public class KNNStats {
                 new KNNStat<>(false, new NativeMemoryCacheManagerSupplier<>(NativeMemoryCacheManager::isCacheCapacityReached))
             )
             .put(StatNames.GRAPH_QUERY_ERRORS.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.GRAPH_QUERY_ERRORS)))
+            .put(StatNames.GRAPH_LOAD_TIMEOUTS.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.GRAPH_LOAD_TIMEOUTS)))
             .put(StatNames.GRAPH_QUERY_REQUESTS.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.GRAPH_QUERY_REQUESTS)))
             .put(StatNames.GRAPH_INDEX_ERRORS.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.GRAPH_INDEX_ERRORS)))
             .put(StatNames.GRAPH_INDEX_REQUESTS.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.GRAPH_INDEX_REQUESTS)))
@@ -213,9 +217,24 @@ public class KNNStats {
         Map<String, Object> refreshMap = new HashMap<>();
         refreshMap.put(KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getName(), KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         refreshMap.put(KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getName(), KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getValue());
+        Map<String, Object> buildMap = new HashMap<>();
+        buildMap.put(KNNGraphValue.BUILD_QUEUE_DEPTH.getName(), KNNGraphValue.BUILD_QUEUE_DEPTH.getValue());
+        buildMap.put(KNNGraphValue.BUILD_CURRENT_OPERATIONS.getName(), KNNGraphValue.BUILD_CURRENT_OPERATIONS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_CURRENT_THREADS.getName(), KNNGraphValue.BUILD_CURRENT_THREADS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_OPERATIONS.getName(), KNNGraphValue.BUILD_TOTAL_OPERATIONS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_WAIT_TIME_IN_MILLIS.getName(), KNNGraphValue.BUILD_TOTAL_WAIT_TIME_IN_MILLIS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_TIME_IN_MILLIS.getName(), KNNGraphValue.BUILD_TOTAL_TIME_IN_MILLIS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_VECTORS.getName(), KNNGraphValue.BUILD_TOTAL_VECTORS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_LAST_VECTORS_PER_SECOND.getName(), KNNGraphValue.BUILD_LAST_VECTORS_PER_SECOND.getValue());
+        long buildTimeInMillis = KNNGraphValue.BUILD_TOTAL_TIME_IN_MILLIS.getValue();
+        buildMap.put(
+            BUILD_VECTORS_PER_SECOND,
+            buildTimeInMillis == 0 ? 0L : KNNGraphValue.BUILD_TOTAL_VECTORS.getValue() * 1000 / buildTimeInMillis
+        );
         Map<String, Map<String, Object>> graphStatsMap = new HashMap<>();
         graphStatsMap.put(StatNames.MERGE.getName(), mergeMap);
         graphStatsMap.put(StatNames.REFRESH.getName(), refreshMap);
+        graphStatsMap.put(StatNames.BUILD.getName(), buildMap);
         return graphStatsMap;
     }
 }
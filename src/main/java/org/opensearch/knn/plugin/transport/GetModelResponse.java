@@ -15,7 +15,10 @@ import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.indices.Model;
+import org.opensearch.knn.training.TrainingJobStatus;
 
 import java.io.IOException;
 
@@ -25,20 +28,36 @@ import java.io.IOException;
 public class GetModelResponse extends ActionResponse implements ToXContentObject {
 
     private final Model model;
+    // Status of the job training the model, null when the model is not queued or training
+    private final TrainingJobStatus trainingJobStatus;
 
     public GetModelResponse(Model model) {
+        this(model, null);
+    }
+
+    public GetModelResponse(Model model, TrainingJobStatus trainingJobStatus) {
         this.model = model;
+        this.trainingJobStatus = trainingJobStatus;
     }
 
     public GetModelResponse(StreamInput in) throws IOException {
         super(in);
         this.model = new Model(in);
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(in.getVersion(), KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            this.trainingJobStatus = in.readOptionalWriteable(TrainingJobStatus::new);
+        } else {
+            this.trainingJobStatus = null;
+        }
     }
 
     public Model getModel() {
         return model;
     }
 
+    public TrainingJobStatus getTrainingJobStatus() {
+        return trainingJobStatus;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         /* Response should look like below:
@@ -51,14 +70,23 @@ public class GetModelResponse extends ActionResponse implements ToXContentObject
                 "model_blob": "cdscsacsadcsdca",
                 "engine": "faiss",
                 "space_type": "l2",
-                "dimension": 128
+                "dimension": 128,
+                "training_job": {
+                    "status": "queued",
+                    "queue_position": 2,
+                    "priority": 0,
+                    "estimated_completion_time": "2021-10-31T02:10:02Z"
+                }
         }
          */
-        return model.toXContent(builder, params);
+        return model.toXContent(builder, params, trainingJobStatus);
     }
 
     @Override
     public void writeTo(StreamOutput output) throws IOException {
         model.writeTo(output);
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(output.getVersion(), KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            output.writeOptionalWriteable(trainingJobStatus);
+        }
     }
 }
@@ -12,32 +12,91 @@ package org.opensearch.knn.plugin.transport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.indices.ModelDao;
+import org.opensearch.knn.indices.ModelMetadata;
+import org.opensearch.knn.indices.ModelState;
+import org.opensearch.knn.training.TrainingJobStatus;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
+import java.util.Objects;
+
 /**
- * Transport Action for {@link GetModelAction}
+ * Transport Action for {@link GetModelAction}. For models that are training, the status of the training job is taken
+ * from the node the job was routed to.
  */
 public class GetModelTransportAction extends HandledTransportAction<GetModelRequest, GetModelResponse> {
     private static final Logger LOG = LogManager.getLogger(GetModelTransportAction.class);
     private ModelDao modelDao;
+    private final ClusterService clusterService;
+    private final Client client;
 
     @Inject
-    public GetModelTransportAction(TransportService transportService, ActionFilters actionFilters) {
+    public GetModelTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ClusterService clusterService,
+        Client client
+    ) {
         super(GetModelAction.NAME, transportService, actionFilters, GetModelRequest::new);
         this.modelDao = ModelDao.OpenSearchKNNModelDao.getInstance();
+        this.clusterService = clusterService;
+        this.client = client;
     }
 
     @Override
     protected void doExecute(Task task, GetModelRequest request, ActionListener<GetModelResponse> actionListener) {
         String modelID = request.getModelID();
 
-        modelDao.get(modelID, actionListener);
+        modelDao.get(modelID, ActionListener.wrap(response -> addTrainingJobStatus(response, actionListener), actionListener::onFailure));
+    }
+
+    private void addTrainingJobStatus(GetModelResponse response, ActionListener<GetModelResponse> actionListener) {
+        ModelMetadata modelMetadata = response.getModel().getModelMetadata();
+        if (modelMetadata.getState() != ModelState.TRAINING
+            || !IndexUtil.isClusterOnOrAfterMinRequiredVersion(KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            actionListener.onResponse(response);
+            return;
+        }
+
+        DiscoveryNode trainingNode = null;
+        for (DiscoveryNode node : clusterService.state().nodes()) {
+            if (node.getEphemeralId().equals(modelMetadata.getNodeAssignment())) {
+                trainingNode = node;
+                break;
+            }
+        }
+        if (trainingNode == null) {
+            actionListener.onResponse(response);
+            return;
+        }
 
+        String modelID = response.getModel().getModelID();
+        client.execute(
+            TrainingJobRouteDecisionInfoAction.INSTANCE,
+            new TrainingJobRouteDecisionInfoRequest(trainingNode.getId()),
+            ActionListener.wrap(info -> {
+                TrainingJobStatus trainingJobStatus = info.getNodes()
+                    .stream()
+                    .map(nodeResponse -> nodeResponse.getTrainingJobStatuses().get(modelID))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+                actionListener.onResponse(new GetModelResponse(response.getModel(), trainingJobStatus));
+            }, e -> {
+                // The model is returned without training job status rather than failing the request
+                LOG.warn("Unable to get the training job status of model \"{}\": {}", modelID, e.getMessage());
+                actionListener.onResponse(response);
+            })
+        );
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.knn.training.ShardTrainingDataReader;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Readers of shards kept open on the node of a shard copy between the requests that read the training vectors of the
+ * shard, so that the stratum counts and every block of the shard come from one view of the shard and each block
+ * continues where the previous one stopped. A reader is closed once its shard is read to the end, when it is released,
+ * or when no request used or renewed it for {@link #KEEP_ALIVE}.
+ */
+final class TrainingDataReaderContexts {
+
+    private static final Logger logger = LogManager.getLogger(TrainingDataReaderContexts.class);
+
+    static final TimeValue KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final Map<String, ReaderContext> contexts = new HashMap<>();
+
+    /**
+     * Open a context for a searcher of a shard, that is in use until it is returned with {@link #release}
+     *
+     * @param shardId shard of the searcher
+     * @param searcher searcher the context takes ownership of
+     * @return opened context
+     */
+    synchronized ReaderContext open(ShardId shardId, Engine.Searcher searcher) {
+        final ReaderContext context = new ReaderContext(UUIDs.randomBase64UUID(), shardId, searcher);
+        contexts.put(context.getId(), context);
+        return context;
+    }
+
+    /**
+     * Get the context of a reader of a shard, that is in use until it is returned with {@link #release}
+     *
+     * @param readerId id of the reader
+     * @param shardId shard the reader must be a reader of
+     * @return context of the reader
+     */
+    synchronized ReaderContext acquire(String readerId, ShardId shardId) {
+        final ReaderContext context = get(readerId, shardId);
+        if (context.inUse) {
+            throw new IllegalStateException(String.format(Locale.ROOT, "Training data reader [%s] is already in use", readerId));
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Restart the keep alive of a reader that waits for its next request
+     *
+     * @param readerId id of the reader
+     * @param shardId shard the reader must be a reader of
+     */
+    synchronized void renew(String readerId, ShardId shardId) {
+        get(readerId, shardId).lastAccessNanos = System.nanoTime();
+    }
+
+    private ReaderContext get(String readerId, ShardId shardId) {
+        final ReaderContext context = contexts.get(readerId);
+        if (context == null || !context.getShardId().equals(shardId)) {
+            throw new IllegalStateException(
+                String.format(Locale.ROOT, "Training data reader [%s] of shard %s expired or does not exist", readerId, shardId)
+            );
+        }
+        return context;
+    }
+
+    /**
+     * Return a context once a request is done with it
+     *
+     * @param context context to return
+     * @param close true to close the context, false to keep it for the next requests
+     */
+    synchronized void release(ReaderContext context, boolean close) {
+        context.inUse = false;
+        context.lastAccessNanos = System.nanoTime();
+        if (close) {
+            close(context.getId());
+        }
+    }
+
+    /**
+     * Close the context of a reader if it is still open
+     *
+     * @param readerId id of the reader
+     */
+    synchronized void close(String readerId) {
+        final ReaderContext context = contexts.remove(readerId);
+        if (context != null) {
+            context.getSearcher().close();
+        }
+    }
+
+    /**
+     * Close the contexts that are not in use and were not used for {@link #KEEP_ALIVE}
+     */
+    synchronized void closeExpired() {
+        final long now = System.nanoTime();
+        final Iterator<ReaderContext> iterator = contexts.values().iterator();
+        while (iterator.hasNext()) {
+            final ReaderContext context = iterator.next();
+            if (!context.inUse && now - context.lastAccessNanos > KEEP_ALIVE.nanos()) {
+                iterator.remove();
+                logger.debug("Closing expired training data reader [{}] of shard {}", context.getId(), context.getShardId());
+                context.getSearcher().close();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return contexts.size();
+    }
+
+    /**
+     * Searcher of a shard and the position the next block of the shard is read from
+     */
+    @Getter
+    static final class ReaderContext {
+        private final String id;
+        private final ShardId shardId;
+        private final Engine.Searcher searcher;
+        private final ShardTrainingDataReader.Position position = new ShardTrainingDataReader.Position();
+        // Guarded by the contexts
+        private boolean inUse = true;
+        private long lastAccessNanos = System.nanoTime();
+
+        private ReaderContext(String id, ShardId shardId, Engine.Searcher searcher) {
+            this.id = id;
+            this.shardId = shardId;
+            this.searcher = searcher;
+        }
+    }
+}
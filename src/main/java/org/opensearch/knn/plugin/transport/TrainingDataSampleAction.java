@@ -0,0 +1,27 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.core.common.io.stream.Writeable;
+
+/**
+ * Action to read the training vectors of a field from a single shard
+ */
+public class TrainingDataSampleAction extends ActionType<TrainingDataSampleResponse> {
+
+    public static final TrainingDataSampleAction INSTANCE = new TrainingDataSampleAction();
+    public static final String NAME = "cluster:admin/knn_training_data_sample_action";
+
+    private TrainingDataSampleAction() {
+        super(NAME, TrainingDataSampleResponse::new);
+    }
+
+    @Override
+    public Writeable.Reader<TrainingDataSampleResponse> getResponseReader() {
+        return TrainingDataSampleResponse::new;
+    }
+}
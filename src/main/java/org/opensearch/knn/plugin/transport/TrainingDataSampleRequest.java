@@ -0,0 +1,284 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.single.shard.SingleShardRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.knn.index.VectorDataType;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Request for the training vectors of a field in a shard. Vectors are read in doc order, so that a shard is read
+ * through successive requests that continue with the reader of the previous response until the shard is exhausted.
+ * With sampling thresholds, only the vectors sampled by {@link org.opensearch.knn.training.TrainingDataSampler} are
+ * read, and a count only request returns the number of vectors of each stratum and their size smallest sampling
+ * keys instead of vectors, along with the reader the sampled vectors are then read with. A reader that waits while
+ * other shards are read is kept open with {@link #renew}, and a reader that is not read to the end is released with
+ * {@link #release}.
+ */
+@Getter
+public class TrainingDataSampleRequest extends SingleShardRequest<TrainingDataSampleRequest> {
+
+    private final int shardId;
+    private final String fieldName;
+    private final VectorDataType vectorDataType;
+    // Reader of the shard to continue with, null to read the shard from its first vector with a new reader
+    private final String readerId;
+    // Maximum number of vectors to return, or number of smallest sampling keys of each stratum to return when counting
+    private final int size;
+    // Keyword field the vectors are stratified by, null when they are not stratified
+    private final String stratifyField;
+    private final long seed;
+    private final boolean countOnly;
+    // Largest sampling key of the vectors to return of each stratum, null to return all vectors
+    private final Map<String, Long> thresholds;
+    // True to only close the reader
+    private final boolean release;
+    // True to only restart the keep alive of the reader
+    private final boolean renew;
+    // True to keep the reader open once the shard is read to the end, for later reads of the shard with it
+    private final boolean keepReader;
+
+    /**
+     * Constructor
+     *
+     * @param indexName index to read the vectors from
+     * @param shardId id of the shard to read the vectors from
+     * @param fieldName field to read the vectors of
+     * @param vectorDataType data type of the vectors of the field
+     * @param readerId reader to continue with, or null to read the shard from its first vector
+     * @param size maximum number of vectors to return
+     */
+    public TrainingDataSampleRequest(
+        String indexName,
+        int shardId,
+        String fieldName,
+        VectorDataType vectorDataType,
+        String readerId,
+        int size
+    ) {
+        this(indexName, shardId, fieldName, vectorDataType, readerId, size, null, 0L, false, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param indexName index to read the vectors from
+     * @param shardId id of the shard to read the vectors from
+     * @param fieldName field to read the vectors of
+     * @param vectorDataType data type of the vectors of the field
+     * @param readerId reader to continue with, or null to read the shard from its first vector
+     * @param size maximum number of vectors to return, or number of smallest sampling keys of each stratum to return
+     *             when only counting
+     * @param stratifyField keyword field the vectors are stratified by, or null
+     * @param seed seed of the sampling
+     * @param countOnly true to only count the vectors of each stratum
+     * @param thresholds largest sampling key of the vectors to return of each stratum, or null to return all vectors
+     */
+    public TrainingDataSampleRequest(
+        String indexName,
+        int shardId,
+        String fieldName,
+        VectorDataType vectorDataType,
+        String readerId,
+        int size,
+        String stratifyField,
+        long seed,
+        boolean countOnly,
+        Map<String, Long> thresholds
+    ) {
+        this(
+            indexName,
+            shardId,
+            fieldName,
+            vectorDataType,
+            readerId,
+            size,
+            stratifyField,
+            seed,
+            countOnly,
+            thresholds,
+            false,
+            false,
+            false
+        );
+    }
+
+    private TrainingDataSampleRequest(
+        String indexName,
+        int shardId,
+        String fieldName,
+        VectorDataType vectorDataType,
+        String readerId,
+        int size,
+        String stratifyField,
+        long seed,
+        boolean countOnly,
+        Map<String, Long> thresholds,
+        boolean release,
+        boolean renew,
+        boolean keepReader
+    ) {
+        super(indexName);
+        this.shardId = shardId;
+        this.fieldName = fieldName;
+        this.vectorDataType = vectorDataType;
+        this.readerId = readerId;
+        this.size = size;
+        this.stratifyField = stratifyField;
+        this.seed = seed;
+        this.countOnly = countOnly;
+        this.thresholds = thresholds;
+        this.release = release;
+        this.renew = renew;
+        this.keepReader = keepReader;
+    }
+
+    /**
+     * Request that closes a reader of a shard that is not read to the end
+     *
+     * @param indexName index of the shard
+     * @param shardId id of the shard
+     * @param fieldName field the reader was opened for
+     * @param readerId reader to close
+     * @return release request
+     */
+    public static TrainingDataSampleRequest release(String indexName, int shardId, String fieldName, String readerId) {
+        return new TrainingDataSampleRequest(
+            indexName,
+            shardId,
+            fieldName,
+            VectorDataType.FLOAT,
+            readerId,
+            0,
+            null,
+            0L,
+            false,
+            null,
+            true,
+            false,
+            false
+        );
+    }
+
+    /**
+     * Request that restarts the keep alive of a reader of a shard that waits for its next request
+     *
+     * @param indexName index of the shard
+     * @param shardId id of the shard
+     * @param fieldName field the reader was opened for
+     * @param readerId reader to keep open
+     * @return renew request
+     */
+    public static TrainingDataSampleRequest renew(String indexName, int shardId, String fieldName, String readerId) {
+        return new TrainingDataSampleRequest(
+            indexName,
+            shardId,
+            fieldName,
+            VectorDataType.FLOAT,
+            readerId,
+            0,
+            null,
+            0L,
+            false,
+            null,
+            false,
+            true,
+            false
+        );
+    }
+
+    /**
+     * @return copy of this request that keeps the reader open once the shard is read to the end, until it is released
+     */
+    public TrainingDataSampleRequest withKeepReader() {
+        return new TrainingDataSampleRequest(
+            index(),
+            shardId,
+            fieldName,
+            vectorDataType,
+            readerId,
+            size,
+            stratifyField,
+            seed,
+            countOnly,
+            thresholds,
+            release,
+            renew,
+            true
+        );
+    }
+
+    /**
+     * Constructor from stream
+     *
+     * @param in input stream
+     * @throws IOException thrown when reading from stream fails
+     */
+    public TrainingDataSampleRequest(StreamInput in) throws IOException {
+        super(in);
+        this.shardId = in.readVInt();
+        this.fieldName = in.readString();
+        this.vectorDataType = VectorDataType.get(in.readString());
+        this.readerId = in.readOptionalString();
+        this.size = in.readVInt();
+        this.stratifyField = in.readOptionalString();
+        this.seed = in.readLong();
+        this.countOnly = in.readBoolean();
+        this.thresholds = in.readBoolean() ? in.readMap(StreamInput::readString, StreamInput::readLong) : null;
+        this.release = in.readBoolean();
+        this.renew = in.readBoolean();
+        this.keepReader = in.readBoolean();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(shardId);
+        out.writeString(fieldName);
+        out.writeString(vectorDataType.getValue());
+        out.writeOptionalString(readerId);
+        out.writeVInt(size);
+        out.writeOptionalString(stratifyField);
+        out.writeLong(seed);
+        out.writeBoolean(countOnly);
+        out.writeBoolean(thresholds != null);
+        if (thresholds != null) {
+            out.writeMap(thresholds, StreamOutput::writeString, StreamOutput::writeLong);
+        }
+        out.writeBoolean(release);
+        out.writeBoolean(renew);
+        out.writeBoolean(keepReader);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = validateNonNullIndex();
+        if (shardId < 0) {
+            validationException = addValidationError("shard id must be >= 0", validationException);
+        }
+        if (fieldName == null || fieldName.isEmpty()) {
+            validationException = addValidationError("field name must be set", validationException);
+        }
+        if (release && readerId == null) {
+            validationException = addValidationError("reader id must be set to release a reader", validationException);
+        }
+        if (renew && readerId == null) {
+            validationException = addValidationError("reader id must be set to renew a reader", validationException);
+        }
+        if (size <= 0 && !countOnly && !release && !renew) {
+            validationException = addValidationError("size must be > 0", validationException);
+        }
+        return validationException;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Training vectors read from a shard. The vectors are packed back to back in a single block: float vectors as little
+ * endian floats, and byte and binary vectors as their bytes.
+ */
+@Getter
+public class TrainingDataSampleResponse extends ActionResponse {
+
+    private final int numVectors;
+    // Number of floats, or of bytes for byte and binary vectors, of each vector
+    private final int vectorLength;
+    private final BytesReference vectors;
+    // True if the shard has no vector after the ones of this response
+    private final boolean exhausted;
+    // Number of vectors of each stratum of the shard, only set for count only requests
+    private final Map<String, Integer> stratumCounts;
+    // Smallest sampling keys of each stratum of the shard in ascending order, only set for count only requests
+    private final Map<String, long[]> smallestKeys;
+    // Reader the next requests of the shard continue with, null once the shard is exhausted
+    private final String readerId;
+
+    /**
+     * Constructor
+     *
+     * @param numVectors number of vectors in the block
+     * @param vectorLength number of floats, or of bytes for byte and binary vectors, of each vector
+     * @param vectors block of vectors
+     * @param exhausted true if the shard has no vector after the ones of the block
+     * @param stratumCounts number of vectors of each stratum of the shard, empty unless only vectors are counted
+     * @param readerId reader the next requests of the shard continue with, or null
+     */
+    public TrainingDataSampleResponse(
+        int numVectors,
+        int vectorLength,
+        BytesReference vectors,
+        boolean exhausted,
+        Map<String, Integer> stratumCounts,
+        String readerId
+    ) {
+        this(numVectors, vectorLength, vectors, exhausted, stratumCounts, Collections.emptyMap(), readerId);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param numVectors number of vectors in the block
+     * @param vectorLength number of floats, or of bytes for byte and binary vectors, of each vector
+     * @param vectors block of vectors
+     * @param exhausted true if the shard has no vector after the ones of the block
+     * @param stratumCounts number of vectors of each stratum of the shard, empty unless only vectors are counted
+     * @param smallestKeys smallest sampling keys of each stratum of the shard, empty unless only vectors are counted
+     * @param readerId reader the next requests of the shard continue with, or null
+     */
+    public TrainingDataSampleResponse(
+        int numVectors,
+        int vectorLength,
+        BytesReference vectors,
+        boolean exhausted,
+        Map<String, Integer> stratumCounts,
+        Map<String, long[]> smallestKeys,
+        String readerId
+    ) {
+        this.numVectors = numVectors;
+        this.vectorLength = vectorLength;
+        this.vectors = vectors;
+        this.exhausted = exhausted;
+        this.stratumCounts = stratumCounts;
+        this.smallestKeys = smallestKeys;
+        this.readerId = readerId;
+    }
+
+    /**
+     * Constructor from stream
+     *
+     * @param in input stream
+     * @throws IOException thrown when reading from stream fails
+     */
+    public TrainingDataSampleResponse(StreamInput in) throws IOException {
+        super(in);
+        this.numVectors = in.readVInt();
+        this.vectorLength = in.readVInt();
+        this.vectors = in.readBytesReference();
+        this.exhausted = in.readBoolean();
+        this.stratumCounts = in.readMap(StreamInput::readString, StreamInput::readVInt);
+        this.smallestKeys = in.readMap(StreamInput::readString, StreamInput::readLongArray);
+        this.readerId = in.readOptionalString();
+    }
+
+    /**
+     * @param readerId reader the next requests of the shard continue with
+     * @return copy of this response with the reader
+     */
+    public TrainingDataSampleResponse withReaderId(String readerId) {
+        return new TrainingDataSampleResponse(numVectors, vectorLength, vectors, exhausted, stratumCounts, smallestKeys, readerId);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(numVectors);
+        out.writeVInt(vectorLength);
+        out.writeBytesReference(vectors);
+        out.writeBoolean(exhausted);
+        out.writeMap(stratumCounts, StreamOutput::writeString, StreamOutput::writeVInt);
+        out.writeMap(smallestKeys, StreamOutput::writeString, StreamOutput::writeLongArray);
+        out.writeOptionalString(readerId);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.single.shard.TransportSingleShardAction;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.routing.ShardsIterator;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.knn.training.ShardTrainingDataReader;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Transport action that reads the training vectors of a field on the node of the primary of the requested shard, so
+ * that training vectors are sent to the training node as blocks of primitive values instead of sources to parse. The
+ * requests of a shard go to the same copy and continue with the reader of the first one, see
+ * {@link TrainingDataReaderContexts}.
+ */
+public class TrainingDataSampleTransportAction extends TransportSingleShardAction<TrainingDataSampleRequest, TrainingDataSampleResponse> {
+
+    private static final String SEARCHER_SOURCE = "knn-training-data-sample";
+
+    private final IndicesService indicesService;
+    @Getter(AccessLevel.PACKAGE)
+    private final TrainingDataReaderContexts readerContexts = new TrainingDataReaderContexts();
+
+    @Inject
+    public TrainingDataSampleTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        IndexNameExpressionResolver indexNameExpressionResolver,
+        IndicesService indicesService
+    ) {
+        super(
+            TrainingDataSampleAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            indexNameExpressionResolver,
+            TrainingDataSampleRequest::new,
+            ThreadPool.Names.SEARCH
+        );
+        this.indicesService = indicesService;
+        threadPool.scheduleWithFixedDelay(readerContexts::closeExpired, TrainingDataReaderContexts.KEEP_ALIVE, ThreadPool.Names.GENERIC);
+    }
+
+    @Override
+    protected TrainingDataSampleResponse shardOperation(TrainingDataSampleRequest request, ShardId shardId) throws IOException {
+        if (request.isRelease()) {
+            readerContexts.close(request.getReaderId());
+            return new TrainingDataSampleResponse(0, 0, BytesArray.EMPTY, true, Collections.emptyMap(), null);
+        }
+        if (request.isRenew()) {
+            readerContexts.renew(request.getReaderId(), shardId);
+            return new TrainingDataSampleResponse(0, 0, BytesArray.EMPTY, false, Collections.emptyMap(), request.getReaderId());
+        }
+        final TrainingDataReaderContexts.ReaderContext context;
+        if (request.getReaderId() == null) {
+            final IndexShard indexShard = indicesService.indexServiceSafe(shardId.getIndex()).getShard(shardId.id());
+            context = readerContexts.open(shardId, indexShard.acquireSearcher(SEARCHER_SOURCE));
+        } else {
+            context = readerContexts.acquire(request.getReaderId(), shardId);
+        }
+        boolean keepOpen = false;
+        try {
+            // Counting does not move the position of the blocks, which are read after the counts
+            final TrainingDataSampleResponse response = ShardTrainingDataReader.read(
+                context.getSearcher().getIndexReader(),
+                request,
+                request.isCountOnly() ? new ShardTrainingDataReader.Position() : context.getPosition()
+            );
+            keepOpen = request.isCountOnly() || request.isKeepReader() || !response.isExhausted();
+            return keepOpen ? response.withReaderId(context.getId()) : response;
+        } finally {
+            readerContexts.release(context, !keepOpen);
+        }
+    }
+
+    @Override
+    protected Writeable.Reader<TrainingDataSampleResponse> getResponseReader() {
+        return TrainingDataSampleResponse::new;
+    }
+
+    @Override
+    protected boolean resolveIndex(TrainingDataSampleRequest request) {
+        return true;
+    }
+
+    @Override
+    protected ShardsIterator shards(ClusterState state, InternalRequest request) {
+        // Readers are kept on the copy that served the first request of a shard, so every request goes to the primary
+        return clusterService.operationRouting()
+            .getShards(state, request.concreteIndex(), request.request().getShardId(), Preference.PRIMARY.type());
+    }
+}
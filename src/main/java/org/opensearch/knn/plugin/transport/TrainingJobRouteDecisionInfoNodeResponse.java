@@ -18,8 +18,13 @@ import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.ToXContentFragment;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.training.TrainingJobStatus;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 
 import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_COUNT_FIELD_NAME;
 
@@ -29,6 +34,10 @@ import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_COUNT_FIELD_NA
 public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse implements ToXContentFragment {
 
     private final Integer trainingJobCount;
+    // Maximum number of jobs the node accepts, running or queued. Nodes without training queue accept a single job.
+    private final int trainingJobCapacity;
+    private final long availableTrainingMemoryInKB;
+    private final Map<String, TrainingJobStatus> trainingJobStatuses;
 
     /**
      * Constructor
@@ -39,22 +48,58 @@ public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse i
     public TrainingJobRouteDecisionInfoNodeResponse(StreamInput in) throws IOException {
         super(in);
         this.trainingJobCount = in.readInt();
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(in.getVersion(), KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            this.trainingJobCapacity = in.readVInt();
+            this.availableTrainingMemoryInKB = in.readVLong();
+            this.trainingJobStatuses = in.readMap(StreamInput::readString, TrainingJobStatus::new);
+        } else {
+            this.trainingJobCapacity = 1;
+            this.availableTrainingMemoryInKB = 0;
+            this.trainingJobStatuses = Collections.emptyMap();
+        }
     }
 
     /**
-     * Constructor
+     * Constructor for a node that accepts a single training job
      *
      * @param node node
      */
     public TrainingJobRouteDecisionInfoNodeResponse(DiscoveryNode node, Integer trainingJobCount) {
+        this(node, trainingJobCount, 1, 0, Collections.emptyMap());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param node node
+     * @param trainingJobCount number of queued and running jobs of the node
+     * @param trainingJobCapacity maximum number of jobs the node accepts, running or queued
+     * @param availableTrainingMemoryInKB native memory left to training jobs on the node
+     * @param trainingJobStatuses status of the queued and running jobs of the node by model id
+     */
+    public TrainingJobRouteDecisionInfoNodeResponse(
+        DiscoveryNode node,
+        Integer trainingJobCount,
+        int trainingJobCapacity,
+        long availableTrainingMemoryInKB,
+        Map<String, TrainingJobStatus> trainingJobStatuses
+    ) {
         super(node);
         this.trainingJobCount = trainingJobCount;
+        this.trainingJobCapacity = trainingJobCapacity;
+        this.availableTrainingMemoryInKB = availableTrainingMemoryInKB;
+        this.trainingJobStatuses = trainingJobStatuses;
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeInt(trainingJobCount);
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(out.getVersion(), KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            out.writeVInt(trainingJobCapacity);
+            out.writeVLong(availableTrainingMemoryInKB);
+            out.writeMap(trainingJobStatuses, StreamOutput::writeString, (o, status) -> status.writeTo(o));
+        }
     }
 
     /**
@@ -66,6 +111,33 @@ public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse i
         return trainingJobCount;
     }
 
+    /**
+     * Getter for training job capacity
+     *
+     * @return maximum number of jobs the node accepts, running or queued
+     */
+    public int getTrainingJobCapacity() {
+        return trainingJobCapacity;
+    }
+
+    /**
+     * Getter for available training memory
+     *
+     * @return native memory left to training jobs on the node in kilobytes
+     */
+    public long getAvailableTrainingMemoryInKB() {
+        return availableTrainingMemoryInKB;
+    }
+
+    /**
+     * Getter for training job statuses
+     *
+     * @return status of the queued and running jobs of the node by model id
+     */
+    public Map<String, TrainingJobStatus> getTrainingJobStatuses() {
+        return trainingJobStatuses;
+    }
+
     /**
      * Add training job route decision info to xcontent builder
      *
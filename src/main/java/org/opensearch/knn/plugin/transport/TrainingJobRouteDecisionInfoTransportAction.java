@@ -82,6 +82,13 @@ public class TrainingJobRouteDecisionInfoTransportAction extends TransportNodesA
 
     @Override
     protected TrainingJobRouteDecisionInfoNodeResponse nodeOperation(TrainingJobRouteDecisionInfoNodeRequest request) {
-        return new TrainingJobRouteDecisionInfoNodeResponse(clusterService.localNode(), TrainingJobRunner.getInstance().getJobCount());
+        TrainingJobRunner trainingJobRunner = TrainingJobRunner.getInstance();
+        return new TrainingJobRouteDecisionInfoNodeResponse(
+            clusterService.localNode(),
+            trainingJobRunner.getJobCount(),
+            trainingJobRunner.getJobCapacity(),
+            trainingJobRunner.getAvailableMemoryInKB(),
+            trainingJobRunner.getJobStatuses()
+        );
     }
 }
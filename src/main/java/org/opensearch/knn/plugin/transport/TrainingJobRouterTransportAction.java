@@ -95,6 +95,7 @@ public class TrainingJobRouterTransportAction extends HandledTransportAction<Tra
     protected DiscoveryNode selectNode(String preferredNode, TrainingJobRouteDecisionInfoResponse jobInfo) {
 
         DiscoveryNode selectedNode = null;
+        TrainingJobRouteDecisionInfoNodeResponse selectedResponse = null;
 
         Map<String, DiscoveryNode> eligibleNodes = clusterService.state().nodes().getDataNodes();
         DiscoveryNode currentNode;
@@ -106,12 +107,22 @@ public class TrainingJobRouterTransportAction extends HandledTransportAction<Tra
                 continue;
             }
 
-            if (response.getTrainingJobCount() < 1) {
+            if (response.getTrainingJobCount() >= response.getTrainingJobCapacity()) {
+                continue;
+            }
+
+            // Return right away if this is the preferred node
+            if (StringUtils.isNotEmpty(preferredNode) && currentNode.getId().equals(preferredNode)) {
+                return currentNode;
+            }
+
+            // Otherwise, pick the node with the fewest jobs ahead, and then with the most memory left to training
+            if (selectedResponse == null
+                || response.getTrainingJobCount() < selectedResponse.getTrainingJobCount()
+                || (response.getTrainingJobCount().equals(selectedResponse.getTrainingJobCount())
+                    && response.getAvailableTrainingMemoryInKB() > selectedResponse.getAvailableTrainingMemoryInKB())) {
                 selectedNode = currentNode;
-                // Return right away if the user didnt pass a preferred node or this is the preferred node
-                if (StringUtils.isEmpty(preferredNode) || selectedNode.getId().equals(preferredNode)) {
-                    return selectedNode;
-                }
+                selectedResponse = response;
             }
         }
 
@@ -0,0 +1,27 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.core.common.io.stream.Writeable;
+
+/**
+ * Action to run a mini-batch k-means step on the training vectors of a single shard
+ */
+public class TrainingKMeansStepAction extends ActionType<TrainingKMeansStepResponse> {
+
+    public static final TrainingKMeansStepAction INSTANCE = new TrainingKMeansStepAction();
+    public static final String NAME = "cluster:admin/knn_training_kmeans_step_action";
+
+    private TrainingKMeansStepAction() {
+        super(NAME, TrainingKMeansStepResponse::new);
+    }
+
+    @Override
+    public Writeable.Reader<TrainingKMeansStepResponse> getResponseReader() {
+        return TrainingKMeansStepResponse::new;
+    }
+}
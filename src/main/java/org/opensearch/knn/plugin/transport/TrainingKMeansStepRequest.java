@@ -0,0 +1,149 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.single.shard.SingleShardRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Request to assign the vectors of a mini-batch held by a shard to their nearest centroid. The vectors of the batch
+ * are the vectors of the shard sampled by the thresholds of the request, which are the same for every batch, with the
+ * seed of the batch, so that each batch is drawn on the shard. The shard is read with the reader the training opened
+ * on it, so that every batch is drawn from the vectors the thresholds were computed for.
+ */
+@Getter
+public class TrainingKMeansStepRequest extends SingleShardRequest<TrainingKMeansStepRequest> {
+
+    private final int shardId;
+    private final String fieldName;
+    // Reader of the shard the training keeps open, see TrainingDataSampleRequest
+    private final String readerId;
+    // Keyword field the vectors are stratified by, null when they are not stratified
+    private final String stratifyField;
+    private final long seed;
+    // Largest sampling key of the vectors of the batch of each stratum
+    private final Map<String, Long> thresholds;
+    private final SpaceType spaceType;
+    private final float[][] centroids;
+
+    /**
+     * Constructor
+     *
+     * @param indexName index to read the vectors from
+     * @param shardId id of the shard to read the vectors from
+     * @param fieldName field to read the vectors of
+     * @param readerId reader of the shard to read the vectors with
+     * @param stratifyField keyword field the vectors are stratified by, or null
+     * @param seed seed of the sampling of the batch
+     * @param thresholds largest sampling key of the vectors of the batch of each stratum
+     * @param spaceType space type of the model
+     * @param centroids current centroids
+     */
+    public TrainingKMeansStepRequest(
+        String indexName,
+        int shardId,
+        String fieldName,
+        String readerId,
+        String stratifyField,
+        long seed,
+        Map<String, Long> thresholds,
+        SpaceType spaceType,
+        float[][] centroids
+    ) {
+        super(indexName);
+        this.shardId = shardId;
+        this.fieldName = fieldName;
+        this.readerId = readerId;
+        this.stratifyField = stratifyField;
+        this.seed = seed;
+        this.thresholds = thresholds;
+        this.spaceType = spaceType;
+        this.centroids = centroids;
+    }
+
+    /**
+     * Constructor from stream
+     *
+     * @param in input stream
+     * @throws IOException thrown when reading from stream fails
+     */
+    public TrainingKMeansStepRequest(StreamInput in) throws IOException {
+        super(in);
+        this.shardId = in.readVInt();
+        this.fieldName = in.readString();
+        this.readerId = in.readString();
+        this.stratifyField = in.readOptionalString();
+        this.seed = in.readLong();
+        this.thresholds = in.readMap(StreamInput::readString, StreamInput::readLong);
+        this.spaceType = SpaceType.getSpace(in.readString());
+        this.centroids = new float[in.readVInt()][];
+        for (int c = 0; c < centroids.length; c++) {
+            centroids[c] = in.readFloatArray();
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(shardId);
+        out.writeString(fieldName);
+        out.writeString(readerId);
+        out.writeOptionalString(stratifyField);
+        out.writeLong(seed);
+        out.writeMap(thresholds, StreamOutput::writeString, StreamOutput::writeLong);
+        out.writeString(spaceType.getValue());
+        out.writeVInt(centroids.length);
+        for (float[] centroid : centroids) {
+            out.writeFloatArray(centroid);
+        }
+    }
+
+    /**
+     * @return request for the vectors of the batch held by the shard
+     */
+    public TrainingDataSampleRequest toSampleRequest() {
+        return new TrainingDataSampleRequest(
+            index(),
+            shardId,
+            fieldName,
+            VectorDataType.FLOAT,
+            null,
+            Integer.MAX_VALUE,
+            stratifyField,
+            seed,
+            false,
+            thresholds
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = validateNonNullIndex();
+        if (shardId < 0) {
+            validationException = addValidationError("shard id must be >= 0", validationException);
+        }
+        if (fieldName == null || fieldName.isEmpty()) {
+            validationException = addValidationError("field name must be set", validationException);
+        }
+        if (readerId == null) {
+            validationException = addValidationError("reader id must be set", validationException);
+        }
+        if (centroids.length == 0) {
+            validationException = addValidationError("centroids must be set", validationException);
+        }
+        return validationException;
+    }
+}
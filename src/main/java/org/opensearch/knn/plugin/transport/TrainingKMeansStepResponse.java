@@ -0,0 +1,54 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+
+/**
+ * Vectors of the mini-batch held by a shard, summed by nearest centroid
+ */
+@Getter
+public class TrainingKMeansStepResponse extends ActionResponse {
+
+    // Sums of the vectors assigned to each centroid, centroid after centroid
+    private final float[] sums;
+    // Number of vectors assigned to each centroid
+    private final int[] counts;
+
+    /**
+     * Constructor
+     *
+     * @param sums sums of the vectors assigned to each centroid, centroid after centroid
+     * @param counts number of vectors assigned to each centroid
+     */
+    public TrainingKMeansStepResponse(float[] sums, int[] counts) {
+        this.sums = sums;
+        this.counts = counts;
+    }
+
+    /**
+     * Constructor from stream
+     *
+     * @param in input stream
+     * @throws IOException thrown when reading from stream fails
+     */
+    public TrainingKMeansStepResponse(StreamInput in) throws IOException {
+        super(in);
+        this.sums = in.readFloatArray();
+        this.counts = in.readVIntArray();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeFloatArray(sums);
+        out.writeVIntArray(counts);
+    }
+}
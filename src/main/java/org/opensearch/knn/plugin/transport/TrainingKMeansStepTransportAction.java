@@ -0,0 +1,98 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.single.shard.TransportSingleShardAction;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.routing.ShardsIterator;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.knn.training.MiniBatchKMeans;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+
+/**
+ * Transport action that runs the assignment step of mini-batch k-means on the node of the primary of the requested
+ * shard, so that the k-means iterations of distributed training are spread over the nodes holding the training index
+ * and only centroid sums are sent back to the training node. Every step of a training reads the shard with the reader
+ * the training keeps open on it, from the readers of {@link TrainingDataSampleTransportAction}.
+ */
+public class TrainingKMeansStepTransportAction extends TransportSingleShardAction<TrainingKMeansStepRequest, TrainingKMeansStepResponse> {
+
+    private final TrainingDataReaderContexts readerContexts;
+
+    @Inject
+    public TrainingKMeansStepTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        IndexNameExpressionResolver indexNameExpressionResolver,
+        TrainingDataSampleTransportAction sampleTransportAction
+    ) {
+        super(
+            TrainingKMeansStepAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            indexNameExpressionResolver,
+            TrainingKMeansStepRequest::new,
+            ThreadPool.Names.SEARCH
+        );
+        this.readerContexts = sampleTransportAction.getReaderContexts();
+    }
+
+    @Override
+    protected TrainingKMeansStepResponse shardOperation(TrainingKMeansStepRequest request, ShardId shardId) throws IOException {
+        final float[][] centroids = request.getCentroids();
+        final int dimension = centroids[0].length;
+        final double[] sums = new double[centroids.length * dimension];
+        final int[] counts = new int[centroids.length];
+        final TrainingDataReaderContexts.ReaderContext context = readerContexts.acquire(request.getReaderId(), shardId);
+        try {
+            MiniBatchKMeans.assign(
+                context.getSearcher().getIndexReader(),
+                request.toSampleRequest(),
+                centroids,
+                MiniBatchKMeans.isInnerProduct(request.getSpaceType()),
+                sums,
+                counts
+            );
+        } finally {
+            readerContexts.release(context, false);
+        }
+        final float[] floatSums = new float[sums.length];
+        for (int i = 0; i < sums.length; i++) {
+            floatSums[i] = (float) sums[i];
+        }
+        return new TrainingKMeansStepResponse(floatSums, counts);
+    }
+
+    @Override
+    protected Writeable.Reader<TrainingKMeansStepResponse> getResponseReader() {
+        return TrainingKMeansStepResponse::new;
+    }
+
+    @Override
+    protected boolean resolveIndex(TrainingKMeansStepRequest request) {
+        return true;
+    }
+
+    @Override
+    protected ShardsIterator shards(ClusterState state, InternalRequest request) {
+        // Readers are kept on the primary, see TrainingDataSampleTransportAction
+        return clusterService.operationRouting()
+            .getShards(state, request.concreteIndex(), request.request().getShardId(), Preference.PRIMARY.type());
+    }
+}
@@ -23,9 +23,11 @@ import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.indices.ModelDao;
+import org.opensearch.knn.training.TrainingDataSampling;
 import org.opensearch.knn.training.VectorSpaceInfo;
 
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * Request to train and serialize a model
@@ -46,6 +48,8 @@ public class TrainingModelRequest extends ActionRequest {
 
     private int maximumVectorCount;
     private int searchSize;
+    private TrainingDataSampling sampling;
+    private int priority;
 
     private int trainingDataSizeInKB;
 
@@ -83,6 +87,8 @@ public class TrainingModelRequest extends ActionRequest {
         // Set these as defaults initially. If call wants to override them, they can use the setters.
         this.maximumVectorCount = Integer.MAX_VALUE; // By default, get all vectors in the index
         this.searchSize = 10_000; // By default, use the maximum search size
+        this.sampling = TrainingDataSampling.DEFAULT;
+        this.priority = 0;
 
         // Training data size in kilobytes. By default, this is invalid (it cant have negative kb). It eventually gets
         // calculated in transit. A user cannot set this value directly.
@@ -112,6 +118,16 @@ public class TrainingModelRequest extends ActionRequest {
         } else {
             this.vectorDataType = VectorDataType.DEFAULT;
         }
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(in.getVersion(), KNNConstants.TRAINING_DATA_SHARD_SAMPLING_KEY)) {
+            this.sampling = new TrainingDataSampling(in);
+        } else {
+            this.sampling = TrainingDataSampling.DEFAULT;
+        }
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(in.getVersion(), KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            this.priority = in.readInt();
+        } else {
+            this.priority = 0;
+        }
     }
 
     /**
@@ -240,6 +256,42 @@ public class TrainingModelRequest extends ActionRequest {
         this.searchSize = searchSize;
     }
 
+    /**
+     * Getter for the sampling of the training vectors from the training index
+     *
+     * @return sampling
+     */
+    public TrainingDataSampling getSampling() {
+        return sampling;
+    }
+
+    /**
+     * Setter for the sampling of the training vectors.
+     *
+     * @param sampling to be set
+     */
+    public void setSampling(TrainingDataSampling sampling) {
+        this.sampling = Objects.requireNonNull(sampling, "Sampling must not be null");
+    }
+
+    /**
+     * Getter for the priority of the training job. Jobs with a higher priority start first on their node.
+     *
+     * @return priority
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Setter for the priority of the training job.
+     *
+     * @param priority to be set
+     */
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
     /**
      * Getter for training data size in kilobytes.
      *
@@ -340,6 +392,15 @@ public class TrainingModelRequest extends ActionRequest {
             exception.addValidationErrors(fieldValidation.validationErrors());
         }
 
+        // Validate the field training vectors are stratified by
+        if (sampling.isStratified()) {
+            ValidationException stratifyFieldValidation = IndexUtil.validateKeywordField(indexMetadata, sampling.getStratifyField());
+            if (stratifyFieldValidation != null) {
+                exception = exception == null ? new ActionRequestValidationException() : exception;
+                exception.addValidationErrors(stratifyFieldValidation.validationErrors());
+            }
+        }
+
         return exception;
     }
 
@@ -361,5 +422,11 @@ public class TrainingModelRequest extends ActionRequest {
         } else {
             out.writeString(VectorDataType.DEFAULT.getValue());
         }
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(out.getVersion(), KNNConstants.TRAINING_DATA_SHARD_SAMPLING_KEY)) {
+            sampling.writeTo(out);
+        }
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(out.getVersion(), KNNConstants.TRAINING_JOB_QUEUE_KEY)) {
+            out.writeInt(priority);
+        }
     }
 }
@@ -52,7 +52,8 @@ public class TrainingModelTransportAction extends HandledTransportAction<Trainin
             clusterService,
             request.getMaximumVectorCount(),
             request.getSearchSize(),
-            request.getVectorDataType()
+            request.getVectorDataType(),
+            request.getSampling()
         );
 
         // Allocation representing size model will occupy in memory during training
@@ -83,6 +84,7 @@ public class TrainingModelTransportAction extends HandledTransportAction<Trainin
             TrainingJobRunner.getInstance()
                 .execute(
                     trainingJob,
+                    request.getPriority(),
                     ActionListener.wrap(
                         indexResponse -> wrappedListener.onResponse(new TrainingModelResponse(indexResponse.getId())),
                         wrappedListener::onFailure
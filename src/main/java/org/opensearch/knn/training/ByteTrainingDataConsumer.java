@@ -14,10 +14,12 @@ package org.opensearch.knn.training;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.search.SearchHit;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -78,4 +80,17 @@ public class ByteTrainingDataConsumer extends TrainingDataConsumer {
 
         accept(vectors);
     }
+
+    @Override
+    public void processTrainingVectors(BytesReference vectors, int numVectors, int vectorLength) throws IOException {
+        if (numVectors == 0) {
+            return;
+        }
+        final long numElements = (long) numVectors * vectorLength;
+        if (trainingDataAllocation.getMemoryAddress() == 0) {
+            trainingDataAllocation.setMemoryAddress(JNICommons.createByteVectorData(numElements));
+        }
+        copyBlock(vectors, JNICommons.appendByteVectorData(trainingDataAllocation.getMemoryAddress(), numElements));
+        setTotalVectorsCountAdded(getTotalVectorsCountAdded() + numVectors);
+    }
 }
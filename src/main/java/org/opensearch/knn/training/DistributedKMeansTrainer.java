@@ -0,0 +1,311 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.action.ActionFuture;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleAction;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleRequest;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleResponse;
+import org.opensearch.knn.plugin.transport.TrainingKMeansStepAction;
+import org.opensearch.knn.plugin.transport.TrainingKMeansStepRequest;
+import org.opensearch.knn.plugin.transport.TrainingKMeansStepResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trains the coarse centroids of IVF models with mini-batch k-means spread over the nodes that hold the shards of the
+ * training index. Each iteration draws a batch of vectors on each shard, each shard assigns the vectors of the batch
+ * it holds to their nearest centroid on its own node and returns their sums by centroid, and the training node merges
+ * the sums of all shards into the centroids. Each shard is read with one reader for the whole training. Training
+ * vectors never leave the nodes that hold them, except for the vectors the centroids are initialized with.
+ */
+public class DistributedKMeansTrainer {
+
+    private static final Logger logger = LogManager.getLogger(DistributedKMeansTrainer.class);
+
+    private static DistributedKMeansTrainer INSTANCE;
+
+    private Client client;
+
+    /**
+     * Get singleton DistributedKMeansTrainer
+     *
+     * @return instance of DistributedKMeansTrainer
+     */
+    public static synchronized DistributedKMeansTrainer getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new DistributedKMeansTrainer();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Initialize singleton.
+     *
+     * @param client used to send the shard requests
+     */
+    public static void initialize(final Client client) {
+        getInstance().client = client;
+    }
+
+    private DistributedKMeansTrainer() {}
+
+    /**
+     * Train centroids on the vectors of a field. Blocks until training completes, so it must run on a training thread.
+     *
+     * @param clusterService cluster service to get information about the index
+     * @param indexName name of index containing vectors
+     * @param fieldName name of field containing vectors
+     * @param spaceType space type of the model
+     * @param numCentroids number of centroids to train
+     * @param sampling sampling the batches are drawn with
+     * @param searchSize maximum number of vectors to read per request when initializing the centroids
+     * @param iterations number of mini-batch iterations
+     * @param batchSize number of vectors of each batch
+     * @return trained centroids
+     */
+    public float[][] train(
+        ClusterService clusterService,
+        String indexName,
+        String fieldName,
+        SpaceType spaceType,
+        int numCentroids,
+        TrainingDataSampling sampling,
+        int searchSize,
+        int iterations,
+        int batchSize
+    ) {
+        final IndexMetadata indexMetadata = clusterService.state().metadata().index(indexName);
+        if (indexMetadata == null) {
+            throw new IllegalStateException(String.format(Locale.ROOT, "Index [%s] does not exist", indexName));
+        }
+        final int numberOfShards = indexMetadata.getNumberOfShards();
+        // The vectors are counted, the initial centroids are read and every batch is drawn with the same readers
+        final TrainingDataReaders readers = new TrainingDataReaders(client, indexName, fieldName, numberOfShards);
+        final List<Map<String, Integer>> shardStratumCounts = new ArrayList<>(numberOfShards);
+        final List<Map<String, long[]>> shardSmallestKeys = new ArrayList<>(numberOfShards);
+        try {
+            countVectors(indexName, fieldName, numberOfShards, sampling, numCentroids, readers, shardStratumCounts, shardSmallestKeys);
+            final long numVectors = shardStratumCounts.stream().flatMap(counts -> counts.values().stream()).mapToLong(c -> c).sum();
+            if (numVectors < numCentroids) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        Locale.ROOT,
+                        "Number of training vectors %d is below the number of centroids %d",
+                        numVectors,
+                        numCentroids
+                    )
+                );
+            }
+            final float[][] centroids = readInitialCentroids(
+                indexName,
+                fieldName,
+                numCentroids,
+                sampling,
+                searchSize,
+                shardStratumCounts,
+                shardSmallestKeys,
+                readers
+            );
+            iterate(indexName, fieldName, spaceType, sampling, iterations, batchSize, shardStratumCounts, readers, centroids);
+            return centroids;
+        } finally {
+            readers.release();
+        }
+    }
+
+    /**
+     * Move the centroids with mini-batches that the shards draw from their vectors. Each vector is in a batch with the
+     * same rate, so the thresholds are computed once and each batch is drawn with a seed of its own.
+     */
+    private void iterate(
+        String indexName,
+        String fieldName,
+        SpaceType spaceType,
+        TrainingDataSampling sampling,
+        int iterations,
+        int batchSize,
+        List<Map<String, Integer>> shardStratumCounts,
+        TrainingDataReaders readers,
+        float[][] centroids
+    ) {
+        final int numberOfShards = shardStratumCounts.size();
+        final int numCentroids = centroids.length;
+        final int dimension = centroids[0].length;
+        final boolean innerProduct = MiniBatchKMeans.isInnerProduct(spaceType);
+        final long[] assignedCounts = new long[numCentroids];
+        final List<Map<String, Long>> thresholds = TrainingDataSampler.computeRateThresholds(
+            batchSampling(sampling, 1),
+            shardStratumCounts,
+            batchSize
+        );
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            final TrainingDataSampling batchSampling = batchSampling(sampling, iteration + 1);
+            // The readers of the shards without vectors are not used by the steps
+            readers.renewIdle();
+            final List<ActionFuture<TrainingKMeansStepResponse>> futures = new ArrayList<>(numberOfShards);
+            for (int shardId = 0; shardId < numberOfShards; shardId++) {
+                if (thresholds.get(shardId).isEmpty()) {
+                    futures.add(null);
+                    continue;
+                }
+                final TrainingKMeansStepRequest request = new TrainingKMeansStepRequest(
+                    indexName,
+                    shardId,
+                    fieldName,
+                    readers.get(shardId),
+                    batchSampling.getStratifyField(),
+                    batchSampling.getSeed(),
+                    thresholds.get(shardId),
+                    spaceType,
+                    centroids
+                );
+                futures.add(client.execute(TrainingKMeansStepAction.INSTANCE, request));
+            }
+
+            final double[] sums = new double[numCentroids * dimension];
+            final long[] counts = new long[numCentroids];
+            for (int shardId = 0; shardId < numberOfShards; shardId++) {
+                if (futures.get(shardId) == null) {
+                    continue;
+                }
+                final TrainingKMeansStepResponse response = futures.get(shardId).actionGet();
+                readers.set(shardId, readers.get(shardId));
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += response.getSums()[i];
+                }
+                for (int c = 0; c < numCentroids; c++) {
+                    counts[c] += response.getCounts()[c];
+                }
+            }
+            MiniBatchKMeans.update(centroids, assignedCounts, sums, counts, innerProduct);
+            logger.debug("Completed distributed k-means iteration {} of {} on index {}", iteration + 1, iterations, indexName);
+        }
+    }
+
+    /**
+     * Count the vectors of each stratum of each shard, along with the smallest keys the initial centroids are sampled by
+     */
+    private void countVectors(
+        String indexName,
+        String fieldName,
+        int numberOfShards,
+        TrainingDataSampling sampling,
+        int numCentroids,
+        TrainingDataReaders readers,
+        List<Map<String, Integer>> shardStratumCounts,
+        List<Map<String, long[]>> shardSmallestKeys
+    ) {
+        final TrainingDataSampling initialSampling = batchSampling(sampling, 0);
+        final List<ActionFuture<TrainingDataSampleResponse>> futures = new ArrayList<>(numberOfShards);
+        for (int shardId = 0; shardId < numberOfShards; shardId++) {
+            final TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+                indexName,
+                shardId,
+                fieldName,
+                VectorDataType.FLOAT,
+                null,
+                numCentroids,
+                initialSampling.getStratifyField(),
+                initialSampling.getSeed(),
+                true,
+                null
+            );
+            futures.add(client.execute(TrainingDataSampleAction.INSTANCE, request));
+        }
+        for (int shardId = 0; shardId < numberOfShards; shardId++) {
+            final TrainingDataSampleResponse response = futures.get(shardId).actionGet();
+            readers.set(shardId, response.getReaderId());
+            shardStratumCounts.add(response.getStratumCounts());
+            shardSmallestKeys.add(response.getSmallestKeys());
+        }
+    }
+
+    /**
+     * Initialize the centroids with a sample of the training vectors
+     */
+    private float[][] readInitialCentroids(
+        String indexName,
+        String fieldName,
+        int numCentroids,
+        TrainingDataSampling sampling,
+        int searchSize,
+        List<Map<String, Integer>> shardStratumCounts,
+        List<Map<String, long[]>> shardSmallestKeys,
+        TrainingDataReaders readers
+    ) {
+        final TrainingDataSampling initialSampling = batchSampling(sampling, 0);
+        final List<Map<String, Long>> thresholds = TrainingDataSampler.computeThresholds(
+            initialSampling,
+            shardStratumCounts,
+            shardSmallestKeys,
+            numCentroids
+        );
+        final float[][] centroids = new float[numCentroids][];
+        int numRead = 0;
+        for (int shardId = 0; shardId < shardStratumCounts.size() && numRead < numCentroids; shardId++) {
+            if (thresholds.get(shardId).isEmpty()) {
+                continue;
+            }
+            TrainingDataSampleResponse response;
+            do {
+                final TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+                    indexName,
+                    shardId,
+                    fieldName,
+                    VectorDataType.FLOAT,
+                    readers.get(shardId),
+                    Math.min(searchSize, numCentroids - numRead),
+                    initialSampling.getStratifyField(),
+                    initialSampling.getSeed(),
+                    false,
+                    thresholds.get(shardId)
+                ).withKeepReader();
+                // The readers of the shards read next wait for their turn
+                readers.renewIdle();
+                response = client.execute(TrainingDataSampleAction.INSTANCE, request).actionGet();
+                readers.set(shardId, response.getReaderId());
+                final FloatBuffer vectors = ByteBuffer.wrap(BytesReference.toBytes(response.getVectors()))
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer();
+                for (int i = 0; i < response.getNumVectors(); i++) {
+                    centroids[numRead] = new float[response.getVectorLength()];
+                    vectors.get(centroids[numRead++]);
+                }
+            } while (!response.isExhausted() && numRead < numCentroids);
+        }
+        if (numRead < numCentroids) {
+            throw new IllegalStateException(
+                String.format(Locale.ROOT, "Only %d training vectors could be read to initialize %d centroids", numRead, numCentroids)
+            );
+        }
+        return centroids;
+    }
+
+    /**
+     * Sampling of a batch, which draws from all vectors with a seed of its own
+     */
+    private static TrainingDataSampling batchSampling(TrainingDataSampling sampling, int batch) {
+        final TrainingDataSampling.Strategy strategy = sampling.getStrategy() == TrainingDataSampling.Strategy.FIRST
+            ? TrainingDataSampling.Strategy.UNIFORM
+            : sampling.getStrategy();
+        return new TrainingDataSampling(strategy, sampling.getStratifyField(), sampling.getSeed() + batch);
+    }
+}
@@ -12,11 +12,17 @@
 package org.opensearch.knn.training;
 
 import org.apache.commons.lang.ArrayUtils;
+import org.apache.lucene.util.BytesRef;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.jni.JNIService;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.search.SearchHit;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -64,4 +70,26 @@ public class FloatTrainingDataConsumer extends TrainingDataConsumer {
 
         accept(vectors);
     }
+
+    @Override
+    public void processTrainingVectors(BytesReference vectors, int numVectors, int vectorLength) throws IOException {
+        if (numVectors == 0) {
+            return;
+        }
+        final long numElements = (long) numVectors * vectorLength;
+        if (trainingDataAllocation.getMemoryAddress() == 0) {
+            trainingDataAllocation.setMemoryAddress(JNICommons.createVectorData(numElements));
+        }
+        // The floats are written in place, in native order
+        final ByteBuffer target = JNICommons.appendVectorData(trainingDataAllocation.getMemoryAddress(), numElements);
+        if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+            copyBlock(vectors, target);
+        } else {
+            final BytesRef bytesRef = vectors.toBytesRef();
+            target.order(ByteOrder.nativeOrder())
+                .asFloatBuffer()
+                .put(ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+        }
+        setTotalVectorsCountAdded(getTotalVectorsCountAdded() + numVectors);
+    }
 }
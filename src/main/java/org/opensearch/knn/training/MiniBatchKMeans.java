@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.util.VectorUtil;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleRequest;
+
+import java.io.IOException;
+
+/**
+ * Steps of mini-batch k-means, split between the shards that assign the vectors of a batch to their nearest centroid
+ * and the node that merges the assignments of all shards into the centroids. Centroids are moved towards the mean of
+ * the vectors assigned to them by a rate that decreases with the number of vectors assigned to them so far. With inner
+ * product, centroids are normalized after each update, as faiss does for IVF quantizers.
+ */
+public final class MiniBatchKMeans {
+
+    private MiniBatchKMeans() {}
+
+    /**
+     * @param spaceType space type of the model
+     * @return true if vectors are assigned to the centroid with the largest inner product instead of the closest one
+     */
+    public static boolean isInnerProduct(SpaceType spaceType) {
+        return spaceType != SpaceType.L2;
+    }
+
+    /**
+     * Assign the vectors of a shard sampled by a request to their nearest centroid, and sum them by centroid
+     *
+     * @param indexReader reader of the shard
+     * @param sampleRequest request for the vectors of the batch
+     * @param centroids current centroids
+     * @param innerProduct true to assign vectors to the centroid with the largest inner product
+     * @param sums sums of the vectors assigned to each centroid, of length centroids.length * dimension
+     * @param counts number of vectors assigned to each centroid
+     * @throws IOException if the vectors cannot be read
+     */
+    public static void assign(
+        IndexReader indexReader,
+        TrainingDataSampleRequest sampleRequest,
+        float[][] centroids,
+        boolean innerProduct,
+        double[] sums,
+        int[] counts
+    ) throws IOException {
+        final float[] halfSquaredNorms = new float[centroids.length];
+        for (int c = 0; c < centroids.length; c++) {
+            halfSquaredNorms[c] = innerProduct ? 0 : VectorUtil.dotProduct(centroids[c], centroids[c]) / 2;
+        }
+        ShardTrainingDataReader.visitFloatVectors(indexReader, sampleRequest, vector -> {
+            final int nearest = nearestCentroid(vector, centroids, halfSquaredNorms);
+            final int offset = nearest * vector.length;
+            for (int i = 0; i < vector.length; i++) {
+                sums[offset + i] += vector[i];
+            }
+            counts[nearest]++;
+        });
+    }
+
+    /**
+     * Get the centroid closest to a vector, which maximizes x.c - |c|^2 / 2 for l2 and x.c for inner product
+     */
+    static int nearestCentroid(float[] vector, float[][] centroids, float[] halfSquaredNorms) {
+        int nearest = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int c = 0; c < centroids.length; c++) {
+            final float score = VectorUtil.dotProduct(vector, centroids[c]) - halfSquaredNorms[c];
+            if (score > bestScore) {
+                bestScore = score;
+                nearest = c;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Move the centroids towards the mean of the vectors assigned to them in a batch
+     *
+     * @param centroids centroids to update
+     * @param assignedCounts number of vectors assigned to each centroid in the previous batches, updated with the batch
+     * @param sums sums of the vectors of the batch assigned to each centroid
+     * @param counts number of vectors of the batch assigned to each centroid
+     * @param innerProduct true to normalize the centroids
+     */
+    public static void update(float[][] centroids, long[] assignedCounts, double[] sums, long[] counts, boolean innerProduct) {
+        for (int c = 0; c < centroids.length; c++) {
+            if (counts[c] == 0) {
+                continue;
+            }
+            assignedCounts[c] += counts[c];
+            final float[] centroid = centroids[c];
+            final int offset = c * centroid.length;
+            // Step of counts[c] / assignedCounts[c] from the centroid to the mean of the batch
+            final double rate = 1.0 / assignedCounts[c];
+            for (int i = 0; i < centroid.length; i++) {
+                centroid[i] += (float) ((sums[offset + i] - counts[c] * centroid[i]) * rate);
+            }
+            if (innerProduct) {
+                final float norm = (float) Math.sqrt(VectorUtil.dotProduct(centroid, centroid));
+                if (norm > 0) {
+                    for (int i = 0; i < centroid.length; i++) {
+                        centroid[i] /= norm;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.ByteVectorValues;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleRequest;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the training vectors of a field straight from the segments of a shard, from the vector values of the field
+ * when it has some and from its binary doc values otherwise, and packs them in a block of primitive values without
+ * going through the source of the docs. Vectors are either read in doc order, or sampled with the thresholds computed
+ * by {@link TrainingDataSampler}, in which case the reader can also only count the vectors of each stratum and collect
+ * their smallest sampling keys. A shard
+ * is read block after block by reading it again with the {@link Position} the previous block stopped at.
+ */
+public final class ShardTrainingDataReader {
+
+    private final TrainingDataSampleRequest request;
+    // Visitor of the float vectors, null to pack the vectors in a block
+    private final FloatVectorVisitor visitor;
+    private final Position position;
+    private int numVectors;
+    private int vectorLength = -1;
+    private ByteBuffer block;
+    private float[] floatVector;
+    // Stratum of the current doc, looked up per leaf
+    private SortedSetDocValues strata;
+    private String[] strataByOrd;
+    // Smallest sampling keys of each stratum, only collected when counting
+    private final Map<String, TrainingDataSampler.SmallestKeys> smallestKeys = new HashMap<>();
+
+    private ShardTrainingDataReader(TrainingDataSampleRequest request, FloatVectorVisitor visitor, Position position) {
+        this.request = request;
+        this.visitor = visitor;
+        this.position = position;
+    }
+
+    /**
+     * Read the vectors of the live docs of a field, in doc order, that are sampled by the request if it has sampling
+     * thresholds. The read starts at the position and moves it to where the next block of the shard starts, so the
+     * position must only be used with the same reader and with requests for the same vectors.
+     *
+     * @param indexReader reader of the shard
+     * @param request request with the field to read and the vectors to return
+     * @param position position the read starts at, a new one to read the shard from its first vector
+     * @return {@link TrainingDataSampleResponse} with the vectors
+     * @throws IOException if the vectors cannot be read
+     */
+    public static TrainingDataSampleResponse read(IndexReader indexReader, TrainingDataSampleRequest request, Position position)
+        throws IOException {
+        final ShardTrainingDataReader reader = new ShardTrainingDataReader(request, null, position);
+        return reader.toResponse(reader.readLeaves(indexReader));
+    }
+
+    /**
+     * Visit the float vectors of the live docs of a field that are sampled by the request, in doc order, without
+     * packing them in a block. The visited array may be reused for the next vector.
+     *
+     * @param indexReader reader of the shard
+     * @param request request with the field to read and the vectors to visit
+     * @param visitor visitor of the vectors
+     * @throws IOException if the vectors cannot be read
+     */
+    public static void visitFloatVectors(IndexReader indexReader, TrainingDataSampleRequest request, FloatVectorVisitor visitor)
+        throws IOException {
+        if (request.getVectorDataType() != VectorDataType.FLOAT) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "Only float vectors can be visited, not [%s]", request.getVectorDataType().getValue())
+            );
+        }
+        new ShardTrainingDataReader(request, visitor, new Position()).readLeaves(indexReader);
+    }
+
+    /**
+     * @return true if all the vectors of the shard are read
+     */
+    private boolean readLeaves(IndexReader indexReader) throws IOException {
+        final List<LeafReaderContext> leaves = indexReader.leaves();
+        for (; position.leafOrd < leaves.size(); position.leafOrd++, position.doc = 0) {
+            if (!readLeaf(leaves.get(position.leafOrd).reader())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the block is full before the end of the leaf
+     */
+    private boolean readLeaf(LeafReader leafReader) throws IOException {
+        final String fieldName = request.getFieldName();
+        final FieldInfo fieldInfo = leafReader.getFieldInfos().fieldInfo(fieldName);
+        if (fieldInfo == null) {
+            return true;
+        }
+        loadStrata(leafReader);
+        final Bits liveDocs = leafReader.getLiveDocs();
+        final VectorDataType vectorDataType = request.getVectorDataType();
+        if (fieldInfo.hasVectorValues()) {
+            if (vectorDataType == VectorDataType.FLOAT) {
+                final FloatVectorValues values = leafReader.getFloatVectorValues(fieldName);
+                return values == null || readValues(values, liveDocs, () -> addFloatVector(values.vectorValue()));
+            }
+            final ByteVectorValues values = leafReader.getByteVectorValues(fieldName);
+            return values == null || readValues(values, liveDocs, () -> addByteVector(values.vectorValue(), 0, values.dimension()));
+        }
+        if (fieldInfo.getDocValuesType() != DocValuesType.BINARY) {
+            return true;
+        }
+        final BinaryDocValues values = leafReader.getBinaryDocValues(fieldName);
+        if (values == null) {
+            return true;
+        }
+        if (vectorDataType == VectorDataType.FLOAT) {
+            final KNNVectorDocValuesEncoding encoding = KNNVectorDocValuesEncoding.fromFieldInfo(fieldInfo);
+            return readValues(values, liveDocs, () -> {
+                floatVector = encoding.decode(values.binaryValue(), floatVector);
+                addFloatVector(floatVector);
+            });
+        }
+        return readValues(values, liveDocs, () -> {
+            final BytesRef bytesRef = values.binaryValue();
+            addByteVector(bytesRef.bytes, bytesRef.offset, bytesRef.length);
+        });
+    }
+
+    private void loadStrata(LeafReader leafReader) throws IOException {
+        strata = null;
+        final String stratifyField = request.getStratifyField();
+        if (stratifyField == null) {
+            return;
+        }
+        final FieldInfo fieldInfo = leafReader.getFieldInfos().fieldInfo(stratifyField);
+        if (fieldInfo == null) {
+            return;
+        }
+        if (fieldInfo.getDocValuesType() != DocValuesType.SORTED_SET && fieldInfo.getDocValuesType() != DocValuesType.SORTED) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "Stratify field [%s] must be a keyword field with doc values", stratifyField)
+            );
+        }
+        strata = DocValues.getSortedSet(leafReader, stratifyField);
+        strataByOrd = new String[Math.toIntExact(strata.getValueCount())];
+    }
+
+    /**
+     * Get the stratum of a doc, which is the first value of the stratify field of the doc
+     */
+    private String stratumOf(int doc) throws IOException {
+        if (strata == null || !strata.advanceExact(doc)) {
+            return TrainingDataSampler.DEFAULT_STRATUM;
+        }
+        final int ord = (int) strata.nextOrd();
+        if (strataByOrd[ord] == null) {
+            strataByOrd[ord] = strata.lookupOrd(ord).utf8ToString();
+        }
+        return strataByOrd[ord];
+    }
+
+    private boolean readValues(DocIdSetIterator values, Bits liveDocs, VectorConsumer consumer) throws IOException {
+        final Map<String, Long> thresholds = request.getThresholds();
+        final boolean stratified = request.isCountOnly() || thresholds != null;
+        for (int doc = values.advance(position.doc); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+            if (!request.isCountOnly() && numVectors == request.getSize()) {
+                // The block is full, the next block starts at this doc, which is not counted in its stratum yet
+                position.doc = doc;
+                return false;
+            }
+            if (liveDocs != null && !liveDocs.get(doc)) {
+                continue;
+            }
+            if (stratified) {
+                final String stratum = stratumOf(doc);
+                final int stratumPosition = position.stratumCounts.computeIfAbsent(stratum, s -> new int[1])[0]++;
+                if (request.isCountOnly()) {
+                    if (request.getSize() > 0) {
+                        final long key = TrainingDataSampler.sampleKey(request.getSeed(), request.getShardId(), stratum, stratumPosition);
+                        smallestKeys.computeIfAbsent(stratum, s -> new TrainingDataSampler.SmallestKeys(request.getSize())).add(key);
+                    }
+                    continue;
+                }
+                if (!isSampled(thresholds, stratum, stratumPosition)) {
+                    continue;
+                }
+            }
+            consumer.accept();
+            numVectors++;
+        }
+        return true;
+    }
+
+    private boolean isSampled(Map<String, Long> thresholds, String stratum, int position) {
+        final long threshold = thresholds.getOrDefault(stratum, TrainingDataSampler.SAMPLE_NONE);
+        if (threshold == TrainingDataSampler.SAMPLE_ALL || threshold == TrainingDataSampler.SAMPLE_NONE) {
+            return threshold == TrainingDataSampler.SAMPLE_ALL;
+        }
+        return TrainingDataSampler.sampleKey(request.getSeed(), request.getShardId(), stratum, position) <= threshold;
+    }
+
+    private void addFloatVector(float[] vector) {
+        if (visitor != null) {
+            visitor.visit(vector);
+            return;
+        }
+        ensureBlock(vector.length, Float.BYTES);
+        block.asFloatBuffer().put(vector);
+        block.position(block.position() + vector.length * Float.BYTES);
+    }
+
+    private void addByteVector(byte[] bytes, int offset, int length) {
+        ensureBlock(length, Byte.BYTES);
+        block.put(bytes, offset, length);
+    }
+
+    private void ensureBlock(int length, int bytesPerElement) {
+        if (block == null) {
+            vectorLength = length;
+            final int blockSize = Math.multiplyExact(Math.multiplyExact(request.getSize(), length), bytesPerElement);
+            block = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        } else if (length != vectorLength) {
+            throw new IllegalStateException(
+                String.format(
+                    Locale.ROOT,
+                    "Vectors of field [%s] have different dimensions: %d and %d",
+                    request.getFieldName(),
+                    vectorLength,
+                    length
+                )
+            );
+        }
+    }
+
+    private TrainingDataSampleResponse toResponse(boolean exhausted) {
+        if (request.isCountOnly()) {
+            final Map<String, Integer> counts = new HashMap<>();
+            position.stratumCounts.forEach((stratum, count) -> counts.put(stratum, count[0]));
+            final Map<String, long[]> keys = new HashMap<>();
+            smallestKeys.forEach((stratum, stratumKeys) -> keys.put(stratum, stratumKeys.toSortedArray()));
+            return new TrainingDataSampleResponse(0, 0, BytesArray.EMPTY, true, counts, keys, null);
+        }
+        if (block == null) {
+            return new TrainingDataSampleResponse(0, 0, BytesArray.EMPTY, exhausted, Collections.emptyMap(), null);
+        }
+        final BytesArray vectors = new BytesArray(block.array(), 0, block.position());
+        return new TrainingDataSampleResponse(numVectors, vectorLength, vectors, exhausted, Collections.emptyMap(), null);
+    }
+
+    /**
+     * Position of a read in a shard: the leaf and doc the next block starts at, and the number of vectors seen so far
+     * in each stratum, which is the position in its stratum of the next vector that sampling keys
+     */
+    public static final class Position {
+        private int leafOrd;
+        private int doc;
+        private final Map<String, int[]> stratumCounts = new HashMap<>();
+    }
+
+    @FunctionalInterface
+    private interface VectorConsumer {
+        void accept() throws IOException;
+    }
+
+    /**
+     * Visitor of the float vectors of a shard
+     */
+    @FunctionalInterface
+    public interface FloatVectorVisitor {
+        void visit(float[] vector);
+    }
+}
@@ -13,10 +13,16 @@ package org.opensearch.knn.training;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.search.SearchHit;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -44,6 +50,38 @@ public abstract class TrainingDataConsumer {
 
     public abstract void processTrainingVectors(SearchResponse searchResponse, int vectorsToAdd, String fieldName);
 
+    /**
+     * Adds a block of vectors read from a shard to the training data allocation.
+     *
+     * @param vectors vectors packed back to back, as little endian floats for float vectors and as bytes otherwise
+     * @param numVectors number of vectors in the block
+     * @param vectorLength number of floats, or of bytes for byte and binary vectors, of each vector
+     * @throws IOException if the block cannot be read
+     */
+    public abstract void processTrainingVectors(BytesReference vectors, int numVectors, int vectorLength) throws IOException;
+
+    /**
+     * @return data type of the vectors consumed
+     */
+    public VectorDataType getVectorDataType() {
+        return trainingDataAllocation.getVectorDataType();
+    }
+
+    /**
+     * Copies the bytes of a block to a buffer, page by page.
+     *
+     * @param vectors block to copy
+     * @param target buffer to copy the block to
+     * @throws IOException if the block cannot be read
+     */
+    protected static void copyBlock(BytesReference vectors, ByteBuffer target) throws IOException {
+        final BytesRefIterator iterator = vectors.iterator();
+        BytesRef page;
+        while ((page = iterator.next()) != null) {
+            target.put(page.bytes, page.offset, page.length);
+        }
+    }
+
     /**
      * Traverses the hit to the desired field and extracts its value.
      *
@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.client.Client;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleAction;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleRequest;
+
+/**
+ * Readers a training job keeps open on the shards of the training index, one per shard. A reader expires when no
+ * request uses it for a minute, so the readers that wait while other shards are read are renewed as the job goes, and
+ * all readers are released once the job is done with them.
+ */
+final class TrainingDataReaders {
+
+    private static final Logger logger = LogManager.getLogger(TrainingDataReaders.class);
+
+    // Well below the keep alive of the readers, so that a reader is renewed before it expires even when the renewal is slow
+    static final TimeValue RENEW_INTERVAL = TimeValue.timeValueSeconds(20);
+
+    private final Client client;
+    private final String indexName;
+    private final String fieldName;
+    private final String[] readerIds;
+    // Last time each reader was used or renewed
+    private final long[] accessNanos;
+
+    /**
+     * Constructor
+     *
+     * @param client used to send the shard requests
+     * @param indexName index the readers read
+     * @param fieldName field the readers are opened for
+     * @param numberOfShards number of shards of the index
+     */
+    TrainingDataReaders(Client client, String indexName, String fieldName, int numberOfShards) {
+        this.client = client;
+        this.indexName = indexName;
+        this.fieldName = fieldName;
+        this.readerIds = new String[numberOfShards];
+        this.accessNanos = new long[numberOfShards];
+    }
+
+    /**
+     * @param shardId shard of the reader
+     * @return reader of the shard, or null if the shard has no open reader
+     */
+    String get(int shardId) {
+        return readerIds[shardId];
+    }
+
+    /**
+     * Record the reader a response of a shard returned, which the shard was just read with
+     *
+     * @param shardId shard of the reader
+     * @param readerId reader of the shard, or null once the shard is read to the end
+     */
+    void set(int shardId, String readerId) {
+        readerIds[shardId] = readerId;
+        accessNanos[shardId] = System.nanoTime();
+    }
+
+    /**
+     * Renew the readers that were not used for {@link #RENEW_INTERVAL}, without waiting for the renewals. A reader that
+     * cannot be renewed fails the next request that uses it.
+     */
+    void renewIdle() {
+        final long now = System.nanoTime();
+        for (int i = 0; i < readerIds.length; i++) {
+            if (readerIds[i] == null || now - accessNanos[i] < RENEW_INTERVAL.nanos()) {
+                continue;
+            }
+            final String readerId = readerIds[i];
+            accessNanos[i] = now;
+            client.execute(
+                TrainingDataSampleAction.INSTANCE,
+                TrainingDataSampleRequest.renew(indexName, i, fieldName, readerId),
+                ActionListener.wrap(
+                    response -> {},
+                    e -> logger.debug("Failed to renew training data reader [{}] of index {}", readerId, indexName, e)
+                )
+            );
+        }
+    }
+
+    /**
+     * Release the readers of the shards that are not read to the end, without waiting for them to be closed. The
+     * readers that cannot be released are closed once they expire.
+     */
+    void release() {
+        for (int i = 0; i < readerIds.length; i++) {
+            if (readerIds[i] == null) {
+                continue;
+            }
+            final String readerId = readerIds[i];
+            readerIds[i] = null;
+            client.execute(
+                TrainingDataSampleAction.INSTANCE,
+                TrainingDataSampleRequest.release(indexName, i, fieldName, readerId),
+                ActionListener.wrap(
+                    response -> {},
+                    e -> logger.debug("Failed to release training data reader [{}] of index {}", readerId, indexName, e)
+                )
+            );
+        }
+    }
+}
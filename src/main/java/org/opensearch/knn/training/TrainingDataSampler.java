@@ -0,0 +1,301 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.apache.lucene.util.ArrayUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Samples training vectors across the shards of an index without holding them. Every vector gets a pseudo random key
+ * from the seed of the sampling, its shard, its stratum and its position among the vectors of its stratum in the
+ * shard, and a sample of k vectors is made of the k vectors with the smallest keys, as in a bottom-k reservoir.
+ * Each shard counts the vectors of its strata and returns their smallest keys, the node coordinating the sampling
+ * merges them into the largest sampled key of each shard and stratum, and shards then only return the vectors with a
+ * key up to it, in doc order. Samples that do not need an exact size, like the batches of k-means, instead get a
+ * threshold from the rate each stratum is sampled at, which samples each vector independently with that rate and
+ * draws a new sample with each seed.
+ */
+public final class TrainingDataSampler {
+
+    // Stratum of all vectors when the sampling is not stratified, and of vectors without stratify field value
+    public static final String DEFAULT_STRATUM = "";
+    // Threshold of the strata all vectors of which are sampled
+    public static final long SAMPLE_ALL = Long.MAX_VALUE;
+    // Threshold of the strata none of which vectors are sampled, keys are never negative
+    public static final long SAMPLE_NONE = -1L;
+
+    private TrainingDataSampler() {}
+
+    /**
+     * Get the sampling key of a vector
+     *
+     * @param seed seed of the sampling
+     * @param shardId shard of the vector
+     * @param stratum stratum of the vector
+     * @param position position of the vector among the vectors of its stratum in the shard
+     * @return non negative key
+     */
+    public static long sampleKey(long seed, int shardId, String stratum, int position) {
+        long key = mix(seed ^ (0x9E3779B97F4A7C15L * (shardId + 1)));
+        key = mix(key ^ (0xC2B2AE3D27D4EB4FL * stratum.hashCode()));
+        return mix(key + position) >>> 1;
+    }
+
+    /**
+     * Compute, for each shard, the sampling key threshold of each of its strata that samples each vector independently,
+     * at the rate that gives sampleSize vectors on average. The thresholds do not depend on the seed, so they are
+     * computed once for all the samples drawn with different seeds.
+     *
+     * @param sampling sampling to apply
+     * @param shardStratumCounts for each shard, the number of vectors of each of its strata
+     * @param sampleSize average number of vectors to sample
+     * @return for each shard, the largest key of the vectors to sample of each of its strata
+     */
+    public static List<Map<String, Long>> computeRateThresholds(
+        TrainingDataSampling sampling,
+        List<Map<String, Integer>> shardStratumCounts,
+        int sampleSize
+    ) {
+        return computeThresholds(sampling, shardStratumCounts, sampleSize, (stratum, shardCounts, quota) -> {
+            final long count = Arrays.stream(shardCounts).asLongStream().sum();
+            if (quota >= count) {
+                return SAMPLE_ALL;
+            }
+            if (quota <= 0) {
+                return SAMPLE_NONE;
+            }
+            // Keys are uniform over the non negative longs
+            return (long) ((double) quota / count * Long.MAX_VALUE);
+        });
+    }
+
+    /**
+     * Compute, for each shard, the largest sampling key of the vectors to sample in each of its strata, from the
+     * smallest keys of the strata of each shard, which shards collect while counting their vectors
+     *
+     * @param sampling sampling to apply
+     * @param shardStratumCounts for each shard, the number of vectors of each of its strata
+     * @param shardSmallestKeys for each shard, the smallest keys of each of its strata in ascending order, as many as
+     *                          maxVectorCount unless the stratum has fewer vectors
+     * @param maxVectorCount number of vectors to sample
+     * @return for each shard, the largest key of the vectors to sample of each of its strata
+     */
+    public static List<Map<String, Long>> computeThresholds(
+        TrainingDataSampling sampling,
+        List<Map<String, Integer>> shardStratumCounts,
+        List<Map<String, long[]>> shardSmallestKeys,
+        int maxVectorCount
+    ) {
+        return computeThresholds(
+            sampling,
+            shardStratumCounts,
+            maxVectorCount,
+            (stratum, shardCounts, quota) -> threshold(shardSmallestKeys, stratum, shardCounts, quota)
+        );
+    }
+
+    private static List<Map<String, Long>> computeThresholds(
+        TrainingDataSampling sampling,
+        List<Map<String, Integer>> shardStratumCounts,
+        int maxVectorCount,
+        ThresholdFunction thresholdFunction
+    ) {
+        final List<Map<String, Long>> thresholds = new ArrayList<>(shardStratumCounts.size());
+        for (int shardId = 0; shardId < shardStratumCounts.size(); shardId++) {
+            thresholds.add(new HashMap<>());
+        }
+        // Strata are sorted so that the allocation of the vectors does not depend on the order of the maps
+        final TreeSet<String> sortedStrata = new TreeSet<>();
+        shardStratumCounts.forEach(stratumCounts -> sortedStrata.addAll(stratumCounts.keySet()));
+        final List<String> strata = new ArrayList<>(sortedStrata);
+
+        if (sampling.getStrategy() == TrainingDataSampling.Strategy.PROPORTIONAL) {
+            // Each shard and stratum gets its share of the vectors, sampled among its own vectors
+            final long[] cellCounts = new long[shardStratumCounts.size() * strata.size()];
+            for (int shardId = 0; shardId < shardStratumCounts.size(); shardId++) {
+                for (int s = 0; s < strata.size(); s++) {
+                    cellCounts[shardId * strata.size() + s] = shardStratumCounts.get(shardId).getOrDefault(strata.get(s), 0);
+                }
+            }
+            final int[] cellQuotas = allocate(cellCounts, maxVectorCount);
+            for (int shardId = 0; shardId < shardStratumCounts.size(); shardId++) {
+                for (int s = 0; s < strata.size(); s++) {
+                    final int cell = shardId * strata.size() + s;
+                    if (cellCounts[cell] > 0) {
+                        final int[] counts = new int[shardStratumCounts.size()];
+                        counts[shardId] = (int) cellCounts[cell];
+                        final long threshold = thresholdFunction.apply(strata.get(s), counts, cellQuotas[cell]);
+                        thresholds.get(shardId).put(strata.get(s), threshold);
+                    }
+                }
+            }
+            return thresholds;
+        }
+
+        // Each stratum gets its share of the vectors, sampled uniformly among its vectors of all shards
+        final long[] stratumCounts = new long[strata.size()];
+        for (int s = 0; s < strata.size(); s++) {
+            for (Map<String, Integer> stratumCountsOfShard : shardStratumCounts) {
+                stratumCounts[s] += stratumCountsOfShard.getOrDefault(strata.get(s), 0);
+            }
+        }
+        final int[] stratumQuotas = allocate(stratumCounts, maxVectorCount);
+        for (int s = 0; s < strata.size(); s++) {
+            final int[] counts = new int[shardStratumCounts.size()];
+            for (int shardId = 0; shardId < counts.length; shardId++) {
+                counts[shardId] = shardStratumCounts.get(shardId).getOrDefault(strata.get(s), 0);
+            }
+            final long threshold = thresholdFunction.apply(strata.get(s), counts, stratumQuotas[s]);
+            for (int shardId = 0; shardId < counts.length; shardId++) {
+                if (counts[shardId] > 0) {
+                    thresholds.get(shardId).put(strata.get(s), threshold);
+                }
+            }
+        }
+        return thresholds;
+    }
+
+    /**
+     * Split a budget in proportion to sizes, with the largest remainder method
+     *
+     * @param sizes sizes to split the budget by
+     * @param budget budget to split, capped to the sum of the sizes
+     * @return share of each size, never above the size
+     */
+    static int[] allocate(long[] sizes, int budget) {
+        final long total = Arrays.stream(sizes).sum();
+        final int[] shares = new int[sizes.length];
+        if (total == 0) {
+            return shares;
+        }
+        final long toAllocate = Math.min(budget, total);
+        final long[] remainders = new long[sizes.length];
+        long allocated = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            shares[i] = (int) (toAllocate * sizes[i] / total);
+            remainders[i] = toAllocate * sizes[i] % total;
+            allocated += shares[i];
+        }
+        // Hand out what is left to the largest remainders, in index order on ties
+        final Integer[] order = new Integer[sizes.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(remainders[b], remainders[a]));
+        for (int i = 0; allocated < toAllocate; i++) {
+            shares[order[i]]++;
+            allocated++;
+        }
+        return shares;
+    }
+
+    /**
+     * Get the quota smallest key of a stratum across shards from the smallest keys of the stratum of each shard
+     */
+    private static long threshold(List<Map<String, long[]>> shardSmallestKeys, String stratum, int[] shardCounts, int quota) {
+        final long count = Arrays.stream(shardCounts).asLongStream().sum();
+        if (quota >= count) {
+            return SAMPLE_ALL;
+        }
+        if (quota <= 0) {
+            return SAMPLE_NONE;
+        }
+        final List<long[]> keysOfShards = new ArrayList<>();
+        int numKeys = 0;
+        for (int shardId = 0; shardId < shardCounts.length; shardId++) {
+            final long[] shardKeys = shardSmallestKeys.get(shardId).get(stratum);
+            if (shardCounts[shardId] > 0 && shardKeys != null) {
+                keysOfShards.add(shardKeys);
+                numKeys += shardKeys.length;
+            }
+        }
+        final long[] keys = new long[numKeys];
+        int offset = 0;
+        for (long[] shardKeys : keysOfShards) {
+            System.arraycopy(shardKeys, 0, keys, offset, shardKeys.length);
+            offset += shardKeys.length;
+        }
+        if (keys.length < quota) {
+            throw new IllegalStateException(
+                String.format(Locale.ROOT, "Only %d sampling keys of stratum [%s] for %d vectors to sample", keys.length, stratum, quota)
+            );
+        }
+        Arrays.sort(keys);
+        return keys[quota - 1];
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Collects the smallest sampling keys of the vectors of a stratum of a shard. Keys are buffered up to twice the
+     * number to keep, and the buffer is cut down to the smallest ones when it is full, so that each key costs an
+     * amortized constant time on top of the sorts and keys above the kept ones are dropped right away.
+     */
+    public static final class SmallestKeys {
+        private final int size;
+        private final int capacity;
+        private long[] keys = new long[0];
+        private int count;
+        // Largest kept key once the buffer was cut down, larger keys cannot be among the smallest ones
+        private long maxKey = Long.MAX_VALUE;
+
+        /**
+         * Constructor
+         *
+         * @param size number of smallest keys to keep, greater than 0
+         */
+        public SmallestKeys(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "Number of keys to keep must be > 0, got %d", size));
+            }
+            this.size = size;
+            this.capacity = (int) Math.min(2L * size, ArrayUtil.MAX_ARRAY_LENGTH);
+        }
+
+        /**
+         * @param key sampling key of the next vector of the stratum
+         */
+        public void add(long key) {
+            if (key > maxKey) {
+                return;
+            }
+            if (count == capacity) {
+                Arrays.sort(keys, 0, count);
+                count = size;
+                maxKey = keys[size - 1];
+                if (key > maxKey) {
+                    return;
+                }
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, Math.min(capacity, ArrayUtil.oversize(count + 1, Long.BYTES)));
+            }
+            keys[count++] = key;
+        }
+
+        /**
+         * @return the smallest keys in ascending order
+         */
+        public long[] toSortedArray() {
+            Arrays.sort(keys, 0, count);
+            return Arrays.copyOf(keys, Math.min(count, size));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThresholdFunction {
+        long apply(String stratum, int[] shardCounts, int quota);
+    }
+}
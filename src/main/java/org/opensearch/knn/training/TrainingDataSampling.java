@@ -0,0 +1,143 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.opensearch.knn.common.KNNConstants.TRAINING_SAMPLING_SEED;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_SAMPLING_STRATEGY;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_SAMPLING_STRATIFY_FIELD;
+
+/**
+ * Describes how the training vectors of a model are sampled from the training index.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TrainingDataSampling implements Writeable {
+
+    public static final TrainingDataSampling DEFAULT = new TrainingDataSampling(Strategy.UNIFORM, null, 0L);
+
+    /**
+     * Strategies to pick the training vectors among the vectors of the training field
+     */
+    public enum Strategy {
+        // First vectors of each shard in doc order, shard after shard
+        FIRST("first"),
+        // Uniform sample of the vectors of all shards
+        UNIFORM("uniform"),
+        // Uniform sample of the vectors of each shard, sized in proportion to the number of vectors of the shard
+        PROPORTIONAL("proportional");
+
+        private final String name;
+
+        Strategy(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the strategy with the given name
+         *
+         * @param name name of the strategy
+         * @return strategy
+         */
+        public static Strategy get(String name) {
+            for (Strategy strategy : values()) {
+                if (strategy.name.equals(name)) {
+                    return strategy;
+                }
+            }
+            throw new IllegalArgumentException(
+                String.format(
+                    Locale.ROOT,
+                    "Invalid sampling strategy [%s]. Supported strategies are %s",
+                    name,
+                    Arrays.stream(values()).map(Strategy::getName).collect(Collectors.joining(", ", "[", "]"))
+                )
+            );
+        }
+    }
+
+    private final Strategy strategy;
+    // Keyword field the vectors are stratified by, null when they are not stratified
+    private final String stratifyField;
+    private final long seed;
+
+    /**
+     * Constructor from stream
+     *
+     * @param in input stream
+     * @throws IOException thrown when reading from stream fails
+     */
+    public TrainingDataSampling(StreamInput in) throws IOException {
+        this.strategy = Strategy.get(in.readString());
+        this.stratifyField = in.readOptionalString();
+        this.seed = in.readLong();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(strategy.getName());
+        out.writeOptionalString(stratifyField);
+        out.writeLong(seed);
+    }
+
+    /**
+     * @return true if the vectors are sampled within the strata of a keyword field
+     */
+    public boolean isStratified() {
+        return stratifyField != null;
+    }
+
+    /**
+     * Parse the sampling of a training request
+     *
+     * @param in map of the sampling parameters
+     * @return parsed sampling
+     */
+    public static TrainingDataSampling parse(Object in) {
+        if (!(in instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("Sampling must be an object");
+        }
+        Strategy strategy = DEFAULT.strategy;
+        String stratifyField = null;
+        long seed = DEFAULT.seed;
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) in).entrySet()) {
+            final String key = (String) entry.getKey();
+            final Object value = entry.getValue();
+            if (TRAINING_SAMPLING_STRATEGY.equals(key) && value instanceof String) {
+                strategy = Strategy.get((String) value);
+            } else if (TRAINING_SAMPLING_STRATIFY_FIELD.equals(key) && value instanceof String) {
+                stratifyField = (String) value;
+            } else if (TRAINING_SAMPLING_SEED.equals(key) && value instanceof Number) {
+                seed = ((Number) value).longValue();
+            } else {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "Invalid sampling parameter [%s]: [%s]", key, value));
+            }
+        }
+        if (stratifyField != null && strategy == Strategy.FIRST) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "Sampling strategy [%s] cannot be stratified", Strategy.FIRST.getName())
+            );
+        }
+        return new TrainingDataSampling(strategy, stratifyField, seed);
+    }
+}
@@ -19,6 +19,8 @@ import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.jni.JNIService;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
@@ -115,6 +117,16 @@ public class TrainingJob implements Runnable {
         return model;
     }
 
+    /**
+     * Getter for the native memory the job reserves while training, which is the size of the training data and of the
+     * model being trained.
+     *
+     * @return estimated memory in kilobytes
+     */
+    public long getEstimatedMemoryInKB() {
+        return (long) trainingDataEntryContext.calculateSizeInKB() + modelAnonymousEntryContext.calculateSizeInKB();
+    }
+
     @Override
     public void run() {
         NativeMemoryAllocation trainingDataAllocation = null;
@@ -197,12 +209,7 @@ public class TrainingJob implements Runnable {
 
             IndexUtil.updateVectorDataTypeToParameters(trainParameters, model.getModelMetadata().getVectorDataType());
 
-            byte[] modelBlob = JNIService.trainIndex(
-                trainParameters,
-                model.getModelMetadata().getDimension(),
-                trainingDataAllocation.getMemoryAddress(),
-                model.getModelMetadata().getKnnEngine()
-            );
+            byte[] modelBlob = trainModel(trainParameters, trainingDataAllocation.getMemoryAddress());
 
             // Once training finishes, update model
             model.setModelBlob(modelBlob);
@@ -225,6 +232,45 @@ public class TrainingJob implements Runnable {
         }
     }
 
+    private byte[] trainModel(Map<String, Object> trainParameters, long trainingDataAddress) {
+        final int dimension = model.getModelMetadata().getDimension();
+        final KNNEngine knnEngine = model.getModelMetadata().getKnnEngine();
+        if (!isDistributedTrainingApplicable()) {
+            return JNIService.trainIndex(trainParameters, dimension, trainingDataAddress, knnEngine);
+        }
+
+        // Coarse centroids are trained across the nodes holding the training data, the encoder on the training data
+        final Object nlist = knnMethodContext.getMethodComponentContext()
+            .getParameters()
+            .getOrDefault(KNNConstants.METHOD_PARAMETER_NLIST, KNNConstants.METHOD_PARAMETER_NLIST_DEFAULT);
+        final float[][] centroids = DistributedKMeansTrainer.getInstance()
+            .train(
+                trainingDataEntryContext.getClusterService(),
+                trainingDataEntryContext.getTrainIndexName(),
+                trainingDataEntryContext.getTrainFieldName(),
+                knnMethodContext.getSpaceType(),
+                (Integer) nlist,
+                trainingDataEntryContext.getSampling(),
+                trainingDataEntryContext.getSearchSize(),
+                KNNSettings.getDistributedTrainingIterations(),
+                KNNSettings.getDistributedTrainingBatchSize()
+            );
+        final long centroidsAddress = JNICommons.storeVectorData(0, centroids, (long) centroids.length * dimension);
+        try {
+            return JNIService.trainIndexWithCentroids(trainParameters, dimension, trainingDataAddress, centroidsAddress, knnEngine);
+        } finally {
+            JNICommons.freeVectorData(centroidsAddress);
+        }
+    }
+
+    private boolean isDistributedTrainingApplicable() {
+        return KNNSettings.isDistributedTrainingEnabled()
+            && knnMethodContext.getKnnEngine() == KNNEngine.FAISS
+            && KNNConstants.METHOD_IVF.equals(knnMethodContext.getMethodComponentContext().getName())
+            && model.getModelMetadata().getVectorDataType() == VectorDataType.FLOAT
+            && IndexUtil.isClusterOnOrAfterMinRequiredVersion(KNNConstants.DISTRIBUTED_TRAINING_KEY);
+    }
+
     private void setVersionInKnnMethodContext() {
         // We are picking up the node version here. For more details why we did this please check below conversation
         // Ref: https://github.com/opensearch-project/k-NN/pull/1353#discussion_r1434428542
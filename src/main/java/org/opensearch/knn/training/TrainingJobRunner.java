@@ -16,6 +16,8 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.common.ValidationException;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
@@ -24,27 +26,47 @@ import org.opensearch.knn.plugin.stats.KNNCounter;
 import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.opensearch.knn.common.KNNConstants.TRAIN_THREAD_POOL;
 
 /**
  * TrainingJobRunner is a singleton class responsible for submitting TrainingJobs to the k-NN training pool executor.
- * Capacity of queue and number of threads of the executor can be configured from executor construction (in KNNPlugin).
+ * Jobs wait in a queue ordered by priority, then by submission, and start as soon as a training thread is free and
+ * their estimated native memory fits in the memory that is neither used by graphs nor reserved by running jobs. Several
+ * small jobs can therefore train at the same time, while a large job waits for running jobs to complete instead of
+ * failing to reserve its memory. The number of threads of the executor is configured by
+ * {@link KNNSettings#KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING} (in KNNPlugin).
  */
 public class TrainingJobRunner {
 
     public static Logger logger = LogManager.getLogger(TrainingJobRunner.class);
 
+    private static final Comparator<QueuedJob> QUEUE_ORDER = Comparator.comparingInt((QueuedJob job) -> -job.priority)
+        .thenComparingLong(job -> job.submission);
+    // Weight of the last completed job in the training time per kilobyte used to estimate completion times
+    private static final double TRAINING_TIME_SMOOTHING = 0.3;
+
     private static TrainingJobRunner INSTANCE;
     private static ModelDao modelDao;
     private static ThreadPool threadPool;
 
-    private final Semaphore semaphore;
+    // Jobs accepted by the node that have not completed yet, including the ones still being serialized
     private final AtomicInteger jobCount;
+    private final PriorityQueue<QueuedJob> queue;
+    private final Map<String, QueuedJob> runningJobs;
+    private long reservedMemoryInKB;
+    private long submissionCount;
+    // Smoothed training time per kilobyte of estimated memory of the completed jobs, NaN until a job completes
+    private double millisPerKB;
 
     /**
      * Get singleton instance of TrainingJobRunner
@@ -60,7 +82,9 @@ public class TrainingJobRunner {
 
     private TrainingJobRunner() {
         this.jobCount = new AtomicInteger(0);
-        this.semaphore = new Semaphore(1);
+        this.queue = new PriorityQueue<>(QUEUE_ORDER);
+        this.runningJobs = new HashMap<>();
+        this.millisPerKB = Double.NaN;
     }
 
     /**
@@ -75,49 +99,96 @@ public class TrainingJobRunner {
     }
 
     /**
-     * Execute a training job. This function will first grab a permit, and then serialize the initial model, then
-     * execute training, and then serialize the final result.
+     * Execute a training job with the default priority.
      *
      * @param trainingJob training job to be executed
      * @param listener listener to handle final model serialization response (or exception)
      */
     public void execute(TrainingJob trainingJob, ActionListener<IndexResponse> listener) throws IOException, ExecutionException,
         InterruptedException {
-        // If the semaphore cannot be acquired, the node is unable to execute this job. This allows us to limit
-        // the number of training jobs that enter this function. Although the training threadpool size will also prevent
-        // this, we want to prevent this before we perform any serialization.
-        if (!semaphore.tryAcquire()) {
+        execute(trainingJob, 0, listener);
+    }
+
+    /**
+     * Execute a training job. This function will first take a place in the training queue of the node, and then
+     * serialize the initial model, then queue the job until it can train, and then serialize the final result.
+     *
+     * @param trainingJob training job to be executed
+     * @param priority priority of the job, jobs with a higher priority start first
+     * @param listener listener to handle final model serialization response (or exception)
+     */
+    public void execute(TrainingJob trainingJob, int priority, ActionListener<IndexResponse> listener) throws IOException,
+        ExecutionException, InterruptedException {
+        // If the queue is full, the node is unable to execute this job. We want to reject the job before we perform any
+        // serialization.
+        if (!tryAccept()) {
             ValidationException exception = new ValidationException();
             exception.addValidationError("Unable to run training job: No training capacity on node.");
             KNNCounter.TRAINING_ERRORS.increment();
             throw exception;
         }
 
-        jobCount.incrementAndGet();
-
         // Serialize model before training. The model should be in the training state and the model binary should be
         // null. This notifies users that their model is training, but not yet ready for use.
         try {
             serializeModel(trainingJob, ActionListener.wrap(indexResponse -> {
                 // Respond to the request with the initial index response
                 listener.onResponse(indexResponse);
-                train(trainingJob);
+                enqueue(trainingJob, priority);
             }, exception -> {
                 // Serialization failed. Let listener handle the exception, but free up resources.
                 jobCount.decrementAndGet();
-                semaphore.release();
                 logger.error("Unable to initialize model serialization: " + exception.getMessage());
                 listener.onFailure(exception);
             }), false);
         } catch (IOException | ExecutionException | InterruptedException e) {
             jobCount.decrementAndGet();
-            semaphore.release();
             throw e;
         }
     }
 
-    private void train(TrainingJob trainingJob) {
+    private synchronized boolean tryAccept() {
+        if (jobCount.get() >= KNNSettings.getTrainingMaxConcurrentJobs() + KNNSettings.getTrainingQueueMaxSize()) {
+            return false;
+        }
+        jobCount.incrementAndGet();
+        return true;
+    }
+
+    private void enqueue(TrainingJob trainingJob, int priority) {
+        synchronized (this) {
+            queue.add(new QueuedJob(trainingJob, priority, submissionCount++));
+        }
+        dispatch();
+    }
+
+    /**
+     * Start the jobs at the head of the queue that a training thread and enough memory are available for
+     */
+    private void dispatch() {
+        final List<QueuedJob> toStart = new ArrayList<>();
+        synchronized (this) {
+            final int maxConcurrentJobs = KNNSettings.getTrainingMaxConcurrentJobs();
+            while (!queue.isEmpty() && runningJobs.size() < maxConcurrentJobs) {
+                final QueuedJob next = queue.peek();
+                // A job that does not fit waits for running jobs to release their memory. On an idle node it starts
+                // anyway, and fails to reserve its memory like it would have without the queue.
+                if (!runningJobs.isEmpty() && next.memoryInKB > getAvailableMemoryInKB()) {
+                    break;
+                }
+                queue.poll();
+                next.startTimeMillis = System.currentTimeMillis();
+                runningJobs.put(next.trainingJob.getModelId(), next);
+                reservedMemoryInKB += next.memoryInKB;
+                toStart.add(next);
+            }
+        }
+        toStart.forEach(this::train);
+    }
+
+    private void train(QueuedJob queuedJob) {
         // Attempt to submit job to training thread pool. On failure, release the resources and serialize the failure.
+        final TrainingJob trainingJob = queuedJob.trainingJob;
 
         // Listener for update model after training index action
         ActionListener<IndexResponse> loggingListener = ActionListener.wrap(
@@ -140,8 +211,7 @@ public class TrainingJobRunner {
                     logger.error("Unable to complete training for \"" + trainingJob.getModelId() + "\": " + e.getMessage());
                     KNNCounter.TRAINING_ERRORS.increment();
                 } finally {
-                    jobCount.decrementAndGet();
-                    semaphore.release();
+                    complete(queuedJob);
                 }
             });
         } catch (RejectedExecutionException ree) {
@@ -156,13 +226,28 @@ public class TrainingJobRunner {
             } catch (IOException | ExecutionException | InterruptedException e) {
                 logger.error("Unable to serialize the failure for model \"{}\": ", trainingJob.getModelId(), e);
             } finally {
-                jobCount.decrementAndGet();
-                semaphore.release();
+                complete(queuedJob);
                 KNNCounter.TRAINING_ERRORS.increment();
             }
         }
     }
 
+    private void complete(QueuedJob queuedJob) {
+        synchronized (this) {
+            runningJobs.remove(queuedJob.trainingJob.getModelId());
+            reservedMemoryInKB -= queuedJob.memoryInKB;
+            if (queuedJob.trainingJob.getModel().getModelMetadata().getState() == ModelState.CREATED) {
+                final long elapsedMillis = System.currentTimeMillis() - queuedJob.startTimeMillis;
+                final double observed = (double) elapsedMillis / Math.max(1, queuedJob.memoryInKB);
+                millisPerKB = Double.isNaN(millisPerKB)
+                    ? observed
+                    : TRAINING_TIME_SMOOTHING * observed + (1 - TRAINING_TIME_SMOOTHING) * millisPerKB;
+            }
+        }
+        jobCount.decrementAndGet();
+        dispatch();
+    }
+
     private void serializeModel(TrainingJob trainingJob, ActionListener<IndexResponse> listener, boolean update) throws IOException,
         ExecutionException, InterruptedException {
         if (update) {
@@ -180,9 +265,94 @@ public class TrainingJobRunner {
     /**
      * Get all jobs in the runner.
      *
-     * @return number of running jobs.
+     * @return number of queued and running jobs.
      */
     public int getJobCount() {
         return jobCount.get();
     }
+
+    /**
+     * Get the maximum number of jobs the runner accepts, running or queued.
+     *
+     * @return job capacity of the node
+     */
+    public int getJobCapacity() {
+        return KNNSettings.getTrainingMaxConcurrentJobs() + KNNSettings.getTrainingQueueMaxSize();
+    }
+
+    /**
+     * Get the native memory left to training jobs, which is the memory of the cache that is neither used by graphs
+     * nor reserved by running jobs.
+     *
+     * @return available memory in kilobytes
+     */
+    public synchronized long getAvailableMemoryInKB() {
+        final NativeMemoryCacheManager nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
+        final long trainingSizeInKB = nativeMemoryCacheManager.getTrainingSizeInKilobytes();
+        final long indicesSizeInKB = nativeMemoryCacheManager.getCacheSizeInKilobytes() - trainingSizeInKB;
+        return Math.max(0, nativeMemoryCacheManager.getMaxCacheSizeInKilobytes() - indicesSizeInKB - reservedMemoryInKB);
+    }
+
+    /**
+     * Get the status of the queued and running jobs. Completion times are estimated by replaying the queue on the
+     * training threads with the training time per kilobyte of the jobs completed so far.
+     *
+     * @return status of each job by model id
+     */
+    public synchronized Map<String, TrainingJobStatus> getJobStatuses() {
+        final long now = System.currentTimeMillis();
+        final Map<String, TrainingJobStatus> statuses = new HashMap<>();
+        // Estimated times at which each training thread is free
+        final PriorityQueue<Long> freeThreadTimes = new PriorityQueue<>();
+        for (QueuedJob runningJob : runningJobs.values()) {
+            final long completionTime = estimateCompletionTime(runningJob, runningJob.startTimeMillis, now);
+            freeThreadTimes.add(completionTime);
+            statuses.put(
+                runningJob.trainingJob.getModelId(),
+                new TrainingJobStatus(TrainingJobStatus.State.RUNNING, 0, runningJob.priority, completionTime)
+            );
+        }
+        while (freeThreadTimes.size() < KNNSettings.getTrainingMaxConcurrentJobs()) {
+            freeThreadTimes.add(now);
+        }
+
+        final List<QueuedJob> queuedJobs = new ArrayList<>(queue);
+        queuedJobs.sort(QUEUE_ORDER);
+        for (int i = 0; i < queuedJobs.size(); i++) {
+            final QueuedJob queuedJob = queuedJobs.get(i);
+            final long startTime = freeThreadTimes.poll();
+            final long completionTime = startTime < 0 ? -1 : estimateCompletionTime(queuedJob, startTime, now);
+            freeThreadTimes.add(completionTime);
+            statuses.put(
+                queuedJob.trainingJob.getModelId(),
+                new TrainingJobStatus(TrainingJobStatus.State.QUEUED, i + 1, queuedJob.priority, completionTime)
+            );
+        }
+        return statuses;
+    }
+
+    /**
+     * @return estimated epoch millis at which a job completes, or -1 if there is no training time to estimate it from
+     */
+    private long estimateCompletionTime(QueuedJob queuedJob, long startTimeMillis, long now) {
+        if (Double.isNaN(millisPerKB)) {
+            return -1;
+        }
+        return Math.max(now, startTimeMillis + (long) (queuedJob.memoryInKB * millisPerKB));
+    }
+
+    private static final class QueuedJob {
+        private final TrainingJob trainingJob;
+        private final int priority;
+        private final long submission;
+        private final long memoryInKB;
+        private long startTimeMillis;
+
+        private QueuedJob(TrainingJob trainingJob, int priority, long submission) {
+            this.trainingJob = trainingJob;
+            this.priority = priority;
+            this.submission = submission;
+            this.memoryInKB = trainingJob.getEstimatedMemoryInKB();
+        }
+    }
 }
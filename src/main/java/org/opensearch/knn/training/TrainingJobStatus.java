@@ -0,0 +1,96 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_ESTIMATED_COMPLETION_TIME;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_FIELD_NAME;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_PRIORITY;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_QUEUE_POSITION;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_STATUS;
+
+/**
+ * Status of a training job on the node it was routed to: either waiting in the training queue of the node, or running.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TrainingJobStatus implements Writeable, ToXContentFragment {
+
+    /**
+     * States of a training job on its node
+     */
+    public enum State {
+        QUEUED("queued"),
+        RUNNING("running");
+
+        private final String name;
+
+        State(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final State state;
+    // 1 for the next job to start, 0 once the job runs
+    private final int queuePosition;
+    private final int priority;
+    // Estimated epoch millis at which the job completes, -1 until the node has completed a job to estimate it from
+    private final long estimatedCompletionTimeMillis;
+
+    /**
+     * Constructor from stream
+     *
+     * @param in input stream
+     * @throws IOException thrown when reading from stream fails
+     */
+    public TrainingJobStatus(StreamInput in) throws IOException {
+        this.state = in.readEnum(State.class);
+        this.queuePosition = in.readVInt();
+        this.priority = in.readInt();
+        this.estimatedCompletionTimeMillis = in.readLong();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeEnum(state);
+        out.writeVInt(queuePosition);
+        out.writeInt(priority);
+        out.writeLong(estimatedCompletionTimeMillis);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(TRAINING_JOB_FIELD_NAME);
+        builder.field(TRAINING_JOB_STATUS, state.getName());
+        builder.field(TRAINING_JOB_QUEUE_POSITION, queuePosition);
+        builder.field(TRAINING_JOB_PRIORITY, priority);
+        if (estimatedCompletionTimeMillis >= 0) {
+            builder.field(
+                TRAINING_JOB_ESTIMATED_COMPLETION_TIME,
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(estimatedCompletionTimeMillis), ZoneOffset.UTC).toString()
+            );
+        }
+        return builder.endObject();
+    }
+}
@@ -23,9 +23,14 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.ValidationException;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleAction;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleRequest;
+import org.opensearch.knn.plugin.transport.TrainingDataSampleResponse;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.sort.SortOrder;
+import org.opensearch.threadpool.ThreadPool;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -56,7 +61,8 @@ public class VectorReader {
      * @param maxVectorCount maximum number of vectors to return
      * @param searchSize maximum number of vectors to return in a given search
      * @param vectorConsumer consumer used to do something with the collected vectors after each search
-     * @param listener ActionListener that should be called once all search operations complete
+     * @param listener ActionListener that should be called once all search operations complete, with a null response
+     *                 when the vectors were read from the shards
      */
     public <T> void read(
         ClusterService clusterService,
@@ -67,6 +73,33 @@ public class VectorReader {
         TrainingDataConsumer vectorConsumer,
         ActionListener<SearchResponse> listener
     ) {
+        read(clusterService, indexName, fieldName, maxVectorCount, searchSize, TrainingDataSampling.DEFAULT, vectorConsumer, listener);
+    }
+
+    /**
+     * Read a sample of the vectors of a provided index/field and pass them to vectorConsumer that will do something
+     * with them. Clusters with nodes that cannot read vectors from shards always read the first vectors.
+     *
+     * @param clusterService cluster service to get information about the index
+     * @param indexName name of index containing vectors
+     * @param fieldName name of field containing vectors
+     * @param maxVectorCount maximum number of vectors to return
+     * @param searchSize maximum number of vectors to return in a given search
+     * @param sampling how to sample the vectors
+     * @param vectorConsumer consumer used to do something with the collected vectors after each search
+     * @param listener ActionListener that should be called once all search operations complete, with a null response
+     *                 when the vectors were read from the shards
+     */
+    public <T> void read(
+        ClusterService clusterService,
+        String indexName,
+        String fieldName,
+        int maxVectorCount,
+        int searchSize,
+        TrainingDataSampling sampling,
+        TrainingDataConsumer vectorConsumer,
+        ActionListener<SearchResponse> listener
+    ) {
 
         ValidationException validationException = null;
 
@@ -98,6 +131,25 @@ public class VectorReader {
             throw validationException;
         }
 
+        // Read the vectors from the shards when every node can serve them, which avoids parsing sources
+        if (IndexUtil.isClusterOnOrAfterMinRequiredVersion(KNNConstants.TRAINING_DATA_SHARD_SAMPLING_KEY)) {
+            new ShardVectorReaderListener(
+                client,
+                indexName,
+                indexMetadata.getNumberOfShards(),
+                fieldName,
+                maxVectorCount,
+                searchSize,
+                sampling,
+                listener,
+                vectorConsumer
+            ).start();
+            return;
+        }
+        if (sampling.getStrategy() != TrainingDataSampling.Strategy.FIRST) {
+            logger.warn("Reading the first vectors of index {} for training, sampling needs all nodes on the same version", indexName);
+        }
+
         // Start reading vectors from index
         SearchScrollRequestBuilder searchScrollRequestBuilder = createSearchScrollRequestBuilder();
 
@@ -135,6 +187,161 @@ public class VectorReader {
         return searchScrollRequestBuilder;
     }
 
+    /**
+     * Reads the vectors of the shards of an index one shard after the other, through blocks of at most searchSize
+     * vectors that are added to the consumer as they arrive. Unless the first vectors are read, the vectors of each
+     * shard and stratum are counted first, along with their smallest sampling keys, which are merged into sampling
+     * thresholds on a generic thread, so that each shard only returns the vectors that are sampled from it. All
+     * requests of a shard continue with the reader of its first request, the readers of the shards that wait for their
+     * turn are renewed with each request, and the readers of the shards that are not read to the end are released. The
+     * listener gets a null response once maxVectorCount vectors are read or all shards are exhausted.
+     */
+    private static class ShardVectorReaderListener implements ActionListener<TrainingDataSampleResponse> {
+
+        final Client client;
+        final String indexName;
+        final int numberOfShards;
+        final String fieldName;
+        final int maxVectorCount;
+        final int searchSize;
+        final TrainingDataSampling sampling;
+        final ActionListener<SearchResponse> listener;
+        final TrainingDataConsumer vectorConsumer;
+        // Number of vectors of each stratum of each shard, filled shard after shard before sampling
+        final List<Map<String, Integer>> shardStratumCounts = new ArrayList<>();
+        // Smallest sampling keys of each stratum of each shard, filled along with the counts
+        final List<Map<String, long[]>> shardSmallestKeys = new ArrayList<>();
+        // Largest sampling key of each stratum of each shard, null when the first vectors are read
+        List<Map<String, Long>> thresholds;
+        int shardId;
+        // Reader of each shard, set by its count or its first block, null once the shard is exhausted
+        final TrainingDataReaders readers;
+
+        /**
+         * Constructor
+         *
+         * @param client used to send the shard requests
+         * @param indexName name of index to read vectors from
+         * @param numberOfShards number of shards of the index
+         * @param fieldName name of field to read vectors from
+         * @param maxVectorCount maximum total number of vectors that should be read
+         * @param searchSize maximum number of vectors to read per request
+         * @param sampling how to sample the vectors
+         * @param listener listener to be called when all vectors are read
+         * @param vectorConsumer Consumer used to do something with the vectors
+         */
+        ShardVectorReaderListener(
+            Client client,
+            String indexName,
+            int numberOfShards,
+            String fieldName,
+            int maxVectorCount,
+            int searchSize,
+            TrainingDataSampling sampling,
+            ActionListener<SearchResponse> listener,
+            TrainingDataConsumer vectorConsumer
+        ) {
+            this.client = client;
+            this.indexName = indexName;
+            this.numberOfShards = numberOfShards;
+            this.fieldName = fieldName;
+            this.maxVectorCount = maxVectorCount;
+            this.searchSize = searchSize;
+            this.sampling = sampling;
+            this.listener = listener;
+            this.vectorConsumer = vectorConsumer;
+            this.readers = new TrainingDataReaders(client, indexName, fieldName, numberOfShards);
+        }
+
+        void start() {
+            if (sampling.getStrategy() == TrainingDataSampling.Strategy.FIRST) {
+                readNextBlock();
+            } else {
+                countNextShard();
+            }
+        }
+
+        void countNextShard() {
+            final int shardToCount = shardStratumCounts.size();
+            if (shardToCount == numberOfShards) {
+                // Merging the keys of all shards takes too long for the thread of the last count response
+                client.threadPool().executor(ThreadPool.Names.GENERIC).execute(() -> {
+                    try {
+                        thresholds = TrainingDataSampler.computeThresholds(sampling, shardStratumCounts, shardSmallestKeys, maxVectorCount);
+                    } catch (Exception e) {
+                        onFailure(e);
+                        return;
+                    }
+                    readNextBlock();
+                });
+                return;
+            }
+            final TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+                indexName,
+                shardToCount,
+                fieldName,
+                vectorConsumer.getVectorDataType(),
+                null,
+                maxVectorCount,
+                sampling.getStratifyField(),
+                sampling.getSeed(),
+                true,
+                null
+            );
+            readers.renewIdle();
+            client.execute(TrainingDataSampleAction.INSTANCE, request, ActionListener.wrap(response -> {
+                readers.set(shardToCount, response.getReaderId());
+                shardStratumCounts.add(response.getStratumCounts());
+                shardSmallestKeys.add(response.getSmallestKeys());
+                countNextShard();
+            }, this::onFailure));
+        }
+
+        void readNextBlock() {
+            final int remaining = maxVectorCount - vectorConsumer.getTotalVectorsCountAdded();
+            if (remaining <= 0 || shardId >= numberOfShards) {
+                readers.release();
+                listener.onResponse(null);
+                return;
+            }
+            final TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+                indexName,
+                shardId,
+                fieldName,
+                vectorConsumer.getVectorDataType(),
+                readers.get(shardId),
+                Integer.min(remaining, searchSize),
+                sampling.getStratifyField(),
+                sampling.getSeed(),
+                false,
+                thresholds == null ? null : thresholds.get(shardId)
+            );
+            readers.renewIdle();
+            client.execute(TrainingDataSampleAction.INSTANCE, request, this);
+        }
+
+        @Override
+        public void onResponse(TrainingDataSampleResponse response) {
+            readers.set(shardId, response.getReaderId());
+            try {
+                vectorConsumer.processTrainingVectors(response.getVectors(), response.getNumVectors(), response.getVectorLength());
+            } catch (Exception e) {
+                onFailure(e);
+                return;
+            }
+            if (response.isExhausted()) {
+                shardId++;
+            }
+            readNextBlock();
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            readers.release();
+            listener.onFailure(e);
+        }
+    }
+
     private static class VectorReaderListener<T> implements ActionListener<SearchResponse> {
 
         final Client client;
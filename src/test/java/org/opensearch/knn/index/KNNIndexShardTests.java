@@ -13,8 +13,11 @@ import org.opensearch.index.IndexService;
 import org.opensearch.index.engine.Engine;
 import org.opensearch.index.shard.IndexShard;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryWarmSet;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -96,6 +99,35 @@ public class KNNIndexShardTests extends KNNSingleNodeTestCase {
         assertEquals(2, NativeMemoryCacheManager.getInstance().getIndicesCacheStats().get(testIndexName).get(GRAPH_COUNT));
     }
 
+    public void testPreloadWarmSet() throws InterruptedException, ExecutionException, IOException {
+        IndexService indexService = createKNNIndex(testIndexName);
+        createKnnIndexMapping(testIndexName, testFieldName, dimensions);
+        addKnnDoc(testIndexName, "1", testFieldName, new Float[] { 2.5F, 3.5F });
+        client().admin().indices().prepareFlush(testIndexName).execute().get();
+
+        IndexShard indexShard = indexService.iterator().next();
+        KNNIndexShard knnIndexShard = new KNNIndexShard(indexShard);
+        String indexPath;
+        try (Engine.Searcher searcher = indexShard.acquireSearcher("test-warm-set")) {
+            indexPath = knnIndexShard.getAllEngineFileContexts(searcher.getIndexReader()).get(0).getIndexPath();
+        }
+
+        Path directory = createTempDir();
+        Files.write(
+            directory.resolve("knn_warm_set"),
+            List.of("# knn warm set v1", "10\t1\t" + indexPath, "5\t1\t/missing/_0_165_test-field.hnsw"),
+            StandardCharsets.UTF_8
+        );
+        NativeMemoryWarmSet.initialize(directory);
+        NativeMemoryWarmSet warmSet = NativeMemoryWarmSet.getInstance();
+
+        assertEquals(1, knnIndexShard.preloadWarmSet(warmSet, Long.MAX_VALUE));
+        assertEquals(1, NativeMemoryCacheManager.getInstance().getIndicesCacheStats().get(testIndexName).get(GRAPH_COUNT));
+        // Entries are only preloaded once
+        assertEquals(0, knnIndexShard.preloadWarmSet(warmSet, Long.MAX_VALUE));
+        assertTrue(warmSet.hasPendingEntries());
+    }
+
     public void testGetAllEngineFileContexts() throws IOException, ExecutionException, InterruptedException {
         IndexService indexService = createKNNIndex(testIndexName);
         createKnnIndexMapping(testIndexName, testFieldName, dimensions);
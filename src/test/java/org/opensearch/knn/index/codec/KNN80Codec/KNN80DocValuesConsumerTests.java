@@ -18,13 +18,16 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.IOContext;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.mockito.MockedStatic;
 import org.opensearch.Version;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.knn.KNNTestCase;
 import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.vectorvalues.TestVectorValues;
@@ -46,13 +49,18 @@ import org.opensearch.knn.plugin.stats.KNNCounter;
 import org.opensearch.knn.plugin.stats.KNNGraphValue;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -369,6 +377,127 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
     }
 
+    public void testAddKNNBinaryField_whenStreamingGraphBuild_thenAddedInBatches() throws IOException {
+        String segmentName = String.format("test_segment%s", randomAlphaOfLength(4));
+        int docsInSegment = 100;
+        int docsPerBatch = 10;
+        String fieldName = String.format("test_field%s", randomAlphaOfLength(4));
+
+        KNNEngine knnEngine = KNNEngine.FAISS;
+        SpaceType spaceType = SpaceType.L2;
+        int dimension = 16;
+
+        SegmentInfo segmentInfo = KNNCodecTestUtil.segmentInfoBuilder()
+            .directory(directory)
+            .segmentName(segmentName)
+            .docsInSegment(docsInSegment)
+            .codec(codec)
+            .build();
+
+        KNNMethodContext knnMethodContext = new KNNMethodContext(
+            knnEngine,
+            spaceType,
+            new MethodComponentContext(METHOD_HNSW, ImmutableMap.of(METHOD_PARAMETER_M, 16, METHOD_PARAMETER_EF_CONSTRUCTION, 512))
+        );
+        knnMethodContext.getMethodComponentContext().setIndexVersion(Version.CURRENT);
+        String parameterString = XContentFactory.jsonBuilder().map(knnEngine.getMethodAsMap(knnMethodContext)).toString();
+
+        FieldInfo[] fieldInfoArray = new FieldInfo[] {
+            KNNCodecTestUtil.FieldInfoBuilder.builder(fieldName)
+                .addAttribute(KNNVectorFieldMapper.KNN_FIELD, "true")
+                .addAttribute(KNNConstants.KNN_ENGINE, knnEngine.getName())
+                .addAttribute(KNNConstants.SPACE_TYPE, spaceType.getValue())
+                .addAttribute(KNNConstants.DIMENSION, String.valueOf(dimension))
+                .addAttribute(KNNConstants.PARAMETERS, parameterString)
+                .build() };
+
+        FieldInfos fieldInfos = new FieldInfos(fieldInfoArray);
+        SegmentWriteState state = new SegmentWriteState(null, directory, segmentInfo, fieldInfos, null, IOContext.DEFAULT);
+
+        KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(null, state);
+        TestVectorValues.RandomVectorDocValuesProducer randomVectorDocValuesProducer = new TestVectorValues.RandomVectorDocValuesProducer(
+            docsInSegment,
+            dimension
+        );
+        try (
+            MockedStatic<KNNSettings> knnSettingsMockedStatic = mockStatic(KNNSettings.class, CALLS_REAL_METHODS);
+            MockedStatic<JNIService> jniServiceMockedStatic = mockStatic(JNIService.class, CALLS_REAL_METHODS)
+        ) {
+            knnSettingsMockedStatic.when(KNNSettings::isStreamingGraphBuildEnabled).thenReturn(true);
+            knnSettingsMockedStatic.when(KNNSettings::getVectorStreamingMemoryLimit)
+                .thenReturn(new ByteSizeValue((long) docsPerBatch * dimension * Float.BYTES));
+            knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, false, true);
+
+            // The vectors are added to one index in batches instead of being copied to native memory all at once
+            jniServiceMockedStatic.verify(() -> JNIService.initIndex(eq(dimension), any(), eq(knnEngine)), times(1));
+            jniServiceMockedStatic.verify(
+                () -> JNIService.insertToIndex(any(), anyLong(), eq(dimension), anyLong(), anyInt(), any(), eq(knnEngine)),
+                times(docsInSegment / docsPerBatch)
+            );
+            jniServiceMockedStatic.verify(() -> JNIService.createIndex(any(), anyLong(), anyInt(), any(), any(), any()), never());
+        }
+
+        String expectedFile = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
+        assertFileInCorrectLocation(state, expectedFile);
+        assertValidFooter(state.directory, expectedFile);
+        assertLoadableByEngine(HNSW_METHODPARAMETERS, state, expectedFile, knnEngine, spaceType, dimension);
+    }
+
+    public void testAddKNNBinaryField_whenSegmentBelowGraphBuildMinimum_thenNoEngineFile() throws IOException {
+        String segmentName = String.format("test_segment%s", randomAlphaOfLength(4));
+        int docsInSegment = 100;
+        String fieldName = String.format("test_field%s", randomAlphaOfLength(4));
+
+        KNNEngine knnEngine = KNNEngine.FAISS;
+        SpaceType spaceType = SpaceType.L2;
+        int dimension = 16;
+
+        SegmentInfo segmentInfo = KNNCodecTestUtil.segmentInfoBuilder()
+            .directory(directory)
+            .segmentName(segmentName)
+            .docsInSegment(docsInSegment)
+            .codec(codec)
+            .build();
+
+        KNNMethodContext knnMethodContext = new KNNMethodContext(
+            knnEngine,
+            spaceType,
+            new MethodComponentContext(METHOD_HNSW, ImmutableMap.of(METHOD_PARAMETER_M, 16, METHOD_PARAMETER_EF_CONSTRUCTION, 512))
+        );
+        knnMethodContext.getMethodComponentContext().setIndexVersion(Version.CURRENT);
+        String parameterString = XContentFactory.jsonBuilder().map(knnEngine.getMethodAsMap(knnMethodContext)).toString();
+
+        FieldInfo[] fieldInfoArray = new FieldInfo[] {
+            KNNCodecTestUtil.FieldInfoBuilder.builder(fieldName)
+                .addAttribute(KNNVectorFieldMapper.KNN_FIELD, "true")
+                .addAttribute(KNNConstants.KNN_ENGINE, knnEngine.getName())
+                .addAttribute(KNNConstants.SPACE_TYPE, spaceType.getValue())
+                .addAttribute(KNNConstants.PARAMETERS, parameterString)
+                .build() };
+
+        FieldInfos fieldInfos = new FieldInfos(fieldInfoArray);
+        SegmentWriteState state = new SegmentWriteState(null, directory, segmentInfo, fieldInfos, null, IOContext.DEFAULT);
+
+        long initialGraphIndexRequests = KNNCounter.GRAPH_INDEX_REQUESTS.getCount();
+        long initialRefreshOperations = KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue();
+
+        KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(null, state);
+        TestVectorValues.RandomVectorDocValuesProducer randomVectorDocValuesProducer = new TestVectorValues.RandomVectorDocValuesProducer(
+            docsInSegment,
+            dimension
+        );
+        try (MockedStatic<KNNSettings> knnSettingsMockedStatic = mockStatic(KNNSettings.class, CALLS_REAL_METHODS)) {
+            knnSettingsMockedStatic.when(KNNSettings::getGraphBuildMinSegmentDocs).thenReturn(docsInSegment + 1);
+            knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, false, true);
+        }
+
+        // The segment is searched exactly until it is merged into a larger one
+        String engineFileName = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
+        assertFalse(Arrays.asList(directory.listAll()).contains(engineFileName));
+        assertEquals(initialGraphIndexRequests, (long) KNNCounter.GRAPH_INDEX_REQUESTS.getCount());
+        assertEquals(initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
+    }
+
     public void testAddKNNBinaryField_whenFaissBinary_thenAdded() throws IOException {
         String segmentName = String.format("test_segment%s", randomAlphaOfLength(4));
         int docsInSegment = 100;
@@ -28,6 +28,11 @@ public class KNN990CodecTests extends KNNCodecTestCase {
         testBuildFromModelTemplate((KNN990Codec.builder().delegate(V_9_9_0.getDefaultCodecDelegate()).build()));
     }
 
+    @SneakyThrows
+    public void testMergeWithGraphReuse() {
+        testMergeWithGraphReuse(KNN990Codec.builder().delegate(V_9_9_0.getDefaultCodecDelegate()).build());
+    }
+
     // Ensure that the codec is able to return the correct per field knn vectors format for codec
     public void testCodecSetsCustomPerFieldKnnVectorsFormat() {
         final Codec codec = new KNN990Codec();
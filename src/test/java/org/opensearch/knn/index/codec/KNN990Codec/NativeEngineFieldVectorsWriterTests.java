@@ -15,11 +15,20 @@ import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.VectorEncoding;
 import org.apache.lucene.util.InfoStream;
 import org.junit.Assert;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.opensearch.knn.index.codec.KNNCodecTestCase;
+import org.opensearch.knn.jni.JNICommons;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 
 public class NativeEngineFieldVectorsWriterTests extends KNNCodecTestCase {
 
+    private static final long VECTORS_ADDRESS = 100;
+
     @SuppressWarnings("unchecked")
     public void testCreate_ForDifferentInputs_thenSuccess() {
         final FieldInfo fieldInfo = Mockito.mock(FieldInfo.class);
@@ -42,30 +51,44 @@ public class NativeEngineFieldVectorsWriterTests extends KNNCodecTestCase {
 
     @SuppressWarnings("unchecked")
     public void testAddValue_ForDifferentInputs_thenSuccess() {
-        final FieldInfo fieldInfo = Mockito.mock(FieldInfo.class);
-        Mockito.when(fieldInfo.getVectorEncoding()).thenReturn(VectorEncoding.FLOAT32);
-        final NativeEngineFieldVectorsWriter<float[]> floatWriter = (NativeEngineFieldVectorsWriter<float[]>) NativeEngineFieldVectorsWriter
-            .create(fieldInfo, InfoStream.getDefault());
-        final float[] vec1 = new float[] { 1.0f, 2.0f };
-        final float[] vec2 = new float[] { 2.0f, 2.0f };
-        floatWriter.addValue(1, vec1);
-        floatWriter.addValue(2, vec2);
+        try (MockedStatic<JNICommons> jniCommons = Mockito.mockStatic(JNICommons.class)) {
+            jniCommons.when(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong())).thenReturn(VECTORS_ADDRESS);
+            jniCommons.when(() -> JNICommons.storeByteVectorData(anyLong(), any(byte[][].class), anyLong()))
+                .thenReturn(VECTORS_ADDRESS);
 
-        Assert.assertEquals(vec1, floatWriter.getVectors().get(1));
-        Assert.assertEquals(vec2, floatWriter.getVectors().get(2));
-        Mockito.verify(fieldInfo).getVectorEncoding();
+            final FieldInfo fieldInfo = Mockito.mock(FieldInfo.class);
+            Mockito.when(fieldInfo.getVectorEncoding()).thenReturn(VectorEncoding.FLOAT32);
+            final NativeEngineFieldVectorsWriter<float[]> floatWriter =
+                (NativeEngineFieldVectorsWriter<float[]>) NativeEngineFieldVectorsWriter.create(fieldInfo, InfoStream.getDefault());
+            final float[] vec1 = new float[] { 1.0f, 2.0f };
+            final float[] vec2 = new float[] { 2.0f, 2.0f };
+            floatWriter.addValue(1, vec1);
+            floatWriter.addValue(2, vec2);
 
-        Mockito.when(fieldInfo.getVectorEncoding()).thenReturn(VectorEncoding.BYTE);
-        final NativeEngineFieldVectorsWriter<byte[]> byteWriter = (NativeEngineFieldVectorsWriter<byte[]>) NativeEngineFieldVectorsWriter
-            .create(fieldInfo, InfoStream.getDefault());
-        final byte[] bvec1 = new byte[] { 1, 2 };
-        final byte[] bvec2 = new byte[] { 2, 2 };
-        byteWriter.addValue(1, bvec1);
-        byteWriter.addValue(2, bvec2);
+            Assert.assertEquals(0, floatWriter.getVectors().getOrdinal(1));
+            Assert.assertEquals(1, floatWriter.getVectors().getOrdinal(2));
+            Assert.assertEquals(VECTORS_ADDRESS, floatWriter.getVectors().getVectorsAddress());
+            final ArgumentCaptor<float[][]> floatVectors = ArgumentCaptor.forClass(float[][].class);
+            jniCommons.verify(() -> JNICommons.storeVectorData(eq(0L), floatVectors.capture(), anyLong()));
+            Assert.assertArrayEquals(new float[][] { vec1, vec2 }, floatVectors.getValue());
+            Mockito.verify(fieldInfo).getVectorEncoding();
 
-        Assert.assertEquals(bvec1, byteWriter.getVectors().get(1));
-        Assert.assertEquals(bvec2, byteWriter.getVectors().get(2));
-        Mockito.verify(fieldInfo, Mockito.times(2)).getVectorEncoding();
+            Mockito.when(fieldInfo.getVectorEncoding()).thenReturn(VectorEncoding.BYTE);
+            final NativeEngineFieldVectorsWriter<byte[]> byteWriter =
+                (NativeEngineFieldVectorsWriter<byte[]>) NativeEngineFieldVectorsWriter.create(fieldInfo, InfoStream.getDefault());
+            final byte[] bvec1 = new byte[] { 1, 2 };
+            final byte[] bvec2 = new byte[] { 2, 2 };
+            byteWriter.addValue(1, bvec1);
+            byteWriter.addValue(2, bvec2);
+
+            Assert.assertEquals(0, byteWriter.getVectors().getOrdinal(1));
+            Assert.assertEquals(1, byteWriter.getVectors().getOrdinal(2));
+            Assert.assertEquals(VECTORS_ADDRESS, byteWriter.getVectors().getVectorsAddress());
+            final ArgumentCaptor<byte[][]> byteVectors = ArgumentCaptor.forClass(byte[][].class);
+            jniCommons.verify(() -> JNICommons.storeByteVectorData(eq(0L), byteVectors.capture(), anyLong()));
+            Assert.assertArrayEquals(new byte[][] { bvec1, bvec2 }, byteVectors.getValue());
+            Mockito.verify(fieldInfo, Mockito.times(2)).getVectorEncoding();
+        }
     }
 
     @SuppressWarnings("unchecked")
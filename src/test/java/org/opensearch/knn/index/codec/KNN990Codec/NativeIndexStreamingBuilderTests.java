@@ -0,0 +1,136 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN990Codec;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.jni.JNICommons;
+import org.opensearch.knn.jni.JNIService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+public class NativeIndexStreamingBuilderTests extends KNNTestCase {
+
+    private static final long INDEX_ADDRESS = 100;
+    private static final long VECTORS_ADDRESS = 200;
+    private static final int DIMENSION = 2;
+    private static final String INDEX_PATH = "/tmp/_0_165_field.faiss";
+    private static final Map<String, Object> PARAMETERS = Map.of(
+        KNNConstants.SPACE_TYPE,
+        SpaceType.L2.getValue(),
+        KNNConstants.INDEX_DESCRIPTION_PARAMETER,
+        "HNSW16,Flat",
+        KNNConstants.INDEX_THREAD_QTY,
+        1
+    );
+
+    public void testAddVector_whenBatchFull_thenVectorsInsertedInBatches() {
+        try (
+            MockedStatic<JNIService> jniService = mockStatic(JNIService.class);
+            MockedStatic<JNICommons> jniCommons = mockStatic(JNICommons.class)
+        ) {
+            jniService.when(() -> JNIService.initIndex(DIMENSION, PARAMETERS, KNNEngine.FAISS)).thenReturn(INDEX_ADDRESS);
+            jniCommons.when(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong())).thenReturn(VECTORS_ADDRESS);
+
+            final NativeIndexStreamingBuilder<float[]> builder = new NativeIndexStreamingBuilder<>(
+                KNNEngine.FAISS,
+                PARAMETERS,
+                DIMENSION,
+                2,
+                new float[2][]
+            );
+            for (int docId = 0; docId < 5; docId++) {
+                builder.addVector(docId, new float[] { docId, docId });
+            }
+            // The last vector waits for its batch to fill up
+            assertEquals(4, builder.getNumVectors());
+            jniService.verify(() -> JNIService.initIndex(DIMENSION, PARAMETERS, KNNEngine.FAISS), times(1));
+            jniCommons.verify(() -> JNICommons.storeVectorData(eq(0L), any(float[][].class), eq(4L)), times(1));
+            jniCommons.verify(() -> JNICommons.storeVectorData(eq(VECTORS_ADDRESS), any(float[][].class), eq(4L)), times(1));
+
+            builder.write(INDEX_PATH);
+
+            assertEquals(5, builder.getNumVectors());
+            final ArgumentCaptor<int[]> docIds = ArgumentCaptor.forClass(int[].class);
+            jniService.verify(
+                () -> JNIService.insertToIndex(
+                    docIds.capture(),
+                    eq(VECTORS_ADDRESS),
+                    eq(DIMENSION),
+                    eq(INDEX_ADDRESS),
+                    eq(1),
+                    eq(PARAMETERS),
+                    eq(KNNEngine.FAISS)
+                ),
+                times(3)
+            );
+            final List<int[]> batches = docIds.getAllValues();
+            assertArrayEquals(new int[] { 0, 1 }, batches.get(0));
+            assertArrayEquals(new int[] { 2, 3 }, batches.get(1));
+            assertArrayEquals(new int[] { 4 }, batches.get(2));
+            jniService.verify(() -> JNIService.writeIndex(INDEX_ADDRESS, INDEX_PATH, PARAMETERS, KNNEngine.FAISS), times(1));
+            jniCommons.verify(() -> JNICommons.freeVectorData(VECTORS_ADDRESS), times(1));
+
+            // The index was freed when it was written
+            builder.close();
+            jniService.verify(() -> JNIService.free(anyLong(), any(KNNEngine.class), anyBoolean()), never());
+        }
+    }
+
+    public void testClose_whenNotWritten_thenNativeMemoryFreed() {
+        try (
+            MockedStatic<JNIService> jniService = mockStatic(JNIService.class);
+            MockedStatic<JNICommons> jniCommons = mockStatic(JNICommons.class)
+        ) {
+            jniService.when(() -> JNIService.initIndex(anyInt(), anyMap(), any(KNNEngine.class))).thenReturn(INDEX_ADDRESS);
+            jniCommons.when(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong())).thenReturn(VECTORS_ADDRESS);
+
+            final NativeIndexStreamingBuilder<float[]> builder = new NativeIndexStreamingBuilder<>(
+                KNNEngine.FAISS,
+                PARAMETERS,
+                DIMENSION,
+                1,
+                new float[1][]
+            );
+            builder.addVector(0, new float[] { 1, 2 });
+            builder.close();
+
+            jniService.verify(() -> JNIService.free(INDEX_ADDRESS, KNNEngine.FAISS, false), times(1));
+            jniCommons.verify(() -> JNICommons.freeVectorData(VECTORS_ADDRESS), times(1));
+            jniService.verify(() -> JNIService.writeIndex(anyLong(), any(), anyMap(), any(KNNEngine.class)), never());
+        }
+    }
+
+    public void testWrite_whenNoVectors_thenException() {
+        try (MockedStatic<JNIService> jniService = mockStatic(JNIService.class)) {
+            final NativeIndexStreamingBuilder<float[]> builder = new NativeIndexStreamingBuilder<>(
+                KNNEngine.FAISS,
+                PARAMETERS,
+                DIMENSION,
+                1,
+                new float[1][]
+            );
+
+            expectThrows(IllegalStateException.class, () -> builder.write(INDEX_PATH));
+            jniService.verify(() -> JNIService.initIndex(anyInt(), anyMap(), any(KNNEngine.class)), never());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN990Codec;
+
+import org.apache.lucene.index.VectorEncoding;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.jni.JNICommons;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+public class OffHeapVectorsBufferTests extends KNNTestCase {
+
+    private static final long VECTORS_ADDRESS = 100;
+    private static final int DIMENSION = 2;
+
+    @SuppressWarnings("unchecked")
+    public void testAdd_whenChunkFull_thenVectorsCopiedToNativeMemory() {
+        try (MockedStatic<JNICommons> jniCommons = mockStatic(JNICommons.class)) {
+            jniCommons.when(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong())).thenReturn(VECTORS_ADDRESS);
+
+            final OffHeapVectorsBuffer<float[]> buffer = (OffHeapVectorsBuffer<float[]>) OffHeapVectorsBuffer.create(
+                VectorEncoding.FLOAT32,
+                DIMENSION,
+                2
+            );
+            final long emptyRamBytesUsed = buffer.ramBytesUsed();
+            final float[][] vectors = { { 1, 2 }, { 3, 4 }, { 5, 6 } };
+            buffer.add(3, vectors[0]);
+            jniCommons.verify(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong()), never());
+            buffer.add(7, vectors[1]);
+            buffer.add(8, vectors[2]);
+            assertTrue(buffer.ramBytesUsed() > emptyRamBytesUsed);
+
+            // The last vector is copied when the address is requested
+            assertEquals(VECTORS_ADDRESS, buffer.getVectorsAddress());
+            final ArgumentCaptor<float[][]> chunks = ArgumentCaptor.forClass(float[][].class);
+            jniCommons.verify(() -> JNICommons.storeVectorData(eq(0L), chunks.capture(), eq(4L)), times(1));
+            jniCommons.verify(() -> JNICommons.storeVectorData(eq(VECTORS_ADDRESS), chunks.capture(), eq(6L)), times(1));
+            final List<float[][]> transferred = chunks.getAllValues();
+            assertArrayEquals(new float[][] { vectors[0], vectors[1] }, transferred.get(0));
+            assertArrayEquals(new float[][] { vectors[2] }, transferred.get(1));
+
+            assertEquals(3, buffer.getSize());
+            assertArrayEquals(new int[] { 3, 7, 8 }, buffer.getDocIds());
+            assertEquals(7, buffer.getDocId(1));
+            assertEquals(2, buffer.getOrdinal(8));
+            assertTrue(buffer.getOrdinal(5) < 0);
+            expectThrows(IndexOutOfBoundsException.class, () -> buffer.getDocId(3));
+
+            buffer.close();
+            buffer.close();
+            jniCommons.verify(() -> JNICommons.freeVectorData(VECTORS_ADDRESS), times(1));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testClose_whenByteVectors_thenByteVectorDataFreed() {
+        try (MockedStatic<JNICommons> jniCommons = mockStatic(JNICommons.class)) {
+            jniCommons.when(() -> JNICommons.storeByteVectorData(anyLong(), any(byte[][].class), anyLong())).thenReturn(VECTORS_ADDRESS);
+
+            final OffHeapVectorsBuffer<byte[]> buffer = (OffHeapVectorsBuffer<byte[]>) OffHeapVectorsBuffer.create(
+                VectorEncoding.BYTE,
+                DIMENSION
+            );
+            buffer.add(0, new byte[] { 1, 2 });
+            assertEquals(VECTORS_ADDRESS, buffer.getVectorsAddress());
+            buffer.close();
+
+            jniCommons.verify(() -> JNICommons.storeByteVectorData(eq(0L), any(byte[][].class), eq(2L)), times(1));
+            jniCommons.verify(() -> JNICommons.freeByteVectorData(VECTORS_ADDRESS), times(1));
+            jniCommons.verify(() -> JNICommons.freeVectorData(anyLong()), never());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testReleaseVectorsAddress_whenReleased_thenNotFreedOnClose() {
+        try (MockedStatic<JNICommons> jniCommons = mockStatic(JNICommons.class)) {
+            jniCommons.when(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong())).thenReturn(VECTORS_ADDRESS);
+
+            final OffHeapVectorsBuffer<float[]> buffer = (OffHeapVectorsBuffer<float[]>) OffHeapVectorsBuffer.create(
+                VectorEncoding.FLOAT32,
+                DIMENSION
+            );
+            buffer.add(1, new float[] { 1, 2 });
+            buffer.add(4, new float[] { 3, 4 });
+
+            // The native library takes the vectors over, the doc ids stay with the buffer
+            assertEquals(VECTORS_ADDRESS, buffer.releaseVectorsAddress());
+            assertArrayEquals(new int[] { 1, 4 }, buffer.getDocIds());
+            buffer.close();
+
+            jniCommons.verify(() -> JNICommons.storeVectorData(eq(0L), any(float[][].class), eq(4L)), times(1));
+            jniCommons.verify(() -> JNICommons.freeVectorData(anyLong()), never());
+        }
+    }
+
+    public void testClose_whenEmpty_thenNoNativeCalls() {
+        try (MockedStatic<JNICommons> jniCommons = mockStatic(JNICommons.class)) {
+            final OffHeapVectorsBuffer<?> buffer = OffHeapVectorsBuffer.create(VectorEncoding.FLOAT32, DIMENSION);
+            assertEquals(0, buffer.getVectorsAddress());
+            buffer.close();
+
+            jniCommons.verify(() -> JNICommons.storeVectorData(anyLong(), any(float[][].class), anyLong()), never());
+            jniCommons.verify(() -> JNICommons.freeVectorData(anyLong()), never());
+        }
+    }
+}
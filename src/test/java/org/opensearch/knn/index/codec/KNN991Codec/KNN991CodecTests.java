@@ -0,0 +1,132 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN991Codec;
+
+import lombok.SneakyThrows;
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.SerialMergeScheduler;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.Directory;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorField;
+import org.opensearch.knn.index.codec.KNN990Codec.KNN990Codec;
+import org.opensearch.knn.index.codec.KNN990Codec.KNN990PerFieldKnnVectorsFormat;
+import org.opensearch.knn.index.codec.KNNCodecTestCase;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.opensearch.knn.index.codec.KNNCodecVersion.V_9_9_1;
+
+public class KNN991CodecTests extends KNNCodecTestCase {
+
+    private static final String FIELD_NAME = "test_vector";
+
+    @SneakyThrows
+    public void testMultiFieldsKnnIndex() {
+        testMultiFieldsKnnIndex(KNN991Codec.builder().delegate(V_9_9_1.getDefaultCodecDelegate()).build());
+    }
+
+    @SneakyThrows
+    public void testBuildFromModelTemplate() {
+        testBuildFromModelTemplate((KNN991Codec.builder().delegate(V_9_9_1.getDefaultCodecDelegate()).build()));
+    }
+
+    // Ensure that the codec is able to return the correct per field knn vectors format for codec
+    public void testCodecSetsCustomPerFieldKnnVectorsFormat() {
+        final Codec codec = new KNN991Codec();
+        assertTrue(codec.knnVectorsFormat() instanceof KNN990PerFieldKnnVectorsFormat);
+    }
+
+    // IMPORTANT: When this Codec is moved to a backwards Codec, this test needs to be removed, because it attempts to
+    // write with a read only codec, which will fail
+    @SneakyThrows
+    public void testKnnVectorIndex() {
+        Function<MapperService, PerFieldKnnVectorsFormat> perFieldKnnVectorsFormatProvider = (
+            mapperService) -> new KNN990PerFieldKnnVectorsFormat(Optional.of(mapperService));
+
+        Function<PerFieldKnnVectorsFormat, Codec> knnCodecProvider = (knnVectorFormat) -> KNN991Codec.builder()
+            .delegate(V_9_9_1.getDefaultCodecDelegate())
+            .knnVectorsFormat(knnVectorFormat)
+            .build();
+
+        testKnnVectorIndex(knnCodecProvider, perFieldKnnVectorsFormatProvider);
+    }
+
+    @SneakyThrows
+    public void testMerge_whenLegacySegment_thenVectorsRewrittenAsLittleEndianFloats() {
+        setUpMockClusterService();
+        final FieldType fieldType = new FieldType(KNNVectorFieldMapper.Defaults.FIELD_TYPE);
+        fieldType.putAttribute(KNNConstants.KNN_METHOD, KNNConstants.METHOD_HNSW);
+        fieldType.putAttribute(KNNConstants.KNN_ENGINE, KNNEngine.NMSLIB.getName());
+        fieldType.putAttribute(KNNConstants.SPACE_TYPE, SpaceType.L2.getValue());
+        fieldType.freeze();
+        final float[] legacyVector = { 1.0f, 3.0f, 4.0f };
+        final float[] vector = { -2.5f, 0.0f, 7.0f };
+
+        try (Directory dir = newFSDirectory(createTempDir())) {
+            // Segment written with serialized vectors
+            try (IndexWriter writer = new IndexWriter(dir, newWriterConfig(new KNN990Codec()))) {
+                addDocument(writer, fieldType, legacyVector);
+            }
+
+            try (IndexWriter writer = new IndexWriter(dir, newWriterConfig(new KNN991Codec()))) {
+                addDocument(writer, fieldType, vector);
+                writer.commit();
+                writer.forceMerge(1);
+            }
+
+            try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                assertEquals(1, reader.leaves().size());
+                final LeafReader leafReader = reader.leaves().get(0).reader();
+                final FieldInfo fieldInfo = leafReader.getFieldInfos().fieldInfo(FIELD_NAME);
+                assertEquals(KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS, KNNVectorDocValuesEncoding.fromFieldInfo(fieldInfo));
+
+                final BinaryDocValues values = leafReader.getBinaryDocValues(FIELD_NAME);
+                final List<float[]> vectors = new ArrayList<>();
+                while (values.nextDoc() != DocIdSetIterator.NO_MORE_DOCS) {
+                    assertEquals(vector.length * Float.BYTES, values.binaryValue().length);
+                    vectors.add(KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(values.binaryValue()));
+                }
+                assertEquals(2, vectors.size());
+                assertTrue(vectors.stream().anyMatch(v -> Arrays.equals(legacyVector, v)));
+                assertTrue(vectors.stream().anyMatch(v -> Arrays.equals(vector, v)));
+            }
+        }
+    }
+
+    private static IndexWriterConfig newWriterConfig(Codec codec) {
+        final IndexWriterConfig iwc = new IndexWriterConfig();
+        iwc.setMergeScheduler(new SerialMergeScheduler());
+        iwc.setCodec(codec);
+        iwc.setUseCompoundFile(false);
+        return iwc;
+    }
+
+    private static void addDocument(IndexWriter writer, FieldType fieldType, float[] vector) throws IOException {
+        final Document doc = new Document();
+        doc.add(new VectorField(FIELD_NAME, vector, fieldType));
+        writer.addDocument(doc);
+    }
+}
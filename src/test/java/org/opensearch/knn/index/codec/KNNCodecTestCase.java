@@ -9,13 +9,21 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
 import org.apache.lucene.document.KnnVectorField;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
 import org.apache.lucene.index.VectorSimilarityFunction;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.join.BitSetProducer;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Setting;
+import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.knn.KNNTestCase;
 import org.opensearch.knn.common.KNNConstants;
@@ -49,6 +57,7 @@ import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.indices.ModelState;
 import org.opensearch.watcher.ResourceWatcherService;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.io.IOException;
@@ -76,6 +85,8 @@ import static org.opensearch.knn.common.KNNConstants.HNSW_ALGO_EF_CONSTRUCTION;
 import static org.opensearch.knn.common.KNNConstants.HNSW_ALGO_M;
 import static org.opensearch.knn.common.KNNConstants.INDEX_DESCRIPTION_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.METHOD_HNSW;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_M;
 import static org.opensearch.knn.common.KNNConstants.SPACE_TYPE;
 import static org.opensearch.knn.index.KNNSettings.MODEL_CACHE_SIZE_LIMIT_SETTING;
 
@@ -99,6 +110,10 @@ public class KNNCodecTestCase extends KNNTestCase {
     private static final String FIELD_NAME_TWO = "test_vector_two";
 
     protected void setUpMockClusterService() {
+        setUpMockClusterService(Settings.EMPTY);
+    }
+
+    protected void setUpMockClusterService(Settings nodeSettings) {
         ClusterService clusterService = mock(ClusterService.class, RETURNS_DEEP_STUBS);
         Settings settings = Settings.Builder.EMPTY_SETTINGS;
         when(clusterService.state().getMetadata().index(Mockito.anyString()).getSettings()).thenReturn(settings);
@@ -110,7 +125,7 @@ public class KNNCodecTestCase extends KNNTestCase {
                 .filter(s -> s.getProperties().contains(Setting.Property.NodeScope))
                 .collect(Collectors.toList())
         );
-        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, defaultClusterSettings));
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(nodeSettings, defaultClusterSettings));
         KNNSettings.state().setClusterService(clusterService);
     }
 
@@ -185,6 +200,81 @@ public class KNNCodecTestCase extends KNNTestCase {
         NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance().close();
     }
 
+    public void testMergeWithGraphReuse(Codec codec) throws Exception {
+        setUpMockClusterService(Settings.builder().put(KNNSettings.KNN_MERGE_GRAPH_REUSE_ENABLED, true).build());
+        KNNMethodContext knnMethodContext = new KNNMethodContext(
+            KNNEngine.FAISS,
+            SpaceType.L2,
+            new MethodComponentContext(METHOD_HNSW, ImmutableMap.of(METHOD_PARAMETER_M, 16, METHOD_PARAMETER_EF_CONSTRUCTION, 128))
+        );
+        knnMethodContext.getMethodComponentContext().setIndexVersion(CURRENT);
+        FieldType faissFieldType = new FieldType(KNNVectorFieldMapper.Defaults.FIELD_TYPE);
+        faissFieldType.putAttribute(KNNConstants.KNN_ENGINE, KNNEngine.FAISS.getName());
+        faissFieldType.putAttribute(SPACE_TYPE, SpaceType.L2.getValue());
+        faissFieldType.putAttribute(
+            KNNConstants.PARAMETERS,
+            XContentFactory.jsonBuilder().map(KNNEngine.FAISS.getMethodAsMap(knnMethodContext)).toString()
+        );
+        faissFieldType.freeze();
+
+        Directory dir = newFSDirectory(createTempDir());
+        IndexWriterConfig iwc = newIndexWriterConfig();
+        iwc.setMergeScheduler(new SerialMergeScheduler());
+        iwc.setCodec(codec);
+        iwc.setMergePolicy(NoMergePolicy.INSTANCE);
+        int[] segmentSizes = { 20, 5, 8 };
+        int numDocs = 0;
+        try (MockedStatic<JNIService> jniService = Mockito.mockStatic(JNIService.class, Mockito.CALLS_REAL_METHODS)) {
+            try (IndexWriter writer = new IndexWriter(dir, iwc)) {
+                for (int segmentSize : segmentSizes) {
+                    for (int i = 0; i < segmentSize; i++, numDocs++) {
+                        Document doc = new Document();
+                        doc.add(new VectorField(FIELD_NAME_ONE, new float[] { numDocs, numDocs }, faissFieldType));
+                        doc.add(new StoredField("id", numDocs));
+                        doc.add(new StringField("key", String.valueOf(numDocs), Field.Store.NO));
+                        writer.addDocument(doc);
+                    }
+                    writer.commit();
+                }
+                // The largest segment stays the seed with a deleted doc, whose node is removed from its graph
+                writer.deleteDocuments(new Term("key", "3"));
+                writer.commit();
+                writer.getConfig().setMergePolicy(new TieredMergePolicy());
+                writer.forceMerge(1);
+            }
+
+            // The merged graph is seeded with the graph of the largest segment
+            jniService.verify(
+                () -> JNIService.loadIndexForMerge(Mockito.anyString(), Mockito.any(int[].class), Mockito.anyMap(), eq(KNNEngine.FAISS)),
+                atLeastOnce()
+            );
+        }
+
+        ResourceWatcherService resourceWatcherService = createDisabledResourceWatcherService();
+        NativeMemoryLoadStrategy.IndexLoadStrategy.initialize(resourceWatcherService);
+        try (IndexReader reader = DirectoryReader.open(dir)) {
+            assertEquals(1, reader.leaves().size());
+            assertEquals(numDocs - 1, reader.numDocs());
+            IndexSearcher searcher = new IndexSearcher(reader);
+            // Docs of the reused graph and of the inserted segments are found under their merged doc ids
+            for (int id : new int[] { 0, 4, 19, 20, 27, numDocs - 1 }) {
+                TopDocs topDocs = searcher.search(
+                    new KNNQuery(FIELD_NAME_ONE, new float[] { id, id }, 1, "dummy", (BitSetProducer) null),
+                    1
+                );
+                assertEquals(1, topDocs.scoreDocs.length);
+                assertEquals(id, reader.storedFields().document(topDocs.scoreDocs[0].doc).getField("id").numericValue().intValue());
+            }
+            // The vector of the deleted doc is not in the merged graph anymore
+            TopDocs topDocs = searcher.search(new KNNQuery(FIELD_NAME_ONE, new float[] { 3, 3 }, 1, "dummy", (BitSetProducer) null), 1);
+            assertEquals(1, topDocs.scoreDocs.length);
+            assertNotEquals(3, reader.storedFields().document(topDocs.scoreDocs[0].doc).getField("id").numericValue().intValue());
+        }
+        dir.close();
+        resourceWatcherService.close();
+        NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance().close();
+    }
+
     public void testBuildFromModelTemplate(Codec codec) throws IOException, ExecutionException, InterruptedException {
         // Setup model params
         String modelId = "test-model";
@@ -28,7 +28,8 @@ import org.apache.lucene.util.Version;
 import java.util.Set;
 
 import org.opensearch.knn.index.VectorDataType;
-import org.opensearch.knn.index.query.KNNQueryResult;
+import org.opensearch.knn.index.query.KNNQueryResults;
+import org.opensearch.knn.index.query.NativeSearchParameters;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.jni.JNIService;
@@ -211,8 +212,17 @@ public class KNNCodecTestUtil {
         long indexPtr = JNIService.loadIndex(filePath, Maps.newHashMap(ImmutableMap.of(SPACE_TYPE, spaceType.getValue())), knnEngine);
         int k = 2;
         float[] queryVector = new float[dimension];
-        KNNQueryResult[] results = JNIService.queryIndex(indexPtr, queryVector, k, methodParameters, knnEngine, null, 0, null);
-        assertTrue(results.length > 0);
+        KNNQueryResults results = JNIService.queryIndex(
+            indexPtr,
+            queryVector,
+            k,
+            NativeSearchParameters.of(methodParameters),
+            knnEngine,
+            null,
+            0,
+            null
+        );
+        assertTrue(results.size() > 0);
         JNIService.free(indexPtr, knnEngine);
     }
 
@@ -242,8 +252,8 @@ public class KNNCodecTestUtil {
         );
         int k = 2;
         byte[] queryVector = new byte[dimension];
-        KNNQueryResult[] results = JNIService.queryBinaryIndex(indexPtr, queryVector, k, null, knnEngine, null, 0, null);
-        assertTrue(results.length > 0);
+        KNNQueryResults results = JNIService.queryBinaryIndex(indexPtr, queryVector, k, null, knnEngine, null, 0, null);
+        assertTrue(results.size() > 0);
         JNIService.free(indexPtr, knnEngine);
     }
 
@@ -26,15 +26,17 @@ public class VectorTransferByteTests extends TestCase {
             vectorTransfer.init(2);
 
             vectorTransfer.transfer(bytesRef1);
-            // flush is not called
-            assertEquals(0, vectorTransfer.getVectorAddress());
+            // vectors are copied straight into native memory
+            final long vectorAddress = vectorTransfer.getVectorAddress();
+            assertNotEquals(0, vectorAddress);
 
             vectorTransfer.transfer(bytesRef2);
-            // flush should be called
-            assertNotEquals(0, vectorTransfer.getVectorAddress());
+            vectorTransfer.close();
+            assertEquals(vectorAddress, vectorTransfer.getVectorAddress());
+            assertEquals(160, vectorTransfer.getDimension());
         } finally {
             if (vectorTransfer.getVectorAddress() != 0) {
-                JNICommons.freeVectorData(vectorTransfer.getVectorAddress());
+                JNICommons.freeByteVectorData(vectorTransfer.getVectorAddress());
             }
         }
     }
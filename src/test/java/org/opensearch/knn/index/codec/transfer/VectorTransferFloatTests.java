@@ -8,6 +8,7 @@ package org.opensearch.knn.index.codec.transfer;
 import junit.framework.TestCase;
 import lombok.SneakyThrows;
 import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.index.codec.util.KNNVectorDocValuesEncoding;
 import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
 import org.opensearch.knn.jni.JNICommons;
 
@@ -18,6 +19,7 @@ import java.util.Random;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
 
 public class VectorTransferFloatTests extends TestCase {
     @SneakyThrows
@@ -29,12 +31,36 @@ public class VectorTransferFloatTests extends TestCase {
             vectorTransfer.init(2);
 
             vectorTransfer.transfer(bytesRef1);
-            // flush is not called
-            assertEquals(0, vectorTransfer.getVectorAddress());
+            // vectors are decoded straight into native memory
+            final long vectorAddress = vectorTransfer.getVectorAddress();
+            assertNotEquals(0, vectorAddress);
 
             vectorTransfer.transfer(bytesRef2);
-            // flush should be called
+            vectorTransfer.close();
+            assertEquals(vectorAddress, vectorTransfer.getVectorAddress());
+            assertEquals(20, vectorTransfer.getDimension());
+        } finally {
+            if (vectorTransfer.getVectorAddress() != 0) {
+                JNICommons.freeVectorData(vectorTransfer.getVectorAddress());
+            }
+        }
+    }
+
+    public void testTransfer_whenLittleEndianFloatsAndLessVectorsThanLiveDocs_thenAdded() {
+        final float[] vector = { 1.0f, 2.0f, 3.0f };
+        final BytesRef bytesRef = new BytesRef(KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.encode(vector));
+        VectorTransferFloat vectorTransfer = new VectorTransferFloat(12, KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS);
+        try {
+            vectorTransfer.init(5);
+            vectorTransfer.transfer(bytesRef);
+            vectorTransfer.transfer(bytesRef);
+            vectorTransfer.close();
+
             assertNotEquals(0, vectorTransfer.getVectorAddress());
+            assertEquals(3, vectorTransfer.getDimension());
+            // one vector per region
+            assertEquals(1, vectorTransfer.getVectorsPerTransfer());
+            assertThrows(IllegalStateException.class, () -> vectorTransfer.transfer(new BytesRef(new byte[Float.BYTES])));
         } finally {
             if (vectorTransfer.getVectorAddress() != 0) {
                 JNICommons.freeVectorData(vectorTransfer.getVectorAddress());
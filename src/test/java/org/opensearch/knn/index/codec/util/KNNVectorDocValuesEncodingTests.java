@@ -0,0 +1,105 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.codec.KNNCodecTestUtil;
+import org.opensearch.knn.index.vectorvalues.TestVectorValues;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class KNNVectorDocValuesEncodingTests extends KNNTestCase {
+
+    public void testLittleEndianFloats_whenEncoded_thenRawLittleEndianFloats() {
+        final float[] vector = { 1.5f, -2.0f, 3.25f };
+
+        final byte[] bytes = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.encode(vector);
+
+        assertEquals(vector.length * Float.BYTES, bytes.length);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : vector) {
+            assertEquals(value, buffer.getFloat(), 0.0f);
+        }
+    }
+
+    public void testLittleEndianFloats_whenDecoded_thenReuseArrayOfSameDimension() {
+        final float[] vector = TestVectorValues.getRandomVector(16);
+        final byte[] bytes = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.encode(vector);
+        // Place the vector at an offset to make sure it is honored
+        final byte[] padded = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+        final BytesRef bytesRef = new BytesRef(padded, 3, bytes.length);
+
+        final float[] reuse = new float[16];
+        assertSame(reuse, KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(bytesRef, reuse));
+        assertArrayEquals(vector, reuse, 0.0f);
+
+        final float[] smaller = new float[8];
+        final float[] decoded = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(bytesRef, smaller);
+        assertNotSame(smaller, decoded);
+        assertArrayEquals(vector, decoded, 0.0f);
+        assertArrayEquals(vector, KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(bytesRef), 0.0f);
+    }
+
+    public void testLittleEndianFloats_whenInvalidLength_thenException() {
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(new BytesRef(new byte[] { 1, 2, 3 }))
+        );
+    }
+
+    public void testSerialized_whenDecoded_thenAllSerializationModesSupported() {
+        final float[] vector = TestVectorValues.getRandomVector(8);
+        final BytesRef collectionOfFloats = new BytesRef(
+            KNNVectorSerializerFactory.getSerializerBySerializationMode(SerializationMode.COLLECTION_OF_FLOATS).floatToByteArray(vector)
+        );
+        final BytesRef array = new BytesRef(
+            KNNVectorSerializerFactory.getSerializerBySerializationMode(SerializationMode.ARRAY).floatToByteArray(vector)
+        );
+
+        final float[] reuse = new float[8];
+        assertSame(reuse, KNNVectorDocValuesEncoding.SERIALIZED.decode(collectionOfFloats, reuse));
+        assertArrayEquals(vector, reuse, 0.0f);
+        assertArrayEquals(vector, KNNVectorDocValuesEncoding.SERIALIZED.decode(array, reuse), 0.0f);
+        assertArrayEquals(vector, KNNVectorDocValuesEncoding.SERIALIZED.decode(collectionOfFloats), 0.0f);
+        assertArrayEquals(collectionOfFloats.bytes, KNNVectorDocValuesEncoding.SERIALIZED.encode(vector));
+    }
+
+    public void testFromFieldInfo() {
+        final FieldInfo legacyField = KNNCodecTestUtil.FieldInfoBuilder.builder("legacy").build();
+        assertEquals(KNNVectorDocValuesEncoding.SERIALIZED, KNNVectorDocValuesEncoding.fromFieldInfo(legacyField));
+
+        final FieldInfo littleEndianField = KNNCodecTestUtil.FieldInfoBuilder.builder("little-endian")
+            .addAttribute(KNNVectorDocValuesEncoding.FIELD_ATTRIBUTE, KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.name())
+            .build();
+        assertEquals(KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS, KNNVectorDocValuesEncoding.fromFieldInfo(littleEndianField));
+
+        final FieldInfo unknownField = KNNCodecTestUtil.FieldInfoBuilder.builder("unknown")
+            .addAttribute(KNNVectorDocValuesEncoding.FIELD_ATTRIBUTE, "HALF_FLOATS")
+            .build();
+        expectThrows(IllegalStateException.class, () -> KNNVectorDocValuesEncoding.fromFieldInfo(unknownField));
+    }
+
+    public void testTranscodingBinaryDocValues() throws Exception {
+        final float[] vector = TestVectorValues.getRandomVector(4);
+        final TranscodingBinaryDocValues values = new TranscodingBinaryDocValues(
+            new TestVectorValues.ConstantVectorBinaryDocValues(3, 4, vector[0]),
+            KNNVectorDocValuesEncoding.SERIALIZED,
+            KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS
+        );
+
+        int count = 0;
+        while (values.nextDoc() != TranscodingBinaryDocValues.NO_MORE_DOCS) {
+            final float[] decoded = KNNVectorDocValuesEncoding.LITTLE_ENDIAN_FLOATS.decode(values.binaryValue());
+            assertArrayEquals(new float[] { vector[0], vector[0], vector[0], vector[0] }, decoded, 0.0f);
+            count++;
+        }
+        assertEquals(3, count);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class NativeIndexBuildSchedulerTests extends KNNTestCase {
+
+    public void testBuild_thenThreadsGrantedAndStatsRecorded() throws Exception {
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> 4);
+        final long totalOperations = KNNGraphValue.BUILD_TOTAL_OPERATIONS.getValue();
+        final long totalVectors = KNNGraphValue.BUILD_TOTAL_VECTORS.getValue();
+
+        final int[] granted = new int[1];
+        scheduler.build(8, 100, threadCount -> granted[0] = threadCount);
+
+        // The build gets no more than the budget of the node
+        assertEquals(4, granted[0]);
+        assertEquals(totalOperations + 1, (long) KNNGraphValue.BUILD_TOTAL_OPERATIONS.getValue());
+        assertEquals(totalVectors + 100, (long) KNNGraphValue.BUILD_TOTAL_VECTORS.getValue());
+        assertEquals(0, (long) KNNGraphValue.BUILD_CURRENT_THREADS.getValue());
+
+        // Every build gets a thread
+        scheduler.build(0, 10, threadCount -> granted[0] = threadCount);
+        assertEquals(1, granted[0]);
+    }
+
+    public void testAcquire_whenBudgetUsed_thenBuildWaits() throws Exception {
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> 3);
+        assertEquals(2, scheduler.acquire(2));
+        // The remaining thread goes to the next build
+        assertEquals(1, scheduler.acquire(2));
+
+        final long queueDepth = KNNGraphValue.BUILD_QUEUE_DEPTH.getValue();
+        final CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(() -> scheduler.acquire(2));
+        assertBusy(() -> assertEquals(queueDepth + 1, (long) KNNGraphValue.BUILD_QUEUE_DEPTH.getValue()));
+        assertFalse(waiting.isDone());
+
+        scheduler.release(2);
+        assertEquals(2, (int) waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(queueDepth, (long) KNNGraphValue.BUILD_QUEUE_DEPTH.getValue());
+        scheduler.release(1);
+        scheduler.release(2);
+    }
+
+    public void testGetThreadBudget_whenSearches_thenThreadsLeftToSearches() {
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> 4);
+        assertEquals(4, scheduler.getThreadBudget());
+
+        scheduler.searchStarted();
+        scheduler.searchStarted();
+        assertEquals(2, scheduler.getThreadBudget());
+
+        // Builds keep a thread however many searches run
+        scheduler.searchStarted();
+        scheduler.searchStarted();
+        scheduler.searchStarted();
+        assertEquals(1, scheduler.getThreadBudget());
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.searchFinished();
+        }
+        assertEquals(4, scheduler.getThreadBudget());
+    }
+}
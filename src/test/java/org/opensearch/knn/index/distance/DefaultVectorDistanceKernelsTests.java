@@ -0,0 +1,106 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.distance;
+
+import org.opensearch.knn.KNNTestCase;
+
+public class DefaultVectorDistanceKernelsTests extends KNNTestCase {
+
+    // Dimensions that are not a multiple of the unrolling factor exercise the tail loops
+    private static final int[] DIMENSIONS = { 1, 3, 4, 7, 16, 129 };
+    private static final float DELTA = 1e-3f;
+
+    private final VectorDistanceKernels kernels = VectorDistanceKernels.getInstance();
+
+    public void testL2Squared() {
+        for (int dimension : DIMENSIONS) {
+            final float[] a = randomVector(dimension);
+            final float[] b = randomVector(dimension);
+            float expected = 0;
+            for (int i = 0; i < dimension; i++) {
+                expected += (a[i] - b[i]) * (a[i] - b[i]);
+            }
+            assertEquals(expected, kernels.l2Squared(a, b), DELTA);
+        }
+    }
+
+    public void testInnerProduct() {
+        for (int dimension : DIMENSIONS) {
+            final float[] a = randomVector(dimension);
+            final float[] b = randomVector(dimension);
+            assertEquals(dotProduct(a, b), kernels.innerProduct(a, b), DELTA);
+        }
+    }
+
+    public void testCosine() {
+        for (int dimension : DIMENSIONS) {
+            final float[] a = randomVector(dimension);
+            final float[] b = randomVector(dimension);
+            final float expected = (float) (dotProduct(a, b) / Math.sqrt(dotProduct(a, a) * dotProduct(b, b)));
+            assertEquals(expected, kernels.cosine(a, b), DELTA);
+            assertEquals(expected, kernels.cosine(a, b, dotProduct(a, a)), DELTA);
+        }
+    }
+
+    public void testCosine_whenZeroMagnitude_thenZero() {
+        final float[] query = { 1.0f, 2.0f, 3.0f };
+        final float[] zero = { 0.0f, 0.0f, 0.0f };
+        assertEquals(0.0f, kernels.cosine(query, zero, dotProduct(query, query)), 0.0f);
+        assertEquals(0.0f, kernels.cosine(zero, query, 0.0f), 0.0f);
+    }
+
+    public void testL1() {
+        for (int dimension : DIMENSIONS) {
+            final float[] a = randomVector(dimension);
+            final float[] b = randomVector(dimension);
+            float expected = 0;
+            for (int i = 0; i < dimension; i++) {
+                expected += Math.abs(a[i] - b[i]);
+            }
+            assertEquals(expected, kernels.l1(a, b), DELTA);
+        }
+    }
+
+    public void testLInf() {
+        for (int dimension : DIMENSIONS) {
+            final float[] a = randomVector(dimension);
+            final float[] b = randomVector(dimension);
+            float expected = 0;
+            for (int i = 0; i < dimension; i++) {
+                expected = Math.max(expected, Math.abs(a[i] - b[i]));
+            }
+            assertEquals(expected, kernels.lInf(a, b), 0.0f);
+        }
+    }
+
+    public void testHamming() {
+        for (int dimension : DIMENSIONS) {
+            final byte[] a = randomByteArrayOfLength(dimension);
+            final byte[] b = randomByteArrayOfLength(dimension);
+            int expected = 0;
+            for (int i = 0; i < dimension; i++) {
+                expected += Integer.bitCount((a[i] ^ b[i]) & 0xFF);
+            }
+            assertEquals(expected, kernels.hamming(a, b));
+        }
+    }
+
+    private static float dotProduct(float[] a, float[] b) {
+        float result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+
+    private static float[] randomVector(int dimension) {
+        final float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = randomFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}
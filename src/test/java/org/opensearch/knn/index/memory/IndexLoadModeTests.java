@@ -0,0 +1,32 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.memory;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.KNNSettings;
+
+public class IndexLoadModeTests extends KNNTestCase {
+
+    public void testGetIndexLoadMode() {
+        assertEquals(IndexLoadMode.MEMORY, IndexLoadMode.getIndexLoadMode("memory"));
+        assertEquals(IndexLoadMode.MMAP, IndexLoadMode.getIndexLoadMode("mmap"));
+        assertEquals(IndexLoadMode.MMAP, IndexLoadMode.getIndexLoadMode("MMAP"));
+        expectThrows(IllegalArgumentException.class, () -> IndexLoadMode.getIndexLoadMode("invalid"));
+    }
+
+    public void testLoadModeSetting() {
+        assertEquals(IndexLoadMode.MEMORY.getValue(), KNNSettings.INDEX_KNN_LOAD_MODE_SETTING.get(Settings.EMPTY));
+        assertEquals(
+            IndexLoadMode.MMAP.getValue(),
+            KNNSettings.INDEX_KNN_LOAD_MODE_SETTING.get(Settings.builder().put(KNNSettings.KNN_INDEX_LOAD_MODE, "mmap").build())
+        );
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> KNNSettings.INDEX_KNN_LOAD_MODE_SETTING.get(Settings.builder().put(KNNSettings.KNN_INDEX_LOAD_MODE, "invalid").build())
+        );
+    }
+}
@@ -285,6 +285,12 @@ public class NativeMemoryCacheManagerTests extends OpenSearchSingleNodeTestCase
         nativeMemoryCacheManager.close();
     }
 
+    public void testGetConcurrencyLevel() {
+        int concurrencyLevel = NativeMemoryCacheManager.getConcurrencyLevel();
+        assertTrue(concurrencyLevel > 0);
+        assertTrue(concurrencyLevel <= 64);
+    }
+
     public void testGetCacheStats() throws ExecutionException {
         // Add a couple entries - confirm misses. Get a couple entries again. Confirm hits
         NativeMemoryCacheManager nativeMemoryCacheManager = new NativeMemoryCacheManager();
@@ -19,10 +19,11 @@ import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.jni.JNIService;
-import org.opensearch.knn.index.query.KNNQueryResult;
+import org.opensearch.knn.index.query.KNNQueryResults;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.training.FloatTrainingDataConsumer;
+import org.opensearch.knn.training.TrainingDataSampling;
 import org.opensearch.knn.training.VectorReader;
 import org.opensearch.watcher.ResourceWatcherService;
 
@@ -77,8 +78,8 @@ public class NativeMemoryLoadStrategyTests extends KNNTestCase {
         // Confirm that the file was loaded by querying
         float[] query = new float[dimension];
         Arrays.fill(query, numVectors + 1);
-        KNNQueryResult[] results = JNIService.queryIndex(indexAllocation.getMemoryAddress(), query, 2, null, knnEngine, null, 0, null);
-        assertTrue(results.length > 0);
+        KNNQueryResults results = JNIService.queryIndex(indexAllocation.getMemoryAddress(), query, 2, null, knnEngine, null, 0, null);
+        assertTrue(results.size() > 0);
     }
 
     public void testLoad_whenFaissBinary_thenSuccess() throws IOException {
@@ -127,7 +128,7 @@ public class NativeMemoryLoadStrategyTests extends KNNTestCase {
 
         // Confirm that the file was loaded by querying
         byte[] query = { 1 };
-        KNNQueryResult[] results = JNIService.queryBinaryIndex(
+        KNNQueryResults results = JNIService.queryBinaryIndex(
             indexAllocation.getMemoryAddress(),
             query,
             2,
@@ -137,7 +138,7 @@ public class NativeMemoryLoadStrategyTests extends KNNTestCase {
             0,
             null
         );
-        assertTrue(results.length > 0);
+        assertTrue(results.size() > 0);
     }
 
     @SuppressWarnings("unchecked")
@@ -150,8 +151,8 @@ public class NativeMemoryLoadStrategyTests extends KNNTestCase {
         logger.info("J0");
         doAnswer(invocationOnMock -> {
             logger.info("J1");
-            FloatTrainingDataConsumer floatTrainingDataConsumer = (FloatTrainingDataConsumer) invocationOnMock.getArguments()[5];
-            ActionListener<SearchResponse> listener = (ActionListener<SearchResponse>) invocationOnMock.getArguments()[6];
+            FloatTrainingDataConsumer floatTrainingDataConsumer = (FloatTrainingDataConsumer) invocationOnMock.getArguments()[6];
+            ActionListener<SearchResponse> listener = (ActionListener<SearchResponse>) invocationOnMock.getArguments()[7];
             Thread thread = new Thread(() -> {
                 try {
                     Thread.sleep(2000);
@@ -165,7 +166,7 @@ public class NativeMemoryLoadStrategyTests extends KNNTestCase {
 
             thread.start();
             return null;
-        }).when(vectorReader).read(eq(null), eq("test"), eq("test"), eq(0), eq(0), any(), any());
+        }).when(vectorReader).read(eq(null), eq("test"), eq("test"), eq(0), eq(0), eq(TrainingDataSampling.DEFAULT), any(), any());
 
         NativeMemoryLoadStrategy.TrainingLoadStrategy.initialize(vectorReader);
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.memory;
+
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class NativeMemoryWarmSetTests extends KNNTestCase {
+
+    public void testWriteManifest_thenEntriesReadBackInHitOrder() throws IOException {
+        Path manifestPath = createTempDir().resolve(NativeMemoryWarmSet.MANIFEST_FILE_NAME);
+        NativeMemoryCacheManager nativeMemoryCacheManager = mockCacheManager(
+            indexAllocation("/data/index/_0_165_field.faiss", 10),
+            7L,
+            indexAllocation("/data/index/_1_165_field.faiss", 20),
+            100L,
+            new NativeMemoryAllocation.TrainingDataAllocation(null, 0, 30, VectorDataType.FLOAT),
+            1000L
+        );
+
+        NativeMemoryWarmSet warmSet = new NativeMemoryWarmSet(manifestPath, nativeMemoryCacheManager);
+        assertFalse(warmSet.hasPendingEntries());
+        warmSet.writeManifest();
+
+        List<String> lines = Files.readAllLines(manifestPath, StandardCharsets.UTF_8);
+        assertEquals(
+            List.of(NativeMemoryWarmSet.MANIFEST_HEADER, "100\t20\t/data/index/_1_165_field.faiss", "7\t10\t/data/index/_0_165_field.faiss"),
+            lines
+        );
+
+        NativeMemoryWarmSet restarted = new NativeMemoryWarmSet(manifestPath, mockCacheManager());
+        assertTrue(restarted.hasPendingEntries());
+        List<NativeMemoryWarmSet.WarmSetEntry> entries = restarted.takeEntries(
+            Set.of("/data/index/_0_165_field.faiss", "/data/index/_1_165_field.faiss"),
+            Long.MAX_VALUE
+        );
+        assertEquals(
+            List.of("/data/index/_1_165_field.faiss", "/data/index/_0_165_field.faiss"),
+            entries.stream().map(NativeMemoryWarmSet.WarmSetEntry::getKey).collect(Collectors.toList())
+        );
+        assertEquals(20, entries.get(0).getSizeInKB());
+        assertEquals(100, entries.get(0).getHitCount());
+        assertFalse(restarted.hasPendingEntries());
+    }
+
+    public void testWriteManifest_thenPendingEntriesRetained() throws IOException {
+        Path manifestPath = createTempDir().resolve(NativeMemoryWarmSet.MANIFEST_FILE_NAME);
+        Files.write(manifestPath, List.of(NativeMemoryWarmSet.MANIFEST_HEADER, "5\t10\t/data/a"), StandardCharsets.UTF_8);
+
+        NativeMemoryWarmSet warmSet = new NativeMemoryWarmSet(manifestPath, mockCacheManager(indexAllocation("/data/b", 1), 3L));
+        warmSet.writeManifest();
+
+        assertEquals(
+            List.of(NativeMemoryWarmSet.MANIFEST_HEADER, "5\t10\t/data/a", "3\t1\t/data/b"),
+            Files.readAllLines(manifestPath, StandardCharsets.UTF_8)
+        );
+    }
+
+    public void testTakeEntries_thenBudgetIsSharedAndEntriesTakenOnce() throws IOException {
+        Path manifestPath = createTempDir().resolve(NativeMemoryWarmSet.MANIFEST_FILE_NAME);
+        Files.write(
+            manifestPath,
+            List.of(NativeMemoryWarmSet.MANIFEST_HEADER, "30\t10\t/data/a", "20\t10\t/data/b", "10\t5\t/data/c", "5\t5\t/data/d"),
+            StandardCharsets.UTF_8
+        );
+        NativeMemoryWarmSet warmSet = new NativeMemoryWarmSet(manifestPath, mockCacheManager());
+
+        // "b" does not fit after "a", but the smaller "c" still does
+        List<NativeMemoryWarmSet.WarmSetEntry> entries = warmSet.takeEntries(Set.of("/data/a", "/data/b", "/data/c", "/data/x"), 15);
+        assertEquals(
+            List.of("/data/a", "/data/c"),
+            entries.stream().map(NativeMemoryWarmSet.WarmSetEntry::getKey).collect(Collectors.toList())
+        );
+        assertTrue(warmSet.takeEntries(Set.of("/data/a", "/data/b"), Long.MAX_VALUE).isEmpty());
+        // The budget is used up by the first shard
+        assertTrue(warmSet.takeEntries(Set.of("/data/d"), 15).isEmpty());
+        assertFalse(warmSet.hasPendingEntries());
+    }
+
+    public void testReadManifest_whenMalformed_thenLinesSkipped() throws IOException {
+        Path manifestPath = createTempDir().resolve(NativeMemoryWarmSet.MANIFEST_FILE_NAME);
+        Files.write(
+            manifestPath,
+            List.of(NativeMemoryWarmSet.MANIFEST_HEADER, "not-a-number\t10\t/data/a", "10", "1\t2\t/data/with\ttab"),
+            StandardCharsets.UTF_8
+        );
+
+        NativeMemoryWarmSet warmSet = new NativeMemoryWarmSet(manifestPath, mockCacheManager());
+
+        List<NativeMemoryWarmSet.WarmSetEntry> entries = warmSet.takeEntries(Set.of("/data/a", "/data/with\ttab"), Long.MAX_VALUE);
+        assertEquals(1, entries.size());
+        assertEquals("/data/with\ttab", entries.get(0).getKey());
+    }
+
+    public void testReadManifest_whenUnknownHeader_thenIgnored() throws IOException {
+        Path manifestPath = createTempDir().resolve(NativeMemoryWarmSet.MANIFEST_FILE_NAME);
+        Files.write(manifestPath, List.of("# something else", "1\t2\t/data/a"), StandardCharsets.UTF_8);
+
+        assertFalse(new NativeMemoryWarmSet(manifestPath, mockCacheManager()).hasPendingEntries());
+    }
+
+    private static NativeMemoryCacheManager mockCacheManager(Object... allocationsAndHitCounts) {
+        NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            ObjLongConsumer<NativeMemoryAllocation> consumer = invocation.getArgument(0);
+            for (int i = 0; i < allocationsAndHitCounts.length; i += 2) {
+                consumer.accept((NativeMemoryAllocation) allocationsAndHitCounts[i], (Long) allocationsAndHitCounts[i + 1]);
+            }
+            return null;
+        }).when(nativeMemoryCacheManager).forEachLoadedAllocation(any());
+        return nativeMemoryCacheManager;
+    }
+
+    private static NativeMemoryAllocation indexAllocation(String indexPath, int sizeInKB) {
+        return new NativeMemoryAllocation.IndexAllocation(null, 0, sizeInKB, null, indexPath, "index", null);
+    }
+}
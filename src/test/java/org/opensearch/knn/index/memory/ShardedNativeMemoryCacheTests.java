@@ -0,0 +1,337 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.memory;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ShardedNativeMemoryCacheTests extends KNNTestCase {
+
+    private final List<RemovalNotification<String, NativeMemoryAllocation>> removals = new CopyOnWriteArrayList<>();
+    private final TestTicker ticker = new TestTicker();
+
+    public void testShardCount_thenRoundedUpToPowerOfTwo() {
+        assertEquals(1, newCache(1, Long.MAX_VALUE, 0).getShardCount());
+        assertEquals(8, newCache(5, Long.MAX_VALUE, 0).getShardCount());
+        assertEquals(16, newCache(16, Long.MAX_VALUE, 0).getShardCount());
+    }
+
+    public void testGet_thenWeightsAreTracked() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+
+        cache.get("index-1-a", () -> indexAllocation("index-1", "index-1-a", 10));
+        cache.get("index-1-b", () -> indexAllocation("index-1", "index-1-b", 20));
+        cache.get("index-2-a", () -> indexAllocation("index-2", "index-2-a", 5));
+        cache.get("training", () -> trainingAllocation(7));
+
+        assertEquals(42, cache.getWeightInKilobytes());
+        assertEquals(35, cache.getIndicesWeightInKilobytes());
+        assertEquals(7, cache.getTrainingWeightInKilobytes());
+        assertEquals(30, cache.getIndexWeightInKilobytes("index-1"));
+        assertEquals(2, cache.getIndexGraphCount("index-1"));
+        assertEquals(5, cache.getIndexWeightInKilobytes("index-2"));
+        assertEquals(1, cache.getIndexGraphCount("index-2"));
+        assertEquals(0, cache.getIndexWeightInKilobytes("missing"));
+        assertEquals(0, cache.getIndexGraphCount("missing"));
+        assertEquals(4, cache.allocations().count());
+
+        cache.invalidate("index-1-a");
+        cache.invalidate("index-2-a");
+
+        assertEquals(27, cache.getWeightInKilobytes());
+        assertEquals(20, cache.getIndexWeightInKilobytes("index-1"));
+        assertEquals(1, cache.getIndexGraphCount("index-1"));
+        assertFalse(cache.getIndexWeightsInKilobytes().containsKey("index-2"));
+        assertEquals(2, removals.size());
+        assertEquals(RemovalCause.EXPLICIT, removals.get(0).getCause());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getWeightInKilobytes());
+        assertEquals(0, cache.getIndicesWeightInKilobytes());
+        assertEquals(0, cache.getTrainingWeightInKilobytes());
+        assertTrue(cache.getIndexWeightsInKilobytes().isEmpty());
+    }
+
+    public void testGet_whenHit_thenLoaderNotCalled() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+        AtomicInteger loads = new AtomicInteger();
+        NativeMemoryAllocation allocation = allocation(1);
+
+        assertSame(allocation, cache.get("key", () -> {
+            loads.incrementAndGet();
+            return allocation;
+        }));
+        assertSame(allocation, cache.get("key", () -> {
+            loads.incrementAndGet();
+            return allocation(1);
+        }));
+
+        assertEquals(1, loads.get());
+        assertTrue(cache.containsKey("key"));
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+    }
+
+    public void testGet_whenOverMaxWeight_thenEvictLeastRecentlyAccessed() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(8, 30, 0);
+
+        cache.get("a", () -> allocation(10));
+        ticker.advance(10, TimeUnit.MILLISECONDS);
+        cache.get("b", () -> allocation(10));
+        ticker.advance(10, TimeUnit.MILLISECONDS);
+        cache.get("c", () -> allocation(10));
+        ticker.advance(10, TimeUnit.MILLISECONDS);
+        // Access "a" so that "b" becomes the least recently used entry
+        cache.get("a", () -> allocation(10));
+        ticker.advance(10, TimeUnit.MILLISECONDS);
+        cache.get("d", () -> allocation(10));
+
+        assertEquals(30, cache.getWeightInKilobytes());
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("a"));
+        assertTrue(cache.containsKey("c"));
+        assertTrue(cache.containsKey("d"));
+        assertEquals(1, removals.size());
+        assertEquals("b", removals.get(0).getKey());
+        assertEquals(RemovalCause.SIZE, removals.get(0).getCause());
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    public void testGet_whenEntryLargerThanShardShare_thenNotEvicted() throws ExecutionException {
+        // The max weight is global, so an entry can use the whole budget regardless of the number of shards
+        ShardedNativeMemoryCache cache = newCache(16, 100, 0);
+
+        cache.get("large", () -> allocation(100));
+
+        assertTrue(cache.containsKey("large"));
+        assertTrue(removals.isEmpty());
+    }
+
+    public void testGet_whenExpired_thenReloaded() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, TimeUnit.MINUTES.toNanos(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", () -> {
+            loads.incrementAndGet();
+            return allocation(3);
+        });
+        ticker.advance(2, TimeUnit.MINUTES);
+        cache.get("key", () -> {
+            loads.incrementAndGet();
+            return allocation(3);
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(3, cache.getWeightInKilobytes());
+        assertEquals(1, removals.size());
+        assertEquals(RemovalCause.EXPIRED, removals.get(0).getCause());
+    }
+
+    public void testCleanUp_whenExpired_thenRemoved() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, TimeUnit.MINUTES.toNanos(1));
+        cache.get("key", () -> allocation(3));
+
+        ticker.advance(30, TimeUnit.SECONDS);
+        cache.cleanUp();
+        assertTrue(cache.containsKey("key"));
+
+        ticker.advance(1, TimeUnit.MINUTES);
+        cache.cleanUp();
+        assertFalse(cache.containsKey("key"));
+        assertEquals(0, cache.getWeightInKilobytes());
+    }
+
+    public void testGet_whenLoaderThrows_thenEntryNotCached() {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+
+        ExecutionException e = expectThrows(ExecutionException.class, () -> cache.get("key", () -> {
+            throw new IOException("failed");
+        }));
+
+        assertTrue(e.getCause() instanceof IOException);
+        assertFalse(cache.containsKey("key"));
+        assertEquals(0, cache.getWeightInKilobytes());
+        assertEquals(1, cache.stats().loadExceptionCount());
+    }
+
+    public void testGet_whenConcurrentMisses_thenLoadedOnce() throws Exception {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NativeMemoryAllocation allocation = allocation(5);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Future<NativeMemoryAllocation> first = executorService.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return allocation;
+            }));
+            loading.await();
+            Future<NativeMemoryAllocation> second = executorService.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                return allocation(5);
+            }));
+            release.countDown();
+
+            assertSame(allocation, first.get(10, TimeUnit.SECONDS));
+            assertSame(allocation, second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(5, cache.getWeightInKilobytes());
+    }
+
+    public void testGet_whenInvalidatedWhileLoading_thenAllocationReleased() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+        NativeMemoryAllocation allocation = allocation(5);
+
+        assertSame(allocation, cache.get("key", () -> {
+            cache.invalidate("key");
+            return allocation;
+        }));
+
+        assertFalse(cache.containsKey("key"));
+        assertEquals(0, cache.getWeightInKilobytes());
+        assertEquals(1, removals.size());
+        assertSame(allocation, removals.get(0).getValue());
+        assertEquals(RemovalCause.REPLACED, removals.get(0).getCause());
+    }
+
+    public void testGetAsync_whenConcurrentMisses_thenFutureShared() throws Exception {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        NativeMemoryAllocation allocation = allocation(5);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<NativeMemoryAllocation> first = cache.getAsync("key", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return allocation;
+            }, executorService);
+            CompletableFuture<NativeMemoryAllocation> second = cache.getAsync("key", () -> {
+                loads.incrementAndGet();
+                return allocation(5);
+            }, executorService);
+
+            assertSame(first, second);
+            assertFalse(first.isDone());
+            assertFalse(cache.containsKey("key"));
+            release.countDown();
+
+            assertSame(allocation, first.get(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertTrue(cache.containsKey("key"));
+        assertTrue(cache.getAsync("key", () -> allocation(5), Runnable::run).isDone());
+        assertEquals(5, cache.getWeightInKilobytes());
+    }
+
+    public void testGetAsync_whenExecutorRejects_thenLoadedOnCaller() throws Exception {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+        NativeMemoryAllocation allocation = allocation(5);
+
+        CompletableFuture<NativeMemoryAllocation> future = cache.getAsync("key", () -> allocation, command -> {
+            throw new RejectedExecutionException("rejected");
+        });
+
+        assertTrue(future.isDone());
+        assertSame(allocation, future.get());
+        assertTrue(cache.containsKey("key"));
+    }
+
+    public void testGetAsync_whenLoaderThrows_thenFutureFailsAndEntryNotCached() {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+
+        CompletableFuture<NativeMemoryAllocation> future = cache.getAsync("key", () -> {
+            throw new IOException("failed");
+        }, Runnable::run);
+
+        ExecutionException e = expectThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof IOException);
+        assertFalse(cache.containsKey("key"));
+        assertEquals(1, cache.stats().loadExceptionCount());
+    }
+
+    public void testForEachLoaded_thenHitCountsReported() throws ExecutionException {
+        ShardedNativeMemoryCache cache = newCache(4, Long.MAX_VALUE, 0);
+        NativeMemoryAllocation hot = allocation(1);
+        NativeMemoryAllocation cold = allocation(1);
+        cache.get("hot", () -> hot);
+        cache.get("cold", () -> cold);
+        for (int i = 0; i < 3; i++) {
+            cache.get("hot", () -> hot);
+        }
+
+        Map<NativeMemoryAllocation, Long> hitCounts = new HashMap<>();
+        cache.forEachLoaded(hitCounts::put);
+
+        assertEquals(Map.of(hot, 3L, cold, 0L), hitCounts);
+    }
+
+    private ShardedNativeMemoryCache newCache(int concurrencyLevel, long maxWeight, long expireAfterAccessNanos) {
+        return new ShardedNativeMemoryCache(concurrencyLevel, maxWeight, expireAfterAccessNanos, removals::add, ticker);
+    }
+
+    private static NativeMemoryAllocation allocation(int sizeInKB) {
+        NativeMemoryAllocation allocation = mock(NativeMemoryAllocation.class);
+        when(allocation.getSizeInKB()).thenReturn(sizeInKB);
+        return allocation;
+    }
+
+    private static NativeMemoryAllocation indexAllocation(String indexName, String key, int sizeInKB) {
+        return new NativeMemoryAllocation.IndexAllocation(null, 0, sizeInKB, null, key, indexName, null);
+    }
+
+    private static NativeMemoryAllocation trainingAllocation(int sizeInKB) {
+        return new NativeMemoryAllocation.TrainingDataAllocation(null, 0, sizeInKB, VectorDataType.FLOAT);
+    }
+
+    private static final class TestTicker extends Ticker {
+        private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long duration, TimeUnit timeUnit) {
+            nanos.addAndGet(timeUnit.toNanos(duration));
+        }
+    }
+}
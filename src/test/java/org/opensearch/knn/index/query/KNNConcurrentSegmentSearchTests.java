@@ -0,0 +1,182 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.store.Directory;
+import org.opensearch.knn.KNNTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class KNNConcurrentSegmentSearchTests extends KNNTestCase {
+
+    private static final String ID_FIELD = "id";
+    // Docs per segment
+    private static final int[] SEGMENT_SIZES = { 10, 40, 20, 30 };
+
+    public void testGroupLeaves_thenBalancedByDocs() throws IOException {
+        try (Directory directory = newDirectory(); DirectoryReader reader = createReader(directory)) {
+            final List<LeafReaderContext> leaves = reader.leaves();
+            final List<List<LeafReaderContext>> units = leaves.stream().map(List::of).collect(Collectors.toList());
+
+            final List<List<LeafReaderContext>> groups = KNNConcurrentSegmentSearch.groupLeaves(units, 2);
+            assertEquals(2, groups.size());
+            assertEquals(50, maxDoc(groups.get(0)));
+            assertEquals(50, maxDoc(groups.get(1)));
+
+            // Never more groups than units
+            assertEquals(4, KNNConcurrentSegmentSearch.groupLeaves(units, 8).size());
+            assertEquals(1, KNNConcurrentSegmentSearch.groupLeaves(units, 1).size());
+        }
+    }
+
+    public void testGroupLeaves_whenSlices_thenSlicesAreNotSplit() throws IOException {
+        try (Directory directory = newDirectory(); DirectoryReader reader = createReader(directory)) {
+            final List<LeafReaderContext> leaves = reader.leaves();
+            final List<List<LeafReaderContext>> slices = List.of(leaves.subList(0, 3), leaves.subList(3, 4));
+
+            final List<List<LeafReaderContext>> groups = KNNConcurrentSegmentSearch.groupLeaves(slices, 4);
+            assertEquals(2, groups.size());
+            assertEquals(leaves.subList(0, 3), groups.get(0));
+            assertEquals(leaves.subList(3, 4), groups.get(1));
+        }
+    }
+
+    public void testMerge_thenGlobalTopK() throws IOException {
+        try (Directory directory = newDirectory(); DirectoryReader reader = createReader(directory)) {
+            final List<LeafReaderContext> leaves = reader.leaves();
+            final KNNQueryResults[] leafResults = new KNNQueryResults[leaves.size()];
+            leafResults[0] = new KNNQueryResults(new int[] { 5, 1 }, new float[] { 0.5f, 0.9f });
+            leafResults[1] = new KNNQueryResults(new int[] { 0, 39 }, new float[] { 0.8f, 0.1f });
+            // leafResults[2] stays null: the third segment has no graph
+            leafResults[3] = new KNNQueryResults(new int[] { 2 }, new float[] { 0.7f });
+
+            final KNNQueryResults merged = KNNConcurrentSegmentSearch.merge(leaves, leafResults, 3);
+
+            assertEquals(3, merged.size());
+            final int lastDocBase = leaves.get(3).docBase;
+            assertEquals(1, merged.getDocId(0));
+            assertEquals(10, merged.getDocId(1));
+            assertEquals(lastDocBase + 2, merged.getDocId(2));
+            assertEquals(0.9f, merged.getScore(0), 0.0f);
+            assertEquals(0.8f, merged.getScore(1), 0.0f);
+            assertEquals(0.7f, merged.getScore(2), 0.0f);
+        }
+    }
+
+    public void testMerge_whenDeletedDocs_thenSkippedBeforeTopK() throws IOException {
+        try (Directory directory = newDirectory()) {
+            final IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+            try (IndexWriter writer = new IndexWriter(directory, config)) {
+                for (int segment = 0; segment < 2; segment++) {
+                    for (int i = 0; i < 5; i++) {
+                        final Document document = new Document();
+                        document.add(new StringField(ID_FIELD, segment + "_" + i, Field.Store.NO));
+                        writer.addDocument(document);
+                    }
+                    writer.commit();
+                }
+                // The best results of both segments are deleted
+                writer.deleteDocuments(new Term(ID_FIELD, "0_1"), new Term(ID_FIELD, "1_0"));
+                writer.commit();
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                final List<LeafReaderContext> leaves = reader.leaves();
+                assertEquals(2, leaves.size());
+                final KNNQueryResults[] leafResults = new KNNQueryResults[leaves.size()];
+                leafResults[0] = new KNNQueryResults(new int[] { 1, 2, 3 }, new float[] { 0.9f, 0.5f, 0.3f });
+                leafResults[1] = new KNNQueryResults(new int[] { 0, 4 }, new float[] { 0.8f, 0.4f });
+
+                final KNNQueryResults merged = KNNConcurrentSegmentSearch.merge(leaves, leafResults, 2);
+
+                assertEquals(2, merged.size());
+                assertEquals(2, merged.getDocId(0));
+                assertEquals(leaves.get(1).docBase + 4, merged.getDocId(1));
+                assertEquals(0.5f, merged.getScore(0), 0.0f);
+                assertEquals(0.4f, merged.getScore(1), 0.0f);
+            }
+        }
+    }
+
+    public void testResultsQuery_thenScorerPerSegment() throws IOException {
+        try (Directory directory = newDirectory(); DirectoryReader reader = createReader(directory)) {
+            final IndexSearcher searcher = new IndexSearcher(reader);
+            final List<LeafReaderContext> leaves = reader.leaves();
+            final int docInLastLeaf = leaves.get(3).docBase + 4;
+            final KNNQueryResults results = new KNNQueryResults(new int[] { 3, docInLastLeaf }, new float[] { 0.5f, 0.25f });
+            final KNNQuery knnQuery = new KNNQuery("field", new float[] { 1.0f }, 2, "index", null);
+            final Query query = new KNNResultsQuery(knnQuery, reader.getContext().id(), results);
+
+            final Weight weight = query.createWeight(searcher, ScoreMode.COMPLETE, 2.0f);
+            assertNull(weight.scorer(leaves.get(1)));
+            assertNull(weight.scorer(leaves.get(2)));
+
+            final Scorer firstScorer = weight.scorer(leaves.get(0));
+            assertEquals(3, firstScorer.iterator().nextDoc());
+            assertEquals(1.0f, firstScorer.score(), 0.0f);
+            assertEquals(DocIdSetIterator.NO_MORE_DOCS, firstScorer.iterator().nextDoc());
+
+            final Scorer lastScorer = weight.scorer(leaves.get(3));
+            assertEquals(4, lastScorer.iterator().nextDoc());
+            assertEquals(0.5f, lastScorer.score(), 0.0f);
+
+            assertTrue(weight.explain(leaves.get(3), 4).isMatch());
+            assertFalse(weight.explain(leaves.get(3), 5).isMatch());
+            assertEquals(2, searcher.count(query));
+
+            assertEquals(query, new KNNResultsQuery(knnQuery, reader.getContext().id(), results));
+            assertNotEquals(query, new KNNResultsQuery(knnQuery, new Object(), results));
+        }
+    }
+
+    public void testResultsQuery_whenOtherReader_thenException() throws IOException {
+        try (
+            Directory directory = newDirectory();
+            DirectoryReader reader = createReader(directory);
+            DirectoryReader otherReader = DirectoryReader.open(directory)
+        ) {
+            final KNNQuery knnQuery = new KNNQuery("field", new float[] { 1.0f }, 2, "index", null);
+            final Query query = new KNNResultsQuery(knnQuery, reader.getContext().id(), KNNQueryResults.empty());
+
+            expectThrows(IllegalStateException.class, () -> query.createWeight(new IndexSearcher(otherReader), ScoreMode.COMPLETE, 1.0f));
+        }
+    }
+
+    private static DirectoryReader createReader(final Directory directory) throws IOException {
+        final IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (int segmentSize : SEGMENT_SIZES) {
+                for (int i = 0; i < segmentSize; i++) {
+                    writer.addDocument(new Document());
+                }
+                writer.commit();
+            }
+        }
+        final DirectoryReader reader = DirectoryReader.open(directory);
+        assertEquals(SEGMENT_SIZES.length, reader.leaves().size());
+        return reader;
+    }
+
+    private static int maxDoc(final List<LeafReaderContext> leaves) {
+        return leaves.stream().mapToInt(leaf -> leaf.reader().maxDoc()).sum();
+    }
+}
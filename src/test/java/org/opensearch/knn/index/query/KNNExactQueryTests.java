@@ -0,0 +1,152 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.analysis.MockAnalyzer;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.VectorField;
+import org.opensearch.knn.index.engine.KNNMethodContext;
+import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
+import org.opensearch.knn.plugin.script.KNNScoringSpace;
+import org.opensearch.knn.plugin.script.KNNScoringSpaceFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+public class KNNExactQueryTests extends KNNTestCase {
+
+    private static final String FIELD_NAME = "test-field";
+    private static final int DIMENSION = 8;
+    private static final int DOC_COUNT = 3000;
+    private static final int K = 10;
+
+    public void testRewrite_whenL2_thenMatchesBruteForce() throws IOException {
+        assertTopK("l2", null, doc -> true);
+    }
+
+    public void testRewrite_whenInnerProduct_thenMatchesBruteForce() throws IOException {
+        assertTopK("innerproduct", null, doc -> true);
+    }
+
+    public void testRewrite_whenCosineWithoutScoreBound_thenMatchesBruteForce() throws IOException {
+        assertTopK("cosinesimil", null, doc -> true);
+    }
+
+    public void testRewrite_whenFilter_thenOnlyFilteredDocsAreReturned() throws IOException {
+        assertTopK("innerproduct", new TermQuery(new Term("parity", "even")), doc -> doc % 2 == 0);
+    }
+
+    private void assertTopK(final String spaceType, final Query filter, final IntPredicate filterMatches) throws IOException {
+        final Random random = new Random(randomLong());
+        final float[][] vectors = new float[DOC_COUNT][];
+        for (int doc = 0; doc < DOC_COUNT; doc++) {
+            // Docs without vectors, and vectors with norms varying across blocks so that blocks can be skipped
+            if (doc % 7 == 3) {
+                continue;
+            }
+            final float scale = 1 + (doc / KNNVectorNormBlocks.BLOCK_SIZE) % 5;
+            vectors[doc] = new float[DIMENSION];
+            for (int i = 0; i < DIMENSION; i++) {
+                vectors[doc][i] = (random.nextFloat() - 0.5f) * scale;
+            }
+        }
+        final float[] queryVector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            queryVector[i] = random.nextFloat() - 0.5f;
+        }
+        final KNNScoringSpace.KNNFieldSpace space = newSpace(spaceType, queryVector);
+
+        try (Directory directory = newDirectory()) {
+            final IndexWriterConfig config = new IndexWriterConfig(new MockAnalyzer(random())).setMergePolicy(NoMergePolicy.INSTANCE);
+            try (IndexWriter writer = new IndexWriter(directory, config)) {
+                for (int doc = 0; doc < DOC_COUNT; doc++) {
+                    final Document document = new Document();
+                    document.add(new StringField("id", Integer.toString(doc), Field.Store.NO));
+                    document.add(new StringField("parity", doc % 2 == 0 ? "even" : "odd", Field.Store.NO));
+                    if (vectors[doc] != null) {
+                        final VectorField vectorField = new VectorField(FIELD_NAME, vectors[doc], new FieldType());
+                        document.add(new BinaryDocValuesField(FIELD_NAME, vectorField.binaryValue()));
+                    }
+                    writer.addDocument(document);
+                    // Several segments, searched concurrently when a pool is set
+                    if (doc % 1000 == 999) {
+                        writer.commit();
+                    }
+                }
+                writer.deleteDocuments(new Term("id", "11"));
+                writer.deleteDocuments(new Term("id", "2048"));
+            }
+
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                final IndexSearcher searcher = new IndexSearcher(reader);
+                final KNNExactQuery query = KNNExactQuery.builder()
+                    .field(FIELD_NAME)
+                    .queryVector(space.getProcessedQuery())
+                    .k(K)
+                    .spaceType(spaceType)
+                    .vectorDataType(VectorDataType.FLOAT)
+                    .scoringMethod(space.getVectorScoringMethod())
+                    .scoreBound(space.getScoreBound())
+                    .filterQuery(filter)
+                    .build();
+                final Query rewritten = query.rewrite(searcher);
+                assertTrue(rewritten instanceof KNNResultsQuery);
+                final TopDocs topDocs = searcher.search(rewritten, K);
+
+                final List<ScoreDoc> expected = new ArrayList<>();
+                for (int doc = 0; doc < DOC_COUNT; doc++) {
+                    if (vectors[doc] == null || doc == 11 || doc == 2048 || filterMatches.test(doc) == false) {
+                        continue;
+                    }
+                    expected.add(new ScoreDoc(doc, space.getVectorScoringMethod().score(queryVector, vectors[doc])));
+                }
+                expected.sort(Comparator.comparingDouble((ScoreDoc scoreDoc) -> -scoreDoc.score).thenComparingInt(s -> s.doc));
+
+                assertEquals(K, topDocs.scoreDocs.length);
+                for (int i = 0; i < K; i++) {
+                    assertEquals(expected.get(i).doc, topDocs.scoreDocs[i].doc);
+                    assertEquals(expected.get(i).score, topDocs.scoreDocs[i].score, 1e-6);
+                }
+            }
+        }
+    }
+
+    private KNNScoringSpace.KNNFieldSpace newSpace(final String spaceType, final float[] queryVector) {
+        final KNNVectorFieldMapper.KNNVectorFieldType fieldType = new KNNVectorFieldMapper.KNNVectorFieldType(
+            FIELD_NAME,
+            Collections.emptyMap(),
+            DIMENSION,
+            KNNMethodContext.getDefault()
+        );
+        final List<Float> query = new ArrayList<>();
+        for (float value : queryVector) {
+            query.add(value);
+        }
+        return (KNNScoringSpace.KNNFieldSpace) KNNScoringSpaceFactory.create(spaceType, query, fieldType);
+    }
+}
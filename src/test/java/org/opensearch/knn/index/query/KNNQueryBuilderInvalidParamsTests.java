@@ -86,6 +86,21 @@ public class KNNQueryBuilderInvalidParamsTests extends KNNTestCase {
                     "min score less than 0",
                     "[knn] requires minScore to be greater than 0",
                     KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR).minScore(-1f)
+                ),
+                $(
+                    "oversample factor less than 1",
+                    "[knn] requires [oversample_factor] to be in the range [1, 100.0]",
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR).k(10).oversampleFactor(0.5f)
+                ),
+                $(
+                    "oversample factor greater than max",
+                    "[knn] requires [oversample_factor] to be in the range [1, 100.0]",
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR).k(10).oversampleFactor(101f)
+                ),
+                $(
+                    "oversample factor with radial search",
+                    "[knn] requires k to be set to use [oversample_factor]",
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR).maxDistance(1.0f).oversampleFactor(2f)
                 )
             )
         );
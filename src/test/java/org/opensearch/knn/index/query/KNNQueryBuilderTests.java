@@ -567,6 +567,54 @@ public class KNNQueryBuilderTests extends KNNTestCase {
         assertEquals(HNSW_METHOD_PARAMS, ((KNNQuery) query).getMethodParameters());
     }
 
+    public void testDoToQuery_whenOversampleFactorAndFaissEngine_thenSuccess() {
+        KNNQueryBuilder knnQueryBuilder = KNNQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .vector(QUERY_VECTOR)
+            .k(K)
+            .oversampleFactor(4f)
+            .build();
+
+        Query query = knnQueryBuilder.doToQuery(mockQueryShardContextForOversampling(KNNEngine.FAISS, VectorDataType.FLOAT));
+
+        assertTrue(query instanceof KNNQuery);
+        assertEquals(4f, ((KNNQuery) query).getOversampleFactor(), 0.0f);
+    }
+
+    public void testDoToQuery_whenOversampleFactorAndUnsupportedField_thenException() {
+        KNNQueryBuilder knnQueryBuilder = KNNQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .vector(QUERY_VECTOR)
+            .k(K)
+            .oversampleFactor(4f)
+            .build();
+
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> knnQueryBuilder.doToQuery(mockQueryShardContextForOversampling(KNNEngine.NMSLIB, VectorDataType.FLOAT))
+        );
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> knnQueryBuilder.doToQuery(mockQueryShardContextForOversampling(KNNEngine.FAISS, VectorDataType.BYTE))
+        );
+    }
+
+    private QueryShardContext mockQueryShardContextForOversampling(KNNEngine knnEngine, VectorDataType vectorDataType) {
+        QueryShardContext mockQueryShardContext = mock(QueryShardContext.class);
+        KNNVectorFieldMapper.KNNVectorFieldType mockKNNVectorField = mock(KNNVectorFieldMapper.KNNVectorFieldType.class);
+        when(mockQueryShardContext.index()).thenReturn(new Index("dummy", "dummy"));
+        when(mockKNNVectorField.getDimension()).thenReturn(4);
+        when(mockKNNVectorField.getSpaceType()).thenReturn(SpaceType.L2);
+        when(mockKNNVectorField.getVectorDataType()).thenReturn(vectorDataType);
+        MethodComponentContext methodComponentContext = new MethodComponentContext(
+            org.opensearch.knn.common.KNNConstants.METHOD_HNSW,
+            ImmutableMap.of()
+        );
+        when(mockKNNVectorField.getKnnMethodContext()).thenReturn(new KNNMethodContext(knnEngine, SpaceType.L2, methodComponentContext));
+        when(mockQueryShardContext.fieldMapper(anyString())).thenReturn(mockKNNVectorField);
+        return mockQueryShardContext;
+    }
+
     public void testDoToQuery_ThrowsIllegalArgumentExceptionForUnknownMethodParameter() {
 
         QueryShardContext mockQueryShardContext = mock(QueryShardContext.class);
@@ -860,6 +908,32 @@ public class KNNQueryBuilderTests extends KNNTestCase {
         }
     }
 
+    public void testSerialization_whenOversampleFactor_thenStreamedFromSupportedVersion() throws Exception {
+        final KNNQueryBuilder knnQueryBuilder = KNNQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .vector(QUERY_VECTOR)
+            .k(K)
+            .oversampleFactor(2.5f)
+            .build();
+        for (Version version : List.of(Version.CURRENT, Version.V_2_16_0)) {
+            KNNClusterUtil.instance().initialize(mockClusterService(version));
+            try (BytesStreamOutput output = new BytesStreamOutput()) {
+                output.setVersion(version);
+                output.writeNamedWriteable(knnQueryBuilder);
+
+                try (StreamInput in = new NamedWriteableAwareStreamInput(output.bytes().streamInput(), writableRegistry())) {
+                    in.setVersion(version);
+                    final KNNQueryBuilder deserializedKnnQueryBuilder = (KNNQueryBuilder) in.readNamedWriteable(QueryBuilder.class);
+                    if (version.onOrAfter(Version.V_3_0_0)) {
+                        assertEquals(knnQueryBuilder, deserializedKnnQueryBuilder);
+                    } else {
+                        assertNull(deserializedKnnQueryBuilder.getOversampleFactor());
+                    }
+                }
+            }
+        }
+    }
+
     private void assertMethodParameters(Version version, Map<String, ?> expectedMethodParameters, Map<String, ?> actualMethodParameters) {
         if (!version.onOrAfter(Version.V_2_16_0)) {
             assertNull(actualMethodParameters);
@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.engine.KNNEngine;
+
+import static org.apache.lucene.search.DocIdSetIterator.NO_MORE_DOCS;
+
+public class KNNQueryResultsTests extends KNNTestCase {
+
+    public void testSortByDocId_thenScoresFollowDocIds() {
+        KNNQueryResults results = new KNNQueryResults(new int[] { 50, 3, 17, 9 }, new float[] { 0.5f, 0.03f, 0.17f, 0.09f });
+
+        results.sortByDocId();
+
+        assertEquals(4, results.size());
+        int[] expectedDocIds = { 3, 9, 17, 50 };
+        float[] expectedScores = { 0.03f, 0.09f, 0.17f, 0.5f };
+        for (int i = 0; i < expectedDocIds.length; i++) {
+            assertEquals(expectedDocIds[i], results.getDocId(i));
+            assertEquals(expectedScores[i], results.getScore(i), 0.0f);
+        }
+    }
+
+    public void testTranslateScores() {
+        KNNQueryResults results = new KNNQueryResults(new int[] { 1, 2 }, new float[] { 0.0f, 3.0f });
+
+        results.translateScores(KNNEngine.FAISS, SpaceType.L2);
+
+        assertEquals(KNNEngine.FAISS.score(0.0f, SpaceType.L2), results.getScore(0), 0.0f);
+        assertEquals(KNNEngine.FAISS.score(3.0f, SpaceType.L2), results.getScore(1), 0.0f);
+    }
+
+    public void testIterator_nextDocAndAdvance() {
+        KNNQueryResults results = new KNNQueryResults(new int[] { 4, 8, 15, 16, 23, 42 }, new float[] { 1, 2, 3, 4, 5, 6 });
+        KNNQueryResults.DocIdIterator iterator = results.iterator();
+
+        assertEquals(-1, iterator.docID());
+        assertEquals(6, iterator.cost());
+        assertEquals(4, iterator.nextDoc());
+        assertEquals(1.0f, iterator.score(), 0.0f);
+        assertEquals(15, iterator.advance(10));
+        assertEquals(3.0f, iterator.score(), 0.0f);
+        assertEquals(16, iterator.nextDoc());
+        assertEquals(42, iterator.advance(24));
+        assertEquals(6.0f, iterator.score(), 0.0f);
+        assertEquals(NO_MORE_DOCS, iterator.nextDoc());
+        assertEquals(NO_MORE_DOCS, iterator.docID());
+    }
+
+    public void testIterator_whenSizeSmallerThanArrays_thenStopsAtSize() {
+        KNNQueryResults results = new KNNQueryResults(new int[] { 1, 2, 3 }, new float[] { 1, 2, 3 }, 2);
+        KNNQueryResults.DocIdIterator iterator = results.iterator();
+
+        assertEquals(1, iterator.nextDoc());
+        assertEquals(2, iterator.nextDoc());
+        assertEquals(NO_MORE_DOCS, iterator.nextDoc());
+        assertEquals(NO_MORE_DOCS, results.iterator().advance(3));
+    }
+
+    public void testEmpty() {
+        KNNQueryResults results = KNNQueryResults.empty();
+        assertTrue(results.isEmpty());
+        assertEquals(NO_MORE_DOCS, results.iterator().nextDoc());
+    }
+
+    public void testConstructor_whenArraysTooSmall_thenThrow() {
+        expectThrows(IllegalArgumentException.class, () -> new KNNQueryResults(new int[1], new float[2], 2));
+    }
+}
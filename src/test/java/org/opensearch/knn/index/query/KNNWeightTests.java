@@ -50,6 +50,7 @@ import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.indices.ModelState;
 import org.opensearch.knn.jni.JNIService;
+import org.opensearch.knn.plugin.stats.KNNCounter;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -60,6 +61,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -67,11 +69,11 @@ import static java.util.Collections.emptyMap;
 import static org.apache.lucene.search.DocIdSetIterator.NO_MORE_DOCS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
@@ -100,6 +102,7 @@ public class KNNWeightTests extends KNNTestCase {
     private static final String CIRCUIT_BREAKER_LIMIT_100KB = "100Kb";
     private static final Integer EF_SEARCH = 10;
     private static final Map<String, ?> HNSW_METHOD_PARAMETERS = Map.of(METHOD_PARAMETER_EF_SEARCH, EF_SEARCH);
+    private static final NativeSearchParameters HNSW_SEARCH_PARAMETERS = NativeSearchParameters.of(HNSW_METHOD_PARAMETERS);
 
     private static final Map<Integer, Float> DOC_ID_TO_SCORES = Map.of(10, 0.4f, 101, 0.05f, 100, 0.8f, 50, 0.52f);
     private static final Map<Integer, Float> FILTERED_DOC_ID_TO_SCORES = Map.of(101, 0.05f, 100, 0.8f, 50, 0.52f);
@@ -210,8 +213,9 @@ public class KNNWeightTests extends KNNTestCase {
         SpaceType spaceType = SpaceType.L2;
         final Function<Float, Float> scoreTranslator = spaceType::scoreTranslation;
         final String modelId = "modelId";
-        jniServiceMockedStatic.when(() -> JNIService.queryIndex(anyLong(), any(), eq(K), isNull(), any(), any(), anyInt(), any()))
-            .thenReturn(getKNNQueryResults());
+        jniServiceMockedStatic.when(
+            () -> JNIService.queryIndex(anyLong(), any(), eq(K), eq(NativeSearchParameters.EMPTY), any(), any(), anyInt(), any())
+        ).thenAnswer(invocation -> getKNNQueryResults());
 
         final KNNQuery query = new KNNQuery(FIELD_NAME, QUERY_VECTOR, K, INDEX_NAME, (BitSetProducer) null);
 
@@ -312,6 +316,42 @@ public class KNNWeightTests extends KNNTestCase {
         assertEquals(String.format("Model \"%s\" is not created.", modelId), ex.getMessage());
     }
 
+    @SneakyThrows
+    public void testANNWithFilterQuery_whenPlannerAndModelNotCreated_thenFails() {
+        knnSettingsMockedStatic.when(() -> KNNSettings.getFilteredExactSearchThreshold(INDEX_NAME)).thenReturn(-1);
+        knnSettingsMockedStatic.when(() -> KNNSettings.isFilteredQueryPlannerEnabled(INDEX_NAME)).thenReturn(true);
+        final String modelId = "modelId";
+        final int filterCount = K * 2;
+
+        ModelDao modelDao = mock(ModelDao.class);
+        KNNWeight.initialize(modelDao);
+
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        final SegmentReader reader = mock(SegmentReader.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+        when(reader.maxDoc()).thenReturn(filterCount);
+        final Bits liveDocsBits = mock(Bits.class);
+        when(reader.getLiveDocs()).thenReturn(liveDocsBits);
+        when(liveDocsBits.get(anyInt())).thenReturn(true);
+
+        final KNNQuery query = new KNNQuery(FIELD_NAME, QUERY_VECTOR, K, INDEX_NAME, FILTER_QUERY, null);
+        final Weight filterQueryWeight = mock(Weight.class);
+        final Scorer filterScorer = mock(Scorer.class);
+        when(filterQueryWeight.scorer(leafReaderContext)).thenReturn(filterScorer);
+        when(filterScorer.iterator()).thenReturn(DocIdSetIterator.all(filterCount));
+
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.attributes()).thenReturn(Map.of());
+        when(fieldInfo.getAttribute(eq(MODEL_ID))).thenReturn(modelId);
+
+        final KNNWeight knnWeight = new KNNWeight(query, 0.0f, filterQueryWeight);
+        RuntimeException ex = expectThrows(RuntimeException.class, () -> knnWeight.scorer(leafReaderContext));
+        assertEquals(String.format("Model \"%s\" is not created.", modelId), ex.getMessage());
+    }
+
     @SneakyThrows
     public void testShardWithoutFiles() {
         final KNNQuery query = new KNNQuery(FIELD_NAME, QUERY_VECTOR, K, INDEX_NAME, (BitSetProducer) null);
@@ -348,6 +388,11 @@ public class KNNWeightTests extends KNNTestCase {
         final FieldInfo fieldInfo = mock(FieldInfo.class);
         when(reader.getFieldInfos()).thenReturn(fieldInfos);
         when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.getName()).thenReturn(FIELD_NAME);
+        // Segments without engine files are searched exactly, which finds nothing without vectors
+        final BinaryDocValues binaryDocValues = mock(BinaryDocValues.class);
+        when(reader.getBinaryDocValues(FIELD_NAME)).thenReturn(binaryDocValues);
+        when(binaryDocValues.nextDoc()).thenReturn(NO_MORE_DOCS);
 
         final Scorer knnScorer = knnWeight.scorer(leafReaderContext);
         assertNull(knnScorer);
@@ -355,9 +400,10 @@ public class KNNWeightTests extends KNNTestCase {
 
     @SneakyThrows
     public void testEmptyQueryResults() {
-        final KNNQueryResult[] knnQueryResults = new KNNQueryResult[] {};
-        jniServiceMockedStatic.when(() -> JNIService.queryIndex(anyLong(), any(), eq(K), isNull(), any(), any(), anyInt(), any()))
-            .thenReturn(knnQueryResults);
+        final KNNQueryResults knnQueryResults = KNNQueryResults.empty();
+        jniServiceMockedStatic.when(
+            () -> JNIService.queryIndex(anyLong(), any(), eq(K), eq(NativeSearchParameters.EMPTY), any(), any(), anyInt(), any())
+        ).thenReturn(knnQueryResults);
 
         final KNNQuery query = new KNNQuery(FIELD_NAME, QUERY_VECTOR, K, INDEX_NAME, (BitSetProducer) null);
         final KNNWeight knnWeight = new KNNWeight(query, 0.0f);
@@ -411,21 +457,21 @@ public class KNNWeightTests extends KNNTestCase {
         // Given
         int k = 3;
         jniServiceMockedStatic.when(
-            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any())
-        ).thenReturn(getFilteredKNNQueryResults());
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any())
+        ).thenAnswer(invocation -> getFilteredKNNQueryResults());
 
         jniServiceMockedStatic.when(
             () -> JNIService.queryBinaryIndex(
                 anyLong(),
                 eq(BYTE_QUERY_VECTOR),
                 eq(k),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 any(),
                 anyInt(),
                 any()
             )
-        ).thenReturn(getFilteredKNNQueryResults());
+        ).thenAnswer(invocation -> getFilteredKNNQueryResults());
         final SegmentReader reader = mockSegmentReader();
         final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
         when(leafReaderContext.reader()).thenReturn(reader);
@@ -476,7 +522,7 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(BYTE_QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     any(),
                     anyInt(),
@@ -486,12 +532,285 @@ public class KNNWeightTests extends KNNTestCase {
             );
         } else {
             jniServiceMockedStatic.verify(
-                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any()),
+                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any()),
                 times(1)
             );
         }
     }
 
+    @SneakyThrows
+    public void testSearchLeafBatch_whenQueriesShareGraph_thenSingleNativeCall() {
+        // Given
+        final float[] otherQueryVector = new float[] { 0.3f, 5.1f };
+        // Two results for the first query, padded with -1, and three for the second one
+        jniServiceMockedStatic.when(
+            () -> JNIService.queryIndexBatch(anyLong(), any(), eq(2), eq(3), eq(HNSW_SEARCH_PARAMETERS), any(), anyInt())
+        ).thenReturn(new KNNQueryResults(new int[] { 10, 101, -1, 100, 50, 10 }, new float[] { 0.1f, 0.2f, 0f, 0.3f, 0.4f, 0.5f }));
+        final SegmentReader reader = mockSegmentReader();
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.attributes()).thenReturn(Map.of(KNN_ENGINE, KNNEngine.FAISS.getName(), SPACE_TYPE, SpaceType.L2.getValue()));
+
+        final List<KNNWeight> weights = List.of(
+            new KNNWeight(newBatchQuery(QUERY_VECTOR, 2), 1f),
+            new KNNWeight(newBatchQuery(otherQueryVector, 3), 1f)
+        );
+
+        // When
+        final KNNQueryResults[] results = KNNWeight.searchLeafBatch(weights, leafReaderContext);
+
+        // Then
+        jniServiceMockedStatic.verify(
+            () -> JNIService.queryIndexBatch(
+                anyLong(),
+                eq(new float[] { 1.8f, 2.4f, 0.3f, 5.1f }),
+                eq(2),
+                eq(3),
+                eq(HNSW_SEARCH_PARAMETERS),
+                any(),
+                anyInt()
+            ),
+            times(1)
+        );
+        jniServiceMockedStatic.verify(
+            () -> JNIService.queryIndex(anyLong(), any(), anyInt(), any(), any(), any(), anyInt(), any()),
+            times(0)
+        );
+        assertEquals(2, results.length);
+        assertEquals(2, results[0].size());
+        assertEquals(10, results[0].getDocId(0));
+        assertEquals(101, results[0].getDocId(1));
+        assertEquals(KNNEngine.FAISS.score(0.2f, SpaceType.L2), results[0].getScore(1), 0.0f);
+        assertEquals(3, results[1].size());
+        assertEquals(100, results[1].getDocId(0));
+        assertEquals(KNNEngine.FAISS.score(0.5f, SpaceType.L2), results[1].getScore(2), 0.0f);
+    }
+
+    public void testSearchLeafBatch_whenDeletedDocs_thenSkippedBeforeTopK() {
+        // Given
+        final float[] otherQueryVector = new float[] { 0.3f, 5.1f };
+        jniServiceMockedStatic.when(
+            () -> JNIService.queryIndexBatch(anyLong(), any(), eq(2), eq(3), eq(HNSW_SEARCH_PARAMETERS), any(), anyInt())
+        ).thenReturn(new KNNQueryResults(new int[] { 10, 101, -1, 100, 50, 10 }, new float[] { 0.1f, 0.2f, 0f, 0.3f, 0.4f, 0.5f }));
+        final SegmentReader reader = mockSegmentReader();
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+        // Doc 10, the best result of both queries, is deleted
+        final FixedBitSet liveDocs = new FixedBitSet(200);
+        liveDocs.set(0, 200);
+        liveDocs.clear(10);
+        when(reader.getLiveDocs()).thenReturn(liveDocs);
+
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.attributes()).thenReturn(Map.of(KNN_ENGINE, KNNEngine.FAISS.getName(), SPACE_TYPE, SpaceType.L2.getValue()));
+
+        final List<KNNWeight> weights = List.of(
+            new KNNWeight(newBatchQuery(QUERY_VECTOR, 2), 1f),
+            new KNNWeight(newBatchQuery(otherQueryVector, 3), 1f)
+        );
+
+        // When, cutting every query to its top k of the shard like KNNBatchQuery does
+        final KNNQueryResults[] results = KNNWeight.searchLeafBatch(weights, leafReaderContext);
+        final KNNQueryResults first = KNNConcurrentSegmentSearch.merge(List.of(leafReaderContext), new KNNQueryResults[] { results[0] }, 2);
+        final KNNQueryResults second = KNNConcurrentSegmentSearch.merge(
+            List.of(leafReaderContext),
+            new KNNQueryResults[] { results[1] },
+            3
+        );
+
+        // Then
+        assertEquals(1, first.size());
+        assertEquals(101, first.getDocId(0));
+        assertEquals(2, second.size());
+        assertEquals(50, second.getDocId(0));
+        assertEquals(100, second.getDocId(1));
+    }
+
+    private KNNQuery newBatchQuery(final float[] queryVector, final int k) {
+        return KNNQuery.builder()
+            .field(FIELD_NAME)
+            .queryVector(queryVector)
+            .k(k)
+            .indexName(INDEX_NAME)
+            .methodParameters(HNSW_METHOD_PARAMETERS)
+            .vectorDataType(VectorDataType.FLOAT)
+            .build();
+    }
+
+    @SneakyThrows
+    public void testScorer_whenGraphLoadTimesOut_thenExactSearch() {
+        final NativeMemoryCacheManager nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
+        when(nativeMemoryCacheManager.getAsync(any())).thenReturn(new CompletableFuture<>());
+        knnSettingsMockedStatic.when(KNNSettings::getGraphLoadFallbackTimeout).thenReturn(TimeValue.ZERO);
+        final long timeoutsBefore = KNNCounter.GRAPH_LOAD_TIMEOUTS.getCount();
+        try {
+            final SegmentReader reader = mockSegmentReader();
+            final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+            when(leafReaderContext.reader()).thenReturn(reader);
+            when(reader.maxDoc()).thenReturn(1);
+            when(reader.getLiveDocs()).thenReturn(null);
+
+            final KNNQuery query = new KNNQuery(FIELD_NAME, QUERY_VECTOR, K, INDEX_NAME, null);
+            final float boost = (float) randomDoubleBetween(0, 10, true);
+            final KNNWeight knnWeight = new KNNWeight(query, boost);
+            final FieldInfos fieldInfos = mock(FieldInfos.class);
+            final FieldInfo fieldInfo = mock(FieldInfo.class);
+            when(reader.getFieldInfos()).thenReturn(fieldInfos);
+            when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+            when(fieldInfo.attributes()).thenReturn(Map.of(KNN_ENGINE, KNNEngine.FAISS.getName(), SPACE_TYPE, SpaceType.L2.getValue()));
+            when(fieldInfo.getAttribute(SPACE_TYPE)).thenReturn(SpaceType.L2.getValue());
+            when(fieldInfo.getName()).thenReturn(FIELD_NAME);
+
+            // A single doc with a vector for the field
+            final BinaryDocValues binaryDocValues = mock(BinaryDocValues.class);
+            when(reader.getBinaryDocValues(FIELD_NAME)).thenReturn(binaryDocValues);
+            when(binaryDocValues.nextDoc()).thenReturn(0, NO_MORE_DOCS);
+            when(binaryDocValues.advance(0)).thenReturn(0);
+            when(binaryDocValues.binaryValue()).thenReturn(
+                new BytesRef(new KNNVectorAsArraySerializer().floatToByteArray(new float[] { 0.1f, 0.3f }))
+            );
+
+            final KNNScorer knnScorer = (KNNScorer) knnWeight.scorer(leafReaderContext);
+
+            assertNotNull(knnScorer);
+            final DocIdSetIterator docIdSetIterator = knnScorer.iterator();
+            assertEquals(0, docIdSetIterator.nextDoc());
+            assertEquals(EXACT_SEARCH_DOC_ID_TO_SCORES.get(0) * boost, knnScorer.score(), 0.01f);
+            assertEquals(NO_MORE_DOCS, docIdSetIterator.nextDoc());
+            assertEquals(timeoutsBefore + 1, (long) KNNCounter.GRAPH_LOAD_TIMEOUTS.getCount());
+            jniServiceMockedStatic.verify(
+                () -> JNIService.queryIndex(anyLong(), any(), anyInt(), any(), any(), any(), anyInt(), any()),
+                times(0)
+            );
+        } finally {
+            knnSettingsMockedStatic.when(KNNSettings::getGraphLoadFallbackTimeout).thenReturn(null);
+        }
+    }
+
+    @SneakyThrows
+    public void testScorer_whenSegmentHasNoGraph_thenExactSearch() {
+        final SegmentReader reader = mockSegmentReaderWithoutGraph(new float[][] { { 0.1f, 0.3f } });
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+
+        final KNNQuery query = new KNNQuery(FIELD_NAME, QUERY_VECTOR, K, INDEX_NAME, null);
+        final float boost = (float) randomDoubleBetween(0, 10, true);
+        final KNNWeight knnWeight = new KNNWeight(query, boost);
+        final KNNScorer knnScorer = (KNNScorer) knnWeight.scorer(leafReaderContext);
+
+        assertNotNull(knnScorer);
+        final DocIdSetIterator docIdSetIterator = knnScorer.iterator();
+        assertEquals(0, docIdSetIterator.nextDoc());
+        assertEquals(EXACT_SEARCH_DOC_ID_TO_SCORES.get(0) * boost, knnScorer.score(), 0.01f);
+        assertEquals(NO_MORE_DOCS, docIdSetIterator.nextDoc());
+        jniServiceMockedStatic.verify(
+            () -> JNIService.queryIndex(anyLong(), any(), anyInt(), any(), any(), any(), anyInt(), any()),
+            times(0)
+        );
+    }
+
+    @SneakyThrows
+    public void testScorer_whenSegmentHasNoGraphAndRadialIsDefined_thenExactSearchWithinRadius() {
+        // The first vector is at a squared distance of 7.3 from the query vector, and the second one is far away
+        final SegmentReader reader = mockSegmentReaderWithoutGraph(new float[][] { { 0.1f, 0.3f }, { 10.0f, 10.0f } });
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+        final KNNQuery.Context context = mock(KNNQuery.Context.class);
+        when(context.getMaxResultWindow()).thenReturn(1000);
+
+        final KNNQuery query = KNNQuery.builder()
+            .field(FIELD_NAME)
+            .queryVector(QUERY_VECTOR)
+            .radius(8.0f)
+            .indexName(INDEX_NAME)
+            .context(context)
+            .build();
+        final KNNWeight knnWeight = new KNNWeight(query, 1.0f);
+        final KNNScorer knnScorer = (KNNScorer) knnWeight.scorer(leafReaderContext);
+
+        assertNotNull(knnScorer);
+        final DocIdSetIterator docIdSetIterator = knnScorer.iterator();
+        assertEquals(0, docIdSetIterator.nextDoc());
+        assertEquals(EXACT_SEARCH_DOC_ID_TO_SCORES.get(0), knnScorer.score(), 0.01f);
+        assertEquals(NO_MORE_DOCS, docIdSetIterator.nextDoc());
+        jniServiceMockedStatic.verify(
+            () -> JNIService.radiusQueryIndex(anyLong(), any(), anyFloat(), any(), any(), anyInt(), any(), anyInt(), any()),
+            times(0)
+        );
+    }
+
+    @SneakyThrows
+    public void testScorer_whenOversampleFactorIsDefined_thenCandidatesAreRescored() {
+        // The first vector is the nearest to the query vector, but the graph ranks the second one first
+        final SegmentReader reader = mockSegmentReaderWithoutGraph(new float[][] { { 0.1f, 0.3f }, { 10.0f, 10.0f } });
+        reader.getSegmentInfo().info.setFiles(SEGMENT_FILES_FAISS);
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+        jniServiceMockedStatic.when(() -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(2), any(), any(), any(), anyInt(), any()))
+            .thenReturn(new KNNQueryResults(new int[] { 1, 0 }, new float[] { 0.1f, 0.5f }));
+
+        final KNNQuery query = KNNQuery.builder()
+            .field(FIELD_NAME)
+            .queryVector(QUERY_VECTOR)
+            .k(1)
+            .indexName(INDEX_NAME)
+            .vectorDataType(VectorDataType.FLOAT)
+            .oversampleFactor(1.5f)
+            .build();
+        final KNNWeight knnWeight = new KNNWeight(query, 1.0f);
+        final KNNScorer knnScorer = (KNNScorer) knnWeight.scorer(leafReaderContext);
+
+        assertNotNull(knnScorer);
+        final DocIdSetIterator docIdSetIterator = knnScorer.iterator();
+        assertEquals(0, docIdSetIterator.nextDoc());
+        assertEquals(EXACT_SEARCH_DOC_ID_TO_SCORES.get(0), knnScorer.score(), 0.01f);
+        assertEquals(NO_MORE_DOCS, docIdSetIterator.nextDoc());
+        jniServiceMockedStatic.verify(
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(2), any(), any(), any(), anyInt(), any()),
+            times(1)
+        );
+    }
+
+    /**
+     * Mock a faiss segment with a vector per doc for the field, and without engine file
+     */
+    private SegmentReader mockSegmentReaderWithoutGraph(final float[][] vectors) throws IOException {
+        final SegmentReader reader = mockSegmentReader();
+        reader.getSegmentInfo().info.setFiles(Set.of());
+        when(reader.maxDoc()).thenReturn(vectors.length);
+        when(reader.getLiveDocs()).thenReturn(null);
+
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.attributes()).thenReturn(Map.of(KNN_ENGINE, KNNEngine.FAISS.getName(), SPACE_TYPE, SpaceType.L2.getValue()));
+        when(fieldInfo.getAttribute(SPACE_TYPE)).thenReturn(SpaceType.L2.getValue());
+        when(fieldInfo.getName()).thenReturn(FIELD_NAME);
+
+        final BinaryDocValues binaryDocValues = mock(BinaryDocValues.class);
+        when(reader.getBinaryDocValues(FIELD_NAME)).thenReturn(binaryDocValues);
+        final KNNVectorAsArraySerializer serializer = new KNNVectorAsArraySerializer();
+        final Integer[] nextDocs = new Integer[vectors.length];
+        final BytesRef[] values = new BytesRef[vectors.length];
+        for (int doc = 0; doc < vectors.length; doc++) {
+            nextDocs[doc] = doc + 1 < vectors.length ? doc + 1 : NO_MORE_DOCS;
+            values[doc] = new BytesRef(serializer.floatToByteArray(vectors[doc]));
+            when(binaryDocValues.advance(doc)).thenReturn(doc);
+        }
+        when(binaryDocValues.nextDoc()).thenReturn(0, nextDocs);
+        when(binaryDocValues.binaryValue()).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+        return reader;
+    }
+
     @SneakyThrows
     public void testANNWithFilterQuery_whenDoingANN_thenSuccess() {
         validateANNWithFilterQuery_whenDoingANN_thenSuccess(false);
@@ -516,26 +835,26 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(BYTE_QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     eq(filterBitSet.getBits()),
                     anyInt(),
                     any()
                 )
-            ).thenReturn(getFilteredKNNQueryResults());
+            ).thenAnswer(invocation -> getFilteredKNNQueryResults());
         } else {
             jniServiceMockedStatic.when(
                 () -> JNIService.queryIndex(
                     anyLong(),
                     eq(QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     eq(filterBitSet.getBits()),
                     anyInt(),
                     any()
                 )
-            ).thenReturn(getFilteredKNNQueryResults());
+            ).thenAnswer(invocation -> getFilteredKNNQueryResults());
         }
 
         final Bits liveDocsBits = mock(Bits.class);
@@ -607,7 +926,7 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(BYTE_QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     any(),
                     anyInt(),
@@ -617,7 +936,7 @@ public class KNNWeightTests extends KNNTestCase {
             );
         } else {
             jniServiceMockedStatic.verify(
-                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any()),
+                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any()),
                 times(1)
             );
         }
@@ -1040,13 +1359,13 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(QUERY_VECTOR),
                 eq(1),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 any(),
                 anyInt(),
                 eq(parentsFilter)
             )
-        ).thenReturn(getKNNQueryResults());
+        ).thenAnswer(invocation -> getKNNQueryResults());
 
         // Execute
         Scorer knnScorer = knnWeight.scorer(leafReaderContext);
@@ -1057,7 +1376,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(QUERY_VECTOR),
                 eq(1),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 any(),
                 anyInt(),
@@ -1080,14 +1399,14 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(queryVector),
                 eq(radius),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 eq(maxResults),
                 any(),
                 anyInt(),
                 any()
             )
-        ).thenReturn(getKNNQueryResults());
+        ).thenAnswer(invocation -> getKNNQueryResults());
         KNNQuery.Context context = mock(KNNQuery.Context.class);
         when(context.getMaxResultWindow()).thenReturn(maxResults);
 
@@ -1150,7 +1469,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(queryVector),
                 eq(radius),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 eq(maxResults),
                 any(),
@@ -1231,8 +1550,8 @@ public class KNNWeightTests extends KNNTestCase {
         final Map<String, String> fileAttributes
     ) throws IOException {
         jniServiceMockedStatic.when(
-            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(K), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any())
-        ).thenReturn(getKNNQueryResults());
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(K), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any())
+        ).thenAnswer(invocation -> getKNNQueryResults());
 
         final KNNQuery query = KNNQuery.builder()
             .field(FIELD_NAME)
@@ -1304,19 +1623,22 @@ public class KNNWeightTests extends KNNTestCase {
             .collect(Collectors.toMap(Map.Entry::getKey, entry -> scoreTranslator.apply(entry.getValue())));
     }
 
-    private KNNQueryResult[] getKNNQueryResults() {
-        return DOC_ID_TO_SCORES.entrySet()
-            .stream()
-            .map(entry -> new KNNQueryResult(entry.getKey(), entry.getValue()))
-            .collect(Collectors.toList())
-            .toArray(new KNNQueryResult[0]);
+    private KNNQueryResults getKNNQueryResults() {
+        return toKNNQueryResults(DOC_ID_TO_SCORES);
     }
 
-    private KNNQueryResult[] getFilteredKNNQueryResults() {
-        return FILTERED_DOC_ID_TO_SCORES.entrySet()
-            .stream()
-            .map(entry -> new KNNQueryResult(entry.getKey(), entry.getValue()))
-            .collect(Collectors.toList())
-            .toArray(new KNNQueryResult[0]);
+    private KNNQueryResults getFilteredKNNQueryResults() {
+        return toKNNQueryResults(FILTERED_DOC_ID_TO_SCORES);
+    }
+
+    private KNNQueryResults toKNNQueryResults(final Map<Integer, Float> docIdToScores) {
+        final int[] docIds = new int[docIdToScores.size()];
+        final float[] scores = new float[docIdToScores.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Float> entry : docIdToScores.entrySet()) {
+            docIds[i] = entry.getKey();
+            scores[i++] = entry.getValue();
+        }
+        return new KNNQueryResults(docIds, scores);
     }
 }
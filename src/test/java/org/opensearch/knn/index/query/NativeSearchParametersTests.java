@@ -0,0 +1,33 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.opensearch.knn.KNNTestCase;
+
+import java.util.Map;
+
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_SEARCH;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NPROBES;
+
+public class NativeSearchParametersTests extends KNNTestCase {
+
+    public void testOf_whenNoMethodParameters_thenEmpty() {
+        assertSame(NativeSearchParameters.EMPTY, NativeSearchParameters.of(null));
+        assertSame(NativeSearchParameters.EMPTY, NativeSearchParameters.of(Map.of()));
+    }
+
+    public void testOf_whenMethodParameters_thenCompiled() {
+        final NativeSearchParameters hnsw = NativeSearchParameters.of(Map.of(METHOD_PARAMETER_EF_SEARCH, 100));
+        assertEquals(100, hnsw.getEfSearch());
+        assertEquals(NativeSearchParameters.NOT_SET, hnsw.getNprobes());
+
+        final NativeSearchParameters ivf = NativeSearchParameters.of(Map.of(METHOD_PARAMETER_NPROBES, 8));
+        assertEquals(NativeSearchParameters.NOT_SET, ivf.getEfSearch());
+        assertEquals(8, ivf.getNprobes());
+
+        assertEquals(hnsw, NativeSearchParameters.of(Map.of(METHOD_PARAMETER_EF_SEARCH, 100)));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.apache.lucene.search.HitQueue;
+import org.apache.lucene.search.ScoreDoc;
+import org.opensearch.knn.KNNTestCase;
+
+public class TopKHeapTests extends KNNTestCase {
+
+    public void testToResults_thenTopKSortedByDescendingScore() {
+        TopKHeap heap = new TopKHeap(3);
+        float[] scores = { 0.2f, 0.9f, 0.1f, 0.5f, 0.7f };
+        for (int i = 0; i < scores.length; i++) {
+            heap.insertWithOverflow(i, scores[i]);
+        }
+
+        assertEquals(0.5f, heap.minCompetitiveScore(), 0.0f);
+        assertFalse(heap.insertWithOverflow(10, 0.5f));
+
+        KNNQueryResults results = heap.toResults();
+        assertEquals(3, results.size());
+        int[] expectedDocIds = { 1, 4, 3 };
+        for (int i = 0; i < expectedDocIds.length; i++) {
+            assertEquals(expectedDocIds[i], results.getDocId(i));
+            assertEquals(scores[expectedDocIds[i]], results.getScore(i), 0.0f);
+        }
+        assertEquals(0, heap.size());
+    }
+
+    public void testToResults_whenNegativeScores_thenDropped() {
+        TopKHeap heap = new TopKHeap(4);
+        heap.insertWithOverflow(1, -1.0f);
+        heap.insertWithOverflow(2, 0.3f);
+        heap.insertWithOverflow(3, Float.NEGATIVE_INFINITY);
+
+        assertEquals(Float.NEGATIVE_INFINITY, heap.minCompetitiveScore(), 0.0f);
+        KNNQueryResults results = heap.toResults();
+        assertEquals(1, results.size());
+        assertEquals(2, results.getDocId(0));
+    }
+
+    public void testInsertWithOverflow_whenZeroK_thenEmpty() {
+        TopKHeap heap = new TopKHeap(0);
+        assertFalse(heap.insertWithOverflow(1, 1.0f));
+        assertTrue(heap.toResults().isEmpty());
+        expectThrows(IllegalArgumentException.class, () -> new TopKHeap(-1));
+    }
+
+    public void testInsertWithOverflow_thenSameResultsAsHitQueue() {
+        int k = randomIntBetween(1, 50);
+        TopKHeap heap = new TopKHeap(k);
+        HitQueue queue = new HitQueue(k, true);
+        ScoreDoc top = queue.top();
+        for (int doc = 0; doc < 1000; doc++) {
+            // Few distinct scores, so that ties are broken by doc id
+            float score = randomIntBetween(0, 20) / 20f;
+            heap.insertWithOverflow(doc, score);
+            if (score > top.score) {
+                top.score = score;
+                top.doc = doc;
+                top = queue.updateTop();
+            }
+        }
+
+        KNNQueryResults results = heap.toResults();
+        assertEquals(queue.size(), results.size());
+        for (int i = results.size() - 1; i >= 0; i--) {
+            ScoreDoc expected = queue.pop();
+            assertEquals(expected.doc, results.getDocId(i));
+            assertEquals(expected.score, results.getScore(i), 0.0f);
+        }
+    }
+}
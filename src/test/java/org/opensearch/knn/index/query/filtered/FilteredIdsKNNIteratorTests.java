@@ -13,7 +13,9 @@ import org.apache.lucene.util.FixedBitSet;
 import org.opensearch.knn.KNNTestCase;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.codec.util.KNNVectorAsArraySerializer;
+import org.opensearch.knn.index.vectorvalues.TestVectorValues;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -56,4 +58,34 @@ public class FilteredIdsKNNIteratorTests extends KNNTestCase {
         }
         assertEquals(DocIdSetIterator.NO_MORE_DOCS, iterator.nextDoc());
     }
+
+    @SneakyThrows
+    public void testNextDoc_whenFilterSpansSeveralBlocks_thenIterateAllDocs() {
+        final SpaceType spaceType = SpaceType.INNER_PRODUCT;
+        final int docCount = BlockKNNIterator.BLOCK_SIZE * 2 + 17;
+        final float[] queryVector = { 1.0f, 2.0f };
+        final List<float[]> dataVectors = new ArrayList<>();
+        final FixedBitSet filterBitSet = new FixedBitSet(docCount);
+        for (int i = 0; i < docCount; i++) {
+            dataVectors.add(new float[] { i, -i });
+            if (i % 3 != 0) {
+                filterBitSet.set(i);
+            }
+        }
+
+        final FilteredIdsKNNIterator iterator = new FilteredIdsKNNIterator(
+            filterBitSet,
+            queryVector,
+            new TestVectorValues.PredefinedFloatVectorBinaryDocValues(dataVectors),
+            spaceType
+        );
+        for (int i = 0; i < docCount; i++) {
+            if (filterBitSet.get(i) == false) {
+                continue;
+            }
+            assertEquals(i, iterator.nextDoc());
+            assertEquals(spaceType.getKnnVectorSimilarityFunction().compare(queryVector, dataVectors.get(i)), iterator.score(), 0.0f);
+        }
+        assertEquals(DocIdSetIterator.NO_MORE_DOCS, iterator.nextDoc());
+    }
 }
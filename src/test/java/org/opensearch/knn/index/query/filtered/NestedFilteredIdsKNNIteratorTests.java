@@ -12,9 +12,12 @@ import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.FixedBitSet;
+import org.opensearch.knn.index.KNNVectorSimilarityFunction;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.codec.util.KNNVectorAsArraySerializer;
+import org.opensearch.knn.index.vectorvalues.TestVectorValues;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -67,4 +70,38 @@ public class NestedFilteredIdsKNNIteratorTests extends TestCase {
         assertEquals(expectedScores.get(2), iterator.score());
         assertEquals(DocIdSetIterator.NO_MORE_DOCS, iterator.nextDoc());
     }
+
+    @SneakyThrows
+    public void testNextDoc_whenChildrenSpanSeveralBlocks_thenReturnBestChildPerParent() {
+        final SpaceType spaceType = SpaceType.L2;
+        final float[] queryVector = { 0.0f };
+        // The first parent has more children than fit in a block, with the best one in the second block
+        final int firstParent = BlockKNNIterator.BLOCK_SIZE + 10;
+        final int secondParent = firstParent + 4;
+        final List<float[]> dataVectors = new ArrayList<>();
+        final FixedBitSet filterBitSet = new FixedBitSet(secondParent + 1);
+        final FixedBitSet parentBitSet = new FixedBitSet(secondParent + 1);
+        parentBitSet.set(firstParent);
+        parentBitSet.set(secondParent);
+        for (int i = 0; i <= secondParent; i++) {
+            dataVectors.add(new float[] { i == firstParent - 2 ? 0.5f : 100.0f + i });
+            if (parentBitSet.get(i) == false) {
+                filterBitSet.set(i);
+            }
+        }
+
+        final NestedFilteredIdsKNNIterator iterator = new NestedFilteredIdsKNNIterator(
+            filterBitSet,
+            queryVector,
+            new TestVectorValues.PredefinedFloatVectorBinaryDocValues(dataVectors),
+            spaceType,
+            parentBitSet
+        );
+        final KNNVectorSimilarityFunction similarityFunction = spaceType.getKnnVectorSimilarityFunction();
+        assertEquals(firstParent - 2, iterator.nextDoc());
+        assertEquals(similarityFunction.compare(queryVector, dataVectors.get(firstParent - 2)), iterator.score(), 0.0f);
+        assertEquals(firstParent + 1, iterator.nextDoc());
+        assertEquals(similarityFunction.compare(queryVector, dataVectors.get(firstParent + 1)), iterator.score(), 0.0f);
+        assertEquals(DocIdSetIterator.NO_MORE_DOCS, iterator.nextDoc());
+    }
 }
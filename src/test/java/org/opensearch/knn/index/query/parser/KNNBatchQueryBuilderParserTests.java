@@ -0,0 +1,134 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.parser;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.io.stream.NamedWriteableAwareStreamInput;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.query.KNNBatchQueryBuilder;
+import org.opensearch.knn.index.query.KNNQueryBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+public class KNNBatchQueryBuilderParserTests extends KNNTestCase {
+
+    private static final String FIELD_NAME = "myvector";
+    private static final float[] QUERY_VECTOR_1 = { 1.0f, 2.0f, 3.0f, 4.0f };
+    private static final float[] QUERY_VECTOR_2 = { 4.0f, 3.0f, 2.0f, 1.0f };
+    private static final TermQueryBuilder TERM_QUERY = QueryBuilders.termQuery("field", "value");
+
+    public void testFromXContent_whenValid_thenSucceed() throws IOException {
+        final KNNBatchQueryBuilder expected = KNNBatchQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .queries(
+                List.of(
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR_1).k(3).build(),
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR_2).k(5).build()
+                )
+            )
+            .boost(2f)
+            .build();
+        final XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject();
+        builder.startObject(FIELD_NAME);
+        builder.startArray(KNNBatchQueryBuilder.QUERIES_FIELD.getPreferredName());
+        builder.startObject();
+        builder.field(KNNQueryBuilder.VECTOR_FIELD.getPreferredName(), QUERY_VECTOR_1);
+        builder.field(KNNQueryBuilder.K_FIELD.getPreferredName(), 3);
+        builder.endObject();
+        builder.startObject();
+        builder.field(KNNQueryBuilder.VECTOR_FIELD.getPreferredName(), QUERY_VECTOR_2);
+        builder.field(KNNQueryBuilder.K_FIELD.getPreferredName(), 5);
+        builder.endObject();
+        builder.endArray();
+        builder.field("boost", 2f);
+        builder.endObject();
+        builder.endObject();
+        final XContentParser contentParser = createParser(builder);
+        contentParser.nextToken();
+        assertEquals(expected, KNNBatchQueryBuilderParser.fromXContent(contentParser));
+    }
+
+    public void testFromXContent_whenNoQueries_thenException() throws IOException {
+        final XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject();
+        builder.startObject(FIELD_NAME);
+        builder.startArray(KNNBatchQueryBuilder.QUERIES_FIELD.getPreferredName());
+        builder.endArray();
+        builder.endObject();
+        builder.endObject();
+        final XContentParser contentParser = createParser(builder);
+        contentParser.nextToken();
+        final IllegalArgumentException exception = expectThrows(
+            IllegalArgumentException.class,
+            () -> KNNBatchQueryBuilderParser.fromXContent(contentParser)
+        );
+        assertTrue(exception.getMessage().contains("queries"));
+    }
+
+    public void testBuild_whenQueryOnOtherField_thenException() {
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> KNNBatchQueryBuilder.builder()
+                .fieldName(FIELD_NAME)
+                .queries(List.of(KNNQueryBuilder.builder().fieldName("other").vector(QUERY_VECTOR_1).k(3).build()))
+                .build()
+        );
+    }
+
+    public void testToXContent_whenParsedBack_thenEqual() throws IOException {
+        final KNNBatchQueryBuilder expected = KNNBatchQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .queries(
+                List.of(
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR_1).k(3).build(),
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR_2).k(5).build()
+                )
+            )
+            .queryName("batch")
+            .build();
+        final XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject();
+        KNNBatchQueryBuilderParser.toXContent(builder, null, expected);
+        builder.endObject();
+        final XContentParser contentParser = createParser(builder);
+        // Move to the object of the knn_batch query
+        contentParser.nextToken();
+        contentParser.nextToken();
+        contentParser.nextToken();
+        assertEquals(expected, KNNBatchQueryBuilderParser.fromXContent(contentParser));
+    }
+
+    public void testStream_whenRoundTrip_thenEqual() throws IOException {
+        final KNNBatchQueryBuilder expected = KNNBatchQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .queries(
+                List.of(
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR_1).k(3).filter(TERM_QUERY).build(),
+                    KNNQueryBuilder.builder().fieldName(FIELD_NAME).vector(QUERY_VECTOR_2).k(5).build()
+                )
+            )
+            .build();
+        final NamedWriteableRegistry registry = new NamedWriteableRegistry(
+            List.of(new NamedWriteableRegistry.Entry(QueryBuilder.class, TermQueryBuilder.NAME, TermQueryBuilder::new))
+        );
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            expected.writeTo(out);
+            try (StreamInput in = new NamedWriteableAwareStreamInput(out.bytes().streamInput(), registry)) {
+                assertEquals(expected, new KNNBatchQueryBuilder(in));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.parser;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.io.stream.NamedWriteableAwareStreamInput;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.query.KNNExactQueryBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+public class KNNExactQueryBuilderParserTests extends KNNTestCase {
+
+    private static final String FIELD_NAME = "myvector";
+    private static final float[] QUERY_VECTOR = { 1.0f, 2.0f, 3.0f, 4.0f };
+    private static final TermQueryBuilder TERM_QUERY = QueryBuilders.termQuery("field", "value");
+
+    public void testFromXContent_whenValid_thenSucceed() throws IOException {
+        final KNNExactQueryBuilder expected = KNNExactQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .vector(QUERY_VECTOR)
+            .k(10)
+            .spaceType("innerproduct")
+            .boost(2f)
+            .build();
+        final XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject();
+        builder.startObject(FIELD_NAME);
+        builder.field(KNNExactQueryBuilder.VECTOR_FIELD.getPreferredName(), QUERY_VECTOR);
+        builder.field(KNNExactQueryBuilder.K_FIELD.getPreferredName(), 10);
+        builder.field(KNNExactQueryBuilder.SPACE_TYPE_FIELD.getPreferredName(), "innerproduct");
+        builder.field("boost", 2f);
+        builder.endObject();
+        builder.endObject();
+        final XContentParser contentParser = createParser(builder);
+        contentParser.nextToken();
+        assertEquals(expected, KNNExactQueryBuilderParser.fromXContent(contentParser));
+    }
+
+    public void testFromXContent_whenSpaceTypeIsMissing_thenException() throws IOException {
+        final XContentBuilder builder = XContentFactory.jsonBuilder();
+        builder.startObject();
+        builder.startObject(FIELD_NAME);
+        builder.field(KNNExactQueryBuilder.VECTOR_FIELD.getPreferredName(), QUERY_VECTOR);
+        builder.field(KNNExactQueryBuilder.K_FIELD.getPreferredName(), 10);
+        builder.endObject();
+        builder.endObject();
+        final XContentParser contentParser = createParser(builder);
+        contentParser.nextToken();
+        final IllegalArgumentException exception = expectThrows(
+            IllegalArgumentException.class,
+            () -> KNNExactQueryBuilderParser.fromXContent(contentParser)
+        );
+        assertTrue(exception.getMessage().contains("space_type"));
+    }
+
+    public void testStream_whenRoundTrip_thenEqual() throws IOException {
+        final KNNExactQueryBuilder expected = KNNExactQueryBuilder.builder()
+            .fieldName(FIELD_NAME)
+            .vector(QUERY_VECTOR)
+            .k(10)
+            .spaceType("l2")
+            .filter(TERM_QUERY)
+            .build();
+        final NamedWriteableRegistry registry = new NamedWriteableRegistry(
+            List.of(new NamedWriteableRegistry.Entry(QueryBuilder.class, TermQueryBuilder.NAME, TermQueryBuilder::new))
+        );
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            expected.writeTo(out);
+            try (StreamInput in = new NamedWriteableAwareStreamInput(out.bytes().streamInput(), registry)) {
+                assertEquals(expected, new KNNExactQueryBuilder(in));
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query.planner;
+
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+
+public class KNNQueryPlannerTests extends KNNTestCase {
+
+    private static final int MAX_DOC = 1_000_000;
+
+    public void testPlan_whenFewFilteredDocs_thenExact() {
+        final KNNQueryPlan plan = new KNNQueryPlanner().plan(context(10, 500, true, false));
+
+        assertEquals(KNNQueryPlan.Strategy.EXACT, plan.getStrategy());
+        assertEquals(10, plan.getK());
+        assertEquals(KNNQueryPlanner.COST_REASON, plan.getReason());
+        assertTrue(plan.getExactCost() < plan.getAnnCost());
+    }
+
+    public void testPlan_whenFilterMatchesMostDocs_thenPostFilter() {
+        final KNNQueryPlan plan = new KNNQueryPlanner().plan(context(10, MAX_DOC / 2, true, false));
+
+        assertEquals(KNNQueryPlan.Strategy.ANN_POST_FILTER, plan.getStrategy());
+        assertEquals(30, plan.getK());
+        assertTrue(plan.getPostFilterCost() < plan.getAnnCost());
+    }
+
+    public void testPlan_whenNested_thenNoPostFilter() {
+        final KNNQueryPlan plan = new KNNQueryPlanner().plan(context(10, MAX_DOC / 2, true, true));
+
+        assertEquals(KNNQueryPlan.Strategy.ANN, plan.getStrategy());
+        assertEquals(Double.POSITIVE_INFINITY, plan.getPostFilterCost(), 0.0);
+    }
+
+    public void testPlan_whenGraphNotLoaded_thenLoadCostCounted() {
+        final KNNQueryPlanner planner = new KNNQueryPlanner();
+        final KNNQueryPlanningContext loaded = context(10, 100_000, true, false);
+        final KNNQueryPlanningContext notLoaded = context(10, 100_000, false, false);
+
+        final double loadCost = notLoaded.getGraphSizeInBytes() * KNNQueryPlanner.GRAPH_LOAD_NANOS_PER_BYTE;
+        assertEquals(planner.estimateAnnCost(loaded) + loadCost, planner.estimateAnnCost(notLoaded), 1.0);
+        assertEquals(planner.estimateExactCost(loaded), planner.estimateExactCost(notLoaded), 0.0);
+        assertEquals(KNNQueryPlan.Strategy.EXACT, planner.plan(notLoaded).getStrategy());
+    }
+
+    public void testEstimateExactCost_whenBinary_thenCheaperThanFloat() {
+        final KNNQueryPlanner planner = new KNNQueryPlanner();
+        final KNNQueryPlanningContext floatContext = context(10, 1000, true, false);
+        final KNNQueryPlanningContext binaryContext = KNNQueryPlanningContext.builder()
+            .k(10)
+            .filterCount(1000)
+            .maxDoc(MAX_DOC)
+            .dimension(128)
+            .vectorDataType(VectorDataType.BINARY)
+            .knnEngine(KNNEngine.FAISS)
+            .graphLoaded(true)
+            .build();
+
+        assertEquals(32, planner.estimateExactCost(floatContext) / planner.estimateExactCost(binaryContext), 0.0001);
+    }
+
+    public void testRecordSearches_thenEstimatesFollowObservedLatencies() {
+        final KNNQueryPlanner planner = new KNNQueryPlanner();
+        final KNNQueryPlanningContext context = context(10, 10_000, true, false);
+        final double exactCost = planner.estimateExactCost(context);
+        final double annCost = planner.estimateAnnCost(context);
+
+        for (int i = 0; i < 100; i++) {
+            // Exact search and graph search are both 10 times slower than the defaults
+            planner.recordExactSearch(1000, (long) (1000 * KNNQueryPlanner.DEFAULT_EXACT_NANOS_PER_BYTE * 10));
+        }
+        planner.recordAnnSearch(KNNEngine.FAISS, MAX_DOC, 10, (long) (KNNQueryPlanner.DEFAULT_ANN_NANOS_PER_LOG_DOC * 10 * Math.log(
+            MAX_DOC + 2.0
+        ) / Math.log(2)));
+
+        assertEquals(exactCost * 10, planner.estimateExactCost(context), exactCost * 0.01);
+        final double filterIdsCost = context.getFilterCount() * KNNQueryPlanner.FILTER_ID_NANOS;
+        assertEquals((annCost - filterIdsCost) * 10 + filterIdsCost, planner.estimateAnnCost(context), annCost * 0.01);
+        // Other engines keep the default
+        final KNNQueryPlanningContext nmslibContext = KNNQueryPlanningContext.builder()
+            .k(10)
+            .filterCount(10_000)
+            .maxDoc(MAX_DOC)
+            .dimension(128)
+            .vectorDataType(VectorDataType.FLOAT)
+            .knnEngine(KNNEngine.NMSLIB)
+            .graphLoaded(true)
+            .graphSizeInBytes(context.getGraphSizeInBytes())
+            .build();
+        assertEquals(annCost, planner.estimateAnnCost(nmslibContext), 1.0);
+    }
+
+    public void testPlanProfile_toString() {
+        final KNNQueryPlanProfile profile = new KNNQueryPlanProfile();
+        assertTrue(profile.isEmpty());
+
+        profile.record(1, KNNQueryPlan.of(KNNQueryPlan.Strategy.EXACT, 10, "filter_count_at_most_k"));
+        profile.record(0, new KNNQueryPlan(KNNQueryPlan.Strategy.ANN, 10, KNNQueryPlanner.COST_REASON, 2_000_000, 3_500_000, 4_000_000));
+
+        assertEquals(
+            "plans={leaf 0: ann [reason=cost, k=10, ann_cost=2.000ms, ann_post_filter_cost=3.500ms, exact_cost=4.000ms], "
+                + "leaf 1: exact [reason=filter_count_at_most_k, k=10]}",
+            profile.toString()
+        );
+    }
+
+    private static KNNQueryPlanningContext context(int k, int filterCount, boolean graphLoaded, boolean nested) {
+        return KNNQueryPlanningContext.builder()
+            .k(k)
+            .filterCount(filterCount)
+            .maxDoc(MAX_DOC)
+            .dimension(128)
+            .vectorDataType(VectorDataType.FLOAT)
+            .knnEngine(KNNEngine.FAISS)
+            .graphLoaded(graphLoaded)
+            .graphSizeInBytes(MAX_DOC * 700L)
+            .nested(nested)
+            .build();
+    }
+}
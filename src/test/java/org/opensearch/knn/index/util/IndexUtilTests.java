@@ -23,6 +23,7 @@ import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.engine.MethodComponentContext;
+import org.opensearch.knn.index.memory.IndexLoadMode;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.jni.JNIService;
@@ -40,6 +41,7 @@ import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.opensearch.knn.common.KNNConstants.ENCODER_PQ;
 import static org.opensearch.knn.common.KNNConstants.HNSW_ALGO_EF_SEARCH;
+import static org.opensearch.knn.common.KNNConstants.INDEX_LOAD_MODE;
 import static org.opensearch.knn.common.KNNConstants.METHOD_ENCODER_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.METHOD_IVF;
 import static org.opensearch.knn.common.KNNConstants.SPACE_TYPE;
@@ -58,6 +60,24 @@ public class IndexUtilTests extends KNNTestCase {
     }
 
     public void testGetLoadParameters() {
+        // We use the constant for the setting here as opposed to the identifier of efSearch in nmslib jni
+        int efSearchValue = 413;
+        Map<String, Object> indexSettings = ImmutableMap.of(KNN_ALGO_PARAM_EF_SEARCH, efSearchValue);
+
+        // Because ef search and load mode come from index settings, we need to mock the long line of calls to get
+        // those index settings
+        Settings settings = Settings.builder().loadFromMap(indexSettings).build();
+        IndexMetadata indexMetadata = mock(IndexMetadata.class);
+        when(indexMetadata.getSettings()).thenReturn(settings);
+        when(indexMetadata.getCreationVersion()).thenReturn(Version.CURRENT);
+        Metadata metadata = mock(Metadata.class);
+        when(metadata.index(anyString())).thenReturn(indexMetadata);
+        ClusterState clusterState = mock(ClusterState.class);
+        when(clusterState.getMetadata()).thenReturn(metadata);
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        KNNSettings.state().setClusterService(clusterService);
+
         // Test faiss to ensure that space type gets set properly
         SpaceType spaceType1 = SpaceType.COSINESIMIL;
         KNNEngine knnEngine1 = KNNEngine.FAISS;
@@ -73,30 +93,23 @@ public class IndexUtilTests extends KNNTestCase {
         SpaceType spaceType2 = SpaceType.L1;
         KNNEngine knnEngine2 = KNNEngine.NMSLIB;
         VectorDataType vectorDataType2 = VectorDataType.BINARY;
-        int efSearchValue = 413;
-
-        // We use the constant for the setting here as opposed to the identifier of efSearch in nmslib jni
-        Map<String, Object> indexSettings = ImmutableMap.of(KNN_ALGO_PARAM_EF_SEARCH, efSearchValue);
-
-        // Because ef search comes from an index setting, we need to mock the long line of calls to get those
-        // index settings
-        Settings settings = Settings.builder().loadFromMap(indexSettings).build();
-        IndexMetadata indexMetadata = mock(IndexMetadata.class);
-        when(indexMetadata.getSettings()).thenReturn(settings);
-        when(indexMetadata.getCreationVersion()).thenReturn(Version.CURRENT);
-        Metadata metadata = mock(Metadata.class);
-        when(metadata.index(anyString())).thenReturn(indexMetadata);
-        ClusterState clusterState = mock(ClusterState.class);
-        when(clusterState.getMetadata()).thenReturn(metadata);
-        ClusterService clusterService = mock(ClusterService.class);
-        when(clusterService.state()).thenReturn(clusterState);
-        KNNSettings.state().setClusterService(clusterService);
 
         loadParameters = getParametersAtLoading(spaceType2, knnEngine2, indexName, vectorDataType2);
         assertEquals(3, loadParameters.size());
         assertEquals(spaceType2.getValue(), loadParameters.get(SPACE_TYPE));
         assertEquals(efSearchValue, loadParameters.get(HNSW_ALGO_EF_SEARCH));
         assertEquals(vectorDataType2.getValue(), loadParameters.get(VECTOR_DATA_TYPE_FIELD));
+
+        // Test that the mmap load mode is passed on for faiss only
+        when(indexMetadata.getSettings()).thenReturn(
+            Settings.builder().put(KNNSettings.KNN_INDEX_LOAD_MODE, IndexLoadMode.MMAP.getValue()).build()
+        );
+        loadParameters = getParametersAtLoading(spaceType1, knnEngine1, indexName, vectorDataType1);
+        assertEquals(3, loadParameters.size());
+        assertEquals(IndexLoadMode.MMAP.getValue(), loadParameters.get(INDEX_LOAD_MODE));
+
+        loadParameters = getParametersAtLoading(spaceType2, knnEngine2, indexName, vectorDataType2);
+        assertFalse(loadParameters.containsKey(INDEX_LOAD_MODE));
     }
 
     public void testValidateKnnField_NestedField() {
@@ -23,11 +23,14 @@ import org.opensearch.knn.TestUtils;
 import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.VectorDataType;
-import org.opensearch.knn.index.query.KNNQueryResult;
+import org.opensearch.knn.index.memory.IndexLoadMode;
+import org.opensearch.knn.index.query.KNNQueryResults;
+import org.opensearch.knn.index.query.NativeSearchParameters;
 import org.opensearch.knn.index.engine.MethodComponentContext;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.engine.KNNEngine;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
@@ -39,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.opensearch.knn.common.KNNConstants.ENCODER_PARAMETER_PQ_M;
 import static org.opensearch.knn.common.KNNConstants.ENCODER_PARAMETER_PQ_CODE_SIZE;
@@ -534,7 +538,7 @@ public class JNIServiceTests extends KNNTestCase {
 
         String sqfp16IndexDescription = "HNSW16,SQfp16";
         int k = 10;
-        Map<String, ?> methodParameters = Map.of("ef_search", 12);
+        NativeSearchParameters searchParameters = NativeSearchParameters.of(Map.of("ef_search", 12));
         float[][] truncatedVectors = truncateToFp16Range(testData.indexData.vectors);
         long memoryAddress = JNICommons.storeVectorData(0, truncatedVectors, (long) truncatedVectors.length * truncatedVectors[0].length);
         Path tmpFile = createTempFile();
@@ -552,23 +556,23 @@ public class JNIServiceTests extends KNNTestCase {
         assertNotEquals(0, pointer);
 
         for (float[] query : testData.queries) {
-            KNNQueryResult[] results = JNIService.queryIndex(pointer, query, k, methodParameters, KNNEngine.FAISS, null, 0, null);
-            assertEquals(k, results.length);
+            KNNQueryResults results = JNIService.queryIndex(pointer, query, k, searchParameters, KNNEngine.FAISS, null, 0, null);
+            assertEquals(k, results.size());
         }
 
         // Filter will result in no ids
         for (float[] query : testData.queries) {
-            KNNQueryResult[] results = JNIService.queryIndex(
+            KNNQueryResults results = JNIService.queryIndex(
                 pointer,
                 query,
                 k,
-                methodParameters,
+                searchParameters,
                 KNNEngine.FAISS,
                 new long[] { 0 },
                 0,
                 null
             );
-            assertEquals(0, results.length);
+            assertEquals(0, results.size());
         }
     }
 
@@ -839,8 +843,8 @@ public class JNIServiceTests extends KNNTestCase {
             assertNotEquals(0, pointer);
 
             for (float[] query : testData.queries) {
-                KNNQueryResult[] results = JNIService.queryIndex(pointer, query, k, null, KNNEngine.NMSLIB, null, 0, null);
-                assertEquals(k, results.length);
+                KNNQueryResults results = JNIService.queryIndex(pointer, query, k, null, KNNEngine.NMSLIB, null, 0, null);
+                assertEquals(k, results.size());
             }
         }
     }
@@ -898,32 +902,32 @@ public class JNIServiceTests extends KNNTestCase {
                 assertNotEquals(0, pointer);
 
                 for (float[] query : testData.queries) {
-                    KNNQueryResult[] results = JNIService.queryIndex(
+                    KNNQueryResults results = JNIService.queryIndex(
                         pointer,
                         query,
                         k,
-                        Map.of("ef_search", efSearch),
+                        NativeSearchParameters.of(Map.of("ef_search", efSearch)),
                         KNNEngine.FAISS,
                         null,
                         0,
                         null
                     );
-                    assertEquals(k, results.length);
+                    assertEquals(k, results.size());
                 }
 
                 // Filter will result in no ids
                 for (float[] query : testData.queries) {
-                    KNNQueryResult[] results = JNIService.queryIndex(
+                    KNNQueryResults results = JNIService.queryIndex(
                         pointer,
                         query,
                         k,
-                        Map.of("ef_search", efSearch),
+                        NativeSearchParameters.of(Map.of("ef_search", efSearch)),
                         KNNEngine.FAISS,
                         new long[] { 0 },
                         0,
                         null
                     );
-                    assertEquals(0, results.length);
+                    assertEquals(0, results.size());
                 }
             }
         }
@@ -959,11 +963,11 @@ public class JNIServiceTests extends KNNTestCase {
                 assertNotEquals(0, pointer);
 
                 for (float[] query : testDataNested.queries) {
-                    KNNQueryResult[] results = JNIService.queryIndex(
+                    KNNQueryResults results = JNIService.queryIndex(
                         pointer,
                         query,
                         k,
-                        Map.of("ef_search", efSearch),
+                        NativeSearchParameters.of(Map.of("ef_search", efSearch)),
                         KNNEngine.FAISS,
                         null,
                         0,
@@ -971,7 +975,7 @@ public class JNIServiceTests extends KNNTestCase {
                     );
                     // Verify there is no more than one result from same parent
                     Set<Integer> parentIdSet = toParentIdSet(results, idToParentIdMap);
-                    assertEquals(results.length, parentIdSet.size());
+                    assertEquals(results.size(), parentIdSet.size());
                 }
             }
         }
@@ -1009,14 +1013,14 @@ public class JNIServiceTests extends KNNTestCase {
             assertNotEquals(0, pointer);
 
             for (byte[] query : testData.binaryQueries) {
-                KNNQueryResult[] results = JNIService.queryBinaryIndex(pointer, query, k, null, KNNEngine.FAISS, null, 0, null);
-                assertEquals(k, results.length);
+                KNNQueryResults results = JNIService.queryBinaryIndex(pointer, query, k, null, KNNEngine.FAISS, null, 0, null);
+                assertEquals(k, results.size());
             }
         }
     }
 
-    private Set<Integer> toParentIdSet(KNNQueryResult[] results, Map<Integer, Integer> idToParentIdMap) {
-        return Arrays.stream(results).map(result -> idToParentIdMap.get(result.getId())).collect(Collectors.toSet());
+    private Set<Integer> toParentIdSet(KNNQueryResults results, Map<Integer, Integer> idToParentIdMap) {
+        return IntStream.range(0, results.size()).mapToObj(i -> idToParentIdMap.get(results.getDocId(i))).collect(Collectors.toSet());
     }
 
     private int[] toParentIdArray(int[] ids) {
@@ -1267,6 +1271,28 @@ public class JNIServiceTests extends KNNTestCase {
         assertNotEquals(0, pointer);
     }
 
+    @SneakyThrows
+    public void testIndexLoad_whenMmap_thenInvertedListsMappedAndResultsMatch() {
+        int k = 10;
+        String indexIVFPQPath = createFaissIVFPQIndex(16, 16, 4, SpaceType.INNER_PRODUCT);
+        Map<String, Object> mmapParameters = ImmutableMap.of(KNNConstants.INDEX_LOAD_MODE, IndexLoadMode.MMAP.getValue());
+
+        long inMemoryIndex = JNIService.loadIndex(indexIVFPQPath, Collections.emptyMap(), KNNEngine.FAISS);
+        assertNotEquals(0, inMemoryIndex);
+        long mappedIndex = JNIService.loadIndex(indexIVFPQPath, mmapParameters, KNNEngine.FAISS);
+        assertNotEquals(0, mappedIndex);
+
+        assertEquals(0, JNIService.getMappedSizeInBytes(inMemoryIndex, Collections.emptyMap(), KNNEngine.FAISS));
+        long mappedSizeInBytes = JNIService.getMappedSizeInBytes(mappedIndex, mmapParameters, KNNEngine.FAISS);
+        assertTrue(mappedSizeInBytes > 0);
+        assertTrue(mappedSizeInBytes < new File(indexIVFPQPath).length());
+
+        assertQueryResultsMatch(testData.queries, k, List.of(inMemoryIndex, mappedIndex));
+
+        JNIService.free(inMemoryIndex, KNNEngine.FAISS);
+        JNIService.free(mappedIndex, KNNEngine.FAISS);
+    }
+
     @SneakyThrows
     public void testIndexLoad_whenStateIsShared_thenSucceed() {
         // Creates a single IVFPQ-l2 index. Then, we will configure a set of indices in memory in different ways to
@@ -1338,16 +1364,16 @@ public class JNIServiceTests extends KNNTestCase {
     private void assertQueryResultsMatch(float[][] testQueries, int k, List<Long> indexAddresses) {
         // Checks that the set of queries is consistent amongst all indices in the list
         for (float[] query : testQueries) {
-            KNNQueryResult[][] allResults = new KNNQueryResult[indexAddresses.size()][];
+            KNNQueryResults[] allResults = new KNNQueryResults[indexAddresses.size()];
             for (int i = 0; i < indexAddresses.size(); i++) {
                 allResults[i] = JNIService.queryIndex(indexAddresses.get(i), query, k, null, KNNEngine.FAISS, null, 0, null);
-                assertEquals(k, allResults[i].length);
+                assertEquals(k, allResults[i].size());
             }
 
             for (int i = 1; i < indexAddresses.size(); i++) {
                 for (int j = 0; j < k; j++) {
-                    assertEquals(allResults[0][j].getId(), allResults[i][j].getId());
-                    assertEquals(allResults[0][j].getScore(), allResults[i][j].getScore(), 0.00001);
+                    assertEquals(allResults[0].getDocId(j), allResults[i].getDocId(j));
+                    assertEquals(allResults[0].getScore(j), allResults[i].getScore(j), 0.00001);
                 }
             }
         }
@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.script;
+
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.KnnByteVectorField;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.analysis.MockAnalyzer;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.VectorField;
+import org.opensearch.script.ScoreScript;
+import org.opensearch.search.lookup.LeafSearchLookup;
+import org.opensearch.search.lookup.SearchLookup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KNNScoreScriptTests extends KNNTestCase {
+
+    private static final String FIELD_NAME = "test-field";
+    private static final float[] QUERY_VECTOR = new float[] { 1.0f, 2.0f };
+    private static final KNNVectorScoringMethod L2 = (q, v) -> 1 / (1 + KNNScoringUtil.l2Squared(q, v));
+
+    public void testExecute_whenBinaryDocValues_thenScoresEveryDocWithVector() throws IOException {
+        final float[][] vectors = { { 1.0f, 2.0f }, null, { 3.0f, 4.0f } };
+        assertScores(
+            vectors,
+            VectorDataType.FLOAT,
+            vector -> new BinaryDocValuesField(FIELD_NAME, new VectorField(FIELD_NAME, vector, new FieldType()).binaryValue())
+        );
+    }
+
+    public void testExecute_whenFloatVectorValues_thenScoresEveryDocWithVector() throws IOException {
+        final float[][] vectors = { null, { 1.0f, 2.0f }, { -1.0f, 0.0f } };
+        assertScores(vectors, VectorDataType.FLOAT, vector -> new KnnFloatVectorField(FIELD_NAME, vector));
+    }
+
+    public void testExecute_whenByteVectorValues_thenScoresEveryDocWithVector() throws IOException {
+        final float[][] vectors = { { 1.0f, 2.0f }, { 5.0f, -3.0f }, null };
+        assertScores(vectors, VectorDataType.BYTE, vector -> new KnnByteVectorField(FIELD_NAME, toBytes(vector)));
+    }
+
+    public void testExecute_whenByteBinaryDocValues_thenScoresEveryDocWithVector() throws IOException {
+        final float[][] vectors = { { 1.0f, 2.0f }, { 5.0f, -3.0f } };
+        assertScores(vectors, VectorDataType.BYTE, vector -> new BinaryDocValuesField(FIELD_NAME, new BytesRef(toBytes(vector))));
+    }
+
+    private void assertScores(
+        final float[][] vectors,
+        final VectorDataType vectorDataType,
+        final Function<float[], IndexableField> fieldFactory
+    ) throws IOException {
+        try (Directory directory = newDirectory()) {
+            // Docs are written in a single segment, in order
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new MockAnalyzer(random())))) {
+                for (float[] vector : vectors) {
+                    final Document document = new Document();
+                    document.add(new StringField("id", "doc", Field.Store.NO));
+                    if (vector != null) {
+                        document.add(fieldFactory.apply(vector));
+                    }
+                    writer.addDocument(document);
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                final LeafReaderContext leafReaderContext = reader.leaves().get(0);
+                final ScoreScript script = newScript(leafReaderContext, vectorDataType);
+                for (int doc = 0; doc < vectors.length; doc++) {
+                    script.setDocument(doc);
+                    final double expectedScore = vectors[doc] == null ? 0.0 : L2.score(QUERY_VECTOR, vectors[doc]);
+                    assertEquals(expectedScore, script.execute(null), 1e-6);
+                }
+            }
+        }
+    }
+
+    private ScoreScript newScript(final LeafReaderContext leafReaderContext, final VectorDataType vectorDataType) throws IOException {
+        final SearchLookup lookup = mock(SearchLookup.class);
+        final LeafSearchLookup leafLookup = mock(LeafSearchLookup.class);
+        when(lookup.getLeafSearchLookup(any())).thenReturn(leafLookup);
+        when(leafLookup.asMap()).thenReturn(Collections.emptyMap());
+        return new KNNScoreScript.KNNVectorType(
+            Collections.emptyMap(),
+            QUERY_VECTOR,
+            FIELD_NAME,
+            L2,
+            vectorDataType,
+            lookup,
+            leafReaderContext,
+            null
+        );
+    }
+
+    private static byte[] toBytes(final float[] vector) {
+        final byte[] bytes = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            bytes[i] = (byte) vector[i];
+        }
+        return bytes;
+    }
+}
@@ -25,6 +25,7 @@ import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.indices.ModelState;
+import org.opensearch.knn.training.TrainingJobStatus;
 
 import java.io.IOException;
 
@@ -60,6 +61,33 @@ public class GetModelResponseTests extends KNNTestCase {
         assertEquals(getModelResponse.getModel(), getModelResponseCopy.getModel());
     }
 
+    public void testStreams_withTrainingJobStatus() throws IOException {
+        Model model = new Model(getModelMetadata(ModelState.TRAINING), null, "test-model");
+        TrainingJobStatus trainingJobStatus = new TrainingJobStatus(TrainingJobStatus.State.QUEUED, 2, 1, 1000L);
+        GetModelResponse getModelResponse = new GetModelResponse(model, trainingJobStatus);
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        getModelResponse.writeTo(streamOutput);
+        GetModelResponse getModelResponseCopy = new GetModelResponse(streamOutput.bytes().streamInput());
+        assertEquals(getModelResponse.getModel(), getModelResponseCopy.getModel());
+        assertEquals(trainingJobStatus, getModelResponseCopy.getTrainingJobStatus());
+    }
+
+    public void testXContent_withTrainingJobStatus() throws IOException {
+        try (MockedStatic<KNNClusterUtil> knnClusterUtilMockedStatic = mockStatic(KNNClusterUtil.class)) {
+            final KNNClusterUtil knnClusterUtil = mock(KNNClusterUtil.class);
+            when(knnClusterUtil.getClusterMinVersion()).thenReturn(Version.CURRENT);
+            knnClusterUtilMockedStatic.when(KNNClusterUtil::instance).thenReturn(knnClusterUtil);
+            Model model = new Model(getModelMetadata(ModelState.TRAINING), null, "test-model");
+            TrainingJobStatus trainingJobStatus = new TrainingJobStatus(TrainingJobStatus.State.QUEUED, 2, 1, 1635645602000L);
+            GetModelResponse getModelResponse = new GetModelResponse(model, trainingJobStatus);
+            String expectedResponseString =
+                "{\"model_id\":\"test-model\",\"model_blob\":\"\",\"state\":\"training\",\"timestamp\":\"2021-03-27 10:15:30 AM +05:30\",\"description\":\"test model\",\"error\":\"\",\"space_type\":\"l2\",\"dimension\":4,\"engine\":\"nmslib\",\"training_node_assignment\":\"\",\"model_definition\":{\"name\":\"\",\"parameters\":{}},\"data_type\":\"float\",\"training_job\":{\"status\":\"queued\",\"queue_position\":2,\"priority\":1,\"estimated_completion_time\":\"2021-10-31T02:00:02Z\"}}";
+            XContentBuilder xContentBuilder = XContentFactory.jsonBuilder();
+            getModelResponse.toXContent(xContentBuilder, null);
+            assertEquals(expectedResponseString, xContentBuilder.toString());
+        }
+    }
+
     public void testXContent() throws IOException {
         try (MockedStatic<KNNClusterUtil> knnClusterUtilMockedStatic = mockStatic(KNNClusterUtil.class)) {
             final KNNClusterUtil knnClusterUtil = mock(KNNClusterUtil.class);
@@ -0,0 +1,342 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.SneakyThrows;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.IndexService;
+import org.opensearch.knn.KNNSingleNodeTestCase;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.training.TrainingDataSampler;
+import org.opensearch.test.hamcrest.OpenSearchAssertions;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class TrainingDataSampleTransportActionTests extends KNNSingleNodeTestCase {
+    private static final String TEST_FIELD = "test-field";
+    private static final int DIMENSIONS = 2;
+    private static final int NUM_DOCS = 5;
+    private static final String CATEGORY_FIELD = "category";
+
+    @SneakyThrows
+    public void testShardOperation_whenReadInBlocks_thenAllVectorsReturnedOnce() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createKNNIndex(testIndex);
+        createKnnIndexMapping(testIndex, TEST_FIELD, DIMENSIONS);
+        for (int i = 0; i < NUM_DOCS; i++) {
+            addKnnDoc(testIndex, String.valueOf(i), TEST_FIELD, new Float[] { (float) i, (float) i });
+        }
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction transportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+
+        Set<Float> readValues = new HashSet<>();
+        String readerId = null;
+        TrainingDataSampleResponse response;
+        do {
+            TrainingDataSampleRequest request = new TrainingDataSampleRequest(testIndex, 0, TEST_FIELD, VectorDataType.FLOAT, readerId, 2);
+            response = transportAction.shardOperation(request, shardId);
+            if (readerId == null) {
+                // A doc indexed after the first block is not seen by the reader of the shard
+                addKnnDoc(testIndex, String.valueOf(NUM_DOCS), TEST_FIELD, new Float[] { (float) NUM_DOCS, (float) NUM_DOCS });
+            }
+            assertTrue(response.getNumVectors() <= 2);
+            assertEquals(DIMENSIONS, response.getVectorLength());
+            byte[] block = BytesReference.toBytes(response.getVectors());
+            FloatBuffer floats = ByteBuffer.wrap(block).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            assertEquals(response.getNumVectors() * DIMENSIONS, floats.remaining());
+            for (int i = 0; i < response.getNumVectors(); i++) {
+                float value = floats.get();
+                assertEquals(value, floats.get(), 0.0f);
+                assertTrue(readValues.add(value));
+            }
+            assertEquals(response.isExhausted(), response.getReaderId() == null);
+            readerId = response.getReaderId();
+        } while (!response.isExhausted());
+
+        assertEquals(NUM_DOCS, readValues.size());
+        assertEquals(0, transportAction.getReaderContexts().size());
+    }
+
+    @SneakyThrows
+    public void testShardOperation_whenKeepReader_thenReaderOpenOnceExhausted() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createKNNIndex(testIndex);
+        createKnnIndexMapping(testIndex, TEST_FIELD, DIMENSIONS);
+        for (int i = 0; i < NUM_DOCS; i++) {
+            addKnnDoc(testIndex, String.valueOf(i), TEST_FIELD, new Float[] { (float) i, (float) i });
+        }
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction transportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+
+        TrainingDataSampleRequest request = new TrainingDataSampleRequest(testIndex, 0, TEST_FIELD, VectorDataType.FLOAT, null, NUM_DOCS)
+            .withKeepReader();
+        TrainingDataSampleResponse response = transportAction.shardOperation(request, shardId);
+
+        assertTrue(response.isExhausted());
+        assertNotNull(response.getReaderId());
+        assertEquals(1, transportAction.getReaderContexts().size());
+        transportAction.shardOperation(TrainingDataSampleRequest.release(testIndex, 0, TEST_FIELD, response.getReaderId()), shardId);
+        assertEquals(0, transportAction.getReaderContexts().size());
+    }
+
+    @SneakyThrows
+    public void testShardOperation_whenFieldMissing_thenEmptyAndExhausted() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createKNNIndex(testIndex);
+        createKnnIndexMapping(testIndex, TEST_FIELD, DIMENSIONS);
+        addKnnDoc(testIndex, "1", TEST_FIELD, new Float[] { randomFloat(), randomFloat() });
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction transportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+
+        TrainingDataSampleRequest request = new TrainingDataSampleRequest(testIndex, 0, "missing-field", VectorDataType.FLOAT, null, 10);
+        TrainingDataSampleResponse response = transportAction.shardOperation(request, shardId);
+
+        assertEquals(0, response.getNumVectors());
+        assertEquals(0, response.getVectors().length());
+        assertTrue(response.isExhausted());
+        assertNull(response.getReaderId());
+        assertEquals(0, transportAction.getReaderContexts().size());
+    }
+
+    @SneakyThrows
+    public void testShardOperation_whenCountOnly_thenVectorsCountedByStratum() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createIndexWithCategories(testIndex);
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction transportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+
+        TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+            testIndex,
+            0,
+            TEST_FIELD,
+            VectorDataType.FLOAT,
+            null,
+            2,
+            CATEGORY_FIELD,
+            0L,
+            true,
+            null
+        );
+        TrainingDataSampleResponse response = transportAction.shardOperation(request, shardId);
+
+        assertEquals(0, response.getNumVectors());
+        assertEquals(Map.of("even", 3, "odd", 2), response.getStratumCounts());
+        assertNotNull(response.getReaderId());
+        // The 2 smallest sampling keys of each stratum are returned in ascending order
+        long[] evenKeys = new long[3];
+        for (int position = 0; position < evenKeys.length; position++) {
+            evenKeys[position] = TrainingDataSampler.sampleKey(0L, 0, "even", position);
+        }
+        Arrays.sort(evenKeys);
+        assertArrayEquals(Arrays.copyOf(evenKeys, 2), response.getSmallestKeys().get("even"));
+        assertEquals(2, response.getSmallestKeys().get("odd").length);
+
+        // The reader is kept for the sampled reads until it is released, and renewed while it waits for them
+        assertEquals(1, transportAction.getReaderContexts().size());
+        TrainingDataSampleResponse renewResponse = transportAction.shardOperation(
+            TrainingDataSampleRequest.renew(testIndex, 0, TEST_FIELD, response.getReaderId()),
+            shardId
+        );
+        assertEquals(response.getReaderId(), renewResponse.getReaderId());
+        assertEquals(1, transportAction.getReaderContexts().size());
+        transportAction.shardOperation(TrainingDataSampleRequest.release(testIndex, 0, TEST_FIELD, response.getReaderId()), shardId);
+        assertEquals(0, transportAction.getReaderContexts().size());
+        TrainingDataSampleRequest releasedRequest = new TrainingDataSampleRequest(
+            testIndex,
+            0,
+            TEST_FIELD,
+            VectorDataType.FLOAT,
+            response.getReaderId(),
+            NUM_DOCS
+        );
+        expectThrows(IllegalStateException.class, () -> transportAction.shardOperation(releasedRequest, shardId));
+        expectThrows(
+            IllegalStateException.class,
+            () -> transportAction.shardOperation(TrainingDataSampleRequest.renew(testIndex, 0, TEST_FIELD, response.getReaderId()), shardId)
+        );
+    }
+
+    @SneakyThrows
+    public void testShardOperation_whenReadAfterCount_thenSampledWithCountedReader() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createIndexWithCategories(testIndex);
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction transportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+
+        TrainingDataSampleRequest countRequest = new TrainingDataSampleRequest(
+            testIndex,
+            0,
+            TEST_FIELD,
+            VectorDataType.FLOAT,
+            null,
+            0,
+            CATEGORY_FIELD,
+            0L,
+            true,
+            null
+        );
+        String readerId = transportAction.shardOperation(countRequest, shardId).getReaderId();
+        // An odd doc indexed after the count is not sampled from the counted reader
+        addKnnDoc(testIndex, String.valueOf(NUM_DOCS), TEST_FIELD, new Float[] { (float) NUM_DOCS, (float) NUM_DOCS });
+
+        Map<String, Long> thresholds = Map.of("odd", TrainingDataSampler.SAMPLE_ALL, "even", TrainingDataSampler.SAMPLE_NONE);
+        Set<Float> readValues = new HashSet<>();
+        TrainingDataSampleResponse response;
+        do {
+            TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+                testIndex,
+                0,
+                TEST_FIELD,
+                VectorDataType.FLOAT,
+                readerId,
+                1,
+                CATEGORY_FIELD,
+                0L,
+                false,
+                thresholds
+            );
+            response = transportAction.shardOperation(request, shardId);
+            FloatBuffer floats = ByteBuffer.wrap(BytesReference.toBytes(response.getVectors()))
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer();
+            while (floats.hasRemaining()) {
+                readValues.add(floats.get());
+            }
+            readerId = response.getReaderId();
+        } while (!response.isExhausted());
+
+        assertEquals(Set.of(1.0f, 3.0f), readValues);
+        assertEquals(0, transportAction.getReaderContexts().size());
+    }
+
+    @SneakyThrows
+    public void testShardOperation_whenThresholds_thenOnlySampledVectorsReturned() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createIndexWithCategories(testIndex);
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction transportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+
+        // Sample all the odd vectors and none of the even ones
+        Map<String, Long> thresholds = Map.of("odd", TrainingDataSampler.SAMPLE_ALL, "even", TrainingDataSampler.SAMPLE_NONE);
+        TrainingDataSampleRequest request = new TrainingDataSampleRequest(
+            testIndex,
+            0,
+            TEST_FIELD,
+            VectorDataType.FLOAT,
+            null,
+            NUM_DOCS,
+            CATEGORY_FIELD,
+            0L,
+            false,
+            thresholds
+        );
+        TrainingDataSampleResponse response = transportAction.shardOperation(request, shardId);
+
+        assertEquals(2, response.getNumVectors());
+        assertTrue(response.isExhausted());
+        byte[] block = BytesReference.toBytes(response.getVectors());
+        FloatBuffer floats = ByteBuffer.wrap(block).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        Set<Float> readValues = new HashSet<>();
+        while (floats.hasRemaining()) {
+            readValues.add(floats.get());
+        }
+        assertEquals(Set.of(1.0f, 3.0f), readValues);
+    }
+
+    private IndexService createIndexWithCategories(String testIndex) throws Exception {
+        IndexService indexService = createKNNIndex(testIndex);
+        createKnnIndexMapping(testIndex, TEST_FIELD, DIMENSIONS);
+        PutMappingRequest putMappingRequest = new PutMappingRequest(testIndex).source(CATEGORY_FIELD, "type=keyword");
+        OpenSearchAssertions.assertAcked(client().admin().indices().putMapping(putMappingRequest).actionGet());
+        for (int i = 0; i < NUM_DOCS; i++) {
+            XContentBuilder builder = XContentFactory.jsonBuilder()
+                .startObject()
+                .field(TEST_FIELD, new float[] { i, i })
+                .field(CATEGORY_FIELD, i % 2 == 0 ? "even" : "odd")
+                .endObject();
+            IndexRequest indexRequest = new IndexRequest().index(testIndex)
+                .id(String.valueOf(i))
+                .source(builder)
+                .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            client().index(indexRequest).get();
+        }
+        return indexService;
+    }
+
+    @SneakyThrows
+    public void testStreams() {
+        TrainingDataSampleRequest request = new TrainingDataSampleRequest("index", 1, TEST_FIELD, VectorDataType.BYTE, "reader", 20);
+        BytesStreamOutput requestOutput = new BytesStreamOutput();
+        request.writeTo(requestOutput);
+        TrainingDataSampleRequest requestCopy = new TrainingDataSampleRequest(requestOutput.bytes().streamInput());
+        assertEquals("index", requestCopy.index());
+        assertEquals(1, requestCopy.getShardId());
+        assertEquals(TEST_FIELD, requestCopy.getFieldName());
+        assertEquals(VectorDataType.BYTE, requestCopy.getVectorDataType());
+        assertEquals("reader", requestCopy.getReaderId());
+        assertEquals(20, requestCopy.getSize());
+        assertFalse(requestCopy.isRelease());
+        assertNull(requestCopy.validate());
+
+        BytesStreamOutput releaseOutput = new BytesStreamOutput();
+        TrainingDataSampleRequest.release("index", 1, TEST_FIELD, "reader").writeTo(releaseOutput);
+        TrainingDataSampleRequest releaseCopy = new TrainingDataSampleRequest(releaseOutput.bytes().streamInput());
+        assertEquals("reader", releaseCopy.getReaderId());
+        assertTrue(releaseCopy.isRelease());
+        assertFalse(releaseCopy.isRenew());
+        assertNull(releaseCopy.validate());
+
+        BytesStreamOutput renewOutput = new BytesStreamOutput();
+        TrainingDataSampleRequest.renew("index", 1, TEST_FIELD, "reader").writeTo(renewOutput);
+        TrainingDataSampleRequest renewCopy = new TrainingDataSampleRequest(renewOutput.bytes().streamInput());
+        assertEquals("reader", renewCopy.getReaderId());
+        assertTrue(renewCopy.isRenew());
+        assertFalse(renewCopy.isRelease());
+        assertNull(renewCopy.validate());
+
+        BytesStreamOutput keepReaderOutput = new BytesStreamOutput();
+        request.withKeepReader().writeTo(keepReaderOutput);
+        TrainingDataSampleRequest keepReaderCopy = new TrainingDataSampleRequest(keepReaderOutput.bytes().streamInput());
+        assertTrue(keepReaderCopy.isKeepReader());
+        assertEquals(20, keepReaderCopy.getSize());
+        assertFalse(requestCopy.isKeepReader());
+
+        byte[] vectors = new byte[] { 1, 2, 3, 4 };
+        TrainingDataSampleResponse response = new TrainingDataSampleResponse(
+            2,
+            2,
+            new BytesArray(vectors),
+            false,
+            Map.of("a", 2),
+            Map.of("a", new long[] { 3L, 7L }),
+            "reader"
+        );
+        BytesStreamOutput responseOutput = new BytesStreamOutput();
+        response.writeTo(responseOutput);
+        TrainingDataSampleResponse responseCopy = new TrainingDataSampleResponse(responseOutput.bytes().streamInput());
+        assertEquals(2, responseCopy.getNumVectors());
+        assertEquals(2, responseCopy.getVectorLength());
+        assertArrayEquals(vectors, BytesReference.toBytes(responseCopy.getVectors()));
+        assertFalse(responseCopy.isExhausted());
+        assertEquals(Map.of("a", 2), responseCopy.getStratumCounts());
+        assertArrayEquals(new long[] { 3L, 7L }, responseCopy.getSmallestKeys().get("a"));
+        assertEquals("reader", responseCopy.getReaderId());
+    }
+}
@@ -21,6 +21,7 @@ import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.training.TrainingJobStatus;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -47,6 +48,36 @@ public class TrainingJobRouteDecisionInfoNodeResponseTests extends KNNTestCase {
         assertEquals(original.getTrainingJobCount(), copy.getTrainingJobCount());
     }
 
+    public void testStreams_withTrainingJobQueue() throws IOException {
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+
+        InetAddress inetAddress = InetAddresses.fromInteger(randomInt());
+        DiscoveryNode discoveryNode = new DiscoveryNode("id", new TransportAddress(inetAddress, 9200), Version.CURRENT);
+        Map<String, TrainingJobStatus> statuses = Map.of(
+            "model-1",
+            new TrainingJobStatus(TrainingJobStatus.State.RUNNING, 0, 0, 1000L),
+            "model-2",
+            new TrainingJobStatus(TrainingJobStatus.State.QUEUED, 1, 3, -1L)
+        );
+
+        TrainingJobRouteDecisionInfoNodeResponse original = new TrainingJobRouteDecisionInfoNodeResponse(
+            discoveryNode,
+            2,
+            18,
+            1024L,
+            statuses
+        );
+
+        original.writeTo(streamOutput);
+
+        TrainingJobRouteDecisionInfoNodeResponse copy = new TrainingJobRouteDecisionInfoNodeResponse(streamOutput.bytes().streamInput());
+
+        assertEquals(original.getTrainingJobCount(), copy.getTrainingJobCount());
+        assertEquals(18, copy.getTrainingJobCapacity());
+        assertEquals(1024L, copy.getAvailableTrainingMemoryInKB());
+        assertEquals(statuses, copy.getTrainingJobStatuses());
+    }
+
     public void testGetTrainingJobCount() {
         int trainingJobCount = 13;
 
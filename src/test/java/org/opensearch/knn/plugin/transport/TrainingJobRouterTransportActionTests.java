@@ -292,6 +292,55 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         assertNull(selectedNode);
     }
 
+    public void testMultiNode_withQueueCapacity_thenLeastLoadedNodeSelected() {
+        // Mock datanodes in the cluster through mocking the cluster service
+        List<String> nodeIds = ImmutableList.of("node-1", "node-2", "node-3");
+
+        Map<String, DiscoveryNode> discoveryNodesMap = generateDiscoveryNodes(nodeIds);
+        ClusterService clusterService = generateMockedClusterService(discoveryNodesMap);
+
+        // Create a response to be returned with job route decision info
+        List<TrainingJobRouteDecisionInfoNodeResponse> responseList = new ArrayList<>();
+
+        // First node has the most jobs
+        responseList.add(
+            new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(0)), 2, 4, 4096L, Collections.emptyMap())
+        );
+
+        // Second and third nodes have as many jobs, but the third one has more memory left to training
+        responseList.add(
+            new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(1)), 1, 4, 1024L, Collections.emptyMap())
+        );
+        responseList.add(
+            new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(2)), 1, 4, 2048L, Collections.emptyMap())
+        );
+
+        TrainingJobRouteDecisionInfoResponse infoResponse = new TrainingJobRouteDecisionInfoResponse(
+            ClusterName.DEFAULT,
+            responseList,
+            Collections.emptyList()
+        );
+
+        TransportService transportService = mock(TransportService.class);
+        Client client = mock(Client.class);
+
+        // Setup the action
+        TrainingJobRouterTransportAction transportAction = new TrainingJobRouterTransportAction(
+            transportService,
+            new ActionFilters(Collections.emptySet()),
+            clusterService,
+            client
+        );
+
+        // Select the node
+        DiscoveryNode selectedNode = transportAction.selectNode(null, infoResponse);
+        assertEquals(nodeIds.get(2), selectedNode.getId());
+
+        // Preferred node is selected as long as it has capacity
+        selectedNode = transportAction.selectNode(nodeIds.get(0), infoResponse);
+        assertEquals(nodeIds.get(0), selectedNode.getId());
+    }
+
     @SuppressWarnings("unchecked")
     public void testTrainingIndexSize() {
 
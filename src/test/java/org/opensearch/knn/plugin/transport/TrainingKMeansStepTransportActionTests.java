@@ -0,0 +1,111 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.SneakyThrows;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.IndexService;
+import org.opensearch.knn.KNNSingleNodeTestCase;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.training.TrainingDataSampler;
+
+import java.util.Map;
+
+public class TrainingKMeansStepTransportActionTests extends KNNSingleNodeTestCase {
+    private static final String TEST_FIELD = "test-field";
+    private static final int DIMENSIONS = 2;
+
+    @SneakyThrows
+    public void testShardOperation_whenAllSampled_thenVectorsSummedByNearestCentroid() {
+        String testIndex = getTestName().toLowerCase();
+        IndexService indexService = createKNNIndex(testIndex);
+        createKnnIndexMapping(testIndex, TEST_FIELD, DIMENSIONS);
+        Float[][] vectors = new Float[][] { { 0f, 1f }, { 1f, 0f }, { 9f, 10f }, { 10f, 11f }, { 11f, 9f } };
+        for (int i = 0; i < vectors.length; i++) {
+            addKnnDoc(testIndex, String.valueOf(i), TEST_FIELD, vectors[i]);
+        }
+        ShardId shardId = indexService.iterator().next().shardId();
+        TrainingDataSampleTransportAction sampleTransportAction = node().injector().getInstance(TrainingDataSampleTransportAction.class);
+        TrainingKMeansStepTransportAction transportAction = node().injector().getInstance(TrainingKMeansStepTransportAction.class);
+        TrainingDataSampleRequest countRequest = new TrainingDataSampleRequest(
+            testIndex,
+            0,
+            TEST_FIELD,
+            VectorDataType.FLOAT,
+            null,
+            0,
+            null,
+            0L,
+            true,
+            null
+        );
+        String readerId = sampleTransportAction.shardOperation(countRequest, shardId).getReaderId();
+        // A doc indexed after the count is not in the batches drawn with the reader of the training
+        addKnnDoc(testIndex, String.valueOf(vectors.length), TEST_FIELD, new Float[] { 100f, 100f });
+
+        TrainingKMeansStepRequest request = new TrainingKMeansStepRequest(
+            testIndex,
+            0,
+            TEST_FIELD,
+            readerId,
+            null,
+            0L,
+            Map.of(TrainingDataSampler.DEFAULT_STRATUM, TrainingDataSampler.SAMPLE_ALL),
+            SpaceType.L2,
+            new float[][] { { 0, 0 }, { 10, 10 } }
+        );
+        for (int step = 0; step < 2; step++) {
+            TrainingKMeansStepResponse response = transportAction.shardOperation(request, shardId);
+
+            assertArrayEquals(new int[] { 2, 3 }, response.getCounts());
+            assertArrayEquals(new float[] { 1, 1, 30, 30 }, response.getSums(), 0.0f);
+        }
+
+        // The reader stays open for the next steps until the training releases it
+        assertEquals(1, sampleTransportAction.getReaderContexts().size());
+        sampleTransportAction.shardOperation(TrainingDataSampleRequest.release(testIndex, 0, TEST_FIELD, readerId), shardId);
+        expectThrows(IllegalStateException.class, () -> transportAction.shardOperation(request, shardId));
+    }
+
+    @SneakyThrows
+    public void testStreams() {
+        float[][] centroids = new float[][] { { 1, 2 }, { 3, 4 } };
+        TrainingKMeansStepRequest request = new TrainingKMeansStepRequest(
+            "index",
+            1,
+            TEST_FIELD,
+            "reader",
+            "category",
+            7L,
+            Map.of("a", 5L),
+            SpaceType.INNER_PRODUCT,
+            centroids
+        );
+        BytesStreamOutput requestOutput = new BytesStreamOutput();
+        request.writeTo(requestOutput);
+        TrainingKMeansStepRequest requestCopy = new TrainingKMeansStepRequest(requestOutput.bytes().streamInput());
+        assertEquals("index", requestCopy.index());
+        assertEquals(1, requestCopy.getShardId());
+        assertEquals(TEST_FIELD, requestCopy.getFieldName());
+        assertEquals("reader", requestCopy.getReaderId());
+        assertEquals("category", requestCopy.getStratifyField());
+        assertEquals(7L, requestCopy.getSeed());
+        assertEquals(Map.of("a", 5L), requestCopy.getThresholds());
+        assertEquals(SpaceType.INNER_PRODUCT, requestCopy.getSpaceType());
+        assertEquals(2, requestCopy.getCentroids().length);
+        assertArrayEquals(centroids[1], requestCopy.getCentroids()[1], 0.0f);
+        assertNull(requestCopy.validate());
+
+        TrainingKMeansStepResponse response = new TrainingKMeansStepResponse(new float[] { 1, 2, 3, 4 }, new int[] { 1, 3 });
+        BytesStreamOutput responseOutput = new BytesStreamOutput();
+        response.writeTo(responseOutput);
+        TrainingKMeansStepResponse responseCopy = new TrainingKMeansStepResponse(responseOutput.bytes().streamInput());
+        assertArrayEquals(new float[] { 1, 2, 3, 4 }, responseCopy.getSums(), 0.0f);
+        assertArrayEquals(new int[] { 1, 3 }, responseCopy.getCounts());
+    }
+}
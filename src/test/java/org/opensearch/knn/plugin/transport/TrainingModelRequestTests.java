@@ -65,6 +65,7 @@ public class TrainingModelRequestTests extends KNNTestCase {
             description,
             VectorDataType.DEFAULT
         );
+        original1.setPriority(3);
 
         BytesStreamOutput streamOutput = new BytesStreamOutput();
         original1.writeTo(streamOutput);
@@ -77,6 +78,7 @@ public class TrainingModelRequestTests extends KNNTestCase {
         assertEquals(original1.getTrainingField(), copy1.getTrainingField());
         assertEquals(original1.getPreferredNodeId(), copy1.getPreferredNodeId());
         assertEquals(original1.getVectorDataType(), copy1.getVectorDataType());
+        assertEquals(3, copy1.getPriority());
 
         // Also, check when preferred node and model id and description are null
         TrainingModelRequest original2 = new TrainingModelRequest(
@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import lombok.SneakyThrows;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.knn.KNNSingleNodeTestCase;
+import org.opensearch.knn.index.SpaceType;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class DistributedKMeansTrainerTests extends KNNSingleNodeTestCase {
+    private static final String TEST_FIELD = "test-field";
+    private static final int DIMENSIONS = 2;
+
+    @SneakyThrows
+    public void testTrain_whenSearchSizeBelowNumCentroids_thenInitialCentroidsDistinct() {
+        String testIndex = getTestName().toLowerCase();
+        createKNNIndex(testIndex);
+        createKnnIndexMapping(testIndex, TEST_FIELD, DIMENSIONS);
+        int numCentroids = 8;
+        for (int i = 0; i < numCentroids; i++) {
+            addKnnDoc(testIndex, String.valueOf(i), TEST_FIELD, new Float[] { (float) i, (float) i });
+        }
+
+        // Every vector is sampled, in pages of 3 vectors, and no iteration moves the initial centroids
+        float[][] centroids = DistributedKMeansTrainer.getInstance()
+            .train(
+                getInstanceFromNode(ClusterService.class),
+                testIndex,
+                TEST_FIELD,
+                SpaceType.L2,
+                numCentroids,
+                TrainingDataSampling.DEFAULT,
+                3,
+                0,
+                numCentroids
+            );
+
+        assertEquals(numCentroids, centroids.length);
+        Set<Float> values = new HashSet<>();
+        for (float[] centroid : centroids) {
+            assertEquals(DIMENSIONS, centroid.length);
+            assertTrue(values.add(centroid[0]));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.SpaceType;
+
+public class MiniBatchKMeansTests extends KNNTestCase {
+
+    public void testIsInnerProduct() {
+        assertFalse(MiniBatchKMeans.isInnerProduct(SpaceType.L2));
+        assertTrue(MiniBatchKMeans.isInnerProduct(SpaceType.INNER_PRODUCT));
+        assertTrue(MiniBatchKMeans.isInnerProduct(SpaceType.COSINESIMIL));
+    }
+
+    public void testNearestCentroid_whenL2_thenClosestCentroid() {
+        float[][] centroids = new float[][] { { 0, 0 }, { 10, 0 }, { 0, 10 } };
+        float[] halfSquaredNorms = new float[] { 0, 50, 50 };
+        assertEquals(0, MiniBatchKMeans.nearestCentroid(new float[] { 1, 1 }, centroids, halfSquaredNorms));
+        assertEquals(1, MiniBatchKMeans.nearestCentroid(new float[] { 8, 1 }, centroids, halfSquaredNorms));
+        assertEquals(2, MiniBatchKMeans.nearestCentroid(new float[] { 1, 8 }, centroids, halfSquaredNorms));
+    }
+
+    public void testNearestCentroid_whenInnerProduct_thenLargestInnerProduct() {
+        float[][] centroids = new float[][] { { 1, 0 }, { 0, 1 } };
+        float[] halfSquaredNorms = new float[2];
+        assertEquals(0, MiniBatchKMeans.nearestCentroid(new float[] { 3, 2 }, centroids, halfSquaredNorms));
+        assertEquals(1, MiniBatchKMeans.nearestCentroid(new float[] { 2, 3 }, centroids, halfSquaredNorms));
+    }
+
+    public void testUpdate_whenFirstBatch_thenCentroidsMovedToBatchMean() {
+        float[][] centroids = new float[][] { { 0, 0 }, { 5, 5 } };
+        long[] assignedCounts = new long[2];
+        // Two vectors (1, 1) and (3, 3) assigned to the first centroid, none to the second
+        MiniBatchKMeans.update(centroids, assignedCounts, new double[] { 4, 4, 0, 0 }, new long[] { 2, 0 }, false);
+
+        assertArrayEquals(new float[] { 2, 2 }, centroids[0], 1e-6f);
+        assertArrayEquals(new float[] { 5, 5 }, centroids[1], 0.0f);
+        assertArrayEquals(new long[] { 2, 0 }, assignedCounts);
+    }
+
+    public void testUpdate_whenLaterBatch_thenStepDecreasesWithAssignedCount() {
+        float[][] centroids = new float[][] { { 2, 2 } };
+        long[] assignedCounts = new long[] { 2 };
+        // Two vectors of mean (8, 8), so the centroid becomes the mean of all four vectors
+        MiniBatchKMeans.update(centroids, assignedCounts, new double[] { 16, 16 }, new long[] { 2 }, false);
+
+        assertArrayEquals(new float[] { 5, 5 }, centroids[0], 1e-6f);
+        assertArrayEquals(new long[] { 4 }, assignedCounts);
+    }
+
+    public void testUpdate_whenInnerProduct_thenCentroidsNormalized() {
+        float[][] centroids = new float[][] { { 1, 0 } };
+        MiniBatchKMeans.update(centroids, new long[1], new double[] { 3, 4 }, new long[] { 1 }, true);
+
+        assertArrayEquals(new float[] { 0.6f, 0.8f }, centroids[0], 1e-6f);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.opensearch.knn.KNNTestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TrainingDataSamplerTests extends KNNTestCase {
+
+    public void testAllocate_whenBudgetSplit_thenLargestRemaindersRoundedUp() {
+        assertArrayEquals(new int[] { 5, 3, 2 }, TrainingDataSampler.allocate(new long[] { 50, 30, 20 }, 10));
+        assertArrayEquals(new int[] { 2, 1, 1 }, TrainingDataSampler.allocate(new long[] { 5, 3, 2 }, 4));
+        assertArrayEquals(new int[] { 5, 3, 2 }, TrainingDataSampler.allocate(new long[] { 5, 3, 2 }, 100));
+        assertArrayEquals(new int[] { 0, 0 }, TrainingDataSampler.allocate(new long[] { 0, 0 }, 10));
+    }
+
+    public void testSampleKey_thenDeterministicAndNonNegative() {
+        for (int position = 0; position < 1000; position++) {
+            long key = TrainingDataSampler.sampleKey(7L, 1, "a", position);
+            assertTrue(key >= 0);
+            assertEquals(key, TrainingDataSampler.sampleKey(7L, 1, "a", position));
+        }
+        assertNotEquals(TrainingDataSampler.sampleKey(7L, 1, "a", 0), TrainingDataSampler.sampleKey(8L, 1, "a", 0));
+        assertNotEquals(TrainingDataSampler.sampleKey(7L, 1, "a", 0), TrainingDataSampler.sampleKey(7L, 2, "a", 0));
+        assertNotEquals(TrainingDataSampler.sampleKey(7L, 1, "a", 0), TrainingDataSampler.sampleKey(7L, 1, "b", 0));
+    }
+
+    public void testComputeThresholds_whenUniform_thenSampleSizeIsMaxVectorCount() {
+        TrainingDataSampling sampling = new TrainingDataSampling(TrainingDataSampling.Strategy.UNIFORM, null, 42L);
+        List<Map<String, Integer>> counts = List.of(Map.of("", 1000), Map.of("", 3000), Map.of());
+
+        List<Map<String, Long>> thresholds = TrainingDataSampler.computeThresholds(
+            sampling,
+            counts,
+            smallestKeys(sampling, counts, 400),
+            400
+        );
+
+        assertEquals(3, thresholds.size());
+        assertTrue(thresholds.get(2).isEmpty());
+        // The threshold is shared by all shards, so the sample is uniform over all the vectors
+        assertEquals(thresholds.get(0).get(""), thresholds.get(1).get(""));
+        int sampled = countSampled(42L, 0, "", 1000, thresholds.get(0).get(""));
+        sampled += countSampled(42L, 1, "", 3000, thresholds.get(1).get(""));
+        assertEquals(400, sampled);
+    }
+
+    public void testComputeThresholds_whenMaxVectorCountAboveCount_thenAllSampled() {
+        TrainingDataSampling sampling = new TrainingDataSampling(TrainingDataSampling.Strategy.UNIFORM, null, 42L);
+
+        List<Map<String, Long>> thresholds = TrainingDataSampler.computeThresholds(
+            sampling,
+            List.of(Map.of("", 10)),
+            smallestKeys(sampling, List.of(Map.of("", 10)), 100),
+            100
+        );
+
+        assertEquals(TrainingDataSampler.SAMPLE_ALL, (long) thresholds.get(0).get(""));
+    }
+
+    public void testComputeThresholds_whenProportional_thenEachShardSampledByShare() {
+        TrainingDataSampling sampling = new TrainingDataSampling(TrainingDataSampling.Strategy.PROPORTIONAL, null, 3L);
+        List<Map<String, Integer>> counts = List.of(Map.of("", 1000), Map.of("", 3000));
+
+        List<Map<String, Long>> thresholds = TrainingDataSampler.computeThresholds(
+            sampling,
+            counts,
+            smallestKeys(sampling, counts, 400),
+            400
+        );
+
+        assertEquals(100, countSampled(3L, 0, "", 1000, thresholds.get(0).get("")));
+        assertEquals(300, countSampled(3L, 1, "", 3000, thresholds.get(1).get("")));
+    }
+
+    public void testComputeThresholds_whenStratified_thenEachStratumSampledByShare() {
+        TrainingDataSampling sampling = new TrainingDataSampling(TrainingDataSampling.Strategy.UNIFORM, "category", 5L);
+        List<Map<String, Integer>> counts = List.of(Map.of("a", 900, "b", 100), Map.of("a", 900, "b", 100));
+
+        List<Map<String, Long>> thresholds = TrainingDataSampler.computeThresholds(
+            sampling,
+            counts,
+            smallestKeys(sampling, counts, 200),
+            200
+        );
+
+        assertEquals(180, countSampled(5L, "a", 900, thresholds));
+        assertEquals(20, countSampled(5L, "b", 100, thresholds));
+    }
+
+    public void testComputeRateThresholds_whenSampledWithManySeeds_thenSampleSizeOnAverage() {
+        TrainingDataSampling sampling = new TrainingDataSampling(TrainingDataSampling.Strategy.UNIFORM, null, 0L);
+        List<Map<String, Integer>> counts = List.of(Map.of("", 1000), Map.of("", 3000), Map.of());
+
+        List<Map<String, Long>> thresholds = TrainingDataSampler.computeRateThresholds(sampling, counts, 400);
+
+        assertTrue(thresholds.get(2).isEmpty());
+        assertEquals(thresholds.get(0).get(""), thresholds.get(1).get(""));
+        // Every seed draws a sample of its own, of 400 vectors on average
+        long sampled = 0;
+        Set<Integer> sampleSizes = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            int sampleSize = countSampled(seed, 0, "", 1000, thresholds.get(0).get(""));
+            sampleSize += countSampled(seed, 1, "", 3000, thresholds.get(1).get(""));
+            sampleSizes.add(sampleSize);
+            sampled += sampleSize;
+        }
+        assertEquals(400, sampled / 20.0, 20);
+        assertTrue(sampleSizes.size() > 1);
+        assertEquals(
+            TrainingDataSampler.SAMPLE_ALL,
+            (long) TrainingDataSampler.computeRateThresholds(sampling, List.of(Map.of("", 10)), 100).get(0).get("")
+        );
+    }
+
+    public void testSmallestKeys_whenMoreKeysThanSize_thenSmallestKeptInOrder() {
+        TrainingDataSampler.SmallestKeys smallestKeys = new TrainingDataSampler.SmallestKeys(10);
+        long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = TrainingDataSampler.sampleKey(3L, 0, "", i);
+            smallestKeys.add(keys[i]);
+        }
+        Arrays.sort(keys);
+
+        assertArrayEquals(Arrays.copyOf(keys, 10), smallestKeys.toSortedArray());
+
+        TrainingDataSampler.SmallestKeys fewKeys = new TrainingDataSampler.SmallestKeys(10);
+        fewKeys.add(5L);
+        fewKeys.add(2L);
+        assertArrayEquals(new long[] { 2L, 5L }, fewKeys.toSortedArray());
+    }
+
+    private List<Map<String, long[]>> smallestKeys(TrainingDataSampling sampling, List<Map<String, Integer>> counts, int size) {
+        List<Map<String, long[]>> smallestKeys = new ArrayList<>();
+        for (int shardId = 0; shardId < counts.size(); shardId++) {
+            Map<String, long[]> shardKeys = new HashMap<>();
+            for (Map.Entry<String, Integer> stratumCount : counts.get(shardId).entrySet()) {
+                TrainingDataSampler.SmallestKeys keys = new TrainingDataSampler.SmallestKeys(size);
+                for (int position = 0; position < stratumCount.getValue(); position++) {
+                    keys.add(TrainingDataSampler.sampleKey(sampling.getSeed(), shardId, stratumCount.getKey(), position));
+                }
+                shardKeys.put(stratumCount.getKey(), keys.toSortedArray());
+            }
+            smallestKeys.add(shardKeys);
+        }
+        return smallestKeys;
+    }
+
+    private int countSampled(long seed, String stratum, int countPerShard, List<Map<String, Long>> thresholds) {
+        int sampled = 0;
+        for (int shardId = 0; shardId < thresholds.size(); shardId++) {
+            sampled += countSampled(seed, shardId, stratum, countPerShard, thresholds.get(shardId).get(stratum));
+        }
+        return sampled;
+    }
+
+    private int countSampled(long seed, int shardId, String stratum, int count, long threshold) {
+        if (threshold == TrainingDataSampler.SAMPLE_ALL) {
+            return count;
+        }
+        int sampled = 0;
+        for (int position = 0; position < count; position++) {
+            if (TrainingDataSampler.sampleKey(seed, shardId, stratum, position) <= threshold) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.knn.KNNTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class TrainingDataSamplingTests extends KNNTestCase {
+
+    public void testParse() {
+        assertEquals(TrainingDataSampling.DEFAULT, TrainingDataSampling.parse(Map.of()));
+        assertEquals(
+            new TrainingDataSampling(TrainingDataSampling.Strategy.PROPORTIONAL, "category", 12L),
+            TrainingDataSampling.parse(Map.of("strategy", "proportional", "stratify_field", "category", "seed", 12))
+        );
+        expectThrows(IllegalArgumentException.class, () -> TrainingDataSampling.parse(Map.of("strategy", "invalid")));
+        expectThrows(IllegalArgumentException.class, () -> TrainingDataSampling.parse(Map.of("invalid", "uniform")));
+        expectThrows(IllegalArgumentException.class, () -> TrainingDataSampling.parse("uniform"));
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> TrainingDataSampling.parse(Map.of("strategy", "first", "stratify_field", "category"))
+        );
+    }
+
+    public void testStreams() throws IOException {
+        TrainingDataSampling sampling = new TrainingDataSampling(TrainingDataSampling.Strategy.UNIFORM, "category", 3L);
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        sampling.writeTo(streamOutput);
+        assertEquals(sampling, new TrainingDataSampling(streamOutput.bytes().streamInput()));
+    }
+}
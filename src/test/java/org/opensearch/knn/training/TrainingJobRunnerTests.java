@@ -11,10 +11,13 @@
 
 package org.opensearch.knn.training;
 
+import org.opensearch.common.ValidationException;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
@@ -22,6 +25,9 @@ import org.opensearch.knn.indices.ModelState;
 import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
 import static org.mockito.Mockito.any;
@@ -92,58 +98,117 @@ public class TrainingJobRunnerTests extends KNNTestCase {
 
     @SuppressWarnings("unchecked")
     public void testExecute_failure_rejected() throws IOException, InterruptedException, ExecutionException {
-        // This test makes sure we reject another request when one is ongoing. To do this, we call
-        // trainingJobRunner.execute(trainingJob, responseListener) in the mocked modeldao.update. At this point,
-        // the call should produce a failure because a training job is already ongoing.
-
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        // This test makes sure we reject a request when the node already holds as many jobs as it can run and queue.
+        // Without queue, the node holds as many jobs as it can run at the same time.
+        clusterService.getClusterSettings().applySettings(Settings.builder().put(KNNSettings.KNN_TRAINING_QUEUE_MAX_SIZE, 0).build());
+        int maxConcurrentJobs = KNNSettings.getTrainingMaxConcurrentJobs();
 
         ThreadPool threadPool = mock(ThreadPool.class);
-        when(threadPool.executor(TRAIN_THREAD_POOL)).thenReturn(executorService);
+        ModelDao modelDao = mock(ModelDao.class);
 
-        String modelId = "test-model-id";
-        Model model = mock(Model.class);
-        ModelMetadata modelMetadata = mock(ModelMetadata.class);
-        when(modelMetadata.getState()).thenReturn(ModelState.TRAINING);
-        when(model.getModelMetadata()).thenReturn(modelMetadata);
-        TrainingJob trainingJob = mock(TrainingJob.class);
-        when(trainingJob.getModelId()).thenReturn(modelId);
-        when(trainingJob.getModel()).thenReturn(model);
-        doAnswer(invocationOnMock -> null).when(trainingJob).run();
+        // Hold the jobs in their initial serialization, so that they count against the capacity of the node
+        List<ActionListener<IndexResponse>> putListeners = new ArrayList<>();
+        doAnswer(invocationOnMock -> {
+            putListeners.add((ActionListener<IndexResponse>) invocationOnMock.getArguments()[1]);
+            return null;
+        }).when(modelDao).put(any(Model.class), any(ActionListener.class));
 
-        // This gets called right after the initial put, before training begins. Just check that the model id is
-        // equal
-        ActionListener<IndexResponse> responseListener = ActionListener.wrap(
-            indexResponse -> assertEquals(modelId, indexResponse.getId()),
-            e -> fail("Should not reach this state")
-        );
+        TrainingJobRunner.initialize(threadPool, modelDao);
+        TrainingJobRunner trainingJobRunner = TrainingJobRunner.getInstance();
+        ActionListener<IndexResponse> responseListener = ActionListener.wrap(indexResponse -> {}, e -> {});
+        for (int i = 0; i < maxConcurrentJobs; i++) {
+            trainingJobRunner.execute(mockTrainingJob("test-model-id-" + i), responseListener);
+        }
+        assertEquals(maxConcurrentJobs, trainingJobRunner.getJobCount());
+
+        expectThrows(ValidationException.class, () -> trainingJobRunner.execute(mockTrainingJob("rejected-model-id"), responseListener));
+        assertEquals(maxConcurrentJobs, trainingJobRunner.getJobCount());
+
+        // Fail the serialization of the held jobs to release them
+        putListeners.forEach(listener -> listener.onFailure(new RuntimeException("test")));
+        assertEquals(0, trainingJobRunner.getJobCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testExecute_whenNoTrainingThreadAvailable_thenJobsQueuedByPriority() throws IOException, InterruptedException,
+        ExecutionException {
+        int maxConcurrentJobs = KNNSettings.getTrainingMaxConcurrentJobs();
+
+        // Hold the submitted jobs instead of running them
+        List<Runnable> submittedJobs = new ArrayList<>();
+        ExecutorService executorService = mock(ExecutorService.class);
+        doAnswer(invocationOnMock -> submittedJobs.add((Runnable) invocationOnMock.getArguments()[0])).when(executorService)
+            .execute(any(Runnable.class));
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.executor(TRAIN_THREAD_POOL)).thenReturn(executorService);
 
-        // After put finishes, it should call the onResponse function that will call responseListener and then kickoff
-        // training.
         ModelDao modelDao = mock(ModelDao.class);
-        when(modelDao.get(modelId)).thenReturn(model);
         doAnswer(invocationOnMock -> {
-            IndexResponse indexResponse = new IndexResponse(new ShardId(MODEL_INDEX_NAME, "uuid", 0), modelId, 0, 0, 0, true);
+            Model model = (Model) invocationOnMock.getArguments()[0];
+            IndexResponse indexResponse = new IndexResponse(new ShardId(MODEL_INDEX_NAME, "uuid", 0), model.getModelID(), 0, 0, 0, true);
             ((ActionListener<IndexResponse>) invocationOnMock.getArguments()[1]).onResponse(indexResponse);
             return null;
         }).when(modelDao).put(any(Model.class), any(ActionListener.class));
 
-        // Once update is called, try to start another training job. This should fail because the calling thread
-        // is running training
+        TrainingJobRunner.initialize(threadPool, modelDao);
         TrainingJobRunner trainingJobRunner = TrainingJobRunner.getInstance();
-        doAnswer(
-            invocationOnMock -> expectThrows(
-                RejectedExecutionException.class,
-                () -> trainingJobRunner.execute(trainingJob, responseListener)
-            )
-        ).when(modelDao).update(model, responseListener);
+        ActionListener<IndexResponse> responseListener = ActionListener.wrap(
+            indexResponse -> {},
+            e -> fail("Failure should not have occurred")
+        );
 
-        // Finally, initialize the singleton runner, execute the job.
-        TrainingJobRunner.initialize(threadPool, modelDao);
-        trainingJobRunner.execute(trainingJob, responseListener);
+        // Fill the training threads, then queue a low and a high priority job
+        List<TrainingJob> runningJobs = new ArrayList<>();
+        for (int i = 0; i < maxConcurrentJobs; i++) {
+            TrainingJob trainingJob = mockTrainingJob("running-model-id-" + i);
+            when(modelDao.get(trainingJob.getModelId())).thenReturn(trainingJob.getModel());
+            runningJobs.add(trainingJob);
+            trainingJobRunner.execute(trainingJob, responseListener);
+        }
+        TrainingJob lowPriorityJob = mockTrainingJob("low-priority-model-id");
+        when(modelDao.get(lowPriorityJob.getModelId())).thenReturn(lowPriorityJob.getModel());
+        trainingJobRunner.execute(lowPriorityJob, 0, responseListener);
+        TrainingJob highPriorityJob = mockTrainingJob("high-priority-model-id");
+        when(modelDao.get(highPriorityJob.getModelId())).thenReturn(highPriorityJob.getModel());
+        trainingJobRunner.execute(highPriorityJob, 5, responseListener);
+
+        assertEquals(maxConcurrentJobs, submittedJobs.size());
+        assertEquals(maxConcurrentJobs + 2, trainingJobRunner.getJobCount());
+        Map<String, TrainingJobStatus> statuses = trainingJobRunner.getJobStatuses();
+        assertEquals(TrainingJobStatus.State.RUNNING, statuses.get(runningJobs.get(0).getModelId()).getState());
+        assertEquals(TrainingJobStatus.State.QUEUED, statuses.get(highPriorityJob.getModelId()).getState());
+        assertEquals(1, statuses.get(highPriorityJob.getModelId()).getQueuePosition());
+        assertEquals(5, statuses.get(highPriorityJob.getModelId()).getPriority());
+        assertEquals(2, statuses.get(lowPriorityJob.getModelId()).getQueuePosition());
+
+        // Once a running job completes, the high priority job takes its thread
+        submittedJobs.get(0).run();
+        assertEquals(maxConcurrentJobs + 1, submittedJobs.size());
+        statuses = trainingJobRunner.getJobStatuses();
+        assertFalse(statuses.containsKey(runningJobs.get(0).getModelId()));
+        assertEquals(TrainingJobStatus.State.RUNNING, statuses.get(highPriorityJob.getModelId()).getState());
+        assertEquals(1, statuses.get(lowPriorityJob.getModelId()).getQueuePosition());
+
+        // Run the remaining jobs, including the ones they start
+        for (int i = 1; i < submittedJobs.size(); i++) {
+            submittedJobs.get(i).run();
+        }
+        assertEquals(maxConcurrentJobs + 2, submittedJobs.size());
+        assertEquals(0, trainingJobRunner.getJobCount());
+        assertTrue(trainingJobRunner.getJobStatuses().isEmpty());
+        verify(lowPriorityJob, times(1)).run();
+        verify(highPriorityJob, times(1)).run();
+    }
 
-        // Immediately, we shutdown the executor and await its termination.
-        executorService.shutdown();
-        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    private TrainingJob mockTrainingJob(String modelId) {
+        Model model = mock(Model.class);
+        ModelMetadata modelMetadata = mock(ModelMetadata.class);
+        when(modelMetadata.getState()).thenReturn(ModelState.TRAINING);
+        when(model.getModelMetadata()).thenReturn(modelMetadata);
+        when(model.getModelID()).thenReturn(modelId);
+        TrainingJob trainingJob = mock(TrainingJob.class);
+        when(trainingJob.getModelId()).thenReturn(modelId);
+        when(trainingJob.getModel()).thenReturn(model);
+        return trainingJob;
     }
 }
@@ -18,9 +18,13 @@ import org.opensearch.knn.KNNSingleNodeTestCase;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.common.ValidationException;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.search.SearchHit;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -209,6 +213,44 @@ public class VectorReaderTests extends KNNSingleNodeTestCase {
         assertEquals(maxNumVectorsRead, consumedVectors.size());
     }
 
+    public void testRead_valid_proportionalSamplingGetsMaxVectorsOfIndexedVectors() throws InterruptedException, ExecutionException,
+        IOException {
+        int maxNumVectorsRead = 20;
+        createIndex(DEFAULT_INDEX_NAME);
+        createKnnIndexMapping(DEFAULT_INDEX_NAME, DEFAULT_FIELD_NAME, DEFAULT_DIMENSION);
+
+        Random random = new Random();
+        List<Float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < DEFAULT_NUM_VECTORS; i++) {
+            Float[] vector = random.doubles(DEFAULT_DIMENSION).boxed().map(Double::floatValue).toArray(Float[]::new);
+            vectors.add(vector);
+            addKnnDoc(DEFAULT_INDEX_NAME, Integer.toString(i), DEFAULT_FIELD_NAME, vector);
+        }
+
+        ClusterService clusterService = node().injector().getInstance(ClusterService.class);
+        VectorReader vectorReader = new VectorReader(client());
+
+        final CountDownLatch inProgressLatch = new CountDownLatch(1);
+        TestFloatTrainingDataConsumer trainingDataConsumer = new TestFloatTrainingDataConsumer(createMockTrainingDataAllocation());
+        vectorReader.read(
+            clusterService,
+            DEFAULT_INDEX_NAME,
+            DEFAULT_FIELD_NAME,
+            maxNumVectorsRead,
+            DEFAULT_SEARCH_SIZE,
+            new TrainingDataSampling(TrainingDataSampling.Strategy.PROPORTIONAL, null, randomLong()),
+            trainingDataConsumer,
+            createOnSearchResponseCountDownListener(inProgressLatch)
+        );
+
+        assertLatchDecremented(inProgressLatch);
+
+        List<Float[]> consumedVectors = trainingDataConsumer.getTotalAddedVectors();
+        assertEquals(maxNumVectorsRead, consumedVectors.size());
+        Set<Float> flatVectors = vectors.stream().flatMap(Arrays::stream).collect(Collectors.toSet());
+        consumedVectors.stream().flatMap(Arrays::stream).forEach(value -> assertTrue(flatVectors.contains(value)));
+    }
+
     public void testRead_invalid_maxVectorCount() {
         // Create the index
         createIndex(DEFAULT_INDEX_NAME);
@@ -427,5 +469,18 @@ public class VectorReaderTests extends KNNSingleNodeTestCase {
             setTotalVectorsCountAdded(getTotalVectorsCountAdded() + vectors.size());
             accept(vectors);
         }
+
+        @Override
+        public void processTrainingVectors(BytesReference vectors, int numVectors, int vectorLength) {
+            FloatBuffer floatBuffer = ByteBuffer.wrap(BytesReference.toBytes(vectors)).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            for (int vector = 0; vector < numVectors; vector++) {
+                Float[] floats = new Float[vectorLength];
+                for (int i = 0; i < vectorLength; i++) {
+                    floats[i] = floatBuffer.get();
+                }
+                totalAddedVectors.add(floats);
+            }
+            setTotalVectorsCountAdded(getTotalVectorsCountAdded() + numVectors);
+        }
     }
 }